@@ -16,6 +16,7 @@
 
 package com.hazelcast.jet.sql.impl;
 
+import com.hazelcast.jet.sql.impl.connector.map.MapStatisticsCollector;
 import com.hazelcast.jet.sql.impl.opt.Conventions;
 import com.hazelcast.jet.sql.impl.schema.AbstractRelationsStorage;
 import com.hazelcast.sql.impl.optimizer.OptimizationTask;
@@ -91,6 +92,8 @@ import org.apache.calcite.plan.volcano.VolcanoPlanner;
 public interface CalciteSqlOptimizer extends SqlOptimizer {
     AbstractRelationsStorage relationsStorage();
 
+    MapStatisticsCollector mapStatisticsCollector();
+
     // for tests
     PlanExecutor getPlanExecutor();
 
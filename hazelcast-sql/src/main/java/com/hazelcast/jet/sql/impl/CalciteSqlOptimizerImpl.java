@@ -46,6 +46,7 @@ import com.hazelcast.jet.sql.impl.SqlPlanImpl.IMapUpdatePlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.SelectPlan;
 import com.hazelcast.jet.sql.impl.SqlPlanImpl.ShowStatementPlan;
 import com.hazelcast.jet.sql.impl.connector.SqlConnectorCache;
+import com.hazelcast.jet.sql.impl.connector.map.MapStatisticsCollector;
 import com.hazelcast.jet.sql.impl.connector.map.MetadataResolver;
 import com.hazelcast.jet.sql.impl.connector.virtual.ViewTable;
 import com.hazelcast.jet.sql.impl.opt.OptUtils;
@@ -179,6 +180,7 @@ public class CalciteSqlOptimizerImpl implements CalciteSqlOptimizer {
     private final List<QueryPlanListener> queryPlanListeners;
     private final PlanExecutor planExecutor;
     private final RelationsStorage relationsStorage;
+    private final MapStatisticsCollector mapStatisticsCollector;
 
     private final HepProgram subqueryRewriterProgram;
 
@@ -190,6 +192,7 @@ public class CalciteSqlOptimizerImpl implements CalciteSqlOptimizer {
 
         this.iMapResolver = new MetadataResolver(nodeEngine);
         this.relationsStorage = new RelationsStorage(nodeEngine);
+        this.mapStatisticsCollector = new MapStatisticsCollector(nodeEngine);
         DataConnectionStorage dataConnectionStorage = new DataConnectionStorage(nodeEngine);
 
         TableResolverImpl tableResolverImpl = mappingCatalog(nodeEngine, this.relationsStorage, connectorCache);
@@ -248,6 +251,11 @@ public class CalciteSqlOptimizerImpl implements CalciteSqlOptimizer {
         return relationsStorage;
     }
 
+    @Override
+    public MapStatisticsCollector mapStatisticsCollector() {
+        return mapStatisticsCollector;
+    }
+
     @Override
     @PrivateApi
     public PlanExecutor getPlanExecutor() {
@@ -19,6 +19,7 @@ package com.hazelcast.jet.sql.impl;
 import com.google.common.collect.ImmutableList;
 import com.hazelcast.jet.sql.impl.opt.cost.CostFactory;
 import com.hazelcast.jet.sql.impl.opt.metadata.HazelcastRelMdBoundedness;
+import com.hazelcast.jet.sql.impl.opt.metadata.HazelcastRelMdDistinctRowCount;
 import com.hazelcast.jet.sql.impl.opt.metadata.HazelcastRelMdPrunability;
 import com.hazelcast.jet.sql.impl.opt.metadata.HazelcastRelMdRowCount;
 import com.hazelcast.jet.sql.impl.opt.metadata.HazelcastRelMdWatermarkedFields;
@@ -74,6 +75,7 @@ public final class OptimizerContext {
 
     private static final RelMetadataProvider METADATA_PROVIDER = ChainedRelMetadataProvider.of(ImmutableList.of(
             HazelcastRelMdRowCount.SOURCE,
+            HazelcastRelMdDistinctRowCount.SOURCE,
             HazelcastRelMdBoundedness.SOURCE,
             HazelcastRelMdWatermarkedFields.SOURCE,
             HazelcastRelMdPrunability.SOURCE,
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.query.impl.CoveringQueryEntry;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.sql.impl.exec.scan.MapScanRow;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeMismatchException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+
+/**
+ * Row of an index scan, reading the fields stored in the index entries, see
+ * {@link CoveringQueryEntry}, instead of extracting them from the map entry
+ * value. The other fields are read from the wrapped {@link MapScanRow}.
+ */
+final class CoveringIndexRow implements Row {
+
+    private static final int NOT_COVERED = -1;
+
+    private final MapScanRow row;
+    private final List<QueryPath> fieldPaths;
+    private final QueryDataType[] fieldTypes;
+
+    private CoveringQueryEntry<?, ?> entry;
+    // the attributes of the index the positions were resolved for
+    private String[] attributes;
+    private int[] positions;
+
+    CoveringIndexRow(MapScanRow row, List<QueryPath> fieldPaths, List<QueryDataType> fieldTypes) {
+        this.row = row;
+        this.fieldPaths = fieldPaths;
+        this.fieldTypes = fieldTypes.toArray(new QueryDataType[0]);
+    }
+
+    /**
+     * Sets the current entry, the key and value of the wrapped row must be
+     * set to the ones of the entry too.
+     */
+    void setEntry(QueryableEntry<?, ?> entry) {
+        if (entry instanceof CoveringQueryEntry<?, ?> coveringEntry) {
+            this.entry = coveringEntry;
+            if (coveringEntry.getAttributes() != attributes) {
+                attributes = coveringEntry.getAttributes();
+                positions = resolvePositions(attributes);
+            }
+        } else {
+            this.entry = null;
+        }
+    }
+
+    private int[] resolvePositions(String[] attributes) {
+        List<String> covered = Arrays.asList(attributes);
+        int[] result = new int[fieldPaths.size()];
+        for (int i = 0; i < result.length; i++) {
+            QueryPath path = fieldPaths.get(i);
+            result[i] = path.isKey() || path.isTopLevel()
+                    ? NOT_COVERED
+                    : covered.indexOf(IndexUtils.canonicalizeAttribute(path.getPath()));
+        }
+        return result;
+    }
+
+    @Override
+    public <T> T get(int index) {
+        return get(index, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(int index, boolean useLazyDeserialization) {
+        if (entry != null && positions[index] != NOT_COVERED) {
+            try {
+                return (T) fieldTypes[index].normalize(entry.getAttributeValue(positions[index]));
+            } catch (QueryDataTypeMismatchException e) {
+                // the extractor of the wrapped row reports the mismatch
+                ignore(e);
+            }
+        }
+        return row.get(index, useLazyDeserialization);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return row.getColumnCount();
+    }
+}
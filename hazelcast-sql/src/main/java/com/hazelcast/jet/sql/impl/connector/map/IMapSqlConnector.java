@@ -35,6 +35,7 @@ import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.datamodel.Tuple2;
 import com.hazelcast.jet.impl.JetServiceBackend;
+import com.hazelcast.jet.sql.impl.CalciteSqlOptimizer;
 import com.hazelcast.jet.sql.impl.CalciteSqlOptimizerImpl;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.jet.sql.impl.connector.HazelcastRexNode;
@@ -62,10 +63,13 @@ import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 import com.hazelcast.sql.impl.schema.BadTable;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
 import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
 import com.hazelcast.sql.impl.schema.MappingField;
+import com.hazelcast.sql.impl.schema.SampledTableStatistics;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.TableStatistics;
 import com.hazelcast.sql.impl.schema.map.MapTableIndex;
 import com.hazelcast.sql.impl.schema.map.MapTableUtils;
 import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
@@ -87,6 +91,7 @@ import static com.hazelcast.jet.sql.impl.connector.map.MapIndexScanP.readMapInde
 import static com.hazelcast.jet.sql.impl.connector.map.RowProjectorProcessorSupplier.rowProjector;
 import static com.hazelcast.jet.sql.impl.connector.map.SpecificPartitionsImapReaderPms.mapReader;
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.spi.properties.ClusterProperty.SQL_STATISTICS_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.SQL_TSTORE_ENABLED;
 import static com.hazelcast.sql.impl.QueryUtils.getMapContainer;
 import static com.hazelcast.sql.impl.QueryUtils.quoteCompoundIdentifier;
@@ -190,7 +195,7 @@ public class IMapSqlConnector implements SqlConnector {
                 mappingName,
                 mapName,
                 fields,
-                new ConstantTableStatistics(estimatedRowCount),
+                tableStatistics(nodeEngine, container, mapName, fields, keyMetadata, valueMetadata, estimatedRowCount),
                 keyMetadata.getQueryTargetDescriptor(),
                 valueMetadata.getQueryTargetDescriptor(),
                 keyMetadata.getUpsertTargetDescriptor(),
@@ -201,6 +206,27 @@ public class IMapSqlConnector implements SqlConnector {
                 supportsPartitionPruning(nodeEngine, mapName));
     }
 
+    private static TableStatistics tableStatistics(
+            NodeEngine nodeEngine,
+            @Nullable MapContainer container,
+            String mapName,
+            List<TableField> fields,
+            KvMetadata keyMetadata,
+            KvMetadata valueMetadata,
+            long estimatedRowCount
+    ) {
+        if (container == null || !nodeEngine.getProperties().getBoolean(SQL_STATISTICS_ENABLED)) {
+            return new ConstantTableStatistics(estimatedRowCount);
+        }
+        List<ColumnStatistics> columnStatistics = ((CalciteSqlOptimizer) nodeEngine.getSqlService().getOptimizer())
+                .mapStatisticsCollector()
+                .getStatistics(mapName, fields, keyMetadata.getQueryTargetDescriptor(),
+                        valueMetadata.getQueryTargetDescriptor(), estimatedRowCount);
+        return columnStatistics != null
+                ? new SampledTableStatistics(estimatedRowCount, columnStatistics)
+                : new ConstantTableStatistics(estimatedRowCount);
+    }
+
     private boolean supportsPartitionPruning(final NodeEngine nodeEngine, final String mapName) {
         final MapConfig mapConfig = nodeEngine.getConfig().getMapConfig(mapName);
         if (!mapConfig.getPartitioningAttributeConfigs().isEmpty()) {
@@ -110,6 +110,7 @@ public final class MapIndexScanP extends AbstractProcessor {
 
     private final ArrayList<Split> splits = new ArrayList<>();
     private MapScanRow row;
+    private CoveringIndexRow coveringRow;
     private JetSqlRow pendingItem;
     private boolean isIndexSorted;
 
@@ -146,6 +147,7 @@ public final class MapIndexScanP extends AbstractProcessor {
                         .build(),
                 evalContext.getSerializationService()
         );
+        coveringRow = new CoveringIndexRow(row, metadata.getFieldPaths(), metadata.getFieldTypes());
         isIndexSorted = metadata.getComparator() != null;
     }
 
@@ -395,7 +397,9 @@ public final class MapIndexScanP extends AbstractProcessor {
                     entry.getKeyIfPresent(), entry.getKeyDataIfPresent(),
                     entry.getValueIfPresent(), entry.getValueDataIfPresent()
             );
-            return ExpressionUtil.projection(metadata.getRemainingFilter(), metadata.getProjection(), row, evalContext);
+            coveringRow.setEntry(entry);
+            return ExpressionUtil.projection(metadata.getRemainingFilter(), metadata.getProjection(), coveringRow,
+                    evalContext);
         }
 
         private void remove() {
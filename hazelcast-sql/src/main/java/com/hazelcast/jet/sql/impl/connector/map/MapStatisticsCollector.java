@@ -0,0 +1,374 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.recordstore.LazyEvictableEntryView;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.Storage;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.sql.impl.extract.QueryExtractor;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.extract.QueryTarget;
+import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.ASYNC_EXECUTOR;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Estimates the {@link ColumnStatistics} of the fields of the IMap mappings
+ * from a sample of the entries owned by the local member.
+ * <p>
+ * The entries are sampled on the partition threads, from a random position
+ * of every partition, and the statistics are computed on the async executor
+ * when all the partitions have been sampled, so no thread waits for them.
+ * <p>
+ * The statistics are collected in the background, {@link #getStatistics}
+ * never waits for them: it returns the last collected statistics, or
+ * {@code null} if there are none yet, and schedules a collection if the
+ * statistics are missing or stale. They are stale when the number of
+ * entries has changed significantly since the collection, or when they
+ * are too old.
+ */
+public class MapStatisticsCollector {
+
+    static final int SAMPLE_SIZE = 10_000;
+    static final int HISTOGRAM_BUCKETS = 32;
+
+    private static final long MIN_REFRESH_INTERVAL_MILLIS = SECONDS.toMillis(10);
+    private static final long MAX_AGE_MILLIS = MINUTES.toMillis(10);
+    private static final double REFRESH_ROW_COUNT_CHANGE = 0.2;
+
+    private final NodeEngine nodeEngine;
+    private final ILogger logger;
+    private final ConcurrentMap<Key, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<Key> inProgress = ConcurrentHashMap.newKeySet();
+
+    public MapStatisticsCollector(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.logger = nodeEngine.getLogger(getClass());
+    }
+
+    /**
+     * Returns the statistics of the given fields of the given map.
+     *
+     * @param mapName         the name of the map
+     * @param fields          the fields of the mapping
+     * @param keyDescriptor   the descriptor of the keys of the mapping
+     * @param valueDescriptor the descriptor of the values of the mapping
+     * @param rowCount        the estimated number of entries of the map
+     * @return the statistics of every field, in the order of the fields, or
+     * {@code null} if they were not collected yet
+     */
+    @Nullable
+    public List<ColumnStatistics> getStatistics(
+            String mapName,
+            List<TableField> fields,
+            QueryTargetDescriptor keyDescriptor,
+            QueryTargetDescriptor valueDescriptor,
+            long rowCount
+    ) {
+        if (rowCount == 0) {
+            return null;
+        }
+        Key key = new Key(mapName, fields);
+        Snapshot snapshot = snapshots.get(key);
+        if (isStale(snapshot, rowCount, Clock.currentTimeMillis()) && inProgress.add(key)) {
+            try {
+                nodeEngine.getExecutionService().execute(ASYNC_EXECUTOR,
+                        () -> collect(key, keyDescriptor, valueDescriptor, rowCount));
+            } catch (RuntimeException e) {
+                inProgress.remove(key);
+                throw e;
+            }
+        }
+        return snapshot != null ? snapshot.columns() : null;
+    }
+
+    private static boolean isStale(@Nullable Snapshot snapshot, long rowCount, long now) {
+        if (snapshot == null) {
+            return true;
+        }
+        long age = now - snapshot.timestamp();
+        if (age >= MAX_AGE_MILLIS) {
+            return true;
+        }
+        long change = Math.abs(rowCount - snapshot.rowCount());
+        return age >= MIN_REFRESH_INTERVAL_MILLIS && change > REFRESH_ROW_COUNT_CHANGE * snapshot.rowCount();
+    }
+
+    private void collect(
+            Key key,
+            QueryTargetDescriptor keyDescriptor,
+            QueryTargetDescriptor valueDescriptor,
+            long rowCount
+    ) {
+        CompletableFuture<List<Map.Entry<Data, Data>>> sample;
+        try {
+            sample = sample(key.mapName());
+        } catch (Exception e) {
+            logger.fine("Failed to collect the statistics of map " + key.mapName(), e);
+            inProgress.remove(key);
+            return;
+        }
+        if (sample == null) {
+            inProgress.remove(key);
+            return;
+        }
+        sample.thenAcceptAsync(entries -> {
+            List<ColumnStatistics> columns = columnStatistics(key, keyDescriptor, valueDescriptor, entries, rowCount);
+            long now = Clock.currentTimeMillis();
+            snapshots.put(key, new Snapshot(columns, rowCount, now));
+            // forget the statistics of the dropped and changed mappings
+            snapshots.values().removeIf(snapshot -> now - snapshot.timestamp() > 2 * MAX_AGE_MILLIS);
+        }, nodeEngine.getExecutionService().getExecutor(ASYNC_EXECUTOR)).whenComplete((ignored, t) -> {
+            if (t != null) {
+                logger.fine("Failed to collect the statistics of map " + key.mapName(), t);
+            }
+            inProgress.remove(key);
+        });
+    }
+
+    /**
+     * Samples up to {@link #SAMPLE_SIZE} entries from the partitions owned by
+     * the local member, from every partition in proportion to its size.
+     *
+     * @return the future of the sampled entries, or {@code null} if the map doesn't exist
+     */
+    @Nullable
+    private CompletableFuture<List<Map.Entry<Data, Data>>> sample(String mapName) {
+        MapService service = nodeEngine.getService(MapService.SERVICE_NAME);
+        MapServiceContext context = service.getMapServiceContext();
+        if (context.getExistingMapContainer(mapName) == null) {
+            return null;
+        }
+
+        PartitionIdSet ownedPartitions = context.getCachedOwnedPartitions();
+        Map<Integer, Integer> partitionSizes = new HashMap<>();
+        long total = 0;
+        for (PartitionContainer partitionContainer : context.getPartitionContainers()) {
+            int partitionId = partitionContainer.getPartitionId();
+            RecordStore<?> recordStore = partitionContainer.getExistingRecordStore(mapName);
+            if (recordStore != null && ownedPartitions.contains(partitionId) && recordStore.size() > 0) {
+                partitionSizes.put(partitionId, recordStore.size());
+                total += recordStore.size();
+            }
+        }
+
+        List<SampleTask> tasks = new ArrayList<>(partitionSizes.size());
+        for (Map.Entry<Integer, Integer> partition : partitionSizes.entrySet()) {
+            int sampleSize = (int) Math.max(1, (long) SAMPLE_SIZE * partition.getValue() / total);
+            SampleTask task = new SampleTask(context, mapName, partition.getKey(), sampleSize);
+            nodeEngine.getOperationService().execute(task);
+            tasks.add(task);
+        }
+
+        CompletableFuture<?>[] futures = tasks.stream().map(task -> task.future).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures).thenApply(ignored -> {
+            List<Map.Entry<Data, Data>> sample = new ArrayList<>(SAMPLE_SIZE);
+            for (SampleTask task : tasks) {
+                sample.addAll(task.future.join());
+            }
+            return sample;
+        });
+    }
+
+    private List<ColumnStatistics> columnStatistics(
+            Key key,
+            QueryTargetDescriptor keyDescriptor,
+            QueryTargetDescriptor valueDescriptor,
+            List<Map.Entry<Data, Data>> sample,
+            long rowCount
+    ) {
+        MapService service = nodeEngine.getService(MapService.SERVICE_NAME);
+        MapContainer container = service.getMapServiceContext().getExistingMapContainer(key.mapName());
+        InternalSerializationService serializationService =
+                (InternalSerializationService) nodeEngine.getSerializationService();
+        QueryTarget keyTarget = keyDescriptor.create(serializationService, container.getExtractors(), true);
+        QueryTarget valueTarget = valueDescriptor.create(serializationService, container.getExtractors(), false);
+
+        List<TableField> fields = key.fields();
+        List<ColumnStatistics> columns = new ArrayList<>(fields.size());
+        for (TableField field : fields) {
+            QueryPath path = ((MapTableField) field).getPath();
+            QueryExtractor extractor = path.isKey()
+                    ? keyTarget.createExtractor(path.getPath(), field.getType())
+                    : valueTarget.createExtractor(path.getPath(), field.getType());
+
+            List<Object> values = new ArrayList<>(sample.size());
+            for (Map.Entry<Data, Data> entry : sample) {
+                keyTarget.setTarget(null, entry.getKey());
+                valueTarget.setTarget(null, entry.getValue());
+                try {
+                    values.add(extractor.get());
+                } catch (Exception e) {
+                    // the entry doesn't match the mapping, it's not in the sample
+                    ignore(e);
+                }
+            }
+            columns.add(estimate(values, field.getType().getTypeFamily(), rowCount));
+        }
+        return columns;
+    }
+
+    /**
+     * Estimates the statistics of a column from a sample of its values.
+     * <p>
+     * The number of distinct values is estimated with the GEE estimator
+     * (Charikar et al., "Towards Estimation Error Guarantees for Distinct
+     * Values"): the values seen more than once in the sample are assumed to
+     * be all the frequent values, the values seen once are scaled up by the
+     * square root of the inverse of the sampling fraction.
+     *
+     * @param values   the sampled values, including {@code null}s
+     * @param family   the type family of the column
+     * @param rowCount the estimated number of rows of the table
+     */
+    static ColumnStatistics estimate(List<Object> values, QueryDataTypeFamily family, long rowCount) {
+        Map<Object, Integer> frequencies = new HashMap<>();
+        int nullCount = 0;
+        for (Object value : values) {
+            if (value == null) {
+                nullCount++;
+            } else {
+                frequencies.merge(value, 1, Integer::sum);
+            }
+        }
+        int sampleSize = values.size();
+        int nonNullCount = sampleSize - nullCount;
+        double nullFraction = sampleSize > 0 ? (double) nullCount / sampleSize : 0;
+
+        int singletons = 0;
+        for (int frequency : frequencies.values()) {
+            if (frequency == 1) {
+                singletons++;
+            }
+        }
+        double nonNullRowCount = Math.max(nonNullCount, rowCount * (1 - nullFraction));
+        double distinctCount = nonNullCount > 0
+                ? Math.sqrt(nonNullRowCount / nonNullCount) * singletons + frequencies.size() - singletons
+                : 0;
+        distinctCount = Math.min(Math.max(distinctCount, frequencies.size()), nonNullRowCount);
+
+        double[] histogram = family.isNumeric() && nonNullCount > 0 ? histogram(values) : null;
+        return new ColumnStatistics(nullFraction, distinctCount, histogram);
+    }
+
+    private static double[] histogram(List<Object> values) {
+        double[] sorted = new double[values.size()];
+        int count = 0;
+        for (Object value : values) {
+            if (value != null) {
+                sorted[count++] = ((Number) value).doubleValue();
+            }
+        }
+        Arrays.sort(sorted, 0, count);
+        if (count == 1) {
+            return new double[]{sorted[0], sorted[0]};
+        }
+        int bucketCount = Math.min(HISTOGRAM_BUCKETS, count - 1);
+        double[] bounds = new double[bucketCount + 1];
+        for (int i = 0; i <= bucketCount; i++) {
+            bounds[i] = sorted[(int) ((long) i * (count - 1) / bucketCount)];
+        }
+        return bounds;
+    }
+
+    /**
+     * Copies a random sample of the entries of a partition on its partition
+     * thread. The storage samples a contiguous run of its table starting
+     * from a random position, wrapping around at the end of the table.
+     */
+    private static final class SampleTask implements PartitionSpecificRunnable {
+
+        final CompletableFuture<List<Map.Entry<Data, Data>>> future = new CompletableFuture<>();
+
+        private final MapServiceContext context;
+        private final String mapName;
+        private final int partitionId;
+        private final int sampleSize;
+
+        SampleTask(MapServiceContext context, String mapName, int partitionId, int sampleSize) {
+            this.context = context;
+            this.mapName = mapName;
+            this.partitionId = partitionId;
+            this.sampleSize = sampleSize;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<Map.Entry<Data, Data>> entries = new ArrayList<>(sampleSize);
+                RecordStore<?> recordStore = context.getPartitionContainer(partitionId).getExistingRecordStore(mapName);
+                if (recordStore != null) {
+                    Storage<?, ?> storage = recordStore.getStorage();
+                    SerializationService serializationService = context.getNodeEngine().getSerializationService();
+                    // the views may be reused by the storage, the keys and the values are copied
+                    for (EntryView entryView : storage.getRandomSamples(sampleSize)) {
+                        Object value = ((LazyEvictableEntryView<?>) entryView).getRecord().getValue();
+                        entries.add(new SimpleImmutableEntry<>(storage.extractDataKeyFromLazy(entryView),
+                                serializationService.toData(value)));
+                    }
+                }
+                future.complete(entries);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+
+    private record Key(String mapName, List<TableField> fields) {
+    }
+
+    private record Snapshot(List<ColumnStatistics> columns, long rowCount, long timestamp) {
+    }
+}
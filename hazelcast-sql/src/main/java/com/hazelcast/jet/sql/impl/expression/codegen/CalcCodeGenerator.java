@@ -0,0 +1,472 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.expression.VariExpression;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsFalsePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotFalsePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the Java source of the body of a {@link CompiledCalc} subclass.
+ * <p>
+ * Every supported expression is translated to statements computing two
+ * local variables: the null flag and the value, which is primitive for
+ * the boolean and the numeric types other than {@code DECIMAL}. Operands
+ * are evaluated in the same order and with the same short-circuiting as
+ * in {@link Expression#eval}, so the generated code throws the same errors.
+ * Unsupported expressions are called from the generated code and their
+ * operands are interpreted. The values of the constants are passed to the
+ * constructor rather than inlined, so the code only depends on the shape
+ * and the types of the expressions.
+ */
+final class CalcCodeGenerator {
+
+    private static final String INDENT = "    ";
+
+    private final StringBuilder code = new StringBuilder();
+    private final List<Object> constants = new ArrayList<>();
+    private final List<Expression<?>> expressions = new ArrayList<>();
+
+    private int depth;
+    private int variableCount;
+
+    /**
+     * Generates the class body.
+     *
+     * @param className   the simple name of the generated class
+     * @param filter      the filter or {@code null} if there is none
+     * @param projections the projections
+     */
+    String generate(String className, @Nullable Expression<Boolean> filter, List<Expression<?>> projections) {
+        depth = 0;
+        line("public " + className + "(Object[] constants, Expression[] expressions) {");
+        line(INDENT + "super(constants, expressions);");
+        line("}");
+        line("");
+        open("public Object[] apply(Row row, ExpressionEvalContext context) {");
+        if (filter != null) {
+            Value value = generate(filter);
+            open("if (" + value.isNull + " || !" + value.value + ") {");
+            line("return null;");
+            close();
+        }
+        line("Object[] result = new Object[" + projections.size() + "];");
+        for (int i = 0; i < projections.size(); i++) {
+            line("result[" + i + "] = " + generateTop(projections.get(i)) + ";");
+        }
+        line("return result;");
+        close();
+        return code.toString();
+    }
+
+    Object[] getConstants() {
+        return constants.toArray();
+    }
+
+    Expression<?>[] getExpressions() {
+        return expressions.toArray(new Expression<?>[0]);
+    }
+
+    /**
+     * Returns the code of the value of a projection, as returned by {@link
+     * Expression#evalTop}.
+     */
+    private String generateTop(Expression<?> expression) {
+        if (expression instanceof ColumnExpression<?> column && Kind.of(column.getType()) != null) {
+            // no lazy deserialization to unwrap
+            return "row.get(" + column.getIndex() + ", false)";
+        }
+        Value value = tryGenerate(expression);
+        if (value == null) {
+            return "expressions[" + register(expression) + "].evalTop(row, context)";
+        }
+        return value.kind == Kind.OBJECT ? value.value : value.isNull + " ? null : " + value.kind.box(value.value);
+    }
+
+    private Value generate(Expression<?> expression) {
+        Value value = tryGenerate(expression);
+        if (value == null) {
+            value = read("expressions[" + register(expression) + "].eval(row, context)", kind(expression));
+        }
+        return value;
+    }
+
+    @Nullable
+    private Value tryGenerate(Expression<?> expression) {
+        if (expression instanceof ColumnExpression<?> column) {
+            return generateColumn(column);
+        } else if (expression instanceof ConstantExpression<?> constant) {
+            return generateConstant(constant);
+        } else if (expression instanceof ComparisonPredicate comparison) {
+            return generateComparison(comparison);
+        } else if (expression instanceof AndPredicate || expression instanceof OrPredicate) {
+            return generateAndOr((VariExpression<?>) expression, expression instanceof AndPredicate);
+        } else if (expression instanceof UniExpression<?> uni && kind(expression) == Kind.BOOLEAN) {
+            return generateUnaryPredicate(uni);
+        } else if (isArithmetic(expression)) {
+            return generateArithmetic((BiExpression<?>) expression);
+        }
+        return null;
+    }
+
+    private static boolean isArithmetic(Expression<?> expression) {
+        return expression instanceof PlusFunction || expression instanceof MinusFunction
+                || expression instanceof MultiplyFunction;
+    }
+
+    @Nullable
+    private Value generateColumn(ColumnExpression<?> column) {
+        // values of the OBJECT columns may have to be deserialized
+        return Kind.of(column.getType()) == null
+                ? null
+                : read("row.get(" + column.getIndex() + ", false)", kind(column));
+    }
+
+    @Nullable
+    private Value generateConstant(ConstantExpression<?> constant) {
+        Kind kind = kind(constant);
+        Object value = constant.getValue();
+        if (value == null) {
+            return new Value("true", kind.defaultValue, kind);
+        }
+        if (!kind.accepts(value)) {
+            return null;
+        }
+        // not inlined, so the code does not depend on the literals of the query
+        constants.add(value);
+        return new Value("false", kind.unbox("constants[" + (constants.size() - 1) + "]"), kind);
+    }
+
+    @Nullable
+    private Value generateComparison(ComparisonPredicate comparison) {
+        Expression<?> operand1 = comparison.getOperand1();
+        Expression<?> operand2 = comparison.getOperand2();
+        Kind kind = kind(operand1);
+        // OBJECT operands are checked to be of the same comparable class
+        if (Kind.of(operand1.getType()) == null || kind != kind(operand2)) {
+            return null;
+        }
+
+        Value result = declare(Kind.BOOLEAN);
+        Value left = generate(operand1);
+        open("if (!" + left.isNull + ") {");
+        Value right = generate(operand2);
+        open("if (!" + right.isNull + ") {");
+        line(result.isNull + " = false;");
+        line(result.value + " = " + kind.compare(left.value, right.value) + " " + operator(comparison.getMode()) + ";");
+        close();
+        close();
+        return result;
+    }
+
+    @Nullable
+    private Value generateAndOr(VariExpression<?> expression, boolean and) {
+        for (Expression<?> operand : expression.operands()) {
+            if (kind(operand) != Kind.BOOLEAN) {
+                return null;
+            }
+        }
+
+        // the result of AND is false if any operand is false, otherwise it is null if any operand is null
+        Value result = declare(Kind.BOOLEAN);
+        line(result.isNull + " = false;");
+        line(result.value + " = " + and + ";");
+        int opened = 0;
+        for (Expression<?> operand : expression.operands()) {
+            Value value = generate(operand);
+            open("if (!" + value.isNull + " && " + (and ? "!" : "") + value.value + ") {");
+            line(result.isNull + " = false;");
+            line(result.value + " = " + !and + ";");
+            close();
+            open("else {");
+            line(result.isNull + " = " + result.isNull + " || " + value.isNull + ";");
+            opened++;
+        }
+        for (int i = 0; i < opened; i++) {
+            close();
+        }
+        return result;
+    }
+
+    @Nullable
+    private Value generateUnaryPredicate(UniExpression<?> expression) {
+        String condition = unaryPredicateCondition(expression);
+        boolean anyOperand = expression instanceof IsNullPredicate || expression instanceof IsNotNullPredicate;
+        if (condition == null || !anyOperand && kind(expression.getOperand()) != Kind.BOOLEAN) {
+            return null;
+        }
+
+        Value operand = generate(expression.getOperand());
+        String value = variable();
+        line("boolean " + value + " = " + condition.replace("$n", operand.isNull).replace("$v", operand.value) + ";");
+        return expression instanceof NotPredicate
+                ? new Value(operand.isNull, value, Kind.BOOLEAN)
+                : new Value("false", value, Kind.BOOLEAN);
+    }
+
+    @Nullable
+    @SuppressWarnings("checkstyle:ReturnCount")
+    private static String unaryPredicateCondition(UniExpression<?> expression) {
+        if (expression instanceof NotPredicate) {
+            return "!$n && !$v";
+        } else if (expression instanceof IsNullPredicate) {
+            return "$n";
+        } else if (expression instanceof IsNotNullPredicate) {
+            return "!$n";
+        } else if (expression instanceof IsTruePredicate) {
+            return "!$n && $v";
+        } else if (expression instanceof IsFalsePredicate) {
+            return "!$n && !$v";
+        } else if (expression instanceof IsNotTruePredicate) {
+            return "$n || !$v";
+        } else if (expression instanceof IsNotFalsePredicate) {
+            return "$n || $v";
+        }
+        return null;
+    }
+
+    @Nullable
+    private Value generateArithmetic(BiExpression<?> expression) {
+        Kind kind = kind(expression);
+        // the DECIMAL and the temporal arithmetic are interpreted
+        if (!kind.isNumeric() || !kind(expression.getOperand1()).isNumeric()
+                || !kind(expression.getOperand2()).isNumeric()) {
+            return null;
+        }
+
+        Value result = declare(kind);
+        Value left = generate(expression.getOperand1());
+        open("if (!" + left.isNull + ") {");
+        Value right = generate(expression.getOperand2());
+        open("if (!" + right.isNull + ") {");
+        line(result.isNull + " = false;");
+        line(result.value + " = " + arithmetic(expression, kind, left.value, right.value) + ";");
+        close();
+        close();
+        return result;
+    }
+
+    private static String arithmetic(BiExpression<?> expression, Kind kind, String left, String right) {
+        String operator;
+        String exactMethod;
+        if (expression instanceof PlusFunction) {
+            operator = " + ";
+            exactMethod = "addExact";
+        } else if (expression instanceof MinusFunction) {
+            operator = " - ";
+            exactMethod = "subtractExact";
+        } else {
+            operator = " * ";
+            exactMethod = "multiplyExact";
+        }
+        left = "(" + kind.type + ") " + left;
+        right = "(" + kind.type + ") " + right;
+        if (kind == Kind.LONG) {
+            return exactMethod + "(" + left + ", " + right + ")";
+        }
+        // byte and short operands are promoted to int
+        String result = left + operator + right;
+        return kind == Kind.BYTE || kind == Kind.SHORT ? "(" + kind.type + ") (" + result + ")" : result;
+    }
+
+    private static String operator(ComparisonMode mode) {
+        switch (mode) {
+            case EQUALS:
+                return "== 0";
+            case NOT_EQUALS:
+                return "!= 0";
+            case GREATER_THAN:
+                return "> 0";
+            case GREATER_THAN_OR_EQUAL:
+                return ">= 0";
+            case LESS_THAN:
+                return "< 0";
+            case LESS_THAN_OR_EQUAL:
+                return "<= 0";
+            default:
+                throw new IllegalArgumentException("unexpected comparison mode: " + mode);
+        }
+    }
+
+    /**
+     * Generates the code reading the value of the given expression as
+     * returned by {@link Expression#eval}.
+     */
+    private Value read(String source, Kind kind) {
+        String object = variable();
+        line("Object " + object + " = " + source + ";");
+        if (kind == Kind.OBJECT) {
+            return new Value("(" + object + " == null)", object, kind);
+        }
+        String isNull = variable();
+        String value = variable();
+        line("boolean " + isNull + " = " + object + " == null;");
+        line(kind.type + " " + value + " = " + isNull + " ? " + kind.defaultValue + " : " + kind.unbox(object) + ";");
+        return new Value(isNull, value, kind);
+    }
+
+    private Value declare(Kind kind) {
+        String isNull = variable();
+        String value = variable();
+        line("boolean " + isNull + " = true;");
+        line(kind.type + " " + value + " = " + kind.defaultValue + ";");
+        return new Value(isNull, value, kind);
+    }
+
+    private int register(Expression<?> expression) {
+        expressions.add(expression);
+        return expressions.size() - 1;
+    }
+
+    private String variable() {
+        return "v" + variableCount++;
+    }
+
+    private void line(String line) {
+        code.append(INDENT.repeat(depth)).append(line).append('\n');
+    }
+
+    private void open(String line) {
+        line(line);
+        depth++;
+    }
+
+    private void close() {
+        depth--;
+        line("}");
+    }
+
+    private static Kind kind(Expression<?> expression) {
+        Kind kind = Kind.of(expression.getType());
+        return kind == null ? Kind.OBJECT : kind;
+    }
+
+    /**
+     * The null flag and the value of an expression in the generated code.
+     *
+     * @param isNull the code of the null flag
+     * @param value  the code of the value, undefined if the flag is set
+     * @param kind   the type of the value
+     */
+    private record Value(String isNull, String value, Kind kind) {
+    }
+
+    /**
+     * The Java type of the values of an expression in the generated code.
+     */
+    enum Kind {
+        BOOLEAN("boolean", "Boolean", "false"),
+        BYTE("byte", "Byte", "(byte) 0"),
+        SHORT("short", "Short", "(short) 0"),
+        INT("int", "Integer", "0"),
+        LONG("long", "Long", "0L"),
+        FLOAT("float", "Float", "0.0F"),
+        DOUBLE("double", "Double", "0.0D"),
+        OBJECT("Object", null, "null");
+
+        private final String type;
+        private final String boxedType;
+        private final String defaultValue;
+
+        Kind(String type, String boxedType, String defaultValue) {
+            this.type = type;
+            this.boxedType = boxedType;
+            this.defaultValue = defaultValue;
+        }
+
+        boolean isNumeric() {
+            return this != BOOLEAN && this != OBJECT;
+        }
+
+        String unbox(String object) {
+            if (this == OBJECT) {
+                return object;
+            }
+            return "((" + (this == BOOLEAN ? "Boolean" : "Number") + ") " + object + ")." + type + "Value()";
+        }
+
+        String box(String value) {
+            return boxedType + ".valueOf(" + value + ")";
+        }
+
+        /**
+         * Returns the code comparing the given values, its result compared
+         * to zero gives the order of the values.
+         */
+        String compare(String left, String right) {
+            return this == OBJECT
+                    ? "Comparables.compare((Comparable) " + left + ", (Comparable) " + right + ")"
+                    : boxedType + ".compare(" + left + ", " + right + ")";
+        }
+
+        /**
+         * @return {@code true} if the given value is of the class expected
+         * for this kind
+         */
+        boolean accepts(Object value) {
+            return switch (this) {
+                case BOOLEAN -> value instanceof Boolean;
+                case OBJECT -> true;
+                default -> value instanceof Number;
+            };
+        }
+
+        /**
+         * @return the kind of the values of the given type, or {@code null}
+         * for {@code OBJECT}, whose values may have to be deserialized
+         */
+        @Nullable
+        static Kind of(QueryDataType type) {
+            QueryDataTypeFamily family = type.getTypeFamily();
+            return switch (family) {
+                case BOOLEAN -> BOOLEAN;
+                case TINYINT -> BYTE;
+                case SMALLINT -> SHORT;
+                case INTEGER -> INT;
+                case BIGINT -> LONG;
+                case REAL -> FLOAT;
+                case DOUBLE -> DOUBLE;
+                case OBJECT -> null;
+                default -> OBJECT;
+            };
+        }
+    }
+}
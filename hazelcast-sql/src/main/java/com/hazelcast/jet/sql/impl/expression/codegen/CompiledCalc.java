@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.Row;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Base class of the classes generated by {@link ExpressionCompiler},
+ * evaluating the filter and the projections of a calc on a row.
+ * <p>
+ * The generated classes have no state besides the constants and the
+ * interpreted sub-expressions, so an instance may be used by concurrent
+ * executions.
+ */
+public abstract class CompiledCalc {
+
+    /**
+     * The values of the constants referenced by the generated code.
+     */
+    protected final Object[] constants;
+
+    /**
+     * The sub-expressions which are interpreted by the generated code.
+     */
+    protected final Expression<?>[] expressions;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    protected CompiledCalc(Object[] constants, Expression<?>[] expressions) {
+        this.constants = constants;
+        this.expressions = expressions;
+    }
+
+    /**
+     * Evaluates the filter and the projections on the given row.
+     *
+     * @param row     the row to evaluate the expressions on
+     * @param context the expression evaluation context
+     * @return the values of the projections or {@code null} if the row is
+     * rejected by the filter
+     */
+    public abstract Object[] apply(Row row, ExpressionEvalContext context);
+
+    protected static long addExact(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '+' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    protected static long subtractExact(long left, long right) {
+        try {
+            return Math.subtractExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '-' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    protected static long multiplyExact(long left, long right) {
+        try {
+            return Math.multiplyExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '*' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import org.codehaus.janino.ClassBodyEvaluator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles the filter and the projections of a calc to a {@link
+ * CompiledCalc} subclass, so they are not interpreted for every row.
+ * <p>
+ * The generated classes are cached by every member, keyed by the generated
+ * code. The constants are not part of the code, so the queries which only
+ * differ in their literals share the class. When the cache is full, the
+ * least recently used classes are evicted. If the expressions can't be
+ * compiled, they are interpreted.
+ */
+public final class ExpressionCompiler {
+
+    private static final ILogger LOGGER = Logger.getLogger(ExpressionCompiler.class);
+
+    // the JVM limits the bytecode size of a method to 64KB
+    private static final int MAX_CODE_LENGTH = 32 * 1024;
+    private static final String CLASS_NAME = "GeneratedCalc";
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, CachedClass> classes = new ConcurrentHashMap<>();
+
+    public ExpressionCompiler(int maxSize) {
+        assert maxSize > 0;
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the function evaluating the given filter and projections, as
+     * {@link ExpressionUtil#calcFn} and {@link ExpressionUtil#projectionFn}
+     * do, using the compiled expressions if possible.
+     *
+     * @param projections the projections
+     * @param filter      the filter or {@code null} if there is none
+     * @param context     the expression evaluation context
+     */
+    public FunctionEx<JetSqlRow, JetSqlRow> calcFn(
+            @Nonnull List<Expression<?>> projections,
+            @Nullable Expression<Boolean> filter,
+            @Nonnull ExpressionEvalContext context
+    ) {
+        CompiledCalc calc = compile(filter, projections);
+        if (calc == null) {
+            return filter == null
+                    ? ExpressionUtil.projectionFn(projections, context)
+                    : ExpressionUtil.calcFn(projections, filter, context);
+        }
+        return row -> {
+            Object[] values = calc.apply(row.getRow(), context);
+            return values == null ? null : new JetSqlRow(context.getSerializationService(), values);
+        };
+    }
+
+    /**
+     * Compiles the given filter and projections.
+     *
+     * @return the compiled calc or {@code null} if the expressions can't
+     * be compiled
+     */
+    @Nullable
+    public CompiledCalc compile(@Nullable Expression<Boolean> filter, @Nonnull List<Expression<?>> projections) {
+        if (filter != null && filter.getType().getTypeFamily() != QueryDataTypeFamily.BOOLEAN) {
+            return null;
+        }
+        CalcCodeGenerator generator = new CalcCodeGenerator();
+        String code = generator.generate(CLASS_NAME, filter, projections);
+        if (code.length() > MAX_CODE_LENGTH) {
+            return null;
+        }
+
+        CachedClass cachedClass = classes.get(code);
+        if (cachedClass == null) {
+            cachedClass = classes.computeIfAbsent(code, ExpressionCompiler::cook);
+            shrinkIfNeeded();
+        }
+        cachedClass.onUsed();
+        if (cachedClass.constructor == null) {
+            return null;
+        }
+        try {
+            return cachedClass.constructor.newInstance(generator.getConstants(), generator.getExpressions());
+        } catch (ReflectiveOperationException e) {
+            LOGGER.fine("Failed to instantiate the compiled expressions, they will be interpreted", e);
+            return null;
+        }
+    }
+
+    public void clear() {
+        classes.clear();
+    }
+
+    public int size() {
+        return classes.size();
+    }
+
+    private void shrinkIfNeeded() {
+        int oversize = classes.size() - maxSize;
+        if (oversize <= 0) {
+            return;
+        }
+
+        List<Map.Entry<String, CachedClass>> sorted = new ArrayList<>(classes.entrySet());
+        sorted.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed));
+        for (Map.Entry<String, CachedClass> entry : sorted) {
+            if (classes.remove(entry.getKey(), entry.getValue()) && --oversize == 0) {
+                break;
+            }
+        }
+    }
+
+    private static CachedClass cook(String code) {
+        try {
+            ClassBodyEvaluator evaluator = new ClassBodyEvaluator();
+            evaluator.setParentClassLoader(ExpressionCompiler.class.getClassLoader());
+            evaluator.setClassName(ExpressionCompiler.class.getPackage().getName() + '.' + CLASS_NAME);
+            evaluator.setExtendedClass(CompiledCalc.class);
+            evaluator.setDefaultImports(
+                    Row.class.getName(),
+                    Expression.class.getName(),
+                    ExpressionEvalContext.class.getName(),
+                    "com.hazelcast.query.impl.Comparables"
+            );
+            evaluator.cook(code);
+            return new CachedClass(evaluator.getClazz()
+                    .asSubclass(CompiledCalc.class)
+                    .getConstructor(Object[].class, Expression[].class));
+        } catch (Exception e) {
+            LOGGER.fine("Failed to compile the expressions, they will be interpreted:\n" + code, e);
+            return new CachedClass(null);
+        }
+    }
+
+    /**
+     * The constructor of a generated class, {@code null} if the code
+     * could not be compiled.
+     */
+    private static final class CachedClass {
+
+        private final Constructor<? extends CompiledCalc> constructor;
+        private volatile long lastUsed;
+
+        CachedClass(@Nullable Constructor<? extends CompiledCalc> constructor) {
+            this.constructor = constructor;
+            this.lastUsed = System.nanoTime();
+        }
+
+        void onUsed() {
+            lastUsed = System.nanoTime();
+        }
+    }
+}
@@ -50,6 +50,8 @@ import org.apache.calcite.plan.volcano.RelSubset;
 import org.apache.calcite.prepare.RelOptTableImpl;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.Calc;
+import org.apache.calcite.rel.core.Filter;
+import org.apache.calcite.rel.core.Project;
 import org.apache.calcite.rel.core.TableScan;
 import org.apache.calcite.rel.logical.LogicalTableScan;
 import org.apache.calcite.rel.type.RelDataType;
@@ -571,4 +573,44 @@ public final class OptUtils {
         }
         return -1;
     }
+
+    /**
+     * Finds the table field the given output field of the given rel is
+     * populated from, through the filters and the projections.
+     *
+     * @param rel   The rel, a {@link RelSubset} is resolved to its best or original rel
+     * @param field The index of the output field of the rel
+     * @return The table and the index of the field in the table, or {@code null}
+     * if the output field isn't populated from a field of a table
+     */
+    @Nullable
+    public static Tuple2<HazelcastTable, Integer> findFieldOrigin(RelNode rel, int field) {
+        RelNode current = rel;
+        int index = field;
+        while (!(current instanceof TableScan)) {
+            if (current instanceof RelSubset subset) {
+                current = subset.getBest() != null ? subset.getBest() : subset.getOriginal();
+                continue;
+            }
+            if (current instanceof Calc calc) {
+                index = calc.getProgram().getSourceField(index);
+            } else if (current instanceof Project project) {
+                RexNode expression = project.getProjects().get(index);
+                index = expression instanceof RexInputRef inputRef ? inputRef.getIndex() : -1;
+            } else if (!(current instanceof Filter)) {
+                return null;
+            }
+            if (index < 0) {
+                return null;
+            }
+            current = current.getInput(0);
+        }
+
+        HazelcastTable table = current.getTable().unwrap(HazelcastTable.class);
+        if (table == null) {
+            return null;
+        }
+        RexNode project = table.getProjects().get(index);
+        return project instanceof RexInputRef inputRef ? Tuple2.tuple2(table, inputRef.getIndex()) : null;
+    }
 }
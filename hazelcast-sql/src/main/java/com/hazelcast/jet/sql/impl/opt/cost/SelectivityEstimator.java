@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.opt.cost;
+
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Estimates the selectivity of the conditions on the fields of a table
+ * using the {@link ColumnStatistics} of the fields.
+ * <p>
+ * Comparisons of a field with a value are estimated from the number of
+ * distinct values of the field and, for the ranges, from its histogram.
+ * The conjunctions and disjunctions assume independent conditions. The
+ * conditions which can't be estimated from the statistics, for example
+ * because the field has no statistics, are estimated heuristically, see
+ * {@link RelMdUtil#guessSelectivity(RexNode)}.
+ */
+public final class SelectivityEstimator {
+
+    private SelectivityEstimator() {
+        // No-op.
+    }
+
+    /**
+     * @param condition  the condition, the input references are the indexes
+     *                   of the fields of the table
+     * @param statistics the statistics of the field with the given index, or
+     *                   {@code null} if the field has no statistics
+     * @return the estimated fraction of the rows of the table matching the
+     * condition, {@code 1} if the condition is {@code null}
+     */
+    public static double estimate(@Nullable RexNode condition, IntFunction<ColumnStatistics> statistics) {
+        if (condition == null) {
+            return 1;
+        }
+        List<RexNode> operands = condition instanceof RexCall call ? call.getOperands() : List.of();
+        switch (condition.getKind()) {
+            case AND:
+                double product = 1;
+                for (RexNode operand : operands) {
+                    product *= estimate(operand, statistics);
+                }
+                return product;
+            case OR:
+                double sum = 0;
+                for (RexNode operand : operands) {
+                    double selectivity = estimate(operand, statistics);
+                    sum += selectivity - sum * selectivity;
+                }
+                return sum;
+            case NOT:
+                return 1 - estimate(operands.get(0), statistics);
+            default:
+                Double selectivity = estimateLeaf(condition, operands, statistics);
+                return selectivity != null ? selectivity : RelMdUtil.guessSelectivity(condition);
+        }
+    }
+
+    @Nullable
+    private static Double estimateLeaf(RexNode condition, List<RexNode> operands, IntFunction<ColumnStatistics> statistics) {
+        switch (condition.getKind()) {
+            case IS_NULL:
+            case IS_NOT_NULL:
+                ColumnStatistics column = columnStatistics(operands.get(0), statistics);
+                if (column == null) {
+                    return null;
+                }
+                return condition.getKind() == SqlKind.IS_NULL ? column.getNullFraction() : 1 - column.getNullFraction();
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                return estimateComparison(condition.getKind(), operands.get(0), operands.get(1), statistics);
+            default:
+                return null;
+        }
+    }
+
+    @Nullable
+    private static Double estimateComparison(
+            SqlKind kind,
+            RexNode left,
+            RexNode right,
+            IntFunction<ColumnStatistics> statistics
+    ) {
+        if (RexUtil.containsInputRef(right)) {
+            if (RexUtil.containsInputRef(left)) {
+                // compares two fields
+                return null;
+            }
+            return estimateComparison(kind.reverse(), right, left, statistics);
+        }
+        ColumnStatistics column = columnStatistics(left, statistics);
+        if (column == null) {
+            return null;
+        }
+
+        double nonNull = 1 - column.getNullFraction();
+        if (kind == SqlKind.EQUALS) {
+            return column.equalsSelectivity();
+        } else if (kind == SqlKind.NOT_EQUALS) {
+            return nonNull - column.equalsSelectivity();
+        }
+
+        RexNode value = RexUtil.removeCast(right);
+        if (!(value instanceof RexLiteral literal) || !(literal.getValue() instanceof Number number)) {
+            // the value is not known until the execution
+            return null;
+        }
+        double bound = number.doubleValue();
+        return switch (kind) {
+            case LESS_THAN -> column.lessThanSelectivity(bound, false);
+            case LESS_THAN_OR_EQUAL -> column.lessThanSelectivity(bound, true);
+            case GREATER_THAN -> complement(nonNull, column.lessThanSelectivity(bound, true));
+            default -> complement(nonNull, column.lessThanSelectivity(bound, false));
+        };
+    }
+
+    @Nullable
+    private static ColumnStatistics columnStatistics(RexNode operand, IntFunction<ColumnStatistics> statistics) {
+        RexNode node = RexUtil.removeCast(operand);
+        return node instanceof RexInputRef inputRef ? statistics.apply(inputRef.getIndex()) : null;
+    }
+
+    @Nullable
+    private static Double complement(double nonNull, @Nullable Double selectivity) {
+        return selectivity != null ? nonNull - selectivity : null;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.opt.metadata;
+
+import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdDistinctRowCount;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.BuiltInMethod;
+import org.apache.calcite.util.ImmutableBitSet;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Metadata which provides estimates of the number of distinct values of
+ * the columns of the scans of the tables with column statistics.
+ */
+public final class HazelcastRelMdDistinctRowCount extends RelMdDistinctRowCount {
+    /** Do not change the name (see {@code RelMetadataQueryBase} JavaDoc). */
+    public static final RelMetadataProvider SOURCE = ReflectiveRelMetadataProvider.reflectiveSource(
+            BuiltInMethod.DISTINCT_ROW_COUNT.method,
+            new HazelcastRelMdDistinctRowCount()
+    );
+
+    private HazelcastRelMdDistinctRowCount() {
+        // No-op.
+    }
+
+    @Nullable
+    @SuppressWarnings("unused")
+    public Double getDistinctRowCount(
+            TableScan rel,
+            RelMetadataQuery mq,
+            ImmutableBitSet groupKey,
+            @Nullable RexNode predicate
+    ) {
+        HazelcastTable table = rel.getTable().unwrap(HazelcastTable.class);
+        Double distinctCount = table != null ? distinctCount(table, groupKey) : null;
+        Double rowCount = mq.getRowCount(rel);
+        if (distinctCount == null || rowCount == null) {
+            return super.getDistinctRowCount((RelNode) rel, mq, groupKey, predicate);
+        }
+        return RelMdUtil.numDistinctVals(distinctCount, rowCount * RelMdUtil.guessSelectivity(predicate));
+    }
+
+    /**
+     * @return the number of distinct combinations of the values of the given
+     * columns in the whole table, or {@code null} if any of the columns has
+     * no statistics
+     */
+    @Nullable
+    private static Double distinctCount(HazelcastTable table, ImmutableBitSet columns) {
+        List<RexNode> projects = table.getProjects();
+        double distinctCount = 1;
+        for (int column : columns) {
+            RexNode project = projects.get(column);
+            ColumnStatistics statistics = project instanceof RexInputRef inputRef
+                    ? table.getColumnStatistics(inputRef.getIndex())
+                    : null;
+            if (statistics == null) {
+                return null;
+            }
+            // null is a distinct value too
+            distinctCount *= Math.max(1, statistics.getDistinctCount()) + (statistics.getNullFraction() > 0 ? 1 : 0);
+        }
+        return Math.min(distinctCount, table.getTotalRowCount());
+    }
+}
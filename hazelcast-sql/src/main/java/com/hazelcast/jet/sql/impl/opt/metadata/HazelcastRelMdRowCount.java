@@ -16,11 +16,25 @@
 
 package com.hazelcast.jet.sql.impl.opt.metadata;
 
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.sql.impl.opt.OptUtils;
+import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMdRowCount;
+import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
 import org.apache.calcite.util.BuiltInMethod;
 
+import javax.annotation.Nullable;
+
 /**
  * Metadata which provides row count estimates.
  */
@@ -33,6 +47,58 @@ public final class HazelcastRelMdRowCount extends RelMdRowCount {
         // No-op.
     }
 
-    // Empty at the moment, will be extended in the future.
-    // Now it serves as an example of how to wire up a metadata handler into Calcite.
+    /**
+     * Estimates the row count of an equi-join of the columns with statistics
+     * assuming that the values of the side with fewer distinct values are
+     * contained in the other side, each of them matching the same number of
+     * rows. Falls back to the default estimate otherwise.
+     */
+    @Nullable
+    @Override
+    public Double getRowCount(Join rel, RelMetadataQuery mq) {
+        Double rowCount = equiJoinRowCount(rel, mq);
+        return rowCount != null ? rowCount : super.getRowCount(rel, mq);
+    }
+
+    @Nullable
+    private static Double equiJoinRowCount(Join rel, RelMetadataQuery mq) {
+        JoinInfo joinInfo = rel.analyzeCondition();
+        JoinRelType joinType = rel.getJoinType();
+        if (joinInfo.leftKeys.isEmpty() || (joinType != JoinRelType.INNER && joinType != JoinRelType.LEFT)) {
+            return null;
+        }
+        Double leftRowCount = mq.getRowCount(rel.getLeft());
+        Double rightRowCount = mq.getRowCount(rel.getRight());
+        if (leftRowCount == null || rightRowCount == null) {
+            return null;
+        }
+
+        double rowCount = leftRowCount * rightRowCount;
+        for (int i = 0; i < joinInfo.leftKeys.size(); i++) {
+            ColumnStatistics left = columnStatistics(rel.getLeft(), joinInfo.leftKeys.get(i));
+            ColumnStatistics right = columnStatistics(rel.getRight(), joinInfo.rightKeys.get(i));
+            if (left == null || right == null) {
+                return null;
+            }
+            // the inputs may be filtered, they can't have more distinct values than rows
+            double distinctCount = Math.max(
+                    Math.min(left.getDistinctCount(), leftRowCount),
+                    Math.min(right.getDistinctCount(), rightRowCount));
+            rowCount *= (1 - left.getNullFraction()) * (1 - right.getNullFraction()) / Math.max(1, distinctCount);
+        }
+        RexNode remainder = RexUtil.composeConjunction(rel.getCluster().getRexBuilder(), joinInfo.nonEquiConditions);
+        rowCount *= RelMdUtil.guessSelectivity(remainder);
+
+        return joinType == JoinRelType.LEFT ? Math.max(rowCount, leftRowCount) : rowCount;
+    }
+
+    /**
+     * Finds the statistics of the table column the given column of the given
+     * relation is a reference to, through the filters and projections.
+     */
+    @Nullable
+    private static ColumnStatistics columnStatistics(RelNode rel, int column) {
+        Tuple2<HazelcastTable, Integer> origin = OptUtils.findFieldOrigin(rel, column);
+        return origin != null ? origin.f0().getColumnStatistics(origin.f1()) : null;
+    }
 }
@@ -47,16 +47,20 @@ import com.hazelcast.jet.sql.impl.connector.SqlConnector;
 import com.hazelcast.jet.sql.impl.connector.SqlConnector.VertexWithInputConfig;
 import com.hazelcast.jet.sql.impl.connector.SqlConnectorUtil;
 import com.hazelcast.jet.sql.impl.connector.map.IMapSqlConnector;
+import com.hazelcast.jet.sql.impl.expression.codegen.ExpressionCompiler;
 import com.hazelcast.jet.sql.impl.opt.ExpressionValues;
+import com.hazelcast.jet.sql.impl.opt.FieldCollation;
 import com.hazelcast.jet.sql.impl.opt.WatermarkKeysAssigner;
 import com.hazelcast.jet.sql.impl.opt.WatermarkThrottlingFrameSizeCalculator;
 import com.hazelcast.jet.sql.impl.processors.LateItemsDropP;
 import com.hazelcast.jet.sql.impl.processors.SqlHashJoinP;
+import com.hazelcast.jet.sql.impl.processors.SqlMergeJoinP;
 import com.hazelcast.jet.sql.impl.processors.StreamToStreamJoinP.StreamToStreamJoinProcessorSupplier;
 import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
+import com.hazelcast.sql.impl.SqlServiceImpl;
 import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
@@ -65,6 +69,8 @@ import com.hazelcast.sql.impl.optimizer.PlanObjectKey;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.type.QueryDataType;
+import org.apache.calcite.rel.RelFieldCollation.Direction;
+import org.apache.calcite.rel.RelFieldCollation.NullDirection;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.SingleRel;
 import org.apache.calcite.rex.RexProgram;
@@ -88,9 +94,11 @@ import static com.hazelcast.jet.core.processor.Processors.mapP;
 import static com.hazelcast.jet.core.processor.Processors.mapUsingServiceP;
 import static com.hazelcast.jet.core.processor.Processors.sortP;
 import static com.hazelcast.jet.core.processor.SourceProcessors.convenientSourceP;
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
 import static com.hazelcast.jet.sql.impl.connector.HazelcastRexNode.wrap;
 import static com.hazelcast.jet.sql.impl.connector.SqlConnectorUtil.getJetSqlConnector;
 import static com.hazelcast.jet.sql.impl.processors.RootResultConsumerSink.rootResultConsumerSink;
+import static com.hazelcast.spi.properties.ClusterProperty.SQL_EXPRESSION_COMPILATION_ENABLED;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 
@@ -287,14 +295,12 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
             Expression<Boolean> filterExpr = dagBuildContext.convertFilter(wrap(rel.filter()));
             assert filterExpr != null;
             vertex = dag.newUniqueVertex("Calc", mapUsingServiceP(
-                    ServiceFactories.nonSharedService(ctx ->
-                                    ExpressionUtil.calcFn(projection, filterExpr, ExpressionEvalContext.from(ctx)))
+                    ServiceFactories.nonSharedService(ctx -> createCalcFn(projection, filterExpr, ctx))
                             .setCooperative(projectionsCooperative && filterExpr.isCooperative()),
                     (Function<JetSqlRow, JetSqlRow> calcFn, JetSqlRow row) -> calcFn.apply(row)));
         } else {
             vertex = dag.newUniqueVertex("Project", mapUsingServiceP(
-                    ServiceFactories.nonSharedService(ctx ->
-                                    ExpressionUtil.projectionFn(projection, ExpressionEvalContext.from(ctx)))
+                    ServiceFactories.nonSharedService(ctx -> createCalcFn(projection, null, ctx))
                             .setCooperative(projectionsCooperative),
                     (Function<JetSqlRow, JetSqlRow> projectionFn, JetSqlRow row) -> projectionFn.apply(row)
             ));
@@ -537,7 +543,39 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
                         rel.getRight().getRowType().getFieldCount()
                 )
         );
-        connectJoinInput(joinInfo, rel.getLeft(), rel.getRight(), joinVertex);
+        connectJoinInput(joinInfo, rel.getLeft(), rel.getRight(), joinVertex, rel.isCoLocated());
+        return joinVertex;
+    }
+
+    @Override
+    public Vertex onMergeJoin(JoinMergePhysicalRel rel) {
+        JetJoinInfo joinInfo = rel.joinInfo(dagBuildContext.getParameterMetadata());
+
+        Vertex joinVertex = dag.newUniqueVertex(
+                "Merge Join",
+                SqlMergeJoinP.supplier(
+                        joinInfo,
+                        rel.leftKey(),
+                        rel.rightKey(),
+                        rel.getRight().getRowType().getFieldCount()
+                )
+        );
+        Vertex leftInput = ((PhysicalRel) rel.getLeft()).accept(this);
+        Vertex rightInput = ((PhysicalRel) rel.getRight()).accept(this);
+
+        // Both inputs are sorted by the merge key. The edges are partitioned by it and keep
+        // the order, so every processor receives the rows of its keys in the ascending order.
+        // Unlike with the hash join, the inputs are consumed at the same time.
+        Edge left = between(leftInput, joinVertex)
+                .distributed()
+                .partitioned(ObjectArrayKey.projectFn(new int[]{rel.leftKey()}))
+                .ordered(mergeKeyComparator(rel.leftKey()));
+        Edge right = from(rightInput).to(joinVertex, 1)
+                .distributed()
+                .partitioned(ObjectArrayKey.projectFn(new int[]{rel.rightKey()}))
+                .ordered(mergeKeyComparator(rel.rightKey()));
+        dag.edge(left);
+        dag.edge(right);
         return joinVertex;
     }
 
@@ -684,6 +722,22 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
         });
     }
 
+    private static FunctionEx<JetSqlRow, JetSqlRow> createCalcFn(
+            List<Expression<?>> projection,
+            @Nullable Expression<Boolean> filter,
+            ProcessorSupplier.Context ctx
+    ) {
+        ExpressionEvalContext evalContext = ExpressionEvalContext.from(ctx);
+        NodeEngine nodeEngine = getNodeEngine(ctx.hazelcastInstance());
+        if (nodeEngine.getProperties().getBoolean(SQL_EXPRESSION_COMPILATION_ENABLED)) {
+            ExpressionCompiler compiler = ((SqlServiceImpl) nodeEngine.getSqlService()).getExpressionCompiler();
+            return compiler.calcFn(projection, filter, evalContext);
+        }
+        return filter == null
+                ? ExpressionUtil.projectionFn(projection, evalContext)
+                : ExpressionUtil.calcFn(projection, filter, evalContext);
+    }
+
     private static boolean shouldChangeLocalParallelism(Edge edge) {
         if (edge.getDestination() == null) {
             return false;
@@ -721,7 +775,8 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
             JetJoinInfo joinInfo,
             RelNode leftInputRel,
             RelNode rightInputRel,
-            Vertex joinVertex
+            Vertex joinVertex,
+            boolean coLocated
     ) {
         Vertex leftInput = ((PhysicalRel) leftInputRel).accept(this);
         Vertex rightInput = ((PhysicalRel) rightInputRel).accept(this);
@@ -733,13 +788,20 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
             right = right.broadcast().distributed();
         }
         if (joinInfo.isEquiJoin()) {
-            left = left.distributed().partitioned(ObjectArrayKey.projectFn(joinInfo.leftEquiJoinIndices()));
-            right = right.distributed().partitioned(ObjectArrayKey.projectFn(joinInfo.rightEquiJoinIndices()));
+            left = left.partitioned(ObjectArrayKey.projectFn(joinInfo.leftEquiJoinIndices()));
+            right = right.partitioned(ObjectArrayKey.projectFn(joinInfo.rightEquiJoinIndices()));
+            // the matching rows of co-located inputs are on the same member, no need to shuffle them
+            left = coLocated ? left.local() : left.distributed();
+            right = coLocated ? right.local() : right.distributed();
         }
         dag.edge(left);
         dag.edge(right);
     }
 
+    private static ComparatorEx<JetSqlRow> mergeKeyComparator(int index) {
+        return ExpressionUtil.comparisonFn(singletonList(new FieldCollation(index, Direction.ASCENDING, NullDirection.FIRST)));
+    }
+
     private void connectStreamToStreamJoinInput(
             JetJoinInfo joinInfo,
             RelNode leftInputRel,
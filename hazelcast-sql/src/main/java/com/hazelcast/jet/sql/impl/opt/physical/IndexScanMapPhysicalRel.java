@@ -41,7 +41,6 @@ import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelWriter;
 import org.apache.calcite.rel.core.TableScan;
-import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 
@@ -154,14 +153,15 @@ public class IndexScanMapPhysicalRel extends TableScan implements HazelcastPhysi
 
     @Override
     public double estimateRowCount(RelMetadataQuery mq) {
+        HazelcastTable hazelcastTable = getTableUnwrapped();
         double rowCount = table.getRowCount();
 
         if (indexExp != null) {
-            rowCount = CostUtils.adjustFilteredRowCount(rowCount, RelMdUtil.guessSelectivity(indexExp));
+            rowCount = CostUtils.adjustFilteredRowCount(rowCount, hazelcastTable.estimateSelectivity(indexExp));
         }
 
         if (remainderExp != null) {
-            rowCount = CostUtils.adjustFilteredRowCount(rowCount, RelMdUtil.guessSelectivity(remainderExp));
+            rowCount = CostUtils.adjustFilteredRowCount(rowCount, hazelcastTable.estimateSelectivity(remainderExp));
         }
 
         return rowCount;
@@ -170,10 +170,11 @@ public class IndexScanMapPhysicalRel extends TableScan implements HazelcastPhysi
     @Override
     public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
         // Get the number of rows being scanned. This is either the whole index (scan), or only part of the index (lookup)
+        HazelcastTable hazelcastTable = getTableUnwrapped();
         double scanRowCount = table.getRowCount();
 
         if (indexExp != null) {
-            scanRowCount = CostUtils.adjustFilteredRowCount(scanRowCount, RelMdUtil.guessSelectivity(indexExp));
+            scanRowCount = CostUtils.adjustFilteredRowCount(scanRowCount, hazelcastTable.estimateSelectivity(indexExp));
         }
 
         // Get the number of rows that we expect after the remainder filter is applied.
@@ -181,7 +182,7 @@ public class IndexScanMapPhysicalRel extends TableScan implements HazelcastPhysi
         double filterRowCount = scanRowCount;
 
         if (hasFilter) {
-            filterRowCount = CostUtils.adjustFilteredRowCount(filterRowCount, RelMdUtil.guessSelectivity(remainderExp));
+            filterRowCount = CostUtils.adjustFilteredRowCount(filterRowCount, hazelcastTable.estimateSelectivity(remainderExp));
         }
 
         return computeSelfCost(
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.opt.physical;
+
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A join of two inputs sorted in ascending order by one of the equi-join
+ * keys, the merge key. Unlike the hash join, it doesn't build a hash table
+ * of the whole right input, it only keeps the right rows with the current
+ * merge key.
+ */
+public class JoinMergePhysicalRel extends JoinPhysicalRel {
+    private static final double COST_FACTOR = 1.05;
+
+    private final int leftKey;
+    private final int rightKey;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    JoinMergePhysicalRel(
+            RelOptCluster cluster,
+            RelTraitSet traitSet,
+            RelNode left,
+            RelNode right,
+            RexNode condition,
+            JoinRelType joinType,
+            int leftKey,
+            int rightKey
+    ) {
+        super(cluster, traitSet, left, right, condition, joinType);
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+    }
+
+    /**
+     * @return the index of the merge key field in the left input
+     */
+    public int leftKey() {
+        return leftKey;
+    }
+
+    /**
+     * @return the index of the merge key field in the right input
+     */
+    public int rightKey() {
+        return rightKey;
+    }
+
+    @Override
+    public <V> V accept(CreateDagVisitor<V> visitor) {
+        return visitor.onMergeJoin(this);
+    }
+
+    @Override
+    public Join copy(
+            RelTraitSet traitSet,
+            RexNode conditionExpr,
+            RelNode left,
+            RelNode right,
+            JoinRelType joinType,
+            boolean semiJoinDone
+    ) {
+        return new JoinMergePhysicalRel(getCluster(), traitSet, left, right, conditionExpr, joinType, leftKey, rightKey);
+    }
+
+    @Override
+    @Nullable
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        return super.computeSelfCost(planner, mq).multiplyBy(COST_FACTOR);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+                .item("leftKey", leftKey)
+                .item("rightKey", rightKey);
+    }
+}
@@ -16,12 +16,20 @@
 
 package com.hazelcast.jet.sql.impl.opt.physical;
 
+import com.hazelcast.jet.datamodel.Tuple2;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.jet.sql.impl.opt.OptUtils;
+import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelWriter;
 import org.apache.calcite.rel.core.Join;
@@ -30,6 +38,8 @@ import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.rex.RexUtil;
 
+import javax.annotation.Nullable;
+
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 
@@ -63,6 +73,56 @@ public abstract class JoinPhysicalRel extends Join implements PhysicalRel {
         return new JetJoinInfo(getJoinType(), leftKeys, rightKeys, nonEquiCondition, condition);
     }
 
+    /**
+     * Returns {@code true} if the matching rows of both inputs are stored on
+     * the same member, so that they don't need to be shuffled between the
+     * members. That's the case if one of the equi-join conditions compares
+     * the keys of two partitioned maps using the default partitioning
+     * strategy, and the keys have the same type: equal keys are stored in
+     * the same partition in both maps. A sorted input isn't co-located, its
+     * rows are combined on a single member.
+     * <p>
+     * Like the partition pruning, it relies on the keys stored in the map
+     * having the type declared in the mapping.
+     */
+    public boolean isCoLocated() {
+        if (isSorted(getLeft()) || isSorted(getRight())) {
+            return false;
+        }
+        JoinInfo joinInfo = analyzeCondition();
+        for (int i = 0; i < joinInfo.leftKeys.size(); i++) {
+            MapTableField leftField = partitionKeyField(getLeft(), joinInfo.leftKeys.get(i));
+            MapTableField rightField = partitionKeyField(getRight(), joinInfo.rightKeys.get(i));
+            if (leftField != null && rightField != null && leftField.getType().equals(rightField.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSorted(RelNode input) {
+        RelCollation collation = input.getTraitSet().getCollation();
+        return collation != null && !collation.getFieldCollations().isEmpty();
+    }
+
+    /**
+     * Returns the map key field the given field of the given input is a
+     * reference to, if the map is partitioned by it.
+     */
+    @Nullable
+    private static MapTableField partitionKeyField(RelNode input, int field) {
+        Tuple2<HazelcastTable, Integer> origin = OptUtils.findFieldOrigin(input, field);
+        if (origin == null || !(origin.f0().getTarget() instanceof PartitionedMapTable table)
+                || !table.supportsPartitionPruning() || !table.partitioningAttributes().isEmpty()) {
+            return null;
+        }
+        MapTableField tableField = table.getField(origin.f1());
+        QueryDataTypeFamily family = tableField.getType().getTypeFamily();
+        boolean stableType = family.isNumeric() || family.isTemporal()
+                || family == QueryDataTypeFamily.VARCHAR || family == QueryDataTypeFamily.BOOLEAN;
+        return stableType && QueryPath.KEY_PATH.equals(tableField.getPath()) ? tableField : null;
+    }
+
     @Override
     public RelWriter explainTerms(RelWriter pw) {
         return super.explainTerms(pw).item("conditionType",
@@ -24,11 +24,20 @@ import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
 import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.RelOptRuleCall;
 import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelFieldCollation.Direction;
 import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.sql.type.SqlTypeName;
 import org.immutables.value.Value;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import static com.hazelcast.jet.sql.impl.opt.Conventions.LOGICAL;
 import static com.hazelcast.jet.sql.impl.opt.Conventions.PHYSICAL;
 
@@ -90,6 +99,10 @@ public final class JoinPhysicalRule extends RelRule<RelRule.Config> {
                     logicalJoin.getCondition(),
                     logicalJoin.getJoinType());
             call.transformTo(rel);
+
+            for (RelNode mergeJoin : mergeJoins(logicalJoin, leftInput, rightInput)) {
+                call.transformTo(mergeJoin);
+            }
         }
 
         if (rightInput instanceof TableScan) {
@@ -113,6 +126,67 @@ public final class JoinPhysicalRule extends RelRule<RelRule.Config> {
         }
     }
 
+    /**
+     * Creates a merge join for every pair of the physical inputs sorted in
+     * the ascending order by the same pair of equi-join keys.
+     */
+    private static List<RelNode> mergeJoins(JoinLogicalRel logicalJoin, RelNode leftInput, RelNode rightInput) {
+        JoinInfo joinInfo = logicalJoin.analyzeCondition();
+        List<RelNode> mergeJoins = new ArrayList<>();
+        if (joinInfo.leftKeys.isEmpty()) {
+            return mergeJoins;
+        }
+
+        Collection<RelNode> rightRels = OptUtils.extractPhysicalRelsFromSubset(rightInput);
+        for (RelNode left : OptUtils.extractPhysicalRelsFromSubset(leftInput)) {
+            int leftKey = ascendingSortField(left);
+            for (RelNode right : rightRels) {
+                int rightKey = ascendingSortField(right);
+                if (!isMergeKey(joinInfo, leftKey, rightKey) || !fieldType(left, leftKey).equals(fieldType(right, rightKey))) {
+                    continue;
+                }
+                mergeJoins.add(new JoinMergePhysicalRel(
+                        logicalJoin.getCluster(),
+                        // the output is sorted only per processor, there's no collation
+                        OptUtils.toPhysicalConvention(logicalJoin.getTraitSet()),
+                        left,
+                        right,
+                        logicalJoin.getCondition(),
+                        logicalJoin.getJoinType(),
+                        leftKey,
+                        rightKey
+                ));
+            }
+        }
+        return mergeJoins;
+    }
+
+    /**
+     * @return the index of the first field the rel is sorted by, if sorted
+     * in the ascending order, or -1 otherwise
+     */
+    private static int ascendingSortField(RelNode rel) {
+        RelCollation collation = rel.getTraitSet().getCollation();
+        if (collation == null || collation.getFieldCollations().isEmpty()) {
+            return -1;
+        }
+        RelFieldCollation fieldCollation = collation.getFieldCollations().get(0);
+        return fieldCollation.getDirection() == Direction.ASCENDING ? fieldCollation.getFieldIndex() : -1;
+    }
+
+    private static boolean isMergeKey(JoinInfo joinInfo, int leftKey, int rightKey) {
+        for (int i = 0; i < joinInfo.leftKeys.size(); i++) {
+            if (leftKey >= 0 && joinInfo.leftKeys.get(i) == leftKey && joinInfo.rightKeys.get(i) == rightKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SqlTypeName fieldType(RelNode rel, int index) {
+        return rel.getRowType().getFieldList().get(index).getType().getSqlTypeName();
+    }
+
     private ShouldNotExecuteRel fail(RelNode node, String message) {
         return new ShouldNotExecuteRel(
                 node.getCluster(),
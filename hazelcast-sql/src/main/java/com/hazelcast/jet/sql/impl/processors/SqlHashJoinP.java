@@ -25,6 +25,8 @@ import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.SpillFile;
+import com.hazelcast.jet.impl.memory.SpillStore;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.jet.sql.impl.ObjectArrayKey;
@@ -39,11 +41,29 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+/**
+ * Joins the left rows with the rows of the right input, collected into
+ * a hash table.
+ * <p>
+ * If spilling is enabled, see {@link SpillStore}, and the right rows of
+ * an equi-join don't fit into the accumulation limit, the rows of both
+ * inputs are written to disk, split into partitions by the hash of the
+ * join key. When the left input is complete, the partitions are joined
+ * one by one, a single partition of the right rows must fit into the
+ * limit. The right input has a higher priority, so it's complete before
+ * the first left row arrives.
+ * <p>
+ * The rows are buffered up to the limit and the files are written and
+ * read on an I/O thread, the processor doesn't accept rows meanwhile.
+ */
 public class SqlHashJoinP extends AbstractProcessor {
 
+    private static final int SPILL_PARTITION_COUNT = 64;
+
     private final JetJoinInfo joinInfo;
     private final int rightInputColumnCount;
 
@@ -51,6 +71,15 @@ public class SqlHashJoinP extends AbstractProcessor {
     private Multimap<ObjectArrayKey, JetSqlRow> hashMap;
     private FlatMapper<JetSqlRow, JetSqlRow> flatMapper;
     private long maxItemsInHashTable;
+    private SpillStore spillStore;
+    private boolean spilled;
+    // written by the spilling actions, while they run the processor waits
+    private SpillFile[] rightPartitions;
+    private SpillFile[] leftPartitions;
+    private List<JetSqlRow> leftRows;
+    private int nextPartition;
+    private SpillStore.Reader<JetSqlRow> leftReader;
+    private Traverser<JetSqlRow> joinedRows;
 
     public SqlHashJoinP(JetJoinInfo joinInfo, int rightInputColumnCount) {
         this.joinInfo = joinInfo;
@@ -63,6 +92,8 @@ public class SqlHashJoinP extends AbstractProcessor {
         this.hashMap = LinkedListMultimap.create();
         this.flatMapper = flatMapper(this::join);
         this.maxItemsInHashTable = context.maxProcessorAccumulatedRecords();
+        // rows of a join without equi-join keys can't be split into partitions
+        this.spillStore = joinInfo.isEquiJoin() ? SpillStore.create(context) : null;
     }
 
     private Traverser<JetSqlRow> join(JetSqlRow leftRow) {
@@ -85,13 +116,36 @@ public class SqlHashJoinP extends AbstractProcessor {
 
     @Override
     protected boolean tryProcess0(@Nonnull Object item) {
-        return flatMapper.tryProcess((JetSqlRow) item);
+        if (!spilled) {
+            return flatMapper.tryProcess((JetSqlRow) item);
+        }
+        if (spillStore.isBusy()) {
+            return false;
+        }
+        if (leftRows.size() == maxItemsInHashTable) {
+            spillStore.runAsync(this::spillLeft);
+            return false;
+        }
+        leftRows.add((JetSqlRow) item);
+        return true;
     }
 
     @Override
     protected boolean tryProcess1(@Nonnull Object item) {
+        if (spilled && spillStore.isBusy()) {
+            return false;
+        }
         if (hashMap.size() == maxItemsInHashTable) {
-            throw new AccumulationLimitExceededException();
+            if (spillStore == null) {
+                throw new AccumulationLimitExceededException();
+            }
+            if (!spilled) {
+                // from now on the hash table only buffers the right rows to spill
+                spilled = true;
+                leftRows = new ArrayList<>();
+            }
+            spillStore.runAsync(this::spillRight);
+            return false;
         }
         JetSqlRow rightRow = (JetSqlRow) item;
         ObjectArrayKey joinKeys = ObjectArrayKey.project(rightRow, joinInfo.rightEquiJoinIndices());
@@ -103,6 +157,126 @@ public class SqlHashJoinP extends AbstractProcessor {
         return true;
     }
 
+    @Override
+    public boolean completeEdge(int ordinal) {
+        if (ordinal != 1 || !spilled) {
+            return true;
+        }
+        if (spillStore.isBusy()) {
+            return false;
+        }
+        if (!hashMap.isEmpty()) {
+            spillStore.runAsync(this::spillRight);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean complete() {
+        if (!spilled) {
+            return true;
+        }
+        if (spillStore.isBusy()) {
+            return false;
+        }
+        if (!leftRows.isEmpty()) {
+            spillStore.runAsync(this::spillLeft);
+            return false;
+        }
+        return emitSpilled();
+    }
+
+    /**
+     * Joins the spill partitions one by one: reads the right rows of the
+     * partition into the hash table and joins the left rows of the
+     * partition with them.
+     */
+    private boolean emitSpilled() {
+        do {
+            if (joinedRows != null) {
+                if (!emitFromTraverser(joinedRows)) {
+                    return false;
+                }
+                joinedRows = null;
+            }
+            if (leftReader != null) {
+                JetSqlRow leftRow = leftReader.next();
+                if (leftRow != null) {
+                    joinedRows = join(leftRow);
+                    continue;
+                }
+                if (!leftReader.isDone()) {
+                    return false;
+                }
+                leftReader = null;
+            }
+            if (nextPartition == SPILL_PARTITION_COUNT) {
+                return true;
+            }
+            SpillFile rightPartition = rightPartitions[nextPartition];
+            spillStore.runAsync(() -> readRightPartition(rightPartition));
+            leftReader = spillStore.reader(leftPartitions[nextPartition]);
+            nextPartition++;
+        } while (!spillStore.isBusy());
+        return false;
+    }
+
+    /**
+     * Writes the right rows collected in the hash table to the spill
+     * partitions, creates the partitions on the first call. Runs on an I/O
+     * thread.
+     */
+    private void spillRight() {
+        if (rightPartitions == null) {
+            SpillFile[] right = new SpillFile[SPILL_PARTITION_COUNT];
+            SpillFile[] left = new SpillFile[SPILL_PARTITION_COUNT];
+            for (int i = 0; i < SPILL_PARTITION_COUNT; i++) {
+                right[i] = spillStore.newFile();
+                left[i] = spillStore.newFile();
+            }
+            rightPartitions = right;
+            leftPartitions = left;
+        }
+        for (Map.Entry<ObjectArrayKey, JetSqlRow> entry : hashMap.entries()) {
+            spillStore.write(rightPartitions[partition(entry.getKey())], entry.getValue());
+        }
+        spillStore.finishWriting(rightPartitions);
+        hashMap.clear();
+    }
+
+    /**
+     * Writes the buffered left rows to the spill partitions. Runs on an I/O
+     * thread.
+     */
+    private void spillLeft() {
+        for (JetSqlRow leftRow : leftRows) {
+            ObjectArrayKey joinKeys = ObjectArrayKey.project(leftRow, joinInfo.leftEquiJoinIndices());
+            spillStore.write(leftPartitions[partition(joinKeys)], leftRow);
+        }
+        spillStore.finishWriting(leftPartitions);
+        leftRows.clear();
+    }
+
+    /**
+     * Reads the right rows of the given spill partition into the hash table.
+     * Runs on an I/O thread.
+     */
+    private void readRightPartition(SpillFile partition) {
+        hashMap.clear();
+        Traverser<JetSqlRow> rightRows = spillStore.read(partition);
+        for (JetSqlRow rightRow; (rightRow = rightRows.next()) != null; ) {
+            if (hashMap.size() == maxItemsInHashTable) {
+                throw new AccumulationLimitExceededException();
+            }
+            hashMap.put(ObjectArrayKey.project(rightRow, joinInfo.rightEquiJoinIndices()), rightRow);
+        }
+    }
+
+    private static int partition(ObjectArrayKey joinKeys) {
+        return Math.floorMod(joinKeys.hashCode(), SPILL_PARTITION_COUNT);
+    }
+
     @Override
     public boolean tryProcessWatermark(@Nonnull Watermark watermark) {
         return true;
@@ -153,8 +327,15 @@ public class SqlHashJoinP extends AbstractProcessor {
         }
     }
 
+    @Override
+    public void close() {
+        if (spillStore != null) {
+            spillStore.close();
+        }
+    }
+
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return spillStore == null;
     }
 }
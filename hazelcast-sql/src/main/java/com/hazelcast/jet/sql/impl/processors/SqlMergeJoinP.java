@@ -0,0 +1,269 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.jet.sql.impl.ObjectArrayKey;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Joins two inputs sorted in the ascending order by the merge key, one of
+ * the equi-join keys. Instead of the whole right input only the right rows
+ * with the merge key of the current left row are kept.
+ * <p>
+ * The processor doesn't control which input it receives next, the rows of
+ * both inputs are buffered until they can be joined. The rows with a
+ * {@code null} merge key may be anywhere in the inputs, they don't match any
+ * row.
+ */
+public class SqlMergeJoinP extends AbstractProcessor {
+
+    private final JetJoinInfo joinInfo;
+    private final int leftKey;
+    private final int rightKey;
+    private final int rightInputColumnCount;
+
+    private final ArrayDeque<JetSqlRow> leftRows = new ArrayDeque<>();
+    private final ArrayDeque<JetSqlRow> rightRows = new ArrayDeque<>();
+    // the right rows with the same merge key and their equi-join keys
+    private final List<JetSqlRow> group = new ArrayList<>();
+    private final List<ObjectArrayKey> groupJoinKeys = new ArrayList<>();
+    private Object groupKey;
+    private boolean rightDone;
+
+    private ExpressionEvalContext evalContext;
+    private Traverser<JetSqlRow> pending = Traversers.empty();
+    private long maxBufferedRows;
+
+    public SqlMergeJoinP(JetJoinInfo joinInfo, int leftKey, int rightKey, int rightInputColumnCount) {
+        this.joinInfo = joinInfo;
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+        this.rightInputColumnCount = rightInputColumnCount;
+    }
+
+    @Override
+    public void init(@Nonnull Context context) throws Exception {
+        this.evalContext = ExpressionEvalContext.from(context);
+        this.maxBufferedRows = context.maxProcessorAccumulatedRecords();
+    }
+
+    @Override
+    protected boolean tryProcess0(@Nonnull Object item) {
+        return buffer(leftRows, (JetSqlRow) item);
+    }
+
+    @Override
+    protected boolean tryProcess1(@Nonnull Object item) {
+        return buffer(rightRows, (JetSqlRow) item);
+    }
+
+    private boolean buffer(ArrayDeque<JetSqlRow> rows, JetSqlRow row) {
+        if (!join()) {
+            return false;
+        }
+        if (leftRows.size() + rightRows.size() + group.size() >= maxBufferedRows) {
+            throw new AccumulationLimitExceededException();
+        }
+        rows.add(row);
+        join();
+        return true;
+    }
+
+    @Override
+    public boolean completeEdge(int ordinal) {
+        if (ordinal == 1) {
+            rightDone = true;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean complete() {
+        // all the right rows are received, so all the left rows can be joined
+        return join();
+    }
+
+    /**
+     * Joins the buffered left rows as long as the right rows with their merge
+     * key are received.
+     *
+     * @return {@code true} if all the joined rows were emitted
+     */
+    private boolean join() {
+        while (emitFromTraverser(pending)) {
+            JetSqlRow leftRow = leftRows.peek();
+            if (leftRow == null) {
+                return true;
+            }
+            Object key = leftRow.get(leftKey);
+            if (key != null && !collectGroup(key)) {
+                return true;
+            }
+            leftRows.poll();
+            pending = matches(leftRow, key);
+        }
+        return false;
+    }
+
+    /**
+     * Moves the right rows with the given merge key from the buffer to the
+     * group. The right rows with a lower key are dropped.
+     *
+     * @return {@code true} if the group is complete, {@code false} if more
+     * right rows are needed
+     */
+    private boolean collectGroup(Object key) {
+        if (groupKey != null) {
+            int comparison = compare(groupKey, key);
+            if (comparison > 0) {
+                return true;
+            }
+            if (comparison < 0) {
+                groupKey = null;
+                group.clear();
+                groupJoinKeys.clear();
+            }
+        }
+        for (JetSqlRow rightRow; (rightRow = rightRows.peek()) != null; rightRows.poll()) {
+            Object rightRowKey = rightRow.get(rightKey);
+            if (rightRowKey == null || groupKey == null && compare(rightRowKey, key) < 0) {
+                continue;
+            }
+            if (groupKey == null) {
+                groupKey = rightRowKey;
+            } else if (compare(rightRowKey, groupKey) != 0) {
+                // the next group starts here
+                return true;
+            }
+            ObjectArrayKey joinKeys = ObjectArrayKey.project(rightRow, joinInfo.rightEquiJoinIndices());
+            // if there's a null in the key, then `null = null` is UNKNOWN in SQL, ignore such keys
+            if (!joinKeys.containsNull()) {
+                group.add(rightRow);
+                groupJoinKeys.add(joinKeys);
+            }
+        }
+        return rightDone || groupKey != null && compare(groupKey, key) > 0;
+    }
+
+    private Traverser<JetSqlRow> matches(JetSqlRow leftRow, Object key) {
+        List<JetSqlRow> output = new ArrayList<>();
+        if (key != null && groupKey != null && compare(groupKey, key) == 0) {
+            ObjectArrayKey joinKeys = ObjectArrayKey.project(leftRow, joinInfo.leftEquiJoinIndices());
+            for (int i = 0; i < group.size(); i++) {
+                if (!joinKeys.equals(groupJoinKeys.get(i))) {
+                    continue;
+                }
+                JetSqlRow joined = ExpressionUtil.join(leftRow, group.get(i), joinInfo.nonEquiCondition(), evalContext);
+                if (joined != null) {
+                    output.add(joined);
+                }
+            }
+        }
+        if (joinInfo.isLeftOuter() && output.isEmpty()) {
+            return Traversers.singleton(leftRow.extendedRow(rightInputColumnCount));
+        }
+        return Traversers.traverseIterable(output);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object left, Object right) {
+        return ((Comparable) left).compareTo(right);
+    }
+
+    @Override
+    public boolean tryProcessWatermark(@Nonnull Watermark watermark) {
+        return true;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return joinInfo.isCooperative();
+    }
+
+    @Override
+    public boolean closeIsCooperative() {
+        return true;
+    }
+
+    public static ProcessorSupplier supplier(JetJoinInfo joinInfo, int leftKey, int rightKey, int rightInputColumnCount) {
+        return new MergeJoinProcessorSupplier(joinInfo, leftKey, rightKey, rightInputColumnCount);
+    }
+
+    private static final class MergeJoinProcessorSupplier implements ProcessorSupplier, DataSerializable {
+        private JetJoinInfo joinInfo;
+        private int leftKey;
+        private int rightKey;
+        private int rightInputColumnCount;
+
+        @SuppressWarnings("unused") // for deserialization
+        private MergeJoinProcessorSupplier() {
+        }
+
+        private MergeJoinProcessorSupplier(JetJoinInfo joinInfo, int leftKey, int rightKey, int rightInputColumnCount) {
+            this.joinInfo = joinInfo;
+            this.leftKey = leftKey;
+            this.rightKey = rightKey;
+            this.rightInputColumnCount = rightInputColumnCount;
+        }
+
+        @Nonnull
+        @Override
+        public Collection<? extends Processor> get(int count) {
+            List<SqlMergeJoinP> processors = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                processors.add(new SqlMergeJoinP(joinInfo, leftKey, rightKey, rightInputColumnCount));
+            }
+            return processors;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeObject(joinInfo);
+            out.writeInt(leftKey);
+            out.writeInt(rightKey);
+            out.writeInt(rightInputColumnCount);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            joinInfo = in.readObject();
+            leftKey = in.readInt();
+            rightKey = in.readInt();
+            rightInputColumnCount = in.readInt();
+        }
+    }
+}
@@ -97,6 +97,6 @@ public final class HazelcastSchemaUtils {
      * @return Statistics for the table.
      */
     private static Statistic createTableStatistic(Table table) {
-        return new HazelcastTableStatistic(table.getStatistics().getRowCount());
+        return new HazelcastTableStatistic(table.getStatistics());
     }
 }
@@ -19,13 +19,14 @@ package com.hazelcast.jet.sql.impl.schema;
 import com.hazelcast.jet.sql.impl.opt.OptUtils;
 import com.hazelcast.jet.sql.impl.opt.common.CalcIntoScanRule;
 import com.hazelcast.jet.sql.impl.opt.cost.CostUtils;
+import com.hazelcast.jet.sql.impl.opt.cost.SelectivityEstimator;
 import com.hazelcast.jet.sql.impl.validate.types.HazelcastTypeFactory;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableField;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelDistribution;
 import org.apache.calcite.rel.RelReferentialConstraint;
-import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
@@ -161,7 +162,7 @@ public class HazelcastTable extends AbstractTable {
         if (filter == null) {
             return statistic;
         } else {
-            Double selectivity = RelMdUtil.guessSelectivity(filter);
+            Double selectivity = estimateSelectivity(filter);
             Double rowCount = CostUtils.adjustFilteredRowCount(statistic.getRowCount(), selectivity);
             return new AdjustedStatistic(rowCount);
         }
@@ -171,6 +172,29 @@ public class HazelcastTable extends AbstractTable {
         return statistic.getRowCount();
     }
 
+    /**
+     * @param fieldIndex the index of the field in the target table
+     * @return the statistics of the values of the field, or {@code null} if not available
+     */
+    @Nullable
+    public ColumnStatistics getColumnStatistics(int fieldIndex) {
+        return statistic instanceof HazelcastTableStatistic tableStatistic
+                ? tableStatistic.getColumnStatistics(fieldIndex)
+                : null;
+    }
+
+    /**
+     * Estimates the fraction of the rows of the target table matching the
+     * given condition, using the statistics of the fields if available.
+     *
+     * @param condition the condition referencing the fields of the target table
+     *                  by their indexes, like the {@linkplain #getFilter() filter}
+     * @return the estimated selectivity
+     */
+    public double estimateSelectivity(@Nullable RexNode condition) {
+        return SelectivityEstimator.estimate(condition, this::getColumnStatistics);
+    }
+
     public boolean isHidden(String fieldName) {
         return hiddenFieldNames.contains(fieldName);
     }
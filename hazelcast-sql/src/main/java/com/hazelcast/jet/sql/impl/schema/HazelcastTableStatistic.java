@@ -16,6 +16,9 @@
 
 package com.hazelcast.jet.sql.impl.schema;
 
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
+import com.hazelcast.sql.impl.schema.TableStatistics;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelDistribution;
 import org.apache.calcite.rel.RelDistributionTraitDef;
@@ -23,6 +26,7 @@ import org.apache.calcite.rel.RelReferentialConstraint;
 import org.apache.calcite.schema.Statistic;
 import org.apache.calcite.util.ImmutableBitSet;
 
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
 
@@ -32,9 +36,15 @@ import java.util.List;
 public class HazelcastTableStatistic implements Statistic {
     /** Row count that is fixed for the duration of query optimization process. */
     private final Long rowCount;
+    private final TableStatistics statistics;
 
     public HazelcastTableStatistic(long rowCount) {
-        this.rowCount = rowCount;
+        this(new ConstantTableStatistics(rowCount));
+    }
+
+    public HazelcastTableStatistic(TableStatistics statistics) {
+        this.rowCount = statistics.getRowCount();
+        this.statistics = statistics;
     }
 
     @Override
@@ -42,6 +52,15 @@ public class HazelcastTableStatistic implements Statistic {
         return (double) rowCount;
     }
 
+    /**
+     * @param fieldIndex the index of the field in the table
+     * @return the statistics of the values of the field, or {@code null} if not available
+     */
+    @Nullable
+    public ColumnStatistics getColumnStatistics(int fieldIndex) {
+        return statistics.getColumnStatistics(fieldIndex);
+    }
+
     @Override
     public boolean isKey(ImmutableBitSet columns) {
         // See getKeys().
@@ -23,6 +23,7 @@ import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.jet.impl.util.Util;
 import com.hazelcast.jet.sql.impl.CalciteSqlOptimizer;
 import com.hazelcast.jet.sql.impl.CalciteSqlOptimizerImpl;
+import com.hazelcast.jet.sql.impl.expression.codegen.ExpressionCompiler;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.sql.SqlExpectedResultType;
@@ -67,10 +68,16 @@ public class SqlServiceImpl implements InternalSqlService {
      */
     private static final int PLAN_CACHE_SIZE = 10_000;
 
+    /**
+     * Default size of the cache of the compiled expressions.
+     */
+    private static final int EXPRESSION_CACHE_SIZE = 1_000;
+
     private final ILogger logger;
     private final NodeEngineImpl nodeEngine;
     private final NodeServiceProviderImpl nodeServiceProvider;
     private final PlanCache planCache = new PlanCache(PLAN_CACHE_SIZE);
+    private final ExpressionCompiler expressionCompiler = new ExpressionCompiler(EXPRESSION_CACHE_SIZE);
 
     private final long queryTimeout;
 
@@ -129,6 +136,7 @@ public class SqlServiceImpl implements InternalSqlService {
             return;
         }
         planCache.clear();
+        expressionCompiler.clear();
     }
 
     @Override
@@ -137,6 +145,7 @@ public class SqlServiceImpl implements InternalSqlService {
             return;
         }
         planCache.clear();
+        expressionCompiler.clear();
         if (internalService != null) {
             internalService.shutdown();
         }
@@ -173,6 +182,10 @@ public class SqlServiceImpl implements InternalSqlService {
         return planCache;
     }
 
+    public ExpressionCompiler getExpressionCompiler() {
+        return expressionCompiler;
+    }
+
     @Nonnull
     @Override
     public SqlResult execute(@Nonnull SqlStatement statement) {
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Statistics of the values of a table column, estimated from a sample of
+ * the rows.
+ * <p>
+ * For numeric columns an equi-depth histogram of the non-null values is
+ * kept: the values are split into buckets holding the same number of
+ * values, the bounds of the buckets are the histogram. The first bound
+ * is the minimum and the last one is the maximum of the values.
+ */
+public final class ColumnStatistics {
+
+    private final double nullFraction;
+    private final double distinctCount;
+    private final double[] histogram;
+
+    /**
+     * @param nullFraction  the fraction of the rows with a {@code null} value
+     * @param distinctCount the estimated number of distinct non-null values
+     * @param histogram     the bucket bounds of the equi-depth histogram of
+     *                      the values, in ascending order, or {@code null}
+     *                      if the column is not numeric or has no values
+     */
+    public ColumnStatistics(double nullFraction, double distinctCount, @Nullable double[] histogram) {
+        assert histogram == null || histogram.length >= 2;
+        this.nullFraction = nullFraction;
+        this.distinctCount = distinctCount;
+        this.histogram = histogram;
+    }
+
+    public double getNullFraction() {
+        return nullFraction;
+    }
+
+    public double getDistinctCount() {
+        return distinctCount;
+    }
+
+    public boolean hasHistogram() {
+        return histogram != null;
+    }
+
+    public double getMin() {
+        return histogram != null ? histogram[0] : Double.NaN;
+    }
+
+    public double getMax() {
+        return histogram != null ? histogram[histogram.length - 1] : Double.NaN;
+    }
+
+    /**
+     * @return the estimated fraction of the rows equal to a value
+     */
+    public double equalsSelectivity() {
+        return (1 - nullFraction) / Math.max(1, distinctCount);
+    }
+
+    /**
+     * Estimates the fraction of the rows less than the given value, by
+     * interpolating the values inside the histogram bucket containing it.
+     *
+     * @param value     the value to compare with
+     * @param inclusive {@code true} to include the rows equal to the value
+     * @return the estimated fraction, or {@code null} if the column has no
+     * histogram
+     */
+    @Nullable
+    public Double lessThanSelectivity(double value, boolean inclusive) {
+        if (histogram == null) {
+            return null;
+        }
+        double nonNull = 1 - nullFraction;
+        double equal = inclusive ? equalsSelectivity() : 0;
+        int bucketCount = histogram.length - 1;
+        if (value < histogram[0]) {
+            return 0D;
+        }
+        if (value >= histogram[bucketCount]) {
+            return value == histogram[bucketCount] ? nonNull - equalsSelectivity() + equal : nonNull;
+        }
+
+        int index = Arrays.binarySearch(histogram, value);
+        // the bucket whose lower bound is the last one not greater than the value
+        int bucket = index >= 0 ? index : -index - 2;
+        while (bucket > 0 && histogram[bucket - 1] == value) {
+            bucket--;
+        }
+        double lower = histogram[bucket];
+        double upper = histogram[bucket + 1];
+        double position = upper > lower ? (value - lower) / (upper - lower) : 0;
+        double selectivity = nonNull * (bucket + position) / bucketCount + equal;
+        if (inclusive) {
+            // a frequent value may fill whole buckets
+            int last = bucket;
+            while (histogram[last + 1] == value) {
+                last++;
+            }
+            selectivity = Math.max(selectivity, nonNull * last / bucketCount);
+        }
+        return Math.min(selectivity, nonNull);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnStatistics{nullFraction=" + nullFraction
+                + ", distinctCount=" + distinctCount
+                + ", min=" + getMin()
+                + ", max=" + getMax()
+                + '}';
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Table statistics with the statistics of the fields estimated from a sample
+ * of the rows.
+ */
+public class SampledTableStatistics implements TableStatistics {
+
+    private final long rowCount;
+    private final List<ColumnStatistics> columnStatistics;
+
+    /**
+     * @param rowCount         Estimated number of rows in the table.
+     * @param columnStatistics Statistics of the fields, in the order of the fields of the table,
+     *                         {@code null} elements for the fields without statistics.
+     */
+    public SampledTableStatistics(long rowCount, List<ColumnStatistics> columnStatistics) {
+        this.rowCount = rowCount;
+        this.columnStatistics = columnStatistics;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Nullable
+    @Override
+    public ColumnStatistics getColumnStatistics(int fieldIndex) {
+        return fieldIndex < columnStatistics.size() ? columnStatistics.get(fieldIndex) : null;
+    }
+}
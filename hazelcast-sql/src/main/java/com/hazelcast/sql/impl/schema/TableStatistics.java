@@ -16,6 +16,8 @@
 
 package com.hazelcast.sql.impl.schema;
 
+import javax.annotation.Nullable;
+
 /**
  * Statistics for the table. Must not invoke any distributed operations.
  */
@@ -28,4 +30,15 @@ public interface TableStatistics {
      * @return Estimated number of rows in the table. Never negative.
      */
     long getRowCount();
+
+    /**
+     * Gets the statistics of the values of the given field.
+     *
+     * @param fieldIndex Index of the field in the table.
+     * @return Statistics of the field or {@code null} if they are not available.
+     */
+    @Nullable
+    default ColumnStatistics getColumnStatistics(int fieldIndex) {
+        return null;
+    }
 }
@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.schema.map;
 
 import com.hazelcast.cluster.memberselector.MemberSelectors;
 import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.impl.MapContainer;
@@ -90,6 +91,16 @@ public final class MapTableUtils {
         for (Index index : indexes) {
             IndexConfig indexConfig = index.getConfig();
 
+            if (indexConfig.getFilter() != null) {
+                // the index doesn't contain the entries not matching its filter
+                continue;
+            }
+
+            if (indexConfig.getType() == IndexType.FULL_TEXT) {
+                // the index can't look up or scan values, it only evaluates text predicates
+                continue;
+            }
+
             List<QueryDataType> resolvedFieldConverterTypes = indexConverterToSqlTypes(index.getConverter());
 
             List<String> indexAttributes = indexConfig.getAttributes();
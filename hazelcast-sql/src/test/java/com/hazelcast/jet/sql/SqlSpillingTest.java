@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.jet.sql.impl.connector.test.TestBatchSqlConnector;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.sql.SqlService;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.sql.impl.type.QueryDataTypeFamily.INTEGER;
+import static com.hazelcast.sql.impl.type.QueryDataTypeFamily.VARCHAR;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlSpillingTest extends SqlTestSupport {
+
+    private static final int MAX_PROCESSOR_ACCUMULATED_RECORDS = 5;
+    private static final int ITEM_COUNT = 100;
+
+    @ClassRule
+    public static TemporaryFolder spillDir = new TemporaryFolder();
+
+    private static SqlService sqlService;
+
+    @BeforeClass
+    public static void setUpClass() {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.JET_SPILL_ENABLED.getName(), "true");
+        config.setProperty(ClusterProperty.JET_SPILL_DIR.getName(), spillDir.getRoot().getAbsolutePath());
+        config.getJetConfig()
+                .setCooperativeThreadCount(1)
+                .setMaxProcessorAccumulatedRecords(MAX_PROCESSOR_ACCUMULATED_RECORDS);
+
+        initialize(1, config);
+        sqlService = instance().getSql();
+    }
+
+    @Test
+    public void when_innerHashJoinExceedsLimit_then_spills() {
+        String left = createLeftTable();
+        String right = createRightTable();
+
+        assertRowsAnyOrder(
+                "SELECT l.v, r.k, r.name FROM " + left + " l JOIN " + right + " r ON l.v = r.k",
+                IntStream.range(0, ITEM_COUNT)
+                        .filter(i -> i % 2 == 0)
+                        .mapToObj(i -> new Row(i, i, "value-" + i))
+                        .collect(toList())
+        );
+        assertThat(spillDir.getRoot().list()).isEmpty();
+    }
+
+    @Test
+    public void when_leftHashJoinExceedsLimit_then_spills() {
+        String left = createLeftTable();
+        String right = createRightTable();
+
+        assertRowsAnyOrder(
+                "SELECT l.v, r.k, r.name FROM " + left + " l LEFT JOIN " + right + " r ON l.v = r.k",
+                IntStream.range(0, ITEM_COUNT)
+                        .mapToObj(i -> i % 2 == 0 ? new Row(i, i, "value-" + i) : new Row(i, null, null))
+                        .collect(toList())
+        );
+        assertThat(spillDir.getRoot().list()).isEmpty();
+    }
+
+    /**
+     * Creates a table with the rows {@code 0 .. ITEM_COUNT} in column "v".
+     */
+    private static String createLeftTable() {
+        String name = randomName();
+        TestBatchSqlConnector.create(sqlService, name, ITEM_COUNT);
+        return name;
+    }
+
+    /**
+     * Creates a table with a row for every even number below {@code
+     * ITEM_COUNT}, all of them more than the limit.
+     */
+    private static String createRightTable() {
+        String name = randomName();
+        List<String[]> values = IntStream.range(0, ITEM_COUNT)
+                .filter(i -> i % 2 == 0)
+                .mapToObj(i -> new String[]{String.valueOf(i), "value-" + i})
+                .collect(toList());
+        TestBatchSqlConnector.create(sqlService, name, asList("k", "name"), asList(INTEGER, VARCHAR), values);
+        return name;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.connector.map;
+
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapStatisticsCollectorTest {
+
+    @Test
+    public void when_uniqueValues_then_distinctCountScaledToRowCount() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i);
+        }
+
+        ColumnStatistics statistics = MapStatisticsCollector.estimate(values, QueryDataTypeFamily.INTEGER, 100_000);
+
+        assertEquals(0, statistics.getNullFraction(), 0);
+        // sqrt(100_000 / 1_000) * 1_000
+        assertEquals(10_000, statistics.getDistinctCount(), 0.001);
+        assertEquals(0, statistics.getMin(), 0);
+        assertEquals(999, statistics.getMax(), 0);
+    }
+
+    @Test
+    public void when_wholeTableSampled_then_exactDistinctCount() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i % 10 == 0 ? null : "value-" + (i % 100));
+        }
+
+        ColumnStatistics statistics = MapStatisticsCollector.estimate(values, QueryDataTypeFamily.VARCHAR, 1_000);
+
+        assertEquals(0.1, statistics.getNullFraction(), 0.000_001);
+        assertEquals(90, statistics.getDistinctCount(), 0.000_001);
+        assertFalse(statistics.hasHistogram());
+        assertEquals(0.9 / 90, statistics.equalsSelectivity(), 0.000_001);
+        assertNull(statistics.lessThanSelectivity(1, false));
+    }
+
+    @Test
+    public void when_noValues_then_emptyStatistics() {
+        List<Object> values = new ArrayList<>();
+        values.add(null);
+
+        ColumnStatistics statistics = MapStatisticsCollector.estimate(values, QueryDataTypeFamily.BIGINT, 10);
+
+        assertEquals(1, statistics.getNullFraction(), 0);
+        assertEquals(0, statistics.getDistinctCount(), 0);
+        assertFalse(statistics.hasHistogram());
+    }
+
+    @Test
+    public void test_rangeSelectivity() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.add((long) i);
+        }
+
+        ColumnStatistics statistics = MapStatisticsCollector.estimate(values, QueryDataTypeFamily.BIGINT, 10_000);
+
+        assertTrue(statistics.hasHistogram());
+        assertEquals(0, statistics.lessThanSelectivity(-1, true), 0);
+        assertEquals(0.25, statistics.lessThanSelectivity(2_500, false), 0.01);
+        assertEquals(0.5, statistics.lessThanSelectivity(5_000, true), 0.01);
+        assertEquals(1, statistics.lessThanSelectivity(10_000, false), 0);
+        assertEquals(1, statistics.lessThanSelectivity(9_999, true), 0.000_001);
+    }
+
+    @Test
+    public void when_frequentValue_then_rangeIncludesItsBuckets() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i < 500 ? 7 : i);
+        }
+
+        ColumnStatistics statistics = MapStatisticsCollector.estimate(values, QueryDataTypeFamily.INTEGER, 1_000);
+
+        assertEquals(7, statistics.getMin(), 0);
+        assertEquals(999, statistics.getMax(), 0);
+        assertEquals(0.5, statistics.lessThanSelectivity(7, true), 0.05);
+        assertEquals(0, statistics.lessThanSelectivity(7, false), 0.05);
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.MockExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.math.DivideFunction;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpressionCompilerTest {
+
+    private static final Integer[] INT_VALUES = {null, -1, 0, 1, 42};
+    private static final Double[] DOUBLE_VALUES = {null, Double.NaN, -0.0d, 0.0d, 1.5d};
+
+    private final ExpressionEvalContext context = new MockExpressionEvalContext();
+    private final ExpressionCompiler compiler = new ExpressionCompiler(2);
+
+    private final Expression<?> intColumn = ColumnExpression.create(0, QueryDataType.INT);
+    private final Expression<?> bigintColumn = ColumnExpression.create(1, QueryDataType.BIGINT);
+    private final Expression<?> doubleColumn = ColumnExpression.create(2, QueryDataType.DOUBLE);
+    private final Expression<?> varcharColumn = ColumnExpression.create(3, QueryDataType.VARCHAR);
+
+    @Test
+    public void when_comparisons_then_sameAsInterpreted() {
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            assertSameAsInterpreted(
+                    ComparisonPredicate.create(intColumn, ConstantExpression.create(1, QueryDataType.INT), mode),
+                    asList(intColumn, doubleColumn));
+            assertSameAsInterpreted(
+                    ComparisonPredicate.create(doubleColumn, ConstantExpression.create(0.0d, QueryDataType.DOUBLE), mode),
+                    asList(doubleColumn, varcharColumn));
+            assertSameAsInterpreted(
+                    ComparisonPredicate.create(varcharColumn, ConstantExpression.create("b", QueryDataType.VARCHAR), mode),
+                    asList(varcharColumn, intColumn));
+        }
+    }
+
+    @Test
+    public void when_logicalPredicates_then_sameAsInterpreted() {
+        Expression<?> positive = ComparisonPredicate.create(intColumn,
+                ConstantExpression.create(0, QueryDataType.INT), ComparisonMode.GREATER_THAN);
+        Expression<?> notNaN = ComparisonPredicate.create(doubleColumn, doubleColumn, ComparisonMode.EQUALS);
+        Expression<?> nullBoolean = ConstantExpression.create(null, QueryDataType.BOOLEAN);
+
+        assertSameAsInterpreted(AndPredicate.create(positive, notNaN), asList(intColumn, doubleColumn));
+        assertSameAsInterpreted(AndPredicate.create(nullBoolean, positive), asList(intColumn, doubleColumn));
+        assertSameAsInterpreted(null, asList(
+                AndPredicate.create(positive, nullBoolean, notNaN),
+                OrPredicate.create(positive, nullBoolean, notNaN),
+                NotPredicate.create(OrPredicate.create(positive, notNaN)),
+                IsNotTruePredicate.create(AndPredicate.create(positive, notNaN)),
+                IsNullPredicate.create(varcharColumn)));
+    }
+
+    @Test
+    public void when_arithmetic_then_sameAsInterpreted() {
+        assertSameAsInterpreted(null, asList(
+                PlusFunction.create(intColumn, bigintColumn, QueryDataType.BIGINT),
+                MinusFunction.create(intColumn, ConstantExpression.create(-3, QueryDataType.INT), QueryDataType.INT),
+                MultiplyFunction.create(doubleColumn, intColumn, QueryDataType.DOUBLE),
+                PlusFunction.create(intColumn, ConstantExpression.create((byte) 1, QueryDataType.TINYINT),
+                        QueryDataType.TINYINT)));
+    }
+
+    @Test
+    public void when_unsupportedExpressions_then_interpreted() {
+        Expression<?> quotient = DivideFunction.create(bigintColumn, ConstantExpression.create(3L, QueryDataType.BIGINT),
+                QueryDataType.BIGINT);
+
+        assertSameAsInterpreted(
+                ComparisonPredicate.create(quotient, ConstantExpression.create(0L, QueryDataType.BIGINT),
+                        ComparisonMode.NOT_EQUALS),
+                asList(quotient, ColumnExpression.create(4, QueryDataType.OBJECT)));
+    }
+
+    @Test
+    public void when_bigintOverflow_then_fails() {
+        CompiledCalc calc = compiler.compile(null,
+                asList(PlusFunction.create(bigintColumn, bigintColumn, QueryDataType.BIGINT)));
+        assertNotNull(calc);
+
+        Row row = HeapRow.of(0, Long.MAX_VALUE, 0.0d, "a", null);
+        assertThatThrownBy(() -> calc.apply(row, context))
+                .isInstanceOf(QueryException.class)
+                .hasMessageContaining("BIGINT overflow in '+' operator");
+    }
+
+    @Test
+    public void when_rejectedByFilter_then_null() {
+        CompiledCalc calc = compiler.compile(IsNullPredicate.create(intColumn), asList(intColumn));
+        assertNotNull(calc);
+
+        assertNull(calc.apply(HeapRow.of(1, 1L, 1.0d, "a", null), context));
+    }
+
+    @Test
+    public void when_differentLiterals_then_compiledOnce() {
+        CompiledCalc calc1 = compiler.compile(
+                ComparisonPredicate.create(intColumn, ConstantExpression.create(7, QueryDataType.INT), ComparisonMode.EQUALS),
+                asList(varcharColumn));
+        CompiledCalc calc2 = compiler.compile(
+                ComparisonPredicate.create(intColumn, ConstantExpression.create(8, QueryDataType.INT), ComparisonMode.EQUALS),
+                asList(varcharColumn));
+
+        assertNotNull(calc1);
+        assertNotNull(calc2);
+        assertSame(calc1.getClass(), calc2.getClass());
+        assertEquals(1, compiler.size());
+        Row row = HeapRow.of(8, 8L, 8.0d, "a", null);
+        assertNull(calc1.apply(row, context));
+        assertArrayEquals(new Object[]{"a"}, calc2.apply(row, context));
+    }
+
+    @Test
+    public void when_cacheFull_then_leastRecentlyUsedEvicted() {
+        List<Expression<?>> projections1 = asList(intColumn);
+        List<Expression<?>> projections2 = asList(bigintColumn);
+        List<Expression<?>> projections3 = asList(doubleColumn);
+        CompiledCalc calc1 = compiler.compile(null, projections1);
+        compiler.compile(null, projections2);
+        assertSame(calc1.getClass(), compiler.compile(null, projections1).getClass());
+
+        compiler.compile(null, projections3);
+
+        assertEquals(2, compiler.size());
+        assertSame(calc1.getClass(), compiler.compile(null, projections1).getClass());
+        assertEquals(2, compiler.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertSameAsInterpreted(Expression<?> filter, List<Expression<?>> projections) {
+        CompiledCalc calc = compiler.compile((Expression<Boolean>) filter, projections);
+        assertNotNull(calc);
+
+        for (Row row : rows()) {
+            JetSqlRow expected = ExpressionUtil.projection((Expression<Boolean>) filter, projections, row, context);
+            Object[] actual = calc.apply(row, context);
+            if (expected == null) {
+                assertNull(actual);
+            } else {
+                assertArrayEquals(expected.getValues(), actual);
+            }
+        }
+    }
+
+    private static List<Row> rows() {
+        List<Row> rows = new ArrayList<>();
+        for (Integer intValue : INT_VALUES) {
+            for (Double doubleValue : DOUBLE_VALUES) {
+                Long bigintValue = intValue == null ? null : intValue * 1000L;
+                String varcharValue = intValue == null ? null : Character.toString('a' + intValue + 1);
+                rows.add(HeapRow.of(intValue, bigintValue, doubleValue, varcharValue, new Object[]{intValue}));
+            }
+        }
+        return rows;
+    }
+}
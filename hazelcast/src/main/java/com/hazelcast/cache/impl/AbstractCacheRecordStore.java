@@ -40,9 +40,11 @@ import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
 import com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider;
 import com.hazelcast.internal.eviction.ExpiredKey;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
 import com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy;
 import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAccountingService;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
@@ -135,6 +137,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected final ClearExpiredRecordsTask clearExpiredRecordsTask;
     protected final SamplingEvictionStrategy<Data, R, CRM> evictionStrategy;
     protected final EvictionPolicyEvaluator<Data, R> evictionPolicyEvaluator;
+    protected final TinyLFUEvictionPolicyComparator tinyLFUComparator;
     protected final Map<CacheEventType, Set<CacheEventData>> batchEvent = new EnumMap<>(CacheEventType.class);
     protected final CompositeCacheRSMutationObserver compositeCacheRSMutationObserver;
 
@@ -176,9 +179,12 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         EvictionPolicyComparator evictionPolicyComparator = createEvictionPolicyComparator(evictionConfig);
         evictionPolicyComparator = injectDependencies(evictionPolicyComparator);
         this.evictionPolicyEvaluator = new EvictionPolicyEvaluator<>(evictionPolicyComparator);
+        this.tinyLFUComparator = evictionPolicyComparator instanceof TinyLFUEvictionPolicyComparator comparator
+                ? comparator : null;
         this.cacheContext = cacheService.getOrCreateCacheContext(cacheNameWithPrefix);
         this.records = createRecordCacheMap();
-        this.evictionChecker = createCacheEvictionChecker(evictionConfig.getSize(), evictionConfig.getMaxSizePolicy());
+        this.evictionChecker = withMemoryQuota(
+                createCacheEvictionChecker(evictionConfig.getSize(), evictionConfig.getMaxSizePolicy()));
         this.evictionStrategy = createEvictionStrategy(evictionConfig);
         this.objectNamespace = CacheService.getObjectNamespace(cacheNameWithPrefix);
         this.persistWanReplicatedData = canPersistWanReplicatedData(cacheConfig, nodeEngine);
@@ -373,6 +379,20 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         return null;
     }
 
+    /**
+     * Makes the given checker also require eviction while this record store
+     * holds more than its share of the exceeded member-wide heap quota, see
+     * {@link MemoryAccountingService}.
+     */
+    private EvictionChecker withMemoryQuota(EvictionChecker evictionChecker) {
+        if (evictionChecker == null) {
+            return null;
+        }
+        MemoryAccountingService memoryAccountingService = nodeEngine.getMemoryAccountingService();
+        return () -> evictionChecker.isEvictionRequired()
+                || memoryAccountingService.isContainerQuotaExceeded(getHeapCost());
+    }
+
     protected EvictionPolicyComparator createEvictionPolicyComparator(EvictionConfig evictionConfig) {
         checkCacheEvictionConfig(evictionConfig);
 
@@ -401,6 +421,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
             return false;
         }
 
+        if (tinyLFUComparator != null) {
+            tinyLFUComparator.ensureCapacity(records.size());
+        }
         boolean evicted = evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this);
         if (isStatisticsEnabled() && evicted && primary) {
             statistics.increaseCacheEvictions(1);
@@ -631,6 +654,17 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         return expiryTime;
     }
 
+    /**
+     * Records an access of the given key for the frequency
+     * based {@link com.hazelcast.config.EvictionPolicy#TINY_LFU}
+     * eviction policy, both for hits and misses.
+     */
+    protected void recordKeyAccess(Data key) {
+        if (tinyLFUComparator != null) {
+            tinyLFUComparator.recordAccess(key);
+        }
+    }
+
     protected long onRecordAccess(Data key, R record, ExpiryPolicy expiryPolicy, long now) {
         record.setLastAccessTime(now);
         record.incrementHits();
@@ -918,7 +952,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     }
 
     protected void updateRecordValue(R record, Object recordValue) {
+        Object oldValue = record.getValue();
         record.setValue(recordValue);
+        records.onRecordValueUpdated(oldValue, recordValue);
     }
 
     @SuppressWarnings("checkstyle:parameternumber")
@@ -1198,6 +1234,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
 
     @Override
     public Object get(Data key, ExpiryPolicy expiryPolicy) {
+        recordKeyAccess(key);
         long startNanos = isStatisticsEnabled() ? Timer.nanos() : 0;
         long now = Clock.currentTimeMillis();
         Object value = null;
@@ -1312,6 +1349,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
 
     protected Object put(Data key, Object value, ExpiryPolicy expiryPolicy, UUID source,
                          boolean getValue, boolean disableWriteThrough, int completionId) {
+        recordKeyAccess(key);
         long now = Clock.currentTimeMillis();
         long startNanos = isStatisticsEnabled() ? Timer.nanos() : 0;
         boolean isOnNewPut = false;
@@ -1374,6 +1412,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
 
     protected boolean putIfAbsent(Data key, Object value, ExpiryPolicy expiryPolicy, UUID source,
                                   boolean disableWriteThrough, int completionId) {
+        recordKeyAccess(key);
         long now = Clock.currentTimeMillis();
         long startNanos = isStatisticsEnabled() ? Timer.nanos() : 0;
         boolean saved = false;
@@ -1905,6 +1944,11 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         return record == null || record.isExpiredAt(now);
     }
 
+    @Override
+    public long getHeapCost() {
+        return records.getHeapCost();
+    }
+
     @Override
     public int size() {
         return records.size();
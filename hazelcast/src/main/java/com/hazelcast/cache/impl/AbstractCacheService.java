@@ -33,6 +33,7 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.internal.cluster.ClusterStateListener;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.Measurable;
 import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsCollectionContext;
 import com.hazelcast.internal.monitor.LocalCacheStats;
@@ -55,6 +56,7 @@ import com.hazelcast.internal.util.ContextMutexFactory;
 import com.hazelcast.internal.util.FutureUtil;
 import com.hazelcast.internal.util.InvocationUtil;
 import com.hazelcast.internal.util.MapUtil;
+import com.hazelcast.internal.util.MutableLong;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.NodeEngine;
@@ -73,6 +75,7 @@ import javax.cache.event.CacheEntryListener;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -82,6 +85,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongConsumer;
 
 import static com.hazelcast.cache.impl.AbstractCacheRecordStore.SOURCE_NOT_AVAILABLE;
 import static com.hazelcast.cache.impl.PreJoinCacheConfig.asCacheConfig;
@@ -99,7 +103,7 @@ import static java.util.Collections.singleton;
 public abstract class AbstractCacheService implements ICacheService,
         PreJoinAwareService<OnJoinCacheOperation>, PartitionAwareService,
         SplitBrainProtectionAwareService, SplitBrainHandlerService,
-        ClusterStateListener, TenantContextAwareService {
+        ClusterStateListener, TenantContextAwareService, Measurable {
     /**
      * Map from full prefixed cache name to {@link CacheConfig}
      */
@@ -430,6 +434,27 @@ public abstract class AbstractCacheService implements ICacheService,
         return cacheContexts.get(name);
     }
 
+    /**
+     * Sums the heap cost of the record stores of all partitions,
+     * both primary and backup replicas.
+     */
+    @Override
+    public long heapBytesUsed() {
+        MutableLong heapCost = new MutableLong();
+        forEachContainerHeapBytesUsed(heapCost::addAndGet);
+        return heapCost.value;
+    }
+
+    @Override
+    public void forEachContainerHeapBytesUsed(LongConsumer consumer) {
+        for (CachePartitionSegment segment : segments) {
+            Iterator<ICacheRecordStore> iterator = segment.recordStoreIterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next().getHeapCost());
+            }
+        }
+    }
+
     @Override
     public CacheContext getOrCreateCacheContext(String cacheNameWithPrefix) {
         return ConcurrencyUtil.getOrPutIfAbsent(cacheContexts, cacheNameWithPrefix, cacheContextsConstructorFunction);
@@ -328,6 +328,17 @@ public interface ICacheRecordStore {
      */
     int size();
 
+    /**
+     * Returns the estimated heap cost of the entries of this store, or
+     * {@code 0} if the entries are not stored on-heap.
+     *
+     * @return the heap cost in bytes
+     * @since 6.0
+     */
+    default long getHeapCost() {
+        return 0L;
+    }
+
     /**
      * clears all internal data without publishing any events
      */
@@ -28,6 +28,7 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializableByConvention;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.util.SampleableConcurrentHashMap;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.cache.expiry.ExpiryPolicy;
 
@@ -37,6 +38,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
 @SerializableByConvention
 public class CacheRecordHashMap
         extends SampleableConcurrentHashMap<Data, CacheRecord>
@@ -45,9 +51,20 @@ public class CacheRecordHashMap
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Hash, key, value and next references of the hash entry.
+     */
+    private static final int HASH_ENTRY_COST_IN_BYTES = 4 * REFERENCE_COST_IN_BYTES;
+    /**
+     * Time fields, hits, value and expiry policy references of the record.
+     */
+    private static final int RECORD_COST_IN_BYTES = OBJECT_HEADER_SIZE + 3 * LONG_SIZE_IN_BYTES
+            + INT_SIZE_IN_BYTES + 2 * REFERENCE_COST_IN_BYTES;
+
     private final transient SerializationService serializationService;
     private final transient CacheContext cacheContext;
     private boolean entryCountingEnable;
+    private volatile long heapCost;
 
     public CacheRecordHashMap(SerializationService serializationService,
                               int initialCapacity, CacheContext cacheContext) {
@@ -82,15 +99,19 @@ public class CacheRecordHashMap
             // New put
             cacheContext.increaseEntryCount();
         }
+        adjustHeapCost(entryCost(key, value) - (oldRecord != null ? entryCost(key, oldRecord) : 0L));
         return oldRecord;
     }
 
     @Override
     public CacheRecord putIfAbsent(Data key, CacheRecord value) {
         CacheRecord oldRecord = super.putIfAbsent(key, value);
-        if (oldRecord == null && entryCountingEnable) {
-            // New put
-            cacheContext.increaseEntryCount();
+        if (oldRecord == null) {
+            if (entryCountingEnable) {
+                // New put
+                cacheContext.increaseEntryCount();
+            }
+            adjustHeapCost(entryCost(key, value));
         }
         return oldRecord;
     }
@@ -98,9 +119,12 @@ public class CacheRecordHashMap
     @Override
     public CacheRecord remove(Object key) {
         CacheRecord removedRecord = super.remove(key);
-        if (removedRecord != null && entryCountingEnable) {
-            // Removed
-            cacheContext.decreaseEntryCount();
+        if (removedRecord != null) {
+            if (entryCountingEnable) {
+                // Removed
+                cacheContext.decreaseEntryCount();
+            }
+            adjustHeapCost(-entryCost((Data) key, removedRecord));
         }
         return removedRecord;
     }
@@ -108,9 +132,12 @@ public class CacheRecordHashMap
     @Override
     public boolean remove(Object key, Object value) {
         boolean removed = super.remove(key, value);
-        if (removed && entryCountingEnable) {
-            // Removed
-            cacheContext.decreaseEntryCount();
+        if (removed) {
+            if (entryCountingEnable) {
+                // Removed
+                cacheContext.decreaseEntryCount();
+            }
+            adjustHeapCost(-entryCost((Data) key, (CacheRecord) value));
         }
         return removed;
     }
@@ -122,6 +149,36 @@ public class CacheRecordHashMap
         if (entryCountingEnable) {
             cacheContext.decreaseEntryCount(sizeBeforeClear);
         }
+        heapCost = 0L;
+    }
+
+    @Override
+    public long getHeapCost() {
+        return heapCost;
+    }
+
+    @Override
+    public void onRecordValueUpdated(Object oldValue, Object newValue) {
+        adjustHeapCost(valueCost(newValue) - valueCost(oldValue));
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread updates the cost, other threads only read it")
+    private void adjustHeapCost(long adjustment) {
+        heapCost += adjustment;
+    }
+
+    private static long entryCost(Data key, CacheRecord record) {
+        return HASH_ENTRY_COST_IN_BYTES + key.getHeapCost() + RECORD_COST_IN_BYTES
+                + valueCost(record.getValue()) + valueCost(record.getExpiryPolicy());
+    }
+
+    /**
+     * The cost of values in {@code OBJECT} in-memory format is not
+     * calculated, as for on-heap map records.
+     */
+    private static long valueCost(Object value) {
+        return value instanceof Data data ? data.getHeapCost() : 0L;
     }
 
     private class CacheEvictableSamplingEntry
@@ -41,6 +41,26 @@ public interface CacheRecordMap<K extends Data, V extends CacheRecord>
      */
     void setEntryCounting(boolean enable);
 
+    /**
+     * Returns the estimated heap cost of the keys and the records in this
+     * map, or {@code 0} if the records are not stored on-heap.
+     *
+     * @return the heap cost in bytes
+     */
+    default long getHeapCost() {
+        return 0L;
+    }
+
+    /**
+     * Called when the value of a record in this map has been replaced
+     * without putting the record again, to update the heap cost.
+     *
+     * @param oldValue the previous value of the record
+     * @param newValue the new value of the record
+     */
+    default void onRecordValueUpdated(Object oldValue, Object newValue) {
+    }
+
     /**
      * Fetch minimally {@code size} keys from the {@code pointers} position.
      * The key is fetched on-heap.
@@ -61,6 +61,7 @@ import com.hazelcast.config.DataConnectionConfigValidator;
 import com.hazelcast.config.DeviceConfig;
 import com.hazelcast.config.DurableExecutorConfig;
 import com.hazelcast.config.DynamicConfigurationConfig;
+import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.config.FlakeIdGeneratorConfig;
 import com.hazelcast.config.HotRestartPersistenceConfig;
@@ -139,6 +140,14 @@ public class ClientDynamicClusterConfig extends Config {
 
     @Override
     public Config addMapConfig(MapConfig mapConfig) {
+        if (mapConfig.isValueCompressionEnabled()) {
+            // not carried by the client protocol
+            throw new UnsupportedOperationException("Value compression can only be configured on the members");
+        }
+        if (mapConfig.getEvictionConfig().getEvictionStrategy() != EvictionConfig.DEFAULT_EVICTION_STRATEGY) {
+            // not carried by the client protocol
+            throw new UnsupportedOperationException("Eviction strategy can only be configured on the members");
+        }
         List<ListenerConfigHolder> listenerConfigs = adaptListenerConfigs(mapConfig.getEntryListenerConfigs());
         List<ListenerConfigHolder> partitionLostListenerConfigs =
                 adaptListenerConfigs(mapConfig.getPartitionLostListenerConfigs());
@@ -88,9 +88,10 @@ public class MapAddIndexMessageTask
 
     @Override
     protected void beforeProcess() {
+        IndexType indexType = parameters.indexConfig.getType();
         if (nodeEngine.getConfig().getMapConfig(parameters.name).getInMemoryFormat() == InMemoryFormat.NATIVE
-                && parameters.indexConfig.getType() == IndexType.BITMAP) {
-            throw new IllegalArgumentException("BITMAP indexes are not supported by NATIVE storage");
+                && (indexType == IndexType.BITMAP || indexType == IndexType.FULL_TEXT)) {
+            throw new IllegalArgumentException(indexType + " indexes are not supported by NATIVE storage");
         }
         if (nodeEngine.getClusterService().getClusterState() == ClusterState.PASSIVE) {
             throw new IllegalStateException("Cannot add index when cluster is in " + ClusterState.PASSIVE + " state!");
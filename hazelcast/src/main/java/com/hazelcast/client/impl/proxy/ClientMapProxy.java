@@ -102,6 +102,7 @@ import com.hazelcast.client.map.impl.iterator.ClientMapIterator;
 import com.hazelcast.client.map.impl.iterator.ClientMapPartitionIterable;
 import com.hazelcast.client.map.impl.iterator.ClientMapPartitionIterator;
 import com.hazelcast.client.map.impl.iterator.ClientMapQueryIterable;
+import com.hazelcast.client.map.impl.iterator.ClientMapQueryIterator;
 import com.hazelcast.client.map.impl.iterator.ClientMapQueryPartitionIterable;
 import com.hazelcast.client.map.impl.iterator.ClientMapQueryPartitionIterator;
 import com.hazelcast.client.map.impl.querycache.ClientQueryCacheContext;
@@ -133,12 +134,15 @@ import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.DataAwareEntryEvent;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.iterator.AbstractMapQueryIterator;
+import com.hazelcast.map.impl.iterator.MapPagingQueryIterator;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheEndToEndProvider;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheRequest;
 import com.hazelcast.map.impl.querycache.subscriber.SubscriberContext;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.projection.Projection;
+import com.hazelcast.projection.Projections;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
@@ -1797,6 +1801,31 @@ public class ClientMapProxy<K, V> extends ClientProxy
         return new ClientMapIterator<>(this, fetchSize, partitionCount, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The client always scans the partitions, the indexes are not used.
+     */
+    @Override
+    @Nonnull
+    public Iterator<Entry<K, V>> iterator(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        checkPositive("fetchSize", fetchSize);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        if (containsPagingPredicate(predicate)) {
+            return new MapPagingQueryIterator<>(this, predicate);
+        }
+        ClientPartitionService partitionService = getContext().getPartitionService();
+        if (predicate instanceof PartitionPredicate<K, V> partitionPredicate) {
+            int[] partitionIds = partitionPredicate.getPartitionKeys().stream()
+                    .mapToInt(partitionService::getPartitionId).distinct().toArray();
+            Predicate<K, V> target = partitionPredicate.getTarget();
+            return new AbstractMapQueryIterator<>(i -> iterator(fetchSize, partitionIds[i], Projections.identity(), target),
+                    partitionIds.length);
+        }
+        int partitionCount = partitionService.getPartitionCount();
+        return new ClientMapQueryIterator<>(this, fetchSize, partitionCount, Projections.identity(), predicate);
+    }
+
     /**
      * Returns an iterator for iterating entries in the {@code partitionId}. If {@code prefetchValues} is
      * {@code true}, all values will be sent along with the keys and no additional data will be fetched when
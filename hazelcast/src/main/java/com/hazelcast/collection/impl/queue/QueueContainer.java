@@ -34,6 +34,7 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.transaction.TransactionException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -57,7 +58,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static com.hazelcast.collection.impl.collection.CollectionContainer.ID_PROMOTION_OFFSET;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
 import static com.hazelcast.internal.util.MapUtil.createConcurrentHashMap;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static com.hazelcast.internal.util.MapUtil.createLinkedHashMap;
@@ -75,6 +79,13 @@ import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 @SuppressWarnings("checkstyle:methodcount")
 public class QueueContainer implements IdentifiedDataSerializable {
 
+    /**
+     * Object header and the item ID, creation time, data and container
+     * references of a {@link QueueItem}, plus the reference to it held
+     * by the queue or the backup map.
+     */
+    private static final int QUEUE_ITEM_COST_IN_BYTES = OBJECT_HEADER_SIZE + 2 * LONG_SIZE_IN_BYTES + 5 * REFERENCE_COST_IN_BYTES;
+
     /**
      * Contains item ID to queue item mappings for current transactions
      */
@@ -106,6 +117,8 @@ public class QueueContainer implements IdentifiedDataSerializable {
     private long lastIdLoaded;
 
     private volatile ConcurrentMap<Long, QueueItem> backupMap;
+    private volatile long offeredItemCount;
+    private volatile long offeredItemBytes;
 
     public QueueContainer() {
     }
@@ -376,6 +389,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
             item = new QueueItem(this, itemId, data);
         }
         item.setSerializedObject(data);
+        recordOffered(data);
         if (!backup) {
             getItemQueue().offer(item);
             cancelEvictionIfExists();
@@ -467,6 +481,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
             }
         }
         getItemQueue().offer(item);
+        recordOffered(itemData);
         cancelEvictionIfExists();
         return item.getItemId();
     }
@@ -494,6 +509,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         Data itemData = shouldKeepItemData() ? data : null;
         QueueItem item = new QueueItem(this, itemId, itemData);
         getBackupMap().put(itemId, item);
+        recordOffered(itemData);
     }
 
     /**
@@ -512,6 +528,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
             QueueItem item = new QueueItem(this, nextId(), itemData);
             map.put(item.getItemId(), data);
             list.add(item);
+            recordOffered(itemData);
         }
         if (store.isEnabled() && !map.isEmpty()) {
             try {
@@ -540,6 +557,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
             Data itemData = shouldKeepItemData() ? entry.getValue() : null;
             QueueItem item = new QueueItem(this, entry.getKey(), itemData);
             getBackupMap().put(item.getItemId(), item);
+            recordOffered(itemData);
         }
     }
 
@@ -906,7 +924,37 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return if the queue has enough capacity for the items
      */
     public boolean hasEnoughCapacity(int delta) {
-        return (getItemQueue().size() + delta) <= config.getMaxSize();
+        return (getItemQueue().size() + delta) <= config.getMaxSize()
+                && !nodeEngine.getMemoryAccountingService().isQuotaExceeded();
+    }
+
+    /**
+     * Returns the estimated heap cost of the items of this queue, both on
+     * the partition owner and on backup replicas. The cost is estimated
+     * from the average size of the items offered so far whose data is kept
+     * in memory, so reading it does not require iterating the items.
+     *
+     * @return the heap cost in bytes
+     */
+    public long getHeapCost() {
+        long count = offeredItemCount;
+        if (count == 0) {
+            return 0;
+        }
+        Queue<QueueItem> itemQueue = this.itemQueue;
+        Map<Long, QueueItem> backupMap = this.backupMap;
+        long itemCount = (itemQueue != null ? itemQueue.size() : 0) + (backupMap != null ? backupMap.size() : 0);
+        return itemCount * (QUEUE_ITEM_COST_IN_BYTES + offeredItemBytes / count);
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread updates the counters, other threads only read them")
+    private void recordOffered(Data itemData) {
+        // items whose data is only in the queue store must not lower the average size
+        if (itemData != null) {
+            offeredItemCount++;
+            offeredItemBytes += itemData.getHeapCost();
+        }
     }
 
     /**
@@ -28,6 +28,7 @@ import com.hazelcast.collection.impl.txnqueue.TransactionalQueueProxy;
 import com.hazelcast.collection.impl.txnqueue.operations.QueueTransactionRollbackOperation;
 import com.hazelcast.config.QueueConfig;
 import com.hazelcast.core.ItemEventType;
+import com.hazelcast.internal.memory.Measurable;
 import com.hazelcast.internal.metrics.DynamicMetricsProvider;
 import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsCollectionContext;
@@ -52,6 +53,7 @@ import com.hazelcast.internal.util.ConcurrencyUtil;
 import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.internal.util.ContextMutexFactory;
 import com.hazelcast.internal.util.MapUtil;
+import com.hazelcast.internal.util.MutableLong;
 import com.hazelcast.internal.util.scheduler.EntryTaskScheduler;
 import com.hazelcast.internal.util.scheduler.EntryTaskSchedulerFactory;
 import com.hazelcast.logging.ILogger;
@@ -81,6 +83,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongConsumer;
 
 import static com.hazelcast.internal.config.ConfigValidator.checkQueueConfig;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.QUEUE_PREFIX;
@@ -99,7 +102,7 @@ import static com.hazelcast.spi.impl.merge.MergingValueFactory.createMergingValu
 public class QueueService implements ManagedService, MigrationAwareService, TransactionalService, RemoteService,
         EventPublishingService<QueueEvent, ItemListener>, StatisticsAwareService<LocalQueueStats>,
         SplitBrainProtectionAwareService, SplitBrainHandlerService, DynamicMetricsProvider,
-        TenantContextAwareService {
+        TenantContextAwareService, Measurable {
 
     public static final String SERVICE_NAME = "hz:impl:queueService";
 
@@ -189,6 +192,20 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
         return container;
     }
 
+    @Override
+    public long heapBytesUsed() {
+        MutableLong heapCost = new MutableLong();
+        forEachContainerHeapBytesUsed(heapCost::addAndGet);
+        return heapCost.value;
+    }
+
+    @Override
+    public void forEachContainerHeapBytesUsed(LongConsumer consumer) {
+        for (QueueContainer container : containerMap.values()) {
+            consumer.accept(container.getHeapCost());
+        }
+    }
+
     public QueueContainer getExistingContainerOrNull(String name) {
         QueueContainer container = containerMap.get(name);
         return container != null ? container : null;
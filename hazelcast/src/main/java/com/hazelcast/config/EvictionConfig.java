@@ -22,6 +22,7 @@ import com.hazelcast.internal.eviction.EvictionStrategyType;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 
 import javax.annotation.Nonnull;
@@ -29,6 +30,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.Objects;
 
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 import static com.hazelcast.internal.util.Preconditions.checkHasText;
 import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
@@ -43,13 +45,14 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
  * <ul>
  * <li>{@link EvictionPolicy#LRU} as eviction policy</li>
  * <li>{@link MaxSizePolicy#ENTRY_COUNT} as max size policy</li>
+ * <li>{@link EvictionStrategy#SAMPLING_BASED} as eviction strategy</li>
  * <li>{@value MapConfig#DEFAULT_MAX_SIZE} as maximum
  * size for on-heap {@link com.hazelcast.map.IMap}</li>
  * <li>{@value DEFAULT_MAX_ENTRY_COUNT} as maximum size
  *      for all other data structures and configurations</li>
  * </ul>
  */
-public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSerializable, Serializable {
+public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSerializable, Versioned, Serializable {
 
     /**
      * Default maximum entry count.
@@ -66,9 +69,15 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
      */
     public static final EvictionPolicy DEFAULT_EVICTION_POLICY = EvictionPolicy.LRU;
 
+    /**
+     * Default Eviction Strategy.
+     */
+    public static final EvictionStrategy DEFAULT_EVICTION_STRATEGY = EvictionStrategy.SAMPLING_BASED;
+
     protected int size = DEFAULT_MAX_ENTRY_COUNT;
     protected MaxSizePolicy maxSizePolicy = DEFAULT_MAX_SIZE_POLICY;
     protected EvictionPolicy evictionPolicy = DEFAULT_EVICTION_POLICY;
+    protected EvictionStrategy evictionStrategy = DEFAULT_EVICTION_STRATEGY;
 
     protected String comparatorClassName;
     protected EvictionPolicyComparator comparator;
@@ -87,6 +96,7 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
         this.size = config.size;
         this.maxSizePolicy = config.maxSizePolicy;
         this.evictionPolicy = config.evictionPolicy;
+        this.evictionStrategy = config.evictionStrategy;
         this.comparatorClassName = config.comparatorClassName;
         this.comparator = config.comparator;
     }
@@ -172,7 +182,38 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
      */
     @Override
     public EvictionStrategyType getEvictionStrategyType() {
-        return EvictionStrategyType.DEFAULT_EVICTION_STRATEGY;
+        return evictionStrategy == EvictionStrategy.POOL_BASED
+                ? EvictionStrategyType.POOL_BASED_EVICTION
+                : EvictionStrategyType.SAMPLING_BASED_EVICTION;
+    }
+
+    /**
+     * Returns the {@link EvictionStrategy} of this eviction configuration.
+     *
+     * @return the {@link EvictionStrategy} of this eviction configuration
+     * @since 6.0
+     */
+    public EvictionStrategy getEvictionStrategy() {
+        return evictionStrategy;
+    }
+
+    /**
+     * Sets the {@link EvictionStrategy} of this eviction configuration.
+     * <p>
+     * {@link EvictionStrategy#POOL_BASED} is only supported by
+     * {@link com.hazelcast.map.IMap} with {@link EvictionPolicy#LRU} or
+     * {@link EvictionPolicy#LFU} eviction policy, otherwise it has the same
+     * effect as the default {@link EvictionStrategy#SAMPLING_BASED}.
+     * It can't be set in the dynamic configuration added by a client.
+     *
+     * @param evictionStrategy the {@link EvictionStrategy} of this eviction configuration
+     * @return this EvictionConfig instance
+     * @since 6.0
+     */
+    public EvictionConfig setEvictionStrategy(@Nonnull EvictionStrategy evictionStrategy) {
+        this.evictionStrategy = checkNotNull(evictionStrategy,
+                "Eviction strategy cannot be null!");
+        return this;
     }
 
     /**
@@ -254,6 +295,10 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
         out.writeString(evictionPolicy.toString());
         out.writeString(comparatorClassName);
         out.writeObject(comparator);
+        // RU_COMPAT_5_5
+        if (out.getVersion().isGreaterOrEqual(V6_0)) {
+            out.writeString(evictionStrategy.name());
+        }
     }
 
     @Override
@@ -263,6 +308,10 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
         evictionPolicy = EvictionPolicy.valueOf(in.readString());
         comparatorClassName = in.readString();
         comparator = in.readObject();
+        // RU_COMPAT_5_5
+        if (in.getVersion().isGreaterOrEqual(V6_0)) {
+            evictionStrategy = EvictionStrategy.valueOf(in.readString());
+        }
     }
 
     @Override
@@ -271,6 +320,7 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
                 + "size=" + size
                 + ", maxSizePolicy=" + maxSizePolicy
                 + ", evictionPolicy=" + evictionPolicy
+                + ", evictionStrategy=" + evictionStrategy
                 + ", comparatorClassName=" + comparatorClassName
                 + ", comparator=" + comparator
                 + '}';
@@ -288,12 +338,13 @@ public class EvictionConfig implements EvictionConfiguration, IdentifiedDataSeri
         return size == that.size
                 && maxSizePolicy == that.maxSizePolicy
                 && evictionPolicy == that.evictionPolicy
+                && evictionStrategy == that.evictionStrategy
                 && Objects.equals(comparatorClassName, that.comparatorClassName)
                 && Objects.equals(comparator, that.comparator);
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(size, maxSizePolicy, evictionPolicy, comparator, comparatorClassName);
+        return Objects.hash(size, maxSizePolicy, evictionPolicy, evictionStrategy, comparator, comparatorClassName);
     }
 }
@@ -35,7 +35,18 @@ public enum EvictionPolicy {
     /**
      * Randomly
      */
-    RANDOM(3);
+    RANDOM(3),
+    /**
+     * TinyLFU: the entry with the lowest access frequency, estimated by a
+     * frequency sketch which also remembers the recent accesses of already
+     * evicted keys, is evicted and the least recently used one is selected
+     * among the equally frequent ones. There is no separate admission window
+     * for new entries as in Window TinyLFU. Near Caches also apply it
+     * as an admission policy: a new entry is not cached when the Near Cache
+     * is full and the entry is accessed less frequently than the entry it
+     * would replace.
+     */
+    TINY_LFU(4);
 
     private static final EvictionPolicy[] VALUES = values();
 
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.config;
+
+/**
+ * Eviction Strategy enum, selects how the eviction candidates
+ * are sampled to apply the {@link EvictionPolicy}.
+ *
+ * @since 6.0
+ */
+public enum EvictionStrategy {
+    /**
+     * Every eviction selects its candidate among freshly sampled entries.
+     */
+    SAMPLING_BASED,
+    /**
+     * The best eviction candidates of the previous samplings are kept in a
+     * small pool, so every eviction needs fewer fresh samples to approximate
+     * the eviction policy.
+     * <p>
+     * Only used by {@link com.hazelcast.map.IMap} with {@link EvictionPolicy#LRU}
+     * or {@link EvictionPolicy#LFU} eviction policy, other data structures
+     * and eviction policies fall back to {@link #SAMPLING_BASED}.
+     */
+    POOL_BASED
+}
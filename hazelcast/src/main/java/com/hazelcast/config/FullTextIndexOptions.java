@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.config;
+
+import com.hazelcast.internal.config.ConfigDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * Configures indexing options specific to full-text indexes.
+ * <p>
+ * By default, a full-text index splits attribute values into words, the
+ * runs of letters and digits, and indexes them case-insensitively. Such an
+ * index accelerates {@link com.hazelcast.query.Predicates#textSearch text
+ * search} predicates and {@code LIKE} patterns containing whole words. If
+ * the {@link #setNGramLength n-gram length} is set, the index contains all
+ * the character sequences of that length instead, so any substring of the
+ * values may be looked up at the cost of a larger index.
+ *
+ * @since 6.0
+ */
+public class FullTextIndexOptions implements IdentifiedDataSerializable {
+
+    /**
+     * The default for {@link #getNGramLength() n-gram length}, values are
+     * split into words.
+     */
+    public static final int DEFAULT_NGRAM_LENGTH = 0;
+
+    /**
+     * The minimum n-gram length.
+     */
+    public static final int MIN_NGRAM_LENGTH = 2;
+
+    /**
+     * The maximum n-gram length.
+     */
+    public static final int MAX_NGRAM_LENGTH = 8;
+
+    private int nGramLength;
+
+    /**
+     * Constructs a new full-text index options instance with all options set
+     * to default values.
+     */
+    public FullTextIndexOptions() {
+        this.nGramLength = DEFAULT_NGRAM_LENGTH;
+    }
+
+    /**
+     * Constructs a new full-text index options instance by copying the passed
+     * full-text index options.
+     */
+    public FullTextIndexOptions(FullTextIndexOptions fullTextIndexOptions) {
+        this.nGramLength = fullTextIndexOptions.nGramLength;
+    }
+
+    /**
+     * @return {@code true} if this options instance is configured with default
+     * values, {@code false} otherwise.
+     */
+    boolean areDefault() {
+        return nGramLength == DEFAULT_NGRAM_LENGTH;
+    }
+
+    /**
+     * Returns the length of the character sequences indexed, or {@code 0} if
+     * the values are split into words. Defaults to {@code 0}.
+     *
+     * @return the configured n-gram length.
+     */
+    public int getNGramLength() {
+        return nGramLength;
+    }
+
+    /**
+     * Sets the length of the character sequences indexed. Use {@code 0} to
+     * split the values into words.
+     *
+     * @param nGramLength {@code 0} or a length between {@link #MIN_NGRAM_LENGTH}
+     *                    and {@link #MAX_NGRAM_LENGTH}, inclusive.
+     * @return this options instance.
+     * @throws IllegalArgumentException if the length is out of range.
+     */
+    public FullTextIndexOptions setNGramLength(int nGramLength) {
+        if (nGramLength != 0 && (nGramLength < MIN_NGRAM_LENGTH || nGramLength > MAX_NGRAM_LENGTH)) {
+            throw new IllegalArgumentException("n-gram length must be 0 or between " + MIN_NGRAM_LENGTH + " and "
+                    + MAX_NGRAM_LENGTH + ": " + nGramLength);
+        }
+        this.nGramLength = nGramLength;
+        return this;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(nGramLength);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        nGramLength = in.readInt();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ConfigDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return ConfigDataSerializerHook.FULL_TEXT_INDEX_OPTIONS;
+    }
+
+    @Override
+    public String toString() {
+        return "FullTextIndexOptions{nGramLength=" + nGramLength + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        FullTextIndexOptions that = (FullTextIndexOptions) o;
+
+        return nGramLength == that.nGramLength;
+    }
+
+    @Override
+    public int hashCode() {
+        return nGramLength;
+    }
+
+}
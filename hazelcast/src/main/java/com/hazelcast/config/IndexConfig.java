@@ -16,6 +16,7 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.config.ConfigDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -33,15 +34,24 @@ import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeN
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 
 /**
- * Configuration of an index. Hazelcast support three types of indexes: sorted index, hash index
- * and bitmap index.
+ * Configuration of an index. Hazelcast support four types of indexes: sorted index, hash index,
+ * bitmap index and full-text index.
  * Sorted indexes could be used with equality and range predicates and have logarithmic search time.
  * Hash indexes could be used with equality predicates and have constant search time assuming the hash
  * function of the indexed field disperses the elements properly.
  * Bitmap indexes are similar to hash index. They are able to achieve a much higher memory efficiency
  * for low cardinality attributes at the cost of reduced query performance.
+ * Full-text indexes map the words or character sequences of string attributes to the entries containing
+ * them, so they could be used with text search and {@code LIKE} predicates matching substrings.
  * <p>
- * Index could be created on one or more attributes.
+ * Index could be created on one or more attributes. An attribute may also be an expression over a
+ * path, {@code lower(path)} or {@code upper(path)}, in which case the derived value is indexed.
+ * <p>
+ * A filtered index only contains the entries matching its {@link #setFilter(String) filter}.
+ * <p>
+ * A sorted or hash index may store the values of additional {@link #setIncludedAttributes(List) included
+ * attributes} of the entries, so that the projections of these attributes are answered without reading
+ * the values of the entries.
  *
  * @see com.hazelcast.config.IndexType
  * @see com.hazelcast.config.MapConfig#setIndexConfigs(List)
@@ -63,6 +73,14 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
 
     private BTreeIndexConfig bTreeIndexConfig = new BTreeIndexConfig();
 
+    private FullTextIndexOptions fullTextIndexOptions;
+
+    /** Filter of the index entries. */
+    private String filter;
+
+    /** Attributes stored in the index in addition to the indexed ones. */
+    private List<String> includedAttributes;
+
     public IndexConfig() {
         // No-op.
     }
@@ -97,10 +115,15 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         this.type = other.type;
         this.bitmapIndexOptions = other.bitmapIndexOptions == null ? null : new BitmapIndexOptions(other.bitmapIndexOptions);
         this.bTreeIndexConfig = other.bTreeIndexConfig == null ? null : new BTreeIndexConfig(other.bTreeIndexConfig);
+        this.fullTextIndexOptions = other.fullTextIndexOptions == null
+                ? null : new FullTextIndexOptions(other.fullTextIndexOptions);
+        this.filter = other.filter;
 
         for (String attribute : other.getAttributes()) {
             addAttributeInternal(attribute);
         }
+
+        this.includedAttributes = other.includedAttributes == null ? null : new ArrayList<>(other.includedAttributes);
     }
 
     /**
@@ -243,6 +266,119 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         return this;
     }
 
+    /**
+     * Provides access to index options specific to full-text indexes.
+     *
+     * @return the full-text index options associated with this index config.
+     * @since 6.0
+     */
+    public FullTextIndexOptions getFullTextIndexOptions() {
+        if (fullTextIndexOptions == null) {
+            fullTextIndexOptions = new FullTextIndexOptions();
+        }
+        return fullTextIndexOptions;
+    }
+
+    /**
+     * Sets full-text index options of this index config to the given ones.
+     *
+     * @param fullTextIndexOptions the full-text index options to set.
+     * @return this index config instance.
+     * @since 6.0
+     */
+    public IndexConfig setFullTextIndexOptions(FullTextIndexOptions fullTextIndexOptions) {
+        this.fullTextIndexOptions = fullTextIndexOptions == null ? null : new FullTextIndexOptions(fullTextIndexOptions);
+        return this;
+    }
+
+    /**
+     * Gets the filter of the index.
+     *
+     * @return the filter of the index or {@code null} if all entries are indexed.
+     * @since 6.0
+     */
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * Sets the filter of the index. Only the entries matching the filter are
+     * indexed, so the index is smaller and cheaper to maintain than an index of
+     * all entries. The filter is a predicate in the syntax of
+     * {@link com.hazelcast.query.Predicates#sql(String)}, e.g. {@code active = true}.
+     * <p>
+     * A query uses a filtered index only if its conjuncts imply the filter:
+     * the query {@code active = true AND age > 30} may use the index on
+     * {@code age} filtered by {@code active = true}. Filtered indexes are not
+     * supported for bitmap and composite indexes.
+     *
+     * @param filter the filter of the index or {@code null} to index all entries.
+     * @return this index config instance.
+     * @since 6.0
+     */
+    public IndexConfig setFilter(String filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * Gets the included attributes of the index.
+     *
+     * @return the attributes whose values are stored in the index in
+     * addition to the values of the indexed attributes.
+     * @since 6.0
+     */
+    public List<String> getIncludedAttributes() {
+        if (includedAttributes == null) {
+            includedAttributes = new ArrayList<>();
+        }
+
+        return includedAttributes;
+    }
+
+    /**
+     * Adds an included attribute, see {@link #setIncludedAttributes(List)}.
+     *
+     * @param attribute the attribute name.
+     * @return this index config instance.
+     * @since 6.0
+     */
+    public IndexConfig addIncludedAttribute(String attribute) {
+        IndexUtils.validateAttribute(attribute);
+
+        getIncludedAttributes().add(attribute);
+
+        return this;
+    }
+
+    /**
+     * Sets the included attributes of the index. The values of the included
+     * attributes are extracted when an entry is indexed and stored along with
+     * it, as are the values of the indexed attributes. A query projecting only
+     * these attributes, e.g. with {@link com.hazelcast.projection.Projections#multiAttribute(String...)}
+     * or an SQL select, is then answered from the index without deserializing
+     * the values of the entries: if the query predicate cannot use the index,
+     * the whole index is scanned instead of the partitions of the map.
+     * <p>
+     * Included attributes are supported for sorted and hash indexes, they cost
+     * an extra reference per attribute and indexed entry.
+     *
+     * @param includedAttributes the included attributes.
+     * @return this index config instance.
+     * @since 6.0
+     */
+    public IndexConfig setIncludedAttributes(List<String> includedAttributes) {
+        checkNotNull(includedAttributes, "Included attributes cannot be null.");
+
+        this.includedAttributes = new ArrayList<>(includedAttributes.size());
+
+        for (String attribute : includedAttributes) {
+            addIncludedAttribute(attribute);
+        }
+
+        return this;
+    }
+
     @Override
     public int getFactoryId() {
         return ConfigDataSerializerHook.F_ID;
@@ -260,6 +396,12 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         writeNullableList(attributes, out);
         out.writeObject(bitmapIndexOptions);
         out.writeObject(bTreeIndexConfig);
+        // RU_COMPAT_5_5
+        if (out.getVersion().isGreaterOrEqual(Versions.V6_0)) {
+            out.writeString(filter);
+            out.writeObject(fullTextIndexOptions);
+            writeNullableList(includedAttributes, out);
+        }
     }
 
     @Override
@@ -269,6 +411,12 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         attributes = readNullableList(in);
         bitmapIndexOptions = in.readObject();
         bTreeIndexConfig = in.readObject();
+        // RU_COMPAT_5_5
+        if (in.getVersion().isGreaterOrEqual(Versions.V6_0)) {
+            filter = in.readString();
+            fullTextIndexOptions = in.readObject();
+            includedAttributes = readNullableList(in);
+        }
     }
 
     @Override
@@ -299,7 +447,15 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
             return false;
         }
 
-        return getAttributes().equals(that.getAttributes());
+        if (!Objects.equals(filter, that.filter)) {
+            return false;
+        }
+
+        if (!getIncludedAttributes().equals(that.getIncludedAttributes())) {
+            return false;
+        }
+
+        return getFullTextIndexOptions().equals(that.getFullTextIndexOptions()) && getAttributes().equals(that.getAttributes());
     }
 
     @Override
@@ -310,6 +466,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         result = 31 * result + getAttributes().hashCode();
         result = 31 * result + getBitmapIndexOptions().hashCode();
         result = 31 * result + getBTreeIndexConfig().hashCode();
+        result = 31 * result + getFullTextIndexOptions().hashCode();
+        result = 31 * result + (filter != null ? filter.hashCode() : 0);
+        result = 31 * result + getIncludedAttributes().hashCode();
 
         return result;
     }
@@ -323,6 +482,15 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         if (bTreeIndexConfig != null) {
             string += ", bTreeIndexConfig=" + bTreeIndexConfig;
         }
+        if (fullTextIndexOptions != null && !fullTextIndexOptions.areDefault()) {
+            string += ", fullTextIndexOptions=" + fullTextIndexOptions;
+        }
+        if (filter != null) {
+            string += ", filter=" + filter;
+        }
+        if (includedAttributes != null && !includedAttributes.isEmpty()) {
+            string += ", includedAttributes=" + includedAttributes;
+        }
         return string + '}';
     }
 }
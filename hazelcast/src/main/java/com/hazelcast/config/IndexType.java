@@ -27,7 +27,15 @@ public enum IndexType {
     HASH(1),
 
     /** Bitmap index. Can be used with equality predicates. */
-    BITMAP(2);
+    BITMAP(2),
+
+    /**
+     * Full-text index. Can be used with {@code LIKE}, {@code ILIKE} and text
+     * search predicates on string attributes.
+     *
+     * @since 6.0
+     */
+    FULL_TEXT(3);
 
     private final int id;
 
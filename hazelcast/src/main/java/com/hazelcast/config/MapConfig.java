@@ -39,6 +39,7 @@ import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeN
 import static com.hazelcast.internal.util.Preconditions.checkAsyncBackupCount;
 import static com.hazelcast.internal.util.Preconditions.checkBackupCount;
 import static com.hazelcast.internal.util.Preconditions.checkFalse;
+import static com.hazelcast.internal.util.Preconditions.checkHasText;
 import static com.hazelcast.internal.util.Preconditions.checkNoNullInside;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.Preconditions.isNotNull;
@@ -100,6 +101,10 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
      * Default value of whether per entry statistics are enabled or not
      */
     public static final boolean DEFAULT_ENTRY_STATS_ENABLED = false;
+    /**
+     * Default value of whether value compression is enabled or not
+     */
+    public static final boolean DEFAULT_VALUE_COMPRESSION_ENABLED = false;
     /**
      * Default max size.
      */
@@ -118,6 +123,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
     private boolean readBackupData;
     private boolean statisticsEnabled = DEFAULT_STATISTICS_ENABLED;
     private boolean perEntryStatsEnabled = DEFAULT_ENTRY_STATS_ENABLED;
+    private boolean valueCompressionEnabled = DEFAULT_VALUE_COMPRESSION_ENABLED;
     private int backupCount = DEFAULT_BACKUP_COUNT;
     private int asyncBackupCount = MIN_BACKUP_COUNT;
     private int timeToLiveSeconds = DEFAULT_TTL_SECONDS;
@@ -148,6 +154,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
             .setSize(DEFAULT_MAX_SIZE);
     private TieredStoreConfig tieredStoreConfig = new TieredStoreConfig();
     private List<PartitioningAttributeConfig> partitioningAttributeConfigs;
+    private List<String> columnarAttributes;
     private @Nullable String userCodeNamespace = DEFAULT_NAMESPACE;
 
     public MapConfig() {
@@ -173,6 +180,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         this.cacheDeserializedValues = config.cacheDeserializedValues;
         this.statisticsEnabled = config.statisticsEnabled;
         this.perEntryStatsEnabled = config.perEntryStatsEnabled;
+        this.valueCompressionEnabled = config.valueCompressionEnabled;
         this.mergePolicyConfig = new MergePolicyConfig(config.mergePolicyConfig);
         this.wanReplicationRef = config.wanReplicationRef != null ? new WanReplicationRef(config.wanReplicationRef) : null;
         this.entryListenerConfigs = new ArrayList<>(config.getEntryListenerConfigs());
@@ -189,6 +197,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         this.eventJournalConfig = new EventJournalConfig(config.eventJournalConfig);
         this.tieredStoreConfig = new TieredStoreConfig(config.tieredStoreConfig);
         this.partitioningAttributeConfigs = new ArrayList<>(config.getPartitioningAttributeConfigs());
+        this.columnarAttributes = new ArrayList<>(config.getColumnarAttributes());
         this.userCodeNamespace = config.userCodeNamespace;
     }
 
@@ -491,6 +500,40 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         return this;
     }
 
+    /**
+     * Checks if value compression is enabled for this map.
+     *
+     * @return {@code true} if value compression is enabled, {@code false} otherwise
+     * @since 6.0
+     */
+    public boolean isValueCompressionEnabled() {
+        return valueCompressionEnabled;
+    }
+
+    /**
+     * Set to enable/disable compression of the values of this map.
+     * Its default value is {@code false}.
+     * <p>
+     * When enabled, each partition trains a compression dictionary from the
+     * first values stored in it and keeps the values which compress well in
+     * compressed form. Values are decompressed whenever they are read, so
+     * compression trades CPU time for memory. It pays off for values with
+     * repetitive content, such as {@code Compact} or JSON values sharing the
+     * same field names.
+     * <p>
+     * Only applies to maps with {@link InMemoryFormat#BINARY} in-memory format.
+     * It can't be set in the dynamic configuration added by a client.
+     *
+     * @param valueCompressionEnabled {@code true} to enable
+     *                                value compression, {@code false} to disable
+     * @return the current map config instance
+     * @since 6.0
+     */
+    public MapConfig setValueCompressionEnabled(boolean valueCompressionEnabled) {
+        this.valueCompressionEnabled = valueCompressionEnabled;
+        return this;
+    }
+
     /**
      * Checks if read-backup-data (reading local backup entries) is enabled for this map.
      *
@@ -583,6 +626,59 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         return this;
     }
 
+    /**
+     * Adds an attribute to be kept in the columnar store of this map.
+     *
+     * @param attribute the attribute path, e.g. {@code age} or {@code __key.id}
+     * @return the current map config instance
+     * @see #setColumnarAttributes(List)
+     * @since 6.0
+     */
+    public MapConfig addColumnarAttribute(String attribute) {
+        getColumnarAttributes().add(checkHasText(attribute, "Columnar attribute can not be empty"));
+        return this;
+    }
+
+    /**
+     * Returns the attributes kept in the columnar store of this map.
+     *
+     * @return the list of columnar attributes
+     * @see #setColumnarAttributes(List)
+     * @since 6.0
+     */
+    public List<String> getColumnarAttributes() {
+        if (columnarAttributes == null) {
+            columnarAttributes = new ArrayList<>();
+        }
+        return columnarAttributes;
+    }
+
+    /**
+     * Sets the attributes to be kept in the columnar store of this map.
+     * <p>
+     * The values of these attributes are extracted whenever an entry is
+     * stored and kept per partition in primitive arrays, one array per
+     * attribute. Full partition scans evaluate equality, comparison,
+     * between and in predicates on these attributes, and their
+     * conjunctions and disjunctions, by looping over the arrays instead
+     * of deserializing every entry. Aggregations also read these
+     * attributes from the columnar store.
+     * <p>
+     * The columnar store is kept for both primary and backup replicas,
+     * so it trades memory and update latency for faster unindexed queries.
+     * It is not supported for maps with {@link InMemoryFormat#NATIVE}
+     * in-memory format.
+     *
+     * @param columnarAttributes the attribute paths
+     * @return the current map config instance
+     * @since 6.0
+     */
+    public MapConfig setColumnarAttributes(List<String> columnarAttributes) {
+        checkNoNullInside(columnarAttributes, "Columnar attributes can not be null");
+        this.columnarAttributes = columnarAttributes;
+        return this;
+    }
+
     public MapConfig addAttributeConfig(AttributeConfig attributeConfig) {
         getAttributeConfigs().add(attributeConfig);
         return this;
@@ -899,6 +995,9 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         if (perEntryStatsEnabled != that.perEntryStatsEnabled) {
             return false;
         }
+        if (valueCompressionEnabled != that.valueCompressionEnabled) {
+            return false;
+        }
         if (!name.equals(that.name)) {
             return false;
         }
@@ -959,6 +1058,9 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         if (!tieredStoreConfig.equals(that.tieredStoreConfig)) {
             return false;
         }
+        if (!getColumnarAttributes().equals(that.getColumnarAttributes())) {
+            return false;
+        }
         if (!getPartitioningAttributeConfigs().equals(that.getPartitioningAttributeConfigs())) {
             return false;
         }
@@ -993,6 +1095,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         result = 31 * result + getPartitionLostListenerConfigs().hashCode();
         result = 31 * result + (statisticsEnabled ? 1 : 0);
         result = 31 * result + (perEntryStatsEnabled ? 1 : 0);
+        result = 31 * result + (valueCompressionEnabled ? 1 : 0);
         result = 31 * result + (partitioningStrategyConfig != null ? partitioningStrategyConfig.hashCode() : 0);
         result = 31 * result + (splitBrainProtectionName != null ? splitBrainProtectionName.hashCode() : 0);
         result = 31 * result + merkleTreeConfig.hashCode();
@@ -1001,6 +1104,7 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         result = 31 * result + dataPersistenceConfig.hashCode();
         result = 31 * result + tieredStoreConfig.hashCode();
         result = 31 * result + getPartitioningAttributeConfigs().hashCode();
+        result = 31 * result + getColumnarAttributes().hashCode();
         result = 31 * result + (userCodeNamespace != null ? userCodeNamespace.hashCode() : 0);
         return result;
     }
@@ -1033,8 +1137,10 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
                 + ", cacheDeserializedValues=" + cacheDeserializedValues
                 + ", statisticsEnabled=" + statisticsEnabled
                 + ", entryStatsEnabled=" + perEntryStatsEnabled
+                + ", valueCompressionEnabled=" + valueCompressionEnabled
                 + ", tieredStoreConfig=" + tieredStoreConfig
                 + ", partitioningAttributeConfigs=" + partitioningAttributeConfigs
+                + ", columnarAttributes=" + columnarAttributes
                 + ", userCodeNamespace=" + userCodeNamespace
                 + '}';
     }
@@ -1087,6 +1193,12 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         if (out.getVersion().isGreaterOrEqual(Versions.V5_4)) {
             out.writeString(userCodeNamespace);
         }
+
+        // RU_COMPAT_5_5
+        if (out.getVersion().isGreaterOrEqual(Versions.V6_0)) {
+            out.writeBoolean(valueCompressionEnabled);
+            writeNullableList(columnarAttributes, out);
+        }
     }
 
     @Override
@@ -1127,5 +1239,11 @@ public class MapConfig implements IdentifiedDataSerializable, NamedConfig, Versi
         if (in.getVersion().isGreaterOrEqual(Versions.V5_4)) {
             userCodeNamespace = in.readString();
         }
+
+        // RU_COMPAT_5_5
+        if (in.getVersion().isGreaterOrEqual(Versions.V6_0)) {
+            valueCompressionEnabled = in.readBoolean();
+            columnarAttributes = readNullableList(in);
+        }
     }
 }
@@ -41,6 +41,7 @@ import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.config.FlakeIdGeneratorConfig;
+import com.hazelcast.config.FullTextIndexOptions;
 import com.hazelcast.config.GcpConfig;
 import com.hazelcast.config.HotRestartConfig;
 import com.hazelcast.config.IndexConfig;
@@ -181,8 +182,9 @@ public final class ConfigDataSerializerHook implements DataSerializerHook {
     public static final short VECTOR_COLLECTION_CONFIG = 72;
     public static final short VECTOR_INDEX_CONFIG = 73;
     public static final int DIAGNOSTICS_CONFIG = 74;
+    public static final int FULL_TEXT_INDEX_OPTIONS = 75;
 
-    private static final int LEN = DIAGNOSTICS_CONFIG + 1;
+    private static final int LEN = FULL_TEXT_INDEX_OPTIONS + 1;
 
 
 
@@ -270,6 +272,7 @@ public final class ConfigDataSerializerHook implements DataSerializerHook {
         constructors[VECTOR_COLLECTION_CONFIG] = VectorCollectionConfig::new;
         constructors[VECTOR_INDEX_CONFIG] = VectorIndexConfig::new;
         constructors[DIAGNOSTICS_CONFIG] = DiagnosticsConfig::new;
+        constructors[FULL_TEXT_INDEX_OPTIONS] = FullTextIndexOptions::new;
 
         return new ArrayDataSerializableFactory(constructors);
     }
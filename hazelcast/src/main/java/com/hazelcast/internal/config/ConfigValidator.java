@@ -71,6 +71,7 @@ import static com.hazelcast.config.EvictionPolicy.LFU;
 import static com.hazelcast.config.EvictionPolicy.LRU;
 import static com.hazelcast.config.EvictionPolicy.NONE;
 import static com.hazelcast.config.EvictionPolicy.RANDOM;
+import static com.hazelcast.config.EvictionPolicy.TINY_LFU;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.MaxSizePolicy.ENTRY_COUNT;
 import static com.hazelcast.config.MaxSizePolicy.FREE_HEAP_PERCENTAGE;
@@ -101,13 +102,13 @@ import static java.lang.String.format;
 @SuppressWarnings({"checkstyle:classfanoutcomplexity", "checkstyle:methodcount"})
 public final class ConfigValidator {
 
-    public static final Set<EvictionPolicy> COMMONLY_SUPPORTED_EVICTION_POLICIES = EnumSet.of(LRU, LFU);
+    public static final Set<EvictionPolicy> COMMONLY_SUPPORTED_EVICTION_POLICIES = EnumSet.of(LRU, LFU, TINY_LFU);
 
     private static final Set<MaxSizePolicy> NEAR_CACHE_SUPPORTED_ON_HEAP_MAX_SIZE_POLICIES
             = EnumSet.of(MaxSizePolicy.ENTRY_COUNT);
 
     private static final Set<EvictionPolicy> MAP_SUPPORTED_EVICTION_POLICIES
-            = EnumSet.of(LRU, LFU, RANDOM, NONE);
+            = EnumSet.of(LRU, LFU, RANDOM, NONE, TINY_LFU);
 
     private static final Set<MaxSizePolicy> MAP_SUPPORTED_NATIVE_MAX_SIZE_POLICIES
             = EnumSet.of(PER_NODE, PER_PARTITION, USED_NATIVE_MEMORY_PERCENTAGE,
@@ -135,14 +136,16 @@ public final class ConfigValidator {
     public static void checkMapConfig(Config config, MapConfig mapConfig,
                                       SplitBrainMergePolicyProvider mergePolicyProvider) {
 
-        checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
+        if (!config.getNativeMemoryConfig().isEnabled()) {
+            checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
+        }
         checkNotBitmapIndexWhenNativeMemory(mapConfig.getInMemoryFormat(), mapConfig.getIndexConfigs());
         checkTSEnabledOnEnterpriseJar(mapConfig.getTieredStoreConfig());
 
         if (getBuildInfo().isEnterprise()) {
             checkTieredStoreMapConfig(config, mapConfig);
-            checkMapNativeConfig(mapConfig, config.getNativeMemoryConfig());
         }
+        checkMapNativeConfig(mapConfig, config.getNativeMemoryConfig());
 
         checkMapEvictionConfig(mapConfig.getEvictionConfig());
         checkMapMaxSizePolicyPerInMemoryFormat(mapConfig);
@@ -753,7 +756,8 @@ public final class ConfigValidator {
 
     /**
      * Throws {@link InvalidConfigurationException} if the given {@link InMemoryFormat}
-     * is {@link InMemoryFormat#NATIVE} and index configurations include {@link IndexType#BITMAP}.
+     * is {@link InMemoryFormat#NATIVE} and index configurations include {@link IndexType#BITMAP}
+     * or {@link IndexType#FULL_TEXT}.
      *
      * @param inMemoryFormat supplied inMemoryFormat
      * @param indexConfigs   {@link List} of {@link IndexConfig}
@@ -761,8 +765,9 @@ public final class ConfigValidator {
     private static void checkNotBitmapIndexWhenNativeMemory(InMemoryFormat inMemoryFormat, List<IndexConfig> indexConfigs) {
         if (inMemoryFormat == NATIVE) {
             for (IndexConfig indexConfig : indexConfigs) {
-                if (indexConfig.getType() == IndexType.BITMAP) {
-                    throw new InvalidConfigurationException("BITMAP indexes are not supported by NATIVE storage");
+                IndexType type = indexConfig.getType();
+                if (type == IndexType.BITMAP || type == IndexType.FULL_TEXT) {
+                    throw new InvalidConfigurationException(type + " indexes are not supported by NATIVE storage");
                 }
             }
         }
@@ -18,6 +18,7 @@ package com.hazelcast.internal.config;
 
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.EvictionStrategy;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 
@@ -47,6 +48,11 @@ public class EvictionConfigReadOnly extends EvictionConfig {
         throw new UnsupportedOperationException("This config is read-only");
     }
 
+    @Override
+    public EvictionConfig setEvictionStrategy(@Nonnull EvictionStrategy evictionStrategy) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
     @Override
     public EvictionConfig setComparatorClassName(@Nonnull String comparatorClassName) {
         throw new UnsupportedOperationException("This config is read-only");
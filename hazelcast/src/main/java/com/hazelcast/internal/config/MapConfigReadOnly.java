@@ -259,6 +259,11 @@ public class MapConfigReadOnly extends MapConfig {
         return partitioningAttributeConfigsReadOnly;
     }
 
+    @Override
+    public List<String> getColumnarAttributes() {
+        return Collections.unmodifiableList(super.getColumnarAttributes());
+    }
+
     @Override
     public MapConfig setMerkleTreeConfig(@Nonnull MerkleTreeConfig merkleTreeConfig) {
         throw throwReadOnly();
@@ -334,6 +339,21 @@ public class MapConfigReadOnly extends MapConfig {
         throw throwReadOnly();
     }
 
+    @Override
+    public MapConfig setValueCompressionEnabled(boolean valueCompressionEnabled) {
+        throw throwReadOnly();
+    }
+
+    @Override
+    public MapConfig addColumnarAttribute(String attribute) {
+        throw throwReadOnly();
+    }
+
+    @Override
+    public MapConfig setColumnarAttributes(List<String> columnarAttributes) {
+        throw throwReadOnly();
+    }
+
     @Override
     public MapConfig setReadBackupData(boolean readBackupData) {
         throw throwReadOnly();
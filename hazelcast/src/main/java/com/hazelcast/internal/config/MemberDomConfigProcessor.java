@@ -43,6 +43,7 @@ import com.hazelcast.config.EntryListenerConfig;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.EvictionStrategy;
 import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.config.FlakeIdGeneratorConfig;
 import com.hazelcast.config.HotRestartClusterDataRecoveryPolicy;
@@ -2001,6 +2002,8 @@ public class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
                 mapConfig.setStatisticsEnabled(getBooleanValue(getTextContent(node)));
             } else if (matches("per-entry-stats-enabled", nodeName)) {
                 mapConfig.setPerEntryStatsEnabled(getBooleanValue(getTextContent(node)));
+            } else if (matches("value-compression-enabled", nodeName)) {
+                mapConfig.setValueCompressionEnabled(getBooleanValue(getTextContent(node)));
             } else if (matches("cache-deserialized-values", nodeName)) {
                 CacheDeserializedValues cacheDeserializedValues = CacheDeserializedValues
                         .parseString(getTextContent(node));
@@ -2249,6 +2252,7 @@ public class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
         Node size = getNamedItemNode(node, "size");
         Node maxSizePolicy = getNamedItemNode(node, "max-size-policy");
         Node evictionPolicy = getNamedItemNode(node, "eviction-policy");
+        Node evictionStrategy = getNamedItemNode(node, "eviction-strategy");
         Node comparatorClassName = getNamedItemNode(node, "comparator-class-name");
 
         if (size != null) {
@@ -2263,6 +2267,9 @@ public class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
         if (evictionPolicy != null) {
             evictionConfig.setEvictionPolicy(EvictionPolicy.valueOf(upperCaseInternal(getTextContent(evictionPolicy))));
         }
+        if (evictionStrategy != null) {
+            evictionConfig.setEvictionStrategy(EvictionStrategy.valueOf(upperCaseInternal(getTextContent(evictionStrategy))));
+        }
         if (comparatorClassName != null) {
             String className = getTextContent(comparatorClassName);
             if (!StringUtil.isNullOrEmptyAfterTrim(className)) {
@@ -104,6 +104,7 @@ public final class DynamicConfigXmlGenerator {
                     .node("in-memory-format", m.getInMemoryFormat())
                     .node("statistics-enabled", m.isStatisticsEnabled())
                     .node("per-entry-stats-enabled", m.isPerEntryStatsEnabled())
+                    .node("value-compression-enabled", m.isValueCompressionEnabled())
                     .node("cache-deserialized-values", cacheDeserializedVal)
                     .node("backup-count", m.getBackupCount())
                     .node("async-backup-count", m.getAsyncBackupCount())
@@ -115,7 +116,7 @@ public final class DynamicConfigXmlGenerator {
                     .node("read-backup-data", m.isReadBackupData())
                     .node("metadata-policy", m.getMetadataPolicy());
 
-            evictionConfigXmlGenerator(gen, m.getEvictionConfig());
+            mapEvictionConfigXmlGenerator(gen, m.getEvictionConfig());
             if (m.getMerkleTreeConfig().getEnabled() != null) {
                 appendMerkleTreeConfig(gen, m.getMerkleTreeConfig());
             }
@@ -807,6 +808,20 @@ public final class DynamicConfigXmlGenerator {
         }
     }
 
+    private static void mapEvictionConfigXmlGenerator(ConfigXmlGenerator.XmlGenerator gen, EvictionConfig e) {
+        if (e == null) {
+            return;
+        }
+
+        String comparatorClassName = !isNullOrEmpty(e.getComparatorClassName()) ? e.getComparatorClassName() : null;
+        gen.node("eviction", null,
+                "size", e.getSize(),
+                "max-size-policy", e.getMaxSizePolicy(),
+                "eviction-policy", e.getEvictionPolicy(),
+                "eviction-strategy", e.getEvictionStrategy(),
+                "comparator-class-name", comparatorClassName);
+    }
+
     private static void evictionConfigXmlGenerator(ConfigXmlGenerator.XmlGenerator gen, EvictionConfig e) {
         if (e == null) {
             return;
@@ -211,6 +211,8 @@ public class DynamicConfigYamlGenerator {
                     subConfigAsObject.isStatisticsEnabled());
             addNonNullToMap(subConfigAsMap, "per-entry-stats-enabled",
                     subConfigAsObject.isPerEntryStatsEnabled());
+            addNonNullToMap(subConfigAsMap, "value-compression-enabled",
+                    subConfigAsObject.isValueCompressionEnabled());
             addNonNullToMap(subConfigAsMap, "cache-deserialized-values",
                     cacheDeserializedValues);
             addNonNullToMap(subConfigAsMap, "backup-count",
@@ -230,7 +232,7 @@ public class DynamicConfigYamlGenerator {
             addNonNullToMap(subConfigAsMap, "metadata-policy",
                     subConfigAsObject.getMetadataPolicy().name());
             addNonNullToMap(subConfigAsMap, "eviction",
-                    getEvictionConfigAsMap(subConfigAsObject.getEvictionConfig()));
+                    getMapEvictionConfigAsMap(subConfigAsObject.getEvictionConfig()));
             addNonNullToMap(subConfigAsMap, "merkle-tree",
                     getMerkleTreeConfigAsMap(subConfigAsObject.getMerkleTreeConfig()));
             addNonNullToMap(subConfigAsMap, "event-journal",
@@ -1552,6 +1554,10 @@ public class DynamicConfigYamlGenerator {
             addNonNullToMap(indexConfigAsMap, "name", indexConfig.getName());
             addNonNullToMap(indexConfigAsMap, "type", indexConfig.getType().name());
             addNonNullToMap(indexConfigAsMap, "attributes", indexConfig.getAttributes());
+            addNonNullToMap(indexConfigAsMap, "filter", indexConfig.getFilter());
+            if (!indexConfig.getIncludedAttributes().isEmpty()) {
+                indexConfigAsMap.put("included-attributes", indexConfig.getIncludedAttributes());
+            }
 
             if (indexConfig.getType() == IndexType.BITMAP) {
                 Map<String, Object> bitmapIndexOptionsAsMap = new LinkedHashMap<>();
@@ -1561,6 +1567,9 @@ public class DynamicConfigYamlGenerator {
                         indexConfig.getBitmapIndexOptions().getUniqueKeyTransformation().name());
 
                 indexConfigAsMap.put("bitmap-index-options", bitmapIndexOptionsAsMap);
+            } else if (indexConfig.getType() == IndexType.FULL_TEXT) {
+                indexConfigAsMap.put("full-text-index-options",
+                        wrapObjectWithMap("ngram-length", indexConfig.getFullTextIndexOptions().getNGramLength()));
             } else if (indexConfig.getType() == IndexType.SORTED) {
                 BTreeIndexConfig bTreeConf = indexConfig.getBTreeIndexConfig();
                 Map<String, Object> btreeOptionsAsMap = new LinkedHashMap<>();
@@ -1670,6 +1679,14 @@ public class DynamicConfigYamlGenerator {
         }
     }
 
+    private static Map<String, Object> getMapEvictionConfigAsMap(EvictionConfig evictionConfig) {
+        Map<String, Object> evictionConfigAsMap = getEvictionConfigAsMap(evictionConfig);
+        if (evictionConfigAsMap != null) {
+            evictionConfigAsMap.put("eviction-strategy", evictionConfig.getEvictionStrategy().name());
+        }
+        return evictionConfigAsMap;
+    }
+
     private static Map<String, Object> getEvictionConfigAsMap(EvictionConfig evictionConfig) {
         if (evictionConfig == null) {
             return null;
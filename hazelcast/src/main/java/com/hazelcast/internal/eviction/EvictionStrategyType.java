@@ -24,7 +24,18 @@ public enum EvictionStrategyType {
     /**
      * Sampling based eviction strategy type
      */
-    SAMPLING_BASED_EVICTION;
+    SAMPLING_BASED_EVICTION,
+
+    /**
+     * Sampling based eviction strategy type which keeps the best eviction
+     * candidates of the previous samplings in a small pool, so every
+     * eviction needs fewer fresh samples to approximate the eviction policy.
+     * <p>
+     * Only used by {@link com.hazelcast.map.IMap} with {@code LRU} or
+     * {@code LFU} eviction policy, other data structures and eviction
+     * policies fall back to {@link #SAMPLING_BASED_EVICTION}.
+     */
+    POOL_BASED_EVICTION;
 
     /**
      * Default value of {@link com.hazelcast.internal.eviction.EvictionStrategyType}
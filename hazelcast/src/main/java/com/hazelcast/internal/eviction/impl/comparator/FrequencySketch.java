@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Count-min sketch estimating the access frequency of keys with 4-bit
+ * counters, as used by the TinyLFU admission policy.
+ * <p>
+ * Every {@code long} of the table holds 16 counters, 4 for each of the 4
+ * rows of the sketch. A key is hashed to one counter of each row and its
+ * frequency is the minimum of them. When the number of increments reaches
+ * 10 times the expected number of keys, all counters are halved, so the
+ * frequencies reflect the recent accesses.
+ * <p>
+ * Concurrent updates are supported, but an increment racing with a
+ * resize or with the halving of the counters may be lost.
+ * <p>
+ * The table is grown by copying the counters, so the recorded frequencies
+ * survive a resize: the index of a key in the larger table has the same
+ * low bits as in the smaller one, so it inherits the counters of its
+ * previous slot. As in any count-min sketch, the estimates may only be
+ * too high, never too low.
+ */
+final class FrequencySketch {
+
+    static final int MAX_FREQUENCY = 15;
+
+    private static final int MIN_TABLE_LENGTH = 16;
+    private static final int MAX_TABLE_LENGTH = 1 << 20;
+    private static final int ROW_COUNT = 4;
+    private static final int COUNTER_BITS = 4;
+    private static final int SAMPLE_SIZE_FACTOR = 10;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0x27D4EB2F165667C5L,
+    };
+
+    private final AtomicInteger additions = new AtomicInteger();
+
+    private volatile AtomicLongArray table = new AtomicLongArray(MIN_TABLE_LENGTH);
+    private volatile int sampleSize = SAMPLE_SIZE_FACTOR * MIN_TABLE_LENGTH;
+
+    /**
+     * Grows the sketch, if it is smaller, to estimate the frequencies of
+     * the given number of keys accurately. The counters are kept.
+     */
+    void ensureCapacity(long expectedSize) {
+        int length = (int) nextPowerOfTwo(Math.min(Math.max(expectedSize, MIN_TABLE_LENGTH), MAX_TABLE_LENGTH));
+        if (length <= table.length()) {
+            return;
+        }
+        synchronized (this) {
+            AtomicLongArray oldTable = table;
+            if (length <= oldTable.length()) {
+                return;
+            }
+            AtomicLongArray newTable = new AtomicLongArray(length);
+            int oldMask = oldTable.length() - 1;
+            for (int i = 0; i < length; i++) {
+                newTable.set(i, oldTable.get(i & oldMask));
+            }
+            table = newTable;
+            sampleSize = SAMPLE_SIZE_FACTOR * length;
+        }
+    }
+
+    /**
+     * Returns the estimated number of accesses of the key
+     * with the given hash, at most {@link #MAX_FREQUENCY}.
+     */
+    int frequency(int hash) {
+        AtomicLongArray table = this.table;
+        int frequency = MAX_FREQUENCY;
+        for (int row = 0; row < ROW_COUNT; row++) {
+            int h = rehash(hash, row);
+            int shift = counterShift(h, row);
+            int counter = (int) ((table.get(indexOf(table, h)) >>> shift) & MAX_FREQUENCY);
+            frequency = Math.min(frequency, counter);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the key with the given hash.
+     */
+    void increment(int hash) {
+        AtomicLongArray table = this.table;
+        boolean added = false;
+        for (int row = 0; row < ROW_COUNT; row++) {
+            int h = rehash(hash, row);
+            added |= incrementAt(table, indexOf(table, h), counterShift(h, row));
+        }
+        if (added && additions.incrementAndGet() >= sampleSize) {
+            reset(table);
+        }
+    }
+
+    private static boolean incrementAt(AtomicLongArray table, int index, int shift) {
+        long mask = (long) MAX_FREQUENCY << shift;
+        long value;
+        do {
+            value = table.get(index);
+            if ((value & mask) == mask) {
+                return false;
+            }
+        } while (!table.compareAndSet(index, value, value + (1L << shift)));
+        return true;
+    }
+
+    /**
+     * Halves all the counters, so the old accesses count less
+     * than the recent ones.
+     */
+    private void reset(AtomicLongArray table) {
+        int oddCount = 0;
+        for (int i = 0; i < table.length(); i++) {
+            long value = table.get(i);
+            oddCount += Long.bitCount(value & ONE_MASK);
+            table.set(i, (value >>> 1) & RESET_MASK);
+        }
+        additions.set(Math.max(0, (additions.get() - (oddCount >>> 2)) >>> 1));
+    }
+
+    private static int rehash(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h ^= h >>> Integer.SIZE;
+        return (int) h;
+    }
+
+    private static int indexOf(AtomicLongArray table, int h) {
+        return h & (table.length() - 1);
+    }
+
+    /**
+     * Every row uses 4 of the 16 counters of a {@code long},
+     * selected by the highest bits of the hash.
+     */
+    private static int counterShift(int h, int row) {
+        int counter = (row << 2) + (h >>> (Integer.SIZE - 2));
+        return counter * COUNTER_BITS;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.util.SampleableConcurrentHashMap.SamplingEntry;
+import com.hazelcast.spi.eviction.EvictableEntryView;
+import com.hazelcast.spi.eviction.EvictionPolicyComparator;
+
+/**
+ * {@link com.hazelcast.config.EvictionPolicy#TINY_LFU}
+ * policy based {@link EvictionPolicyComparator}.
+ * <p>
+ * Unlike the other out-of-the-box comparators, it is stateful: the
+ * accesses of the keys are recorded with {@link #recordAccess(Object)} in
+ * a frequency sketch, which also keeps the access history of the keys not
+ * stored anymore. Entries with lower estimated frequency are evicted
+ * first, the least recently used one among equally frequent entries.
+ * Each record store using the comparator must create its own instance.
+ * <p>
+ * Keys are identified by their {@code hashCode()}, so a store must record
+ * the accesses with the same key representation it keeps in its samples.
+ */
+@SerializableByConvention
+public class TinyLFUEvictionPolicyComparator
+        implements EvictionPolicyComparator<Object, Object, EvictableEntryView<Object, Object>> {
+
+    private final transient FrequencySketch sketch = new FrequencySketch();
+
+    /**
+     * Grows the frequency sketch to estimate the frequencies of the
+     * given number of keys accurately, if it is smaller. The recorded
+     * frequencies are kept.
+     */
+    public void ensureCapacity(long expectedSize) {
+        sketch.ensureCapacity(expectedSize);
+    }
+
+    public void recordAccess(Object key) {
+        sketch.increment(key.hashCode());
+    }
+
+    public int frequency(Object key) {
+        return sketch.frequency(key.hashCode());
+    }
+
+    /**
+     * Decides whether a new entry with the given key should be stored in
+     * place of the eviction candidate: it is only admitted if it has been
+     * accessed more frequently, so one-hit wonders can't flush frequently
+     * accessed entries from a full store.
+     */
+    public boolean admit(Object candidateKey, Object victimKey) {
+        return frequency(candidateKey) > frequency(victimKey);
+    }
+
+    @Override
+    public int compare(EvictableEntryView e1, EvictableEntryView e2) {
+        int result = Integer.compare(frequency(keyOf(e1)), frequency(keyOf(e2)));
+        if (result != 0) {
+            return result;
+        }
+        // if frequencies are same, we try to select least recently used entry to evict
+        long time1 = Math.max(e1.getCreationTime(), e1.getLastAccessTime());
+        long time2 = Math.max(e2.getCreationTime(), e2.getLastAccessTime());
+        return Long.compare(time1, time2);
+    }
+
+    /**
+     * Returns the key as it is stored, without deserializing it.
+     */
+    private static Object keyOf(EvictableEntryView entryView) {
+        return entryView instanceof SamplingEntry samplingEntry
+                ? samplingEntry.getEntryKey() : entryView.getKey();
+    }
+
+    @Override
+    public String toString() {
+        return "TinyLFUEvictionPolicyComparator{" + super.toString() + "} ";
+    }
+}
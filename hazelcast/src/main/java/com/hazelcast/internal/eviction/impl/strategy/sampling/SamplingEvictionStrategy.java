@@ -72,9 +72,24 @@ public final class SamplingEvictionStrategy<A, E extends Evictable, S extends Sa
     private boolean evictInternal(S sampleableEvictableStore,
             EvictionPolicyEvaluator<A, E> evictionPolicyEvaluator,
             EvictionListener<A, E> evictionListener) {
-        final Iterable<EvictionCandidate<A, E>> samples = sampleableEvictableStore.sample(SAMPLE_COUNT);
-        final EvictionCandidate<A, E> evictionCandidate = evictionPolicyEvaluator.evaluate(samples);
+        final EvictionCandidate<A, E> evictionCandidate
+                = selectEvictionCandidate(sampleableEvictableStore, evictionPolicyEvaluator);
         return sampleableEvictableStore.tryEvict(evictionCandidate, evictionListener);
     }
 
+    /**
+     * Samples {@link Evictable} entries and selects the one which would be evicted,
+     * without evicting it.
+     *
+     * @param sampleableEvictableStore  {@link SampleableEvictableStore} that holds {@link Evictable} entries
+     * @param evictionPolicyEvaluator   {@link EvictionPolicyEvaluator} to evaluate
+     *
+     * @return the selected eviction candidate or {@code null} if the store is empty
+     */
+    public EvictionCandidate<A, E> selectEvictionCandidate(S sampleableEvictableStore,
+            EvictionPolicyEvaluator<A, E> evictionPolicyEvaluator) {
+        final Iterable<EvictionCandidate<A, E>> samples = sampleableEvictableStore.sample(SAMPLE_COUNT);
+        return evictionPolicyEvaluator.evaluate(samples);
+    }
+
 }
@@ -16,10 +16,24 @@
 
 package com.hazelcast.internal.memory;
 
+import java.util.function.LongConsumer;
+
 public interface Measurable {
 
     /**
      * @return estimated number of bytes occupied by this object in the JVM heap.
      */
     long heapBytesUsed();
+
+    /**
+     * Passes the estimated heap bytes of each container of this object, e.g.
+     * the record stores of a map, to the given consumer. The reported values
+     * sum up to {@link #heapBytesUsed()}. By default the object is reported
+     * as a single container.
+     *
+     * @param consumer the consumer of the heap bytes of each container
+     */
+    default void forEachContainerHeapBytesUsed(LongConsumer consumer) {
+        consumer.accept(heapBytesUsed());
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.util.Arrays;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.LongConsumer;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MEMORY_METRIC_ACCOUNTED_HEAP;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MEMORY_METRIC_HEAP_QUOTA;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.spi.properties.ClusterProperty.MEMORY_QUOTA_CHECK_PERIOD_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.MEMORY_QUOTA_HEAP_PERCENTAGE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Accounts the heap memory held by the data structures of this member
+ * against the member-wide quota, see
+ * {@link com.hazelcast.spi.properties.ClusterProperty#MEMORY_QUOTA_HEAP_PERCENTAGE}.
+ * <p>
+ * The services holding data structures implement {@link Measurable} and
+ * report the memory of their containers on this member, both primary and
+ * backup replicas. The reports are collected periodically, so checking the
+ * quota on the hot paths costs a single volatile read.
+ * <p>
+ * While the quota is exceeded, only the largest containers have to release
+ * memory: every check computes the largest size the containers may keep so
+ * that the capped sizes fit in the quota, see
+ * {@link #isContainerQuotaExceeded(long)}.
+ */
+public class MemoryAccountingService implements Runnable {
+
+    private static final int ONE_HUNDRED_PERCENT = 100;
+
+    private final NodeEngine nodeEngine;
+    private final ILogger logger;
+    private final long checkPeriodMillis;
+    private final ContainerCosts containerCosts = new ContainerCosts();
+
+    @Probe(name = MEMORY_METRIC_HEAP_QUOTA, unit = BYTES)
+    private final long quotaBytes;
+    @Probe(name = MEMORY_METRIC_ACCOUNTED_HEAP, unit = BYTES)
+    private volatile long usedBytes;
+    private volatile boolean quotaExceeded;
+    private volatile long containerQuotaBytes = Long.MAX_VALUE;
+    private volatile ScheduledFuture<?> scheduledTask;
+
+    public MemoryAccountingService(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.logger = nodeEngine.getLogger(MemoryAccountingService.class);
+        HazelcastProperties properties = nodeEngine.getProperties();
+        int quotaPercentage = properties.getInteger(MEMORY_QUOTA_HEAP_PERCENTAGE);
+        checkTrue(quotaPercentage >= 0 && quotaPercentage <= ONE_HUNDRED_PERCENT,
+                MEMORY_QUOTA_HEAP_PERCENTAGE.getName() + " should be in range [0,100]");
+        this.quotaBytes = Runtime.getRuntime().maxMemory() / ONE_HUNDRED_PERCENT * quotaPercentage;
+        this.checkPeriodMillis = properties.getPositiveMillisOrDefault(MEMORY_QUOTA_CHECK_PERIOD_MILLIS);
+    }
+
+    /**
+     * Starts the periodic accounting, if the quota is enabled.
+     */
+    public void start() {
+        if (quotaBytes > 0) {
+            scheduledTask = nodeEngine.getExecutionService().getGlobalTaskScheduler()
+                    .scheduleWithRepetition(this, checkPeriodMillis, checkPeriodMillis, MILLISECONDS);
+        }
+    }
+
+    public void shutdown() {
+        ScheduledFuture<?> task = scheduledTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * @return {@code true} if the memory accounted at the last check exceeds
+     * the quota, so data structures should release memory or reject updates
+     */
+    public boolean isQuotaExceeded() {
+        return quotaExceeded;
+    }
+
+    /**
+     * Checks whether a container has to release memory because of the quota.
+     * While the quota is exceeded, only the containers holding more than
+     * their share of it have to, so small data structures are not evicted
+     * for the memory held by the large ones.
+     *
+     * @param containerHeapBytes the current heap cost of the container
+     * @return {@code true} if the memory accounted at the last check exceeds
+     * the quota and the container holds more than its share of it
+     */
+    public boolean isContainerQuotaExceeded(long containerHeapBytes) {
+        return containerHeapBytes > containerQuotaBytes;
+    }
+
+    /**
+     * @return the quota in bytes, or {@code 0} if the quota is disabled
+     */
+    public long getQuotaBytes() {
+        return quotaBytes;
+    }
+
+    /**
+     * @return the memory accounted to the data structures at the last check
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    @Override
+    public void run() {
+        ContainerCosts costs = containerCosts;
+        costs.clear();
+        for (Measurable service : nodeEngine.getServices(Measurable.class)) {
+            service.forEachContainerHeapBytesUsed(costs);
+        }
+        long used = costs.sum;
+        usedBytes = used;
+        boolean exceeded = quotaBytes > 0 && used > quotaBytes;
+        containerQuotaBytes = exceeded ? costs.maxCostWithin(quotaBytes) : Long.MAX_VALUE;
+        if (exceeded != quotaExceeded) {
+            quotaExceeded = exceeded;
+            if (exceeded) {
+                logger.warning("Memory held by data structures (" + Capacity.toPrettyString(used)
+                        + ") exceeds the quota of " + Capacity.toPrettyString(quotaBytes)
+                        + ", evicting entries and rejecting offers until memory is released");
+            } else {
+                logger.info("Memory held by data structures (" + Capacity.toPrettyString(used)
+                        + ") is back within the quota of " + Capacity.toPrettyString(quotaBytes));
+            }
+        }
+    }
+
+    /**
+     * Collects the heap costs of the containers reported by the services.
+     * Only used by the accounting task, which never runs concurrently.
+     */
+    private static final class ContainerCosts implements LongConsumer {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] costs = new long[INITIAL_CAPACITY];
+        private int count;
+        private long sum;
+
+        @Override
+        public void accept(long cost) {
+            if (cost <= 0) {
+                return;
+            }
+            if (count == costs.length) {
+                costs = Arrays.copyOf(costs, count * 2);
+            }
+            costs[count++] = cost;
+            sum += cost;
+        }
+
+        void clear() {
+            count = 0;
+            sum = 0;
+        }
+
+        /**
+         * Returns the largest cost the containers may keep so that the sum
+         * of their costs, each capped at it, fits in the given quota.
+         */
+        long maxCostWithin(long quota) {
+            Arrays.sort(costs, 0, count);
+            long remaining = quota;
+            for (int i = 0; i < count; i++) {
+                long share = remaining / (count - i);
+                if (costs[i] > share) {
+                    return share;
+                }
+                remaining -= costs[i];
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
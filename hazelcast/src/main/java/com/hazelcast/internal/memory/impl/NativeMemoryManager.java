@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+
+/**
+ * {@link MemoryManager} which allocates memory outside the Java heap, in the
+ * CPU's native address space. Memory is accessed through the global
+ * {@link com.hazelcast.internal.memory.GlobalMemoryAccessor}.
+ * <p>
+ * With {@link MemoryAllocatorType#POOLED} the blocks are served by a
+ * {@link PooledMemoryAllocator} on top of an {@link UnsafeMemoryAllocator},
+ * with {@link MemoryAllocatorType#STANDARD} every block is allocated directly
+ * by the {@link UnsafeMemoryAllocator}. In both cases the total amount of
+ * memory taken from the operating system is bounded by the configured capacity.
+ * <p>
+ * {@link #dispose()} returns all the memory to the operating system, including
+ * the blocks which are still referenced by their owners. Freeing such a block
+ * afterwards does nothing and a new allocation fails.
+ */
+public class NativeMemoryManager implements MemoryManager {
+
+    private final UnsafeMemoryAllocator systemAllocator;
+    private final PooledMemoryAllocator pooledAllocator;
+    private final MemoryAllocator allocator;
+
+    public NativeMemoryManager(NativeMemoryConfig config) {
+        this(config.getCapacity().bytes(), config.getAllocatorType(), config.getMinBlockSize(), config.getPageSize());
+    }
+
+    public NativeMemoryManager(long capacity, MemoryAllocatorType allocatorType, int minBlockSize, int pageSize) {
+        this.systemAllocator = new UnsafeMemoryAllocator(capacity);
+        this.pooledAllocator = allocatorType == MemoryAllocatorType.POOLED
+                ? new PooledMemoryAllocator(systemAllocator, minBlockSize, pageSize) : null;
+        this.allocator = pooledAllocator != null ? pooledAllocator : systemAllocator;
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return allocator;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    /**
+     * @return the maximum amount of native memory this manager can take from the operating system
+     */
+    public long getMaxNative() {
+        return systemAllocator.getCapacity();
+    }
+
+    /**
+     * @return the amount of native memory taken from the operating system
+     */
+    public long getCommittedNative() {
+        return systemAllocator.getUsedMemory();
+    }
+
+    /**
+     * @return the amount of native memory allocated to the users of this manager
+     */
+    public long getUsedNative() {
+        return pooledAllocator != null ? pooledAllocator.getUsedMemory() : systemAllocator.getUsedMemory();
+    }
+
+    /**
+     * @return the amount of native memory which can still be allocated
+     */
+    public long getFreeNative() {
+        return Math.max(getMaxNative() - getUsedNative(), 0);
+    }
+
+    /**
+     * @return the amount of native memory held by the free blocks of the pooled allocator,
+     * which can be reclaimed by compaction
+     */
+    public long getFragmentedNative() {
+        return pooledAllocator != null ? pooledAllocator.getFreePooledMemory() : 0;
+    }
+
+    /**
+     * @return the amount of native memory returned to the operating system by compaction
+     */
+    public long getReclaimedNative() {
+        return pooledAllocator != null ? pooledAllocator.getReclaimedMemory() : 0;
+    }
+
+    /**
+     * Starts evacuating the pages of the pooled allocator which are
+     * mostly free, see {@link PooledMemoryAllocator#startCompaction(double)}.
+     *
+     * @return the number of pages being evacuated
+     */
+    public int startCompaction(double minFreeRatio) {
+        return pooledAllocator != null ? pooledAllocator.startCompaction(minFreeRatio) : 0;
+    }
+
+    /**
+     * Stops evacuating the pages which still hold blocks.
+     */
+    public void finishCompaction() {
+        if (pooledAllocator != null) {
+            pooledAllocator.finishCompaction();
+        }
+    }
+
+    /**
+     * @return {@code true} if there are pages being evacuated
+     */
+    public boolean isCompacting() {
+        return pooledAllocator != null && pooledAllocator.isCompacting();
+    }
+
+    /**
+     * @return {@code true} if the given block should be moved to a newly allocated block
+     */
+    public boolean isEvacuating(long address) {
+        return pooledAllocator != null && pooledAllocator.isEvacuating(address);
+    }
+
+    @Override
+    public void dispose() {
+        if (pooledAllocator != null) {
+            pooledAllocator.dispose();
+        }
+        // frees the blocks which weren't freed by their owners
+        systemAllocator.dispose();
+    }
+}
@@ -0,0 +1,503 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.internal.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.internal.util.QuickMath.log2;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Slab {@link MemoryAllocator} which serves blocks up to the page size from
+ * power-of-two size classes.
+ * <p>
+ * Pages are taken from the underlying {@link MemoryAllocator} and carved into
+ * equally sized blocks of a single size class. Freed blocks are kept on an
+ * intrusive per-class free list (the first 8 bytes of a free block hold the
+ * address of the next free block) and reused by subsequent allocations of the
+ * same class. Pages are returned to the underlying allocator only on
+ * {@link #dispose()}. Requests larger than the page size bypass the pool.
+ * <p>
+ * Every size class is guarded by its own lock, so threads which allocate
+ * blocks of different sizes do not contend with each other.
+ * <p>
+ * Since a page can only be returned when all of its blocks are free, pages
+ * which are mostly free can be evacuated: {@link #startCompaction(double)}
+ * takes the free blocks of such pages off the free lists, so no new blocks
+ * are handed out from them, and the owners of the remaining blocks move them
+ * to other pages, see {@link #isEvacuating(long)}. A page is returned to the
+ * underlying allocator as soon as its last block is freed.
+ * <p>
+ * Once the allocator is disposed, the owners may still hold and free their
+ * blocks, which are no longer backed by memory: {@link #free(long, long)}
+ * does nothing and {@link #allocate(long)} fails with an
+ * {@link IllegalStateException}.
+ */
+public final class PooledMemoryAllocator implements MemoryAllocator {
+
+    private static final int INITIAL_PAGE_TABLE_SIZE = 16;
+    private static final Evacuation[] NO_EVACUATIONS = new Evacuation[0];
+
+    private final MemoryAllocator pageAllocator;
+    private final int minBlockSize;
+    private final int pageSize;
+    private final int minBlockSizeShift;
+    private final SizeClass[] sizeClasses;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final AtomicLong externalMemory = new AtomicLong();
+    private final AtomicLong reclaimedMemory = new AtomicLong();
+
+    // sorted by page address, replaced under the lock of this allocator
+    private volatile Evacuation[] evacuations = NO_EVACUATIONS;
+    // read under the lock of the size classes, so no block is linked into a disposed page
+    private volatile boolean disposed;
+
+    private long[] pages = new long[INITIAL_PAGE_TABLE_SIZE];
+    private int pageCount;
+
+    /**
+     * @param pageAllocator allocator to take pages and blocks larger than a page from
+     * @param minBlockSize  size of the smallest block, a power of two not less than 8
+     * @param pageSize      size of the pages, a power of two not less than {@code minBlockSize}
+     */
+    public PooledMemoryAllocator(MemoryAllocator pageAllocator, int minBlockSize, int pageSize) {
+        checkTrue(isPowerOfTwo(minBlockSize) && minBlockSize >= LONG_SIZE_IN_BYTES,
+                "Minimum block size must be a power of two and at least " + LONG_SIZE_IN_BYTES + ", found: "
+                        + minBlockSize);
+        checkTrue(isPowerOfTwo(pageSize) && pageSize >= minBlockSize,
+                "Page size must be a power of two and at least the minimum block size, found: " + pageSize);
+        this.pageAllocator = pageAllocator;
+        this.minBlockSize = minBlockSize;
+        this.pageSize = pageSize;
+        this.minBlockSizeShift = log2(minBlockSize);
+        this.sizeClasses = new SizeClass[log2(pageSize) - minBlockSizeShift + 1];
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass(minBlockSize << i);
+        }
+    }
+
+    @Override
+    public long allocate(long size) {
+        checkTrue(size > 0, "Size must be positive, found: " + size);
+        checkNotDisposed();
+        if (size > pageSize) {
+            long address = pageAllocator.allocate(size);
+            externalMemory.addAndGet(size);
+            usedMemory.addAndGet(size);
+            return address;
+        }
+        SizeClass sizeClass = sizeClassOf(size);
+        long address = sizeClass.acquire();
+        usedMemory.addAndGet(sizeClass.blockSize);
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        if (currentSize <= pageSize && newSize <= pageSize && sizeClassOf(currentSize) == sizeClassOf(newSize)) {
+            if (newSize > currentSize) {
+                MEM.setMemory(address + currentSize, newSize - currentSize, (byte) 0);
+            }
+            return address;
+        }
+        long newAddress = allocate(newSize);
+        MEM.copyMemory(address, newAddress, Math.min(currentSize, newSize));
+        free(address, currentSize);
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        if (address == NULL_ADDRESS || disposed) {
+            return;
+        }
+        if (size > pageSize) {
+            pageAllocator.free(address, size);
+            externalMemory.addAndGet(-size);
+            usedMemory.addAndGet(-size);
+            return;
+        }
+        SizeClass sizeClass = sizeClassOf(size);
+        sizeClass.release(address);
+        usedMemory.addAndGet(-sizeClass.blockSize);
+    }
+
+    /**
+     * Starts evacuating the pages whose share of free blocks is at least
+     * {@code minFreeRatio}. Free pages are returned right away. The other
+     * pages are evacuated only as long as their live blocks fit into the
+     * free blocks left in the other pages of their size class, so moving
+     * them takes no new pages.
+     *
+     * @return the number of pages being evacuated
+     */
+    public int startCompaction(double minFreeRatio) {
+        long[] sortedPages;
+        synchronized (this) {
+            sortedPages = Arrays.copyOf(pages, pageCount);
+        }
+        Arrays.sort(sortedPages);
+        int evacuating = 0;
+        for (SizeClass sizeClass : sizeClasses) {
+            evacuating += sizeClass.startEvacuation(sortedPages, minFreeRatio);
+        }
+        return evacuating;
+    }
+
+    /**
+     * Puts the free blocks of the pages which are still being evacuated
+     * back on the free lists, so they are handed out again.
+     */
+    public void finishCompaction() {
+        for (SizeClass sizeClass : sizeClasses) {
+            sizeClass.finishEvacuation();
+        }
+    }
+
+    /**
+     * @return {@code true} if the given block lies in a page which is
+     * being evacuated, so it should be moved to a newly allocated block
+     */
+    public boolean isEvacuating(long address) {
+        return findEvacuation(evacuations, address) != null;
+    }
+
+    /**
+     * @return {@code true} if there are pages being evacuated
+     */
+    public boolean isCompacting() {
+        return evacuations.length > 0;
+    }
+
+    /**
+     * @return the total size of the pages returned to the
+     * underlying allocator by compaction
+     */
+    public long getReclaimedMemory() {
+        return reclaimedMemory.get();
+    }
+
+    /**
+     * @return the total size of the free blocks in the pages
+     */
+    public long getFreePooledMemory() {
+        long pooledUsed = usedMemory.get() - externalMemory.get();
+        synchronized (this) {
+            return Math.max((long) pageCount * pageSize - pooledUsed, 0);
+        }
+    }
+
+    /**
+     * @return the size of the block which would be handed out for a request of {@code size} bytes
+     */
+    public long blockSizeOf(long size) {
+        return size > pageSize ? size : sizeClassOf(size).blockSize;
+    }
+
+    /**
+     * @return the total size of the blocks which are currently allocated, including
+     * the internal fragmentation of the size classes
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * @return the total size of the memory taken from the underlying allocator
+     */
+    public long getCommittedMemory() {
+        synchronized (this) {
+            return (long) pageCount * pageSize + externalMemory.get();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        // waits for the ongoing allocations and releases, the later ones see the flag
+        for (SizeClass sizeClass : sizeClasses) {
+            sizeClass.reset();
+        }
+        synchronized (this) {
+            evacuations = NO_EVACUATIONS;
+            for (int i = 0; i < pageCount; i++) {
+                pageAllocator.free(pages[i], pageSize);
+            }
+            pageCount = 0;
+            pages = new long[INITIAL_PAGE_TABLE_SIZE];
+        }
+        // blocks larger than a page can no longer be freed here, they are freed by the disposal of the page allocator
+        externalMemory.set(0);
+        usedMemory.set(0);
+    }
+
+    private void checkNotDisposed() {
+        if (disposed) {
+            throw new IllegalStateException("Memory allocator is disposed");
+        }
+    }
+
+    private SizeClass sizeClassOf(long size) {
+        int blockSize = (int) Math.max(nextPowerOfTwo(size), minBlockSize);
+        return sizeClasses[log2(blockSize) - minBlockSizeShift];
+    }
+
+    /**
+     * Removes the given evacuations from the published ones.
+     * Called with the lock of their size class.
+     */
+    private void removeEvacuations(List<Evacuation> removed) {
+        synchronized (this) {
+            List<Evacuation> remaining = new ArrayList<>(Arrays.asList(evacuations));
+            remaining.removeAll(removed);
+            evacuations = remaining.toArray(NO_EVACUATIONS);
+        }
+    }
+
+    private void addEvacuations(List<Evacuation> added) {
+        synchronized (this) {
+            List<Evacuation> all = new ArrayList<>(Arrays.asList(evacuations));
+            all.addAll(added);
+            all.sort(Comparator.comparingLong(evacuation -> evacuation.page));
+            evacuations = all.toArray(NO_EVACUATIONS);
+        }
+    }
+
+    private void releasePage(long page) {
+        synchronized (this) {
+            for (int i = 0; i < pageCount; i++) {
+                if (pages[i] == page) {
+                    pages[i] = pages[--pageCount];
+                    break;
+                }
+            }
+        }
+        pageAllocator.free(page, pageSize);
+        reclaimedMemory.addAndGet(pageSize);
+    }
+
+    private Evacuation findEvacuation(Evacuation[] evacuations, long address) {
+        int low = 0;
+        int high = evacuations.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Evacuation evacuation = evacuations[mid];
+            if (address < evacuation.page) {
+                high = mid - 1;
+            } else if (address >= evacuation.page + pageSize) {
+                low = mid + 1;
+            } else {
+                return evacuation;
+            }
+        }
+        return null;
+    }
+
+    private int pageIndexOf(long[] sortedPages, long address) {
+        int index = Arrays.binarySearch(sortedPages, address);
+        if (index >= 0) {
+            return index;
+        }
+        index = -index - 2;
+        return index >= 0 && address < sortedPages[index] + pageSize ? index : -1;
+    }
+
+    private long newPage() {
+        long page = pageAllocator.allocate(pageSize);
+        synchronized (this) {
+            if (pageCount == pages.length) {
+                pages = Arrays.copyOf(pages, pageCount * 2);
+            }
+            pages[pageCount++] = page;
+        }
+        return page;
+    }
+
+    private final class SizeClass {
+
+        private final int blockSize;
+        private long freeListHead = NULL_ADDRESS;
+
+        SizeClass(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        synchronized long acquire() {
+            checkNotDisposed();
+            long address = freeListHead;
+            if (address == NULL_ADDRESS) {
+                return carvePage();
+            }
+            freeListHead = MEM.getLong(address);
+            MEM.setMemory(address, blockSize, (byte) 0);
+            return address;
+        }
+
+        synchronized void release(long address) {
+            if (disposed) {
+                return;
+            }
+            Evacuation evacuation = findEvacuation(evacuations, address);
+            if (evacuation != null) {
+                MEM.putLong(address, evacuation.freeListHead);
+                evacuation.freeListHead = address;
+                if (--evacuation.liveBlocks == 0) {
+                    removeEvacuations(List.of(evacuation));
+                    releasePage(evacuation.page);
+                }
+                return;
+            }
+            MEM.putLong(address, freeListHead);
+            freeListHead = address;
+        }
+
+        synchronized void reset() {
+            freeListHead = NULL_ADDRESS;
+        }
+
+        /**
+         * Counts the free blocks of the pages on the free list, picks the pages
+         * to evacuate and moves their free blocks to their evacuation.
+         */
+        synchronized int startEvacuation(long[] sortedPages, double minFreeRatio) {
+            int blocksPerPage = pageSize / blockSize;
+            int[] freeBlocks = new int[sortedPages.length];
+            long totalFreeBlocks = 0;
+            for (long block = freeListHead; block != NULL_ADDRESS; block = MEM.getLong(block)) {
+                int pageIndex = pageIndexOf(sortedPages, block);
+                if (pageIndex >= 0) {
+                    freeBlocks[pageIndex]++;
+                }
+                totalFreeBlocks++;
+            }
+
+            int minFreeBlocks = Math.max(1, (int) Math.ceil(minFreeRatio * blocksPerPage));
+            List<Integer> candidates = new ArrayList<>();
+            for (int i = 0; i < sortedPages.length; i++) {
+                if (freeBlocks[i] >= minFreeBlocks) {
+                    candidates.add(i);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return 0;
+            }
+            // the emptiest pages first, as long as their live blocks fit into the free blocks of the others
+            candidates.sort((i1, i2) -> Integer.compare(freeBlocks[i2], freeBlocks[i1]));
+            Evacuation[] evacuationOfPage = new Evacuation[sortedPages.length];
+            List<Evacuation> started = new ArrayList<>();
+            long availableBlocks = totalFreeBlocks;
+            for (int pageIndex : candidates) {
+                int liveBlocks = blocksPerPage - freeBlocks[pageIndex];
+                if (liveBlocks > availableBlocks - freeBlocks[pageIndex]) {
+                    continue;
+                }
+                availableBlocks -= freeBlocks[pageIndex] + liveBlocks;
+                Evacuation evacuation = new Evacuation(this, sortedPages[pageIndex], liveBlocks);
+                evacuationOfPage[pageIndex] = evacuation;
+                started.add(evacuation);
+            }
+
+            long block = freeListHead;
+            freeListHead = NULL_ADDRESS;
+            while (block != NULL_ADDRESS) {
+                long next = MEM.getLong(block);
+                int pageIndex = pageIndexOf(sortedPages, block);
+                Evacuation evacuation = pageIndex >= 0 ? evacuationOfPage[pageIndex] : null;
+                if (evacuation != null) {
+                    MEM.putLong(block, evacuation.freeListHead);
+                    evacuation.freeListHead = block;
+                } else {
+                    MEM.putLong(block, freeListHead);
+                    freeListHead = block;
+                }
+                block = next;
+            }
+
+            List<Evacuation> evacuating = new ArrayList<>();
+            for (Evacuation evacuation : started) {
+                if (evacuation.liveBlocks == 0) {
+                    releasePage(evacuation.page);
+                } else {
+                    evacuating.add(evacuation);
+                }
+            }
+            addEvacuations(evacuating);
+            return evacuating.size();
+        }
+
+        synchronized void finishEvacuation() {
+            List<Evacuation> finished = new ArrayList<>();
+            for (Evacuation evacuation : evacuations) {
+                if (evacuation.sizeClass == this) {
+                    finished.add(evacuation);
+                }
+            }
+            for (Evacuation evacuation : finished) {
+                long block = evacuation.freeListHead;
+                while (block != NULL_ADDRESS) {
+                    long next = MEM.getLong(block);
+                    MEM.putLong(block, freeListHead);
+                    freeListHead = block;
+                    block = next;
+                }
+            }
+            removeEvacuations(finished);
+        }
+
+        /**
+         * Takes a new (zeroed) page, puts all of its blocks except the first one
+         * on the free list and returns the first one.
+         */
+        private long carvePage() {
+            long page = newPage();
+            for (long block = page + pageSize - blockSize; block > page; block -= blockSize) {
+                MEM.putLong(block, freeListHead);
+                freeListHead = block;
+            }
+            return page;
+        }
+    }
+
+    /**
+     * A page being evacuated: its free blocks are kept apart from the free
+     * list of its size class and it is returned when its last block is freed.
+     * Guarded by the lock of its size class.
+     */
+    private static final class Evacuation {
+
+        private final SizeClass sizeClass;
+        private final long page;
+        private int liveBlocks;
+        private long freeListHead = NULL_ADDRESS;
+
+        Evacuation(SizeClass sizeClass, long page, int liveBlocks) {
+            this.sizeClass = sizeClass;
+            this.page = page;
+            this.liveBlocks = liveBlocks;
+        }
+    }
+}
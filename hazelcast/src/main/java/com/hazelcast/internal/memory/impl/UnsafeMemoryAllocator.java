@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.util.collection.Long2LongHashMap;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.lang.String.format;
+
+/**
+ * {@link MemoryAllocator} which allocates every block directly from the operating
+ * system through {@code Unsafe.allocateMemory()}. The total size of the live blocks
+ * is bounded by the configured capacity; a request which would exceed it fails with
+ * a {@link NativeOutOfMemoryError}.
+ * <p>
+ * This allocator is thread-safe. It is also used as the page source of the
+ * {@link PooledMemoryAllocator}.
+ * <p>
+ * The live blocks are tracked in a primitive map guarded by its monitor, so
+ * the blocks which weren't freed by their owners are returned to the
+ * operating system on {@link #dispose()}. The pooled allocator takes whole
+ * pages from this allocator, so the map holds few entries in that case.
+ * After the disposal {@link #free(long, long)} does nothing and the
+ * allocation methods fail with an {@link IllegalStateException}.
+ */
+public final class UnsafeMemoryAllocator implements MemoryAllocator {
+
+    private final long capacity;
+    private final AtomicLong used = new AtomicLong();
+    // address -> size of the live blocks, guarded by itself
+    private final Long2LongHashMap blocks = new Long2LongHashMap(0L);
+    // guarded by the blocks
+    private boolean disposed;
+
+    public UnsafeMemoryAllocator(long capacity) {
+        checkPositive("capacity", capacity);
+        if (UNSAFE == null || MEM == null) {
+            throw new UnsupportedOperationException("Native memory allocation requires sun.misc.Unsafe");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public long allocate(long size) {
+        checkPositive("size", size);
+        reserve(size);
+        long address;
+        try {
+            address = UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            used.addAndGet(-size);
+            throw new NativeOutOfMemoryError(format("Cannot allocate %d bytes of native memory", size), e);
+        }
+        MEM.setMemory(address, size, (byte) 0);
+        synchronized (blocks) {
+            if (disposed) {
+                UNSAFE.freeMemory(address);
+                used.addAndGet(-size);
+                throw new IllegalStateException("Memory allocator is disposed");
+            }
+            blocks.put(address, size);
+        }
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        checkPositive("newSize", newSize);
+        long diff = newSize - currentSize;
+        // under the lock, so the block cannot be freed by dispose() meanwhile
+        synchronized (blocks) {
+            if (disposed) {
+                throw new IllegalStateException("Memory allocator is disposed");
+            }
+            if (diff > 0) {
+                reserve(diff);
+            }
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                if (diff > 0) {
+                    used.addAndGet(-diff);
+                }
+                throw new NativeOutOfMemoryError(format("Cannot reallocate %d bytes of native memory to %d bytes",
+                        currentSize, newSize), e);
+            }
+            if (diff > 0) {
+                MEM.setMemory(newAddress + currentSize, diff, (byte) 0);
+            } else {
+                used.addAndGet(diff);
+            }
+            blocks.remove(address);
+            blocks.put(newAddress, newSize);
+            return newAddress;
+        }
+    }
+
+    @Override
+    public void free(long address, long size) {
+        synchronized (blocks) {
+            if (blocks.remove(address) == 0L) {
+                // already freed by dispose()
+                return;
+            }
+        }
+        UNSAFE.freeMemory(address);
+        used.addAndGet(-size);
+    }
+
+    /**
+     * @return the maximum number of bytes this allocator hands out
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the total size of the blocks which are currently allocated
+     */
+    public long getUsedMemory() {
+        return used.get();
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (blocks) {
+            disposed = true;
+            Long2LongHashMap.LongLongCursor cursor = blocks.cursor();
+            while (cursor.advance()) {
+                UNSAFE.freeMemory(cursor.key());
+                used.addAndGet(-cursor.value());
+            }
+            blocks.clear();
+        }
+    }
+
+    private void reserve(long size) {
+        for (;;) {
+            long current = used.get();
+            long next = current + size;
+            if (next > capacity) {
+                throw new NativeOutOfMemoryError(format("Not enough contiguous memory available! Cannot allocate %d bytes,"
+                        + " used: %d bytes, capacity: %d bytes", size, current, capacity));
+            }
+            if (used.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
@@ -198,6 +198,7 @@ public final class MetricDescriptorConstants {
     public static final String MAP_PREFIX = "map";
     public static final String MAP_PREFIX_INDEX = "map.index";
     public static final String MAP_PREFIX_NEARCACHE = "map.nearcache";
+    public static final String MAP_PREFIX_QUERY = "map.query";
     public static final String MAP_PREFIX_ENTRY_PROCESSOR_OFFLOADABLE_EXECUTOR = "map.entry.processor.offloadable.executor";
     public static final String MAP_DISCRIMINATOR_NAME = "name";
     public static final String MAP_TAG_PARTITION = "partition";
@@ -230,6 +231,13 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_INDEXED_QUERY_COUNT = "indexedQueryCount";
     public static final String MAP_METRIC_INDEXES_SKIPPED_QUERY_COUNT = "indexesSkippedQueryCount";
     public static final String MAP_METRIC_NO_MATCHING_INDEX_QUERY_COUNT = "noMatchingIndexQueryCount";
+    public static final String MAP_METRIC_QUERY_PARTITION_SCAN_COUNT = "partitionScanCount";
+    public static final String MAP_METRIC_QUERY_TOTAL_PARTITION_SCAN_CPU_TIME = "totalPartitionScanCpuTime";
+    public static final String MAP_METRIC_QUERY_MAX_PARTITION_SCAN_CPU_TIME = "maxPartitionScanCpuTime";
+    public static final String MAP_METRIC_COMPACTED_ENTRY_COUNT = "compactedEntryCount";
+    public static final String MAP_METRIC_COMPACTION_RECLAIMED_BYTES = "compactionReclaimedBytes";
+    public static final String MAP_METRIC_UNCOMPRESSED_VALUE_BYTES = "uncompressedValueBytes";
+    public static final String MAP_METRIC_COMPRESSED_VALUE_BYTES = "compressedValueBytes";
     public static final String MAP_METRIC_TOTAL_PUT_LATENCY = "totalPutLatency";
     public static final String MAP_METRIC_TOTAL_SET_LATENCY = "totalSetLatency";
     public static final String MAP_METRIC_TOTAL_GET_LATENCY = "totalGetLatency";
@@ -281,6 +289,8 @@ public final class MetricDescriptorConstants {
     public static final String MEMORY_METRIC_FREE_NATIVE = "freeNative";
     public static final String MEMORY_METRIC_MAX_METADATA = "maxMetadata";
     public static final String MEMORY_METRIC_USED_METADATA = "usedMetadata";
+    public static final String MEMORY_METRIC_ACCOUNTED_HEAP = "accountedHeap";
+    public static final String MEMORY_METRIC_HEAP_QUOTA = "heapQuota";
     // ===[/MEMORY]=====================================================
 
     // ===[MEMORY MANAGER]==============================================
@@ -81,6 +81,10 @@ public class GlobalPerIndexStats implements PerIndexStats {
             GlobalPerIndexStats.class, "partitionUpdatesFinished");
     private static final AtomicLongFieldUpdater<GlobalPerIndexStats> INDEX_NOT_READY_QUERY_COUNT = newUpdater(
             GlobalPerIndexStats.class, "indexNotReadyQueryCount");
+    private static final AtomicLongFieldUpdater<GlobalPerIndexStats> OPTIMIZER_CHOSEN_COUNT = newUpdater(
+            GlobalPerIndexStats.class, "optimizerChosenCount");
+    private static final AtomicLongFieldUpdater<GlobalPerIndexStats> OPTIMIZER_SKIPPED_COUNT = newUpdater(
+            GlobalPerIndexStats.class, "optimizerSkippedCount");
 
     private final boolean ordered;
     private final boolean usesCachedQueryableEntries;
@@ -102,6 +106,8 @@ public class GlobalPerIndexStats implements PerIndexStats {
     private volatile long partitionUpdatesStarted;
     private volatile long partitionUpdatesFinished;
     private volatile long indexNotReadyQueryCount;
+    private volatile long optimizerChosenCount;
+    private volatile long optimizerSkippedCount;
 
     /**
      * Constructs a new instance of global index stats.
@@ -295,6 +301,26 @@ public class GlobalPerIndexStats implements PerIndexStats {
         INDEX_NOT_READY_QUERY_COUNT.incrementAndGet(this);
     }
 
+    @Override
+    public long getOptimizerChosenCount() {
+        return optimizerChosenCount;
+    }
+
+    @Override
+    public void incrementOptimizerChosenCount() {
+        OPTIMIZER_CHOSEN_COUNT.incrementAndGet(this);
+    }
+
+    @Override
+    public long getOptimizerSkippedCount() {
+        return optimizerSkippedCount;
+    }
+
+    @Override
+    public void incrementOptimizerSkippedCount() {
+        OPTIMIZER_SKIPPED_COUNT.incrementAndGet(this);
+    }
+
     @Override
     public long getPartitionsIndexed() {
         return partitionsIndexed;
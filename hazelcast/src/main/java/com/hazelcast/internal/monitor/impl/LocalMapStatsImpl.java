@@ -33,6 +33,9 @@ import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_BACKUP_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_BACKUP_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_BACKUP_ENTRY_MEMORY_COST;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPACTED_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPACTION_RECLAIMED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_COMPRESSED_VALUE_BYTES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_CREATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_DIRTY_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_ENTRYSET_COUNT;
@@ -65,6 +68,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_PUT_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_REMOVE_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_SET_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_UNCOMPRESSED_VALUE_BYTES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_VALUES_COUNT;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
@@ -191,6 +195,14 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long indexesSkippedQueryCount;
     @Probe(name = MAP_METRIC_NO_MATCHING_INDEX_QUERY_COUNT)
     private volatile long noMatchingIndexQueryCount;
+    @Probe(name = MAP_METRIC_COMPACTED_ENTRY_COUNT)
+    private volatile long compactedEntryCount;
+    @Probe(name = MAP_METRIC_COMPACTION_RECLAIMED_BYTES, unit = BYTES)
+    private volatile long compactionReclaimedBytes;
+    @Probe(name = MAP_METRIC_UNCOMPRESSED_VALUE_BYTES, unit = BYTES)
+    private volatile long uncompressedValueBytes;
+    @Probe(name = MAP_METRIC_COMPRESSED_VALUE_BYTES, unit = BYTES)
+    private volatile long compressedValueBytes;
 
     private final boolean ignoreMemoryCosts;
 
@@ -479,6 +491,46 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.noMatchingIndexQueryCount = noMatchingIndexQueryCount;
     }
 
+    @Override
+    public long getCompactedEntryCount() {
+        return compactedEntryCount;
+    }
+
+    public void setCompactedEntryCount(long compactedEntryCount) {
+        this.compactedEntryCount = compactedEntryCount;
+    }
+
+    @Override
+    public long getCompactionReclaimedBytes() {
+        return compactionReclaimedBytes;
+    }
+
+    public void setCompactionReclaimedBytes(long compactionReclaimedBytes) {
+        this.compactionReclaimedBytes = compactionReclaimedBytes;
+    }
+
+    public long getUncompressedValueBytes() {
+        return uncompressedValueBytes;
+    }
+
+    public void setUncompressedValueBytes(long uncompressedValueBytes) {
+        this.uncompressedValueBytes = uncompressedValueBytes;
+    }
+
+    public long getCompressedValueBytes() {
+        return compressedValueBytes;
+    }
+
+    public void setCompressedValueBytes(long compressedValueBytes) {
+        this.compressedValueBytes = compressedValueBytes;
+    }
+
+    @Override
+    public double getValueCompressionRatio() {
+        long compressed = compressedValueBytes;
+        return compressed > 0 ? (double) uncompressedValueBytes / compressed : 1.0;
+    }
+
     /**
      * Sets the indexed query count of this stats to the given indexed query
      * count value.
@@ -631,6 +683,10 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", replicationStats=" + replicationStats
                 + ", indexesSkippedQueryCount=" + indexesSkippedQueryCount
                 + ", noMatchingIndexQueryCount=" + noMatchingIndexQueryCount
+                + ", compactedEntryCount=" + compactedEntryCount
+                + ", compactionReclaimedBytes=" + compactionReclaimedBytes
+                + ", uncompressedValueBytes=" + uncompressedValueBytes
+                + ", compressedValueBytes=" + compressedValueBytes
                 + '}';
     }
 }
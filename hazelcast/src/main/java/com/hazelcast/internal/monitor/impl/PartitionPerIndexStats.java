@@ -50,6 +50,10 @@ public class PartitionPerIndexStats implements PerIndexStats {
     private static final VarHandle MEMORY_COST = ReflectionUtil.findVarHandle("memoryCost", long.class);
     private static final AtomicLongFieldUpdater<PartitionPerIndexStats> INDEX_NOT_READY_QUERY_COUNT =
             newUpdater(PartitionPerIndexStats.class, "indexNotReadyQueryCount");
+    private static final AtomicLongFieldUpdater<PartitionPerIndexStats> OPTIMIZER_CHOSEN_COUNT =
+            newUpdater(PartitionPerIndexStats.class, "optimizerChosenCount");
+    private static final AtomicLongFieldUpdater<PartitionPerIndexStats> OPTIMIZER_SKIPPED_COUNT =
+            newUpdater(PartitionPerIndexStats.class, "optimizerSkippedCount");
 
     // Per-operation stats may be safely reused/shared for operations on
     // partitioned indexes since we know for sure only a single thread may
@@ -72,6 +76,8 @@ public class PartitionPerIndexStats implements PerIndexStats {
     private volatile long memoryCost;
     private volatile long partitionsIndexed;
     private volatile long indexNotReadyQueryCount;
+    private volatile long optimizerChosenCount;
+    private volatile long optimizerSkippedCount;
 
     private boolean hasQueries;
 
@@ -293,6 +299,26 @@ public class PartitionPerIndexStats implements PerIndexStats {
         INDEX_NOT_READY_QUERY_COUNT.incrementAndGet(this);
     }
 
+    @Override
+    public long getOptimizerChosenCount() {
+        return optimizerChosenCount;
+    }
+
+    @Override
+    public void incrementOptimizerChosenCount() {
+        OPTIMIZER_CHOSEN_COUNT.incrementAndGet(this);
+    }
+
+    @Override
+    public long getOptimizerSkippedCount() {
+        return optimizerSkippedCount;
+    }
+
+    @Override
+    public void incrementOptimizerSkippedCount() {
+        OPTIMIZER_SKIPPED_COUNT.incrementAndGet(this);
+    }
+
     private class MemoryAllocatorWithStats implements MemoryAllocator {
 
         private final MemoryAllocator delegate;
@@ -179,6 +179,26 @@ public interface PerIndexStats {
         @Override
         public void incrementIndexNotReadyQueryCount() {
         }
+
+        @Override
+        public long getOptimizerChosenCount() {
+            return 0;
+        }
+
+        @Override
+        public void incrementOptimizerChosenCount() {
+            // do nothing
+        }
+
+        @Override
+        public long getOptimizerSkippedCount() {
+            return 0;
+        }
+
+        @Override
+        public void incrementOptimizerSkippedCount() {
+            // do nothing
+        }
     };
 
     /**
@@ -408,4 +428,29 @@ public interface PerIndexStats {
      * due to active partition changes.
      */
     void incrementIndexNotReadyQueryCount();
+
+    /**
+     * Returns the number of query plans in which the cost-based query optimizer
+     * chose to filter with the associated index.
+     */
+    long getOptimizerChosenCount();
+
+    /**
+     * Increments the number of query plans in which the cost-based query
+     * optimizer chose to filter with the associated index.
+     */
+    void incrementOptimizerChosenCount();
+
+    /**
+     * Returns the number of query plans in which the cost-based query optimizer
+     * skipped the associated index, as filtering with it was estimated to be
+     * more expensive than evaluating its predicate on the candidate entries.
+     */
+    long getOptimizerSkippedCount();
+
+    /**
+     * Increments the number of query plans in which the cost-based query
+     * optimizer skipped the associated index.
+     */
+    void incrementOptimizerSkippedCount();
 }
@@ -51,6 +51,18 @@ public interface NearCacheRecordStore<K, V> extends InitializingObject {
      */
     long tryReserveForUpdate(K key, Data keyData, NearCache.UpdateSemantic updateSemantic);
 
+    /**
+     * Decides whether the value of the given {@code key} should be cached,
+     * as the admission policy of the configured eviction policy. Called
+     * before evicting an entry to make room for the new one.
+     *
+     * @param key the key of the value to be cached
+     * @return {@code true} if the value should be cached, otherwise {@code false}
+     */
+    default boolean admit(K key) {
+        return true;
+    }
+
     /**
      * @see NearCache#tryPublishReserved
      */
@@ -34,6 +34,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.config.NearCacheConfig.DEFAULT_MEMORY_FORMAT;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
 import static com.hazelcast.internal.util.Preconditions.checkInstanceOf;
 import static com.hazelcast.internal.util.Preconditions.checkNotInstanceOf;
 
@@ -200,6 +201,10 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
 
     @Override
     public long tryReserveForUpdate(K key, Data keyData, UpdateSemantic updateSemantic) {
+        if (!nearCacheRecordStore.admit(key)) {
+            return NOT_RESERVED;
+        }
+
         nearCacheRecordStore.doEviction(false);
 
         return nearCacheRecordStore.tryReserveForUpdate(key, keyData, updateSemantic);
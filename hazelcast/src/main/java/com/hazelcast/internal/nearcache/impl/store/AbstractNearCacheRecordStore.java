@@ -20,8 +20,10 @@ import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
 import com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy;
 import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
@@ -79,6 +81,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     protected EvictionChecker evictionChecker;
     protected SamplingEvictionStrategy<KS, R, NCRM> evictionStrategy;
     protected EvictionPolicyEvaluator<KS, R> evictionPolicyEvaluator;
+    protected TinyLFUEvictionPolicyComparator tinyLFUComparator;
 
     protected volatile long reservationId;
     protected volatile StaleReadDetector staleReadDetector = ALWAYS_FRESH;
@@ -110,6 +113,9 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (!evictionDisabled) {
             this.evictionStrategy = SamplingEvictionStrategy.INSTANCE;
             this.evictionPolicyEvaluator = getEvictionPolicyEvaluator(evictionConfig, classLoader);
+            if (evictionPolicyEvaluator.getEvictionPolicyComparator() instanceof TinyLFUEvictionPolicyComparator comparator) {
+                this.tinyLFUComparator = comparator;
+            }
         }
     }
 
@@ -228,6 +234,10 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     public V get(K key) {
         checkAvailable();
 
+        if (tinyLFUComparator != null) {
+            tinyLFUComparator.recordAccess(key);
+        }
+
         R record = null;
         V value = null;
         try {
@@ -334,11 +344,32 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
             return false;
         }
 
+        if (tinyLFUComparator != null) {
+            tinyLFUComparator.ensureCapacity(records.size());
+        }
         EvictionChecker evictionChecker = withoutMaxSizeCheck ? null : this.evictionChecker;
         evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this);
         return true;
     }
 
+    /**
+     * With {@link EvictionPolicy#TINY_LFU} eviction policy, a new entry is
+     * only admitted to a full Near Cache if it is accessed more frequently
+     * than the entry which would be evicted for it.
+     */
+    @Override
+    public boolean admit(K key) {
+        checkAvailable();
+
+        if (tinyLFUComparator == null || !evictionChecker.isEvictionRequired() || containsRecordKey(key)) {
+            return true;
+        }
+
+        tinyLFUComparator.ensureCapacity(records.size());
+        EvictionCandidate<KS, R> victim = evictionStrategy.selectEvictionCandidate(records, evictionPolicyEvaluator);
+        return victim == null || tinyLFUComparator.admit(key, victim.getAccessor());
+    }
+
     @Override
     public long tryReserveForUpdate(K key, Data keyData, NearCache.UpdateSemantic updateSemantic) {
         checkAvailable();
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.internal.namespace.NamespaceUtil;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the entries of the pages of a {@link PagingPredicateImpl paging
+ * predicate}, from its nearest anchor up to its current page, without
+ * collecting all the entries matching the predicate.
+ * <p>
+ * Only the entries following the nearest anchor are accepted and at most
+ * {@code pageSize * (page - nearestAnchorPage)} of them are kept, in a
+ * bounded max-heap ordered by the paging predicate: once the heap is full,
+ * an entry is accepted only if it precedes the last entry in the heap,
+ * which is then discarded. So the memory used by a paging query does not
+ * depend on the number of the matching entries, only on the distance
+ * between the requested page and its nearest anchor.
+ * <p>
+ * Not thread-safe.
+ */
+public final class PagingTopK {
+
+    private static final int INITIAL_CAPACITY = 16;
+    // some VMs reserve header words in an array
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final PagingPredicateImpl pagingPredicate;
+    private final Map.Entry<Integer, Map.Entry> nearestAnchorEntry;
+    private final Comparator<Map.Entry> comparator;
+    private final int limit;
+
+    private QueryableEntry[] heap;
+    private int size;
+
+    public PagingTopK(PagingPredicateImpl pagingPredicate, Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
+        this.pagingPredicate = pagingPredicate;
+        this.nearestAnchorEntry = nearestAnchorEntry;
+        this.comparator = SortingUtil.newComparator(pagingPredicate.getComparator(), pagingPredicate.getIterationType());
+        long limit = pagingPredicate.getPageSize() * ((long) pagingPredicate.getPage() - nearestAnchorEntry.getKey());
+        this.limit = (int) Math.min(limit, MAX_ARRAY_SIZE);
+        this.heap = new QueryableEntry[Math.min(this.limit, INITIAL_CAPACITY)];
+    }
+
+    /**
+     * @return the maximum number of entries kept
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of entries kept
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the given entry would be kept by {@link #add(QueryableEntry)}:
+     * if it follows the nearest anchor and there is room for it or it precedes
+     * the last entry kept. Allows callers to skip copying the entries which
+     * would be discarded right away.
+     *
+     * @param entry the entry matching the predicate
+     * @return {@code true} if the entry would be kept, {@code false} otherwise
+     */
+    public boolean accepts(QueryableEntry entry) {
+        if (limit <= 0 || !SortingUtil.compareAnchor(pagingPredicate, entry, nearestAnchorEntry)) {
+            return false;
+        }
+        return size < limit || compare(entry, heap[0]) < 0;
+    }
+
+    /**
+     * Adds the given entry, which must be {@link #accepts(QueryableEntry)
+     * accepted}, discarding the last entry kept if there is no room for it.
+     *
+     * @param entry the entry to add
+     */
+    public void add(QueryableEntry entry) {
+        assert size <= limit;
+        if (size < limit) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, (int) Math.min((long) heap.length << 1, limit));
+            }
+            heap[size] = entry;
+            siftUp(size++);
+        } else {
+            heap[0] = entry;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Adds the given entry if it is {@link #accepts(QueryableEntry) accepted}.
+     *
+     * @param entry the entry matching the predicate
+     * @return {@code true} if the entry has been added, {@code false} otherwise
+     */
+    public boolean offer(QueryableEntry entry) {
+        if (accepts(entry)) {
+            add(entry);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the entries kept, in the order of the paging predicate
+     */
+    public List<QueryableEntry> toSortedList() {
+        QueryableEntry[] entries = Arrays.copyOf(heap, size);
+        NamespaceUtil.runWithNamespace(pagingPredicate.getUserCodeNamespace(), () -> Arrays.sort(entries, comparator));
+        return new ArrayList<>(Arrays.asList(entries));
+    }
+
+    private void siftUp(int index) {
+        QueryableEntry entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(entry, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    private void siftDown(int index) {
+        QueryableEntry entry = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && compare(heap[right], heap[child]) > 0) {
+                child = right;
+            }
+            if (compare(entry, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = entry;
+    }
+
+    private int compare(QueryableEntry entry1, QueryableEntry entry2) {
+        return NamespaceUtil.callWithNamespace(pagingPredicate.getUserCodeNamespace(),
+                () -> comparator.compare(entry1, entry2));
+    }
+}
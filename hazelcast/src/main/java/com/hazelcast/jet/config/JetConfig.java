@@ -254,6 +254,10 @@ public class JetConfig {
      * <p>
      * Note: the limit does not apply to streaming aggregations.
      * <p>
+     * With {@link com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_ENABLED}
+     * the batch sort, the batch aggregation by key and the SQL hash join write
+     * their state to local disk when they reach the limit, instead of failing.
+     * <p>
      * The default value is {@link Long#MAX_VALUE}.
      *
      * @since 5.0
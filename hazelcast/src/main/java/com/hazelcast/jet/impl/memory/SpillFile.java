@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A file of records appended in one or more writing sessions and then read
+ * back sequentially, see {@link SpillStore}.
+ * <p>
+ * Every record is stored as its length followed by its bytes. The records
+ * are written and read through buffers of a fixed size, so the memory used
+ * doesn't depend on the size of the file. The file is open only while it
+ * is being written or read, so the number of open files is bounded by the
+ * number of files a processor writes or reads at the same time, not by the
+ * number of files it has.
+ * <p>
+ * The file is accessed only by the I/O threads of the {@link SpillStore},
+ * one at a time.
+ */
+public final class SpillFile {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private FileChannel channel;
+    private ByteBuffer writeBuffer;
+    private Reader reader;
+    private long size;
+    private long recordCount;
+
+    SpillFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * @return the number of records written to the file
+     */
+    public long recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Appends a record to the file, opens the file if it's not open.
+     */
+    void write(byte[] record) {
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(path, WRITE);
+                channel.position(size);
+                writeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+            }
+            if (writeBuffer.remaining() < INT_SIZE_IN_BYTES + record.length) {
+                flush();
+            }
+            if (writeBuffer.remaining() < INT_SIZE_IN_BYTES + record.length) {
+                // a record larger than the buffer is written directly
+                writeBuffer.putInt(record.length).flip();
+                writeFully(writeBuffer);
+                writeFully(ByteBuffer.wrap(record));
+                writeBuffer.clear();
+            } else {
+                writeBuffer.putInt(record.length).put(record);
+            }
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        }
+        size += INT_SIZE_IN_BYTES + record.length;
+        recordCount++;
+    }
+
+    /**
+     * Completes the current writing session: writes the buffered records
+     * and closes the file. More records can be appended later.
+     */
+    void finishWriting() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        } finally {
+            channel = null;
+            writeBuffer = null;
+        }
+    }
+
+    /**
+     * Completes the writing and opens the file for reading the records in
+     * the order they were written.
+     */
+    Reader openReader() {
+        finishWriting();
+        try {
+            reader = new Reader(FileChannel.open(path, READ));
+            return reader;
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * Closes and deletes the file.
+     */
+    void delete() throws IOException {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            if (reader != null) {
+                reader.readChannel.close();
+            }
+        } finally {
+            channel = null;
+            writeBuffer = null;
+            reader = null;
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        writeFully(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads the records of the file one by one.
+     */
+    final class Reader {
+        private final FileChannel readChannel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+        private long position;
+
+        private Reader(FileChannel readChannel) {
+            this.readChannel = readChannel;
+        }
+
+        /**
+         * @return the next record, or {@code null} if all records were read
+         */
+        @Nullable
+        byte[] next() {
+            if (position == size) {
+                return null;
+            }
+            try {
+                fill(INT_SIZE_IN_BYTES);
+                byte[] record = new byte[readBuffer.getInt()];
+                if (record.length > readBuffer.capacity()) {
+                    // a record larger than the buffer is read directly
+                    ByteBuffer target = ByteBuffer.wrap(record);
+                    target.put(readBuffer);
+                    readFully(target);
+                } else {
+                    fill(record.length);
+                    readBuffer.get(record);
+                }
+                position += INT_SIZE_IN_BYTES + record.length;
+                return record;
+            } catch (IOException e) {
+                throw sneakyThrow(e);
+            }
+        }
+
+        /**
+         * Makes sure there are at least the given number of bytes in the
+         * buffer, which must not be more than its capacity.
+         */
+        private void fill(int minRemaining) throws IOException {
+            if (readBuffer.remaining() >= minRemaining) {
+                return;
+            }
+            readBuffer.compact();
+            while (readBuffer.position() < minRemaining) {
+                if (readChannel.read(readBuffer) < 0) {
+                    throw new IOException("Unexpected end of spill file " + path);
+                }
+            }
+            readBuffer.flip();
+        }
+
+        private void readFully(ByteBuffer target) throws IOException {
+            while (target.hasRemaining()) {
+                if (readChannel.read(target) < 0) {
+                    throw new IOException("Unexpected end of spill file " + path);
+                }
+            }
+        }
+    }
+}
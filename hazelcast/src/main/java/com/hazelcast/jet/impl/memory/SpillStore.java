@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.impl.HazelcastInstanceImpl;
+import com.hazelcast.instance.impl.HazelcastInstanceProxy;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.util.Util;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.JOB_OFFLOADABLE_EXECUTOR;
+
+/**
+ * Writes the state of a processor which doesn't fit into the memory to
+ * local disk and reads it back.
+ * <p>
+ * A processor which would exceed the {@linkplain
+ * Processor.Context#maxProcessorAccumulatedRecords() accumulation limit}
+ * writes part of its state to {@linkplain SpillFile spill files}: sorted
+ * runs or hash partitions. When the input is complete, it reads them back
+ * one by one. The items are stored in the serialized form.
+ * <p>
+ * The processors using the store are cooperative, so the files are never
+ * accessed on the processor thread: the processor hands the work over to
+ * an I/O thread with {@link #runAsync(Runnable)} and doesn't touch the
+ * state used by the task until {@link #isBusy()} returns {@code false}.
+ * The {@link Reader} reads a file in batches on an I/O thread, a batch
+ * ahead of the processor.
+ * <p>
+ * Spilling is enabled by {@link ClusterProperty#JET_SPILL_ENABLED}, the
+ * files are created in the {@link ClusterProperty#JET_SPILL_DIR} directory.
+ * They are deleted when read or when the store is closed.
+ */
+public final class SpillStore implements Closeable {
+
+    private static final String FILE_PREFIX = "hazelcast-jet-spill-";
+    private static final int READ_BATCH_SIZE = 256;
+
+    private final Path directory;
+    private final InternalSerializationService serializationService;
+    private final Executor executor;
+    private final Set<SpillFile> files = ConcurrentHashMap.newKeySet();
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+    private CompletableFuture<Void> task;
+
+    SpillStore(Path directory, InternalSerializationService serializationService, Executor executor) {
+        this.directory = directory;
+        this.serializationService = serializationService;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a store for the processor with the given context.
+     *
+     * @return the store, or {@code null} if spilling is disabled
+     */
+    @Nullable
+    public static SpillStore create(@Nonnull Processor.Context context) {
+        HazelcastInstance instance = context.hazelcastInstance();
+        if (!(instance instanceof HazelcastInstanceImpl) && !(instance instanceof HazelcastInstanceProxy)) {
+            return null;
+        }
+        NodeEngine nodeEngine = Util.getNodeEngine(instance);
+        HazelcastProperties properties = nodeEngine.getProperties();
+        if (!properties.getBoolean(ClusterProperty.JET_SPILL_ENABLED)) {
+            return null;
+        }
+        String directory = properties.getString(ClusterProperty.JET_SPILL_DIR);
+        return new SpillStore(
+                Paths.get(directory != null ? directory : System.getProperty("java.io.tmpdir")),
+                Util.getSerializationService(instance),
+                nodeEngine.getExecutionService().getExecutor(JOB_OFFLOADABLE_EXECUTOR)
+        );
+    }
+
+    /**
+     * Runs the given action on an I/O thread. Only one action runs at a
+     * time: a new one can be submitted once {@link #isBusy()} returns
+     * {@code false}.
+     */
+    public void runAsync(@Nonnull Runnable action) {
+        assert task == null : "an action is already running";
+        task = track(CompletableFuture.runAsync(action, executor));
+    }
+
+    /**
+     * Checks if the action submitted by {@link #runAsync(Runnable)} is still
+     * running. If it failed, the exception it threw is rethrown.
+     */
+    public boolean isBusy() {
+        if (task == null) {
+            return false;
+        }
+        if (!task.isDone()) {
+            return true;
+        }
+        CompletableFuture<Void> completed = task;
+        task = null;
+        join(completed);
+        return false;
+    }
+
+    /**
+     * Creates an empty spill file. To be called by the I/O actions.
+     */
+    public SpillFile newFile() {
+        try {
+            Files.createDirectories(directory);
+            SpillFile file = new SpillFile(Files.createTempFile(directory, FILE_PREFIX, ".run"));
+            files.add(file);
+            return file;
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    /**
+     * Serializes the given item and appends it to the given file. To be
+     * called by the I/O actions.
+     */
+    public void write(@Nonnull SpillFile file, @Nonnull Object item) {
+        file.write(serializationService.toData(item).toByteArray());
+    }
+
+    /**
+     * Writes all the items of the given traverser to a new file. To be
+     * called by the I/O actions.
+     */
+    public SpillFile writeAll(@Nonnull Traverser<?> items) {
+        SpillFile file = newFile();
+        for (Object item; (item = items.next()) != null; ) {
+            write(file, item);
+        }
+        file.finishWriting();
+        return file;
+    }
+
+    /**
+     * Writes the buffered items of the given files and closes them, so
+     * there are no open files between the writes. To be called by the I/O
+     * actions.
+     */
+    public void finishWriting(@Nonnull SpillFile... files) {
+        for (SpillFile file : files) {
+            file.finishWriting();
+        }
+    }
+
+    /**
+     * Returns a traverser over the items of the given file, in the order
+     * they were written. The file is deleted when the traverser is
+     * exhausted, no more items can be written to it. To be called by the
+     * I/O actions.
+     */
+    public <T> Traverser<T> read(@Nonnull SpillFile file) {
+        SpillFile.Reader records = file.openReader();
+        return () -> {
+            byte[] record = records.next();
+            if (record == null) {
+                delete(file);
+                return null;
+            }
+            return serializationService.toObject(new HeapData(record));
+        };
+    }
+
+    /**
+     * Returns a reader of the items of the given file, which reads them on
+     * an I/O thread. The file is deleted when the reader is exhausted, no
+     * more items can be written to it.
+     */
+    public <T> Reader<T> reader(@Nonnull SpillFile file) {
+        return new Reader<>(file);
+    }
+
+    /**
+     * Waits for the running I/O actions and deletes all the files of the
+     * store.
+     */
+    @Override
+    public void close() {
+        for (CompletableFuture<?> future : inFlight) {
+            try {
+                future.join();
+            } catch (CompletionException | CancellationException ignored) {
+                // the failure was already reported or doesn't matter anymore
+            }
+        }
+        for (SpillFile file : files) {
+            delete(file);
+        }
+    }
+
+    private <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        inFlight.add(future);
+        future.whenComplete((r, t) -> inFlight.remove(future));
+        return future;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw sneakyThrow(e.getCause());
+        }
+    }
+
+    private void delete(SpillFile file) {
+        if (files.remove(file)) {
+            try {
+                file.delete();
+            } catch (IOException e) {
+                throw sneakyThrow(e);
+            }
+        }
+    }
+
+    /**
+     * Reads the items of a spill file in batches on an I/O thread, the next
+     * batch is read while the processor consumes the current one.
+     */
+    public final class Reader<T> {
+        private final SpillFile file;
+        private Traverser<T> items;
+        private List<T> batch = Collections.emptyList();
+        private int index;
+        private CompletableFuture<List<T>> nextBatch;
+        private boolean done;
+
+        private Reader(SpillFile file) {
+            this.file = file;
+            this.nextBatch = readNextBatch();
+        }
+
+        /**
+         * @return the next item, or {@code null} if there is no item available
+         * at the moment or the reader is exhausted, see {@link #isDone()}
+         */
+        @Nullable
+        public T next() {
+            if (index == batch.size()) {
+                if (done || !nextBatch.isDone()) {
+                    return null;
+                }
+                batch = join(nextBatch);
+                index = 0;
+                if (batch.isEmpty()) {
+                    done = true;
+                    return null;
+                }
+                nextBatch = readNextBatch();
+            }
+            return batch.get(index++);
+        }
+
+        /**
+         * @return {@code true} if all the items were read
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        private CompletableFuture<List<T>> readNextBatch() {
+            return track(CompletableFuture.supplyAsync(() -> {
+                if (items == null) {
+                    items = read(file);
+                }
+                List<T> result = new ArrayList<>(READ_BATCH_SIZE);
+                for (T item; result.size() < READ_BATCH_SIZE && (item = items.next()) != null; ) {
+                    result.add(item);
+                }
+                return result;
+            }, executor));
+        }
+    }
+}
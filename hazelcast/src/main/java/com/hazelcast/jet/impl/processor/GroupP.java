@@ -16,13 +16,17 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.function.BiConsumerEx;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.SpillFile;
+import com.hazelcast.jet.impl.memory.SpillStore;
 
 import javax.annotation.Nonnull;
 import java.util.HashMap;
@@ -30,6 +34,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -41,9 +46,19 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * If spilling is enabled, see {@link SpillStore}, and the aggregate
+ * operation has a combine function, the accumulators which don't fit into
+ * the accumulation limit are written to disk, split into partitions by the
+ * hash of the key. When the input is complete, the partitions are read back
+ * one by one, combining the accumulators of the same key. A single partition
+ * must fit into the limit. The files are written and read on an I/O thread,
+ * the processor doesn't accept items meanwhile.
  */
 public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
+    private static final int SPILL_PARTITION_COUNT = 64;
+
     protected final Map<K, A> keyToAcc = new HashMap<>();
 
     private final List<FunctionEx<?, ? extends K>> groupKeyFns;
@@ -51,6 +66,11 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
 
     private long maxEntries;
+    private SpillStore spillStore;
+    // written by the spilling actions, while they run the processor waits
+    private SpillFile[] spillPartitions;
+    // the next spill partition to emit, -1 if the accumulators in the memory weren't spilled yet
+    private int nextPartition = -1;
     private Traverser<OUT> resultTraverser;
 
     public GroupP(
@@ -76,37 +96,134 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        spillStore = aggrOp.combineFn() != null ? SpillStore.create(context) : null;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
+        if (spillStore != null && spillStore.isBusy()) {
+            return false;
+        }
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
         K key = keyFn.apply(item);
-        A acc = keyToAcc.computeIfAbsent(key, k -> {
+        A acc = keyToAcc.get(key);
+        if (acc == null) {
             if (keyToAcc.size() == maxEntries) {
-                throw new AccumulationLimitExceededException();
+                if (spillStore == null) {
+                    throw new AccumulationLimitExceededException();
+                }
+                spillStore.runAsync(this::spill);
+                return false;
             }
-
-            return aggrOp.createFn().get();
-        });
+            acc = aggrOp.createFn().get();
+            keyToAcc.put(key, acc);
+        }
         aggrOp.accumulateFn(ordinal).accept(acc, item);
         return true;
     }
 
     @Override
     public boolean complete() {
+        if (spillStore != null && spillStore.isBusy()) {
+            return false;
+        }
+        if (spillPartitions != null) {
+            return emitSpilled();
+        }
         if (resultTraverser == null) {
-            resultTraverser = new ResultTraverser()
-                    // reuse null filtering done by map()
-                    .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+            resultTraverser = outputTraverser();
         }
         return emitFromTraverser(resultTraverser);
     }
 
+    /**
+     * Spills the accumulators remaining in the memory, then reads the spill
+     * partitions one by one and emits their results.
+     */
+    private boolean emitSpilled() {
+        do {
+            if (resultTraverser != null) {
+                if (!emitFromTraverser(resultTraverser)) {
+                    return false;
+                }
+                resultTraverser = null;
+            }
+            if (nextPartition == SPILL_PARTITION_COUNT) {
+                return true;
+            }
+            if (nextPartition < 0) {
+                spillStore.runAsync(this::spill);
+            } else {
+                SpillFile partition = spillPartitions[nextPartition];
+                spillStore.runAsync(() -> readPartition(partition));
+                // the traverser starts when the partition is read
+                resultTraverser = Traversers.lazy(this::outputTraverser);
+            }
+            nextPartition++;
+        } while (!spillStore.isBusy());
+        return false;
+    }
+
+    private Traverser<OUT> outputTraverser() {
+        return new ResultTraverser()
+                // reuse null filtering done by map()
+                .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+    }
+
+    /**
+     * Writes the keys and the accumulators to the spill partitions and
+     * clears them from the memory. Runs on an I/O thread.
+     */
+    private void spill() {
+        if (spillPartitions == null) {
+            SpillFile[] partitions = new SpillFile[SPILL_PARTITION_COUNT];
+            for (int i = 0; i < SPILL_PARTITION_COUNT; i++) {
+                partitions[i] = spillStore.newFile();
+            }
+            spillPartitions = partitions;
+        }
+        for (Entry<K, A> entry : keyToAcc.entrySet()) {
+            SpillFile partition = spillPartitions[Math.floorMod(Objects.hashCode(entry.getKey()), SPILL_PARTITION_COUNT)];
+            spillStore.write(partition, entry.getKey());
+            spillStore.write(partition, entry.getValue());
+        }
+        spillStore.finishWriting(spillPartitions);
+        keyToAcc.clear();
+    }
+
+    /**
+     * Reads the given spill partition into the memory, combining the
+     * accumulators of the same key. Runs on an I/O thread.
+     */
+    @SuppressWarnings("unchecked")
+    private void readPartition(SpillFile partition) {
+        BiConsumerEx<? super A, ? super A> combineFn = aggrOp.combineFn();
+        Traverser<Object> records = spillStore.read(partition);
+        for (Object key; (key = records.next()) != null; ) {
+            A acc = (A) records.next();
+            A existing = keyToAcc.get(key);
+            if (existing != null) {
+                combineFn.accept(existing, acc);
+            } else {
+                if (keyToAcc.size() == maxEntries) {
+                    throw new AccumulationLimitExceededException();
+                }
+                keyToAcc.put((K) key, acc);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (spillStore != null) {
+            spillStore.close();
+        }
+    }
+
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return spillStore == null;
     }
 
     private class ResultTraverser implements Traverser<Entry<K, A>> {
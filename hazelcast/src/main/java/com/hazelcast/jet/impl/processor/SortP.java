@@ -20,34 +20,65 @@ import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.SpillFile;
+import com.hazelcast.jet.impl.memory.SpillStore;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.PriorityQueue;
 
+/**
+ * Batch processor that emits the received items sorted.
+ * <p>
+ * If spilling is enabled, see {@link SpillStore}, the items which don't
+ * fit into the accumulation limit are written to disk as sorted runs. The
+ * processor doesn't accept items while a run is being written. When the
+ * input is complete, the runs are merged at most {@value #MAX_MERGE_FAN_IN}
+ * at a time into longer runs, until the remaining runs and the items in
+ * the memory can be merged into the output.
+ */
 public class SortP<T> extends AbstractProcessor {
 
+    static final int MAX_MERGE_FAN_IN = 16;
+
     private final PriorityQueue<T> priorityQueue;
-    private final Traverser<T> resultTraverser;
+    private final Comparator<T> comparator;
+    // modified by the spilling actions, while they run the processor waits
+    private final List<SpillFile> runs = new ArrayList<>();
 
     private long maxItems;
+    private SpillStore spillStore;
+    private Traverser<T> resultTraverser;
+    private Merger<T> merger;
 
+    @SuppressWarnings("unchecked")
     public SortP(@Nullable Comparator<T> comparator) {
         this.priorityQueue = new PriorityQueue<>(comparator);
-        this.resultTraverser = priorityQueue::poll;
+        this.comparator = comparator != null ? comparator : (Comparator<T>) Comparator.naturalOrder();
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxItems = context.maxProcessorAccumulatedRecords();
+        spillStore = SpillStore.create(context);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess0(@Nonnull Object item) {
+        if (spillStore != null && spillStore.isBusy()) {
+            return false;
+        }
         if (priorityQueue.size() == maxItems) {
-            throw new AccumulationLimitExceededException();
+            if (spillStore == null) {
+                throw new AccumulationLimitExceededException();
+            }
+            spillStore.runAsync(() -> runs.add(spillStore.writeAll(priorityQueue::poll)));
+            return false;
         }
 
         priorityQueue.add((T) item);
@@ -56,11 +87,185 @@ public class SortP<T> extends AbstractProcessor {
 
     @Override
     public boolean complete() {
-        return emitFromTraverser(resultTraverser);
+        if (spillStore != null && spillStore.isBusy()) {
+            return false;
+        }
+        if (runs.isEmpty()) {
+            if (resultTraverser == null) {
+                resultTraverser = priorityQueue::poll;
+            }
+            return emitFromTraverser(resultTraverser);
+        }
+        if (merger == null) {
+            if (runs.size() > MAX_MERGE_FAN_IN) {
+                spillStore.runAsync(this::reduceRuns);
+                return false;
+            }
+            List<Source<T>> sources = new ArrayList<>(runs.size() + 1);
+            for (SpillFile run : runs) {
+                sources.add(source(spillStore.reader(run)));
+            }
+            sources.add(source(priorityQueue::poll));
+            merger = new Merger<>(sources, comparator);
+        }
+        while (merger.fill()) {
+            T item = merger.peek();
+            if (item == null) {
+                return true;
+            }
+            if (!tryEmit(item)) {
+                return false;
+            }
+            merger.remove();
+        }
+        return false;
+    }
+
+    /**
+     * Merges the runs on an I/O thread, until there are at most {@value
+     * #MAX_MERGE_FAN_IN} of them. The oldest, shortest runs are merged
+     * first and the last merge takes only as many runs as needed, so that
+     * the items are rewritten as few times as possible.
+     */
+    private void reduceRuns() {
+        while (runs.size() > MAX_MERGE_FAN_IN) {
+            int count = Math.min(MAX_MERGE_FAN_IN, runs.size() - MAX_MERGE_FAN_IN + 1);
+            List<SpillFile> merged = runs.subList(0, count);
+            List<Source<T>> sources = new ArrayList<>(count);
+            for (SpillFile run : merged) {
+                sources.add(source(spillStore.read(run)));
+            }
+            merged.clear();
+            Merger<T> runMerger = new Merger<>(sources, comparator);
+            runs.add(spillStore.writeAll(() -> {
+                runMerger.fill();
+                T item = runMerger.peek();
+                if (item != null) {
+                    runMerger.remove();
+                }
+                return item;
+            }));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (spillStore != null) {
+            spillStore.close();
+        }
     }
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return spillStore == null;
+    }
+
+    /**
+     * @return a source which always has the next item available
+     */
+    private static <T> Source<T> source(Traverser<T> traverser) {
+        return new Source<>() {
+            private boolean done;
+
+            @Override
+            public T next() {
+                T item = traverser.next();
+                done = item == null;
+                return item;
+            }
+
+            @Override
+            public boolean isDone() {
+                return done;
+            }
+        };
+    }
+
+    private static <T> Source<T> source(SpillStore.Reader<T> reader) {
+        return new Source<>() {
+            @Override
+            public T next() {
+                return reader.next();
+            }
+
+            @Override
+            public boolean isDone() {
+                return reader.isDone();
+            }
+        };
+    }
+
+    /**
+     * A sorted source of items for the {@link Merger}.
+     */
+    private interface Source<T> {
+        /**
+         * @return the next item, or {@code null} if there is no item available
+         * at the moment or the source is exhausted, see {@link #isDone()}
+         */
+        @Nullable
+        T next();
+
+        boolean isDone();
+    }
+
+    /**
+     * Merges sorted sources into one. When the next item of a source is not
+     * available, the merge waits for it.
+     */
+    private static final class Merger<T> {
+        private final PriorityQueue<Head<T>> heads;
+        private final List<Source<T>> waiting;
+
+        Merger(List<Source<T>> sources, Comparator<T> comparator) {
+            heads = new PriorityQueue<>(sources.size(), (left, right) -> comparator.compare(left.item, right.item));
+            waiting = new ArrayList<>(sources);
+        }
+
+        /**
+         * Takes the next items of the sources whose items were merged.
+         *
+         * @return {@code true} if the next item of every source is known
+         */
+        boolean fill() {
+            for (Iterator<Source<T>> iterator = waiting.iterator(); iterator.hasNext(); ) {
+                Source<T> source = iterator.next();
+                T item = source.next();
+                if (item != null) {
+                    heads.add(new Head<>(item, source));
+                    iterator.remove();
+                } else if (source.isDone()) {
+                    iterator.remove();
+                }
+            }
+            return waiting.isEmpty();
+        }
+
+        /**
+         * @return the smallest item, or {@code null} if all the sources are
+         * exhausted; to be called after {@link #fill()} returned {@code true}
+         */
+        @Nullable
+        T peek() {
+            Head<T> head = heads.peek();
+            return head != null ? head.item : null;
+        }
+
+        /**
+         * Removes the item returned by {@link #peek()}.
+         */
+        void remove() {
+            waiting.add(heads.poll().source);
+        }
+    }
+
+    private static final class Head<T> {
+        private final T item;
+        private final Source<T> source;
+
+        Head(T item, Source<T> source) {
+            this.item = item;
+            this.source = source;
+        }
     }
 }
@@ -36,6 +36,8 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentMap;
@@ -43,6 +45,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
 
 /**
  * Concurrent, distributed, observable and queryable map.
@@ -3399,4 +3406,64 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, BaseMap<K, V>, Iterable
     @Nonnull
     Iterator<Entry<K, V>> iterator(int fetchSize);
 
+    /**
+     * Returns an iterator over the entries of the map which satisfy the
+     * given predicate. Unlike {@link #entrySet(Predicate)}, the result is not
+     * collected on the members and sent to the caller at once: the entries
+     * are fetched in batches of about {@code fetchSize} entries while
+     * iterating, so the heap used by the query is bounded regardless of the
+     * size of the result.
+     * <p>
+     * If the predicate can be narrowed down by a {@link IndexType#SORTED
+     * sorted} or {@link IndexType#HASH hash} index, the index is scanned on
+     * every member, otherwise the partitions are scanned one after another.
+     * A {@link com.hazelcast.query.PartitionPredicate} restricts the scan to
+     * its partitions. For a {@link com.hazelcast.query.PagingPredicate}, the
+     * iterator returns the entries of the consecutive pages, starting from
+     * the current page of the predicate, in the order of the predicate, and
+     * advances its page as the pages are fetched; the {@code fetchSize} is
+     * ignored in this case.
+     * <p>
+     * The iteration may be done when the map is being mutated or when there
+     * are membership changes. The iterator does not reflect the state when it
+     * has been constructed - it may return some entries that were added after
+     * the iteration has started and may not return some entries that were
+     * removed after the iteration has started. The iterator will not, however,
+     * skip an entry if it has not been changed and will not return an entry
+     * twice.
+     * <p>
+     * The returned entries are read-only and the {@link Iterator#remove()}
+     * method is not supported.
+     *
+     * @param fetchSize the number of entries to fetch in a batch
+     * @param predicate the predicate which the entries must match
+     * @return an iterator for the matching entries
+     * @throws NullPointerException     if the predicate is {@code null}
+     * @throws IllegalArgumentException if the {@code fetchSize} is not positive
+     * @since 6.0
+     */
+    @Nonnull
+    Iterator<Entry<K, V>> iterator(int fetchSize, @Nonnull Predicate<K, V> predicate);
+
+    /**
+     * Returns a sequential stream of the entries of the map which satisfy the
+     * given predicate. The entries are fetched in batches of about {@code
+     * fetchSize} entries as the stream is consumed, see {@link #iterator(int,
+     * Predicate)}.
+     *
+     * @param fetchSize the number of entries to fetch in a batch
+     * @param predicate the predicate which the entries must match
+     * @return a stream of the matching entries
+     * @throws NullPointerException     if the predicate is {@code null}
+     * @throws IllegalArgumentException if the {@code fetchSize} is not positive
+     * @since 6.0
+     */
+    @Nonnull
+    default Stream<Entry<K, V>> stream(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        checkPositive("fetchSize", fetchSize);
+        checkNotNull(predicate, "Predicate should not be null!");
+        return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(iterator(fetchSize, predicate),
+                Spliterator.NONNULL), Spliterator.NONNULL, false);
+    }
+
 }
@@ -316,6 +316,42 @@ public interface LocalMapStats extends LocalInstanceStats {
         return 0L;
     }
 
+    /**
+     * Returns the number of owned entries whose records were relocated by
+     * the compaction of the map storage, which runs for {@code NATIVE} maps
+     * and for maps using the compact record storage.
+     *
+     * @return the number of relocated entries
+     * @since 6.0
+     */
+    default long getCompactedEntryCount() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of bytes the compaction of the storage of the
+     * owned entries has moved out of the native memory pages being freed or
+     * has released by shrinking the storage.
+     *
+     * @return the number of reclaimed bytes
+     * @since 6.0
+     */
+    default long getCompactionReclaimedBytes() {
+        return 0L;
+    }
+
+    /**
+     * Returns the ratio of the serialized size of the owned values stored
+     * compressed to their compressed size, or {@code 1.0} if no value is
+     * stored compressed. See {@link com.hazelcast.config.MapConfig#setValueCompressionEnabled(boolean)}.
+     *
+     * @return the compression ratio of the owned values
+     * @since 6.0
+     */
+    default double getValueCompressionRatio() {
+        return 1.0;
+    }
+
     /**
      * Returns the per-index statistics map keyed by the index name.
      */
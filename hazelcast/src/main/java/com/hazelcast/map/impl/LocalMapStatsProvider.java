@@ -244,6 +244,10 @@ public class LocalMapStatsProvider {
             onDemandStats.incrementHeapCost(recordStore.getOwnedEntryCost());
         }
         onDemandStats.incrementOwnedEntryCount(recordStore.size());
+        onDemandStats.incrementCompactedEntryCount(recordStore.getStorage().getCompactedEntryCount());
+        onDemandStats.incrementCompactionReclaimedBytes(recordStore.getStorage().getCompactionReclaimedBytes());
+        onDemandStats.incrementUncompressedValueBytes(recordStore.getStorage().getUncompressedValueBytes());
+        onDemandStats.incrementCompressedValueBytes(recordStore.getStorage().getCompressedValueBytes());
         onDemandStats.setLastAccessTime(stats.getLastAccessTime());
         onDemandStats.setLastUpdateTime(stats.getLastUpdateTime());
         onDemandStats.setBackupCount(recordStore.getMapContainer().getMapConfig().getTotalBackupCount());
@@ -488,6 +492,10 @@ public class LocalMapStatsProvider {
         private long dirtyEntryCount;
         private long lastAccessTime;
         private long lastUpdateTime;
+        private long compactedEntryCount;
+        private long compactionReclaimedBytes;
+        private long uncompressedValueBytes;
+        private long compressedValueBytes;
 
         public void setBackupCount(int backupCount) {
             this.backupCount = backupCount;
@@ -537,6 +545,22 @@ public class LocalMapStatsProvider {
             this.merkleTreesCost += merkleTreeCost;
         }
 
+        public void incrementCompactedEntryCount(long compactedEntryCount) {
+            this.compactedEntryCount += compactedEntryCount;
+        }
+
+        public void incrementCompactionReclaimedBytes(long compactionReclaimedBytes) {
+            this.compactionReclaimedBytes += compactionReclaimedBytes;
+        }
+
+        public void incrementUncompressedValueBytes(long uncompressedValueBytes) {
+            this.uncompressedValueBytes += uncompressedValueBytes;
+        }
+
+        public void incrementCompressedValueBytes(long compressedValueBytes) {
+            this.compressedValueBytes += compressedValueBytes;
+        }
+
         public LocalMapStatsImpl updateAndGet(LocalMapStatsImpl stats) {
             stats.setBackupCount(backupCount);
             stats.setHits(hits);
@@ -552,6 +576,10 @@ public class LocalMapStatsProvider {
             stats.setDirtyEntryCount(dirtyEntryCount);
             stats.setLastAccessTime(lastAccessTime);
             stats.setLastUpdateTime(lastUpdateTime);
+            stats.setCompactedEntryCount(compactedEntryCount);
+            stats.setCompactionReclaimedBytes(compactionReclaimedBytes);
+            stats.setUncompressedValueBytes(uncompressedValueBytes);
+            stats.setCompressedValueBytes(compressedValueBytes);
             return stats;
         }
 
@@ -22,6 +22,9 @@ import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.eviction.impl.comparator.LFUEvictionPolicyComparator;
+import com.hazelcast.internal.eviction.impl.comparator.LRUEvictionPolicyComparator;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.internal.namespace.NamespaceUtil;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.partition.IPartitionService;
@@ -38,6 +41,7 @@ import com.hazelcast.internal.util.ThreadUtil;
 import com.hazelcast.map.impl.eviction.EvictionChecker;
 import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.eviction.EvictorImpl;
+import com.hazelcast.map.impl.eviction.PoolBasedEvictor;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
@@ -68,6 +72,7 @@ import java.util.function.Supplier;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator;
+import static com.hazelcast.internal.eviction.EvictionStrategyType.POOL_BASED_EVICTION;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
 import static com.hazelcast.query.impl.InternalIndex.GLOBAL_INDEX_NOOP_PARTITION_ID;
@@ -243,6 +248,11 @@ public class MapContainerImpl implements MapContainer {
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         EvictionPolicyComparator evictionPolicyComparator
                 = getEvictionPolicyComparator(mapConfig.getEvictionConfig(), nodeEngine.getConfigClassLoader());
+        if (evictionPolicyComparator instanceof TinyLFUEvictionPolicyComparator tinyLFUComparator) {
+            // sized before any access is recorded, so the counters never have to be spread over a larger sketch
+            tinyLFUComparator.ensureCapacity(EvictorImpl.maxEntryCount(mapConfig.getEvictionConfig(),
+                    nodeEngine.getPartitionService().getPartitionCount()));
+        }
 
         evictor = evictionPolicyComparator != null
                 ? newEvictor(evictionPolicyComparator, nodeEngine.getProperties().getInteger(MAP_EVICTION_BATCH_SIZE),
@@ -254,9 +264,22 @@ public class MapContainerImpl implements MapContainer {
                                  int evictionBatchSize, IPartitionService partitionService) {
         EvictionChecker evictionChecker = new EvictionChecker(getMemoryInfoAccessor(), mapServiceContext);
 
+        if (isPoolBasedEvictionSupported(evictionPolicyComparator)) {
+            return new PoolBasedEvictor(evictionPolicyComparator, evictionChecker, evictionBatchSize, partitionService);
+        }
         return new EvictorImpl(evictionPolicyComparator, evictionChecker, evictionBatchSize, partitionService);
     }
 
+    /**
+     * Pool based eviction only supports the out-of-the-box LRU and LFU
+     * eviction policies, other maps fall back to sampling based eviction.
+     */
+    private boolean isPoolBasedEvictionSupported(EvictionPolicyComparator evictionPolicyComparator) {
+        return mapConfig.getEvictionConfig().getEvictionStrategyType() == POOL_BASED_EVICTION
+                && (evictionPolicyComparator == LRUEvictionPolicyComparator.INSTANCE
+                || evictionPolicyComparator == LFUEvictionPolicyComparator.INSTANCE);
+    }
+
     @Override
     public boolean shouldUseGlobalIndex() {
         return mapConfig.getInMemoryFormat() != NATIVE
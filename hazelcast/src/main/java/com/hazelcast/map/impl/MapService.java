@@ -17,10 +17,12 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.cluster.ClusterState;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.WanAcknowledgeType;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.internal.cluster.ClusterStateListener;
+import com.hazelcast.internal.memory.Measurable;
 import com.hazelcast.internal.metrics.DynamicMetricsProvider;
 import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsCollectionContext;
@@ -72,6 +74,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
+import java.util.function.LongConsumer;
 
 import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_DISCRIMINATOR_NAME;
@@ -109,7 +112,7 @@ public class MapService implements ManagedService, ChunkedMigrationAwareService,
         SplitBrainProtectionAwareService, NotifiableEventListener,
         ClusterStateListener, LockInterceptorService<Data>,
         DynamicMetricsProvider, TenantContextAwareService,
-        OffloadedReplicationPreparation {
+        OffloadedReplicationPreparation, Measurable {
 
     public static final String SERVICE_NAME = "hz:impl:mapService";
 
@@ -405,6 +408,32 @@ public class MapService implements ManagedService, ChunkedMigrationAwareService,
         }
     }
 
+    /**
+     * Returns the heap cost of the entries of the maps not stored in
+     * {@code NATIVE} memory, both primary and backup replicas.
+     */
+    @Override
+    public long heapBytesUsed() {
+        MutableLong heapCost = new MutableLong();
+        forEachContainerHeapBytesUsed(heapCost::addAndGet);
+        return heapCost.value;
+    }
+
+    /**
+     * Reports the heap cost of each record store not stored in
+     * {@code NATIVE} memory.
+     */
+    @Override
+    public void forEachContainerHeapBytesUsed(LongConsumer consumer) {
+        for (PartitionContainer container : mapServiceContext.getPartitionContainers()) {
+            for (RecordStore recordStore : container.getAllRecordStores()) {
+                if (recordStore.getInMemoryFormat() != InMemoryFormat.NATIVE) {
+                    consumer.accept(recordStore.getOwnedEntryCost());
+                }
+            }
+        }
+    }
+
     @Override
     public boolean shouldOffload() {
         return migrationAwareService.shouldOffload();
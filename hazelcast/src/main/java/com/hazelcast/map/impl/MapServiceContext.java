@@ -24,6 +24,7 @@ import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.NativeMemoryManager;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.comparators.ValueComparator;
@@ -195,6 +196,8 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     MapClearExpiredRecordsTask getClearExpiredRecordsTask();
 
+    StorageCompactionTask getStorageCompactionTask();
+
     MapOperationProvider getMapOperationProvider(String mapName);
 
     IndexProvider getIndexProvider(MapConfig mapConfig);
@@ -235,6 +238,16 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     NodeWideUsedCapacityCounter getNodeWideUsedCapacityCounter();
 
+    /**
+     * Returns the member-wide manager of the native memory which holds the
+     * records of the maps with {@link InMemoryFormat#NATIVE} in-memory format.
+     * The manager is created on the first call.
+     *
+     * @return the native memory manager
+     * @throws IllegalStateException if native memory is not enabled in the configuration
+     */
+    NativeMemoryManager getNativeMemoryManager();
+
     ExecutorStats getOffloadedEntryProcessorExecutorStats();
 
     /**
@@ -21,7 +21,9 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.NativeMemoryManager;
 import com.hazelcast.internal.nio.Disposable;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -33,6 +35,7 @@ import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.internal.util.ContextMutexFactory;
 import com.hazelcast.internal.util.InvocationUtil;
 import com.hazelcast.internal.util.LocalRetryableExecution;
+import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.comparators.ValueComparator;
 import com.hazelcast.internal.util.comparators.ValueComparatorUtil;
@@ -66,6 +69,7 @@ import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.QueryResultProcessor;
 import com.hazelcast.map.impl.query.QueryRunner;
 import com.hazelcast.map.impl.query.ResultProcessorRegistry;
+import com.hazelcast.map.impl.query.WorkStealingPartitionScanExecutor;
 import com.hazelcast.map.impl.querycache.NodeQueryCacheContext;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.recordstore.DefaultRecordStore;
@@ -81,7 +85,10 @@ import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.eventservice.EventFilter;
 import com.hazelcast.spi.impl.eventservice.EventRegistration;
 import com.hazelcast.spi.impl.eventservice.EventService;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nullable;
 import java.util.ArrayDeque;
@@ -100,9 +107,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_QUERY;
 import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.internal.util.SetUtil.immutablePartitionIdSet;
+import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.map.impl.MapKeyLoader.LOADED_KEY_LIMITER_PER_NODE;
 import static com.hazelcast.map.impl.MapKeyLoader.PROP_LOADED_KEY_LIMITER_PER_NODE;
@@ -115,6 +124,8 @@ import static com.hazelcast.spi.properties.ClusterProperty.AGGREGATION_ACCUMULAT
 import static com.hazelcast.spi.properties.ClusterProperty.EXPENSIVE_IMAP_INVOCATION_REPORTING_THRESHOLD;
 import static com.hazelcast.spi.properties.ClusterProperty.INDEX_COPY_BEHAVIOR;
 import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PARTITION_SCAN_SEGMENT_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PARTITION_SCAN_WORK_STEALING;
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
 import static java.lang.Thread.currentThread;
 
@@ -129,7 +140,7 @@ class MapServiceContextImpl implements MapServiceContext {
     protected final ILogger logger;
 
     private final NodeEngine nodeEngine;
-    private final QueryEngine queryEngine;
+    private final QueryEngineImpl queryEngine;
     private final EventService eventService;
     private final QueryRunner mapQueryRunner;
     private final MapEventJournal eventJournal;
@@ -145,11 +156,13 @@ class MapServiceContextImpl implements MapServiceContext {
     private final ResultProcessorRegistry resultProcessorRegistry;
     private final InternalSerializationService serializationService;
     private final MapClearExpiredRecordsTask clearExpiredRecordsTask;
+    private final StorageCompactionTask storageCompactionTask;
     private final PartitioningStrategyFactory partitioningStrategyFactory;
     private final NodeWideUsedCapacityCounter nodeWideUsedCapacityCounter;
     private final ConstructorFunction<String, MapContainer> mapConstructor;
     private final IndexProvider indexProvider = new DefaultIndexProvider();
     private final ContextMutexFactory contextMutexFactory = new ContextMutexFactory();
+    private final Object nativeMemoryManagerMutex = new Object();
     private final ConcurrentMap<String, MapContainer> mapContainers = new ConcurrentHashMap<>();
     private final ExecutorStats offloadedExecutorStats = new ExecutorStats();
     private final AtomicReference<PartitionIdSet> cachedOwnedPartitions = new AtomicReference<>();
@@ -163,6 +176,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private final int expensiveInvocationReportingThreshold;
 
     private MapService mapService;
+    private volatile NativeMemoryManager nativeMemoryManager;
 
     @SuppressWarnings("checkstyle:executablestatementcount")
     MapServiceContextImpl(NodeEngine nodeEngine) {
@@ -173,6 +187,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.partitionContainers = createPartitionContainers();
         this.clearExpiredRecordsTask = new MapClearExpiredRecordsTask(partitionContainers, nodeEngine);
         this.expirationManager = new ExpirationManager(clearExpiredRecordsTask, nodeEngine);
+        this.storageCompactionTask = new StorageCompactionTask(partitionContainers, nodeEngine, () -> nativeMemoryManager);
         this.mapNearCacheManager = createMapNearCacheManager();
         this.localMapStatsProvider = createLocalMapStatsProvider();
         this.mapEventPublisher = createMapEventPublisherSupport();
@@ -181,6 +196,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.resultProcessorRegistry = createResultProcessorRegistry(serializationService);
         this.partitionScanRunner = createPartitionScanRunner();
         this.queryEngine = createMapQueryEngine();
+        nodeEngine.getMetricsRegistry().registerStaticMetrics(queryEngine, MAP_PREFIX_QUERY);
         this.mapQueryRunner = createMapQueryRunner(nodeEngine, queryOptimizer,
                 resultProcessorRegistry, partitionScanRunner);
         this.eventService = nodeEngine.getEventService();
@@ -268,7 +284,9 @@ class MapServiceContextImpl implements MapServiceContext {
                                                PartitionScanRunner partitionScanRunner) {
         boolean parallelEvaluation = nodeEngine.getProperties().getBoolean(QUERY_PREDICATE_PARALLEL_EVALUATION);
         PartitionScanExecutor partitionScanExecutor;
-        if (parallelEvaluation) {
+        if (parallelEvaluation && nodeEngine.getProperties().getBoolean(QUERY_PARTITION_SCAN_WORK_STEALING)) {
+            partitionScanExecutor = createWorkStealingPartitionScanExecutor(nodeEngine, partitionScanRunner);
+        } else if (parallelEvaluation) {
             int opTimeoutInMillis = nodeEngine.getProperties().getInteger(OPERATION_CALL_TIMEOUT_MILLIS);
             ManagedExecutorService queryExecutorService = nodeEngine.getExecutionService().getExecutor(QUERY_EXECUTOR);
             partitionScanExecutor = new ParallelPartitionScanExecutor(partitionScanRunner, queryExecutorService,
@@ -279,6 +297,17 @@ class MapServiceContextImpl implements MapServiceContext {
         return new QueryRunner(this, queryOptimizer, partitionScanExecutor, resultProcessorRegistry);
     }
 
+    private PartitionScanExecutor createWorkStealingPartitionScanExecutor(NodeEngine nodeEngine,
+                                                                          PartitionScanRunner partitionScanRunner) {
+        HazelcastProperties properties = nodeEngine.getProperties();
+        OperationExecutor operationExecutor = nodeEngine.getOperationService() instanceof OperationServiceImpl operationService
+                ? operationService.getOperationExecutor() : null;
+        String threadNamePrefix = createThreadPoolName(nodeEngine.getHazelcastInstance().getName(), "query.scan");
+        return new WorkStealingPartitionScanExecutor(partitionScanRunner, this, operationExecutor, threadNamePrefix,
+                RuntimeAvailableProcessors.get(), properties.getInteger(QUERY_PARTITION_SCAN_SEGMENT_SIZE),
+                properties.getInteger(OPERATION_CALL_TIMEOUT_MILLIS), queryEngine::recordPartitionScan);
+    }
+
     private ResultProcessorRegistry createResultProcessorRegistry(SerializationService ss) {
         ResultProcessorRegistry registry = new ResultProcessorRegistry();
         registry.registerProcessor(QueryResult.class, createQueryResultProcessor(ss));
@@ -549,7 +578,19 @@ class MapServiceContextImpl implements MapServiceContext {
         mapNearCacheManager.shutdown();
         mapContainers.clear();
         expirationManager.onShutdown();
+        storageCompactionTask.unschedule();
+        mapQueryRunner.shutdown();
         offloadedExecutorStats.clear();
+        disposeNativeMemoryManager();
+    }
+
+    private void disposeNativeMemoryManager() {
+        synchronized (nativeMemoryManagerMutex) {
+            if (nativeMemoryManager != null) {
+                nativeMemoryManager.dispose();
+                nativeMemoryManager = null;
+            }
+        }
     }
 
     @Override
@@ -654,6 +695,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return clearExpiredRecordsTask;
     }
 
+    @Override
+    public StorageCompactionTask getStorageCompactionTask() {
+        return storageCompactionTask;
+    }
+
     // TODO: interceptors should get a wrapped object which includes the serialized version
     @Override
     public Object interceptGet(InterceptorRegistry interceptorRegistry, Object currentValue) {
@@ -958,7 +1004,9 @@ class MapServiceContextImpl implements MapServiceContext {
 
     @Override
     public ValueComparator getValueComparatorOf(InMemoryFormat inMemoryFormat) {
-        return ValueComparatorUtil.getValueComparatorOf(inMemoryFormat);
+        // native records expose their values in serialized form
+        return ValueComparatorUtil.getValueComparatorOf(inMemoryFormat == InMemoryFormat.NATIVE
+                ? InMemoryFormat.BINARY : inMemoryFormat);
     }
 
     @Override
@@ -971,6 +1019,24 @@ class MapServiceContextImpl implements MapServiceContext {
         return nodeWideUsedCapacityCounter;
     }
 
+    @Override
+    public NativeMemoryManager getNativeMemoryManager() {
+        NativeMemoryManager manager = nativeMemoryManager;
+        if (manager != null) {
+            return manager;
+        }
+        synchronized (nativeMemoryManagerMutex) {
+            if (nativeMemoryManager == null) {
+                NativeMemoryConfig nativeMemoryConfig = nodeEngine.getConfig().getNativeMemoryConfig();
+                if (!nativeMemoryConfig.isEnabled()) {
+                    throw new IllegalStateException("Native memory must be enabled to use NATIVE in-memory format");
+                }
+                nativeMemoryManager = new NativeMemoryManager(nativeMemoryConfig);
+            }
+            return nativeMemoryManager;
+        }
+    }
+
     // used only for testing purposes
     PartitioningStrategyFactory getPartitioningStrategyFactory() {
         return partitioningStrategyFactory;
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.config.InMemoryFormat;
 
 import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 
 /**
  * Static factory methods for various entry cost estimators.
@@ -37,6 +38,20 @@ public final class OwnedEntryCostEstimatorFactory {
         if (BINARY == inMemoryFormat) {
             return (EntryCostEstimator<K, V>) new BinaryMapEntryCostEstimator();
         }
+        if (NATIVE == inMemoryFormat) {
+            return (EntryCostEstimator<K, V>) new RecordCostEntryCostEstimator();
+        }
+        return ZERO_SIZE_ESTIMATOR;
+    }
+
+    /**
+     * Returns the estimator for maps using compact records, which
+     * hold their keys, see {@link com.hazelcast.map.impl.record.CompactRecordFactory}.
+     */
+    public static <K, V> EntryCostEstimator<K, V> createCompactMapSizeEstimator(InMemoryFormat inMemoryFormat) {
+        if (BINARY == inMemoryFormat) {
+            return (EntryCostEstimator<K, V>) new RecordCostEntryCostEstimator();
+        }
         return ZERO_SIZE_ESTIMATOR;
     }
 
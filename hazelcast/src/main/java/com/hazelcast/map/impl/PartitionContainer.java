@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.Storage;
 
 import java.util.Collection;
 import java.util.concurrent.ConcurrentMap;
@@ -60,6 +61,28 @@ public interface PartitionContainer {
 
     void setLastCleanupTimeCopy(long lastCleanupTimeCopy);
 
+    boolean hasRunningCompaction();
+
+    void setHasRunningCompaction(boolean hasRunningCompaction);
+
+    /**
+     * Can be called by any thread, the result is a hint only.
+     *
+     * @return {@code true} if the storage of a record store in this container
+     * holds memory which can be reclaimed by {@link #compactStorages(int)}
+     */
+    boolean isCompactionRequired();
+
+    /**
+     * Runs a slice of the compaction of the storages which needed it when the
+     * current compaction cycle started, see {@link Storage#compact(int, int)}.
+     * Must be called by the partition thread.
+     *
+     * @param maxSlots the maximum number of storage slots to visit in this slice
+     * @return {@code true} if the compaction cycle has completed
+     */
+    boolean compactStorages(int maxSlots);
+
     /**
      * Cleans up the container's state if the enclosing partition is migrated
      * off this member. Whether cleanup is needed is decided based on the
@@ -28,6 +28,7 @@ import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.internal.util.ContextMutexFactory;
 import com.hazelcast.internal.util.MapUtil;
 import com.hazelcast.map.impl.operation.MapClearExpiredOperation;
+import com.hazelcast.map.impl.operation.MapCompactionOperation;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.executionservice.ExecutionService;
@@ -35,6 +36,7 @@ import com.hazelcast.spi.impl.operationservice.OperationService;
 import com.hazelcast.spi.properties.ClusterProperty;
 
 import javax.annotation.Nullable;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.ConcurrentMap;
@@ -76,6 +78,20 @@ public class PartitionContainerImpl implements PartitionContainer {
      */
     private long lastCleanupTimeCopy;
 
+    /**
+     * Flag to check if there is a {@link MapCompactionOperation}
+     * running on this partition at this moment or not.
+     */
+    private volatile boolean hasRunningCompaction;
+
+    /**
+     * Names of the maps whose storages are left to be compacted in the
+     * current compaction cycle, and the cursor of the first one. Only
+     * accessed by the partition thread.
+     */
+    private final ArrayDeque<String> compactionQueue = new ArrayDeque<>();
+    private int compactionCursor;
+
     public PartitionContainerImpl(final MapService mapService, final int partitionId) {
         this.mapService = mapService;
         this.partitionId = partitionId;
@@ -244,6 +260,51 @@ public class PartitionContainerImpl implements PartitionContainer {
         this.lastCleanupTimeCopy = lastCleanupTimeCopy;
     }
 
+    @Override
+    public boolean hasRunningCompaction() {
+        return hasRunningCompaction;
+    }
+
+    @Override
+    public void setHasRunningCompaction(boolean hasRunningCompaction) {
+        this.hasRunningCompaction = hasRunningCompaction;
+    }
+
+    @Override
+    public boolean isCompactionRequired() {
+        for (RecordStore recordStore : maps.values()) {
+            if (recordStore.getStorage().isCompactionRequired()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean compactStorages(int maxSlots) {
+        if (compactionQueue.isEmpty()) {
+            for (RecordStore recordStore : maps.values()) {
+                if (recordStore.getStorage().isCompactionRequired()) {
+                    compactionQueue.add(recordStore.getName());
+                }
+            }
+            compactionCursor = 0;
+        }
+        if (compactionQueue.isEmpty()) {
+            return true;
+        }
+        // a destroyed map is skipped, a recreated one continues from the cursor
+        RecordStore recordStore = maps.get(compactionQueue.peek());
+        int cursor = recordStore != null ? recordStore.getStorage().compact(compactionCursor, maxSlots) : -1;
+        if (cursor < 0) {
+            compactionQueue.poll();
+            compactionCursor = 0;
+        } else {
+            compactionCursor = cursor;
+        }
+        return compactionQueue.isEmpty();
+    }
+
     /**
      * Cleans up the container's state if the enclosing partition is migrated
      * off this member. Whether cleanup is needed is decided based on the
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.cluster.ClusterState;
+import com.hazelcast.internal.memory.impl.NativeMemoryManager;
+import com.hazelcast.map.impl.operation.MapCompactionOperation;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Periodically starts a compaction cycle of the IMap storages which hold
+ * reclaimable memory: the native memory of mostly free pages of the pooled
+ * allocator and the free slots of compact record arenas.
+ * <p>
+ * A cycle is run by a {@link MapCompactionOperation} per partition which
+ * relocates the records of at most {@value PROP_SLICE_SIZE} slots and then
+ * executes a new operation for the next slice, so the partition threads
+ * keep serving other operations while the cycle runs. A new cycle is not
+ * started before all the operations of the previous one complete.
+ * <ul>
+ * <li>
+ * {@value PROP_TASK_PERIOD_SECONDS}: The time between two executions of
+ * this task. Default value is {@value DEFAULT_TASK_PERIOD_SECONDS} seconds.
+ * </li>
+ * <li>
+ * {@value PROP_NATIVE_FRAGMENTATION_PERCENTAGE}: The percentage of the
+ * committed native memory held by free blocks above which the pages of
+ * the pooled allocator are evacuated. Default value is
+ * {@value DEFAULT_NATIVE_FRAGMENTATION_PERCENTAGE}%.
+ * </li>
+ * <li>
+ * {@value PROP_SLICE_SIZE}: The maximum number of storage slots visited
+ * by an operation. Default value is {@value DEFAULT_SLICE_SIZE}.
+ * </li>
+ * </ul>
+ */
+public class StorageCompactionTask implements Runnable {
+
+    public static final String PROP_ENABLED = "hazelcast.internal.map.compaction.enabled";
+    public static final String PROP_TASK_PERIOD_SECONDS = "hazelcast.internal.map.compaction.task.period.seconds";
+    public static final String PROP_NATIVE_FRAGMENTATION_PERCENTAGE
+            = "hazelcast.internal.map.compaction.native.fragmentation.percentage";
+    public static final String PROP_SLICE_SIZE = "hazelcast.internal.map.compaction.slice.size";
+
+    private static final int DEFAULT_TASK_PERIOD_SECONDS = 10;
+    private static final int DEFAULT_NATIVE_FRAGMENTATION_PERCENTAGE = 30;
+    private static final int DEFAULT_SLICE_SIZE = 1024;
+    private static final double MIN_FREE_PAGE_RATIO = 0.5;
+    private static final int ONE_HUNDRED_PERCENT = 100;
+
+    private static final HazelcastProperty ENABLED = new HazelcastProperty(PROP_ENABLED, true);
+    private static final HazelcastProperty TASK_PERIOD_SECONDS
+            = new HazelcastProperty(PROP_TASK_PERIOD_SECONDS, DEFAULT_TASK_PERIOD_SECONDS, SECONDS);
+    private static final HazelcastProperty NATIVE_FRAGMENTATION_PERCENTAGE
+            = new HazelcastProperty(PROP_NATIVE_FRAGMENTATION_PERCENTAGE, DEFAULT_NATIVE_FRAGMENTATION_PERCENTAGE);
+    private static final HazelcastProperty SLICE_SIZE = new HazelcastProperty(PROP_SLICE_SIZE, DEFAULT_SLICE_SIZE);
+
+    private final boolean enabled;
+    private final int taskPeriodSeconds;
+    private final int fragmentationPercentage;
+    private final int sliceSize;
+    private final NodeEngine nodeEngine;
+    private final PartitionContainer[] containers;
+    private final Supplier<NativeMemoryManager> nativeMemoryManagerSupplier;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean singleRunPermit = new AtomicBoolean();
+
+    private volatile ScheduledFuture<?> scheduledTask;
+
+    StorageCompactionTask(PartitionContainer[] containers, NodeEngine nodeEngine,
+                          Supplier<NativeMemoryManager> nativeMemoryManagerSupplier) {
+        this.containers = containers;
+        this.nodeEngine = nodeEngine;
+        this.nativeMemoryManagerSupplier = nativeMemoryManagerSupplier;
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.enabled = properties.getBoolean(ENABLED);
+        this.taskPeriodSeconds = checkPositive(PROP_TASK_PERIOD_SECONDS, properties.getSeconds(TASK_PERIOD_SECONDS));
+        this.fragmentationPercentage = properties.getInteger(NATIVE_FRAGMENTATION_PERCENTAGE);
+        checkTrue(fragmentationPercentage > 0 && fragmentationPercentage <= ONE_HUNDRED_PERCENT,
+                "fragmentationPercentage should be in range (0,100]");
+        this.sliceSize = checkPositive(PROP_SLICE_SIZE, properties.getInteger(SLICE_SIZE));
+    }
+
+    /**
+     * Starts scheduling of this task.
+     * Calling this method multiple times has same effect.
+     */
+    public void schedule() {
+        if (!enabled || nodeEngine.getLocalMember().isLiteMember() || scheduled.get()
+                || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        scheduledTask = nodeEngine.getExecutionService().getGlobalTaskScheduler()
+                .scheduleWithRepetition(this, taskPeriodSeconds, taskPeriodSeconds, SECONDS);
+    }
+
+    /**
+     * Ends scheduling of this task.
+     */
+    void unschedule() {
+        scheduled.set(false);
+        ScheduledFuture<?> scheduledFuture = scheduledTask;
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (!nodeEngine.isStartCompleted()
+                || nodeEngine.getClusterService().getClusterState() == ClusterState.PASSIVE) {
+            return;
+        }
+        if (!singleRunPermit.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runInternal();
+        } finally {
+            singleRunPermit.set(false);
+        }
+    }
+
+    private void runInternal() {
+        for (PartitionContainer container : containers) {
+            if (container.hasRunningCompaction()) {
+                return;
+            }
+        }
+
+        NativeMemoryManager nativeMemoryManager = nativeMemoryManagerSupplier.get();
+        if (nativeMemoryManager != null) {
+            // the previous cycle has moved the blocks out of the evacuated pages
+            nativeMemoryManager.finishCompaction();
+            if (isFragmented(nativeMemoryManager)) {
+                nativeMemoryManager.startCompaction(MIN_FREE_PAGE_RATIO);
+            }
+        }
+
+        OperationService operationService = nodeEngine.getOperationService();
+        for (PartitionContainer container : containers) {
+            if (container.isCompactionRequired()) {
+                container.setHasRunningCompaction(true);
+                operationService.execute(newCompactionOperation(container.getPartitionId()));
+            }
+        }
+    }
+
+    private boolean isFragmented(NativeMemoryManager nativeMemoryManager) {
+        long committed = nativeMemoryManager.getCommittedNative();
+        return committed > 0
+                && nativeMemoryManager.getFragmentedNative() * ONE_HUNDRED_PERCENT >= committed * fragmentationPercentage;
+    }
+
+    private Operation newCompactionOperation(int partitionId) {
+        return new MapCompactionOperation(sliceSize)
+                .setNodeEngine(nodeEngine)
+                .setCallerUuid(nodeEngine.getLocalMember().getUuid())
+                .setPartitionId(partitionId)
+                .setValidateTarget(false)
+                .setServiceName(SERVICE_NAME);
+    }
+}
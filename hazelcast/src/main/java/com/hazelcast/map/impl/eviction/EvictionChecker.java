@@ -17,8 +17,11 @@
 package com.hazelcast.map.impl.eviction;
 
 import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.memory.MemoryAccountingService;
+import com.hazelcast.internal.memory.impl.NativeMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.util.MemoryInfoAccessor;
 import com.hazelcast.logging.ILogger;
@@ -40,7 +43,9 @@ import static java.lang.String.format;
 /**
  * Checks whether a specific threshold is exceeded or not according to
  * configured {@link MaxSizePolicy}
- * to start eviction process.
+ * to start eviction process. On-heap record stores are also evicted while
+ * they hold more than their share of the exceeded member-wide memory quota,
+ * see {@link MemoryAccountingService}.
  *
  * @see EvictorImpl#evictionChecker
  */
@@ -54,7 +59,9 @@ public class EvictionChecker {
     private final ClusterService clusterService;
     private final PartitionContainer[] containers;
     private final MemoryInfoAccessor memoryInfoAccessor;
+    private final MapServiceContext mapServiceContext;
     private final MapNearCacheManager mapNearCacheManager;
+    private final MemoryAccountingService memoryAccountingService;
     private final AtomicBoolean misconfiguredPerNodeMaxSizeWarningLogged;
 
     public EvictionChecker(MemoryInfoAccessor givenMemoryInfoAccessor, MapServiceContext mapServiceContext) {
@@ -66,8 +73,10 @@ public class EvictionChecker {
         this.containers = mapServiceContext.getPartitionContainers();
         this.clusterService = nodeEngine.getClusterService();
         this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        this.mapServiceContext = mapServiceContext;
         this.mapNearCacheManager = mapServiceContext.getMapNearCacheManager();
         this.memoryInfoAccessor = givenMemoryInfoAccessor;
+        this.memoryAccountingService = nodeEngine.getMemoryAccountingService();
 
         if (logger.isFinestEnabled()) {
             logger.finest("Used memoryInfoAccessor=%s", this.memoryInfoAccessor.getClass().getCanonicalName());
@@ -76,10 +85,15 @@ public class EvictionChecker {
         this.misconfiguredPerNodeMaxSizeWarningLogged = new AtomicBoolean();
     }
 
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
     public boolean checkEvictable(RecordStore recordStore) {
         if (recordStore.size() == 0) {
             return false;
         }
+        if (recordStore.getInMemoryFormat() != InMemoryFormat.NATIVE
+                && memoryAccountingService.isContainerQuotaExceeded(recordStore.getOwnedEntryCost())) {
+            return true;
+        }
 
         String mapName = recordStore.getName();
 
@@ -101,6 +115,17 @@ public class EvictionChecker {
                 return (usedHeapInBytes(mapName) * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) > maxConfiguredSize;
             case FREE_HEAP_PERCENTAGE:
                 return (availableMemoryInBytes() * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) < maxConfiguredSize;
+            case USED_NATIVE_MEMORY_SIZE:
+                return usedNativeInBytes(mapName) > MEGABYTES.toBytes(maxConfiguredSize);
+            case FREE_NATIVE_MEMORY_SIZE:
+                return nativeMemoryManager().getFreeNative() < MEGABYTES.toBytes(maxConfiguredSize);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return (usedNativeInBytes(mapName) * ONE_HUNDRED
+                        / Math.max(nativeMemoryManager().getMaxNative(), 1)) > maxConfiguredSize;
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                NativeMemoryManager nativeMemoryManager = nativeMemoryManager();
+                return (nativeMemoryManager.getFreeNative() * ONE_HUNDRED
+                        / Math.max(nativeMemoryManager.getMaxNative(), 1)) < maxConfiguredSize;
             default:
                 throw new IllegalArgumentException("Not an appropriate max size policy [" + maximumSizePolicy + ']');
         }
@@ -154,6 +179,18 @@ public class EvictionChecker {
         return usedHeapInBytes;
     }
 
+    private long usedNativeInBytes(String mapName) {
+        long usedNativeInBytes = 0L;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            usedNativeInBytes += getRecordStoreHeapCost(mapName, containers[partitionId]);
+        }
+        return usedNativeInBytes;
+    }
+
+    private NativeMemoryManager nativeMemoryManager() {
+        return mapServiceContext.getNativeMemoryManager();
+    }
+
     private long getRecordStoreHeapCost(String mapName, PartitionContainer container) {
         RecordStore existingRecordStore = container.getExistingRecordStore(mapName);
         if (existingRecordStore == null) {
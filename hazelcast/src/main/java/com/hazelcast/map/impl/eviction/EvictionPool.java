@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.SampledEntry;
+
+import java.util.function.Consumer;
+
+import static com.hazelcast.map.impl.eviction.Evictor.SAMPLE_COUNT;
+
+/**
+ * Keeps the best eviction candidates of a partition across the samplings,
+ * ordered by their eviction score, so the entry evicted by an eviction is
+ * the best one of all the recent samples instead of only the current ones.
+ * <p>
+ * The entries are sampled with {@link com.hazelcast.map.impl.recordstore.Storage#sample}
+ * which continues from where the previous sampling ended, and the pool is
+ * its consumer. The sampled entries are compared with the pooled keys in
+ * place, and a key is copied out of the storage only when its entry enters
+ * the pool, or when it has to be looked up in the expiry system of a map
+ * with expirable entries. The scores of the pooled keys are not updated
+ * until they are sampled again.
+ * <p>
+ * Only used by the partition thread of its partition.
+ */
+final class EvictionPool implements Consumer<SampledEntry<Data, Record>> {
+
+    static final int POOL_SIZE = 16;
+
+    private static final int HITS_SHIFT = 32;
+    private static final long CREATION_TIME_MASK = 0xFFFFFFFFL;
+
+    private final boolean lfu;
+    private final Data[] keys = new Data[POOL_SIZE];
+    private final long[] scores = new long[POOL_SIZE];
+
+    private int size;
+    private int cursor;
+
+    // state of the ongoing sampling
+    private RecordStore recordStore;
+    private Data excludedKey;
+    private long now;
+    private boolean backup;
+    private boolean expirable;
+    private boolean excludedKeySampled;
+
+    EvictionPool(boolean lfu, int cursor) {
+        this.lfu = lfu;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Samples the given record store and returns the key of the best
+     * eviction candidate, or {@code null} if the record store is empty.
+     * The candidate is removed from the pool.
+     *
+     * @param excludedKey this key has the lowest priority
+     *                    to be selected for eviction, and it is nullable.
+     */
+    Data selectEvictableKey(RecordStore recordStore, Data excludedKey, long now, boolean backup) {
+        this.recordStore = recordStore;
+        this.excludedKey = excludedKey;
+        this.now = now;
+        this.backup = backup;
+        this.expirable = !recordStore.getExpirySystem().isEmpty();
+        this.excludedKeySampled = false;
+        try {
+            cursor = recordStore.getStorage().sample(cursor, SAMPLE_COUNT, this);
+        } finally {
+            this.recordStore = null;
+            this.excludedKey = null;
+        }
+
+        while (size > 0) {
+            Data key = removeAt(0);
+            // the key may have been removed since it was sampled
+            if (recordStore.getStorage().containsKey(key)) {
+                return key;
+            }
+        }
+        return excludedKeySampled ? excludedKey : null;
+    }
+
+    @Override
+    public void accept(SampledEntry<Data, Record> entry) {
+        if (excludedKey != null && entry.keyEquals(excludedKey)) {
+            excludedKeySampled = true;
+            return;
+        }
+        // the expiry system can only be looked up with a key instance
+        Data key = expirable ? entry.copyKey() : null;
+        long score = key != null && recordStore.isExpired(key, now, backup) ? Long.MIN_VALUE : score(entry.getRecord());
+
+        int existing = indexOf(entry);
+        if (existing >= 0) {
+            insert(removeAt(existing), score);
+        } else if (size < POOL_SIZE || score < scores[POOL_SIZE - 1]) {
+            insert(key != null ? key : entry.copyKey(), score);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds the given key to the pool, unless the pool is full and all
+     * the pooled keys are better candidates. Updates the score of the
+     * key if it is already in the pool.
+     */
+    void offer(Data key, long score) {
+        int existing = indexOf(key);
+        if (existing >= 0) {
+            removeAt(existing);
+        }
+        insert(key, score);
+    }
+
+    private void insert(Data key, long score) {
+        if (size == POOL_SIZE) {
+            if (score >= scores[POOL_SIZE - 1]) {
+                return;
+            }
+            keys[--size] = null;
+        }
+        int index = size;
+        while (index > 0 && scores[index - 1] > score) {
+            keys[index] = keys[index - 1];
+            scores[index] = scores[index - 1];
+            index--;
+        }
+        keys[index] = key;
+        scores[index] = score;
+        size++;
+    }
+
+    /**
+     * Lower score means better eviction candidate. Matches the out-of-the-box
+     * {@code LRU} and {@code LFU} eviction policy comparators.
+     */
+    private long score(Record record) {
+        if (lfu) {
+            // if hits are same, the oldest entry is the better candidate
+            return ((long) record.getHits() << HITS_SHIFT) | (record.getRawCreationTime() & CREATION_TIME_MASK);
+        }
+        return Math.max(record.getCreationTime(), record.getLastAccessTime());
+    }
+
+    private int indexOf(Data key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(SampledEntry<Data, Record> entry) {
+        for (int i = 0; i < size; i++) {
+            if (entry.keyEquals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Data removeAt(int index) {
+        Data key = keys[index];
+        size--;
+        System.arraycopy(keys, index + 1, keys, index, size - index);
+        System.arraycopy(scores, index + 1, scores, index, size - index);
+        keys[size] = null;
+        return key;
+    }
+}
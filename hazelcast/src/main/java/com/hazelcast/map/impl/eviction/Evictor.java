@@ -77,6 +77,15 @@ public interface Evictor {
      */
     void forceEvictByPercentage(RecordStore recordStore, double evictionPercentage);
 
+    /**
+     * Called when the entry with the given key is created
+     * or accessed, for eviction policies tracking accesses.
+     *
+     * @param dataKey the key of the entry
+     */
+    default void onAccess(Data dataKey) {
+    }
+
     /**
      * Check whether the supplied record-store needs eviction.
      *
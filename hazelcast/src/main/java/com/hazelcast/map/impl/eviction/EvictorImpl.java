@@ -16,7 +16,9 @@
 
 package com.hazelcast.map.impl.eviction;
 
+import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.internal.partition.IPartition;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -39,8 +41,8 @@ public class EvictorImpl implements Evictor {
     protected final EvictionChecker evictionChecker;
     protected final EvictionPolicyComparator policy;
     protected final IPartitionService partitionService;
-
-    private final int batchSize;
+    protected final int batchSize;
+    protected final TinyLFUEvictionPolicyComparator tinyLFUComparator;
 
     public EvictorImpl(EvictionPolicyComparator policy,
                        EvictionChecker evictionChecker, int batchSize,
@@ -50,12 +52,21 @@ public class EvictorImpl implements Evictor {
         this.partitionService = checkNotNull(partitionService);
         this.policy = checkNotNull(policy);
         this.batchSize = batchSize;
+        this.tinyLFUComparator = policy instanceof TinyLFUEvictionPolicyComparator comparator ? comparator : null;
     }
 
     @Override
     public void evict(RecordStore recordStore, Data excludedKey) {
         assertRunningOnPartitionThread();
 
+        if (tinyLFUComparator != null
+                && maxEntryCount(recordStore.getMapContainer().getMapConfig().getEvictionConfig(),
+                partitionService.getPartitionCount()) < 0) {
+            // without an entry count limit, the sketch shared by all
+            // partitions of the map grows with the map, keeping its counters
+            tinyLFUComparator.ensureCapacity((long) recordStore.size() * partitionService.getPartitionCount());
+        }
+
         long now = getNow();
         boolean backup = isBackup(recordStore);
         for (int i = 0; i < batchSize; i++) {
@@ -67,9 +78,22 @@ public class EvictorImpl implements Evictor {
         }
     }
 
+    @Override
+    public void onAccess(Data dataKey) {
+        if (tinyLFUComparator != null) {
+            tinyLFUComparator.recordAccess(dataKey);
+        }
+    }
+
     @Override
     public void forceEvictByPercentage(RecordStore recordStore, double evictionPercentage) {
-        // NOP.
+        assertRunningOnPartitionThread();
+
+        int entryCountToRemove = (int) Math.max(1, recordStore.size() * evictionPercentage);
+        recordStore.sampleAndForceRemoveEntries(entryCountToRemove);
+        // forced eviction runs when an allocation fails, so the removed
+        // entries must be freed before the operation is retried
+        recordStore.disposeDeferredBlocks();
     }
 
     @SuppressWarnings("checkstyle:rvcheckcomparetoforspecificreturnvalue")
@@ -104,8 +128,11 @@ public class EvictorImpl implements Evictor {
 
     private void evictEntry(RecordStore recordStore, EntryView selectedEntry,
                             long now, boolean backup) {
-        Data dataKey = getDataKeyFromEntryView(selectedEntry);
+        evictEntry(recordStore, getDataKeyFromEntryView(selectedEntry), now, backup);
+    }
 
+    protected void evictEntry(RecordStore recordStore, Data dataKey,
+                              long now, boolean backup) {
         if (recordStore.isLocked(dataKey)) {
             return;
         }
@@ -146,6 +173,20 @@ public class EvictorImpl implements Evictor {
         return storage.getRandomSamples(SAMPLE_COUNT);
     }
 
+    /**
+     * Returns the maximum number of entries of a member allowed by the
+     * given eviction config, or {@code -1} if its max size policy does not
+     * limit the entry count. It is used to size the frequency sketch of
+     * {@link com.hazelcast.config.EvictionPolicy#TINY_LFU} maps once.
+     */
+    public static long maxEntryCount(EvictionConfig evictionConfig, int partitionCount) {
+        return switch (evictionConfig.getMaxSizePolicy()) {
+            case PER_NODE -> evictionConfig.getSize();
+            case PER_PARTITION -> (long) evictionConfig.getSize() * partitionCount;
+            default -> -1;
+        };
+    }
+
     protected static long getNow() {
         return Clock.currentTimeMillis();
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.internal.eviction.impl.comparator.LFUEvictionPolicyComparator;
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.eviction.EvictionPolicyComparator;
+
+import static com.hazelcast.internal.util.ThreadUtil.assertRunningOnPartitionThread;
+
+/**
+ * Evictor for {@link com.hazelcast.internal.eviction.EvictionStrategyType#POOL_BASED_EVICTION},
+ * supporting the out-of-the-box {@code LRU} and {@code LFU} eviction policies.
+ * <p>
+ * Every partition has an {@link EvictionPool} keeping the best candidates
+ * of the previous samplings, which are compared with the new samples, so
+ * the eviction approximates the eviction policy better than sampling
+ * based eviction with the same sample count, without allocating entry
+ * views for the samples.
+ */
+public class PoolBasedEvictor extends EvictorImpl {
+
+    private final boolean lfu;
+    private final EvictionPool[] pools;
+
+    public PoolBasedEvictor(EvictionPolicyComparator policy,
+                            EvictionChecker evictionChecker, int batchSize,
+                            IPartitionService partitionService) {
+        super(policy, evictionChecker, batchSize, partitionService);
+        this.lfu = policy == LFUEvictionPolicyComparator.INSTANCE;
+        this.pools = new EvictionPool[partitionService.getPartitionCount()];
+    }
+
+    @Override
+    public void evict(RecordStore recordStore, Data excludedKey) {
+        assertRunningOnPartitionThread();
+
+        long now = getNow();
+        boolean backup = isBackup(recordStore);
+        EvictionPool pool = getOrCreatePool(recordStore.getPartitionId());
+        for (int i = 0; i < batchSize; i++) {
+            Data dataKey = pool.selectEvictableKey(recordStore, excludedKey, now, backup);
+            if (dataKey == null) {
+                return;
+            }
+            evictEntry(recordStore, dataKey, now, backup);
+        }
+    }
+
+    private EvictionPool getOrCreatePool(int partitionId) {
+        EvictionPool pool = pools[partitionId];
+        if (pool == null) {
+            pool = new EvictionPool(lfu, ThreadLocalRandomProvider.get().nextInt(Integer.MAX_VALUE));
+            pools[partitionId] = pool;
+        }
+        return pool;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolBasedEvictor{"
+                + "evictionPolicyComparator=" + policy
+                + ", batchSize=" + batchSize
+                + '}';
+    }
+}
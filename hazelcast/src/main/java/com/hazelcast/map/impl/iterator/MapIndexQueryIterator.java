@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.iteration.IndexIterationPointer;
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.operation.MapFetchIndexOperation;
+import com.hazelcast.map.impl.operation.MapFetchIndexOperation.MapFetchIndexOperationResult;
+import com.hazelcast.map.impl.operation.MapFetchIndexOperation.MissingPartitionException;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.EqualPredicate;
+import com.hazelcast.query.impl.predicates.InPredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
+import com.hazelcast.spi.exception.TargetDisconnectedException;
+import com.hazelcast.spi.exception.TargetNotMemberException;
+import com.hazelcast.spi.exception.WrongTargetException;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Iterator for iterating the entries which satisfy a predicate narrowed down
+ * by a {@link IndexType#SORTED sorted} or {@link IndexType#HASH hash} global
+ * index. Every member scans the index for the partitions it owns, in batches
+ * of {@code fetchSize} index entries, see {@link MapFetchIndexOperation}, and
+ * the whole predicate is evaluated on the fetched entries by the iterator.
+ * The members are scanned one after another. The {@link Iterator#remove()}
+ * method is not supported and will throw a {@link UnsupportedOperationException}.
+ * <p>
+ * The scan of a member is resumed from the {@link IndexIterationPointer}s
+ * returned with the last batch. If some of its partitions migrate, the scan
+ * is split by the new owners of the partitions and every split continues
+ * from the same pointers, so an entry which has not been changed is neither
+ * skipped nor returned twice.
+ *
+ * @param <K> the key type of map.
+ * @param <V> the value type of map.
+ */
+public class MapIndexQueryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+    private static final long DELAY_AFTER_MISSING_PARTITION = MILLISECONDS.toNanos(100);
+
+    private final MapProxyImpl<K, V> mapProxy;
+    private final int fetchSize;
+    private final String indexName;
+    private final Predicate<K, V> predicate;
+    private final InternalSerializationService serializationService;
+    private final Extractors extractors;
+    private final IPartitionService partitionService;
+    private final Address thisAddress;
+    private final Deque<Split> splits = new ArrayDeque<>();
+
+    private List<QueryableEntry<?, ?>> segment = Collections.emptyList();
+    private boolean localSegment;
+    private int index;
+    private Entry<K, V> next;
+
+    MapIndexQueryIterator(MapProxyImpl<K, V> mapProxy, int fetchSize, MapContainer mapContainer,
+                          String indexName, IndexIterationPointer[] pointers, Predicate<K, V> predicate) {
+        this.mapProxy = mapProxy;
+        this.fetchSize = fetchSize;
+        this.indexName = indexName;
+        this.predicate = predicate;
+        this.serializationService = (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService();
+        this.extractors = mapContainer.getExtractors();
+        this.partitionService = mapProxy.getNodeEngine().getPartitionService();
+        this.thisAddress = mapProxy.getNodeEngine().getThisAddress();
+        int partitionCount = partitionService.getPartitionCount();
+        for (Map.Entry<Address, List<Integer>> owned : partitionService.getMemberPartitionsMap().entrySet()) {
+            splits.add(new Split(new PartitionIdSet(partitionCount, owned.getValue()), owned.getKey(), pointers));
+        }
+    }
+
+    /**
+     * Creates an iterator over the entries of the map which satisfy the
+     * given predicate if it can be narrowed down by a sorted or hash global
+     * index: the predicate, or one of its conjuncts, must be an equality, an
+     * {@code IN} or a range predicate on an attribute with such an index.
+     *
+     * @return the iterator, or {@code null} if the predicate can't be
+     * narrowed down by an index
+     */
+    @Nullable
+    public static <K, V> MapIndexQueryIterator<K, V> create(MapProxyImpl<K, V> mapProxy, int fetchSize,
+                                                            Predicate<K, V> predicate) {
+        MapServiceContext mapServiceContext = mapProxy.getService().getMapServiceContext();
+        MapContainer mapContainer = mapServiceContext.getMapContainer(mapProxy.getName());
+        IndexRegistry indexes = mapContainer.getGlobalIndexRegistry();
+        if (!mapContainer.shouldUseGlobalIndex() || indexes == null || !indexes.haveAtLeastOneIndex()) {
+            return null;
+        }
+
+        Scan scan = plan(mapServiceContext.getQueryOptimizer().optimize(predicate, indexes), indexes);
+        if (scan == null) {
+            return null;
+        }
+        return new MapIndexQueryIterator<>(mapProxy, fetchSize, mapContainer, scan.index.getName(), scan.pointers,
+                predicate);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            if (index < segment.size()) {
+                next = matchingEntry(segment.get(index++));
+            } else if (!advance()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Entry<K, V> entry = next;
+        next = null;
+        return entry;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removing when iterating map with query is not supported");
+    }
+
+    private boolean advance() {
+        while (!splits.isEmpty()) {
+            Split split = splits.peekFirst();
+            if (split.pointers.length == 0) {
+                splits.removeFirst();
+                continue;
+            }
+            MapFetchIndexOperationResult result = fetch(split);
+            if (result == null) {
+                splits.removeFirst();
+                splitOnMigration(split);
+                continue;
+            }
+            split.pointers = result.getPointers();
+            segment = result.getEntries();
+            localSegment = split.owner.equals(thisAddress);
+            index = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fetches the next batch of the given split.
+     *
+     * @return the batch, or {@code null} if the partitions of the split
+     * are no longer owned by its member
+     */
+    private MapFetchIndexOperationResult fetch(Split split) {
+        Operation operation = new MapFetchIndexOperation(mapProxy.getName(), indexName, split.pointers,
+                split.partitions, fetchSize);
+        try {
+            return mapProxy.getOperationService()
+                    .<MapFetchIndexOperationResult>invokeOnTarget(MapService.SERVICE_NAME, operation, split.owner)
+                    .joinInternal();
+        } catch (RuntimeException e) {
+            if (isTopologyChange(e)) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the given split with the splits of its partitions by their
+     * current owners, all of them continuing from the pointers of the split.
+     */
+    private void splitOnMigration(Split split) {
+        Map<Address, Split> newSplits = new HashMap<>();
+        PrimitiveIterator.OfInt partitionIterator = split.partitions.intIterator();
+        while (partitionIterator.hasNext()) {
+            int partitionId = partitionIterator.nextInt();
+            Address owner = partitionService.getPartitionOwnerOrWait(partitionId);
+            newSplits.computeIfAbsent(owner, address -> new Split(
+                    new PartitionIdSet(partitionService.getPartitionCount()), address, split.pointers)
+            ).partitions.add(partitionId);
+        }
+        Split newSplit = newSplits.get(split.owner);
+        if (newSplits.size() == 1 && newSplit != null && newSplit.partitions.equals(split.partitions)) {
+            // the owners haven't changed yet, the partitions are still being migrated or indexed
+            LockSupport.parkNanos(DELAY_AFTER_MISSING_PARTITION);
+        }
+        newSplits.values().forEach(splits::addFirst);
+    }
+
+    private Entry<K, V> matchingEntry(QueryableEntry<?, ?> indexEntry) {
+        Data keyData = indexEntry.getKeyDataIfPresent();
+        Object value = indexEntry.getValueDataIfPresent();
+        if (value == null) {
+            value = indexEntry.getValueIfPresent();
+            if (localSegment) {
+                // do not expose the value instance held by the index
+                value = serializationService.toData(value);
+            }
+        }
+        CachedQueryEntry<K, V> entry = new CachedQueryEntry<>(serializationService,
+                keyData != null ? keyData : serializationService.toData(indexEntry.getKeyIfPresent()), value, extractors);
+        return predicate.apply(entry) ? entry : null;
+    }
+
+    @SuppressWarnings("checkstyle:BooleanExpressionComplexity")
+    private static boolean isTopologyChange(Throwable t) {
+        for (; t != null; t = t.getCause()) {
+            if (t instanceof MissingPartitionException
+                    || t instanceof MemberLeftException
+                    || t instanceof TargetDisconnectedException
+                    || t instanceof TargetNotMemberException
+                    || t instanceof WrongTargetException) {
+                return true;
+            }
+            if (t instanceof HazelcastInstanceNotActiveException) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the index and the index ranges to scan for the given optimized
+     * predicate, preferring point lookups to ranges.
+     */
+    private static Scan plan(Predicate predicate, IndexRegistry indexes) {
+        if (predicate instanceof AndPredicate and) {
+            Scan best = null;
+            for (Predicate conjunct : and.getPredicates()) {
+                Scan scan = plan(conjunct, indexes);
+                if (scan != null && (best == null || scan.cost < best.cost)) {
+                    best = scan;
+                }
+            }
+            return best;
+        }
+        if (predicate instanceof InPredicate in) {
+            return planIn(in, indexes);
+        }
+        if (predicate instanceof RangePredicate range) {
+            return planRange(range, indexes);
+        }
+        return null;
+    }
+
+    private static Scan planIn(InPredicate in, IndexRegistry indexes) {
+        InternalIndex index = matchIndex(in.getAttribute(), indexes);
+        if (index == null) {
+            return null;
+        }
+        Set<Comparable> values = new LinkedHashSet<>();
+        for (Comparable value : in.getValues()) {
+            if (value == null) {
+                return null;
+            }
+            values.add(index.getConverter().convert(value));
+        }
+        IndexIterationPointer[] pointers = new IndexIterationPointer[values.size()];
+        int i = 0;
+        for (Comparable value : values) {
+            pointers[i++] = IndexIterationPointer.create(value, true, value, true, false, null);
+        }
+        return new Scan(index, pointers, 1);
+    }
+
+    private static Scan planRange(RangePredicate range, IndexRegistry indexes) {
+        Comparable from = range.getFrom();
+        Comparable to = range.getTo();
+        boolean pointLookup = range instanceof EqualPredicate;
+        if (from == null && to == null) {
+            return null;
+        }
+        InternalIndex index = matchIndex(range.getAttribute(), indexes);
+        if (index == null || !pointLookup && index.getConfig().getType() != IndexType.SORTED) {
+            return null;
+        }
+        TypeConverter converter = index.getConverter();
+        if (pointLookup) {
+            Comparable value = converter.convert(from);
+            return new Scan(index, new IndexIterationPointer[]{IndexIterationPointer.create(value, true, value, true,
+                    false, null)}, 0);
+        }
+        return new Scan(index, new IndexIterationPointer[]{IndexIterationPointer.create(
+                from == null ? null : converter.convert(from), range.isFromInclusive(),
+                to == null ? null : converter.convert(to), range.isToInclusive(), false, null)}, 2);
+    }
+
+    private static InternalIndex matchIndex(String attribute, IndexRegistry indexes) {
+        InternalIndex index = indexes.peekIndex(attribute, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null || index.isComposite() || index.getConverter() == null
+                || indexes.getIndex(index.getName()) != index) {
+            return null;
+        }
+        IndexType type = index.getConfig().getType();
+        return type == IndexType.SORTED || type == IndexType.HASH ? index : null;
+    }
+
+    /**
+     * The index and the index ranges to scan, and the relative cost of the scan.
+     */
+    private record Scan(InternalIndex index, IndexIterationPointer[] pointers, int cost) {
+    }
+
+    /**
+     * The scan of the index on a member, restricted to some of its partitions.
+     */
+    private static final class Split {
+        private final PartitionIdSet partitions;
+        private final Address owner;
+        private IndexIterationPointer[] pointers;
+
+        private Split(PartitionIdSet partitions, Address owner, IndexIterationPointer[] pointers) {
+            this.partitions = partitions;
+            this.owner = owner;
+            this.pointers = pointers;
+        }
+    }
+}
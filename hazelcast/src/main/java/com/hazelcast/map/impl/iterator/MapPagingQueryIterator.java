@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.predicates.PredicateUtils.unwrapPagingPredicate;
+
+/**
+ * Iterator for iterating the entries which satisfy a {@link PagingPredicate},
+ * or a {@link com.hazelcast.query.PartitionPredicate} including one, page
+ * by page. Only the current page is held by the iterator: the next page is
+ * queried when the entries of the current one are consumed and the page of
+ * the paging predicate is advanced. The entries are returned in the order
+ * of the paging predicate, starting from its current page.
+ * The {@link Iterator#remove()} method is not supported and will throw a
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <K> the key type of map.
+ * @param <V> the value type of map.
+ */
+public class MapPagingQueryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+    private final IMap<K, V> map;
+    private final Predicate<K, V> predicate;
+    private final PagingPredicate<K, V> pagingPredicate;
+
+    private Iterator<Entry<K, V>> page = Collections.emptyIterator();
+    private boolean lastPage;
+
+    @SuppressWarnings("unchecked")
+    public MapPagingQueryIterator(IMap<K, V> map, Predicate<K, V> predicate) {
+        this.map = map;
+        this.predicate = predicate;
+        this.pagingPredicate = unwrapPagingPredicate(predicate);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            if (lastPage) {
+                return false;
+            }
+            Set<Entry<K, V>> entries = map.entrySet(predicate);
+            lastPage = entries.size() < pagingPredicate.getPageSize();
+            if (!lastPage) {
+                pagingPredicate.nextPage();
+            }
+            page = entries.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+        if (hasNext()) {
+            return page.next();
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removing when iterating map with query is not supported");
+    }
+}
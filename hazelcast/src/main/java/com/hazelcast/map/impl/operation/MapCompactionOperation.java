@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.spi.exception.PartitionMigratingException;
+import com.hazelcast.spi.impl.operationservice.AbstractLocalOperation;
+import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+
+import java.util.logging.Level;
+
+/**
+ * Runs a slice of the storage compaction of a partition, see
+ * {@link PartitionContainer#compactStorages(int)}. Until the compaction
+ * cycle completes, the operation executes a new operation for the next
+ * slice, so other operations of the partition can run in between.
+ */
+public class MapCompactionOperation extends AbstractLocalOperation
+        implements PartitionAwareOperation {
+
+    private final int maxSlots;
+
+    private transient boolean completed;
+
+    public MapCompactionOperation(int maxSlots) {
+        this.maxSlots = maxSlots;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public void run() throws Exception {
+        completed = getPartitionContainer().compactStorages(maxSlots);
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+        if (completed) {
+            getPartitionContainer().setHasRunningCompaction(false);
+            return;
+        }
+        MapCompactionOperation next = new MapCompactionOperation(maxSlots);
+        next.setNodeEngine(getNodeEngine())
+                .setCallerUuid(getCallerUuid())
+                .setPartitionId(getPartitionId())
+                .setValidateTarget(false)
+                .setServiceName(MapService.SERVICE_NAME);
+        getNodeEngine().getOperationService().execute(next);
+    }
+
+    @Override
+    public void onExecutionFailure(Throwable e) {
+        try {
+            super.onExecutionFailure(e);
+        } finally {
+            getPartitionContainer().setHasRunningCompaction(false);
+        }
+    }
+
+    @Override
+    public void logError(Throwable e) {
+        if (e instanceof PartitionMigratingException) {
+            ILogger logger = getLogger();
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.log(Level.FINEST, e.toString());
+            }
+        } else {
+            super.logError(e);
+        }
+    }
+
+    private PartitionContainer getPartitionContainer() {
+        MapService mapService = getService();
+        return mapService.getMapServiceContext().getPartitionContainer(getPartitionId());
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        super.toString(sb);
+
+        sb.append(", maxSlots=").append(maxSlots);
+    }
+}
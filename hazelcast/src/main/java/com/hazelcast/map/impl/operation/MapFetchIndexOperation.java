@@ -108,7 +108,8 @@ public class MapFetchIndexOperation extends MapOperation implements ReadonlyOper
                 response = runInternalSorted(index);
                 break;
             case BITMAP:
-                throw new UnsupportedOperationException("BITMAP index scan is not implemented");
+            case FULL_TEXT:
+                throw new UnsupportedOperationException(index.getConfig().getType() + " index scan is not implemented");
             default:
                 throw new UnsupportedOperationException(
                         "Unknown index type: \"" + index.getConfig().getType().name() + "\"");
@@ -368,9 +368,7 @@ public abstract class MapOperation extends AbstractNamedOperation
     }
 
     public void disposeDeferredBlocks() {
-        if (!disposeDeferredBlocks
-                || recordStore == null
-                || recordStore.getInMemoryFormat() != NATIVE) {
+        if (!disposeDeferredBlocks || recordStore == null) {
             return;
         }
 
@@ -41,11 +41,15 @@ import com.hazelcast.map.impl.MapEntryReplacingEntryProcessor;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MergeEntryProcessor;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.iterator.AbstractMapQueryIterator;
+import com.hazelcast.map.impl.iterator.MapIndexQueryIterator;
 import com.hazelcast.map.impl.iterator.MapIterable;
 import com.hazelcast.map.impl.iterator.MapIterator;
+import com.hazelcast.map.impl.iterator.MapPagingQueryIterator;
 import com.hazelcast.map.impl.iterator.MapPartitionIterable;
 import com.hazelcast.map.impl.iterator.MapPartitionIterator;
 import com.hazelcast.map.impl.iterator.MapQueryIterable;
+import com.hazelcast.map.impl.iterator.MapQueryIterator;
 import com.hazelcast.map.impl.iterator.MapQueryPartitionIterable;
 import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
@@ -60,7 +64,9 @@ import com.hazelcast.map.impl.querycache.subscriber.SubscriberContext;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.projection.Projection;
+import com.hazelcast.projection.Projections;
 import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
 import com.hazelcast.ringbuffer.ReadResultSet;
@@ -99,6 +105,7 @@ import static com.hazelcast.map.impl.query.QueryResultUtils.transformToSet;
 import static com.hazelcast.map.impl.querycache.subscriber.QueryCacheRequest.newQueryCacheRequest;
 import static com.hazelcast.map.impl.record.Record.UNSET;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.checkDoesNotContainPagingPredicate;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.containsPagingPredicate;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newDelegatingFuture;
 import static java.util.Collections.emptyMap;
@@ -1097,6 +1104,30 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return new MapIterator<>(this, fetchSize, partitionCount, false);
     }
 
+    @Override
+    @Nonnull
+    public Iterator<Entry<K, V>> iterator(int fetchSize, @Nonnull Predicate<K, V> predicate) {
+        checkPositive("fetchSize", fetchSize);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        handleHazelcastInstanceAwareParams(predicate);
+        if (containsPagingPredicate(predicate)) {
+            return new MapPagingQueryIterator<>(this, predicate);
+        }
+        if (predicate instanceof PartitionPredicate<K, V> partitionPredicate) {
+            int[] partitionIds = partitionPredicate.getPartitionKeys().stream()
+                    .mapToInt(partitionService::getPartitionId).distinct().toArray();
+            Predicate<K, V> target = partitionPredicate.getTarget();
+            return new AbstractMapQueryIterator<>(i -> iterator(fetchSize, partitionIds[i], Projections.identity(), target),
+                    partitionIds.length);
+        }
+        Iterator<Entry<K, V>> indexIterator = MapIndexQueryIterator.create(this, fetchSize, predicate);
+        if (indexIterator != null) {
+            return indexIterator;
+        }
+        int partitionCount = partitionService.getPartitionCount();
+        return new MapQueryIterator<>(this, fetchSize, partitionCount, Projections.identity(), predicate);
+    }
+
     /**
      * Returns an iterable providing an iterator for iterating the result
      * of the projection on entries in the {@code partitionId} which
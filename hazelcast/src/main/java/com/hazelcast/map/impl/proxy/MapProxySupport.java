@@ -1366,7 +1366,7 @@ abstract class MapProxySupport<K, V>
     private void addIndexInternal(IndexConfig indexConfig, boolean localOnly) {
         checkNotNull(indexConfig, "Index config cannot be null.");
         checkFalse(isNativeMemoryAndBitmapIndexingEnabled(indexConfig.getType()),
-                "BITMAP indexes are not supported by NATIVE storage");
+                indexConfig.getType() + " indexes are not supported by NATIVE storage");
 
         try {
             AddIndexOperationFactory addIndexOperationFactory = new AddIndexOperationFactory(name, indexConfig);
@@ -1383,7 +1383,7 @@ abstract class MapProxySupport<K, V>
 
     protected boolean isNativeMemoryAndBitmapIndexingEnabled(IndexType indexType) {
         InMemoryFormat mapStoreConfig = mapConfig.getInMemoryFormat();
-        return mapStoreConfig == InMemoryFormat.NATIVE && indexType == IndexType.BITMAP;
+        return mapStoreConfig == InMemoryFormat.NATIVE && (indexType == IndexType.BITMAP || indexType == IndexType.FULL_TEXT);
     }
 
     @Override
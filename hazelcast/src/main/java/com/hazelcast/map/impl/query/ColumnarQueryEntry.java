@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.ColumnarStore;
+import com.hazelcast.query.impl.ColumnarStore.Column;
+import com.hazelcast.query.impl.ColumnarStore.ColumnKind;
+
+import java.io.Serial;
+
+/**
+ * Entry of a full-partition scan which reads the values of columnar
+ * attributes from the {@link ColumnarStore} instead of extracting them from
+ * the entry value, so aggregations of these attributes do not deserialize
+ * the values.
+ * <p>
+ * The columns are read only if the row of the entry was verified to hold
+ * the values of the entry, see {@link ColumnarStore#isUnchangedSince}.
+ *
+ * @param <K> key
+ * @param <V> value
+ */
+class ColumnarQueryEntry<K, V> extends LazyMapEntry<K, V> {
+
+    @Serial
+    private static final long serialVersionUID = 0L;
+
+    private final transient ColumnarStore store;
+    private transient int row = -1;
+
+    ColumnarQueryEntry(ColumnarStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @param row the verified row of the entry, or {@code -1} to extract all attribute values
+     */
+    void setRow(int row) {
+        this.row = row;
+    }
+
+    @Override
+    public Object getAttributeValue(String attributeName) throws QueryException {
+        if (row >= 0) {
+            Column column = store.getColumn(attributeName);
+            if (column != null) {
+                ColumnKind kind = column.getKind();
+                if (kind == ColumnKind.LONG || kind == ColumnKind.DOUBLE || kind == ColumnKind.OBJECT) {
+                    Comparable value = column.get(row);
+                    if (value != null || column.isNull(row)) {
+                        return value;
+                    }
+                }
+            }
+        }
+        return super.getAttributeValue(attributeName);
+    }
+}
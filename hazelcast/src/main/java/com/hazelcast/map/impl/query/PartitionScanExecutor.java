@@ -57,4 +57,10 @@ public interface PartitionScanExecutor {
     QueryableEntriesSegment execute(
             String mapName, Predicate predicate, int partitionId,
             IterationPointer[] pointers, int fetchSize);
+
+    /**
+     * Releases the threads owned by this executor, if any.
+     */
+    default void shutdown() {
+    }
 }
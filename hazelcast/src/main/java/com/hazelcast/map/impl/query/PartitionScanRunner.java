@@ -23,6 +23,8 @@ import com.hazelcast.internal.namespace.NamespaceUtil;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.internal.util.PagingTopK;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.map.impl.MapContainer;
@@ -32,14 +34,19 @@ import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryReason;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.ColumnarStore;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.ColumnarPredicateEvaluator;
+import com.hazelcast.query.impl.predicates.ColumnarPredicateEvaluator.Selection;
 import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -47,7 +54,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.BiConsumer;
 
-import static com.hazelcast.internal.util.SortingUtil.compareAnchor;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
 
@@ -88,6 +94,15 @@ public class PartitionScanRunner {
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
                 pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
 
+        ColumnarStore columnarStore = recordStore.getColumnarStore();
+        if (pagingPredicate == null && columnarStore != null
+                && runColumnar(predicate, recordStore, columnarStore, useCachedValues, extractors, result)) {
+            result.orderAndLimit(null, null);
+            return;
+        }
+
+        // keeps only the entries of the pages up to the requested one instead of all the matching entries
+        PagingTopK topK = pagingPredicate == null ? null : new PagingTopK(pagingPredicate, nearestAnchorEntry);
         recordStore.forEachAfterLoad(new BiConsumer<>() {
             LazyMapEntry queryEntry = new LazyMapEntry();
 
@@ -103,12 +118,16 @@ public class PartitionScanRunner {
                 queryEntry.setRecord(record);
                 queryEntry.setMetadata(recordStore.getOrCreateMetadataStore().get(key));
 
-                if (predicate.apply(queryEntry)
-                        && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
+                if (predicate.apply(queryEntry) && (topK == null || topK.accepts(queryEntry))) {
 
                     // always copy key&value to heap if map is backed by native memory
                     value = nativeMemory ? toHeapData((Data) value) : value;
-                    result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
+                    queryEntry.init(ss, toHeapData(key), value, extractors);
+                    if (topK == null) {
+                        result.add(queryEntry);
+                    } else {
+                        topK.add(queryEntry);
+                    }
 
                     // We can't reuse the existing entry after it was added to the
                     // result. Allocate the new one.
@@ -116,9 +135,67 @@ public class PartitionScanRunner {
                 }
             }
         }, false);
+        if (topK != null) {
+            topK.toSortedList().forEach(result::add);
+        }
         result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
     }
 
+    /**
+     * Runs the scan on the columns of the given store, if the predicate can
+     * be evaluated on them. The entries of the selected rows are checked
+     * against the part of the predicate which could not be evaluated on the
+     * columns. If an entry was updated after its row was populated, which
+     * can only happen if the scan runs concurrently with the updates, the
+     * whole predicate is applied to the entry.
+     *
+     * @return {@code true} if the scan has run, {@code false} if the
+     * predicate can not be evaluated on the columns
+     */
+    private boolean runColumnar(Predicate predicate, RecordStore<Record> recordStore, ColumnarStore columnarStore,
+                                boolean useCachedValues, Extractors extractors, Result result) {
+        recordStore.checkIfLoaded();
+        long modCount = columnarStore.getModCount();
+        Selection selection = ColumnarPredicateEvaluator.select(predicate, columnarStore);
+        if (selection == null) {
+            return false;
+        }
+        Predicate residual = selection.getResidual();
+        long[] rows = selection.getRows();
+        long now = Clock.currentTimeMillis();
+        ColumnarQueryEntry<Object, Object> queryEntry = new ColumnarQueryEntry<>(columnarStore);
+        for (int word = 0; word < rows.length; word++) {
+            long bits = rows[word];
+            while (bits != 0) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                Data key = columnarStore.getKey(row);
+                Record record = key == null ? null : recordStore.getRecord(key);
+                if (record == null || recordStore.hasExpired(key, now, false) != ExpiryReason.NOT_EXPIRED) {
+                    continue;
+                }
+                Object rawValue = record.getValue();
+                Object value = useCachedValues ? getValueOrCachedValue(record, ss) : rawValue;
+                if (value == null) {
+                    continue;
+                }
+                boolean unchanged = columnarStore.isUnchangedSince(row, rawValue, modCount);
+
+                queryEntry.init(ss, key, value, extractors);
+                queryEntry.setRow(unchanged ? row : -1);
+                queryEntry.setRecord(record);
+                queryEntry.setMetadata(recordStore.getOrCreateMetadataStore().get(key));
+
+                if (unchanged ? residual == null || residual.apply(queryEntry) : predicate.apply(queryEntry)) {
+                    result.add(queryEntry);
+                    queryEntry = new ColumnarQueryEntry<>(columnarStore);
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Executes the predicate on a partition chunk. The offset in the partition
      * is defined by the {@code pointers} and the soft limit is defined by the
@@ -159,17 +236,40 @@ public class PartitionScanRunner {
                 if (entries.isEmpty()) {
                     break;
                 }
-                for (Entry<Data, Data> entry : entries) {
-                    QueryableEntry queryEntry = new LazyMapEntry(entry.getKey(), entry.getValue(), ss, extractors);
-                    if (predicate.apply(queryEntry)) {
-                        resultList.add(queryEntry);
-                    }
-                }
+                addMatching(predicate, extractors, entries, resultList);
             }
             return new QueryableEntriesSegment(resultList, localPointers);
         });
     }
 
+    /**
+     * Executes the predicate on the given entries fetched from the record
+     * store of the map, see {@link RecordStore#fetchEntries}.
+     *
+     * @param mapName   the map name
+     * @param predicate the predicate which the entries must match
+     * @param entries   the fetched entries
+     * @return the entries matching the predicate
+     */
+    public List<QueryableEntry> filter(String mapName, Predicate predicate,
+                                       Collection<? extends Entry<Data, Data>> entries) {
+        List<QueryableEntry> resultList = new ArrayList<>();
+        Extractors extractors = mapServiceContext.getExtractors(mapName);
+        NamespaceUtil.runWithNamespace(nodeEngine, MapService.lookupNamespace(nodeEngine, mapName),
+                () -> addMatching(predicate, extractors, entries, resultList));
+        return resultList;
+    }
+
+    private void addMatching(Predicate predicate, Extractors extractors, Collection<? extends Entry<Data, Data>> entries,
+                             List<QueryableEntry> resultList) {
+        for (Entry<Data, Data> entry : entries) {
+            QueryableEntry queryEntry = new LazyMapEntry(entry.getKey(), entry.getValue(), ss, extractors);
+            if (predicate.apply(queryEntry)) {
+                resultList.add(queryEntry);
+            }
+        }
+    }
+
     protected boolean isUseCachedDeserializedValuesEnabled(MapContainer mapContainer, int partitionId) {
         return mapContainer.isUseCachedDeserializedValuesEnabled(partitionId);
     }
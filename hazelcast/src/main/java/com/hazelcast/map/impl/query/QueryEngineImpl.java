@@ -20,6 +20,7 @@ import com.hazelcast.cluster.Address;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.util.IterationType;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
@@ -45,10 +46,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.PrimitiveIterator;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_MAX_PARTITION_SCAN_CPU_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_PARTITION_SCAN_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_TOTAL_PARTITION_SCAN_CPU_TIME;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.SetUtil.allPartitionIds;
 import static java.util.Collections.singletonList;
@@ -88,6 +95,13 @@ public class QueryEngineImpl implements QueryEngine {
     private final ResultProcessorRegistry resultProcessorRegistry;
     private final boolean disableMigrationFallback;
 
+    @Probe(name = MAP_METRIC_QUERY_PARTITION_SCAN_COUNT)
+    private final LongAdder partitionScanCount = new LongAdder();
+    @Probe(name = MAP_METRIC_QUERY_TOTAL_PARTITION_SCAN_CPU_TIME, unit = NS)
+    private final LongAdder totalPartitionScanCpuTime = new LongAdder();
+    @Probe(name = MAP_METRIC_QUERY_MAX_PARTITION_SCAN_CPU_TIME, unit = NS)
+    private final LongAccumulator maxPartitionScanCpuTime = new LongAccumulator(Math::max, 0);
+
     public QueryEngineImpl(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
         this.nodeEngine = mapServiceContext.getNodeEngine();
@@ -349,6 +363,26 @@ public class QueryEngineImpl implements QueryEngine {
         return mapServiceContext.getMapOperationProvider(query.getMapName()).createQueryPartitionOperation(query);
     }
 
+    /**
+     * Records the partition scan of a query run on this member.
+     *
+     * @param cpuTimeNanos the CPU time spent by all the threads scanning
+     *                     the partitions of the query, in nanoseconds
+     */
+    public void recordPartitionScan(long cpuTimeNanos) {
+        partitionScanCount.increment();
+        totalPartitionScanCpuTime.add(cpuTimeNanos);
+        maxPartitionScanCpuTime.accumulate(cpuTimeNanos);
+    }
+
+    long getPartitionScanCount() {
+        return partitionScanCount.sum();
+    }
+
+    long getTotalPartitionScanCpuTime() {
+        return totalPartitionScanCpuTime.sum();
+    }
+
     private static boolean shouldSkipPartitionsQuery(PartitionIdSet partitionIds) {
         return partitionIds == null || partitionIds.isEmpty();
     }
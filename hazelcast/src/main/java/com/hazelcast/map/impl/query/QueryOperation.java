@@ -37,6 +37,7 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.PartitionTaskFactory;
 import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
 import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
@@ -89,38 +90,50 @@ public class QueryOperation extends AbstractNamedOperation implements ReadonlyOp
         switch (getMapInMemoryFormat()) {
             case BINARY:
             case OBJECT:
-                result = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query);
-                return RESPONSE;
-            case NATIVE:
-                boolean useGlobalIndex = getMapServiceContext().getMapContainer(getName()).shouldUseGlobalIndex();
-
-                if (useGlobalIndex) {
-                    // Try to use HD global index
-                    // Don't do map scan because it is not thread-safe
-                    Result indexResult = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query, false);
-                    if (indexResult != null) {
-                        result = indexResult;
-                        return RESPONSE;
-                    }
-                }
-
-                // Offload query run on the partition threads.
-                BitSet queryPartitions = localPartitions();
-                if (query.getPartitionIdSet() != null) {
-                    queryPartitions.and(query.getPartitionIdSet().bitSetCopy());
-                }
-                if (queryPartitions.cardinality() == 0) {
-                    // important to deal with situation of not having any partitions
-                    result = queryRunner.populateEmptyResult(query, Collections.emptyList());
+                if (!isCompactStorageEnabled()) {
+                    result = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query);
                     return RESPONSE;
-                } else {
-                    return new OffloadedImpl(queryRunner, queryPartitions);
                 }
+                // compact storage is not thread-safe either, run the scan on the partition threads
+                return runOnPartitionThreads(queryRunner);
+            case NATIVE:
+                return runOnPartitionThreads(queryRunner);
             default:
                 throw new IllegalArgumentException("Unsupported in memory format");
         }
     }
 
+    private CallStatus runOnPartitionThreads(QueryRunner queryRunner) {
+        boolean useGlobalIndex = getMapServiceContext().getMapContainer(getName()).shouldUseGlobalIndex();
+
+        if (useGlobalIndex) {
+            // Try to use HD global index
+            // Don't do map scan because it is not thread-safe
+            Result indexResult = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query, false);
+            if (indexResult != null) {
+                result = indexResult;
+                return RESPONSE;
+            }
+        }
+
+        // Offload query run on the partition threads.
+        BitSet queryPartitions = localPartitions();
+        if (query.getPartitionIdSet() != null) {
+            queryPartitions.and(query.getPartitionIdSet().bitSetCopy());
+        }
+        if (queryPartitions.cardinality() == 0) {
+            // important to deal with situation of not having any partitions
+            result = queryRunner.populateEmptyResult(query, Collections.emptyList());
+            return RESPONSE;
+        } else {
+            return new OffloadedImpl(queryRunner, queryPartitions);
+        }
+    }
+
+    private boolean isCompactStorageEnabled() {
+        return getNodeEngine().getProperties().getBoolean(ClusterProperty.MAP_COMPACT_STORAGE_ENABLED);
+    }
+
     private int partitionCount() {
         return getNodeEngine().getPartitionService().getPartitionCount();
     }
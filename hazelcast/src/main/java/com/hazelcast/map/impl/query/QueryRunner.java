@@ -29,10 +29,14 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.projection.impl.MultiAttributeProjection;
+import com.hazelcast.projection.impl.SingleAttributeProjection;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import com.hazelcast.query.impl.predicates.QueryOptimizer;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
@@ -143,6 +147,9 @@ public class QueryRunner {
         // then we try to run using an index, but if that doesn't work, we'll try a full table scan
         Iterable<QueryableEntry> entries = runUsingGlobalIndexSafely(predicate, mapContainer,
                 migrationStamp, ownedPartitions.size());
+        if (entries == null) {
+            entries = runUsingCoveringIndexSafely(query, predicate, mapContainer, migrationStamp, ownedPartitions.size());
+        }
 
         if (entries != null && !ownedPartitions.equals(actualPartitions)) {
             assert indexRegistry.isGlobal();
@@ -297,6 +304,44 @@ public class QueryRunner {
         return null;
     }
 
+    /**
+     * Runs the given projection query by scanning an index storing the values
+     * of all the projected attributes, so the values of the entries don't
+     * have to be deserialized to project them.
+     *
+     * @return the matching entries or {@code null} if there is no such index.
+     */
+    protected Iterable<QueryableEntry> runUsingCoveringIndexSafely(Query query, Predicate predicate,
+                                                                   MapContainer mapContainer, int migrationStamp,
+                                                                   int ownedPartitionCount) {
+        String[] attributes = getProjectedAttributes(query.getProjection());
+        if (attributes == null || predicate instanceof PagingPredicateImpl) {
+            return null;
+        }
+        if (!validateMigrationStamp(migrationStamp)) {
+            return null;
+        }
+
+        IndexRegistry indexRegistry = mapContainer.getGlobalIndexRegistry();
+        if (indexRegistry == null || !indexRegistry.isGlobal()) {
+            return null;
+        }
+        Iterable<QueryableEntry> entries = indexRegistry.scanCoveringIndex(predicate, attributes, ownedPartitionCount);
+        if (entries != null && validateMigrationStamp(migrationStamp)) {
+            return entries;
+        }
+        return null;
+    }
+
+    private static String[] getProjectedAttributes(Projection<?, ?> projection) {
+        if (projection instanceof SingleAttributeProjection<?, ?> singleAttributeProjection) {
+            return new String[]{singleAttributeProjection.getAttributePath()};
+        } else if (projection instanceof MultiAttributeProjection<?> multiAttributeProjection) {
+            return multiAttributeProjection.getAttributePaths();
+        }
+        return null;
+    }
+
     protected Result runUsingPartitionScanSafely(Query query, Predicate predicate,
                                                  PartitionIdSet partitions, int migrationStamp) {
 
@@ -339,4 +384,10 @@ public class QueryRunner {
         recordStore.afterOperation(threadIndex);
     }
 
+    /**
+     * Releases the resources held by the partition scan executor.
+     */
+    public void shutdown() {
+        partitionScanExecutor.shutdown();
+    }
 }
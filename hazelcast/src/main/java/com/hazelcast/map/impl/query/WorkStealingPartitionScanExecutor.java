@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.namespace.impl.NodeEngineThreadLocalContext;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntriesSegment;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Implementation of the {@link PartitionScanExecutor} which executes the
+ * partition scan in a parallel fashion on a dedicated work-stealing pool.
+ * <p>
+ * A query is scanned by a number of lanes. Every lane claims the next
+ * partition of the query once it is done with the previous one, so the
+ * partitions are balanced between the lanes regardless of their sizes.
+ * The partitions larger than the segment size are split into segments
+ * using the iteration pointers of the record store: the lane fetches the
+ * segments one after another and forks the evaluation of the predicate on
+ * every segment, which may be taken over by an idle thread of the pool.
+ * <p>
+ * The number of lanes adapts to the load of the operation threads: the
+ * partition and generic threads which are busy running operations, or
+ * have queued operations, compete with the scan for the cores, so they
+ * are subtracted from the parallelism of the pool.
+ * <p>
+ * The CPU time spent by all the threads scanning a query is reported to
+ * the given listener, if the JVM supports measuring the thread CPU time.
+ */
+public class WorkStealingPartitionScanExecutor implements PartitionScanExecutor {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final PartitionScanRunner partitionScanRunner;
+    private final MapServiceContext mapServiceContext;
+    private final OperationExecutor operationExecutor;
+    private final ForkJoinPool pool;
+    private final int segmentSize;
+    private final int timeoutInMillis;
+    private final LongConsumer cpuTimeListener;
+    private final boolean cpuTimeSupported;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public WorkStealingPartitionScanExecutor(PartitionScanRunner partitionScanRunner,
+                                             MapServiceContext mapServiceContext,
+                                             OperationExecutor operationExecutor,
+                                             String threadNamePrefix,
+                                             int parallelism,
+                                             int segmentSize,
+                                             int timeoutInMillis,
+                                             LongConsumer cpuTimeListener) {
+        this.partitionScanRunner = partitionScanRunner;
+        this.mapServiceContext = mapServiceContext;
+        this.operationExecutor = operationExecutor;
+        this.segmentSize = segmentSize;
+        this.timeoutInMillis = timeoutInMillis;
+        this.cpuTimeListener = cpuTimeListener;
+        this.cpuTimeSupported = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        this.pool = new ForkJoinPool(parallelism,
+                forkJoinPool -> new ScanThread(forkJoinPool, threadNamePrefix, nodeEngine), null, false);
+    }
+
+    @Override
+    public void execute(String mapName, Predicate predicate, Collection<Integer> partitions, Result result) {
+        int[] partitionIds = partitions.stream().mapToInt(Integer::intValue).toArray();
+        if (partitionIds.length == 0) {
+            return;
+        }
+        Scan scan = new Scan(mapName, predicate, partitionIds);
+        List<Lane> lanes = new ArrayList<>();
+        for (int i = getParallelism(partitionIds.length); i > 0; i--) {
+            lanes.add(new Lane(scan, result.createSubResult()));
+        }
+
+        ForkJoinTask<Void> task = pool.submit(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(lanes);
+            }
+        });
+        try {
+            task.get(timeoutInMillis, MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            throw rethrow(e);
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw rethrow(e);
+        }
+
+        for (Lane lane : lanes) {
+            result.combine(lane.result);
+        }
+        if (predicate instanceof PagingPredicateImpl pagingPredicate) {
+            Map.Entry<Integer, Map.Entry> nearestAnchorEntry = pagingPredicate.getNearestAnchorEntry();
+            result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+        }
+        if (cpuTimeSupported) {
+            cpuTimeListener.accept(scan.cpuTime.sum());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Parallel execution for a partition chunk query is not supported.
+     */
+    @Override
+    public QueryableEntriesSegment execute(String mapName, Predicate predicate, int partitionId,
+                                           IterationPointer[] pointers, int fetchSize) {
+        return partitionScanRunner.run(mapName, predicate, partitionId, pointers, fetchSize);
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @return the number of lanes to scan the given number of partitions
+     */
+    int getParallelism(int partitionCount) {
+        int parallelism = pool.getParallelism();
+        if (operationExecutor != null) {
+            int operationThreadCount = operationExecutor.getPartitionThreadCount() + operationExecutor.getGenericThreadCount();
+            int busyThreadCount = operationExecutor.getRunningOperationCount() + operationExecutor.getQueueSize();
+            parallelism -= Math.min(busyThreadCount, operationThreadCount);
+        }
+        return Math.max(1, Math.min(parallelism, partitionCount));
+    }
+
+    private boolean isSegmented(Predicate predicate, RecordStore recordStore) {
+        // the paging predicates need the whole partition to find its top entries, the values
+        // of other formats would be serialized by the segment fetch and the entries with expiry
+        // would not be checked for expiration
+        return !(predicate instanceof PagingPredicateImpl)
+                && recordStore.getInMemoryFormat() == InMemoryFormat.BINARY
+                && recordStore.getColumnarStore() == null
+                && !recordStore.isExpirable()
+                && recordStore.size() > segmentSize;
+    }
+
+    private long currentThreadCpuTime() {
+        return cpuTimeSupported ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * The state of the scan of a query shared by its lanes.
+     */
+    private static final class Scan {
+        private final String mapName;
+        private final Predicate predicate;
+        private final int[] partitionIds;
+        private final AtomicInteger nextPartition = new AtomicInteger();
+        private final LongAdder cpuTime = new LongAdder();
+
+        private Scan(String mapName, Predicate predicate, int[] partitionIds) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.partitionIds = partitionIds;
+        }
+    }
+
+    /**
+     * Scans the partitions of a query claimed one by one.
+     * <p>
+     * While joining the forked segments, the lane thread may run them or
+     * other tasks of the pool, which measure their own CPU time, so the
+     * time spent joining is not counted as the time of the lane.
+     */
+    private final class Lane extends RecursiveAction {
+        private final Scan scan;
+        private final Result result;
+        private long joinCpuTime;
+
+        private Lane(Scan scan, Result result) {
+            this.scan = scan;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            long start = currentThreadCpuTime();
+            PartitionIdSet scannedPartitions = new PartitionIdSet(partitionScanRunner.partitionService.getPartitionCount());
+            try {
+                int index;
+                while ((index = scan.nextPartition.getAndIncrement()) < scan.partitionIds.length) {
+                    int partitionId = scan.partitionIds[index];
+                    scanPartition(partitionId);
+                    scannedPartitions.add(partitionId);
+                }
+            } finally {
+                scan.cpuTime.add(currentThreadCpuTime() - start - joinCpuTime);
+            }
+            result.setPartitionIds(scannedPartitions);
+        }
+
+        private void scanPartition(int partitionId) {
+            RecordStore recordStore = mapServiceContext.getPartitionContainer(partitionId).getRecordStore(scan.mapName);
+            if (!isSegmented(scan.predicate, recordStore)) {
+                partitionScanRunner.run(scan.mapName, scan.predicate, partitionId, result);
+                return;
+            }
+
+            recordStore.checkIfLoaded();
+            List<Segment> segments = new ArrayList<>();
+            IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+            while (pointers[pointers.length - 1].getIndex() >= 0) {
+                MapEntriesWithCursor cursor = recordStore.fetchEntries(pointers, segmentSize);
+                pointers = cursor.getIterationPointers();
+                if (cursor.getBatch().isEmpty()) {
+                    break;
+                }
+                Segment segment = new Segment(scan, cursor.getBatch());
+                segment.fork();
+                segments.add(segment);
+            }
+            for (Segment segment : segments) {
+                long joinStart = currentThreadCpuTime();
+                List<QueryableEntry> matchingEntries = segment.join();
+                joinCpuTime += currentThreadCpuTime() - joinStart;
+                matchingEntries.forEach(result::add);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the predicate on a segment of a partition.
+     */
+    private final class Segment extends RecursiveTask<List<QueryableEntry>> {
+        private final Scan scan;
+        private final List<Map.Entry<Data, Data>> entries;
+
+        private Segment(Scan scan, List<Map.Entry<Data, Data>> entries) {
+            this.scan = scan;
+            this.entries = entries;
+        }
+
+        @Override
+        protected List<QueryableEntry> compute() {
+            long start = currentThreadCpuTime();
+            try {
+                return partitionScanRunner.filter(scan.mapName, scan.predicate, entries);
+            } finally {
+                scan.cpuTime.add(currentThreadCpuTime() - start);
+            }
+        }
+    }
+
+    /**
+     * The threads of the pool, which have access to the node engine like
+     * the other threads running queries.
+     */
+    private static final class ScanThread extends ForkJoinWorkerThread {
+        private final NodeEngine nodeEngine;
+
+        private ScanThread(ForkJoinPool pool, String threadNamePrefix, NodeEngine nodeEngine) {
+            super(pool);
+            this.nodeEngine = nodeEngine;
+            setName(threadNamePrefix + getPoolIndex());
+            setContextClassLoader(nodeEngine.getConfigClassLoader());
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            NodeEngineThreadLocalContext.declareNodeEngineReference(nodeEngine);
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            NodeEngineThreadLocalContext.destroyNodeEngineReference();
+            super.onTermination(exception);
+        }
+    }
+}
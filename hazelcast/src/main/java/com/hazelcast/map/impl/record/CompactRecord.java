@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.CompactRecordArena.Layout.VERSION;
+
+/**
+ * Flyweight {@link Record} over a slot of a {@link CompactRecordArena}.
+ * <p>
+ * Holds no state itself, every read and write goes to the arena, so any
+ * number of instances may be created for the same record. The metadata
+ * fields which are not stored by the arena layout behave like the
+ * defaults of {@link Record}. Deserialized values are not cached.
+ *
+ * @param <V> the type of the value of the record
+ */
+public final class CompactRecord<V> implements Record<V> {
+
+    private final CompactRecordArena arena;
+    private int id;
+
+    public CompactRecord(CompactRecordArena arena, int id) {
+        this.arena = arena;
+        this.id = id;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Points this view to the record with the given id, so a single view
+     * can be reused while sampling the records of a storage.
+     *
+     * @return this view
+     */
+    public CompactRecord<V> reset(int id) {
+        this.id = id;
+        return this;
+    }
+
+    public Data getKey() {
+        return arena.getKey(id);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getValue() {
+        return (V) arena.getValue(id);
+    }
+
+    @Override
+    public void setValue(V value) {
+        arena.setValue(id, value);
+    }
+
+    @Override
+    public long getCost() {
+        return arena.getCost(id);
+    }
+
+    @Override
+    public int getVersion() {
+        return arena.getInt(id, VERSION);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        arena.setInt(id, VERSION, version);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return arena.getInt(id, arena.getLayout().hits);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        arena.setInt(id, arena.getLayout().hits, hits);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        if (arena.getLayout().lastStoredTime < 0) {
+            return UNSET;
+        }
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return arena.getLayout().readerWriter;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return arena.getInt(id, arena.getLayout().creationTime);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        arena.setInt(id, arena.getLayout().creationTime, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return arena.getInt(id, arena.getLayout().lastAccessTime);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        arena.setInt(id, arena.getLayout().lastAccessTime, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return arena.getInt(id, arena.getLayout().lastUpdateTime);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        arena.setInt(id, arena.getLayout().lastUpdateTime, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return arena.getInt(id, arena.getLayout().lastStoredTime);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        arena.setInt(id, arena.getLayout().lastStoredTime, lastStoredTime);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CompactRecord<?> that && arena == that.arena && id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactRecord{"
+                + "id=" + id
+                + ", layout=" + arena.getLayout()
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + ", creationTime=" + getRawCreationTime()
+                + '}';
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_WITH_LFU_EVICTION_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_WITH_LRU_EVICTION_READER_WRITER;
+
+/**
+ * Holds the keys, values and metadata of the records of a single record
+ * store in parallel arrays instead of one object per record.
+ * <p>
+ * Every record occupies one slot, identified by its id, in each of the
+ * arrays: the key and the value are referenced from the {@code keys} and
+ * {@code values} arrays and the metadata fields of the record are packed
+ * into the {@code metadata} array, at {@code id * stride}. Only the
+ * metadata fields the map needs, as described by the {@link Layout}, are
+ * stored. Keys are stored as their serialized bytes, so there is no
+ * {@link HeapData} instance per key. With {@code BINARY} in-memory format
+ * values are stored the same way.
+ * <p>
+ * The ids of released records are reused. Not thread-safe, an arena must
+ * only be used by the partition thread owning its record store.
+ * <p>
+ * The arrays grow with the highest id in use, so an arena stays large
+ * after most of its records are released. Compaction moves the records to
+ * the lowest free ids, see {@link #relocate(int)}, and then shrinks the
+ * arrays, see {@link #finishCompaction()}.
+ */
+public final class CompactRecordArena {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+
+    private final Layout layout;
+    private final boolean binary;
+    private final int stride;
+
+    private byte[][] keys = new byte[INITIAL_CAPACITY][];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int[] metadata;
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int nextId;
+    private int compactionLimit = -1;
+
+    /**
+     * @param layout the metadata fields to store for every record
+     * @param binary {@code true} if the values are stored in serialized form
+     */
+    public CompactRecordArena(Layout layout, boolean binary) {
+        this.layout = layout;
+        this.binary = binary;
+        this.stride = layout.stride;
+        this.metadata = new int[INITIAL_CAPACITY * stride];
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Creates a record holding the given key and value and
+     * returns its id. Metadata fields are initialized as in a
+     * freshly created on-heap record.
+     */
+    public int allocate(Data key, Object value) {
+        int id = freeCount > 0 ? freeIds[--freeCount] : nextId();
+        keys[id] = key.toByteArray();
+        setValue(id, value);
+        int base = id * stride;
+        Arrays.fill(metadata, base, base + stride, 0);
+        if (layout.lastAccessTime >= 0) {
+            metadata[base + layout.lastAccessTime] = layout == Layout.FULL ? UNSET : 0;
+        }
+        if (layout == Layout.FULL) {
+            metadata[base + layout.lastUpdateTime] = UNSET;
+            metadata[base + layout.creationTime] = UNSET;
+            metadata[base + layout.lastStoredTime] = UNSET;
+        }
+        return id;
+    }
+
+    /**
+     * Releases the given record, its id may be returned by a subsequent
+     * {@link #allocate(Data, Object)} call.
+     */
+    public void release(int id) {
+        keys[id] = null;
+        values[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount << 1);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    /**
+     * Releases all the records.
+     */
+    public void clear() {
+        keys = new byte[INITIAL_CAPACITY][];
+        values = new Object[INITIAL_CAPACITY];
+        metadata = new int[INITIAL_CAPACITY * stride];
+        freeIds = new int[INITIAL_CAPACITY];
+        freeCount = 0;
+        nextId = 0;
+        compactionLimit = -1;
+    }
+
+    /**
+     * @return {@code true} if at least half of the ids below the highest
+     * one in use are free, so compaction would shrink the arrays
+     */
+    public boolean isFragmented() {
+        return nextId > INITIAL_CAPACITY && freeCount >= nextId >> 1;
+    }
+
+    /**
+     * Starts a compaction: the records with an id not lower than the number
+     * of records in use will be moved below it by {@link #relocate(int)}.
+     */
+    public void startCompaction() {
+        compactionLimit = nextId - freeCount;
+    }
+
+    /**
+     * Moves the given record to a free id below the compaction limit, if
+     * it is above the limit and there is such a free id. The old id is not
+     * reused until {@link #finishCompaction()} is called.
+     *
+     * @return the new id of the record, or the given one if it was not moved
+     */
+    public int relocate(int id) {
+        if (compactionLimit < 0 || id < compactionLimit) {
+            return id;
+        }
+        while (freeCount > 0) {
+            int target = freeIds[--freeCount];
+            // free ids above the limit are dropped, finishCompaction() collects them again
+            if (target < compactionLimit) {
+                keys[target] = keys[id];
+                values[target] = values[id];
+                System.arraycopy(metadata, id * stride, metadata, target * stride, stride);
+                keys[id] = null;
+                values[id] = null;
+                return target;
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Completes the compaction: collects the free ids below the highest
+     * one in use and shrinks the arrays to fit it.
+     *
+     * @return the number of bytes released by shrinking the arrays
+     */
+    public long finishCompaction() {
+        compactionLimit = -1;
+        int last = nextId - 1;
+        while (last >= 0 && keys[last] == null) {
+            last--;
+        }
+        nextId = last + 1;
+        freeCount = 0;
+        for (int id = last - 1; id >= 0; id--) {
+            // pushed in descending order, so the lowest ids are reused first
+            if (keys[id] == null) {
+                if (freeCount == freeIds.length) {
+                    freeIds = Arrays.copyOf(freeIds, freeCount << 1);
+                }
+                freeIds[freeCount++] = id;
+            }
+        }
+        int newCapacity = Math.max(INITIAL_CAPACITY, nextId + (nextId >> 1));
+        if (newCapacity >= keys.length) {
+            return 0;
+        }
+        long slotCost = 2L * REFERENCE_COST_IN_BYTES + (long) stride * INT_SIZE_IN_BYTES;
+        long released = (keys.length - newCapacity) * slotCost;
+        keys = Arrays.copyOf(keys, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        metadata = Arrays.copyOf(metadata, newCapacity * stride);
+        if (freeIds.length > INITIAL_CAPACITY && freeCount < freeIds.length >> 2) {
+            released += (long) (freeIds.length - Math.max(INITIAL_CAPACITY, freeCount)) * INT_SIZE_IN_BYTES;
+            freeIds = Arrays.copyOf(freeIds, Math.max(INITIAL_CAPACITY, freeCount));
+        }
+        return released;
+    }
+
+    public Data getKey(int id) {
+        return new HeapData(keys[id]);
+    }
+
+    /**
+     * Compares the stored key with the given one using the same rules
+     * as {@link HeapData#equals(Object)}: the partition hash is ignored.
+     */
+    public boolean keyEquals(int id, Data key) {
+        byte[] stored = keys[id];
+        byte[] bytes = key.toByteArray();
+        if (stored == bytes) {
+            return true;
+        }
+        if (stored == null || bytes == null || stored.length != bytes.length) {
+            return false;
+        }
+        return Arrays.equals(stored, TYPE_OFFSET, stored.length, bytes, TYPE_OFFSET, bytes.length);
+    }
+
+    public Object getValue(int id) {
+        Object value = values[id];
+        return binary && value != null ? new HeapData((byte[]) value) : value;
+    }
+
+    public void setValue(int id, Object value) {
+        values[id] = binary && value != null ? ((Data) value).toByteArray() : value;
+    }
+
+    int getInt(int id, int field) {
+        return field >= 0 ? metadata[id * stride + field] : UNSET;
+    }
+
+    void setInt(int id, int field, int value) {
+        if (field >= 0) {
+            metadata[id * stride + field] = value;
+        }
+    }
+
+    /**
+     * Returns the heap cost of the given record: its slots in the arena
+     * arrays and the byte arrays of its key and value. For {@code OBJECT}
+     * in-memory format the cost is not calculated, as for on-heap records.
+     */
+    long getCost(int id) {
+        if (!binary) {
+            return 0L;
+        }
+        long cost = 2L * REFERENCE_COST_IN_BYTES + (long) stride * INT_SIZE_IN_BYTES
+                + ARRAY_HEADER_SIZE_IN_BYTES + keys[id].length;
+        byte[] value = (byte[]) values[id];
+        return value != null ? cost + ARRAY_HEADER_SIZE_IN_BYTES + value.length : cost;
+    }
+
+    private int nextId() {
+        if (nextId == keys.length) {
+            int newCapacity = keys.length + (keys.length >> 1);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            metadata = Arrays.copyOf(metadata, newCapacity * stride);
+        }
+        return nextId++;
+    }
+
+    /**
+     * The metadata fields stored for every record, matching the fields of
+     * the on-heap record which would be created for the same map config.
+     * The field values are offsets in the per-record metadata, or {@code -1}
+     * if the field is not stored.
+     */
+    public enum Layout {
+        /**
+         * Version only, see {@link SimpleRecord}.
+         */
+        SIMPLE(1, -1, -1, -1, -1, -1, SIMPLE_DATA_RECORD_READER_WRITER),
+        /**
+         * Version and last access time, see {@link SimpleRecordWithLRUEviction}.
+         */
+        LRU(2, -1, 1, -1, -1, -1, SIMPLE_DATA_RECORD_WITH_LRU_EVICTION_READER_WRITER),
+        /**
+         * Version and hits, see {@link SimpleRecordWithLFUEviction}.
+         */
+        LFU(2, 1, -1, -1, -1, -1, SIMPLE_DATA_RECORD_WITH_LFU_EVICTION_READER_WRITER),
+        /**
+         * All fields, see {@link DataRecordWithStats}.
+         */
+        FULL(6, 1, 2, 3, 4, 5, DATA_RECORD_WITH_STATS_READER_WRITER);
+
+        static final int VERSION = 0;
+
+        final int stride;
+        final int hits;
+        final int lastAccessTime;
+        final int lastUpdateTime;
+        final int creationTime;
+        final int lastStoredTime;
+        final RecordReaderWriter readerWriter;
+
+        @SuppressWarnings("checkstyle:parameternumber")
+        Layout(int stride, int hits, int lastAccessTime, int lastUpdateTime,
+               int creationTime, int lastStoredTime, RecordReaderWriter readerWriter) {
+            this.stride = stride;
+            this.hits = hits;
+            this.lastAccessTime = lastAccessTime;
+            this.lastUpdateTime = lastUpdateTime;
+            this.creationTime = creationTime;
+            this.lastStoredTime = lastStoredTime;
+            this.readerWriter = readerWriter;
+        }
+    }
+}
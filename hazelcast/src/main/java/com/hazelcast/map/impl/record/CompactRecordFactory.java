@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.record.CompactRecordArena.Layout;
+
+import java.util.Arrays;
+
+import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
+
+/**
+ * Creates {@link CompactRecord}s for maps with {@link InMemoryFormat#BINARY}
+ * or {@link InMemoryFormat#OBJECT} in-memory format. All the records of a
+ * partition live in a single {@link CompactRecordArena}, whose layout is
+ * chosen from the map config the same way {@link DataRecordFactory} and
+ * {@link ObjectRecordFactory} choose the record class.
+ * <p>
+ * A newly created record is pending until a storage takes its ownership
+ * with {@link #claim(CompactRecord)}. Pending records are released by
+ * {@link #disposePending()}. Created for every partition and used only by
+ * the partition thread.
+ */
+public class CompactRecordFactory implements RecordFactory<Object> {
+
+    private static final int INITIAL_PENDING_CAPACITY = 8;
+
+    private final boolean binary;
+    private final CompactRecordArena arena;
+    private final SerializationService ss;
+
+    private int[] pending = new int[INITIAL_PENDING_CAPACITY];
+    private int pendingCount;
+
+    public CompactRecordFactory(MapContainer mapContainer, SerializationService ss) {
+        MapConfig mapConfig = mapContainer.getMapConfig();
+        this.binary = mapConfig.getInMemoryFormat() == InMemoryFormat.BINARY;
+        this.arena = new CompactRecordArena(layoutOf(mapConfig, mapContainer.getEvictor() != NULL_EVICTOR), binary);
+        this.ss = ss;
+    }
+
+    @Override
+    public Record<Object> newRecord(Data key, Object value) {
+        Object storedValue = binary ? ss.toData(value) : ss.toObject(value);
+        int id = arena.allocate(key, storedValue);
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = id;
+        return new CompactRecord<>(arena, id);
+    }
+
+    public CompactRecordArena getArena() {
+        return arena;
+    }
+
+    /**
+     * Takes the ownership of the given record, so it is not
+     * released anymore by {@link #disposePending()}.
+     *
+     * @return {@code true} if the record was pending, {@code false} otherwise
+     */
+    public boolean claim(CompactRecord<?> record) {
+        int id = record.id();
+        for (int i = pendingCount - 1; i >= 0; i--) {
+            if (pending[i] == id) {
+                pending[i] = pending[--pendingCount];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the records which were created but never claimed.
+     */
+    public void disposePending() {
+        for (int i = 0; i < pendingCount; i++) {
+            arena.release(pending[i]);
+        }
+        pendingCount = 0;
+        if (pending.length > INITIAL_PENDING_CAPACITY) {
+            pending = new int[INITIAL_PENDING_CAPACITY];
+        }
+    }
+
+    static Layout layoutOf(MapConfig mapConfig, boolean hasEviction) {
+        if (mapConfig.isPerEntryStatsEnabled()) {
+            return Layout.FULL;
+        }
+
+        if (hasEviction) {
+            EvictionPolicy evictionPolicy = mapConfig.getEvictionConfig().getEvictionPolicy();
+            if (evictionPolicy == EvictionPolicy.LRU || evictionPolicy == EvictionPolicy.TINY_LFU) {
+                return Layout.LRU;
+            }
+
+            if (evictionPolicy == EvictionPolicy.LFU) {
+                return Layout.LFU;
+            }
+
+            if (evictionPolicy == EvictionPolicy.RANDOM) {
+                return Layout.SIMPLE;
+            }
+
+            return Layout.FULL;
+        }
+
+        return Layout.SIMPLE;
+    }
+}
@@ -59,7 +59,8 @@ public class DataRecordFactory implements RecordFactory<Data> {
         }
 
         if (hasEviction) {
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LRU) {
+            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LRU
+                    || mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.TINY_LFU) {
                 return new CachedSimpleRecordWithLRUEviction(valueData);
             }
 
@@ -84,7 +85,8 @@ public class DataRecordFactory implements RecordFactory<Data> {
         }
 
         if (hasEviction) {
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LRU) {
+            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LRU
+                    || mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.TINY_LFU) {
                 return new SimpleRecordWithLRUEviction<>(valueData);
             }
 
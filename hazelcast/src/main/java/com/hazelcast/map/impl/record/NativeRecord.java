@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.function.LongPredicate;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * A {@link Record} whose key, value and metadata live in native memory.
+ * <p>
+ * Instances of this class are flyweights over a native record block, so
+ * every getter and setter reads from and writes to native memory and any
+ * number of instances may point to the same block. The value is held in
+ * a separate native block which is replaced when the value changes, so
+ * the address of a record stays stable for its whole lifetime.
+ * <p>
+ * Layout of a record block:
+ * <pre>
+ * | value address (8) | value size (4) | version (4) | hits (4) | last access time (4) |
+ * | last update time (4) | creation time (4) | last stored time (4) | key size (4) | key bytes |
+ * </pre>
+ * Values returned by {@link #getValue()} and {@link #getKey()} are on-heap
+ * copies, so they stay valid after the record is disposed. A record
+ * instance must only be used by the partition thread owning the record.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class NativeRecord implements Record<Data> {
+
+    static final int VALUE_ADDRESS_OFFSET = 0;
+    static final int VALUE_SIZE_OFFSET = VALUE_ADDRESS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int VERSION_OFFSET = VALUE_SIZE_OFFSET + INT_SIZE_IN_BYTES;
+    static final int HITS_OFFSET = VERSION_OFFSET + INT_SIZE_IN_BYTES;
+    static final int LAST_ACCESS_TIME_OFFSET = HITS_OFFSET + INT_SIZE_IN_BYTES;
+    static final int LAST_UPDATE_TIME_OFFSET = LAST_ACCESS_TIME_OFFSET + INT_SIZE_IN_BYTES;
+    static final int CREATION_TIME_OFFSET = LAST_UPDATE_TIME_OFFSET + INT_SIZE_IN_BYTES;
+    static final int LAST_STORED_TIME_OFFSET = CREATION_TIME_OFFSET + INT_SIZE_IN_BYTES;
+    static final int KEY_SIZE_OFFSET = LAST_STORED_TIME_OFFSET + INT_SIZE_IN_BYTES;
+    static final int KEY_OFFSET = KEY_SIZE_OFFSET + INT_SIZE_IN_BYTES;
+
+    private final MemoryManager memoryManager;
+    private long address;
+
+    public NativeRecord(MemoryManager memoryManager, long address) {
+        assert address != NULL_ADDRESS;
+        this.memoryManager = memoryManager;
+        this.address = address;
+    }
+
+    /**
+     * Allocates a new record block holding a copy of the given key and value.
+     *
+     * @return the new record
+     * @throws com.hazelcast.memory.NativeOutOfMemoryError if there is not enough native memory
+     */
+    public static NativeRecord allocate(MemoryManager memoryManager, Data key, Data value) {
+        MemoryAllocator allocator = memoryManager.getAllocator();
+        MemoryAccessor mem = memoryManager.getAccessor();
+        int keySize = key.totalSize();
+        long address = allocator.allocate(KEY_OFFSET + keySize);
+        mem.putInt(address + KEY_SIZE_OFFSET, keySize);
+        mem.copyFromByteArray(key.toByteArray(), 0, address + KEY_OFFSET, keySize);
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, UNSET);
+        mem.putInt(address + CREATION_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, UNSET);
+
+        NativeRecord record = new NativeRecord(memoryManager, address);
+        try {
+            record.setValue(value);
+        } catch (Error e) {
+            allocator.free(address, KEY_OFFSET + keySize);
+            throw e;
+        }
+        return record;
+    }
+
+    public long address() {
+        return address;
+    }
+
+    /**
+     * Points this view to the record block at the given address, so a single
+     * view can be reused while sampling the records of a storage.
+     *
+     * @return this view
+     */
+    public NativeRecord reset(long address) {
+        assert address != NULL_ADDRESS;
+        this.address = address;
+        return this;
+    }
+
+    public int getKeySize() {
+        return memoryManager.getAccessor().getInt(address + KEY_SIZE_OFFSET);
+    }
+
+    /**
+     * @return the size of the record block, without the value block
+     */
+    public int getBlockSize() {
+        return KEY_OFFSET + getKeySize();
+    }
+
+    /**
+     * @return an on-heap copy of the key of this record
+     */
+    public Data getKey() {
+        MemoryAccessor mem = memoryManager.getAccessor();
+        byte[] bytes = new byte[getKeySize()];
+        mem.copyToByteArray(address + KEY_OFFSET, bytes, 0, bytes.length);
+        return new HeapData(bytes);
+    }
+
+    /**
+     * Compares the stored key with the given one using the same rules
+     * as {@link HeapData#equals(Object)}: the partition hash is ignored.
+     */
+    public boolean keyEquals(Data key) {
+        return keyEquals(memoryManager.getAccessor(), address, key);
+    }
+
+    /**
+     * Same as {@link #keyEquals(Data)} but does not require a record
+     * instance for the record block at the given address.
+     */
+    public static boolean keyEquals(MemoryAccessor mem, long address, Data key) {
+        byte[] bytes = key.toByteArray();
+        int keySize = mem.getInt(address + KEY_SIZE_OFFSET);
+        if (bytes == null || bytes.length != keySize) {
+            return bytes == null && keySize == 0;
+        }
+        long keyAddress = address + KEY_OFFSET;
+        for (int i = keySize - 1; i >= TYPE_OFFSET; i--) {
+            if (mem.getByte(keyAddress + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Data getValue() {
+        MemoryAccessor mem = memoryManager.getAccessor();
+        long valueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        if (valueAddress == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] bytes = new byte[mem.getInt(address + VALUE_SIZE_OFFSET)];
+        mem.copyToByteArray(valueAddress, bytes, 0, bytes.length);
+        return new HeapData(bytes);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        MemoryAccessor mem = memoryManager.getAccessor();
+        MemoryAllocator allocator = memoryManager.getAllocator();
+        long newValueAddress = NULL_ADDRESS;
+        int newValueSize = 0;
+        if (value != null && value.totalSize() > 0) {
+            newValueSize = value.totalSize();
+            newValueAddress = allocator.allocate(newValueSize);
+            mem.copyFromByteArray(value.toByteArray(), 0, newValueAddress, newValueSize);
+        }
+        freeValue();
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, newValueAddress);
+        mem.putInt(address + VALUE_SIZE_OFFSET, newValueSize);
+    }
+
+    /**
+     * @return the number of native memory bytes requested for this record and its value
+     */
+    @Override
+    public long getCost() {
+        MemoryAccessor mem = memoryManager.getAccessor();
+        return KEY_OFFSET + getKeySize() + mem.getInt(address + VALUE_SIZE_OFFSET);
+    }
+
+    /**
+     * Copies the record block to a newly allocated block and frees this one.
+     * The new block points to the same value block. This record must not be
+     * used afterwards.
+     *
+     * @return the record over the new block
+     * @throws com.hazelcast.memory.NativeOutOfMemoryError if there is not enough native memory
+     */
+    public NativeRecord relocate() {
+        MemoryAllocator allocator = memoryManager.getAllocator();
+        int size = getBlockSize();
+        long newAddress = allocator.allocate(size);
+        memoryManager.getAccessor().copyMemory(address, newAddress, size);
+        allocator.free(address, size);
+        return new NativeRecord(memoryManager, newAddress);
+    }
+
+    /**
+     * Copies the value block to a newly allocated block and frees
+     * the current one, if the given predicate accepts its address.
+     *
+     * @return the size of the moved value block, {@code 0} if it was not moved
+     * @throws com.hazelcast.memory.NativeOutOfMemoryError if there is not enough native memory
+     */
+    public int relocateValue(LongPredicate predicate) {
+        MemoryAccessor mem = memoryManager.getAccessor();
+        long valueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        if (valueAddress == NULL_ADDRESS || !predicate.test(valueAddress)) {
+            return 0;
+        }
+        MemoryAllocator allocator = memoryManager.getAllocator();
+        int size = mem.getInt(address + VALUE_SIZE_OFFSET);
+        long newValueAddress = allocator.allocate(size);
+        mem.copyMemory(valueAddress, newValueAddress, size);
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, newValueAddress);
+        allocator.free(valueAddress, size);
+        return size;
+    }
+
+    /**
+     * Frees the value and the record block. The record must not be used afterwards.
+     */
+    public void dispose() {
+        int keySize = getKeySize();
+        freeValue();
+        memoryManager.getAllocator().free(address, KEY_OFFSET + keySize);
+    }
+
+    private void freeValue() {
+        MemoryAccessor mem = memoryManager.getAccessor();
+        long valueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        if (valueAddress != NULL_ADDRESS) {
+            memoryManager.getAllocator().free(valueAddress, mem.getInt(address + VALUE_SIZE_OFFSET));
+        }
+    }
+
+    @Override
+    public int getVersion() {
+        return getInt(VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        putInt(VERSION_OFFSET, version);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getInt(LAST_ACCESS_TIME_OFFSET));
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        putInt(LAST_ACCESS_TIME_OFFSET, stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getInt(LAST_UPDATE_TIME_OFFSET));
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        putInt(LAST_UPDATE_TIME_OFFSET, stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getInt(CREATION_TIME_OFFSET));
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        putInt(CREATION_TIME_OFFSET, stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return getInt(HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        putInt(HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getInt(LAST_STORED_TIME_OFFSET);
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        putInt(LAST_STORED_TIME_OFFSET, stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return getInt(CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        putInt(CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return getInt(LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        putInt(LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return getInt(LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        putInt(LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return getInt(LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        putInt(LAST_STORED_TIME_OFFSET, lastStoredTime);
+    }
+
+    private int getInt(int offset) {
+        return memoryManager.getAccessor().getInt(address + offset);
+    }
+
+    private void putInt(int offset, int value) {
+        memoryManager.getAccessor().putInt(address + offset, value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof NativeRecord that && address == that.address;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(address);
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{"
+                + "address=" + address
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + ", creationTime=" + getRawCreationTime()
+                + '}';
+    }
+}
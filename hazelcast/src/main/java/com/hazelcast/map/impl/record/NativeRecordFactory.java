@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import java.util.Arrays;
+
+/**
+ * Creates {@link NativeRecord}s for maps with
+ * {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory format.
+ * <p>
+ * A newly created record is pending until a storage takes its ownership
+ * with {@link #claim(NativeRecord)}. Pending records, for example the ones
+ * created by an operation which failed before putting the record, are
+ * freed by {@link #disposePending()}. Created for every partition and
+ * used only by the partition thread.
+ */
+public class NativeRecordFactory implements RecordFactory<Data> {
+
+    private static final int INITIAL_PENDING_CAPACITY = 8;
+
+    private final MemoryManager memoryManager;
+    private final SerializationService ss;
+
+    private long[] pending = new long[INITIAL_PENDING_CAPACITY];
+    private int pendingCount;
+
+    public NativeRecordFactory(MemoryManager memoryManager, SerializationService ss) {
+        this.memoryManager = memoryManager;
+        this.ss = ss;
+    }
+
+    @Override
+    public Record<Data> newRecord(Data key, Object value) {
+        NativeRecord record = NativeRecord.allocate(memoryManager, key, ss.toData(value));
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = record.address();
+        return record;
+    }
+
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    /**
+     * Takes the ownership of the given record, so it is not
+     * freed anymore by {@link #disposePending()}.
+     *
+     * @return {@code true} if the record was pending, {@code false} otherwise
+     */
+    public boolean claim(NativeRecord record) {
+        long address = record.address();
+        for (int i = pendingCount - 1; i >= 0; i--) {
+            if (pending[i] == address) {
+                pending[i] = pending[--pendingCount];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Frees the records which were created but never claimed.
+     */
+    public void disposePending() {
+        for (int i = 0; i < pendingCount; i++) {
+            new NativeRecord(memoryManager, pending[i]).dispose();
+        }
+        pendingCount = 0;
+        if (pending.length > INITIAL_PENDING_CAPACITY) {
+            pending = new long[INITIAL_PENDING_CAPACITY];
+        }
+    }
+}
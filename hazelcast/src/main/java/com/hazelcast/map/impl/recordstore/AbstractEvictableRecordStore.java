@@ -182,6 +182,7 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     @Override
     public void accessRecord(Data dataKey, Record record, long now) {
         record.onAccess(now);
+        mapContainer.getEvictor().onAccess(dataKey);
         updateStatsOnGet(now);
         expirySystem.extendExpiryTime(dataKey, now);
     }
@@ -37,15 +37,20 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.MapStoreWrapper;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
+import com.hazelcast.map.impl.record.CompactRecordFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.RecordReaderWriter;
+import com.hazelcast.query.impl.ColumnarStore;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.wan.impl.CallerProvenance;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 
 /**
  * Contains record store common parts.
@@ -57,6 +62,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     protected final LockStore lockStore;
     protected final MapContainer mapContainer;
     protected final InMemoryFormat inMemoryFormat;
+    protected final boolean compactStorageEnabled;
     protected final MapStoreContext mapStoreContext;
     protected final ValueComparator valueComparator;
     protected final MapServiceContext mapServiceContext;
@@ -68,6 +74,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     protected RecordFactory recordFactory;
     protected Storage<Data, Record> storage;
     protected IndexingMutationObserver<Record> indexingObserver;
+    protected ColumnarStore columnarStore;
 
     protected AbstractRecordStore(MapContainer mapContainer, int partitionId) {
         this.name = mapContainer.getName();
@@ -77,6 +84,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         this.serializationService = nodeEngine.getSerializationService();
         this.inMemoryFormat = mapContainer.getMapConfig().getInMemoryFormat();
+        this.compactStorageEnabled = nodeEngine.getProperties().getBoolean(ClusterProperty.MAP_COMPACT_STORAGE_ENABLED);
         this.valueComparator = mapServiceContext.getValueComparatorOf(inMemoryFormat);
         this.mapStoreContext = mapContainer.getMapStoreContext();
         this.mapDataStore = mapStoreContext.getMapStoreManager().getMapDataStore(name, partitionId);
@@ -87,11 +95,16 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     // overridden in different context
     RecordFactory createRecordFactory() {
         MapConfig mapConfig = mapContainer.getMapConfig();
+        if (compactStorageEnabled && mapConfig.getInMemoryFormat() != InMemoryFormat.NATIVE) {
+            return new CompactRecordFactory(mapContainer, serializationService);
+        }
         switch (mapConfig.getInMemoryFormat()) {
             case BINARY:
                 return new DataRecordFactory(mapContainer, serializationService);
             case OBJECT:
                 return new ObjectRecordFactory(mapContainer, serializationService);
+            case NATIVE:
+                return new NativeRecordFactory(mapServiceContext.getNativeMemoryManager(), serializationService);
             default:
                 throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
         }
@@ -130,6 +143,18 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
+
+        // Add observer for columnar store
+        List<String> columnarAttributes = mapContainer.getMapConfig().getColumnarAttributes();
+        if (!columnarAttributes.isEmpty() && inMemoryFormat != InMemoryFormat.NATIVE) {
+            columnarStore = new ColumnarStore(columnarAttributes);
+            mutationObserver.add(new ColumnarMutationObserver(columnarStore, this, serializationService));
+        }
+    }
+
+    @Override
+    public ColumnarStore getColumnarStore() {
+        return columnarStore;
     }
 
     public IndexingMutationObserver<Record> getIndexingObserver() {
@@ -169,13 +194,23 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
             // has no creation-time field but last-access-time field.
             record.setLastAccessTime(now);
         }
+        mapContainer.getEvictor().onAccess(key);
 
         updateStatsOnPut(false, now);
         return record;
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
-        return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
+        if (memoryFormat == InMemoryFormat.NATIVE) {
+            mapServiceContext.getStorageCompactionTask().schedule();
+            return new NativeStorageImpl((NativeRecordFactory) recordFactory, getExpirySystem(), serializationService);
+        }
+        if (recordFactory instanceof CompactRecordFactory compactRecordFactory) {
+            mapServiceContext.getStorageCompactionTask().schedule();
+            return new CompactStorageImpl(memoryFormat, compactRecordFactory, getExpirySystem(), serializationService);
+        }
+        return new StorageImpl(memoryFormat, getExpirySystem(), serializationService,
+                mapContainer.getMapConfig().isValueCompressionEnabled());
     }
 
     @Override
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.query.impl.ColumnarStore;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import javax.annotation.Nonnull;
+
+import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
+
+/**
+ * Keeps the {@link ColumnarStore} of a record store in sync with its
+ * records. Unlike indexes, the store is maintained on backup replicas
+ * too, so it is up to date when a backup is promoted.
+ */
+public class ColumnarMutationObserver implements MutationObserver<Record> {
+
+    private final ColumnarStore store;
+    private final MapContainer mapContainer;
+    private final SerializationService ss;
+    private final RecordStore recordStore;
+
+    public ColumnarMutationObserver(ColumnarStore store, RecordStore recordStore, SerializationService ss) {
+        this.store = store;
+        this.mapContainer = recordStore.getMapContainer();
+        this.recordStore = recordStore;
+        this.ss = ss;
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+        put(key, record);
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+        put(key, record);
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record,
+                               Object oldValue, Object newValue, boolean backup) {
+        put(key, record);
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, Record record, boolean backup) {
+        store.remove(toBackingKeyFormat(key));
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        store.remove(toBackingKeyFormat(key));
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        put(key, record);
+    }
+
+    @Override
+    public void onReset() {
+        store.clear();
+    }
+
+    @Override
+    public void onClear() {
+        store.clear();
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        store.clear();
+    }
+
+    private void put(Data key, Record record) {
+        Data backingKey = toBackingKeyFormat(key);
+        QueryableEntry entry = mapContainer.newQueryEntry(backingKey, getValueOrCachedValue(record, ss));
+        entry.setRecord(record);
+        store.put(backingKey, record.getValue(), entry);
+    }
+
+    private Data toBackingKeyFormat(Data key) {
+        return recordStore.getStorage().toBackingDataKeyFormat(key);
+    }
+}
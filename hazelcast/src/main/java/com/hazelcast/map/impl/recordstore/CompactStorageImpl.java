@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.record.CompactRecord;
+import com.hazelcast.map.impl.record.CompactRecordArena;
+import com.hazelcast.map.impl.record.CompactRecordFactory;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createCompactMapSizeEstimator;
+
+/**
+ * {@link Storage} of a {@link RecordStore} with {@link InMemoryFormat#BINARY} or
+ * {@link InMemoryFormat#OBJECT} in-memory format, used when
+ * {@link com.hazelcast.spi.properties.ClusterProperty#MAP_COMPACT_STORAGE_ENABLED}
+ * is set. Records are slots of a {@link CompactRecordArena} instead of
+ * objects, and the table of the storage holds the ids of these slots, so
+ * there is no entry, key or record object per map entry on the heap.
+ * <p>
+ * The handle of a record is its arena id shifted by two, to keep clear
+ * of the {@link #EMPTY} and {@link #TOMBSTONE} handles.
+ * <p>
+ * When most of the arena slots are free, compaction moves the records to
+ * the lowest free slots and shrinks the arena. This is only safe because
+ * all the readers of the storage, including the query scans, run on the
+ * partition thread.
+ */
+public class CompactStorageImpl extends OpenAddressingStorage<CompactRecord> {
+
+    private static final long HANDLE_OFFSET = 2L;
+
+    private final boolean binary;
+    private final CompactRecordArena arena;
+    private final CompactRecordFactory recordFactory;
+
+    public CompactStorageImpl(InMemoryFormat inMemoryFormat, CompactRecordFactory recordFactory,
+                              ExpirySystem expirySystem, SerializationService serializationService) {
+        super(createCompactMapSizeEstimator(inMemoryFormat), expirySystem, serializationService);
+        this.binary = inMemoryFormat == InMemoryFormat.BINARY;
+        this.recordFactory = recordFactory;
+        this.arena = recordFactory.getArena();
+    }
+
+    @Override
+    protected long claim(CompactRecord record) {
+        recordFactory.claim(record);
+        return record.id() + HANDLE_OFFSET;
+    }
+
+    @Override
+    protected CompactRecord toRecord(long handle) {
+        return new CompactRecord<>(arena, idOf(handle));
+    }
+
+    @Override
+    protected CompactRecord toRecord(long handle, CompactRecord reused) {
+        return reused != null ? reused.reset(idOf(handle)) : toRecord(handle);
+    }
+
+    @Override
+    protected boolean keyEquals(long handle, Data key) {
+        return arena.keyEquals(idOf(handle), key);
+    }
+
+    @Override
+    protected Data getKey(long handle) {
+        return arena.getKey(idOf(handle));
+    }
+
+    @Override
+    protected void disposeRecord(long handle) {
+        arena.release(idOf(handle));
+    }
+
+    @Override
+    protected void disposeUnclaimedRecords() {
+        recordFactory.disposePending();
+    }
+
+    @Override
+    protected Object toStorageValue(Object value) {
+        return binary ? serializationService.toData(value) : serializationService.toObject(value);
+    }
+
+    @Override
+    public boolean isCompactionRequired() {
+        return arena.isFragmented();
+    }
+
+    @Override
+    protected void onCompactionStart() {
+        arena.startCompaction();
+    }
+
+    @Override
+    protected long relocate(long handle) {
+        int id = idOf(handle);
+        int newId = arena.relocate(id);
+        if (newId == id) {
+            return handle;
+        }
+        onRelocated(0);
+        return newId + HANDLE_OFFSET;
+    }
+
+    @Override
+    protected long onCompactionEnd() {
+        return arena.finishCompaction();
+    }
+
+    private static int idOf(long handle) {
+        return (int) (handle - HANDLE_OFFSET);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * {@link Data} whose payload is kept deflated with a preset dictionary,
+ * see {@link ValueCompressor}. The payload is inflated whenever its bytes
+ * are needed, it is not cached. Only the type and the size of the payload
+ * are available without inflating it.
+ * <p>
+ * Immutable, so it can be read by any thread.
+ */
+final class CompressedData implements Data {
+
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+
+    private final byte[] dictionary;
+    private final byte[] compressed;
+    private final int type;
+    private final int totalSize;
+
+    CompressedData(byte[] dictionary, byte[] compressed, int type, int totalSize) {
+        this.dictionary = dictionary;
+        this.compressed = compressed;
+        this.type = type;
+        this.totalSize = totalSize;
+    }
+
+    /**
+     * @return the number of bytes the compressed payload occupies
+     */
+    int compressedSize() {
+        return compressed.length;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] payload = new byte[totalSize];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < totalSize && !inflater.finished()) {
+                int inflated = inflater.inflate(payload, length, totalSize - length);
+                if (inflated == 0 && inflater.needsDictionary()) {
+                    inflater.setDictionary(dictionary);
+                } else if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != totalSize) {
+                throw new IllegalStateException("Compressed value is truncated, inflated " + length
+                        + " bytes instead of " + totalSize);
+            }
+            return payload;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed value is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public int getType() {
+        return type;
+    }
+
+    @Override
+    public int totalSize() {
+        return totalSize;
+    }
+
+    @Override
+    public void copyTo(byte[] dest, int destPos) {
+        System.arraycopy(toByteArray(), 0, dest, destPos, totalSize);
+    }
+
+    @Override
+    public int dataSize() {
+        return Math.max(totalSize - HeapData.HEAP_DATA_OVERHEAD, 0);
+    }
+
+    @Override
+    public int getHeapCost() {
+        // the dictionary is shared by the values of the storage
+        return OBJECT_HEADER_SIZE + 2 * REFERENCE_COST_IN_BYTES + 2 * INT_SIZE_IN_BYTES
+                + ARRAY_HEADER_SIZE_IN_BYTES + compressed.length;
+    }
+
+    @Override
+    public int getPartitionHash() {
+        return inflate().getPartitionHash();
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        return inflate().hasPartitionHash();
+    }
+
+    @Override
+    public long hash64() {
+        return inflate().hash64();
+    }
+
+    @Override
+    public boolean isPortable() {
+        return SerializationConstants.CONSTANT_TYPE_PORTABLE == type;
+    }
+
+    @Override
+    public boolean isJson() {
+        return SerializationConstants.JAVASCRIPT_JSON_SERIALIZATION_TYPE == type;
+    }
+
+    @Override
+    public boolean isCompact() {
+        return SerializationConstants.TYPE_COMPACT == type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Data && inflate().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return inflate().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedData{"
+                + "type=" + type
+                + ", totalSize=" + totalSize
+                + ", compressedSize=" + compressed.length
+                + '}';
+    }
+
+    private HeapData inflate() {
+        return new HeapData(toByteArray());
+    }
+}
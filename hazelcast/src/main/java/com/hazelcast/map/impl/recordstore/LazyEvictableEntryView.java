@@ -31,6 +31,9 @@ import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
  * Mainly :
  * - Wraps a {@link Record} and reaches all {@link EntryView} specific info over it
  * - Lazily de-serializes key and value.
+ * <p/>
+ * The wrapped key, record and expiry metadata are always read through
+ * their getters, so subclasses can provide them lazily.
  *
  * @param <R> Type of record to construct {@link EntryView} over it.
  */
@@ -59,7 +62,7 @@ public class LazyEvictableEntryView<R extends Record>
     @Override
     public Object getKey() {
         if (key == null) {
-            key = serializationService.toObject(dataKey);
+            key = serializationService.toObject(getDataKey());
         }
         return key;
     }
@@ -71,65 +74,88 @@ public class LazyEvictableEntryView<R extends Record>
     @Override
     public Object getValue() {
         if (value == null) {
-            value = serializationService.toObject(record.getValue());
+            value = serializationService.toObject(getRecord().getValue());
         }
         return value;
     }
 
     @Override
     public long getCost() {
-        return record.getCost();
+        return getRecord().getCost();
     }
 
     @Override
     public long getCreationTime() {
-        return record.getCreationTime();
+        return getRecord().getCreationTime();
     }
 
     @Override
     public long getExpirationTime() {
-        return expiryMetadata.getExpirationTime();
+        return getExpiryMetadata().getExpirationTime();
     }
 
     @Override
     public long getHits() {
-        return record.getHits();
+        return getRecord().getHits();
     }
 
     @Override
     public long getLastAccessTime() {
-        return record.getLastAccessTime();
+        return getRecord().getLastAccessTime();
     }
 
     @Override
     public long getLastStoredTime() {
-        return record.getLastStoredTime();
+        return getRecord().getLastStoredTime();
     }
 
     @Override
     public long getLastUpdateTime() {
-        return record.getLastUpdateTime();
+        return getRecord().getLastUpdateTime();
     }
 
     @Override
     public long getVersion() {
-        return record.getVersion();
+        return getRecord().getVersion();
     }
 
     @Override
     public long getTtl() {
-        return expiryMetadata.getTtl();
+        return getExpiryMetadata().getTtl();
     }
 
     @Override
     public long getMaxIdle() {
-        return expiryMetadata.getMaxIdle();
+        return getExpiryMetadata().getMaxIdle();
     }
 
     public Record getRecord() {
         return record;
     }
 
+    protected ExpiryMetadata getExpiryMetadata() {
+        return expiryMetadata;
+    }
+
+    @Override
+    public Object getEntryKey() {
+        return getDataKey();
+    }
+
+    @Override
+    public Object getEntryValue() {
+        return getRecord();
+    }
+
+    /**
+     * Discards the de-serialized key and value, so they are
+     * de-serialized again from the current key and record.
+     */
+    protected void clearDeserializedCache() {
+        key = null;
+        value = null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.NativeMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createMapSizeEstimator;
+
+/**
+ * {@link Storage} of a {@link RecordStore} with {@link com.hazelcast.config.InMemoryFormat#NATIVE}
+ * in-memory format. Keys, values and record metadata are kept in native memory as
+ * {@link NativeRecord} blocks, so they are invisible to the garbage collector.
+ * <p>
+ * The addresses of the record blocks are the handles of the records in the
+ * {@link OpenAddressingStorage} table. Removed records are freed by
+ * {@link #disposeDeferredBlocks()} after the operation completes.
+ * <p>
+ * While the pooled allocator evacuates its mostly free pages, see
+ * {@link NativeMemoryManager#startCompaction(double)}, compaction moves the
+ * record and value blocks out of these pages, so the pages can be freed.
+ */
+public class NativeStorageImpl extends OpenAddressingStorage<NativeRecord> {
+
+    private final MemoryManager memoryManager;
+    private final MemoryAccessor mem;
+    private final NativeRecordFactory recordFactory;
+    private final NativeMemoryManager nativeMemoryManager;
+
+    public NativeStorageImpl(NativeRecordFactory recordFactory, ExpirySystem expirySystem,
+                             SerializationService serializationService) {
+        super(createMapSizeEstimator(NATIVE), expirySystem, serializationService);
+        this.recordFactory = recordFactory;
+        this.memoryManager = recordFactory.getMemoryManager();
+        this.mem = memoryManager.getAccessor();
+        this.nativeMemoryManager = memoryManager instanceof NativeMemoryManager
+                ? (NativeMemoryManager) memoryManager : null;
+    }
+
+    @Override
+    protected long claim(NativeRecord record) {
+        recordFactory.claim(record);
+        return record.address();
+    }
+
+    @Override
+    protected NativeRecord toRecord(long address) {
+        return new NativeRecord(memoryManager, address);
+    }
+
+    @Override
+    protected NativeRecord toRecord(long address, NativeRecord reused) {
+        return reused != null ? reused.reset(address) : toRecord(address);
+    }
+
+    @Override
+    protected boolean keyEquals(long address, Data key) {
+        return NativeRecord.keyEquals(mem, address, key);
+    }
+
+    @Override
+    protected Data getKey(long address) {
+        return toRecord(address).getKey();
+    }
+
+    @Override
+    protected void disposeRecord(long address) {
+        toRecord(address).dispose();
+    }
+
+    @Override
+    protected void disposeUnclaimedRecords() {
+        recordFactory.disposePending();
+    }
+
+    @Override
+    protected Object toStorageValue(Object value) {
+        return serializationService.toData(value);
+    }
+
+    @Override
+    public boolean isCompactionRequired() {
+        return nativeMemoryManager != null && nativeMemoryManager.isCompacting() && !isEmpty();
+    }
+
+    @Override
+    protected long relocate(long address) {
+        if (nativeMemoryManager == null) {
+            return address;
+        }
+        NativeRecord record = toRecord(address);
+        long movedBytes = 0;
+        try {
+            movedBytes += record.relocateValue(nativeMemoryManager::isEvacuating);
+            if (nativeMemoryManager.isEvacuating(address)) {
+                int blockSize = record.getBlockSize();
+                record = record.relocate();
+                movedBytes += blockSize;
+            }
+        } catch (NativeOutOfMemoryError e) {
+            // the blocks which could not be moved keep their page from being freed
+            ignore(e);
+        }
+        if (movedBytes > 0) {
+            onRelocated(movedBytes);
+        }
+        return record.address();
+    }
+}
@@ -0,0 +1,791 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static com.hazelcast.internal.util.ThreadUtil.assertRunningOnPartitionThread;
+
+/**
+ * Base {@link Storage} for records which are identified by a {@code long}
+ * handle, like the address of a native memory block or the index of a slot
+ * in a record arena, rather than by an object reference.
+ * <p>
+ * Records are indexed by an open-addressing table made of two primitive
+ * arrays, one holding the record handles and the other one the key hashes.
+ * Probing is linear and never wraps around: the table has a few overflow
+ * slots after the last home slot and grows when a probe runs past them.
+ * Removed entries leave tombstones behind. The tombstones no probe sequence
+ * passes through are purged in place, the others when the table grows.
+ * Entries only move when the table grows, and every new table gets a new
+ * version which is recorded in the iteration pointers, so iteration is
+ * tolerant to concurrent removals and resizes.
+ * <p>
+ * Removed records are not disposed immediately, since the caller may still
+ * read them while the current operation runs. They are disposed by
+ * {@link #disposeDeferredBlocks()} after the operation completes. This class
+ * is not thread-safe and must only be used by the partition thread.
+ * <p>
+ * Random samples are returned as views which are reused by the next
+ * sampling, and which read the key, the record and the expiry metadata of
+ * the sampled entry only when they are asked for. The entries visited by
+ * {@link #sample} are passed as a single reused view, whose record view is
+ * also reused, so the sampling for eviction allocates nothing unless the
+ * key of a visited entry is copied.
+ * <p>
+ * Subclasses holding memory which can be reclaimed by moving records, like
+ * mostly free pages of native memory, support {@link #compact(int, int)} by
+ * implementing {@link #relocate(long)}. The table is updated with the new
+ * handles in place, so the entries keep their slots and iteration is not
+ * disturbed by the compaction.
+ *
+ * @param <R> the type of the records in this storage
+ */
+@SuppressWarnings({"checkstyle:methodcount", "checkstyle:classdataabstractioncoupling"})
+public abstract class OpenAddressingStorage<R extends Record> implements Storage<Data, R> {
+
+    /**
+     * Handle of an empty slot, never used for a record.
+     */
+    protected static final long EMPTY = 0L;
+    /**
+     * Handle of a slot whose record was removed, never used for a record.
+     */
+    protected static final long TOMBSTONE = 1L;
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int OVERFLOW_SLOTS = 16;
+    private static final float LOAD_FACTOR = 0.6F;
+    private static final float PURGED_LOAD_FACTOR = 0.45F;
+    private static final int ITERATOR_BATCH_SIZE = 64;
+    private static final int INITIAL_DEFERRED_CAPACITY = 16;
+    private static final int MAX_POOLED_SAMPLES = 64;
+    private static final int CAPACITY_SHIFT_BITS = 5;
+    private static final int CAPACITY_SHIFT_MASK = (1 << CAPACITY_SHIFT_BITS) - 1;
+    private static final int TABLE_VERSION_MASK = (1 << (Integer.SIZE - 1 - CAPACITY_SHIFT_BITS)) - 1;
+
+    protected final ExpirySystem expirySystem;
+    protected final SerializationService serializationService;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator;
+
+    private long[] handles;
+    private int[] hashes;
+    private int capacity;
+    private int size;
+    private int tombstones;
+    private int tableVersion;
+
+    private long[] deferred = new long[INITIAL_DEFERRED_CAPACITY];
+    private int deferredCount;
+
+    private final List<EntryView> pooledSamples = new ArrayList<>();
+    private final List<SampleView> sampleViews = new ArrayList<>();
+    private final HandleView handleView = new HandleView();
+
+    private volatile long compactedEntryCount;
+    private volatile long compactionReclaimedBytes;
+
+    protected OpenAddressingStorage(EntryCostEstimator<Data, Record> entryCostEstimator,
+                                    ExpirySystem expirySystem, SerializationService serializationService) {
+        this.entryCostEstimator = entryCostEstimator;
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+        allocateTable(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Takes the ownership of the given record, which was created for this
+     * storage, and returns its handle.
+     */
+    protected abstract long claim(R record);
+
+    /**
+     * @return a record view over the given handle
+     */
+    protected abstract R toRecord(long handle);
+
+    /**
+     * @return the given record view pointed to the given handle,
+     * or a new record view if the given one is {@code null}
+     */
+    protected abstract R toRecord(long handle, R reused);
+
+    /**
+     * @return {@code true} if the key of the record with the given handle equals to the {@code key}
+     */
+    protected abstract boolean keyEquals(long handle, Data key);
+
+    /**
+     * @return an on-heap copy of the key of the record with the given handle
+     */
+    protected abstract Data getKey(long handle);
+
+    /**
+     * Releases the resources of the record with the given handle.
+     */
+    protected abstract void disposeRecord(long handle);
+
+    /**
+     * Releases the resources of the records which were created
+     * for this storage but were never claimed.
+     */
+    protected abstract void disposeUnclaimedRecords();
+
+    /**
+     * @return the given value in the format the records of this storage hold
+     */
+    protected abstract Object toStorageValue(Object value);
+
+    /**
+     * Called when a compaction pass starts.
+     */
+    protected void onCompactionStart() {
+        // no-op
+    }
+
+    /**
+     * Moves the record with the given handle out of the memory being
+     * reclaimed, if it is there, and returns its new handle. The record
+     * must be reachable by the returned handle only afterwards. Moved
+     * records should be reported with {@link #onRelocated(long)}.
+     *
+     * @return the new handle of the record, or the given one if it was not moved
+     */
+    protected long relocate(long handle) {
+        return handle;
+    }
+
+    /**
+     * Called when a compaction pass completes.
+     *
+     * @return the number of bytes reclaimed when completing the pass
+     */
+    protected long onCompactionEnd() {
+        return 0;
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread updates the counters, but multiple threads can read them.")
+    protected final void onRelocated(long reclaimedBytes) {
+        compactedEntryCount++;
+        compactionReclaimedBytes += reclaimedBytes;
+    }
+
+    @Override
+    public void put(Data key, R record) {
+        long handle = claim(record);
+
+        int hash = key.hashCode();
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            long previous = handles[index];
+            if (previous != handle) {
+                updateCostEstimate(-entryCostEstimator.calculateValueCost(toRecord(previous)));
+                handles[index] = handle;
+                defer(previous);
+                updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+            }
+            return;
+        }
+
+        insert(hash, handle);
+        size++;
+        updateCostEstimate(entryCostEstimator.calculateEntryCost(key, record));
+    }
+
+    @Override
+    public R updateRecordValue(Data key, R record, Object value) {
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+
+        record.setValue(toStorageValue(value));
+
+        updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+        return record;
+    }
+
+    @Override
+    public R get(Data key) {
+        int index = indexOf(key, key.hashCode());
+        return index >= 0 ? toRecord(handles[index]) : null;
+    }
+
+    @Override
+    public R getIfSameKey(Data key) {
+        // keys are always copied into the records, so there
+        // is no stored key instance to compare the identity with
+        return get(key);
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull R record) {
+        int index = indexOf(dataKey, dataKey.hashCode());
+        if (index < 0) {
+            return;
+        }
+        long handle = handles[index];
+        updateCostEstimate(-entryCostEstimator.calculateEntryCost(dataKey, toRecord(handle)));
+        removeAt(index);
+        size--;
+        defer(handle);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return indexOf(key, key.hashCode()) >= 0;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, R>> mutationTolerantIterator() {
+        return new StorageIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        for (long handle : handles) {
+            if (isLive(handle)) {
+                disposeRecord(handle);
+            }
+        }
+        disposeDeferredBlocks();
+        allocateTable(INITIAL_CAPACITY);
+        size = 0;
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        for (int i = 0; i < deferredCount; i++) {
+            disposeRecord(deferred[i]);
+        }
+        deferredCount = 0;
+        if (deferred.length > INITIAL_DEFERRED_CAPACITY) {
+            deferred = new long[INITIAL_DEFERRED_CAPACITY];
+        }
+        disposeUnclaimedRecords();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Up to {@value #MAX_POOLED_SAMPLES} samples, the returned views and
+     * the list holding them are reused by the next call, so they must not
+     * be used after the next sampling.
+     */
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = sampleCount <= MAX_POOLED_SAMPLES
+                ? pooledSamples : new ArrayList<>(Math.min(sampleCount, size));
+        samples.clear();
+        int length = handles.length;
+        int start = ThreadLocalRandomProvider.get().nextInt(length);
+        for (int i = 0; i < length && samples.size() < sampleCount; i++) {
+            long handle = handles[(start + i) % length];
+            if (isLive(handle)) {
+                samples.add(sampleView(samples.size()).reset(handle));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public int sample(int cursor, int sampleCount, Consumer<SampledEntry<Data, R>> consumer) {
+        int length = handles.length;
+        int index = cursor % length;
+        if (size == 0) {
+            return index;
+        }
+        int visited = 0;
+        for (int i = 0; i < length && visited < sampleCount; i++) {
+            long handle = handles[index];
+            if (isLive(handle)) {
+                consumer.accept(handleView.reset(handle));
+                visited++;
+            }
+            index = index + 1 < length ? index + 1 : 0;
+        }
+        return index;
+    }
+
+    @Override
+    public int compact(int cursor, int maxCount) {
+        // relocation is only safe if no other thread reads the records
+        assertRunningOnPartitionThread();
+        if (cursor == 0) {
+            onCompactionStart();
+        }
+        // a rehash between the slices only makes the pass visit some entries twice or skip them
+        long[] handles = this.handles;
+        int end = Math.min(cursor + maxCount, handles.length);
+        for (int i = cursor; i < end; i++) {
+            if (isLive(handles[i])) {
+                handles[i] = relocate(handles[i]);
+            }
+        }
+        if (end < handles.length) {
+            return end;
+        }
+        addReclaimedBytes(onCompactionEnd());
+        return -1;
+    }
+
+    @Override
+    public long getCompactedEntryCount() {
+        return compactedEntryCount;
+    }
+
+    @Override
+    public long getCompactionReclaimedBytes() {
+        return compactionReclaimedBytes;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, handle -> keys.add(getKey(handle)));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, handle -> {
+            Data value = serializationService.toData(toRecord(handle).getValue());
+            entries.add(new AbstractMap.SimpleEntry<>(getKey(handle), value));
+        });
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    private SampleView sampleView(int index) {
+        if (index >= MAX_POOLED_SAMPLES) {
+            return new SampleView();
+        }
+        // the views are requested in ascending index order
+        if (index == sampleViews.size()) {
+            sampleViews.add(new SampleView());
+        }
+        return sampleViews.get(index);
+    }
+
+    private static boolean isLive(long handle) {
+        return handle != EMPTY && handle != TOMBSTONE;
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread updates the counters, but multiple threads can read them.")
+    private void addReclaimedBytes(long bytes) {
+        compactionReclaimedBytes += bytes;
+    }
+
+    private void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    private void allocateTable(int newCapacity) {
+        capacity = newCapacity;
+        handles = new long[newCapacity + OVERFLOW_SLOTS];
+        hashes = new int[newCapacity + OVERFLOW_SLOTS];
+        tombstones = 0;
+        tableVersion++;
+    }
+
+    /**
+     * Returns the stamp of the current table kept in the iteration
+     * pointers: the version of the table and the binary logarithm of its
+     * capacity. It is never negative, which marks an unstarted iteration.
+     */
+    private int tableStamp() {
+        return ((tableVersion & TABLE_VERSION_MASK) << CAPACITY_SHIFT_BITS) | Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private static int capacityOf(int tableStamp) {
+        return 1 << (tableStamp & CAPACITY_SHIFT_MASK);
+    }
+
+    private int indexOf(Data key, int hash) {
+        for (int i = hash & (capacity - 1); i < handles.length; i++) {
+            long handle = handles[i];
+            if (handle == EMPTY) {
+                return -1;
+            }
+            if (handle != TOMBSTONE && hashes[i] == hash && keyEquals(handle, key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts a record which is known to be absent from the table.
+     */
+    private void insert(int hash, long handle) {
+        if (size + tombstones + 1 > capacity * LOAD_FACTOR) {
+            // purge the tombstones when they make up most of the occupied slots,
+            // and grow the table if too few of them can be purged in place, so
+            // the next purge only happens after many more updates
+            if (size + 1 <= capacity * LOAD_FACTOR / 2) {
+                purgeTombstones();
+            }
+            if (size + tombstones + 1 > capacity * PURGED_LOAD_FACTOR) {
+                rehash(capacity << 1);
+            }
+        }
+        while (!tryInsert(hash, handle)) {
+            rehash(capacity << 1);
+        }
+    }
+
+    private boolean tryInsert(int hash, long handle) {
+        for (int i = hash & (capacity - 1); i < handles.length; i++) {
+            long current = handles[i];
+            if (!isLive(current)) {
+                if (current == TOMBSTONE) {
+                    tombstones--;
+                }
+                handles[i] = handle;
+                hashes[i] = hash;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Empties the tombstones which no probe sequence passes through without
+     * moving any entry, so an ongoing iteration is not disturbed. A tombstone
+     * is still needed if a following entry of the same run of occupied slots
+     * has its home slot at or before it.
+     */
+    private void purgeTombstones() {
+        int minHomeIndex = Integer.MAX_VALUE;
+        for (int i = handles.length - 1; i >= 0; i--) {
+            long handle = handles[i];
+            if (handle == EMPTY) {
+                minHomeIndex = Integer.MAX_VALUE;
+            } else if (handle == TOMBSTONE) {
+                if (minHomeIndex > i) {
+                    // the emptied slot ends the probe sequences before it
+                    handles[i] = EMPTY;
+                    tombstones--;
+                    minHomeIndex = Integer.MAX_VALUE;
+                }
+            } else {
+                minHomeIndex = Math.min(minHomeIndex, hashes[i] & (capacity - 1));
+            }
+        }
+    }
+
+    /**
+     * Moves all live entries into a new, larger table.
+     */
+    private void rehash(int newCapacity) {
+        long[] oldHandles = handles;
+        int[] oldHashes = hashes;
+        int targetCapacity = newCapacity;
+        boolean rehashed;
+        do {
+            allocateTable(targetCapacity);
+            rehashed = true;
+            for (int i = 0; i < oldHandles.length && rehashed; i++) {
+                if (isLive(oldHandles[i])) {
+                    rehashed = tryInsert(oldHashes[i], oldHandles[i]);
+                }
+            }
+            targetCapacity <<= 1;
+        } while (!rehashed);
+    }
+
+    private void removeAt(int index) {
+        if (index + 1 < handles.length && handles[index + 1] != EMPTY) {
+            // a probe sequence may pass through this slot
+            handles[index] = TOMBSTONE;
+            tombstones++;
+            return;
+        }
+        // the slot ends all probe sequences passing through it,
+        // so it and the tombstones preceding it can be emptied
+        handles[index] = EMPTY;
+        for (int i = index - 1; i >= 0 && handles[i] == TOMBSTONE; i--) {
+            handles[i] = EMPTY;
+            tombstones--;
+        }
+    }
+
+    private void defer(long handle) {
+        if (deferredCount == deferred.length) {
+            deferred = Arrays.copyOf(deferred, deferredCount * 2);
+        }
+        deferred[deferredCount++] = handle;
+    }
+
+    /**
+     * Feeds at least {@code size} live record handles starting from the
+     * given {@code pointers} to the {@code consumer} and returns the pointers
+     * where the iteration has ended. The table is iterated from the last slot
+     * towards the first one. Since an entry is never placed before its home
+     * slot, every entry whose home slot is after the iteration index has
+     * already been observed, which is what {@link #hasNotBeenObserved} relies
+     * on after the table has been replaced during the iteration. The size of
+     * the pointers holds the {@link #tableStamp() stamp} of their table.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, LongConsumer consumer) {
+        pointers = checkPointers(pointers, tableStamp());
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+
+        int nextIndex;
+        if (lastPointer.getIndex() >= 0 && lastPointer.getIndex() < handles.length) {
+            nextIndex = lastPointer.getIndex();
+        } else {
+            nextIndex = handles.length - 1;
+        }
+        int counter = 0;
+        while (nextIndex >= 0 && counter < size) {
+            int index = nextIndex--;
+            long handle = handles[index];
+            if (isLive(handle) && hasNotBeenObserved(hashes[index], pointers)) {
+                consumer.accept(handle);
+                counter++;
+            }
+        }
+        lastPointer.setIndex(nextIndex);
+        return pointers;
+    }
+
+    /**
+     * Checks the {@code pointers} to see if we need to restart iteration on the
+     * current table and returns the updated pointers if necessary.
+     */
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentTableStamp) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean tableReplaced = lastPointer.getSize() != currentTableStamp;
+        // clone pointers to avoid mutating given reference
+        // add new pointer if the table was replaced during iteration
+        int newLength = !iterationStarted && tableReplaced ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+
+        // reset last pointer if we haven't started iteration or the table was replaced
+        if (iterationStarted || tableReplaced) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, currentTableStamp);
+        }
+        return updatedPointers;
+    }
+
+    /**
+     * Returns {@code true} if an entry with the given {@code hash} has not
+     * been already observed with the iteration state provided by the
+     * {@code pointers}.
+     */
+    private static boolean hasNotBeenObserved(int hash, IterationPointer[] pointers) {
+        // check only the pointers up to the last, we haven't observed it with the last pointer
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer iterationPointer = pointers[i];
+            int homeIndex = hash & (capacityOf(iterationPointer.getSize()) - 1);
+            if (homeIndex > iterationPointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reusable view over a sampled entry, which copies the key and looks
+     * up the record and the expiry metadata only when they are needed.
+     */
+    private final class SampleView extends LazyEvictableEntryView<R> {
+
+        private long handle;
+        private Data dataKey;
+        private R record;
+
+        SampleView() {
+            super(null, null, null, serializationService);
+        }
+
+        SampleView reset(long handle) {
+            this.handle = handle;
+            this.dataKey = null;
+            this.record = null;
+            clearDeserializedCache();
+            return this;
+        }
+
+        @Override
+        public Data getDataKey() {
+            if (dataKey == null) {
+                dataKey = OpenAddressingStorage.this.getKey(handle);
+            }
+            return dataKey;
+        }
+
+        @Override
+        public R getRecord() {
+            if (record == null) {
+                record = toRecord(handle);
+            }
+            return record;
+        }
+
+        @Override
+        protected ExpiryMetadata getExpiryMetadata() {
+            return expirySystem.getExpiryMetadata(getDataKey());
+        }
+    }
+
+    /**
+     * Reusable view over an entry visited by {@link #sample}.
+     */
+    private final class HandleView implements SampledEntry<Data, R> {
+
+        private long handle;
+        private R record;
+
+        HandleView reset(long handle) {
+            this.handle = handle;
+            this.record = toRecord(handle, record);
+            return this;
+        }
+
+        @Override
+        public R getRecord() {
+            return record;
+        }
+
+        @Override
+        public boolean keyEquals(Data key) {
+            return OpenAddressingStorage.this.keyEquals(handle, key);
+        }
+
+        @Override
+        public Data copyKey() {
+            return getKey(handle);
+        }
+    }
+
+    /**
+     * Iterator which fetches the keys in batches and looks up the records
+     * only when they are returned, so it never exposes a record which was
+     * removed and disposed since the batch was fetched.
+     */
+    private final class StorageIterator implements Iterator<Map.Entry<Data, R>> {
+
+        private final ArrayDeque<Data> keys = new ArrayDeque<>(ITERATOR_BATCH_SIZE);
+        private IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        private Map.Entry<Data, R> next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (keys.isEmpty()) {
+                    if (pointers[pointers.length - 1].getIndex() < 0) {
+                        return false;
+                    }
+                    pointers = fetchNext(pointers, ITERATOR_BATCH_SIZE, handle -> keys.add(getKey(handle)));
+                    continue;
+                }
+                Data key = keys.poll();
+                R record = get(key);
+                if (record != null) {
+                    next = new AbstractMap.SimpleEntry<>(key, record);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Data, R> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Data, R> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,762 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.readIntB;
+import static com.hazelcast.internal.nio.Bits.readLongB;
+import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static com.hazelcast.internal.nio.Bits.writeLongB;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_INTEGER;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_LONG;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_UUID;
+import static com.hazelcast.internal.util.HashUtil.fastLongMix;
+
+/**
+ * Hash map holding the records of a partition of an {@link com.hazelcast.map.IMap}.
+ * <p>
+ * The map is written only by the partition thread, so it needs no locks.
+ * Other threads, e.g. the ones running parallel partition scans or reading
+ * the size, may read it concurrently: buckets are published with release
+ * semantics and a removed node is unlinked without changing its own
+ * {@code next} pointer, so a reader always sees a consistent chain.
+ * <p>
+ * The table is resized incrementally: when the load factor is exceeded, a
+ * table of double size is allocated and every subsequent mutation moves a
+ * few buckets into it, instead of rehashing the whole table at once. Moved
+ * buckets are copied, and a {@link ForwardingNode} is left in the old table
+ * to redirect readers, so the ones still traversing the old chains are
+ * not affected.
+ * <p>
+ * Iteration and sampling are weakly consistent: they never fail because
+ * of a concurrent mutation and never return an entry twice, but may miss
+ * entries added or return entries removed after they started.
+ * <p>
+ * Keys serialized as {@code Integer}, {@code Long} or {@code UUID} are
+ * not kept as {@link Data}: their value is stored in primitive fields of
+ * the node, hashed with a multiplicative hash instead of MurmurHash and
+ * compared without comparing byte arrays. The key bytes are restored
+ * only when the key is read from the map, e.g. by iteration.
+ *
+ * @param <R> type of records in this map
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class PartitionRecordMap<R extends Record> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 256;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.75F;
+    /**
+     * Number of buckets moved to the new table by every mutation during a resize.
+     */
+    private static final int RESIZE_STEP = 4;
+
+    private static final VarHandle BUCKET = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    private final SerializationService serializationService;
+    private final ExpirySystem expirySystem;
+
+    private volatile Node<R>[] table;
+    private volatile Node<R>[] nextTable;
+    private volatile int size;
+    private ForwardingNode<R> forwardingNode;
+    private int resizeIndex;
+    private int threshold;
+
+    public PartitionRecordMap(SerializationService serializationService, ExpirySystem expirySystem) {
+        this.serializationService = serializationService;
+        this.expirySystem = expirySystem;
+        this.table = newTable(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public R get(Data key) {
+        Node<R> node = findNode(key, hash(key));
+        return node != null ? node.value : null;
+    }
+
+    public boolean containsKey(Data key) {
+        return findNode(key, hash(key)) != null;
+    }
+
+    /**
+     * Puts the given record into the map. Must be called by the partition thread.
+     *
+     * @return the previous record of the key, or {@code null} if there was none
+     */
+    public R put(Data key, R record) {
+        int hash = hash(key);
+        Node<R>[] tab = writableTable(hash);
+        int index = hash & (tab.length - 1);
+        Node<R> head = bucketAt(tab, index);
+        for (Node<R> node = head; node != null; node = node.next) {
+            if (node.hash == hash && node.keyEquals(key)) {
+                R previous = node.value;
+                node.value = record;
+                return previous;
+            }
+        }
+        byte[] bytes = key.toByteArray();
+        setBucketAt(tab, index, isPrimitiveKey(bytes)
+                ? new PrimitiveKeyNode<>(hash, bytes, record, head)
+                : new DataKeyNode<>(hash, key, record, head));
+        size++;
+        if (nextTable == null && size > threshold && tab.length < MAXIMUM_CAPACITY) {
+            startResize(tab);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the record of the given key. Must be called by the partition thread.
+     *
+     * @return the removed record, or {@code null} if there was none
+     */
+    public R remove(Data key) {
+        int hash = hash(key);
+        Node<R>[] tab = writableTable(hash);
+        int index = hash & (tab.length - 1);
+        Node<R> previous = null;
+        for (Node<R> node = bucketAt(tab, index); node != null; previous = node, node = node.next) {
+            if (node.hash == hash && node.keyEquals(key)) {
+                if (previous == null) {
+                    setBucketAt(tab, index, node.next);
+                } else {
+                    previous.next = node.next;
+                }
+                size--;
+                return node.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes all the records. Must be called by the partition thread.
+     */
+    public void clear() {
+        nextTable = null;
+        forwardingNode = null;
+        table = newTable(DEFAULT_INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Returns a weakly consistent, read-only iterator over the entries.
+     */
+    public Iterator<Map.Entry<Data, R>> entryIterator() {
+        return new EntryIterator(table);
+    }
+
+    /**
+     * Returns at most {@code sampleCount} distinct entries, starting
+     * from a random bucket.
+     *
+     * @param sampleCount count of samples
+     * @return the sampled entries
+     */
+    public <E extends LazyEvictableEntryView<R>> Iterable<E> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+        Node<R>[] tab = table;
+        int start = ThreadLocalRandomProvider.get().nextInt(tab.length);
+        List<E> samples = new ArrayList<>(sampleCount);
+        Consumer<Node<R>> sampler = node -> {
+            if (samples.size() < sampleCount && node.value != null) {
+                Data key = node.key();
+                samples.add((E) new LazyEvictableEntryView<>(key, node.value,
+                        expirySystem.getExpiryMetadata(key), serializationService));
+            }
+        };
+        int index = start;
+        do {
+            forEachInBucket(tab, index, sampler);
+            index = index + 1 < tab.length ? index + 1 : 0;
+        } while (samples.size() < sampleCount && index != start);
+        return samples;
+    }
+
+    /**
+     * Visits the entries of the buckets starting at the given cursor, until
+     * at least {@code sampleCount} entries are visited or all the buckets
+     * are visited once. Allocates a single view, which is passed to the
+     * consumer for every visited entry; the primitive keys are restored
+     * only when the consumer copies them.
+     *
+     * @param cursor      the cursor returned by the previous call, or any non-negative number
+     * @param sampleCount count of samples
+     * @param consumer    the consumer to call with the views of the sampled entries
+     * @return the cursor to continue sampling from
+     */
+    public int sample(int cursor, int sampleCount, Consumer<SampledEntry<Data, R>> consumer) {
+        Node<R>[] tab = table;
+        int index = cursor & (tab.length - 1);
+        if (size == 0) {
+            return index;
+        }
+        NodeView<R> view = new NodeView<>();
+        int start = index;
+        int visited = 0;
+        do {
+            visited += sampleBucket(tab, index, view, consumer);
+            index = index + 1 < tab.length ? index + 1 : 0;
+        } while (visited < sampleCount && index != start);
+        return index;
+    }
+
+    private int sampleBucket(Node<R>[] tab, int index, NodeView<R> view, Consumer<SampledEntry<Data, R>> consumer) {
+        Node<R> head = bucketAt(tab, index);
+        if (head instanceof ForwardingNode<R> forwarding) {
+            return sampleBucket(forwarding.nextTable, index, view, consumer)
+                    + sampleBucket(forwarding.nextTable, index + tab.length, view, consumer);
+        }
+        int visited = 0;
+        for (Node<R> node = head; node != null; node = node.next) {
+            R value = node.value;
+            if (value != null) {
+                consumer.accept(view.reset(node, value));
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Fetches at least {@code size} keys from the given {@code pointers} and
+     * puts them into the {@code keys} list.
+     *
+     * @param pointers the pointers defining the state where to begin iteration
+     * @param size     Count of how many keys will be fetched
+     * @param keys     List that fetched keys will be put into
+     * @return the pointers defining the state where iteration has ended
+     */
+    public IterationPointer[] fetchKeys(IterationPointer[] pointers, int size, List<Data> keys) {
+        return fetchNext(pointers, size, node -> keys.add(node.key()));
+    }
+
+    /**
+     * Fetches at least {@code size} entries from the given {@code pointers} and
+     * puts them into the {@code entries} list.
+     *
+     * @param pointers the pointers defining the state where to begin iteration
+     * @param size     Count of how many entries will be fetched
+     * @param entries  List that fetched entries will be put into
+     * @return the pointers defining the state where iteration has ended
+     */
+    public IterationPointer[] fetchEntries(IterationPointer[] pointers, int size, List<Map.Entry<Data, R>> entries) {
+        return fetchNext(pointers, size, node -> entries.add(new AbstractMap.SimpleEntry<>(node.key(), node.value)));
+    }
+
+    /**
+     * Iterates the buckets of the newest table from the last one to the
+     * first one. A bucket of the newest table may still be spread over the
+     * older tables, so each bucket is collected by its index in the newest
+     * table, which keeps the {@link IterationPointer} semantics of
+     * {@link com.hazelcast.internal.util.SampleableConcurrentHashMap}.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, Consumer<Node<R>> consumer) {
+        Node<R>[] tab = table;
+        Node<R>[] next = nextTable;
+        int logicalLength = next != null && next.length > tab.length ? next.length : tab.length;
+
+        pointers = checkPointers(pointers, logicalLength);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        IterationPointer[] observedPointers = pointers;
+
+        int nextIndex = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < logicalLength
+                ? lastPointer.getIndex() : logicalLength - 1;
+        int[] counter = new int[1];
+        while (nextIndex >= 0 && counter[0] < size) {
+            int bucket = nextIndex--;
+            forEachInLogicalBucket(tab, bucket, logicalLength, node -> {
+                if (node.value != null && hasNotBeenObserved(node.hash, observedPointers)) {
+                    consumer.accept(node);
+                    counter[0]++;
+                }
+            });
+        }
+        lastPointer.setIndex(nextIndex);
+        return pointers;
+    }
+
+    /**
+     * Visits the entries whose bucket is {@code bucket} in a table of
+     * {@code logicalLength} buckets, starting from the table {@code tab}.
+     */
+    private void forEachInLogicalBucket(Node<R>[] tab, int bucket, int logicalLength, Consumer<Node<R>> consumer) {
+        int mask = logicalLength - 1;
+        Consumer<Node<R>> filter = node -> {
+            if ((node.hash & mask) == bucket) {
+                consumer.accept(node);
+            }
+        };
+        if (tab.length <= logicalLength) {
+            forEachInBucket(tab, bucket & (tab.length - 1), filter);
+        } else {
+            for (int index = bucket; index < tab.length; index += logicalLength) {
+                forEachInBucket(tab, index, filter);
+            }
+        }
+    }
+
+    /**
+     * Visits the entries of the given bucket, following the forwarding
+     * nodes of the buckets already moved to the next tables.
+     */
+    private void forEachInBucket(Node<R>[] tab, int index, Consumer<Node<R>> consumer) {
+        Node<R> head = bucketAt(tab, index);
+        if (head instanceof ForwardingNode<R> forwarding) {
+            // a bucket of a table is split into the bucket with the
+            // same index and the one a table length after in the next table
+            forEachInBucket(forwarding.nextTable, index, consumer);
+            forEachInBucket(forwarding.nextTable, index + tab.length, consumer);
+            return;
+        }
+        for (Node<R> node = head; node != null; node = node.next) {
+            consumer.accept(node);
+        }
+    }
+
+    /**
+     * Checks the {@code pointers} to see if we need to restart iteration on the
+     * current table and returns the updated pointers if necessary.
+     *
+     * @param pointers         the pointers defining the state of iteration
+     * @param currentTableSize the current table size
+     * @return the updated pointers, if necessary
+     */
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentTableSize) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean tableResized = lastPointer.getSize() != currentTableSize;
+        // clone pointers to avoid mutating given reference
+        // add new pointer if resize happened during iteration
+        int newLength = !iterationStarted && tableResized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+
+        // reset last pointer if we haven't started iteration or there was a resize
+        if (iterationStarted || tableResized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, currentTableSize);
+        }
+        return updatedPointers;
+    }
+
+    /**
+     * Returns {@code true} if an entry with the given {@code hash} has not
+     * been already observed (or should have been observed) with the
+     * iteration state provided by the {@code pointers}.
+     */
+    private static boolean hasNotBeenObserved(int hash, IterationPointer[] pointers) {
+        if (pointers.length < 2) {
+            // there was no resize yet so we most definitely haven't observed the entry
+            return true;
+        }
+        // check only the pointers up to the last, we haven't observed it with the last pointer
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer iterationPointer = pointers[i];
+            int index = hash & (iterationPointer.getSize() - 1);
+            if (index > iterationPointer.getIndex()) {
+                // entry would have been located after in the table on the given size,
+                // so we have observed it
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Node<R> findNode(Data key, int hash) {
+        Node<R>[] tab = table;
+        while (true) {
+            Node<R> node = bucketAt(tab, hash & (tab.length - 1));
+            if (node instanceof ForwardingNode<R> forwarding) {
+                tab = forwarding.nextTable;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                if (node.hash == hash && node.keyEquals(key)) {
+                    return node;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the table a mutation of the key with the given hash must be
+     * applied to. During a resize, moves a few more buckets and the bucket
+     * of the key into the next table and returns the next table.
+     */
+    private Node<R>[] writableTable(int hash) {
+        Node<R>[] next = nextTable;
+        if (next == null) {
+            return table;
+        }
+        Node<R>[] tab = table;
+        int end = Math.min(resizeIndex + RESIZE_STEP, tab.length);
+        for (; resizeIndex < end; resizeIndex++) {
+            moveBucket(tab, next, resizeIndex);
+        }
+        if (resizeIndex == tab.length) {
+            completeResize(next);
+            return next;
+        }
+        moveBucket(tab, next, hash & (tab.length - 1));
+        return next;
+    }
+
+    private void startResize(Node<R>[] tab) {
+        Node<R>[] next = newTable(tab.length << 1);
+        forwardingNode = new ForwardingNode<>(next);
+        resizeIndex = 0;
+        nextTable = next;
+    }
+
+    private void completeResize(Node<R>[] next) {
+        table = next;
+        nextTable = null;
+        forwardingNode = null;
+        threshold = (int) (next.length * LOAD_FACTOR);
+    }
+
+    /**
+     * Copies the nodes of the given bucket into the next table and leaves
+     * a forwarding node behind. The old nodes are not modified, so readers
+     * traversing them are not affected.
+     */
+    private void moveBucket(Node<R>[] tab, Node<R>[] next, int index) {
+        Node<R> head = bucketAt(tab, index);
+        if (head instanceof ForwardingNode) {
+            return;
+        }
+        int length = tab.length;
+        Node<R> low = null;
+        Node<R> high = null;
+        for (Node<R> node = head; node != null; node = node.next) {
+            if ((node.hash & length) == 0) {
+                low = node.copy(low);
+            } else {
+                high = node.copy(high);
+            }
+        }
+        setBucketAt(next, index, low);
+        setBucketAt(next, index + length, high);
+        setBucketAt(tab, index, forwardingNode);
+    }
+
+    private Node<R>[] newTable(int capacity) {
+        threshold = (int) (capacity * LOAD_FACTOR);
+        return (Node<R>[]) new Node[capacity];
+    }
+
+    private static <R extends Record> Node<R> bucketAt(Node<R>[] tab, int index) {
+        return (Node<R>) BUCKET.getAcquire(tab, index);
+    }
+
+    private static <R extends Record> void setBucketAt(Node<R>[] tab, int index, Node<R> node) {
+        BUCKET.setRelease(tab, index, node);
+    }
+
+    /**
+     * Returns the hash of the given key. Equal keys have equal hashes, as
+     * whether a key is stored as a primitive depends only on its bytes.
+     */
+    private static int hash(Data key) {
+        byte[] bytes = key.toByteArray();
+        if (!isPrimitiveKey(bytes)) {
+            int hashCode = key.hashCode();
+            return hashCode ^ (hashCode >>> 16);
+        }
+        long low = bytes.length == DATA_OFFSET + INT_SIZE_IN_BYTES
+                ? readIntB(bytes, DATA_OFFSET) : readLongB(bytes, bytes.length - LONG_SIZE_IN_BYTES);
+        long high = bytes.length == DATA_OFFSET + 2 * LONG_SIZE_IN_BYTES ? readLongB(bytes, DATA_OFFSET) : 0;
+        return (int) fastLongMix(high ^ low);
+    }
+
+    /**
+     * Returns {@code true} if the given key bytes are a serialized
+     * {@code Integer}, {@code Long} or {@code UUID}.
+     */
+    private static boolean isPrimitiveKey(byte[] bytes) {
+        if (bytes == null || bytes.length < DATA_OFFSET) {
+            return false;
+        }
+        return switch (readIntB(bytes, TYPE_OFFSET)) {
+            case CONSTANT_TYPE_INTEGER -> bytes.length == DATA_OFFSET + INT_SIZE_IN_BYTES;
+            case CONSTANT_TYPE_LONG -> bytes.length == DATA_OFFSET + LONG_SIZE_IN_BYTES;
+            case CONSTANT_TYPE_UUID -> bytes.length == DATA_OFFSET + 2 * LONG_SIZE_IN_BYTES;
+            default -> false;
+        };
+    }
+
+    private abstract static class Node<R extends Record> {
+        final int hash;
+        volatile R value;
+        volatile Node<R> next;
+
+        Node(int hash, R value, Node<R> next) {
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+
+        abstract Data key();
+
+        abstract boolean keyEquals(Data key);
+
+        /**
+         * Returns a copy of this node with the given next node.
+         */
+        abstract Node<R> copy(Node<R> next);
+    }
+
+    private static final class DataKeyNode<R extends Record> extends Node<R> {
+        final Data key;
+
+        DataKeyNode(int hash, Data key, R value, Node<R> next) {
+            super(hash, value, next);
+            this.key = key;
+        }
+
+        @Override
+        Data key() {
+            return key;
+        }
+
+        @Override
+        boolean keyEquals(Data key) {
+            return key.equals(this.key);
+        }
+
+        @Override
+        Node<R> copy(Node<R> next) {
+            return new DataKeyNode<>(hash, key, value, next);
+        }
+    }
+
+    /**
+     * Holds a serialized {@code Integer}, {@code Long} or {@code UUID} key
+     * as the two longs of its data and the header fields needed to restore
+     * the key bytes. An {@code Integer} or a {@code Long} is held in
+     * {@code low}.
+     */
+    private static final class PrimitiveKeyNode<R extends Record> extends Node<R> {
+        final int partitionHash;
+        final int type;
+        final long high;
+        final long low;
+
+        PrimitiveKeyNode(int hash, byte[] key, R value, Node<R> next) {
+            super(hash, value, next);
+            this.partitionHash = readIntB(key, PARTITION_HASH_OFFSET);
+            this.type = readIntB(key, TYPE_OFFSET);
+            this.low = type == CONSTANT_TYPE_INTEGER
+                    ? readIntB(key, DATA_OFFSET) : readLongB(key, key.length - LONG_SIZE_IN_BYTES);
+            this.high = type == CONSTANT_TYPE_UUID ? readLongB(key, DATA_OFFSET) : 0;
+        }
+
+        private PrimitiveKeyNode(PrimitiveKeyNode<R> node, Node<R> next) {
+            super(node.hash, node.value, next);
+            this.partitionHash = node.partitionHash;
+            this.type = node.type;
+            this.high = node.high;
+            this.low = node.low;
+        }
+
+        @Override
+        Data key() {
+            byte[] bytes = new byte[dataSize() + DATA_OFFSET];
+            writeIntB(bytes, PARTITION_HASH_OFFSET, partitionHash);
+            writeIntB(bytes, TYPE_OFFSET, type);
+            if (type == CONSTANT_TYPE_INTEGER) {
+                writeIntB(bytes, DATA_OFFSET, (int) low);
+            } else if (type == CONSTANT_TYPE_LONG) {
+                writeLongB(bytes, DATA_OFFSET, low);
+            } else {
+                writeLongB(bytes, DATA_OFFSET, high);
+                writeLongB(bytes, DATA_OFFSET + LONG_SIZE_IN_BYTES, low);
+            }
+            return new HeapData(bytes);
+        }
+
+        /**
+         * Compares the data of the given key with the stored one, ignoring
+         * the partition hash as {@link HeapData#equals(Object)} does.
+         */
+        @Override
+        boolean keyEquals(Data key) {
+            byte[] bytes = key.toByteArray();
+            if (bytes == null || bytes.length != dataSize() + DATA_OFFSET || readIntB(bytes, TYPE_OFFSET) != type) {
+                return false;
+            }
+            if (type == CONSTANT_TYPE_INTEGER) {
+                return readIntB(bytes, DATA_OFFSET) == (int) low;
+            }
+            return readLongB(bytes, bytes.length - LONG_SIZE_IN_BYTES) == low
+                    && (type != CONSTANT_TYPE_UUID || readLongB(bytes, DATA_OFFSET) == high);
+        }
+
+        @Override
+        Node<R> copy(Node<R> next) {
+            return new PrimitiveKeyNode<>(this, next);
+        }
+
+        private int dataSize() {
+            return switch (type) {
+                case CONSTANT_TYPE_INTEGER -> INT_SIZE_IN_BYTES;
+                case CONSTANT_TYPE_LONG -> LONG_SIZE_IN_BYTES;
+                default -> 2 * LONG_SIZE_IN_BYTES;
+            };
+        }
+    }
+
+    /**
+     * Reusable view over a sampled node.
+     */
+    private static final class NodeView<R extends Record> implements SampledEntry<Data, R> {
+        private Node<R> node;
+        private R record;
+
+        NodeView<R> reset(Node<R> node, R record) {
+            this.node = node;
+            this.record = record;
+            return this;
+        }
+
+        @Override
+        public R getRecord() {
+            return record;
+        }
+
+        @Override
+        public boolean keyEquals(Data key) {
+            return node.keyEquals(key);
+        }
+
+        @Override
+        public Data copyKey() {
+            return node.key();
+        }
+    }
+
+    /**
+     * Placed in a bucket of a table whose nodes were moved to the next table.
+     */
+    private static final class ForwardingNode<R extends Record> extends Node<R> {
+        final Node<R>[] nextTable;
+
+        ForwardingNode(Node<R>[] nextTable) {
+            super(0, null, null);
+            this.nextTable = nextTable;
+        }
+
+        @Override
+        Data key() {
+            return null;
+        }
+
+        @Override
+        boolean keyEquals(Data key) {
+            return false;
+        }
+
+        @Override
+        Node<R> copy(Node<R> next) {
+            throw new UnsupportedOperationException("ForwardingNode#copy");
+        }
+    }
+
+    /**
+     * Iterates a table bucket by bucket, buffering the entries of the
+     * current bucket, so it is not affected by the mutations of the map.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, R>> {
+
+        private final Node<R>[] tab;
+        private final List<Map.Entry<Data, R>> buffer = new ArrayList<>();
+        private final Consumer<Node<R>> collector = node -> {
+            R value = node.value;
+            if (value != null) {
+                buffer.add(new AbstractMap.SimpleImmutableEntry<>(node.key(), value));
+            }
+        };
+        private int bucketIndex;
+        private int bufferIndex;
+
+        private EntryIterator(Node<R>[] tab) {
+            this.tab = tab;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (bufferIndex == buffer.size()) {
+                if (bucketIndex == tab.length) {
+                    return false;
+                }
+                buffer.clear();
+                bufferIndex = 0;
+                forEachInBucket(tab, bucketIndex++, collector);
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Data, R> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.get(bufferIndex++);
+        }
+    }
+}
@@ -40,6 +40,7 @@ import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
 import com.hazelcast.map.impl.recordstore.expiry.ExpiryReason;
 import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.query.impl.ColumnarStore;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
@@ -532,6 +533,13 @@ public interface RecordStore<R extends Record> {
 
     Storage getStorage();
 
+    /**
+     * @return the columnar store of the configured columnar attributes,
+     * or {@code null} if there is none
+     * @see com.hazelcast.config.MapConfig#setColumnarAttributes(List)
+     */
+    ColumnarStore getColumnarStore();
+
     void sampleAndForceRemoveEntries(int entryCountToRemove);
 
     /**
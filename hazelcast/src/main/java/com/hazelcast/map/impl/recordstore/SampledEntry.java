@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+/**
+ * View over an entry visited by {@link Storage#sample}. The view and its
+ * record are reused for the next visited entry, so they are only valid
+ * during the callback: {@link #copyKey()} has to be called to keep the key.
+ *
+ * @param <K> the key type
+ * @param <R> the record type
+ */
+public interface SampledEntry<K, R> {
+
+    /**
+     * @return the record of the entry, valid only during the callback
+     */
+    R getRecord();
+
+    /**
+     * Compares the key of the entry with the given one without copying it.
+     *
+     * @return {@code true} if the entry has the given key
+     */
+    boolean keyEquals(K key);
+
+    /**
+     * @return the key of the entry, which can be kept after the callback,
+     * copied out of the storage if the storage does not hold it as a
+     * {@code Data} instance
+     */
+    K copyKey();
+}
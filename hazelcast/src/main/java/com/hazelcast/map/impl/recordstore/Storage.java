@@ -28,6 +28,7 @@ import com.hazelcast.map.impl.record.Record;
 import javax.annotation.Nonnull;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Represents actual storage layer behind a {@link RecordStore}.
@@ -129,6 +130,96 @@ public interface Storage<K, R> {
      */
     Iterable<EntryView> getRandomSamples(int sampleCount);
 
+    /**
+     * Used for pool based eviction, visits at least {@code sampleCount}
+     * entries, if there are that many, starting from the given cursor.
+     * Unlike {@link #getRandomSamples(int)}, implementations should not
+     * allocate an object per visited entry: the visited entries are passed
+     * to the consumer as a reused {@link SampledEntry} view, which copies
+     * the key only when asked to.
+     *
+     * @param cursor      the cursor returned by the previous call, or a
+     *                    random non-negative number to start from a random position
+     * @param sampleCount sample count.
+     * @param consumer    the consumer to call with the views of the sampled entries
+     * @return the cursor to continue sampling from
+     */
+    @SuppressWarnings("unchecked")
+    default int sample(int cursor, int sampleCount, Consumer<SampledEntry<K, R>> consumer) {
+        for (EntryView entryView : getRandomSamples(sampleCount)) {
+            K key = (K) extractDataKeyFromLazy(entryView);
+            R record = (R) ((LazyEvictableEntryView) entryView).getRecord();
+            consumer.accept(new SampledEntry<>() {
+                @Override
+                public R getRecord() {
+                    return record;
+                }
+
+                @Override
+                public boolean keyEquals(K other) {
+                    return key.equals(other);
+                }
+
+                @Override
+                public K copyKey() {
+                    return key;
+                }
+            });
+        }
+        return cursor;
+    }
+
+    /**
+     * @return {@code true} if this storage holds memory which can be
+     * reclaimed by {@link #compact(int, int)}
+     */
+    default boolean isCompactionRequired() {
+        return false;
+    }
+
+    /**
+     * Runs a slice of an incremental compaction pass: relocates the records
+     * of the entries in at most {@code maxCount} slots, starting from the
+     * given cursor, so that the memory they occupied can be reclaimed.
+     * Entries are not added, removed or reordered by the compaction.
+     *
+     * @param cursor   {@code 0} to start a new pass, or the cursor returned by the previous call
+     * @param maxCount the maximum number of slots to visit
+     * @return the cursor to continue the pass from, or {@code -1} if the pass has completed
+     */
+    default int compact(int cursor, int maxCount) {
+        return -1;
+    }
+
+    /**
+     * @return the number of entries relocated by compaction
+     */
+    default long getCompactedEntryCount() {
+        return 0;
+    }
+
+    /**
+     * @return the number of bytes reclaimed by compaction
+     */
+    default long getCompactionReclaimedBytes() {
+        return 0;
+    }
+
+    /**
+     * @return the total size of the serialized values stored
+     * compressed, see {@link #getCompressedValueBytes()}
+     */
+    default long getUncompressedValueBytes() {
+        return 0;
+    }
+
+    /**
+     * @return the total size of the values stored compressed, in compressed form
+     */
+    default long getCompressedValueBytes() {
+        return 0;
+    }
+
     /**
      * Fetch minimally {@code size} keys from the {@code pointers} position.
      * The key is fetched on-heap.
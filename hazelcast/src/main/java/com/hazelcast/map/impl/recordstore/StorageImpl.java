@@ -26,15 +26,17 @@ import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.hazelcast.config.InMemoryFormat.BINARY;
-import static com.hazelcast.internal.util.IterableUtil.asReadOnlyIterator;
 import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createMapSizeEstimator;
 
 /**
@@ -44,56 +46,166 @@ import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createMapSiz
  */
 public class StorageImpl<R extends Record> implements Storage<Data, R> {
 
-    private final StorageSCHM<R> records;
+    /**
+     * The number of values stored while the dictionary was trained which
+     * are compressed by a single put.
+     */
+    private static final int PENDING_COMPRESSION_BATCH_SIZE = 16;
+
+    private final PartitionRecordMap<R> records;
     private final SerializationService serializationService;
     private final InMemoryFormat inMemoryFormat;
 
+    private final ValueCompressor valueCompressor;
+    // keys of the values sampled to train the dictionary, they're compressed after the training
+    private final ArrayDeque<Data> uncompressedKeys;
+
     // not final for testing purposes.
     private EntryCostEstimator<Data, Record> entryCostEstimator;
 
+    private volatile long uncompressedValueBytes;
+    private volatile long compressedValueBytes;
+
     public StorageImpl(InMemoryFormat inMemoryFormat, ExpirySystem expirySystem,
                 SerializationService serializationService) {
+        this(inMemoryFormat, expirySystem, serializationService, false);
+    }
+
+    /**
+     * @param valueCompressionEnabled {@code true} to store the values compressed,
+     *                                only applicable with {@code BINARY} in-memory format
+     */
+    public StorageImpl(InMemoryFormat inMemoryFormat, ExpirySystem expirySystem,
+                       SerializationService serializationService, boolean valueCompressionEnabled) {
         this.entryCostEstimator = createMapSizeEstimator(inMemoryFormat);
         this.inMemoryFormat = inMemoryFormat;
-        this.records = new StorageSCHM<>(serializationService, expirySystem);
+        this.records = new PartitionRecordMap<>(serializationService, expirySystem);
         this.serializationService = serializationService;
+        this.valueCompressor = valueCompressionEnabled && inMemoryFormat == BINARY ? new ValueCompressor() : null;
+        this.uncompressedKeys = valueCompressor != null ? new ArrayDeque<>() : null;
     }
 
     @Override
     public void clear(boolean isDuringShutdown) {
         records.clear();
+        if (uncompressedKeys != null) {
+            uncompressedKeys.clear();
+        }
 
         entryCostEstimator.reset();
+        uncompressedValueBytes = 0;
+        compressedValueBytes = 0;
     }
 
     @Override
     public Iterator<Map.Entry<Data, R>> mutationTolerantIterator() {
-        return asReadOnlyIterator(records.cachedEntrySet().iterator());
+        return records.entryIterator();
     }
 
     @Override
     public void put(Data key, R record) {
+        if (valueCompressor != null) {
+            record.setValue(compress(key, (Data) record.getValue()));
+            onValueAdded(record);
+        }
         R previousRecord = records.put(key, record);
 
         if (previousRecord == null) {
             updateCostEstimate(entryCostEstimator.calculateEntryCost(key, record));
         } else {
+            onValueRemoved(previousRecord);
             updateCostEstimate(-entryCostEstimator.calculateValueCost(previousRecord));
             updateCostEstimate(entryCostEstimator.calculateValueCost(record));
         }
+        compressPending();
     }
 
     @Override
     public R updateRecordValue(Data key, R record, Object value) {
         updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+        onValueRemoved(record);
 
-        record.setValue(inMemoryFormat == BINARY
-                ? serializationService.toData(value) : serializationService.toObject(value));
+        if (inMemoryFormat != BINARY) {
+            record.setValue(serializationService.toObject(value));
+        } else if (valueCompressor != null) {
+            record.setValue(compress(key, serializationService.toData(value)));
+        } else {
+            record.setValue(serializationService.toData(value));
+        }
 
+        onValueAdded(record);
         updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+        compressPending();
         return record;
     }
 
+    private Data compress(Data key, Data value) {
+        boolean trained = valueCompressor.isTrained();
+        Data compressed = valueCompressor.compress(value);
+        if (!trained && value != null && !(value instanceof CompressedData)
+                && value.totalSize() >= ValueCompressor.MIN_VALUE_SIZE) {
+            // sampled to train the dictionary
+            uncompressedKeys.add(key);
+        }
+        return compressed;
+    }
+
+    /**
+     * Compresses a batch of the values stored while the dictionary was
+     * trained, so they're compressed over the next puts instead of a single
+     * pass over the partition.
+     */
+    private void compressPending() {
+        if (valueCompressor == null || !valueCompressor.isTrained()) {
+            return;
+        }
+        for (int i = 0; i < PENDING_COMPRESSION_BATCH_SIZE && !uncompressedKeys.isEmpty(); i++) {
+            R record = records.get(uncompressedKeys.poll());
+            if (record == null) {
+                continue;
+            }
+            Object value = record.getValue();
+            if (value instanceof CompressedData) {
+                continue;
+            }
+            Data compressed = valueCompressor.compress((Data) value);
+            if (compressed != value) {
+                updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+                record.setValue(compressed);
+                onValueAdded(record);
+                updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+            }
+        }
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT", justification = "only updated by the partition thread")
+    private void onValueAdded(R record) {
+        if (record.getValue() instanceof CompressedData) {
+            CompressedData value = (CompressedData) record.getValue();
+            uncompressedValueBytes += value.totalSize();
+            compressedValueBytes += value.compressedSize();
+        }
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT", justification = "only updated by the partition thread")
+    private void onValueRemoved(R record) {
+        if (record.getValue() instanceof CompressedData) {
+            CompressedData value = (CompressedData) record.getValue();
+            uncompressedValueBytes -= value.totalSize();
+            compressedValueBytes -= value.compressedSize();
+        }
+    }
+
+    @Override
+    public long getUncompressedValueBytes() {
+        return uncompressedValueBytes;
+    }
+
+    @Override
+    public long getCompressedValueBytes() {
+        return compressedValueBytes;
+    }
+
     @Override
     public R get(Data key) {
         return records.get(key);
@@ -117,6 +229,9 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
     @Override
     public void destroy(boolean isDuringShutdown) {
         clear(isDuringShutdown);
+        if (valueCompressor != null) {
+            valueCompressor.dispose();
+        }
     }
 
     @Override
@@ -133,6 +248,7 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
     public void removeRecord(Data dataKey, R record) {
         records.remove(dataKey);
 
+        onValueRemoved(record);
         updateCostEstimate(-entryCostEstimator.calculateEntryCost(dataKey, record));
     }
 
@@ -150,6 +266,11 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
         return records.getRandomSamples(sampleCount);
     }
 
+    @Override
+    public int sample(int cursor, int sampleCount, Consumer<SampledEntry<Data, R>> consumer) {
+        return records.sample(cursor, sampleCount, consumer);
+    }
+
     @Override
     public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
         List<Data> keys = new ArrayList<>(size);
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the serialized values of a {@link StorageImpl} with a preset
+ * deflate dictionary, see {@link com.hazelcast.config.MapConfig#setValueCompressionEnabled(boolean)}.
+ * <p>
+ * Deflate finds repetitions within a single value only, which leaves little
+ * to gain for small values. A dictionary holding content common to many
+ * values, like field names and recurring field values, is used as if it
+ * preceded every value, so repetitions of its content are encoded as short
+ * back-references. The dictionary is trained from the first values passed
+ * to {@link #compress(Data)}, which are returned uncompressed until then.
+ * <p>
+ * The dictionary is built as in the COVER algorithm of zstd: the sampled
+ * bytes are split into epochs and from each epoch the segment made of the
+ * most frequent k-grams is selected. K-grams are counted only once, so the
+ * segments cover distinct content. The most valuable segments are placed at
+ * the end of the dictionary, where back-references are the cheapest.
+ * <p>
+ * Not thread-safe, only used by the partition thread.
+ */
+final class ValueCompressor {
+
+    static final int DICTIONARY_SIZE = 8 * 1024;
+    static final int MIN_VALUE_SIZE = 64;
+
+    private static final int SAMPLE_COUNT = 256;
+    private static final int MAX_SAMPLE_BYTES = 16 * DICTIONARY_SIZE;
+    private static final int SEGMENT_SIZE = 64;
+    private static final int K = 8;
+    private static final int HASH_BITS = 16;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    private List<byte[]> samples = new ArrayList<>();
+    private int sampleBytes;
+    private byte[] dictionary;
+    private byte[] buffer = new byte[0];
+
+    /**
+     * @return {@code true} if the dictionary has been trained, so values are compressed
+     */
+    boolean isTrained() {
+        return dictionary != null;
+    }
+
+    /**
+     * Returns the value to store in place of the given one: a
+     * {@link CompressedData} if the value is compressed by at least one
+     * eighth, otherwise the given value.
+     */
+    Data compress(Data value) {
+        if (value == null || value instanceof CompressedData || value.totalSize() < MIN_VALUE_SIZE) {
+            return value;
+        }
+        byte[] payload = value.toByteArray();
+        if (dictionary == null) {
+            sample(payload);
+            return value;
+        }
+
+        int maxCompressedSize = payload.length - (payload.length >> 3);
+        if (buffer.length < maxCompressedSize) {
+            buffer = new byte[maxCompressedSize];
+        }
+        deflater.reset();
+        deflater.setDictionary(dictionary);
+        deflater.setInput(payload);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished() && length < maxCompressedSize) {
+            length += deflater.deflate(buffer, length, maxCompressedSize - length);
+        }
+        if (!deflater.finished()) {
+            return value;
+        }
+        return new CompressedData(dictionary, Arrays.copyOf(buffer, length), value.getType(), payload.length);
+    }
+
+    void dispose() {
+        deflater.end();
+    }
+
+    private void sample(byte[] payload) {
+        samples.add(payload);
+        sampleBytes += payload.length;
+        if (samples.size() < SAMPLE_COUNT && sampleBytes < MAX_SAMPLE_BYTES) {
+            return;
+        }
+        byte[] sampled = new byte[sampleBytes];
+        int offset = 0;
+        for (byte[] sample : samples) {
+            System.arraycopy(sample, 0, sampled, offset, sample.length);
+            offset += sample.length;
+        }
+        dictionary = trainDictionary(sampled, DICTIONARY_SIZE);
+        samples = null;
+    }
+
+    /**
+     * Builds a dictionary of at most {@code dictionarySize} bytes
+     * made of the segments of {@code sampled} most worth referencing.
+     */
+    static byte[] trainDictionary(byte[] sampled, int dictionarySize) {
+        if (sampled.length <= dictionarySize) {
+            return sampled.clone();
+        }
+        int positions = sampled.length - K + 1;
+        int[] hashes = new int[positions];
+        int[] counts = new int[1 << HASH_BITS];
+        for (int i = 0; i < positions; i++) {
+            hashes[i] = hash(sampled, i);
+            counts[hashes[i]]++;
+        }
+
+        int window = SEGMENT_SIZE - K + 1;
+        int epochs = dictionarySize / SEGMENT_SIZE;
+        int epochSize = sampled.length / epochs;
+        List<long[]> segments = new ArrayList<>(epochs);
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            int from = epoch * epochSize;
+            int lastStart = Math.min(from + epochSize, sampled.length) - SEGMENT_SIZE;
+            if (lastStart < from) {
+                continue;
+            }
+            long score = 0;
+            for (int i = from; i < from + window; i++) {
+                score += counts[hashes[i]];
+            }
+            long bestScore = score;
+            int bestStart = from;
+            for (int start = from + 1; start <= lastStart; start++) {
+                score += counts[hashes[start + window - 1]] - counts[hashes[start - 1]];
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestStart = start;
+                }
+            }
+            // a segment whose k-grams all occur once has nothing in common with other values
+            if (bestScore > window) {
+                segments.add(new long[]{bestScore, bestStart});
+            }
+            for (int i = bestStart; i < bestStart + window; i++) {
+                counts[hashes[i]] = 0;
+            }
+        }
+
+        segments.sort((s1, s2) -> Long.compare(s1[0], s2[0]));
+        byte[] dictionary = new byte[segments.size() * SEGMENT_SIZE];
+        for (int i = 0; i < segments.size(); i++) {
+            System.arraycopy(sampled, (int) segments.get(i)[1], dictionary, i * SEGMENT_SIZE, SEGMENT_SIZE);
+        }
+        return dictionary;
+    }
+
+    private static int hash(byte[] bytes, int offset) {
+        long kGram = 0;
+        for (int i = 0; i < K; i++) {
+            kGram = (kGram << Byte.SIZE) | (bytes[offset + i] & BYTE_MASK);
+        }
+        return (int) ((kGram * HASH_MULTIPLIER) >>> (Long.SIZE - HASH_BITS));
+    }
+}
@@ -22,6 +22,7 @@ import com.hazelcast.internal.eviction.ExpiredKey;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.internal.nio.Disposable;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Clock;
 import com.hazelcast.internal.util.ExceptionUtil;
 import com.hazelcast.internal.util.MapUtil;
 import com.hazelcast.logging.ILogger;
@@ -53,6 +54,14 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  * This class has all logic to remove expired entries. Expiry reason
  * can be ttl or idleness. An instance of this class is created for
  * each {@link RecordStore} and it is always accessed by same single thread.
+ * <p>
+ * Expirable keys are indexed by their expiration time in an {@link
+ * ExpiryTimerWheel}, so a clean-up run only visits the keys which are
+ * due. The timer wheel is created when the first expirable key is added
+ * and released when the keys are cleared, so record stores without
+ * expirable keys do not hold its buckets. If the timer wheel is disabled,
+ * or the expiry metadata is created by a subclass, a clean-up run scans
+ * a percentage of the expirable keys.
  */
 public class ExpirySystemImpl implements ExpirySystem {
     private static final long DEFAULT_EXPIRED_KEY_SCAN_TIMEOUT_NANOS
@@ -62,6 +71,11 @@ public class ExpirySystemImpl implements ExpirySystem {
     private static final HazelcastProperty EXPIRED_KEY_SCAN_TIMEOUT_NANOS
             = new HazelcastProperty(PROP_EXPIRED_KEY_SCAN_TIMEOUT_NANOS,
             DEFAULT_EXPIRED_KEY_SCAN_TIMEOUT_NANOS, NANOSECONDS);
+    private static final String PROP_TIMER_WHEEL_ENABLED
+            = "hazelcast.internal.map.expiry.timer.wheel.enabled";
+    private static final HazelcastProperty TIMER_WHEEL_ENABLED
+            = new HazelcastProperty(PROP_TIMER_WHEEL_ENABLED, true);
+    private static final long MIN_RESCHEDULE_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
     private static final int ONE_HUNDRED_PERCENT = 100;
     private static final int MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN = 100;
     private static final int MAX_SAMPLE_AT_A_TIME = 16;
@@ -76,9 +90,15 @@ public class ExpirySystemImpl implements ExpirySystem {
     private final MapContainer mapContainer;
     private final MapServiceContext mapServiceContext;
     private final ClearExpiredRecordsTask clearExpiredRecordsTask;
+    private final boolean timerWheelEnabled;
     private final InvalidationQueue<ExpiredKey> expiredKeys = new InvalidationQueue<>();
 
     private Iterator<Map.Entry<Data, ExpiryMetadata>> cachedExpirationIterator;
+    // created lazily, only used by the partition thread
+    private ExpiryTimerWheel timerWheel;
+    // set when metadata which is not indexed by the timer wheel is
+    // created, expired keys can then only be found by scanning
+    private boolean scanRequired;
     // This is volatile since it can be initialized at runtime lazily and
     // can be accessed by query threads besides partition ones.
     private volatile Map<Data, ExpiryMetadata> expireTimeByKey;
@@ -96,6 +116,7 @@ public class ExpirySystemImpl implements ExpirySystem {
         this.mapServiceContext = mapServiceContext;
         this.canPrimaryDriveExpiration = mapServiceContext.getClearExpiredRecordsTask().canPrimaryDriveExpiration();
         this.expiredKeyScanTimeoutNanos = nodeEngine.getProperties().getNanos(EXPIRED_KEY_SCAN_TIMEOUT_NANOS);
+        this.timerWheelEnabled = hazelcastProperties.getBoolean(TIMER_WHEEL_ENABLED);
     }
 
     @Override
@@ -118,6 +139,7 @@ public class ExpirySystemImpl implements ExpirySystem {
     public void clear() {
         Map<Data, ExpiryMetadata> map = getOrCreateExpireTimeByKeyMap(false);
         map.clear();
+        clearTimerWheel();
     }
 
     protected final Map<Data, ExpiryMetadata> getOrCreateExpireTimeByKeyMap(boolean createIfAbsent) {
@@ -136,7 +158,9 @@ public class ExpirySystemImpl implements ExpirySystem {
     // this method is overridden
     protected ExpiryMetadata createExpiryMetadata(long ttlMillis, long maxIdleMillis,
                                                   long expirationTime, long lastUpdateTime) {
-        return new ExpiryMetadataImpl(ttlMillis, maxIdleMillis, expirationTime, lastUpdateTime);
+        return timerWheelEnabled
+                ? new ScheduledExpiryMetadata(ttlMillis, maxIdleMillis, expirationTime, lastUpdateTime)
+                : new ExpiryMetadataImpl(ttlMillis, maxIdleMillis, expirationTime, lastUpdateTime);
     }
 
     /**
@@ -206,6 +230,12 @@ public class ExpirySystemImpl implements ExpirySystem {
                     expirationTime, lastUpdateTime);
             Data nativeKey = recordStore.getStorage().toBackingDataKeyFormat(key);
             expireTimeByKey.put(nativeKey, expiryMetadata);
+            if (expiryMetadata instanceof ScheduledExpiryMetadata node) {
+                node.key = nativeKey;
+                getOrCreateTimerWheel().schedule(node, node.getExpirationTime());
+            } else {
+                scanRequired = true;
+            }
             return;
         }
 
@@ -214,6 +244,9 @@ public class ExpirySystemImpl implements ExpirySystem {
                 .setMaxIdle(maxIdleMillis)
                 .setExpirationTime(expirationTime)
                 .setLastUpdateTime(lastUpdateTime);
+        if (expiryMetadata instanceof ScheduledExpiryMetadata node) {
+            getOrCreateTimerWheel().schedule(node, node.getExpirationTime());
+        }
     }
 
     @Override
@@ -305,6 +338,11 @@ public class ExpirySystemImpl implements ExpirySystem {
     @SuppressWarnings("checkstyle:magicnumber")
     @Override
     public final void evictExpiredEntries(final int percentage, final long now, final boolean backup) {
+        if (timerWheelEnabled && !scanRequired) {
+            evictExpiredEntriesOfTimerWheel(now, backup);
+            return;
+        }
+
         // 1. Find how many keys we can scan at max.
         final int maxScannableCount = findMaxScannableCount(percentage);
         if (maxScannableCount == 0) {
@@ -347,6 +385,67 @@ public class ExpirySystemImpl implements ExpirySystem {
                 (System.nanoTime() - scanLoopStartNanos)));
     }
 
+    /**
+     * Advances the timer wheel and evicts the expired keys of the visited
+     * buckets. Keys which are not expired yet, e.g. because they have been
+     * accessed since they were scheduled, are scheduled again. When the
+     * time limit of a clean-up run is reached, the remaining keys are
+     * scheduled to be visited by the next run.
+     */
+    private void evictExpiredEntriesOfTimerWheel(long now, boolean backup) {
+        ExpiryTimerWheel timerWheel = this.timerWheel;
+        if (timerWheel == null) {
+            tryToSendBackupExpiryOp();
+            return;
+        }
+        // visited and expired counts
+        int[] counts = new int[2];
+        long startNanos = System.nanoTime();
+        timerWheel.advance(now, node -> {
+            counts[0]++;
+            if (System.nanoTime() - startNanos >= expiredKeyScanTimeoutNanos) {
+                timerWheel.schedule(node, now);
+                return;
+            }
+            ExpiryReason expiryReason = hasExpired(node, now, backup);
+            if (expiryReason == ExpiryReason.NOT_EXPIRED || recordStore.isLocked(node.key)) {
+                timerWheel.schedule(node, nextVisitTime(node, now, backup));
+                return;
+            }
+            recordStore.evictExpiredEntryAndPublishExpiryEvent(node.key, expiryReason, backup);
+            callRemove(node.key, expireTimeByKey);
+            counts[1]++;
+        });
+
+        tryToSendBackupExpiryOp();
+
+        if (logger.isFinestEnabled()) {
+            logProgress(counts[0], counts[0], counts[1], startNanos, backup);
+        }
+    }
+
+    private long nextVisitTime(ExpiryMetadata expiryMetadata, long now, boolean backup) {
+        long expirationTime = backup
+                ? expiryMetadata.getExpirationTime() + expiryDelayMillis
+                : expiryMetadata.getExpirationTime();
+        // expired but locked, or idle on a backup whose expiry is driven by the primary
+        return expirationTime > now ? expirationTime : now + Math.max(expiryDelayMillis, MIN_RESCHEDULE_DELAY_MILLIS);
+    }
+
+    private ExpiryTimerWheel getOrCreateTimerWheel() {
+        if (timerWheel == null) {
+            timerWheel = new ExpiryTimerWheel(Clock.currentTimeMillis());
+        }
+        return timerWheel;
+    }
+
+    private void clearTimerWheel() {
+        if (timerWheel != null) {
+            timerWheel.clear();
+            timerWheel = null;
+        }
+    }
+
     private int findMaxScannableCount(int percentage) {
         if (isEmpty()) {
             return 0;
@@ -424,14 +523,20 @@ public class ExpirySystemImpl implements ExpirySystem {
 
     // this method is overridden
     protected void callRemove(Data key, Map<Data, ExpiryMetadata> expireTimeByKey) {
-        expireTimeByKey.remove(key);
+        ExpiryMetadata expiryMetadata = expireTimeByKey.remove(key);
+        if (expiryMetadata instanceof ScheduledExpiryMetadata node && timerWheel != null) {
+            timerWheel.unschedule(node);
+        }
     }
 
     // this method is overridden
     @Nonnull
     @Override
     public Disposable createDisposable() {
-        return () -> getOrCreateExpireTimeByKeyMap(false).clear();
+        return () -> {
+            getOrCreateExpireTimeByKeyMap(false).clear();
+            clearTimerWheel();
+        };
     }
 
     @Override
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel indexing the expirable keys of a record
+ * store by their expiration time.
+ * <p>
+ * Each level of the wheel is an array of buckets, a bucket of a level
+ * spans a fixed, power of two, number of milliseconds and the level spans
+ * as much time as a single bucket of the next level. A key is put into a
+ * bucket of the lowest level covering its expiration time, the last
+ * level having a single bucket for the keys expiring after the time
+ * covered by the other levels. When the wheel is advanced, only the
+ * buckets whose time has passed are visited and their keys are handed
+ * to the caller, which evicts them or schedules them again, e.g.
+ * in a lower level or after their expiration time has been extended.
+ * So advancing costs in proportion to the number of keys which are due
+ * rather than to the number of expirable keys.
+ * <p>
+ * The bucket of a key may be visited somewhat before its expiration
+ * time, callers must check the expiration time of the visited keys.
+ * Not thread-safe, it must only be used by the partition thread.
+ */
+final class ExpiryTimerWheel {
+
+    /**
+     * Bucket counts of the levels, powers of two.
+     */
+    private static final int[] BUCKETS = {64, 64, 32, 16, 1};
+    /**
+     * Bucket spans of the levels as shifts of milliseconds: about a
+     * second, a minute, an hour, a day and a half and 25 days. The span
+     * of a level is the bucket span of the next level.
+     */
+    private static final int[] SHIFTS = {10, 16, 22, 27, 31};
+
+    private final ScheduledExpiryMetadata[][] wheel;
+    // holds the nodes of the bucket being expired
+    private final ScheduledExpiryMetadata detached = new ScheduledExpiryMetadata();
+
+    private long time;
+
+    ExpiryTimerWheel(long now) {
+        this.time = now;
+        this.wheel = new ScheduledExpiryMetadata[BUCKETS.length][];
+        for (int level = 0; level < BUCKETS.length; level++) {
+            wheel[level] = new ScheduledExpiryMetadata[BUCKETS[level]];
+            for (int index = 0; index < BUCKETS[level]; index++) {
+                wheel[level][index] = new ScheduledExpiryMetadata();
+            }
+        }
+    }
+
+    /**
+     * Puts the given node into the bucket of the given time, after
+     * unlinking it from its current bucket. Times in the past are
+     * put into the current bucket, to be visited by the next advance.
+     */
+    void schedule(ScheduledExpiryMetadata node, long deadline) {
+        unschedule(node);
+        ScheduledExpiryMetadata sentinel = findBucket(Math.max(deadline, time));
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    /**
+     * Unlinks the given node from its bucket, if it is scheduled.
+     */
+    void unschedule(ScheduledExpiryMetadata node) {
+        if (!node.isScheduled()) {
+            return;
+        }
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Advances the wheel to the given time and passes the nodes of
+     * the visited buckets, already unlinked, to the given consumer.
+     */
+    void advance(long now, Consumer<ScheduledExpiryMetadata> consumer) {
+        long previousTime = time;
+        if (now <= previousTime) {
+            return;
+        }
+        time = now;
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long previousTicks = previousTime >>> SHIFTS[level];
+            long currentTicks = now >>> SHIFTS[level];
+            if (currentTicks == previousTicks) {
+                break;
+            }
+            ScheduledExpiryMetadata[] buckets = wheel[level];
+            long count = Math.min(currentTicks - previousTicks + 1, buckets.length);
+            for (long ticks = previousTicks; ticks < previousTicks + count; ticks++) {
+                expire(buckets[(int) (ticks & (buckets.length - 1))], consumer);
+            }
+        }
+    }
+
+    /**
+     * Unlinks all the nodes.
+     */
+    void clear() {
+        for (ScheduledExpiryMetadata[] buckets : wheel) {
+            for (ScheduledExpiryMetadata sentinel : buckets) {
+                ScheduledExpiryMetadata node = sentinel.next;
+                while (node != sentinel) {
+                    ScheduledExpiryMetadata next = node.next;
+                    node.prev = null;
+                    node.next = null;
+                    node = next;
+                }
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+    }
+
+    // the nodes are moved to a detached list first, nodes scheduled
+    // into the bucket by the consumer are visited by the next advance
+    private void expire(ScheduledExpiryMetadata sentinel, Consumer<ScheduledExpiryMetadata> consumer) {
+        if (sentinel.next == sentinel) {
+            return;
+        }
+        moveAll(sentinel, detached);
+        try {
+            while (detached.next != detached) {
+                ScheduledExpiryMetadata node = detached.next;
+                unschedule(node);
+                consumer.accept(node);
+            }
+        } finally {
+            // put the nodes which were not visited back, if the consumer failed
+            moveAll(detached, sentinel);
+        }
+    }
+
+    private static void moveAll(ScheduledExpiryMetadata from, ScheduledExpiryMetadata to) {
+        if (from.next == from) {
+            return;
+        }
+        ScheduledExpiryMetadata first = from.next;
+        ScheduledExpiryMetadata last = from.prev;
+        first.prev = to.prev;
+        last.next = to;
+        to.prev.next = first;
+        to.prev = last;
+        from.prev = from;
+        from.next = from;
+    }
+
+    private ScheduledExpiryMetadata findBucket(long deadline) {
+        long duration = deadline - time;
+        int lastLevel = SHIFTS.length - 1;
+        for (int level = 0; level < lastLevel; level++) {
+            if (duration < 1L << SHIFTS[level + 1]) {
+                ScheduledExpiryMetadata[] buckets = wheel[level];
+                return buckets[(int) ((deadline >>> SHIFTS[level]) & (buckets.length - 1))];
+            }
+        }
+        return wheel[lastLevel][0];
+    }
+}
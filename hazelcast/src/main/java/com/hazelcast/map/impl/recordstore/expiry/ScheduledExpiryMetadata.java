@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import com.hazelcast.internal.serialization.Data;
+
+/**
+ * {@link ExpiryMetadata} of a key which is indexed in the {@link
+ * ExpiryTimerWheel} of its expiry system. It is a node of the doubly
+ * linked list of its wheel bucket, so it can be unlinked in constant time.
+ */
+final class ScheduledExpiryMetadata extends ExpiryMetadataImpl {
+
+    Data key;
+    ScheduledExpiryMetadata prev;
+    ScheduledExpiryMetadata next;
+
+    /**
+     * Creates the sentinel of a wheel bucket.
+     */
+    ScheduledExpiryMetadata() {
+        prev = this;
+        next = this;
+    }
+
+    ScheduledExpiryMetadata(long ttl, long maxIdle, long expirationTime, long lastUpdateTime) {
+        super(ttl, maxIdle, expirationTime, lastUpdateTime);
+    }
+
+    boolean isScheduled() {
+        return next != null;
+    }
+}
@@ -21,6 +21,7 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.projection.Projection;
 import com.hazelcast.query.impl.Extractable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -54,6 +55,11 @@ public final class MultiAttributeProjection<I> implements Projection<I, Object[]
         this.attributePaths = attributePath;
     }
 
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public String[] getAttributePaths() {
+        return attributePaths;
+    }
+
     @Override
     public Object[] transform(I input) {
         if (input instanceof Extractable extractable) {
@@ -49,6 +49,10 @@ public final class SingleAttributeProjection<I, O> implements Projection<I, O>,
         this.attributePath = attributePath;
     }
 
+    public String getAttributePath() {
+        return attributePath;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public O transform(I input) {
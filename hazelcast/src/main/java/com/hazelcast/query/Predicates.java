@@ -36,6 +36,7 @@ import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import com.hazelcast.query.impl.predicates.PartitionPredicateImpl;
 import com.hazelcast.query.impl.predicates.RegexPredicate;
 import com.hazelcast.query.impl.predicates.SqlPredicate;
+import com.hazelcast.query.impl.predicates.TextSearchPredicate;
 import com.hazelcast.query.impl.predicates.TruePredicate;
 import java.util.Comparator;
 import java.util.Date;
@@ -370,6 +371,32 @@ public final class Predicates {
         return new RegexPredicate(attribute, pattern);
     }
 
+    /**
+     * Creates a <b>text search</b> predicate that will pass items if the string value stored under the given item
+     * {@code attribute} contains all the words of the given {@code text}, ignoring the case. Words are the runs
+     * of letters and digits, for example the text {@code "quick fox"} matches {@code "The Quick Brown Fox"}.
+     * The predicate matches nothing if the text has no words.
+     * <p>
+     * The predicate is evaluated by the {@link com.hazelcast.config.IndexType#FULL_TEXT full-text} index of the
+     * attribute if there is one, otherwise all entries are scanned.
+     * <p>
+     * See also <i>Special Attributes</i>, <i>Attribute Paths</i> and <i>Handling of {@code null}</i> sections of
+     * {@link Predicates}.
+     *
+     * @param attribute the attribute to fetch the value for matching from.
+     * @param text      the text to search the words of.
+     * @param <K>       the type of keys the predicate operates on.
+     * @param <V>       the type of values the predicate operates on.
+     * @return the created <b>text search</b> predicate instance.
+     * @throws IllegalArgumentException if the {@code attribute} does not exist.
+     * @see #like(String, String)
+     * @since 6.0
+     */
+    public static <K, V> Predicate<K, V> textSearch(String attribute, String text) {
+        checkNotNull(text, "text can't be null");
+        return new TextSearchPredicate(attribute, text);
+    }
+
     /**
      * Creates a <b>greater than</b> predicate that will pass items if the value stored under the given
      * item {@code attribute} is greater than the given {@code value}.
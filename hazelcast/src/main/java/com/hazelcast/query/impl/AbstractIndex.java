@@ -30,9 +30,12 @@ import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.predicates.PredicateDataSerializerHook;
+import com.hazelcast.query.impl.predicates.SqlPredicate;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import static com.hazelcast.internal.util.SetUtil.createHashSet;
@@ -63,6 +66,8 @@ public abstract class AbstractIndex implements InternalIndex {
     private final IndexConfig config;
     private final boolean ordered;
     private final PerIndexStats stats;
+    private final Predicate filter;
+    private final String[] coveredAttributes;
 
     private volatile TypeConverter converter;
 
@@ -84,6 +89,8 @@ public abstract class AbstractIndex implements InternalIndex {
         this.copyBehavior = copyBehavior;
         this.indexStore = createIndexStore(node, config, stats, mapName, partitionId);
         this.stats = stats;
+        this.filter = config.getFilter() == null ? null : new SqlPredicate(config.getFilter()).getPredicate();
+        this.coveredAttributes = getCoveredAttributes(config, components);
     }
 
     protected abstract IndexStore createIndexStore(Node node, IndexConfig config,
@@ -115,6 +122,26 @@ public abstract class AbstractIndex implements InternalIndex {
         return converter;
     }
 
+    @Override
+    public Predicate getFilter() {
+        return filter;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    @Override
+    public String[] getCoveredAttributes() {
+        return coveredAttributes;
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getEntries() {
+        if (converter == null) {
+            return emptyIterator();
+        }
+
+        return indexStore.getSqlRecordIterator(false);
+    }
+
     @Override
     public void putEntry(CachedQueryEntry newEntry, CachedQueryEntry oldEntry, QueryableEntry entryToStore,
                          OperationSource operationSource) {
@@ -132,6 +159,26 @@ public abstract class AbstractIndex implements InternalIndex {
             converter = obtainConverter(newEntry);
         }
 
+        if (filter != null) {
+            boolean newMatches = matchesFilter(newEntry);
+            boolean oldMatches = oldEntry != null && matchesFilter(oldEntry);
+            if (!newMatches) {
+                if (oldMatches) {
+                    // the entry no longer matches the filter, so it leaves the index
+                    indexStore.remove(extractAttributeValue(oldEntry), oldEntry, operationStats);
+                    stats.onRemove(timestamp, operationStats, operationSource);
+                }
+                return;
+            }
+            if (!oldMatches) {
+                oldEntry = null;
+            }
+        }
+
+        if (coveredAttributes != null) {
+            entryToStore = CoveringQueryEntry.create(newEntry, entryToStore, coveredAttributes);
+        }
+
         Object newAttributeValue = extractAttributeValue(newEntry);
         if (oldEntry == null) {
             indexStore.insert(newAttributeValue, newEntry, entryToStore, operationStats);
@@ -148,6 +195,10 @@ public abstract class AbstractIndex implements InternalIndex {
         long timestamp = stats.makeTimestamp();
         IndexOperationStats operationStats = stats.createOperationStats();
 
+        if (filter != null && !matchesFilter(entry)) {
+            return;
+        }
+
         Object attributeValue = extractAttributeValue(entry);
         indexStore.remove(attributeValue, entry, operationStats);
         stats.onRemove(timestamp, operationStats, operationSource);
@@ -334,6 +385,10 @@ public abstract class AbstractIndex implements InternalIndex {
     @Override
     public void clear() {
         indexStore.clear();
+        IndexStatistics statistics = indexStore.getStatistics();
+        if (statistics != null) {
+            statistics.clear();
+        }
         converter = null;
         stats.onClear();
     }
@@ -353,6 +408,11 @@ public abstract class AbstractIndex implements InternalIndex {
         return stats;
     }
 
+    @Override
+    public IndexStatistics getStatistics() {
+        return indexStore.getStatistics();
+    }
+
     @Override
     public String toString() {
         return "AbstractIndex{"
@@ -360,6 +420,24 @@ public abstract class AbstractIndex implements InternalIndex {
                 + '}';
     }
 
+    @SuppressWarnings("unchecked")
+    private boolean matchesFilter(QueryableEntry entry) {
+        return filter.apply(entry);
+    }
+
+    private static String[] getCoveredAttributes(IndexConfig config, String[] components) {
+        List<String> includedAttributes = config.getIncludedAttributes();
+        if (includedAttributes.isEmpty()) {
+            return null;
+        }
+
+        String[] attributes = Arrays.copyOf(components, components.length + includedAttributes.size());
+        for (int i = 0; i < includedAttributes.size(); ++i) {
+            attributes[components.length + i] = includedAttributes.get(i);
+        }
+        return attributes;
+    }
+
     private Object extractAttributeValue(QueryableEntry entry) {
         if (components.length == 1) {
             return entry.getAttributeValue(components[0]);
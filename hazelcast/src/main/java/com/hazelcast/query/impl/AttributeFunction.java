@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Functions which may wrap an attribute path to query or index a value
+ * derived from the value of the attribute, e.g. {@code lower(name)}. The
+ * function names are case-insensitive and the wrapped path may be any path
+ * supported by the extractors, including JSON paths and another function.
+ */
+enum AttributeFunction {
+
+    /**
+     * Converts a string value to lower case.
+     */
+    LOWER {
+        @Override
+        String apply(String value) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+    },
+
+    /**
+     * Converts a string value to upper case.
+     */
+    UPPER {
+        @Override
+        String apply(String value) {
+            return value.toUpperCase(Locale.ROOT);
+        }
+    };
+
+    private static final AttributeFunction[] VALUES = values();
+
+    private final String prefix = name().toLowerCase(Locale.ROOT) + "(";
+
+    /**
+     * @param attribute the attribute path
+     * @return the function wrapping the given attribute path or {@code null}
+     * if the path is a plain one
+     */
+    static AttributeFunction of(String attribute) {
+        int length = attribute.length();
+        if (length == 0 || attribute.charAt(length - 1) != ')') {
+            return null;
+        }
+        for (AttributeFunction function : VALUES) {
+            if (length > function.prefix.length() + 1
+                    && attribute.regionMatches(true, 0, function.prefix, 0, function.prefix.length())) {
+                return function;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param attribute the attribute path wrapped by this function
+     * @return the wrapped path
+     */
+    String argument(String attribute) {
+        return IndexUtils.canonicalizeAttribute(attribute.substring(prefix.length(), attribute.length() - 1).trim());
+    }
+
+    /**
+     * Applies this function to the given extracted value, to every
+     * value if the given one is a {@link MultiResult}.
+     *
+     * @throws QueryException if the value is not a string
+     */
+    @SuppressWarnings("unchecked")
+    Object apply(Object value) {
+        if (value instanceof MultiResult) {
+            List<Object> results = ((MultiResult<Object>) value).getResults();
+            MultiResult<Object> applied = new MultiResult<>();
+            for (Object result : results) {
+                applied.add(apply(result));
+            }
+            applied.setNullOrEmptyTarget(((MultiResult<Object>) value).isNullEmptyTarget());
+            return applied;
+        }
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String)) {
+            throw new QueryException("Function " + prefix + ") cannot be applied to a value of type " + value.getClass());
+        }
+        return apply((String) value);
+    }
+
+    abstract String apply(String value);
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexBPlusTree.Cursor;
+import com.hazelcast.query.impl.IndexBPlusTree.Snapshot;
+import com.hazelcast.query.impl.OrderedIndexStore.IteratorFromBatch;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+
+/**
+ * Store of sorted indexes backed by a copy-on-write B+tree, an alternative
+ * to {@link OrderedIndexStore} enabled with
+ * {@link com.hazelcast.spi.properties.ClusterProperty#QUERY_SORTED_INDEX_BPLUS_TREE_ENABLED}.
+ * <p>
+ * The index entries are held in compact leaf pages instead of a skip list
+ * of maps, see {@link IndexBPlusTree}. Updates are serialized by the write
+ * lock of the store, while range scans and iterators run on immutable
+ * snapshots of the tree without locking. As the returned results never
+ * share mutable state with the store, all {@link IndexCopyBehavior}s are
+ * satisfied without copying.
+ */
+@SuppressWarnings("rawtypes")
+public class BPlusTreeIndexStore extends BaseSingleValueIndexStore {
+
+    private static final int BEFORE = -1;
+    private static final int AFTER = 1;
+
+    private final IndexBPlusTree tree = new IndexBPlusTree();
+
+    public BPlusTreeIndexStore(IndexCopyBehavior copyOn) {
+        this(copyOn, false);
+    }
+
+    public BPlusTreeIndexStore(IndexCopyBehavior copyOn, boolean statisticsEnabled) {
+        super(copyOn, true, statisticsEnabled);
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        return tree.put(value, record);
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        return tree.remove(value, recordKey);
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // as in OrderedIndexStore, needed to support InPredicate queries
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            tree.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    /**
+     * @return the number of value-entry associations in this store
+     */
+    public int size() {
+        return tree.snapshot().size();
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(@Nonnull Comparable value) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(value, false));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable searchedValue, boolean descending) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(comparison, searchedValue, descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending));
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(@Nonnull Comparable value, boolean descending) {
+        return getSqlRecordIteratorBatch(value, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable value,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        return getSqlRecordIteratorBatch(value, true, value, true, descending, lastEntryKeyData);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        Snapshot snapshot = tree.snapshot();
+        return new GroupIterator(snapshot.seekEnd(!descending), descending, null, 0);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(comparison, searchedValue, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        switch (comparison) {
+            case LESS:
+                return getSqlRecordIteratorBatch(NULL, false, searchedValue, false, descending, lastEntryKeyData);
+            case LESS_OR_EQUAL:
+                return getSqlRecordIteratorBatch(NULL, false, searchedValue, true, descending, lastEntryKeyData);
+            case GREATER:
+                return getSqlRecordIteratorBatch(searchedValue, false, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            case GREATER_OR_EQUAL:
+                return getSqlRecordIteratorBatch(searchedValue, true, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        boolean useCursor = lastEntryKeyData != null;
+        if (useCursor && !descending && !fromInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `from` must be inclusive");
+        }
+        if (useCursor && descending && !toInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `to` must be inclusive");
+        }
+        if (isEmptyRange(from, fromInclusive, to, toInclusive)) {
+            return emptyIterator();
+        }
+
+        Snapshot snapshot = tree.snapshot();
+        int fromSide = fromInclusive ? BEFORE : AFTER;
+        int toSide = toInclusive ? AFTER : BEFORE;
+        if (descending) {
+            // continue before the last returned entry of the group of the upper bound
+            Cursor cursor = useCursor ? snapshot.seek(to, lastEntryKeyData, BEFORE) : snapshot.seek(to, null, toSide);
+            return new GroupIterator(cursor, true, from, fromSide);
+        } else {
+            Cursor cursor = useCursor ? snapshot.seek(from, lastEntryKeyData, AFTER) : snapshot.seek(from, null, fromSide);
+            return new GroupIterator(cursor, false, to, toSide);
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        return getRecords(value, true, value, true);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            Snapshot snapshot = tree.snapshot();
+            Map<Data, QueryableEntry> results = new HashMap<>();
+            for (Comparable value : values) {
+                collect(snapshot, value, BEFORE, value, AFTER, results);
+            }
+            return new SingleResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
+        switch (comparison) {
+            case LESS:
+                return getRecords(NULL, false, searchedValue, false);
+            case LESS_OR_EQUAL:
+                return getRecords(NULL, false, searchedValue, true);
+            case GREATER:
+                return getRecords(searchedValue, false, POSITIVE_INFINITY, true);
+            case GREATER_OR_EQUAL:
+                return getRecords(searchedValue, true, POSITIVE_INFINITY, true);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (isEmptyRange(from, fromInclusive, to, toInclusive)) {
+            return emptySet();
+        }
+        // the read lock makes updates, which remove and then insert, atomic for the query
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> results = new HashMap<>();
+            collect(tree.snapshot(), from, fromInclusive ? BEFORE : AFTER, to, toInclusive ? AFTER : BEFORE, results);
+            return new SingleResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private static boolean isEmptyRange(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+        return order > 0 || order == 0 && (!fromInclusive || !toInclusive);
+    }
+
+    /**
+     * Puts the entries between the given positions to the given map, by
+     * key, so entries associated with several values are put only once.
+     */
+    private static void collect(Snapshot snapshot, Comparable from, int fromSide, Comparable to, int toSide,
+                                Map<Data, QueryableEntry> results) {
+        Cursor cursor = snapshot.seek(from, null, fromSide);
+        while (cursor.forward() && IndexBPlusTree.compare(to, null, toSide, cursor.value(), cursor.key()) > 0) {
+            results.put(cursor.key(), cursor.entry());
+        }
+    }
+
+    /**
+     * Iterates the entries from the position of the given cursor to the
+     * given bound, in groups of entries with the same index value.
+     */
+    private static final class GroupIterator implements Iterator<IndexKeyEntries> {
+
+        private final Cursor cursor;
+        private final boolean descending;
+        private final Comparable bound;
+        private final int boundSide;
+        private IndexKeyEntries next;
+
+        /**
+         * @param bound the value of the bound, or {@code null} to iterate to the end
+         */
+        GroupIterator(Cursor cursor, boolean descending, Comparable bound, int boundSide) {
+            this.cursor = cursor;
+            this.descending = descending;
+            this.bound = bound;
+            this.boundSide = boundSide;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            Cursor groupCursor = cursor.copy();
+            if (!move(cursor)) {
+                return false;
+            }
+            Comparable value = cursor.value();
+            if (bound != null) {
+                int order = IndexBPlusTree.compare(bound, null, boundSide, value, cursor.key());
+                if (descending ? order > 0 : order < 0) {
+                    return false;
+                }
+            }
+            next = new IndexKeyEntries(value, new GroupEntryIterator(groupCursor, descending, value));
+            // skip the rest of the group
+            cursor.seek(value, null, descending ? BEFORE : AFTER);
+            return true;
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            IndexKeyEntries result = next;
+            next = null;
+            return result;
+        }
+
+        private boolean move(Cursor cursor) {
+            return descending ? cursor.backward() : cursor.forward();
+        }
+    }
+
+    /**
+     * Iterates the entries from the position of the given
+     * cursor while their index value equals to the given one.
+     */
+    private static final class GroupEntryIterator implements Iterator<QueryableEntry> {
+
+        private final Cursor cursor;
+        private final boolean descending;
+        private final Comparable value;
+        private QueryableEntry next;
+        private boolean done;
+
+        GroupEntryIterator(Cursor cursor, boolean descending, Comparable value) {
+            this.cursor = cursor;
+            this.descending = descending;
+            this.value = value;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                boolean moved = descending ? cursor.backward() : cursor.forward();
+                if (moved && SPECIAL_AWARE_COMPARATOR.compare(value, cursor.value()) == 0) {
+                    next = cursor.entry();
+                } else {
+                    done = true;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            QueryableEntry result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -43,8 +43,15 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      */
     private volatile boolean multiResultHasToDetectDuplicates;
 
-    BaseSingleValueIndexStore(IndexCopyBehavior copyOn, boolean enableGlobalLock) {
+    /**
+     * The statistics of the values, {@code null} unless the cost-based query
+     * optimizer is configured.
+     */
+    private final IndexStatistics statistics;
+
+    BaseSingleValueIndexStore(IndexCopyBehavior copyOn, boolean enableGlobalLock, boolean statisticsEnabled) {
         super(copyOn, enableGlobalLock);
+        this.statistics = statisticsEnabled ? new IndexStatistics() : null;
     }
 
     /**
@@ -74,6 +81,11 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      */
     abstract Object removeInternal(Comparable value, Data recordKey);
 
+    @Override
+    public final IndexStatistics getStatistics() {
+        return statistics;
+    }
+
     final MultiResultSet createMultiResultSet() {
         return multiResultHasToDetectDuplicates ? new DuplicateDetectingMultiResult() : new FastMultiResultSet();
     }
@@ -125,6 +137,9 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
                 Object oldValue = insertInternal(sanitizedValue, queryableEntry);
                 if (oldValue == null) {
                     operationStats.onEntryAdded(newValue);
+                    if (statistics != null) {
+                        statistics.onInserted(sanitizedValue);
+                    }
                 }
             }
         } else {
@@ -132,6 +147,9 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
             Object oldValue = insertInternal(sanitizedValue, queryableEntry);
             if (oldValue == null) {
                 operationStats.onEntryAdded(newValue);
+                if (statistics != null) {
+                    statistics.onInserted(sanitizedValue);
+                }
             }
         }
     }
@@ -147,6 +165,9 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
                 Object removedValue = removeInternal(sanitizedValue, recordKey);
                 if (removedValue != null) {
                     operationStats.onEntryRemoved(oldValue);
+                    if (statistics != null) {
+                        statistics.onRemoved(sanitizedValue);
+                    }
                 }
             }
         } else {
@@ -154,6 +175,9 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
             Object removedValue = removeInternal(sanitizedValue, recordKey);
             if (removedValue != null) {
                 operationStats.onEntryRemoved(oldValue);
+                if (statistics != null) {
+                    statistics.onRemoved(sanitizedValue);
+                }
             }
         }
     }
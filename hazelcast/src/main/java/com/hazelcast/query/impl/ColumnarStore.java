@@ -0,0 +1,488 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.json.JsonValue;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.query.impl.getters.MultiResult;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.query.impl.IndexUtils.canonicalizeAttribute;
+
+/**
+ * Keeps the values of the columnar attributes of the entries of a single
+ * record store in columns, one column per attribute, see
+ * {@link com.hazelcast.config.MapConfig#setColumnarAttributes(List)}.
+ * <p>
+ * Every entry occupies a row, identified by its id, in each column. Integral
+ * and floating-point attribute values are stored in primitive arrays, other
+ * values in an object array. The ids of removed entries are reused.
+ * <p>
+ * Only the partition thread owning the record store updates the store.
+ * Full partition scans may read it concurrently: rows are published by a
+ * volatile write, and {@link #isUnchangedSince(int, Object, long)} tells
+ * whether the columns of a row still describe the value read from the
+ * record store.
+ */
+public final class ColumnarStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Column[] columns;
+    private final Map<Data, Integer> rowsByKey = new HashMap<>();
+
+    private Data[] keys = new Data[INITIAL_CAPACITY];
+    private Object[] rowValues = new Object[INITIAL_CAPACITY];
+    private long[] rowStamps = new long[INITIAL_CAPACITY];
+    private long[] liveRows = new long[wordCount(INITIAL_CAPACITY)];
+    private int[] freeRows = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private volatile int rowLimit;
+    private volatile long modCount;
+
+    public ColumnarStore(List<String> attributes) {
+        this.columns = new Column[attributes.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new Column(canonicalizeAttribute(attributes.get(i)));
+        }
+    }
+
+    /**
+     * @return the column of the given attribute, or {@code null}
+     * if the attribute is not stored in this store
+     */
+    public Column getColumn(String attribute) {
+        String canonicalAttribute = canonicalizeAttribute(attribute);
+        for (Column column : columns) {
+            if (column.attribute.equals(canonicalAttribute)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return an upper bound of the ids of the rows in use
+     */
+    public int getRowLimit() {
+        return rowLimit;
+    }
+
+    /**
+     * @return the number of updates of this store, see {@link #isUnchangedSince(int, Object, long)}
+     */
+    public long getModCount() {
+        return modCount;
+    }
+
+    /**
+     * @return the bitmap of the rows in use, bit {@code row % 64} of word
+     * {@code row / 64} is set if the row is in use
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public long[] getLiveRows() {
+        return liveRows;
+    }
+
+    /**
+     * @return the key of the entry in the given row, or {@code null} if the row is free
+     */
+    public Data getKey(int row) {
+        Data[] keys = this.keys;
+        return row < keys.length ? keys[row] : null;
+    }
+
+    /**
+     * Checks if the columns of the given row were populated from the given
+     * value and have not been updated since {@link #getModCount()} returned
+     * the given mod count.
+     *
+     * @param row      the row
+     * @param value    the value read from the record of the entry in the row
+     * @param modCount the mod count read before the columns were read
+     * @return {@code true} if the column values of the row describe the given value
+     */
+    public boolean isUnchangedSince(int row, Object value, long modCount) {
+        Object[] rowValues = this.rowValues;
+        long[] rowStamps = this.rowStamps;
+        if (row >= rowValues.length || row >= rowStamps.length || rowStamps[row] > modCount) {
+            return false;
+        }
+        Object rowValue = rowValues[row];
+        return rowValue == value || rowValue instanceof HeapData rowData && value instanceof HeapData data
+                && rowData.toByteArray() == data.toByteArray();
+    }
+
+    /**
+     * Stores the columnar attribute values of the given entry, replacing
+     * the values stored for the same key. An attribute which can not be
+     * extracted from the entry, or whose values are not comparable, makes
+     * its column unsupported, so the predicates on it are evaluated on the
+     * entries themselves.
+     *
+     * @param key   the key of the entry, in the backing format of the record store
+     * @param value the value of the record of the entry
+     * @param entry the entry to extract the attribute values from
+     */
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread updates the store, scans only read it")
+    public void put(Data key, Object value, QueryableEntry entry) {
+        Integer existingRow = rowsByKey.get(key);
+        int limit = rowLimit;
+        int row;
+        if (existingRow != null) {
+            row = existingRow;
+        } else {
+            row = freeCount > 0 ? freeRows[--freeCount] : limit++;
+            ensureCapacity(limit);
+            rowsByKey.put(key, row);
+        }
+        for (Column column : columns) {
+            column.set(row, entry);
+        }
+        keys[row] = key;
+        rowValues[row] = value;
+        liveRows[row >>> 6] |= 1L << row;
+        long stamp = modCount + 1;
+        rowStamps[row] = stamp;
+        // publishes the row to concurrent scans
+        rowLimit = limit;
+        modCount = stamp;
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread updates the store, scans only read it")
+    public void remove(Data key) {
+        Integer row = rowsByKey.remove(key);
+        if (row == null) {
+            return;
+        }
+        liveRows[row >>> 6] &= ~(1L << row);
+        keys[row] = null;
+        rowValues[row] = null;
+        for (Column column : columns) {
+            column.clear(row);
+        }
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount << 1);
+        }
+        freeRows[freeCount++] = row;
+        modCount++;
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread updates the store, scans only read it")
+    public void clear() {
+        rowsByKey.clear();
+        keys = new Data[INITIAL_CAPACITY];
+        rowValues = new Object[INITIAL_CAPACITY];
+        rowStamps = new long[INITIAL_CAPACITY];
+        liveRows = new long[wordCount(INITIAL_CAPACITY)];
+        freeRows = new int[INITIAL_CAPACITY];
+        freeCount = 0;
+        for (Column column : columns) {
+            column.reset();
+        }
+        rowLimit = 0;
+        modCount++;
+    }
+
+    public static int wordCount(int rowCount) {
+        return (rowCount + Long.SIZE - 1) >>> 6;
+    }
+
+    private void ensureCapacity(int rowCount) {
+        if (rowCount <= keys.length) {
+            return;
+        }
+        int newCapacity = keys.length + (keys.length >> 1);
+        // the columns grow first, scans bound their loops by the row limit
+        for (Column column : columns) {
+            column.grow(newCapacity);
+        }
+        liveRows = Arrays.copyOf(liveRows, wordCount(newCapacity));
+        rowStamps = Arrays.copyOf(rowStamps, newCapacity);
+        rowValues = Arrays.copyOf(rowValues, newCapacity);
+        keys = Arrays.copyOf(keys, newCapacity);
+    }
+
+    /**
+     * The values of a single attribute. The representation is decided by the
+     * values stored: as long as all the non-null values are of the same
+     * integral or floating-point class, they are kept in a primitive array,
+     * otherwise all the values are kept in an object array.
+     */
+    public static final class Column {
+
+        private final String attribute;
+
+        private volatile ColumnKind kind = ColumnKind.EMPTY;
+        private Class<?> valueClass;
+        private Comparable sample;
+        private long[] longs;
+        private double[] doubles;
+        private Object[] objects;
+        private long[] nulls = allNulls(INITIAL_CAPACITY);
+        private int capacity = INITIAL_CAPACITY;
+
+        Column(String attribute) {
+            this.attribute = attribute;
+        }
+
+        public String getAttribute() {
+            return attribute;
+        }
+
+        public ColumnKind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the class of the values of a {@link ColumnKind#LONG}
+         * or {@link ColumnKind#DOUBLE} column
+         */
+        public Class<?> getValueClass() {
+            return valueClass;
+        }
+
+        /**
+         * @return a non-null value stored in this column, to infer the attribute type from
+         */
+        public Comparable getSample() {
+            return sample;
+        }
+
+        @SuppressFBWarnings("EI_EXPOSE_REP")
+        public long[] getLongs() {
+            return longs;
+        }
+
+        @SuppressFBWarnings("EI_EXPOSE_REP")
+        public double[] getDoubles() {
+            return doubles;
+        }
+
+        @SuppressFBWarnings("EI_EXPOSE_REP")
+        public Object[] getObjects() {
+            return objects;
+        }
+
+        /**
+         * @return the bitmap of the rows with a {@code null} value
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP")
+        public long[] getNulls() {
+            return nulls;
+        }
+
+        /**
+         * @return {@code true} if the value extracted from the entry in the given row is {@code null}
+         */
+        public boolean isNull(int row) {
+            long[] nulls = this.nulls;
+            return row >>> 6 < nulls.length && (nulls[row >>> 6] & 1L << row) != 0;
+        }
+
+        /**
+         * @return the value in the given row, as it was extracted from the
+         * entry, or {@code null} if it is {@code null} or not available
+         */
+        public Comparable get(int row) {
+            ColumnKind kind = this.kind;
+            long[] nulls = this.nulls;
+            if (row >>> 6 >= nulls.length || (nulls[row >>> 6] & 1L << row) != 0) {
+                return null;
+            }
+            switch (kind) {
+                case LONG:
+                    long[] longs = this.longs;
+                    return longs != null && row < longs.length ? boxLong(valueClass, longs[row]) : null;
+                case DOUBLE:
+                    double[] doubles = this.doubles;
+                    return doubles != null && row < doubles.length ? boxDouble(valueClass, doubles[row]) : null;
+                case OBJECT:
+                    Object[] objects = this.objects;
+                    return objects != null && row < objects.length ? (Comparable) objects[row] : null;
+                default:
+                    return null;
+            }
+        }
+
+        void set(int row, QueryableEntry entry) {
+            if (kind == ColumnKind.UNSUPPORTED) {
+                return;
+            }
+            Object value;
+            try {
+                value = entry.getAttributeValue(attribute);
+            } catch (RuntimeException e) {
+                kind = ColumnKind.UNSUPPORTED;
+                return;
+            }
+            if (value == null) {
+                clear(row);
+                return;
+            }
+            if (!(value instanceof Comparable) || value instanceof MultiResult || value instanceof JsonValue) {
+                kind = ColumnKind.UNSUPPORTED;
+                return;
+            }
+            Comparable comparable = (Comparable) value;
+            Class<?> clazz = value.getClass();
+            if (kind == ColumnKind.EMPTY) {
+                initKind(comparable, clazz);
+            } else if ((kind == ColumnKind.LONG || kind == ColumnKind.DOUBLE) && clazz != valueClass) {
+                toObjects();
+            }
+            switch (kind) {
+                case LONG:
+                    longs[row] = ((Number) value).longValue();
+                    break;
+                case DOUBLE:
+                    doubles[row] = ((Number) value).doubleValue();
+                    break;
+                default:
+                    objects[row] = value;
+                    break;
+            }
+            nulls[row >>> 6] &= ~(1L << row);
+        }
+
+        void clear(int row) {
+            nulls[row >>> 6] |= 1L << row;
+            Object[] objects = this.objects;
+            if (objects != null) {
+                objects[row] = null;
+            }
+        }
+
+        void reset() {
+            valueClass = null;
+            sample = null;
+            longs = null;
+            doubles = null;
+            objects = null;
+            nulls = allNulls(INITIAL_CAPACITY);
+            capacity = INITIAL_CAPACITY;
+            if (kind != ColumnKind.UNSUPPORTED) {
+                kind = ColumnKind.EMPTY;
+            }
+        }
+
+        void grow(int newCapacity) {
+            if (longs != null) {
+                longs = Arrays.copyOf(longs, newCapacity);
+            }
+            if (doubles != null) {
+                doubles = Arrays.copyOf(doubles, newCapacity);
+            }
+            if (objects != null) {
+                objects = Arrays.copyOf(objects, newCapacity);
+            }
+            long[] newNulls = allNulls(newCapacity);
+            System.arraycopy(nulls, 0, newNulls, 0, nulls.length);
+            nulls = newNulls;
+            capacity = newCapacity;
+        }
+
+        private void initKind(Comparable value, Class<?> clazz) {
+            valueClass = clazz;
+            sample = value;
+            if (clazz == Integer.class || clazz == Long.class || clazz == Short.class || clazz == Byte.class) {
+                longs = new long[capacity];
+                kind = ColumnKind.LONG;
+            } else if (clazz == Double.class || clazz == Float.class) {
+                doubles = new double[capacity];
+                kind = ColumnKind.DOUBLE;
+            } else {
+                objects = new Object[capacity];
+                kind = ColumnKind.OBJECT;
+            }
+        }
+
+        private void toObjects() {
+            Object[] objects = new Object[capacity];
+            long[] nulls = this.nulls;
+            for (int row = 0; row < capacity; row++) {
+                if ((nulls[row >>> 6] & 1L << row) == 0) {
+                    objects[row] = kind == ColumnKind.LONG ? boxLong(valueClass, longs[row])
+                            : boxDouble(valueClass, doubles[row]);
+                }
+            }
+            this.objects = objects;
+            kind = ColumnKind.OBJECT;
+        }
+
+        /**
+         * Rows without a value are {@code null}, as are free rows.
+         */
+        private static long[] allNulls(int capacity) {
+            long[] nulls = new long[wordCount(capacity)];
+            Arrays.fill(nulls, -1L);
+            return nulls;
+        }
+
+        private static Comparable boxLong(Class<?> clazz, long value) {
+            if (clazz == Integer.class) {
+                return (int) value;
+            } else if (clazz == Short.class) {
+                return (short) value;
+            } else if (clazz == Byte.class) {
+                return (byte) value;
+            }
+            return value;
+        }
+
+        private static Comparable boxDouble(Class<?> clazz, double value) {
+            return clazz == Float.class ? (Comparable) (float) value : (Comparable) value;
+        }
+    }
+
+    /**
+     * The representation of the values of a {@link Column}.
+     */
+    public enum ColumnKind {
+        /**
+         * No non-null value has been stored yet.
+         */
+        EMPTY,
+        /**
+         * The values are of the same integral class and are stored as longs.
+         */
+        LONG,
+        /**
+         * The values are of the same floating-point class and are stored as doubles.
+         */
+        DOUBLE,
+        /**
+         * The values are stored as objects.
+         */
+        OBJECT,
+        /**
+         * Some values could not be extracted or are not comparable, predicates
+         * on the attribute must be evaluated on the entries.
+         */
+        UNSUPPORTED
+    }
+}
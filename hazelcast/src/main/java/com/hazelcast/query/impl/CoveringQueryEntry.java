@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.QueryException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+
+/**
+ * Entry stored in an index with included attributes, see {@link
+ * com.hazelcast.config.IndexConfig#setIncludedAttributes}.
+ * <p>
+ * Holds the values of the indexed and included attributes, extracted when
+ * the entry was indexed, along with the entry to store. These attributes
+ * are read from the held values, so projecting them does not touch the
+ * value of the entry, the other attributes are extracted from the entry.
+ * <p>
+ * The attribute names are shared by all the entries of the index.
+ *
+ * @param <K> key
+ * @param <V> value
+ */
+@SuppressWarnings("unchecked")
+public final class CoveringQueryEntry<K, V> extends QueryableEntry<K, V> implements IdentifiedDataSerializable {
+
+    private final QueryableEntry<K, V> entry;
+    private final String[] attributes;
+    private final Object[] values;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    private CoveringQueryEntry(QueryableEntry<K, V> entry, String[] attributes, Object[] values) {
+        this.entry = entry;
+        this.attributes = attributes;
+        this.values = values;
+        this.record = entry.getRecord();
+    }
+
+    /**
+     * Creates the entry to store in an index with included attributes.
+     *
+     * @param entry        the entry to extract the attribute values from.
+     * @param entryToStore the entry to store.
+     * @param attributes   the canonical names of the indexed and included attributes.
+     */
+    public static <K, V> CoveringQueryEntry<K, V> create(QueryableEntry<?, ?> entry, QueryableEntry<K, V> entryToStore,
+                                                         String[] attributes) {
+        Object[] values = new Object[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            values[i] = entry.getAttributeValue(attributes[i]);
+        }
+        return new CoveringQueryEntry<>(entryToStore, attributes, values);
+    }
+
+    /**
+     * @return the canonical names of the attributes whose values are held
+     * by this entry, shared by all the entries of the index.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public String[] getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @return the value of the attribute at the given position of {@link #getAttributes()}.
+     */
+    public Object getAttributeValue(int index) {
+        return values[index];
+    }
+
+    @Override
+    public Object getAttributeValue(String attributeName) throws QueryException {
+        int index = indexOf(attributeName);
+        if (index < 0) {
+            index = indexOf(IndexUtils.canonicalizeAttribute(attributeName));
+        }
+        return index < 0 ? entry.getAttributeValue(attributeName) : values[index];
+    }
+
+    private int indexOf(String attributeName) {
+        for (int i = 0; i < attributes.length; i++) {
+            if (attributes[i].equals(attributeName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public K getKey() {
+        return entry.getKey();
+    }
+
+    @Override
+    public V getValue() {
+        return entry.getValue();
+    }
+
+    @Override
+    public Data getKeyData() {
+        return entry.getKeyData();
+    }
+
+    @Override
+    public Data getValueData() {
+        return entry.getValueData();
+    }
+
+    @Override
+    public K getKeyIfPresent() {
+        return entry.getKeyIfPresent();
+    }
+
+    @Override
+    public Data getKeyDataIfPresent() {
+        return entry.getKeyDataIfPresent();
+    }
+
+    @Override
+    public V getValueIfPresent() {
+        return entry.getValueIfPresent();
+    }
+
+    @Override
+    public Data getValueDataIfPresent() {
+        return entry.getValueDataIfPresent();
+    }
+
+    @Override
+    protected Object getTargetObject(boolean key) {
+        return entry.getTargetObject(key);
+    }
+
+    @Override
+    public void setRecord(Record record) {
+        super.setRecord(record);
+        entry.setRecord(record);
+    }
+
+    @Override
+    public JsonMetadata getMetadata() {
+        return entry.getMetadata();
+    }
+
+    @Override
+    public void setMetadata(JsonMetadata metadata) {
+        entry.setMetadata(metadata);
+    }
+
+    @Override
+    public V setValue(V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(getKey());
+        out.writeObject(getValue());
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        // deserialized as LazyMapEntry, like CachedQueryEntry
+        return MapDataSerializerHook.LAZY_MAP_ENTRY;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CoveringQueryEntry<?, ?> that = (CoveringQueryEntry<?, ?>) o;
+        return getKeyData().equals(that.getKeyData());
+    }
+
+    @Override
+    public int hashCode() {
+        return getKeyData().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CoveringQueryEntry{entry=" + entry + '}';
+    }
+}
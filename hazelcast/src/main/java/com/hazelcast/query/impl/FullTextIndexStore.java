@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.fulltext.InvertedIndex;
+import com.hazelcast.query.impl.fulltext.Tokenizer;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.query.impl.predicates.ILikePredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
+import com.hazelcast.query.impl.predicates.TextSearchPredicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The store of full-text indexes.
+ * <p>
+ * Internally, manages an {@link InvertedIndex} mapping the terms of the
+ * string attribute values to the entries containing them. The index only
+ * narrows down the candidate entries of {@code LIKE}, {@code ILIKE} and text
+ * search predicates, the candidates are then checked against the predicate.
+ */
+@SuppressWarnings("rawtypes")
+public final class FullTextIndexStore extends BaseIndexStore {
+
+    private static final Set<Class<? extends Predicate>> EVALUABLE_PREDICATES =
+            Set.of(LikePredicate.class, ILikePredicate.class, TextSearchPredicate.class);
+
+    private final InvertedIndex<QueryableEntry> index;
+
+    // Note! At the moment full-text index doesn't support memory statistics,
+    // because we cannot produce precise memory estimate.
+    // Instead, we provide zero memory consumption estimation.
+    private enum ZeroCost { ZERO_COST }
+
+    public FullTextIndexStore(IndexConfig config) {
+        super(IndexCopyBehavior.NEVER, true);
+        this.index = new InvertedIndex<>(new Tokenizer(config.getFullTextIndexOptions().getNGramLength()));
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        return value;
+    }
+
+    @Override
+    Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void insert(Object value, CachedQueryEntry entry, QueryableEntry entryToStore, IndexOperationStats operationStats) {
+        List<String> texts = texts(value);
+
+        takeWriteLock();
+        try {
+            index.put(entry.getKeyData(), entryToStore, texts);
+        } finally {
+            releaseWriteLock();
+        }
+        operationStats.onEntryAdded(ZeroCost.ZERO_COST);
+    }
+
+    @Override
+    public void update(Object oldValue, Object newValue, CachedQueryEntry entry, QueryableEntry entryToStore,
+                       IndexOperationStats operationStats) {
+        List<String> texts = texts(newValue);
+
+        takeWriteLock();
+        try {
+            // the terms of the old value are known to the index, so they are not extracted again
+            index.put(entry.getKeyData(), entryToStore, texts);
+        } finally {
+            releaseWriteLock();
+        }
+        operationStats.onEntryRemoved(ZeroCost.ZERO_COST);
+        operationStats.onEntryAdded(ZeroCost.ZERO_COST);
+    }
+
+    @Override
+    public void remove(Object value, CachedQueryEntry entry, IndexOperationStats operationStats) {
+        boolean removed;
+        takeWriteLock();
+        try {
+            removed = index.remove(entry.getKeyData());
+        } finally {
+            releaseWriteLock();
+        }
+        if (removed) {
+            operationStats.onEntryRemoved(ZeroCost.ZERO_COST);
+        }
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            index.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return EVALUABLE_PREDICATES.contains(predicateClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        QueryableEntry[] entries;
+        takeReadLock();
+        try {
+            int[] candidates = candidates(predicate);
+            entries = new QueryableEntry[candidates.length];
+            for (int i = 0; i < candidates.length; ++i) {
+                entries[i] = index.getDocument(candidates[i]);
+            }
+        } finally {
+            releaseReadLock();
+        }
+
+        // the predicate deserializes and extracts the values, don't block
+        // the index updates meanwhile
+        Map<Data, QueryableEntry> records = new HashMap<>();
+        for (QueryableEntry entry : entries) {
+            if (predicate.apply(entry)) {
+                records.put(entry.getKeyData(), entry);
+            }
+        }
+        return toSingleResultSet(records);
+    }
+
+    private int[] candidates(Predicate predicate) {
+        if (predicate instanceof TextSearchPredicate textSearchPredicate) {
+            String text = textSearchPredicate.getText();
+            return text == null ? new int[0] : index.matchWords(text);
+        }
+
+        String expression = ((LikePredicate) predicate).getExpression();
+        if (expression == null) {
+            return index.all();
+        }
+
+        int[] candidates = null;
+        for (String literal : literals(expression)) {
+            int[] matches = index.matchSubstring(literal);
+            if (matches != null) {
+                candidates = candidates == null ? matches : InvertedIndex.intersect(candidates, matches);
+            }
+        }
+        return candidates == null ? index.all() : candidates;
+    }
+
+    /**
+     * Splits the given {@code LIKE} pattern into the literal texts between
+     * its wildcards. Every value matching the pattern contains all of them.
+     */
+    static List<String> literals(String expression) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = expression.length();
+        for (int i = 0; i < length; ++i) {
+            char c = expression.charAt(i);
+            if (c == '\\' && i + 1 < length && (expression.charAt(i + 1) == '%' || expression.charAt(i + 1) == '_')) {
+                // escaped wildcard
+                literal.append(expression.charAt(++i));
+            } else if (c == '%' || c == '_') {
+                addLiteral(literals, literal);
+            } else {
+                literal.append(c);
+            }
+        }
+        addLiteral(literals, literal);
+        return literals;
+    }
+
+    private static void addLiteral(List<String> literals, StringBuilder literal) {
+        if (!literal.isEmpty()) {
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    private List<String> texts(Object value) {
+        if (value instanceof String string) {
+            return Collections.singletonList(string);
+        }
+        if (!(value instanceof MultiResult multiResult)) {
+            // nulls and non-string values have no terms, but their entries are indexed
+            return Collections.emptyList();
+        }
+
+        List<String> texts = new ArrayList<>(multiResult.getResults().size());
+        for (Object result : multiResult.getResults()) {
+            if (result instanceof String string) {
+                texts.add(string);
+            }
+        }
+        return texts;
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable value, boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparable value, boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparison comparison, Comparable value, boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    private static UnsupportedOperationException makeUnsupportedOperationException() {
+        return new UnsupportedOperationException("full-text indexes support only direct predicate evaluation");
+    }
+}
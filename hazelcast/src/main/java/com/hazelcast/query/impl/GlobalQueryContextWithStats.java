@@ -250,6 +250,26 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return delegate.getPerIndexStats();
         }
 
+        @Override
+        public IndexStatistics getStatistics() {
+            return delegate.getStatistics();
+        }
+
+        @Override
+        public Predicate getFilter() {
+            return delegate.getFilter();
+        }
+
+        @Override
+        public String[] getCoveredAttributes() {
+            return delegate.getCoveredAttributes();
+        }
+
+        @Override
+        public Iterator<QueryableEntry> getEntries() {
+            return delegate.getEntries();
+        }
+
         @Override
         public PartitionStamp getPartitionStamp() {
             return delegate.getPartitionStamp();
@@ -0,0 +1,601 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Arrays;
+
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+
+/**
+ * B+tree of index entries ordered by their index values, compared with
+ * {@link OrderedIndexStore#SPECIAL_AWARE_COMPARATOR}, and then by their
+ * serialized keys, compared with {@link OrderedIndexStore#DATA_COMPARATOR}.
+ * <p>
+ * The leaves hold the index values, keys and entries in arrays of exactly
+ * their size, so there is no object per entry and no map per distinct index
+ * value. The nodes are immutable: an update copies the nodes on the path
+ * from the root to the updated leaf and publishes the new root, so readers
+ * take a {@link Snapshot} without locking and iterate it while the tree is
+ * updated. Updates must be serialized by the caller.
+ * <p>
+ * Positions in the tree are described by a value, an optional key and a
+ * side: {@code -1} for the position before the matching entries and
+ * {@code +1} for the position after them. Without a key, all the entries
+ * with the given value match.
+ */
+@SuppressWarnings("rawtypes")
+final class IndexBPlusTree {
+
+    static final int MAX_NODE_SIZE = 32;
+
+    private static final int MIN_NODE_SIZE = MAX_NODE_SIZE / 4;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // the state of the running update, used by the updating thread only
+    private Node splitNode;
+    private Comparable splitValue;
+    private Data splitKey;
+    private QueryableEntry oldEntry;
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Associates the given entry with the given value, replacing the
+     * entry with the same key associated with the value, if any.
+     *
+     * @return the replaced entry, or {@code null} if there was none
+     */
+    QueryableEntry put(Comparable value, QueryableEntry entry) {
+        try {
+            Snapshot current = snapshot;
+            Node root = put(current.root, current.height, value, entry.getKeyData(), entry);
+            int height = current.height;
+            if (splitNode != null) {
+                root = new Inner(new Node[]{root, splitNode}, new Comparable[]{splitValue}, new Data[]{splitKey});
+                height++;
+            }
+            QueryableEntry replaced = oldEntry;
+            snapshot = new Snapshot(root, height, replaced == null ? current.size + 1 : current.size);
+            return replaced;
+        } finally {
+            resetUpdateState();
+        }
+    }
+
+    /**
+     * Removes the association of the entry with the given key with the given value.
+     *
+     * @return the removed entry, or {@code null} if there was none
+     */
+    QueryableEntry remove(Comparable value, Data key) {
+        try {
+            Snapshot current = snapshot;
+            Node root = remove(current.root, current.height, value, key);
+            QueryableEntry removed = oldEntry;
+            if (removed == null) {
+                return null;
+            }
+            int height = current.height;
+            if (root == null) {
+                root = Leaf.EMPTY;
+                height = 0;
+            }
+            while (height > 0 && ((Inner) root).children.length == 1) {
+                root = ((Inner) root).children[0];
+                height--;
+            }
+            snapshot = new Snapshot(root, height, current.size - 1);
+            return removed;
+        } finally {
+            resetUpdateState();
+        }
+    }
+
+    void clear() {
+        snapshot = Snapshot.EMPTY;
+    }
+
+    private void resetUpdateState() {
+        splitNode = null;
+        splitValue = null;
+        splitKey = null;
+        oldEntry = null;
+    }
+
+    private Node put(Node node, int level, Comparable value, Data key, QueryableEntry entry) {
+        if (level == 0) {
+            return putToLeaf((Leaf) node, value, key, entry);
+        }
+        Inner inner = (Inner) node;
+        int i = inner.childIndex(value, key, 0);
+        Node child = put(inner.children[i], level - 1, value, key, entry);
+        if (splitNode == null) {
+            return inner.withChild(i, child);
+        }
+
+        int n = inner.children.length + 1;
+        Node[] children = new Node[n];
+        Comparable[] values = new Comparable[n - 1];
+        Data[] keys = new Data[n - 1];
+        System.arraycopy(inner.children, 0, children, 0, i);
+        children[i] = child;
+        children[i + 1] = splitNode;
+        System.arraycopy(inner.children, i + 1, children, i + 2, n - i - 2);
+        System.arraycopy(inner.values, 0, values, 0, i);
+        System.arraycopy(inner.keys, 0, keys, 0, i);
+        values[i] = splitValue;
+        keys[i] = splitKey;
+        System.arraycopy(inner.values, i, values, i + 1, n - i - 2);
+        System.arraycopy(inner.keys, i, keys, i + 1, n - i - 2);
+        splitNode = null;
+        if (n <= MAX_NODE_SIZE) {
+            return new Inner(children, values, keys);
+        }
+
+        // the separator of the right half moves up to the parent
+        int mid = n >>> 1;
+        splitNode = new Inner(Arrays.copyOfRange(children, mid, n),
+                Arrays.copyOfRange(values, mid, n - 1), Arrays.copyOfRange(keys, mid, n - 1));
+        splitValue = values[mid - 1];
+        splitKey = keys[mid - 1];
+        return new Inner(Arrays.copyOf(children, mid), Arrays.copyOf(values, mid - 1), Arrays.copyOf(keys, mid - 1));
+    }
+
+    private Node putToLeaf(Leaf leaf, Comparable value, Data key, QueryableEntry entry) {
+        int position = leaf.search(value, key);
+        if (position >= 0) {
+            oldEntry = leaf.entries[position];
+            Comparable[] values = leaf.values.clone();
+            Data[] keys = leaf.keys.clone();
+            QueryableEntry[] entries = leaf.entries.clone();
+            values[position] = value;
+            keys[position] = key;
+            entries[position] = entry;
+            return new Leaf(values, keys, entries);
+        }
+
+        position = -position - 1;
+        int n = leaf.entries.length + 1;
+        Comparable[] values = new Comparable[n];
+        Data[] keys = new Data[n];
+        QueryableEntry[] entries = new QueryableEntry[n];
+        System.arraycopy(leaf.values, 0, values, 0, position);
+        System.arraycopy(leaf.keys, 0, keys, 0, position);
+        System.arraycopy(leaf.entries, 0, entries, 0, position);
+        values[position] = value;
+        keys[position] = key;
+        entries[position] = entry;
+        System.arraycopy(leaf.values, position, values, position + 1, n - position - 1);
+        System.arraycopy(leaf.keys, position, keys, position + 1, n - position - 1);
+        System.arraycopy(leaf.entries, position, entries, position + 1, n - position - 1);
+        if (n <= MAX_NODE_SIZE) {
+            return new Leaf(values, keys, entries);
+        }
+
+        int mid = n >>> 1;
+        splitNode = new Leaf(Arrays.copyOfRange(values, mid, n), Arrays.copyOfRange(keys, mid, n),
+                Arrays.copyOfRange(entries, mid, n));
+        splitValue = values[mid];
+        splitKey = keys[mid];
+        return new Leaf(Arrays.copyOf(values, mid), Arrays.copyOf(keys, mid), Arrays.copyOf(entries, mid));
+    }
+
+    /**
+     * @return the updated node, the given node if the entry was not
+     * found or {@code null} if the node became empty
+     */
+    private Node remove(Node node, int level, Comparable value, Data key) {
+        if (level == 0) {
+            Leaf leaf = (Leaf) node;
+            int position = leaf.search(value, key);
+            if (position < 0) {
+                return leaf;
+            }
+            oldEntry = leaf.entries[position];
+            return leaf.entries.length == 1 ? null : leaf.without(position);
+        }
+
+        Inner inner = (Inner) node;
+        int i = inner.childIndex(value, key, 0);
+        Node child = inner.children[i];
+        Node newChild = remove(child, level - 1, value, key);
+        if (newChild == child) {
+            return inner;
+        }
+        if (newChild == null) {
+            return inner.children.length == 1 ? null : inner.without(i, i == 0 ? 0 : i - 1);
+        }
+        if (newChild.size() < MIN_NODE_SIZE && inner.children.length > 1) {
+            // merge with a neighbour if they fit in one node
+            int left = i + 1 < inner.children.length ? i : i - 1;
+            Node leftNode = left == i ? newChild : inner.children[left];
+            Node rightNode = left == i ? inner.children[left + 1] : newChild;
+            if (leftNode.size() + rightNode.size() <= MAX_NODE_SIZE) {
+                Node merged = leftNode.merge(rightNode, inner.values[left], inner.keys[left]);
+                return inner.without(left + 1, left).withChild(left, merged);
+            }
+        }
+        return inner.withChild(i, newChild);
+    }
+
+    /**
+     * Compares the position described by the given value, key and side
+     * with the given entry.
+     */
+    static int compare(Comparable value, Data key, int side, Comparable entryValue, Data entryKey) {
+        int order = SPECIAL_AWARE_COMPARATOR.compare(value, entryValue);
+        if (order != 0) {
+            return order;
+        }
+        if (key != null) {
+            order = DATA_COMPARATOR.compare(key, entryKey);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return side;
+    }
+
+    private abstract static class Node {
+
+        abstract int size();
+
+        abstract Node merge(Node right, Comparable separatorValue, Data separatorKey);
+    }
+
+    private static final class Leaf extends Node {
+
+        static final Leaf EMPTY = new Leaf(new Comparable[0], new Data[0], new QueryableEntry[0]);
+
+        final Comparable[] values;
+        final Data[] keys;
+        final QueryableEntry[] entries;
+
+        Leaf(Comparable[] values, Data[] keys, QueryableEntry[] entries) {
+            this.values = values;
+            this.keys = keys;
+            this.entries = entries;
+        }
+
+        @Override
+        int size() {
+            return entries.length;
+        }
+
+        /**
+         * @return the index of the entry with the given value and key, or
+         * {@code -(insertion point) - 1} if there is no such entry
+         */
+        int search(Comparable value, Data key) {
+            int low = 0;
+            int high = entries.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int order = compare(value, key, 0, values[mid], keys[mid]);
+                if (order > 0) {
+                    low = mid + 1;
+                } else if (order < 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * @return the number of entries before the given position
+         */
+        int position(Comparable value, Data key, int side) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(value, key, side, values[mid], keys[mid]) > 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        Leaf without(int position) {
+            int n = entries.length - 1;
+            Comparable[] newValues = new Comparable[n];
+            Data[] newKeys = new Data[n];
+            QueryableEntry[] newEntries = new QueryableEntry[n];
+            System.arraycopy(values, 0, newValues, 0, position);
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(entries, 0, newEntries, 0, position);
+            System.arraycopy(values, position + 1, newValues, position, n - position);
+            System.arraycopy(keys, position + 1, newKeys, position, n - position);
+            System.arraycopy(entries, position + 1, newEntries, position, n - position);
+            return new Leaf(newValues, newKeys, newEntries);
+        }
+
+        @Override
+        Node merge(Node right, Comparable separatorValue, Data separatorKey) {
+            Leaf leaf = (Leaf) right;
+            return new Leaf(concat(values, leaf.values, null), concat(keys, leaf.keys, null),
+                    concat(entries, leaf.entries, null));
+        }
+    }
+
+    /**
+     * Inner node, {@code values[i]} and {@code keys[i]} are not greater than
+     * the values and keys of the entries in the subtree of {@code children[i + 1]}
+     * and greater than the ones in the subtree of {@code children[i]}.
+     */
+    private static final class Inner extends Node {
+
+        final Node[] children;
+        final Comparable[] values;
+        final Data[] keys;
+
+        Inner(Node[] children, Comparable[] values, Data[] keys) {
+            this.children = children;
+            this.values = values;
+            this.keys = keys;
+        }
+
+        @Override
+        int size() {
+            return children.length;
+        }
+
+        /**
+         * @return the index of the child holding the given position,
+         * or the given entry if the side is {@code 0}
+         */
+        int childIndex(Comparable value, Data key, int side) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(value, key, side, values[mid], keys[mid]) >= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        Inner withChild(int index, Node child) {
+            Node[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new Inner(newChildren, values, keys);
+        }
+
+        Inner without(int childIndex, int separatorIndex) {
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, childIndex);
+            System.arraycopy(children, childIndex + 1, newChildren, childIndex, newChildren.length - childIndex);
+            int n = values.length - 1;
+            Comparable[] newValues = new Comparable[n];
+            Data[] newKeys = new Data[n];
+            System.arraycopy(values, 0, newValues, 0, separatorIndex);
+            System.arraycopy(keys, 0, newKeys, 0, separatorIndex);
+            System.arraycopy(values, separatorIndex + 1, newValues, separatorIndex, n - separatorIndex);
+            System.arraycopy(keys, separatorIndex + 1, newKeys, separatorIndex, n - separatorIndex);
+            return new Inner(newChildren, newValues, newKeys);
+        }
+
+        @Override
+        Node merge(Node right, Comparable separatorValue, Data separatorKey) {
+            Inner inner = (Inner) right;
+            Comparable[] newValues = concat(values, inner.values, separatorValue);
+            Data[] newKeys = concat(keys, inner.keys, separatorKey);
+            return new Inner(concat(children, inner.children, null), newValues, newKeys);
+        }
+    }
+
+    /**
+     * Concatenates the given arrays, with the given separator between
+     * them, if it is not {@code null}.
+     */
+    private static <T> T[] concat(T[] left, T[] right, T separator) {
+        int gap = separator == null ? 0 : 1;
+        T[] result = Arrays.copyOf(left, left.length + gap + right.length);
+        if (separator != null) {
+            result[left.length] = separator;
+        }
+        System.arraycopy(right, 0, result, left.length + gap, right.length);
+        return result;
+    }
+
+    /**
+     * An immutable state of the tree.
+     */
+    static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Leaf.EMPTY, 0, 0);
+
+        private final Node root;
+        private final int height;
+        private final int size;
+
+        private Snapshot(Node root, int height, int size) {
+            this.root = root;
+            this.height = height;
+            this.size = size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return a cursor at the given position
+         */
+        Cursor seek(Comparable value, Data key, int side) {
+            Cursor cursor = new Cursor(this);
+            cursor.seek(value, key, side);
+            return cursor;
+        }
+
+        /**
+         * @return a cursor before the first entry if {@code first} is
+         * {@code true}, or after the last entry otherwise
+         */
+        Cursor seekEnd(boolean first) {
+            Cursor cursor = new Cursor(this);
+            cursor.seekEnd(first);
+            return cursor;
+        }
+    }
+
+    /**
+     * Iterates the entries of a snapshot in both directions from a
+     * position. The entry passed by the last move is available with
+     * {@link #value()}, {@link #key()} and {@link #entry()}.
+     */
+    static final class Cursor {
+
+        private final Snapshot snapshot;
+        private final Inner[] path;
+        private final int[] indexes;
+        private Leaf leaf;
+        private int position;
+        // the index of the entry passed by the last move in the leaf
+        private int current;
+
+        private Cursor(Snapshot snapshot) {
+            this.snapshot = snapshot;
+            this.path = new Inner[snapshot.height];
+            this.indexes = new int[snapshot.height];
+        }
+
+        private Cursor(Cursor cursor) {
+            this.snapshot = cursor.snapshot;
+            this.path = cursor.path.clone();
+            this.indexes = cursor.indexes.clone();
+            this.leaf = cursor.leaf;
+            this.position = cursor.position;
+            this.current = cursor.current;
+        }
+
+        Cursor copy() {
+            return new Cursor(this);
+        }
+
+        void seek(Comparable value, Data key, int side) {
+            Node node = snapshot.root;
+            for (int level = 0; level < path.length; level++) {
+                Inner inner = (Inner) node;
+                int index = inner.childIndex(value, key, side);
+                path[level] = inner;
+                indexes[level] = index;
+                node = inner.children[index];
+            }
+            leaf = (Leaf) node;
+            position = leaf.position(value, key, side);
+        }
+
+        void seekEnd(boolean first) {
+            descend(0, snapshot.root, first);
+        }
+
+        /**
+         * Moves over the next entry.
+         *
+         * @return {@code false} if there is no next entry
+         */
+        boolean forward() {
+            while (position == leaf.entries.length) {
+                if (!nextLeaf()) {
+                    return false;
+                }
+            }
+            current = position++;
+            return true;
+        }
+
+        /**
+         * Moves over the previous entry.
+         *
+         * @return {@code false} if there is no previous entry
+         */
+        boolean backward() {
+            while (position == 0) {
+                if (!previousLeaf()) {
+                    return false;
+                }
+            }
+            current = --position;
+            return true;
+        }
+
+        Comparable value() {
+            return leaf.values[current];
+        }
+
+        Data key() {
+            return leaf.keys[current];
+        }
+
+        QueryableEntry entry() {
+            return leaf.entries[current];
+        }
+
+        private boolean nextLeaf() {
+            int level = path.length - 1;
+            while (level >= 0 && indexes[level] + 1 == path[level].children.length) {
+                level--;
+            }
+            if (level < 0) {
+                return false;
+            }
+            indexes[level]++;
+            descend(level + 1, path[level].children[indexes[level]], true);
+            return true;
+        }
+
+        private boolean previousLeaf() {
+            int level = path.length - 1;
+            while (level >= 0 && indexes[level] == 0) {
+                level--;
+            }
+            if (level < 0) {
+                return false;
+            }
+            indexes[level]--;
+            descend(level + 1, path[level].children[indexes[level]], false);
+            return true;
+        }
+
+        private void descend(int fromLevel, Node node, boolean first) {
+            for (int level = fromLevel; level < path.length; level++) {
+                Inner inner = (Inner) node;
+                int index = first ? 0 : inner.children.length - 1;
+                path[level] = inner;
+                indexes[level] = index;
+                node = inner.children[index];
+            }
+            leaf = (Leaf) node;
+            position = first ? 0 : leaf.entries.length;
+        }
+    }
+}
@@ -23,6 +23,8 @@ import com.hazelcast.internal.monitor.impl.PerIndexStats;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.query.impl.GlobalIndexPartitionTracker.PartitionStamp;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.QueryOptimizerFactory;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 /**
  * Provides implementation of on-heap indexes.
@@ -48,18 +50,36 @@ public class IndexImpl extends AbstractIndex {
     @Override
     protected IndexStore createIndexStore(Node node, IndexConfig config,
                                           PerIndexStats stats, String mapName, int ignored) {
+        boolean statisticsEnabled = isCostOptimizerEnabled(node);
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                return isBPlusTreeEnabled(node)
+                        ? new BPlusTreeIndexStore(copyBehavior, statisticsEnabled)
+                        : new OrderedIndexStore(copyBehavior, statisticsEnabled);
             case HASH:
-                return new UnorderedIndexStore(copyBehavior);
+                return new UnorderedIndexStore(copyBehavior, statisticsEnabled);
             case BITMAP:
                 return new BitmapIndexStore(config);
+            case FULL_TEXT:
+                return new FullTextIndexStore(config);
             default:
                 throw new IllegalArgumentException("unexpected index type: " + config.getType());
         }
     }
 
+    private static boolean isBPlusTreeEnabled(Node node) {
+        return node != null && node.getProperties().getBoolean(ClusterProperty.QUERY_SORTED_INDEX_BPLUS_TREE_ENABLED);
+    }
+
+    /**
+     * The statistics of the indexed values are used only by the cost-based
+     * optimizer, they aren't maintained for the other ones.
+     */
+    private static boolean isCostOptimizerEnabled(Node node) {
+        return node != null && QueryOptimizerFactory.Type.COST.name()
+                .equals(node.getProperties().getString(ClusterProperty.QUERY_OPTIMIZER_TYPE));
+    }
+
     @Override
     public final boolean hasPartitionIndexed(int partitionId) {
         return partitionTracker.isIndexed(partitionId);
@@ -35,8 +35,11 @@ import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.predicates.IndexAwarePredicate;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -79,6 +82,7 @@ public class IndexRegistry {
     private final Map<String, InternalIndex> indexesByName = new ConcurrentHashMap<>(3);
     private final AttributeIndexRegistry attributeIndexRegistry = new AttributeIndexRegistry();
     private final AttributeIndexRegistry evaluateOnlyAttributeIndexRegistry = new AttributeIndexRegistry();
+    private final AttributeIndexRegistry fullTextAttributeIndexRegistry = new AttributeIndexRegistry();
     private final ConverterCache converterCache = new ConverterCache(this);
     private final Map<String, IndexConfig> definitions = new ConcurrentHashMap<>();
 
@@ -88,6 +92,7 @@ public class IndexRegistry {
 
     private volatile InternalIndex[] indexes = EMPTY_INDEXES;
     private volatile InternalIndex[] compositeIndexes = EMPTY_INDEXES;
+    private volatile InternalIndex[] filteredIndexes = EMPTY_INDEXES;
 
     @SuppressWarnings("checkstyle:ParameterNumber")
     private IndexRegistry(Node node,
@@ -182,7 +187,16 @@ public class IndexRegistry {
                 mapName);
 
         indexesByName.put(name, index);
-        if (index.isEvaluateOnly()) {
+        if (index.getFilter() != null) {
+            // filtered indexes don't contain all entries, they are matched by name only
+            InternalIndex[] oldFilteredIndexes = filteredIndexes;
+            InternalIndex[] newFilteredIndexes = Arrays.copyOf(oldFilteredIndexes, oldFilteredIndexes.length + 1);
+            newFilteredIndexes[oldFilteredIndexes.length] = index;
+            filteredIndexes = newFilteredIndexes;
+        } else if (indexConfig.getType() == IndexType.FULL_TEXT) {
+            // full-text indexes may coexist with the other evaluate-only index of the attribute
+            fullTextAttributeIndexRegistry.register(index);
+        } else if (index.isEvaluateOnly()) {
             evaluateOnlyAttributeIndexRegistry.register(index);
         } else {
             attributeIndexRegistry.register(index);
@@ -202,7 +216,7 @@ public class IndexRegistry {
         });
 
         indexes = internalIndexes;
-        if (index.getComponents().length > 1) {
+        if (index.getComponents().length > 1 && index.getFilter() == null) {
             InternalIndex[] oldCompositeIndexes = compositeIndexes;
             InternalIndex[] newCompositeIndexes = Arrays.copyOf(oldCompositeIndexes, oldCompositeIndexes.length + 1);
             newCompositeIndexes[oldCompositeIndexes.length] = index;
@@ -259,6 +273,16 @@ public class IndexRegistry {
         return compositeIndexes;
     }
 
+    /**
+     * Returns all the filtered indexes known to this indexes instance.
+     *
+     * @see IndexConfig#setFilter(String)
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public InternalIndex[] getFilteredIndexes() {
+        return filteredIndexes;
+    }
+
     public Collection<IndexConfig> getIndexDefinitions() {
         return definitions.values();
     }
@@ -271,9 +295,11 @@ public class IndexRegistry {
 
         indexes = EMPTY_INDEXES;
         compositeIndexes = EMPTY_INDEXES;
+        filteredIndexes = EMPTY_INDEXES;
         indexesByName.clear();
         attributeIndexRegistry.clear();
         evaluateOnlyAttributeIndexRegistry.clear();
+        fullTextAttributeIndexRegistry.clear();
         converterCache.clear();
 
         for (InternalIndex index : indexesCopy) {
@@ -487,6 +513,70 @@ public class IndexRegistry {
         }
     }
 
+    /**
+     * Performs a query on this indexes instance by scanning the whole index
+     * storing the values of all the given attributes, see {@link
+     * InternalIndex#getCoveredAttributes()}. Projecting these attributes
+     * from the returned entries does not touch the values of the entries,
+     * nor does the predicate if it only references these attributes.
+     *
+     * @param predicate           the predicate to filter the entries with.
+     * @param attributes          the attributes to project.
+     * @param ownedPartitionCount a count of owned partitions a query runs on.
+     *                            Negative value indicates that the value is not defined.
+     * @return the entries matching the predicate or {@code null} if there is no
+     * such index storing all the entries.
+     */
+    public Iterable<QueryableEntry> scanCoveringIndex(Predicate predicate, String[] attributes, int ownedPartitionCount) {
+        InternalIndex index = matchCoveringIndex(attributes, ownedPartitionCount);
+        if (index == null) {
+            return null;
+        }
+
+        java.util.function.Predicate<QueryableEntry> resultFilter = resultFilterFactory == null
+                ? null : resultFilterFactory.get();
+        List<QueryableEntry> result = new ArrayList<>();
+        Iterator<QueryableEntry> iterator = index.getEntries();
+        while (iterator.hasNext()) {
+            QueryableEntry entry = iterator.next();
+            if (predicate.apply(entry) && (resultFilter == null || resultFilter.test(entry))) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private InternalIndex matchCoveringIndex(String[] attributes, int ownedPartitionCount) {
+        for (InternalIndex index : indexes) {
+            String[] coveredAttributes = index.getCoveredAttributes();
+            // a filtered index misses entries, an index on a collection has them more than once
+            if (coveredAttributes != null && index.getFilter() == null && !hasAnyModifier(index.getComponents())
+                    && covers(coveredAttributes, attributes) && index.allPartitionsIndexed(ownedPartitionCount)) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAnyModifier(String[] components) {
+        for (String component : components) {
+            if (component.contains("[any]")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean covers(String[] coveredAttributes, String[] attributes) {
+        List<String> covered = Arrays.asList(coveredAttributes);
+        for (String attribute : attributes) {
+            if (!covered.contains(IndexUtils.canonicalizeAttribute(attribute))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Matches an index for the given pattern and match hint.
      *
@@ -520,6 +610,20 @@ public class IndexRegistry {
         return index;
     }
 
+    /**
+     * Matches an index for the given attribute and match hint, as {@link
+     * #matchIndex(String, QueryContext.IndexMatchHint, int)} does, without
+     * updating the query stats. Used by query optimizers to find the index a
+     * predicate is going to be filtered with.
+     *
+     * @param attribute the attribute to match an index for.
+     * @param matchHint the match hint.
+     * @return the matched index or {@code null} if nothing matched.
+     */
+    public InternalIndex peekIndex(String attribute, QueryContext.IndexMatchHint matchHint) {
+        return attributeIndexRegistry.match(attribute, matchHint);
+    }
+
     /**
      * Matches an index for the given pattern and match hint that can evaluate
      * the given predicate class.
@@ -541,7 +645,10 @@ public class IndexRegistry {
         if (matchHint == QueryContext.IndexMatchHint.EXACT_NAME) {
             index = indexesByName.get(pattern);
         } else {
-            index = evaluateOnlyAttributeIndexRegistry.match(pattern, matchHint);
+            index = fullTextAttributeIndexRegistry.match(pattern, matchHint);
+            if (index == null || !index.canEvaluate(predicateClass)) {
+                index = evaluateOnlyAttributeIndexRegistry.match(pattern, matchHint);
+            }
             if (index == null) {
                 index = attributeIndexRegistry.match(pattern, matchHint);
             }
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.Comparables.canonicalizeForHashLookup;
+
+/**
+ * Statistics of the values stored in an index store, used by the cost-based
+ * query optimizer to estimate the selectivity of predicates.
+ * <p>
+ * The number of entries and the number of entries with a {@code null} value
+ * are tracked exactly. The distribution of the non-null values is described
+ * by a random sample of the inserted values, maintained by reservoir
+ * sampling. The sorted sample serves as an equi-depth histogram with a
+ * single value per bucket for range predicates, the frequencies of the
+ * sampled values give the most common values and the distinct value count
+ * estimate.
+ * <p>
+ * Removed values stay in the sample until they are replaced by inserted ones,
+ * so the estimates become less precise after massive removals. The summary of
+ * the sample is rebuilt by the querying threads once enough mutations happened
+ * since it was built.
+ * <p>
+ * The statistics are thread-safe. The counters are striped, so concurrent
+ * index updates don't contend on them. They are maintained only when the
+ * cost-based query optimizer is configured.
+ */
+@SuppressWarnings("rawtypes")
+public final class IndexStatistics {
+
+    /**
+     * The maximum number of values sampled.
+     */
+    public static final int SAMPLE_SIZE = 256;
+
+    /**
+     * The selectivity assumed for a range predicate if the indexed values are
+     * not mutually comparable.
+     */
+    public static final double DEFAULT_RANGE_SELECTIVITY = 1.0 / 3;
+
+    private static final int MIN_REBUILD_MUTATIONS = 64;
+    private static final int REBUILD_MUTATIONS_FRACTION = 10;
+
+    private final AtomicReferenceArray<Comparable> sample = new AtomicReferenceArray<>(SAMPLE_SIZE);
+    private final AtomicInteger sampleFill = new AtomicInteger();
+    private final LongAdder entryCount = new LongAdder();
+    private final LongAdder nullCount = new LongAdder();
+    private final LongAdder mutationCount = new LongAdder();
+
+    private volatile Summary summary = Summary.EMPTY;
+
+    /**
+     * Invoked by the index store after the given value was associated with an
+     * entry.
+     *
+     * @param value the sanitized value, {@link AbstractIndex#NULL} for {@code null}.
+     */
+    public void onInserted(Comparable value) {
+        entryCount.increment();
+        mutationCount.increment();
+        if (value == NULL) {
+            nullCount.increment();
+            return;
+        }
+
+        int fill = sampleFill.get();
+        if (fill < SAMPLE_SIZE) {
+            fill = sampleFill.getAndIncrement();
+            if (fill < SAMPLE_SIZE) {
+                sample.set(fill, value);
+                return;
+            }
+        }
+        // Every live value has the same chance to be in the sample, the
+        // removed ones are gradually replaced.
+        long live = Math.max(entryCount.sum() - nullCount.sum(), SAMPLE_SIZE);
+        long slot = ThreadLocalRandom.current().nextLong(live);
+        if (slot < SAMPLE_SIZE) {
+            sample.set((int) slot, value);
+        }
+    }
+
+    /**
+     * Invoked by the index store after the given value was dissociated from an
+     * entry.
+     *
+     * @param value the sanitized value, {@link AbstractIndex#NULL} for {@code null}.
+     */
+    public void onRemoved(Comparable value) {
+        entryCount.decrement();
+        mutationCount.increment();
+        if (value == NULL) {
+            nullCount.decrement();
+        }
+    }
+
+    /**
+     * Invoked after the index store was cleared.
+     */
+    public void clear() {
+        entryCount.reset();
+        nullCount.reset();
+        for (int i = 0; i < SAMPLE_SIZE; ++i) {
+            sample.set(i, null);
+        }
+        sampleFill.set(0);
+        mutationCount.increment();
+        summary = Summary.EMPTY;
+    }
+
+    /**
+     * @return the number of value-entry associations in the index store.
+     */
+    public long getEntryCount() {
+        return Math.max(entryCount.sum(), 0);
+    }
+
+    /**
+     * @return the estimated number of distinct values in the index store,
+     * {@code null} included.
+     */
+    public long getDistinctCount() {
+        long nulls = Math.max(nullCount.sum(), 0);
+        long nonNulls = Math.max(getEntryCount() - nulls, 0);
+        return summary().estimateDistinct(nonNulls) + (nulls > 0 ? 1 : 0);
+    }
+
+    /**
+     * Estimates the fraction of the entries having the given value.
+     *
+     * @param value the value converted to the type of the indexed attribute.
+     * @return the estimated selectivity in the range {@code [0, 1]}.
+     */
+    public double estimateEqualSelectivity(Comparable value) {
+        long entries = getEntryCount();
+        if (entries == 0) {
+            return 0.0;
+        }
+        long nulls = Math.min(Math.max(nullCount.sum(), 0), entries);
+        if (value == null || value == NULL) {
+            return (double) nulls / entries;
+        }
+
+        Summary summary = summary();
+        if (summary.size == 0) {
+            return 0.0;
+        }
+        double nonNullFraction = (double) (entries - nulls) / entries;
+        Integer frequency = summary.commonValues.get(canonicalizeForHashLookup(value));
+        if (frequency != null) {
+            return nonNullFraction * frequency / summary.size;
+        }
+
+        // spread the entries not having a common value evenly among the other values
+        long otherValues = Math.max(summary.estimateDistinct(entries - nulls) - summary.commonValues.size(), 1);
+        double otherFraction = 1.0 - (double) summary.commonValueCount / summary.size;
+        return nonNullFraction * otherFraction / otherValues;
+    }
+
+    /**
+     * Estimates the fraction of the entries having a value in the given range.
+     *
+     * @param from          the lower bound converted to the type of the
+     *                      indexed attribute, {@code null} if unbounded.
+     * @param fromInclusive {@code true} if the lower bound is inclusive.
+     * @param to            the upper bound converted to the type of the
+     *                      indexed attribute, {@code null} if unbounded.
+     * @param toInclusive   {@code true} if the upper bound is inclusive.
+     * @return the estimated selectivity in the range {@code [0, 1]}.
+     */
+    public double estimateRangeSelectivity(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        long entries = getEntryCount();
+        if (entries == 0) {
+            return 0.0;
+        }
+        Summary summary = summary();
+        if (summary.size == 0) {
+            return 0.0;
+        }
+        long nulls = Math.min(Math.max(nullCount.sum(), 0), entries);
+        double nonNullFraction = (double) (entries - nulls) / entries;
+        Comparable[] histogram = summary.histogram;
+        if (histogram == null) {
+            return nonNullFraction * DEFAULT_RANGE_SELECTIVITY;
+        }
+
+        try {
+            int lo = from == null || from == NULL ? 0 : search(histogram, from, !fromInclusive);
+            int hi = to == null || to == NULL ? histogram.length : search(histogram, to, toInclusive);
+            // a range falling between two adjacent sampled values still may
+            // match some entries, assume it covers half of the bucket
+            double buckets = hi > lo ? hi - lo : 0.5;
+            return nonNullFraction * buckets / histogram.length;
+        } catch (ClassCastException | IllegalArgumentException e) {
+            return nonNullFraction * DEFAULT_RANGE_SELECTIVITY;
+        }
+    }
+
+    /**
+     * @return the number of values in the sorted array which are less than
+     * the given value, or less than or equal to it if {@code inclusive}.
+     */
+    private static int search(Comparable[] sorted, Comparable value, boolean inclusive) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int order = Comparables.compare(sorted[mid], value);
+            if (order < 0 || inclusive && order == 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Summary summary() {
+        Summary current = summary;
+        long mutations = mutationCount.sum();
+        // small summaries are rebuilt sooner, so the first values are taken into account
+        long threshold = Math.max(Math.min(MIN_REBUILD_MUTATIONS, current.size),
+                getEntryCount() / REBUILD_MUTATIONS_FRACTION);
+        if (mutations - current.mutationCount >= threshold) {
+            current = Summary.build(sample, Math.min(sampleFill.get(), SAMPLE_SIZE), mutations);
+            summary = current;
+        }
+        return current;
+    }
+
+    /**
+     * An immutable summary of the sampled values.
+     */
+    private static final class Summary {
+
+        static final Summary EMPTY = new Summary(0, null, Map.of(), 0, 0, 0, 0);
+
+        final int size;
+        /**
+         * The sorted sampled values, {@code null} if they are not mutually comparable.
+         */
+        final Comparable[] histogram;
+        /**
+         * The sampled values occurring more than once mapped to their number of occurrences.
+         */
+        final Map<Comparable, Integer> commonValues;
+        final int commonValueCount;
+        final int distinct;
+        final int singletons;
+        final long mutationCount;
+
+        @SuppressWarnings("checkstyle:parameternumber")
+        Summary(int size, Comparable[] histogram, Map<Comparable, Integer> commonValues, int commonValueCount,
+                int distinct, int singletons, long mutationCount) {
+            this.size = size;
+            this.histogram = histogram;
+            this.commonValues = commonValues;
+            this.commonValueCount = commonValueCount;
+            this.distinct = distinct;
+            this.singletons = singletons;
+            this.mutationCount = mutationCount;
+        }
+
+        static Summary build(AtomicReferenceArray<Comparable> sample, int fill, long mutationCount) {
+            Comparable[] values = new Comparable[fill];
+            int size = 0;
+            for (int i = 0; i < fill; ++i) {
+                Comparable value = sample.get(i);
+                if (value != null) {
+                    values[size++] = value;
+                }
+            }
+            values = Arrays.copyOf(values, size);
+
+            Map<Comparable, Integer> frequencies = new HashMap<>();
+            for (Comparable value : values) {
+                frequencies.merge(canonicalizeForHashLookup(value), 1, Integer::sum);
+            }
+            Map<Comparable, Integer> commonValues = new HashMap<>();
+            int commonValueCount = 0;
+            int singletons = 0;
+            for (Map.Entry<Comparable, Integer> entry : frequencies.entrySet()) {
+                int frequency = entry.getValue();
+                if (frequency == 1) {
+                    ++singletons;
+                } else {
+                    commonValues.put(entry.getKey(), frequency);
+                    commonValueCount += frequency;
+                }
+            }
+
+            Comparable[] histogram = values;
+            try {
+                Arrays.sort(histogram, Comparables.COMPARATOR);
+            } catch (ClassCastException | IllegalArgumentException e) {
+                histogram = null;
+            }
+            return new Summary(size, histogram, commonValues, commonValueCount, frequencies.size(), singletons,
+                    mutationCount);
+        }
+
+        /**
+         * Estimates the number of distinct values among the given number of
+         * values using the GEE estimator: the values seen once in the sample
+         * are scaled up, the ones seen more than once are counted once. If
+         * there are no repeated values in the sample, the values are assumed
+         * to be unique.
+         */
+        long estimateDistinct(long valueCount) {
+            if (size == 0 || valueCount == 0) {
+                return 0;
+            }
+            if (valueCount <= size) {
+                return Math.min(distinct, valueCount);
+            }
+            if (singletons == size) {
+                return valueCount;
+            }
+            double estimate = Math.sqrt((double) valueCount / size) * singletons + (distinct - singletons);
+            return Math.min(Math.max(Math.round(estimate), distinct), valueCount);
+        }
+    }
+}
@@ -115,6 +115,14 @@ public interface IndexStore {
      */
     void destroy();
 
+    /**
+     * @return the statistics of the values stored in this index store, or
+     * {@code null} if this index store doesn't maintain them.
+     */
+    default IndexStatistics getStatistics() {
+        return null;
+    }
+
     /**
      * @return {@code true} if this index store supports querying only with
      * {@link #evaluate} method, {@code false} otherwise.
@@ -20,12 +20,14 @@ import com.hazelcast.config.BTreeIndexConfig;
 import com.hazelcast.config.BitmapIndexOptions;
 import com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation;
 import com.hazelcast.config.ConfigXmlGenerator.XmlGenerator;
+import com.hazelcast.config.FullTextIndexOptions;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.IndexType;
 import com.hazelcast.internal.util.StringUtil;
 import com.hazelcast.internal.util.UuidUtil;
 import com.hazelcast.memory.Capacity;
 import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.query.impl.predicates.SqlPredicate;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
@@ -64,7 +66,7 @@ public final class IndexUtils {
      * @return Normalized index config.
      * @throws IllegalArgumentException If index configuration is invalid.
      */
-    @SuppressWarnings("checkstyle:npathcomplexity")
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
     public static IndexConfig validateAndNormalize(String mapName, IndexConfig config) {
         assert config != null;
 
@@ -84,6 +86,19 @@ public final class IndexUtils {
             throw new IllegalArgumentException("Composite bitmap indexes are not supported: " + config);
         }
 
+        if (config.getType() == IndexType.FULL_TEXT && originalAttributeNames.size() > 1) {
+            throw new IllegalArgumentException("Composite full-text indexes are not supported: " + config);
+        }
+
+        String filter = config.getFilter();
+
+        if (StringUtil.isNullOrEmptyAfterTrim(filter)) {
+            filter = null;
+        } else {
+            filter = filter.trim();
+            validateFilter(config, filter);
+        }
+
         List<String> normalizedAttributeNames = new ArrayList<>(originalAttributeNames.size());
 
         for (String originalAttributeName : originalAttributeNames) {
@@ -120,8 +135,11 @@ public final class IndexUtils {
             name = null;
         }
 
+        List<String> includedAttributeNames = normalizeIncludedAttributes(config, normalizedAttributeNames);
+
         IndexConfig normalizedConfig =
-            buildNormalizedConfig(mapName, config.getType(), name, normalizedAttributeNames, config.getBTreeIndexConfig());
+            buildNormalizedConfig(mapName, config.getType(), name, normalizedAttributeNames, includedAttributeNames,
+                config.getBTreeIndexConfig(), filter);
 
         if (config.getType() == IndexType.BITMAP) {
             String uniqueKey = config.getBitmapIndexOptions().getUniqueKey();
@@ -131,14 +149,47 @@ public final class IndexUtils {
             uniqueKey = canonicalizeAttribute(uniqueKey);
 
             normalizedConfig.getBitmapIndexOptions().setUniqueKey(uniqueKey).setUniqueKeyTransformation(uniqueKeyTransformation);
+        } else if (config.getType() == IndexType.FULL_TEXT) {
+            normalizedConfig.setFullTextIndexOptions(config.getFullTextIndexOptions());
         }
 
         return normalizedConfig;
     }
 
+    private static List<String> normalizeIncludedAttributes(IndexConfig config, List<String> normalizedAttributeNames) {
+        List<String> includedAttributeNames = config.getIncludedAttributes();
+
+        if (includedAttributeNames.isEmpty()) {
+            return includedAttributeNames;
+        }
+
+        if (config.getType() != IndexType.SORTED && config.getType() != IndexType.HASH) {
+            throw new IllegalArgumentException("Included attributes are supported only by sorted and hash indexes: "
+                + config);
+        }
+
+        List<String> normalizedIncludedAttributeNames = new ArrayList<>(includedAttributeNames.size());
+
+        for (String includedAttributeName : includedAttributeNames) {
+            validateAttribute(config, includedAttributeName);
+
+            String normalizedAttributeName = canonicalizeAttribute(includedAttributeName.trim());
+
+            // the values of the indexed attributes are stored anyway
+            if (!normalizedAttributeNames.contains(normalizedAttributeName)
+                && !normalizedIncludedAttributeNames.contains(normalizedAttributeName)) {
+                normalizedIncludedAttributeNames.add(normalizedAttributeName);
+            }
+        }
+
+        return normalizedIncludedAttributeNames;
+    }
+
+    @SuppressWarnings("checkstyle:parameternumber")
     private static IndexConfig buildNormalizedConfig(String mapName, IndexType indexType, String indexName,
                                                      List<String> normalizedAttributeNames,
-                                                     BTreeIndexConfig btreeIndexConfig) {
+                                                     List<String> includedAttributeNames,
+                                                     BTreeIndexConfig btreeIndexConfig, String filter) {
         IndexConfig newConfig = new IndexConfig().setType(indexType);
 
         StringBuilder nameBuilder = indexName == null
@@ -153,6 +204,19 @@ public final class IndexUtils {
         }
 
         if (nameBuilder != null) {
+            if (!includedAttributeNames.isEmpty()) {
+                // keep the name distinct from the one of an index on the same attributes without them
+                nameBuilder.append("_including");
+                for (String includedAttributeName : includedAttributeNames) {
+                    nameBuilder.append("_").append(includedAttributeName);
+                }
+            }
+
+            if (filter != null) {
+                // keep the name distinct from the one of an unfiltered index on the same attributes
+                nameBuilder.append("_filtered_").append(Integer.toHexString(filter.hashCode()));
+            }
+
             indexName = nameBuilder.toString();
         }
 
@@ -160,9 +224,34 @@ public final class IndexUtils {
 
         newConfig.setBTreeIndexConfig(new BTreeIndexConfig(btreeIndexConfig));
 
+        newConfig.setFilter(filter);
+
+        newConfig.setIncludedAttributes(includedAttributeNames);
+
         return newConfig;
     }
 
+    private static void validateFilter(IndexConfig config, String filter) {
+        if (config.getType() == IndexType.BITMAP) {
+            throw new IllegalArgumentException("Filtered bitmap indexes are not supported: " + config);
+        }
+
+        if (config.getType() == IndexType.FULL_TEXT) {
+            throw new IllegalArgumentException("Filtered full-text indexes are not supported: " + config);
+        }
+
+        if (config.getAttributes().size() > 1) {
+            throw new IllegalArgumentException("Filtered composite indexes are not supported: " + config);
+        }
+
+        try {
+            new SqlPredicate(filter);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid index filter [filter=" + filter + ", indexConfig=" + config
+                + "]: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Validate attribute name.
      *
@@ -285,6 +374,18 @@ public final class IndexUtils {
             }
             gen.close();
 
+            if (indexCfg.getFilter() != null) {
+                gen.node("filter", indexCfg.getFilter());
+            }
+
+            if (!indexCfg.getIncludedAttributes().isEmpty()) {
+                gen.open("included-attributes");
+                for (String attribute : indexCfg.getIncludedAttributes()) {
+                    gen.node("attribute", attribute);
+                }
+                gen.close();
+            }
+
             if (indexCfg.getType() == IndexType.BITMAP) {
                 BitmapIndexOptions bitmapIndexOptions = indexCfg.getBitmapIndexOptions();
 
@@ -292,6 +393,10 @@ public final class IndexUtils {
                 gen.node("unique-key", bitmapIndexOptions.getUniqueKey());
                 gen.node("unique-key-transformation", bitmapIndexOptions.getUniqueKeyTransformation());
                 gen.close();
+            } else if (indexCfg.getType() == IndexType.FULL_TEXT) {
+                gen.open("full-text-index-options");
+                gen.node("ngram-length", indexCfg.getFullTextIndexOptions().getNGramLength());
+                gen.close();
             } else if (supportsTiered && indexCfg.getType() == IndexType.SORTED) {
                 BTreeIndexConfig btreeIndexConf = indexCfg.getBTreeIndexConfig();
 
@@ -336,6 +441,14 @@ public final class IndexUtils {
                         res.addAttribute(attribute);
                     }
                 }
+            } else if ("filter".equals(cleanNodeName(attributesNode))) {
+                res.setFilter(getTextContent(attributesNode, domLevel3));
+            } else if ("included-attributes".equals(cleanNodeName(attributesNode))) {
+                for (Node attributeNode : childElements(attributesNode)) {
+                    if ("attribute".equals(cleanNodeName(attributeNode))) {
+                        res.addIncludedAttribute(getTextContent(attributeNode, domLevel3));
+                    }
+                }
             }
         }
 
@@ -356,6 +469,11 @@ public final class IndexUtils {
                 res.getBitmapIndexOptions().setUniqueKey(uniqueKey);
                 res.getBitmapIndexOptions().setUniqueKeyTransformation(uniqueKeyTransformation);
             }
+        } else if (type == IndexType.FULL_TEXT) {
+            Node optionsNode = childElementWithName(indexNode, "full-text-index-options", strict);
+            if (optionsNode != null) {
+                res.setFullTextIndexOptions(getFullTextIndexOptions(optionsNode, domLevel3, strict));
+            }
         } else if (type == IndexType.SORTED) {
             Node optionsNode = childElementWithName(indexNode, "btree-index", strict);
             if (optionsNode != null) {
@@ -371,6 +489,16 @@ public final class IndexUtils {
         return res;
     }
 
+    private static FullTextIndexOptions getFullTextIndexOptions(Node optionsNode, boolean domLevel3, boolean strict) {
+        Node nGramLengthNode = childElementWithName(optionsNode, "ngram-length", strict);
+        String nGramLengthText = getTextContent(nGramLengthNode, domLevel3);
+        int nGramLength = isNullOrEmpty(nGramLengthText)
+                ? FullTextIndexOptions.DEFAULT_NGRAM_LENGTH
+                : Integer.parseInt(nGramLengthText.trim());
+
+        return new FullTextIndexOptions().setNGramLength(nGramLength);
+    }
+
     private static Capacity getCapacity(Node node, boolean domLevel3) {
         if (node == null) {
             return null;
@@ -392,6 +520,8 @@ public final class IndexUtils {
             return IndexType.HASH;
         } else if (equalsIgnoreCase(typeStr, IndexType.BITMAP.name())) {
             return IndexType.BITMAP;
+        } else if (equalsIgnoreCase(typeStr, IndexType.FULL_TEXT.name())) {
+            return IndexType.FULL_TEXT;
         } else {
             throw new IllegalArgumentException("Unsupported index type: " + typeStr);
         }
@@ -421,6 +551,18 @@ public final class IndexUtils {
             res.addAttribute(attribute);
         }
 
+        String filter = getTextContent(attrs.getNamedItem("filter"), domLevel3);
+        if (!filter.isEmpty()) {
+            res.setFilter(filter);
+        }
+
+        Node includedAttributesNode = attrs.getNamedItem("included-attributes");
+        if (includedAttributesNode != null) {
+            for (Node attributeNode : childElements(includedAttributesNode)) {
+                res.addIncludedAttribute(attributeNode.getNodeValue());
+            }
+        }
+
         if (type == IndexType.BITMAP) {
             Node optionsNode = childElementWithName(indexNode, "bitmap-index-options", strict);
             if (optionsNode != null) {
@@ -438,6 +580,11 @@ public final class IndexUtils {
                 res.getBitmapIndexOptions().setUniqueKey(uniqueKey);
                 res.getBitmapIndexOptions().setUniqueKeyTransformation(uniqueKeyTransformation);
             }
+        } else if (type == IndexType.FULL_TEXT) {
+            Node optionsNode = childElementWithName(indexNode, "full-text-index-options", strict);
+            if (optionsNode != null) {
+                res.setFullTextIndexOptions(getFullTextIndexOptions(optionsNode, domLevel3, strict));
+            }
         } else if (type == IndexType.SORTED) {
             Node optionsNode = childElementWithName(indexNode, "btree-index", strict);
             if (optionsNode != null) {
@@ -464,6 +611,9 @@ public final class IndexUtils {
             case BITMAP:
                 return "bitmap";
 
+            case FULL_TEXT:
+                return "full_text";
+
             default:
                 throw new IllegalArgumentException("Unsupported index type: " + type);
         }
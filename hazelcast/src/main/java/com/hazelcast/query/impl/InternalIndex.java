@@ -18,8 +18,11 @@ package com.hazelcast.query.impl;
 
 import com.hazelcast.internal.monitor.impl.PerIndexStats;
 import com.hazelcast.map.impl.recordstore.CustomStepAwareStorage;
+import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.GlobalIndexPartitionTracker.PartitionStamp;
 
+import java.util.Iterator;
+
 /**
  * Provides the private index API.
  */
@@ -95,6 +98,49 @@ public interface InternalIndex extends Index {
      */
     PerIndexStats getPerIndexStats();
 
+    /**
+     * Returns the statistics of the values indexed by this index, used by the
+     * cost-based query optimizer to estimate the selectivity of predicates.
+     *
+     * @return the statistics or {@code null} if this index doesn't maintain them.
+     */
+    default IndexStatistics getStatistics() {
+        return null;
+    }
+
+    /**
+     * Returns the filter of this index, only the entries matching it
+     * are indexed, see {@link com.hazelcast.config.IndexConfig#setFilter(String)}.
+     *
+     * @return the filter or {@code null} if all entries are indexed.
+     */
+    default Predicate getFilter() {
+        return null;
+    }
+
+    /**
+     * Returns the canonical names of the attributes whose values are stored
+     * in this index along with its entries: the indexed attributes followed
+     * by the included ones, see {@link com.hazelcast.config.IndexConfig#setIncludedAttributes}.
+     * The entries of such an index are {@link CoveringQueryEntry} instances.
+     *
+     * @return the attribute names or {@code null} if the index has no included attributes.
+     */
+    default String[] getCoveredAttributes() {
+        return null;
+    }
+
+    /**
+     * Returns all the entries of this index. An entry is returned once
+     * per indexed value, so more than once if a collection attribute is
+     * indexed with the {@code [any]} modifier.
+     *
+     * @return the iterator of the entries.
+     */
+    default Iterator<QueryableEntry> getEntries() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Get a monotonically increasing stamp and the partition ID set currently
      * contained in the index. The received stamp is used later to verify that
@@ -72,7 +72,11 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
     private final IndexFunctor<Comparable, Data> removeFunctor;
 
     public OrderedIndexStore(IndexCopyBehavior copyOn) {
-        super(copyOn, true);
+        this(copyOn, false);
+    }
+
+    public OrderedIndexStore(IndexCopyBehavior copyOn, boolean statisticsEnabled) {
+        super(copyOn, true, statisticsEnabled);
         assert copyOn != null;
         if (copyOn == IndexCopyBehavior.COPY_ON_WRITE) {
             addFunctor = new CopyOnWriteAddFunctor();
@@ -463,11 +467,11 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     }
 
-    private static final class IteratorFromBatch implements Iterator<QueryableEntry> {
+    static final class IteratorFromBatch implements Iterator<QueryableEntry> {
         private final Iterator<IndexKeyEntries> iterator;
         private Iterator<QueryableEntry> indexKeyIterator;
 
-        private IteratorFromBatch(@Nonnull Iterator<IndexKeyEntries> iterator) {
+        IteratorFromBatch(@Nonnull Iterator<IndexKeyEntries> iterator) {
             this.iterator = iterator;
             this.indexKeyIterator = iterator.hasNext() ? iterator.next().getEntries() : null;
         }
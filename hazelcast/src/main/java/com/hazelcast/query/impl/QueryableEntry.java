@@ -102,6 +102,10 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
     }
 
     private Object extractAttributeValue(String attributeName) throws QueryException {
+        AttributeFunction function = AttributeFunction.of(attributeName);
+        if (function != null) {
+            return function.apply(extractAttributeValue(function.argument(attributeName)));
+        }
         Object result = extractAttributeValueIfAttributeQueryConstant(attributeName);
         if (result == null) {
             boolean isKey = startsWithKeyConstant(attributeName);
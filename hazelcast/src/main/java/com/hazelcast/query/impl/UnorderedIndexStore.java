@@ -45,7 +45,11 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
     private volatile Map<Data, QueryableEntry> recordsWithNullValue;
 
     public UnorderedIndexStore(IndexCopyBehavior copyOn) {
-        super(copyOn, true);
+        this(copyOn, false);
+    }
+
+    public UnorderedIndexStore(IndexCopyBehavior copyOn, boolean statisticsEnabled) {
+        super(copyOn, true, statisticsEnabled);
         if (copyOn == IndexCopyBehavior.COPY_ON_WRITE) {
             addFunctor = new CopyOnWriteAddFunctor();
             removeFunctor = new CopyOnWriteRemoveFunctor();
@@ -26,8 +26,10 @@ import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
 import com.hazelcast.query.impl.predicates.OrPredicate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -158,6 +160,12 @@ public final class Bitmap<E> {
 
     @SuppressWarnings("checkstyle:npathcomplexity")
     private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
+        if (isMaterializable(predicate)) {
+            // Combine the bit sets storage by storage instead of leapfrogging
+            // over the member iterators.
+            return predicateBitSet(predicate, converter).iterator();
+        }
+
         if (predicate instanceof AndPredicate andPredicate) {
             Predicate[] predicates = andPredicate.getPredicates();
             assert predicates.length > 0;
@@ -201,6 +209,97 @@ public final class Bitmap<E> {
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
+    /**
+     * @return {@code true} if the given predicate can be evaluated directly on
+     * bit sets: it consists of equality predicates combined by AND and OR
+     * predicates, the negated conjuncts of AND predicates are also supported.
+     */
+    private static boolean isMaterializable(Predicate predicate) {
+        if (predicate instanceof EqualPredicate || predicate instanceof InPredicate) {
+            return true;
+        }
+
+        if (predicate instanceof OrPredicate orPredicate) {
+            for (Predicate subPredicate : orPredicate.getPredicates()) {
+                if (!isMaterializable(subPredicate)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if (predicate instanceof AndPredicate andPredicate) {
+            boolean positive = false;
+            for (Predicate subPredicate : andPredicate.getPredicates()) {
+                if (isMaterializable(subPredicate)) {
+                    positive = true;
+                } else if (!isMaterializableNegation(subPredicate)) {
+                    return false;
+                }
+            }
+            return positive;
+        }
+
+        return false;
+    }
+
+    private static boolean isMaterializableNegation(Predicate predicate) {
+        return predicate instanceof NotEqualPredicate
+                || predicate instanceof NotPredicate notPredicate && isMaterializable(notPredicate.getPredicate());
+    }
+
+    /**
+     * Evaluates the given materializable predicate, see {@link
+     * #isMaterializable}, to a bit set which must not be modified.
+     */
+    private SparseBitSet predicateBitSet(Predicate predicate, TypeConverter converter) {
+        if (predicate instanceof EqualPredicate equalPredicate) {
+            return valueBitSet(equalPredicate.getFrom(), converter);
+        }
+
+        if (predicate instanceof InPredicate inPredicate) {
+            Comparable[] values = inPredicate.getValues();
+            SparseBitSet[] bitSets = new SparseBitSet[values.length];
+            for (int i = 0; i < values.length; ++i) {
+                bitSets[i] = valueBitSet(values[i], converter);
+            }
+            return BitmapAlgorithms.or(bitSets);
+        }
+
+        if (predicate instanceof OrPredicate orPredicate) {
+            Predicate[] predicates = orPredicate.getPredicates();
+            SparseBitSet[] bitSets = new SparseBitSet[predicates.length];
+            for (int i = 0; i < predicates.length; ++i) {
+                bitSets[i] = predicateBitSet(predicates[i], converter);
+            }
+            return BitmapAlgorithms.or(bitSets);
+        }
+
+        AndPredicate andPredicate = (AndPredicate) predicate;
+        List<SparseBitSet> positives = new ArrayList<>();
+        List<SparseBitSet> negatives = new ArrayList<>();
+        for (Predicate subPredicate : andPredicate.getPredicates()) {
+            if (subPredicate instanceof NotEqualPredicate notEqualPredicate) {
+                negatives.add(valueBitSet(notEqualPredicate.getValue(), converter));
+            } else if (subPredicate instanceof NotPredicate notPredicate) {
+                negatives.add(predicateBitSet(notPredicate.getPredicate(), converter));
+            } else {
+                positives.add(predicateBitSet(subPredicate, converter));
+            }
+        }
+
+        SparseBitSet result = BitmapAlgorithms.and(positives.toArray(new SparseBitSet[0]));
+        for (SparseBitSet negative : negatives) {
+            result = BitmapAlgorithms.andNot(result, negative);
+        }
+        return result;
+    }
+
+    private SparseBitSet valueBitSet(Comparable value, TypeConverter converter) {
+        SparseBitSet bitSet = bitSets.get(converter.convert(value));
+        return bitSet == null ? new SparseBitSet() : bitSet;
+    }
+
     private AscendingLongIterator[] predicateIterators(Predicate[] predicates, TypeConverter converter) {
         AscendingLongIterator[] iterators = new AscendingLongIterator[predicates.length];
         for (int i = 0; i < predicates.length; ++i) {
@@ -22,7 +22,7 @@ import java.util.Arrays;
 
 /**
  * Provides algorithms crucial for set operations on ordered iterators provided
- * by sparse bit sets.
+ * by sparse bit sets and on sparse bit sets themselves.
  */
 final class BitmapAlgorithms {
 
@@ -53,6 +53,55 @@ final class BitmapAlgorithms {
         return new NotIterator(iterator, universe);
     }
 
+    /**
+     * Intersects the given bit sets storage by storage. The given bit sets
+     * are not modified.
+     *
+     * @return a bit set that represents a result of intersection of the given
+     * bit sets, the result must not be modified since it might be one of the
+     * given bit sets.
+     */
+    public static SparseBitSet and(SparseBitSet[] bitSets) {
+        assert bitSets.length > 0;
+        SparseBitSet result = bitSets[0];
+        for (int i = 1; i < bitSets.length; ++i) {
+            result = SparseBitSet.and(result, bitSets[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Unites the given bit sets storage by storage. The given bit sets are not
+     * modified.
+     *
+     * @return a bit set that represents a result of union over the given bit
+     * sets, the result must not be modified since it might be one of the given
+     * bit sets.
+     */
+    public static SparseBitSet or(SparseBitSet[] bitSets) {
+        assert bitSets.length > 0;
+        if (bitSets.length == 1) {
+            return bitSets[0];
+        }
+
+        SparseBitSet result = new SparseBitSet();
+        for (SparseBitSet bitSet : bitSets) {
+            result.or(bitSet);
+        }
+        return result;
+    }
+
+    /**
+     * Subtracts the given bit sets storage by storage. The given bit sets are
+     * not modified.
+     *
+     * @return a new bit set that represents a result of subtraction of the
+     * given other bit set from the given bit set.
+     */
+    public static SparseBitSet andNot(SparseBitSet bitSet, SparseBitSet other) {
+        return SparseBitSet.andNot(bitSet, other);
+    }
+
     private static final class AndIterator implements AscendingLongIterator {
 
         // The idea: order iterators by their current index; if the index of the
@@ -21,6 +21,7 @@ import static com.hazelcast.query.impl.bitmap.BitmapUtils.capacityDeltaShort;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.toUnsignedInt;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.toUnsignedLong;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.unsignedBinarySearch;
+import static java.lang.Long.bitCount;
 import static java.lang.Long.numberOfTrailingZeros;
 import static java.lang.System.arraycopy;
 import static java.util.Arrays.copyOf;
@@ -42,17 +43,24 @@ import static java.util.Arrays.copyOf;
  * the low 16 bits.
  * </ul>
  * <p>
- * {@link Storage16 Storage16} also goes in two flavors:
+ * {@link Storage16 Storage16} goes in three flavors:
  * <ul>
  * <li>{@link ArrayStorage16 ArrayStorage16} which manages sorted short array of
  * 16-bit postfixes.
  * <li>{@link BitSetStorage16 BitSetStorage16} which manages directly indexable
  * long array of bits.
+ * <li>{@link RunStorage16 RunStorage16} which manages sorted arrays of starts
+ * and ends of runs of consecutive 16-bit postfixes.
  * </ul>
  * <p>
  * The implementation (which was inspired by Roaring Bitmap) switches between
  * various storage flavors once certain thresholds on storage size are reached.
  * <p>
+ * Intersections, unions and differences of bit sets are computed storage by
+ * storage, see {@link #and}, {@link #or} and {@link #andNot}: the members of
+ * bit set storages are combined a long at a time, the members of array
+ * storages are probed against the other storage.
+ * <p>
  * Empty storages are never stored by the implementation.
  */
 final class SparseBitSet {
@@ -71,6 +79,17 @@ final class SparseBitSet {
      */
     public static final int ARRAY_STORAGE_16_MAX_SIZE = 4096;
 
+    /**
+     * The number of runs at which RunStorage16 is converted to ArrayStorage16
+     * or BitSetStorage16. At this number of runs the memory cost of having
+     * sorted short arrays of run starts and ends is equal to the cost of having
+     * directly indexable long array of bits.
+     * <p>
+     * Other storages are converted to RunStorage16 only if they have at most
+     * half of this number of runs, so a storage doesn't flip back and forth.
+     */
+    public static final int RUN_STORAGE_16_MAX_RUNS = 2048;
+
     private static final long INT_PREFIX_MASK = 0xFFFFFFFF00000000L;
     private static final long INT_POSTFIX_MASK = 0x00000000FFFFFFFFL;
     private static final long SHORT_PREFIX_MASK = 0x00000000FFFF0000L;
@@ -164,6 +183,247 @@ final class SparseBitSet {
         return new IteratorImpl(storages);
     }
 
+    /**
+     * Adds all the members of the given bit set to this bit set. The given bit
+     * set is not modified.
+     *
+     * @param other the bit set to add the members of.
+     */
+    public void or(SparseBitSet other) {
+        lastPrefix = -1;
+        lastStorage = null;
+
+        SparseIntArray.Iterator<Storage32> iterator = new SparseIntArray.Iterator<>();
+        for (long prefix = other.storages.iterate(iterator); prefix != SparseIntArray.Iterator.END;
+             prefix = other.storages.advance((int) prefix, iterator)) {
+            Storage32 storage = storages.get((int) prefix);
+            Storage32 otherStorage = iterator.getValue();
+            storages.set((int) prefix, storage == null ? otherStorage.copy() : or(storage, otherStorage));
+        }
+    }
+
+    /**
+     * Computes an intersection of the given bit sets. The given bit sets are
+     * not modified.
+     *
+     * @param left  the first bit set to intersect.
+     * @param right the second bit set to intersect.
+     * @return a new bit set containing the members present in both the given
+     * bit sets.
+     */
+    public static SparseBitSet and(SparseBitSet left, SparseBitSet right) {
+        SparseBitSet result = new SparseBitSet();
+
+        SparseIntArray.Iterator<Storage32> iterator = new SparseIntArray.Iterator<>();
+        for (long prefix = left.storages.iterate(iterator); prefix != SparseIntArray.Iterator.END;
+             prefix = left.storages.advance((int) prefix, iterator)) {
+            Storage32 rightStorage = right.storages.get((int) prefix);
+            if (rightStorage != null) {
+                Storage32 storage = and(iterator.getValue(), rightStorage);
+                if (storage != null) {
+                    result.storages.set((int) prefix, storage);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes a difference of the given bit sets. The given bit sets are not
+     * modified.
+     *
+     * @param left  the bit set to subtract from.
+     * @param right the bit set to subtract.
+     * @return a new bit set containing the members present in the left bit set
+     * and absent in the right one.
+     */
+    public static SparseBitSet andNot(SparseBitSet left, SparseBitSet right) {
+        SparseBitSet result = new SparseBitSet();
+
+        SparseIntArray.Iterator<Storage32> iterator = new SparseIntArray.Iterator<>();
+        for (long prefix = left.storages.iterate(iterator); prefix != SparseIntArray.Iterator.END;
+             prefix = left.storages.advance((int) prefix, iterator)) {
+            Storage32 rightStorage = right.storages.get((int) prefix);
+            Storage32 storage = rightStorage == null ? iterator.getValue().copy() : andNot(iterator.getValue(), rightStorage);
+            if (storage != null) {
+                result.storages.set((int) prefix, storage);
+            }
+        }
+        return result;
+    }
+
+    private static Storage32 and(Storage32 left, Storage32 right) {
+        if (left instanceof ArrayStorage32 array) {
+            return array.retain(right, true);
+        }
+        if (right instanceof ArrayStorage32 array) {
+            return array.retain(left, true);
+        }
+        return PrefixStorage32.and((PrefixStorage32) left, (PrefixStorage32) right);
+    }
+
+    private static Storage32 andNot(Storage32 left, Storage32 right) {
+        if (left instanceof ArrayStorage32 array) {
+            return array.retain(right, false);
+        }
+        return PrefixStorage32.andNot((PrefixStorage32) left, right.toPrefixStorage());
+    }
+
+    /**
+     * Computes a union of the given storages, the left storage is owned by the
+     * caller and may be reused for the result.
+     */
+    private static Storage32 or(Storage32 left, Storage32 right) {
+        if (left instanceof ArrayStorage32 leftArray && right instanceof ArrayStorage32 rightArray
+                && leftArray.size + rightArray.size <= ARRAY_STORAGE_32_MAX_SIZE) {
+            return ArrayStorage32.or(leftArray, rightArray);
+        }
+        return PrefixStorage32.or(left.toPrefixStorage(), right.toPrefixStorage());
+    }
+
+    private static Storage16 and(Storage16 left, Storage16 right) {
+        if (left instanceof ArrayStorage16 array) {
+            return array.retain(right, true);
+        }
+        if (right instanceof ArrayStorage16 array) {
+            return array.retain(left, true);
+        }
+
+        long[] bits = toBits(left);
+        long[] rightBits = bitsOf(right);
+        for (int i = 0; i < bits.length; ++i) {
+            bits[i] &= rightBits[i];
+        }
+        return fromBits(bits);
+    }
+
+    private static Storage16 andNot(Storage16 left, Storage16 right) {
+        if (left instanceof ArrayStorage16 array) {
+            return array.retain(right, false);
+        }
+
+        long[] bits = toBits(left);
+        long[] rightBits = bitsOf(right);
+        for (int i = 0; i < bits.length; ++i) {
+            bits[i] &= ~rightBits[i];
+        }
+        return fromBits(bits);
+    }
+
+    /**
+     * Computes a union of the given storages, the left storage is owned by the
+     * caller and may be reused for the result.
+     */
+    private static Storage16 or(Storage16 left, Storage16 right) {
+        if (left instanceof ArrayStorage16 leftArray && right instanceof ArrayStorage16 rightArray
+                && leftArray.size + rightArray.size <= ARRAY_STORAGE_16_MAX_SIZE) {
+            return ArrayStorage16.or(leftArray, rightArray);
+        }
+
+        long[] bits = left instanceof BitSetStorage16 bitSet ? bitSet.members : toBits(left);
+        right.addTo(bits);
+        return fromBits(bits);
+    }
+
+    /**
+     * @return a new array of bits of the given storage members.
+     */
+    private static long[] toBits(Storage16 storage) {
+        long[] bits = new long[BitSetStorage16.SIZE];
+        storage.addTo(bits);
+        return bits;
+    }
+
+    /**
+     * @return an array of bits of the given storage members, which must not
+     * be modified since it might be backing the given storage.
+     */
+    private static long[] bitsOf(Storage16 storage) {
+        return storage instanceof BitSetStorage16 bitSet ? bitSet.members : toBits(storage);
+    }
+
+    /**
+     * Creates a storage of the most compact flavor for the given bits. The
+     * given array might be used by the created storage.
+     *
+     * @return the created storage or {@code null} if no bits are set.
+     */
+    private static Storage16 fromBits(long[] bits) {
+        int size = 0;
+        for (long value : bits) {
+            size += bitCount(value);
+        }
+        if (size == 0) {
+            return null;
+        }
+
+        int runCount = countRuns(bits);
+        if (preferRuns(runCount, size)) {
+            return new RunStorage16(bits, runCount, size);
+        } else if (size <= ARRAY_STORAGE_16_MAX_SIZE) {
+            return new ArrayStorage16(bits, size);
+        } else {
+            return new BitSetStorage16(bits, size);
+        }
+    }
+
+    /**
+     * @return the number of runs of consecutive set bits in the given bits.
+     */
+    private static int countRuns(long[] bits) {
+        int runCount = 0;
+        long carry = 0;
+        for (long value : bits) {
+            // a run starts at every set bit preceded by a clear bit
+            runCount += bitCount(value & ~(value << 1 | carry));
+            carry = value >>> (Long.SIZE - 1);
+        }
+        return runCount;
+    }
+
+    /**
+     * @return the number of runs of consecutive members in the given sorted
+     * members array.
+     */
+    private static int countRuns(short[] members, int size) {
+        int runCount = size == 0 ? 0 : 1;
+        for (int i = 1; i < size; ++i) {
+            if (toUnsignedInt(members[i]) != toUnsignedInt(members[i - 1]) + 1) {
+                ++runCount;
+            }
+        }
+        return runCount;
+    }
+
+    /**
+     * @return {@code true} if a storage having the given number of runs and
+     * members should be converted to RunStorage16, {@code false} otherwise.
+     */
+    private static boolean preferRuns(int runCount, int size) {
+        // a run costs as much as two array members, require a 2x saving
+        return runCount <= RUN_STORAGE_16_MAX_RUNS / 2 && runCount * 4 <= size;
+    }
+
+    /**
+     * Sets the given inclusive range of bits.
+     */
+    private static void setRange(long[] bits, int from, int to) {
+        int fromIndex = from >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+        int toIndex = to >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> (Long.SIZE - 1 - (to & (Long.SIZE - 1)));
+
+        if (fromIndex == toIndex) {
+            bits[fromIndex] |= fromMask & toMask;
+        } else {
+            bits[fromIndex] |= fromMask;
+            for (int i = fromIndex + 1; i < toIndex; ++i) {
+                bits[i] = -1L;
+            }
+            bits[toIndex] |= toMask;
+        }
+    }
+
     /**
      * Defines internal contract of storages responsible for storing of 32-bit
      * postfixes.
@@ -234,6 +494,24 @@ final class SparseBitSet {
          */
         boolean advanceAtLeastTo(int member, IteratorImpl iterator);
 
+        /**
+         * @param member the member to check.
+         * @return {@code true} if the given member is present in this storage,
+         * {@code false} otherwise.
+         */
+        boolean contains(int member);
+
+        /**
+         * @return a deep copy of this storage.
+         */
+        Storage32 copy();
+
+        /**
+         * @return this storage if it's a prefix storage; a new prefix storage
+         * having the same members as this storage otherwise.
+         */
+        PrefixStorage32 toPrefixStorage();
+
     }
 
     /**
@@ -252,6 +530,12 @@ final class SparseBitSet {
             members[0] = member;
         }
 
+        ArrayStorage32(int[] members, int size) {
+            assert size > 0 && size <= members.length;
+            this.size = size;
+            this.members = members;
+        }
+
         @Override
         public Storage32 add(int member) {
             int index = unsignedBinarySearch(members, size, toUnsignedLong(member));
@@ -376,6 +660,68 @@ final class SparseBitSet {
             return true;
         }
 
+        @Override
+        public boolean contains(int member) {
+            return unsignedBinarySearch(members, size, toUnsignedLong(member)) >= 0;
+        }
+
+        @Override
+        public Storage32 copy() {
+            return new ArrayStorage32(copyOf(members, size), size);
+        }
+
+        @Override
+        public PrefixStorage32 toPrefixStorage() {
+            return new PrefixStorage32(members, size);
+        }
+
+        /**
+         * @return a new storage containing the members of this storage which
+         * presence in the given storage matches the given flag or {@code null}
+         * if there are no such members.
+         */
+        Storage32 retain(Storage32 other, boolean present) {
+            int[] retained = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; ++i) {
+                int member = members[i];
+                if (other.contains(member) == present) {
+                    retained[count++] = member;
+                }
+            }
+            return count == 0 ? null : new ArrayStorage32(retained, count);
+        }
+
+        /**
+         * @return a new storage containing the members of the both given
+         * storages.
+         */
+        static ArrayStorage32 or(ArrayStorage32 left, ArrayStorage32 right) {
+            int[] members = new int[left.size + right.size];
+            int size = 0;
+            int leftIndex = 0;
+            int rightIndex = 0;
+            while (leftIndex < left.size && rightIndex < right.size) {
+                long leftMember = toUnsignedLong(left.members[leftIndex]);
+                long rightMember = toUnsignedLong(right.members[rightIndex]);
+                if (leftMember <= rightMember) {
+                    members[size++] = left.members[leftIndex++];
+                    if (leftMember == rightMember) {
+                        ++rightIndex;
+                    }
+                } else {
+                    members[size++] = right.members[rightIndex++];
+                }
+            }
+            while (leftIndex < left.size) {
+                members[size++] = left.members[leftIndex++];
+            }
+            while (rightIndex < right.size) {
+                members[size++] = right.members[rightIndex++];
+            }
+            return new ArrayStorage32(members, size);
+        }
+
     }
 
     /**
@@ -395,13 +741,33 @@ final class SparseBitSet {
         private int lastPrefix = -1;
         private Storage16 lastStorage;
 
+        /**
+         * Constructs a new empty prefix storage, the storage must be populated
+         * by the caller.
+         */
+        private PrefixStorage32() {
+            this.prefixes = new short[MIN_CAPACITY];
+            this.storages = new Storage16[MIN_CAPACITY];
+        }
+
+        /**
+         * Constructs a new prefix storage for the given sorted members array
+         * of the given size.
+         */
+        PrefixStorage32(int[] members, int size) {
+            this();
+
+            for (int i = 0; i < size; ++i) {
+                append(members[i]);
+            }
+        }
+
         /**
          * Constructs a new prefix storage for the given sorted members array
          * and the given member to insert at the given index.
          */
         PrefixStorage32(int[] members, int member, int index) {
-            this.prefixes = new short[MIN_CAPACITY];
-            this.storages = new Storage16[MIN_CAPACITY];
+            this();
 
             for (int i = 0; i < index; ++i) {
                 append(members[i]);
@@ -648,6 +1014,127 @@ final class SparseBitSet {
             return iterateAtLeastFrom(member, position, iterator);
         }
 
+        @Override
+        public boolean contains(int member) {
+            short prefix = (short) (member >>> Short.SIZE);
+            int index = unsignedBinarySearch(prefixes, size, toUnsignedInt(prefix));
+            return index >= 0 && storages[index].contains((short) member);
+        }
+
+        @Override
+        public Storage32 copy() {
+            PrefixStorage32 copy = new PrefixStorage32();
+            copy.size = size;
+            copy.prefixes = copyOf(prefixes, prefixes.length);
+            copy.storages = new Storage16[storages.length];
+            for (int i = 0; i < size; ++i) {
+                copy.storages[i] = storages[i].copy();
+            }
+            return copy;
+        }
+
+        @Override
+        public PrefixStorage32 toPrefixStorage() {
+            return this;
+        }
+
+        /**
+         * @return a new storage containing the members present in the both
+         * given storages or {@code null} if there are no such members.
+         */
+        static Storage32 and(PrefixStorage32 left, PrefixStorage32 right) {
+            PrefixStorage32 result = new PrefixStorage32();
+            int leftIndex = 0;
+            int rightIndex = 0;
+            while (leftIndex < left.size && rightIndex < right.size) {
+                int leftPrefix = toUnsignedInt(left.prefixes[leftIndex]);
+                int rightPrefix = toUnsignedInt(right.prefixes[rightIndex]);
+                if (leftPrefix < rightPrefix) {
+                    ++leftIndex;
+                } else if (leftPrefix > rightPrefix) {
+                    ++rightIndex;
+                } else {
+                    result.appendStorage(left.prefixes[leftIndex],
+                            SparseBitSet.and(left.storages[leftIndex], right.storages[rightIndex]));
+                    ++leftIndex;
+                    ++rightIndex;
+                }
+            }
+            return result.size == 0 ? null : result;
+        }
+
+        /**
+         * @return a new storage containing the members present in the left
+         * storage and absent in the right one or {@code null} if there are no
+         * such members.
+         */
+        static Storage32 andNot(PrefixStorage32 left, PrefixStorage32 right) {
+            PrefixStorage32 result = new PrefixStorage32();
+            int rightIndex = 0;
+            for (int leftIndex = 0; leftIndex < left.size; ++leftIndex) {
+                int leftPrefix = toUnsignedInt(left.prefixes[leftIndex]);
+                while (rightIndex < right.size && toUnsignedInt(right.prefixes[rightIndex]) < leftPrefix) {
+                    ++rightIndex;
+                }
+
+                Storage16 storage = left.storages[leftIndex];
+                if (rightIndex < right.size && toUnsignedInt(right.prefixes[rightIndex]) == leftPrefix) {
+                    result.appendStorage(left.prefixes[leftIndex], SparseBitSet.andNot(storage, right.storages[rightIndex]));
+                } else {
+                    result.appendStorage(left.prefixes[leftIndex], storage.copy());
+                }
+            }
+            return result.size == 0 ? null : result;
+        }
+
+        /**
+         * @return a new storage containing the members of the both given
+         * storages. The postfix storages of the left storage are reused.
+         */
+        static PrefixStorage32 or(PrefixStorage32 left, PrefixStorage32 right) {
+            PrefixStorage32 result = new PrefixStorage32();
+            int leftIndex = 0;
+            int rightIndex = 0;
+            while (leftIndex < left.size || rightIndex < right.size) {
+                int leftPrefix = leftIndex < left.size ? toUnsignedInt(left.prefixes[leftIndex]) : Integer.MAX_VALUE;
+                int rightPrefix = rightIndex < right.size ? toUnsignedInt(right.prefixes[rightIndex]) : Integer.MAX_VALUE;
+                if (leftPrefix < rightPrefix) {
+                    result.appendStorage(left.prefixes[leftIndex], left.storages[leftIndex]);
+                    ++leftIndex;
+                } else if (leftPrefix > rightPrefix) {
+                    result.appendStorage(right.prefixes[rightIndex], right.storages[rightIndex].copy());
+                    ++rightIndex;
+                } else {
+                    result.appendStorage(left.prefixes[leftIndex],
+                            SparseBitSet.or(left.storages[leftIndex], right.storages[rightIndex]));
+                    ++leftIndex;
+                    ++rightIndex;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Appends the given postfix storage for the given prefix, the prefix
+         * must be greater than any prefix already known by this storage.
+         * {@code null} storages are ignored.
+         */
+        private void appendStorage(short prefix, Storage16 storage) {
+            if (storage == null) {
+                return;
+            }
+
+            if (size == prefixes.length) {
+                int newCapacity = Math.min(MAX_CAPACITY, size + capacityDeltaShort(prefixes.length));
+                prefixes = copyOf(prefixes, newCapacity);
+                storages = copyOf(storages, newCapacity);
+            }
+
+            prefixes[size] = prefix;
+            storages[size] = storage;
+            ++size;
+        }
+
         private void append(int member) {
             short prefix = (short) (member >>> Short.SIZE);
 
@@ -672,11 +1159,11 @@ final class SparseBitSet {
             int position = unsignedBinarySearch(prefixes, fromPosition, size, toUnsignedInt(prefix));
 
             if (position < 0) {
+                // No postfix storage corresponds to the requested member: all
+                // members of the next prefix storage are greater than it.
+
                 position = -(position + 1);
-                if (position == size) {
-                    // no such member
-                    return false;
-                }
+                return iterate(position, iterator);
             }
 
             Storage16 storage = storages[position];
@@ -688,22 +1175,27 @@ final class SparseBitSet {
                 iterator.index =
                         iterator.index & INT_PREFIX_SHORT_POSTFIX_MASK | toUnsignedLong(prefixes[position]) << Short.SIZE;
                 iterator.position32 = position + 1;
+                return true;
             } else {
                 // The postfix storage corresponding to the requested member
                 // doesn't contain the requested member or any members greater
                 // than it: try to iterate from the next prefix storage.
 
-                ++position;
-                if (position == size) {
-                    return false;
-                }
+                return iterate(position + 1, iterator);
+            }
+        }
 
-                storage = storages[position];
-                iterator.storage16 = storage;
-                iterator.index = iterator.index & INT_PREFIX_MASK | toUnsignedLong(prefixes[position]) << Short.SIZE;
-                iterator.position32 = position + 1;
-                storage.iterate(iterator);
+        private boolean iterate(int position, IteratorImpl iterator) {
+            if (position == size) {
+                // no such member
+                return false;
             }
+
+            Storage16 storage = storages[position];
+            iterator.storage16 = storage;
+            iterator.index = iterator.index & INT_PREFIX_MASK | toUnsignedLong(prefixes[position]) << Short.SIZE;
+            iterator.position32 = position + 1;
+            storage.iterate(iterator);
             return true;
         }
 
@@ -780,6 +1272,32 @@ final class SparseBitSet {
          */
         boolean advanceAtLeastTo(short member, IteratorImpl iterator);
 
+        /**
+         * @param member the member to check.
+         * @return {@code true} if the given member is present in this storage,
+         * {@code false} otherwise.
+         */
+        boolean contains(short member);
+
+        /**
+         * @return the number of members in this storage.
+         */
+        int size();
+
+        /**
+         * @return a deep copy of this storage.
+         */
+        Storage16 copy();
+
+        /**
+         * Sets the bits corresponding to the members of this storage in the
+         * given directly indexable long array of bits.
+         *
+         * @param bits the bits to set, must be {@link BitSetStorage16#SIZE}
+         *             longs long.
+         */
+        void addTo(long[] bits);
+
     }
 
     /**
@@ -798,15 +1316,21 @@ final class SparseBitSet {
             members[0] = member;
         }
 
+        ArrayStorage16(short[] members, int size) {
+            assert size > 0 && size <= members.length && members.length <= ARRAY_STORAGE_16_MAX_SIZE;
+            this.size = size;
+            this.members = members;
+        }
+
         /**
-         * Constructs a new storage by downgrading from the given {@link
-         * BitSetStorage16} data.
+         * Constructs a new storage from the given directly indexable long array
+         * of bits having the given number of bits set.
          */
         ArrayStorage16(long[] bits, int size) {
-            assert size == BitSetStorage16.MIN_SIZE;
+            assert size > 0 && size <= ARRAY_STORAGE_16_MAX_SIZE;
             this.size = size;
 
-            short[] members = new short[ARRAY_STORAGE_16_MAX_SIZE];
+            short[] members = new short[Math.max(MIN_CAPACITY, size)];
             int index = 0;
             for (int i = 0; i < bits.length; ++i) {
                 long value = bits[i];
@@ -836,7 +1360,7 @@ final class SparseBitSet {
                 // No space left: try to grow members array.
 
                 if (size == ARRAY_STORAGE_16_MAX_SIZE) {
-                    return new BitSetStorage16(members, member, index);
+                    return upgrade(member, index);
                 }
 
                 int newCapacity = Math.min(ARRAY_STORAGE_16_MAX_SIZE, size + capacityDeltaShort(members.length));
@@ -946,6 +1470,29 @@ final class SparseBitSet {
             return true;
         }
 
+        @Override
+        public boolean contains(short member) {
+            return unsignedBinarySearch(members, size, toUnsignedInt(member)) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Storage16 copy() {
+            return new ArrayStorage16(copyOf(members, Math.max(MIN_CAPACITY, size)), size);
+        }
+
+        @Override
+        public void addTo(long[] bits) {
+            for (int i = 0; i < size; ++i) {
+                int bitIndex = toUnsignedInt(members[i]);
+                bits[bitIndex >>> BitSetStorage16.BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
+            }
+        }
+
         /**
          * Appends the given member to this storage. The given member must be
          * greater than any member already known by this storage.
@@ -960,6 +1507,71 @@ final class SparseBitSet {
             ++size;
         }
 
+        /**
+         * @return a new storage containing the members of this storage which
+         * presence in the given storage matches the given flag or {@code null}
+         * if there are no such members.
+         */
+        Storage16 retain(Storage16 other, boolean present) {
+            short[] retained = new short[Math.max(MIN_CAPACITY, size)];
+            int count = 0;
+            for (int i = 0; i < size; ++i) {
+                short member = members[i];
+                if (other.contains(member) == present) {
+                    retained[count++] = member;
+                }
+            }
+            return count == 0 ? null : new ArrayStorage16(retained, count);
+        }
+
+        /**
+         * @return a new storage containing the members of the both given
+         * storages.
+         */
+        static ArrayStorage16 or(ArrayStorage16 left, ArrayStorage16 right) {
+            short[] members = new short[left.size + right.size];
+            int size = 0;
+            int leftIndex = 0;
+            int rightIndex = 0;
+            while (leftIndex < left.size && rightIndex < right.size) {
+                int leftMember = toUnsignedInt(left.members[leftIndex]);
+                int rightMember = toUnsignedInt(right.members[rightIndex]);
+                if (leftMember <= rightMember) {
+                    members[size++] = left.members[leftIndex++];
+                    if (leftMember == rightMember) {
+                        ++rightIndex;
+                    }
+                } else {
+                    members[size++] = right.members[rightIndex++];
+                }
+            }
+            while (leftIndex < left.size) {
+                members[size++] = left.members[leftIndex++];
+            }
+            while (rightIndex < right.size) {
+                members[size++] = right.members[rightIndex++];
+            }
+            return new ArrayStorage16(members, size);
+        }
+
+        /**
+         * Converts this full storage into RunStorage16 or BitSetStorage16
+         * while inserting the given member at the given index.
+         */
+        private Storage16 upgrade(short member, int index) {
+            short[] newMembers = new short[size + 1];
+            arraycopy(members, 0, newMembers, 0, index);
+            newMembers[index] = member;
+            arraycopy(members, index, newMembers, index + 1, size - index);
+
+            int runCount = countRuns(newMembers, newMembers.length);
+            if (preferRuns(runCount, newMembers.length)) {
+                return new RunStorage16(newMembers, newMembers.length, runCount);
+            } else {
+                return new BitSetStorage16(members, member, index);
+            }
+        }
+
     }
 
     /**
@@ -973,10 +1585,13 @@ final class SparseBitSet {
         private static final int MIN_SIZE = ARRAY_STORAGE_16_MAX_SIZE - 1;
         private static final int SIZE = 1024;
 
+        // check for runs each time the size reaches a multiple of 4096
+        private static final int RUN_CHECK_MASK = ARRAY_STORAGE_16_MAX_SIZE - 1;
+
         // masks lower 6 bits
         private static final long POSTFIX_MASK = 0xFFFFFFFFFFFFFFC0L;
 
-        private final long[] members = new long[SIZE];
+        private final long[] members;
         private int size;
 
         /**
@@ -984,6 +1599,7 @@ final class SparseBitSet {
          * and the given member to insert at the given index.
          */
         BitSetStorage16(short[] members, short member, int index) {
+            this.members = new long[SIZE];
             for (int i = 0; i < index; ++i) {
                 append(members[i]);
             }
@@ -994,6 +1610,16 @@ final class SparseBitSet {
             this.size = members.length + 1;
         }
 
+        /**
+         * Constructs a new bit set storage backed by the given directly
+         * indexable long array of bits having the given number of bits set.
+         */
+        BitSetStorage16(long[] bits, int size) {
+            assert bits.length == SIZE && size > 0;
+            this.members = bits;
+            this.size = size;
+        }
+
         @Override
         public Storage16 add(short member) {
             int bitIndex = toUnsignedInt(member);
@@ -1005,6 +1631,15 @@ final class SparseBitSet {
 
             if (newBitSet != bitSet) {
                 ++size;
+                if ((size & RUN_CHECK_MASK) == 0) {
+                    // Periodically check whether dense members are clustered
+                    // enough to be stored as runs.
+
+                    int runCount = countRuns(members);
+                    if (preferRuns(runCount, size)) {
+                        return new RunStorage16(members, runCount, size);
+                    }
+                }
             }
             return this;
         }
@@ -1095,6 +1730,29 @@ final class SparseBitSet {
             return advance(iterator);
         }
 
+        @Override
+        public boolean contains(short member) {
+            int bitIndex = toUnsignedInt(member);
+            return (members[bitIndex >>> BIT_SET_LONG_SHIFT] & 1L << bitIndex) != 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Storage16 copy() {
+            return new BitSetStorage16(members.clone(), size);
+        }
+
+        @Override
+        public void addTo(long[] bits) {
+            for (int i = 0; i < SIZE; ++i) {
+                bits[i] |= members[i];
+            }
+        }
+
         private void append(short member) {
             int bitIndex = toUnsignedInt(member);
             members[bitIndex >>> BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
@@ -1102,6 +1760,282 @@ final class SparseBitSet {
 
     }
 
+    /**
+     * Manages sorted short arrays of starts and ends (inclusive) of runs of
+     * consecutive set bits.
+     */
+    private static final class RunStorage16 implements Storage16 {
+
+        private static final int MIN_CAPACITY = 2;
+
+        private int size;
+        private int runCount;
+        private short[] starts;
+        private short[] ends;
+
+        /**
+         * Constructs a new run storage for the given sorted members array of
+         * the given size having the given number of runs.
+         */
+        RunStorage16(short[] members, int size, int runCount) {
+            this.size = size;
+            this.starts = new short[Math.max(MIN_CAPACITY, runCount)];
+            this.ends = new short[Math.max(MIN_CAPACITY, runCount)];
+
+            int count = 0;
+            for (int i = 0; i < size; ++i) {
+                short member = members[i];
+                if (count != 0 && toUnsignedInt(member) == toUnsignedInt(ends[count - 1]) + 1) {
+                    ends[count - 1] = member;
+                } else {
+                    starts[count] = member;
+                    ends[count] = member;
+                    ++count;
+                }
+            }
+            assert count == runCount;
+            this.runCount = runCount;
+        }
+
+        /**
+         * Constructs a new run storage for the given directly indexable long
+         * array of bits having the given number of runs and bits set.
+         */
+        RunStorage16(long[] bits, int runCount, int size) {
+            this.size = size;
+            this.runCount = runCount;
+            this.starts = new short[Math.max(MIN_CAPACITY, runCount)];
+            this.ends = new short[Math.max(MIN_CAPACITY, runCount)];
+
+            // a run starts at every set bit preceded by a clear bit and ends at
+            // every set bit followed by a clear bit
+            long carry = 0;
+            int startCount = 0;
+            int endCount = 0;
+            for (int i = 0; i < bits.length; ++i) {
+                long value = bits[i];
+                long next = i + 1 < bits.length ? bits[i + 1] << (Long.SIZE - 1) : 0;
+                startCount = collect(value & ~(value << 1 | carry), i, starts, startCount);
+                endCount = collect(value & ~(value >>> 1 | next), i, ends, endCount);
+                carry = value >>> (Long.SIZE - 1);
+            }
+            assert startCount == runCount && endCount == runCount;
+        }
+
+        private RunStorage16(RunStorage16 other) {
+            this.size = other.size;
+            this.runCount = other.runCount;
+            this.starts = other.starts.clone();
+            this.ends = other.ends.clone();
+        }
+
+        @Override
+        public Storage16 add(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int index = unsignedBinarySearch(starts, runCount, unsignedMember);
+            if (index >= 0) {
+                // starts a run
+                return this;
+            }
+            index = -(index + 1);
+
+            int previous = index - 1;
+            boolean extendsPrevious = false;
+            if (previous >= 0) {
+                int previousEnd = toUnsignedInt(ends[previous]);
+                if (unsignedMember <= previousEnd) {
+                    // within the previous run
+                    return this;
+                }
+                extendsPrevious = unsignedMember == previousEnd + 1;
+            }
+            boolean extendsNext = index < runCount && unsignedMember + 1 == toUnsignedInt(starts[index]);
+            ++size;
+
+            if (extendsPrevious && extendsNext) {
+                // fills the gap between the runs: merge them
+                ends[previous] = ends[index];
+                removeRun(index);
+            } else if (extendsPrevious) {
+                ends[previous] = member;
+            } else if (extendsNext) {
+                starts[index] = member;
+            } else {
+                insertRun(index, member, member);
+                if (runCount > RUN_STORAGE_16_MAX_RUNS) {
+                    return toDenseStorage();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public Storage16 remove(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int index = unsignedBinarySearch(starts, runCount, unsignedMember);
+            if (index < 0) {
+                index = -(index + 1) - 1;
+                if (index < 0 || unsignedMember > toUnsignedInt(ends[index])) {
+                    // not a member
+                    return this;
+                }
+            }
+
+            --size;
+            if (size == 0) {
+                // emptied
+                return null;
+            }
+
+            int start = toUnsignedInt(starts[index]);
+            int end = toUnsignedInt(ends[index]);
+            if (start == end) {
+                removeRun(index);
+            } else if (unsignedMember == start) {
+                starts[index] = (short) (unsignedMember + 1);
+            } else if (unsignedMember == end) {
+                ends[index] = (short) (unsignedMember - 1);
+            } else {
+                // split the run
+                insertRun(index + 1, (short) (unsignedMember + 1), ends[index]);
+                ends[index] = (short) (unsignedMember - 1);
+            }
+
+            if (runCount > RUN_STORAGE_16_MAX_RUNS || size < runCount * 2) {
+                // runs became more expensive than the other flavors
+                return toDenseStorage();
+            }
+            return this;
+        }
+
+        @Override
+        public void iterate(IteratorImpl iterator) {
+            assert runCount > 0;
+            iterator.position16 = 0;
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | toUnsignedInt(starts[0]);
+        }
+
+        @Override
+        public boolean advance(IteratorImpl iterator) {
+            long current = iterator.index;
+            int position = iterator.position16;
+            if ((current & SHORT_POSTFIX_MASK) < toUnsignedInt(ends[position])) {
+                // still within the current run
+                iterator.index = current + 1;
+                return true;
+            }
+
+            ++position;
+            if (position == runCount) {
+                return false;
+            }
+            iterator.index = current & INT_PREFIX_SHORT_PREFIX_MASK | toUnsignedInt(starts[position]);
+            iterator.position16 = position;
+            return true;
+        }
+
+        @Override
+        public boolean iterateAtLeastFrom(short member, IteratorImpl iterator) {
+            return iterateAtLeastFrom(toUnsignedInt(member), 0, iterator);
+        }
+
+        @Override
+        public boolean advanceAtLeastTo(short member, IteratorImpl iterator) {
+            int unsignedMember = toUnsignedInt(member);
+            assert (iterator.index & SHORT_POSTFIX_MASK) < unsignedMember;
+            return iterateAtLeastFrom(unsignedMember, iterator.position16, iterator);
+        }
+
+        @Override
+        public boolean contains(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int index = unsignedBinarySearch(starts, runCount, unsignedMember);
+            if (index >= 0) {
+                return true;
+            }
+            index = -(index + 1) - 1;
+            return index >= 0 && unsignedMember <= toUnsignedInt(ends[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Storage16 copy() {
+            return new RunStorage16(this);
+        }
+
+        @Override
+        public void addTo(long[] bits) {
+            for (int i = 0; i < runCount; ++i) {
+                setRange(bits, toUnsignedInt(starts[i]), toUnsignedInt(ends[i]));
+            }
+        }
+
+        private boolean iterateAtLeastFrom(int unsignedMember, int fromPosition, IteratorImpl iterator) {
+            int position = unsignedBinarySearch(starts, fromPosition, runCount, unsignedMember);
+
+            if (position < 0) {
+                position = -(position + 1);
+                if (position > fromPosition && unsignedMember <= toUnsignedInt(ends[position - 1])) {
+                    // within the preceding run
+                    --position;
+                } else if (position == runCount) {
+                    return false;
+                } else {
+                    unsignedMember = toUnsignedInt(starts[position]);
+                }
+            }
+
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | unsignedMember;
+            iterator.position16 = position;
+            return true;
+        }
+
+        /**
+         * Collects the indexes of the bits set in the given long at the given
+         * long index into the given array starting from the given position.
+         *
+         * @return the position following the last collected index.
+         */
+        private static int collect(long value, int longIndex, short[] array, int position) {
+            int base = longIndex << BitSetStorage16.BIT_SET_LONG_SHIFT;
+            while (value != 0) {
+                array[position++] = (short) (base | numberOfTrailingZeros(value));
+                // zero out the consumed bit
+                value &= value - 1;
+            }
+            return position;
+        }
+
+        private void insertRun(int index, short start, short end) {
+            if (runCount == starts.length) {
+                int newCapacity = runCount + capacityDeltaShort(starts.length);
+                starts = copyOf(starts, newCapacity);
+                ends = copyOf(ends, newCapacity);
+            }
+            arraycopy(starts, index, starts, index + 1, runCount - index);
+            arraycopy(ends, index, ends, index + 1, runCount - index);
+            starts[index] = start;
+            ends[index] = end;
+            ++runCount;
+        }
+
+        private void removeRun(int index) {
+            --runCount;
+            arraycopy(starts, index + 1, starts, index, runCount - index);
+            arraycopy(ends, index + 1, ends, index, runCount - index);
+        }
+
+        private Storage16 toDenseStorage() {
+            long[] bits = toBits(this);
+            return size <= ARRAY_STORAGE_16_MAX_SIZE ? new ArrayStorage16(bits, size) : new BitSetStorage16(bits, size);
+        }
+
+    }
+
     /**
      * Iterates over sparse bit sets.
      */
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.fulltext;
+
+import com.hazelcast.internal.util.collection.Object2LongHashMap;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Maps the terms of indexed text to the documents containing them.
+ * <p>
+ * Every document is identified by a unique key and gets an {@code int} id,
+ * the ids of removed documents are reused. Every term, as produced by the
+ * {@link Tokenizer}, has a {@link PostingList} of the ids of the documents
+ * containing it. Documents without terms are tracked too, so the index may
+ * enumerate all its documents.
+ * <p>
+ * Lookups return sorted id arrays of the candidate documents: every matching
+ * document is among the candidates, but the candidates have to be verified
+ * against the original query. Not thread-safe.
+ *
+ * @param <E> the type of documents being indexed.
+ */
+public final class InvertedIndex<E> {
+
+    private static final long NO_ID = -1;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final float LOAD_FACTOR = 0.75F;
+    private static final int[] NO_IDS = new int[0];
+    private static final String[] NO_TERMS = new String[0];
+
+    private final Tokenizer tokenizer;
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Object2LongHashMap<Object> documentIds = new Object2LongHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, NO_ID);
+
+    private Object[] documents = new Object[INITIAL_CAPACITY];
+    // the terms of every document, to remove it from their posting lists
+    private String[][] documentTerms = new String[INITIAL_CAPACITY][];
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int nextId;
+
+    public InvertedIndex(Tokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    public Tokenizer getTokenizer() {
+        return tokenizer;
+    }
+
+    /**
+     * Inserts the given document or replaces the one with the same key.
+     *
+     * @param key      the unique key of the document.
+     * @param document the document.
+     * @param texts    the texts of the document to index.
+     */
+    public void put(Object key, E document, List<String> texts) {
+        long existingId = documentIds.getValue(key);
+        int id;
+        if (existingId == NO_ID) {
+            id = freeCount > 0 ? freeIds[--freeCount] : nextId();
+            documentIds.put(key, id);
+        } else {
+            id = (int) existingId;
+            removePostings(id);
+        }
+
+        String[] terms = terms(texts);
+        for (String term : terms) {
+            postings.computeIfAbsent(term, PostingList::new).add(id);
+        }
+        documents[id] = document;
+        documentTerms[id] = terms;
+    }
+
+    /**
+     * Removes the document with the given key.
+     *
+     * @return {@code true} if the document was removed, {@code false} if
+     * there is no document with the given key.
+     */
+    public boolean remove(Object key) {
+        long id = documentIds.removeKey(key);
+        if (id == NO_ID) {
+            return false;
+        }
+        removePostings((int) id);
+        documents[(int) id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount << 1);
+        }
+        freeIds[freeCount++] = (int) id;
+        return true;
+    }
+
+    /**
+     * Removes all the documents.
+     */
+    public void clear() {
+        postings.clear();
+        documentIds.clear();
+        documents = new Object[INITIAL_CAPACITY];
+        documentTerms = new String[INITIAL_CAPACITY][];
+        freeIds = new int[INITIAL_CAPACITY];
+        freeCount = 0;
+        nextId = 0;
+    }
+
+    /**
+     * @return the number of documents.
+     */
+    public int size() {
+        return documentIds.size();
+    }
+
+    /**
+     * @return the number of distinct terms.
+     */
+    public int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * @return the document with the given id.
+     */
+    @SuppressWarnings("unchecked")
+    public E getDocument(int id) {
+        return (E) documents[id];
+    }
+
+    /**
+     * @return the sorted ids of all the documents.
+     */
+    public int[] all() {
+        int[] result = new int[size()];
+        int count = 0;
+        for (int id = 0; id < nextId; ++id) {
+            if (documents[id] != null) {
+                result[count++] = id;
+            }
+        }
+        assert count == result.length;
+        return result;
+    }
+
+    /**
+     * Returns the candidate documents containing all the words of the given
+     * text.
+     *
+     * @param text the text to split into words.
+     * @return the sorted ids of the candidate documents, empty if the text
+     * has no words.
+     */
+    public int[] matchWords(String text) {
+        String[] words = Tokenizer.words(text);
+        if (words.length == 0) {
+            return NO_IDS;
+        }
+
+        int[] result = null;
+        for (String word : words) {
+            result = tokenizer.isNGram() ? intersect(result, matchSubstring(word)) : lookup(result, word);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the candidate documents containing the given text as a
+     * substring, ignoring the case.
+     *
+     * @param text the text to look up.
+     * @return the sorted ids of the candidate documents, or {@code null} if
+     * the text has no terms and so every document is a candidate.
+     */
+    public int[] matchSubstring(String text) {
+        String folded = Tokenizer.fold(text);
+        return tokenizer.isNGram() ? matchNGrams(folded) : matchWordFragments(folded);
+    }
+
+    private int[] matchNGrams(String folded) {
+        int length = tokenizer.getNGramLength();
+        if (folded.isEmpty()) {
+            return null;
+        }
+        if (folded.length() < length) {
+            // the text is inside the n-grams or the shorter terms of the texts shorter than them
+            return scan(term -> term.contains(folded));
+        }
+
+        int[] result = null;
+        for (int i = 0; i + length <= folded.length(); ++i) {
+            result = lookup(result, folded.substring(i, i + length));
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private int[] matchWordFragments(String folded) {
+        // Every word of the text is a word of the document, except the
+        // words at the edges of the text: they may be the tails and heads
+        // of longer words.
+        int[] result = null;
+        int length = folded.length();
+        int position = 0;
+        while (position < length) {
+            int start = Tokenizer.skip(folded, position, false);
+            int end = Tokenizer.skip(folded, start, true);
+            if (start == end) {
+                break;
+            }
+            String word = folded.substring(start, end);
+            boolean head = start == 0;
+            boolean tail = end == length;
+
+            if (head && tail) {
+                result = intersect(result, scan(term -> term.contains(word)));
+            } else if (head) {
+                result = intersect(result, scan(term -> term.endsWith(word)));
+            } else if (tail) {
+                result = intersect(result, scan(term -> term.startsWith(word)));
+            } else {
+                result = lookup(result, word);
+            }
+            if (result.length == 0) {
+                break;
+            }
+            position = end;
+        }
+        return result;
+    }
+
+    /**
+     * Intersects the given ids with the ids of the documents containing the
+     * given term.
+     *
+     * @param ids  the sorted ids to intersect, {@code null} to take the
+     *             documents containing the term.
+     * @param term the term to look up.
+     * @return the sorted ids present in both.
+     */
+    private int[] lookup(int[] ids, String term) {
+        PostingList postingList = postings.get(term);
+        if (postingList == null) {
+            return NO_IDS;
+        }
+        return ids == null ? postingList.toArray() : postingList.intersect(ids);
+    }
+
+    private int[] scan(Predicate<String> filter) {
+        BitSet result = null;
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                if (result == null) {
+                    result = new BitSet(nextId);
+                }
+                entry.getValue().forEach(result::set);
+            }
+        }
+        return result == null ? NO_IDS : result.stream().toArray();
+    }
+
+    private String[] terms(List<String> texts) {
+        if (texts.isEmpty()) {
+            return NO_TERMS;
+        }
+        if (texts.size() == 1) {
+            return canonicalize(tokenizer.tokenize(texts.get(0)));
+        }
+
+        Set<String> terms = new LinkedHashSet<>();
+        for (String text : texts) {
+            terms.addAll(Arrays.asList(tokenizer.tokenize(text)));
+        }
+        return canonicalize(terms.toArray(NO_TERMS));
+    }
+
+    /**
+     * Replaces the given terms with the equal terms already in the
+     * dictionary, so every distinct term is stored once.
+     */
+    private String[] canonicalize(String[] terms) {
+        for (int i = 0; i < terms.length; ++i) {
+            PostingList postingList = postings.get(terms[i]);
+            if (postingList != null) {
+                terms[i] = postingList.getTerm();
+            }
+        }
+        return terms;
+    }
+
+    private void removePostings(int id) {
+        for (String term : documentTerms[id]) {
+            PostingList postingList = postings.get(term);
+            if (postingList != null && postingList.remove(id) && postingList.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        documentTerms[id] = null;
+    }
+
+    private int nextId() {
+        if (nextId == documents.length) {
+            int newCapacity = documents.length + (documents.length >> 1);
+            documents = Arrays.copyOf(documents, newCapacity);
+            documentTerms = Arrays.copyOf(documentTerms, newCapacity);
+        }
+        return nextId++;
+    }
+
+    /**
+     * Intersects the given sorted id arrays.
+     *
+     * @param left  the ids to intersect, {@code null} to take the right ones.
+     * @param right the ids to intersect.
+     * @return the ids present in both.
+     */
+    public static int[] intersect(int[] left, int[] right) {
+        if (left == null) {
+            return right;
+        }
+        int[] result = new int[Math.min(left.length, right.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                ++i;
+            } else if (left[i] > right[j]) {
+                ++j;
+            } else {
+                result[count++] = left[i];
+                ++i;
+                ++j;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+}
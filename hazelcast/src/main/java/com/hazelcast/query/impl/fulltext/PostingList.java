@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.fulltext;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The sorted ids of the documents containing a term of an {@link
+ * InvertedIndex}, stored in a primitive {@code int} array.
+ * <p>
+ * Document ids are mostly assigned in ascending order, so additions usually
+ * append to the array. Not thread-safe.
+ */
+public final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final String term;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public PostingList(String term) {
+        this.term = term;
+    }
+
+    /**
+     * @return the term of this posting list.
+     */
+    public String getTerm() {
+        return term;
+    }
+
+    /**
+     * Adds the given document id.
+     *
+     * @return {@code true} if the id was added, {@code false} if it was
+     * already present.
+     */
+    public boolean add(int id) {
+        int index = size == 0 || ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        ++size;
+        return true;
+    }
+
+    /**
+     * Removes the given document id.
+     *
+     * @return {@code true} if the id was removed, {@code false} if it was
+     * not present.
+     */
+    public boolean remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        --size;
+        if (size > INITIAL_CAPACITY && size < ids.length >> 2) {
+            ids = Arrays.copyOf(ids, size << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return a copy of the sorted document ids.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Intersects the given sorted id array with the ids of this posting list.
+     *
+     * @param sorted the sorted ids to intersect with.
+     * @return the sorted ids present in both.
+     */
+    public int[] intersect(int[] sorted) {
+        int[] result = new int[Math.min(sorted.length, size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sorted.length && j < size) {
+            int left = sorted[i];
+            int right = ids[j];
+            if (left < right) {
+                ++i;
+            } else if (left > right) {
+                ++j;
+            } else {
+                result[count++] = left;
+                ++i;
+                ++j;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Calls the given consumer for every document id, in ascending order.
+     */
+    void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; ++i) {
+            consumer.accept(ids[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PostingList{term=" + term + ", size=" + size + '}';
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.fulltext;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Splits text into the terms of an {@link InvertedIndex}.
+ * <p>
+ * Text is case-folded first, see {@link #fold(String)}. In word mode the terms
+ * are the words of the text: the maximal runs of letters and digits. In n-gram
+ * mode the terms are all the character sequences of the n-gram length, a text
+ * shorter than that is a single term.
+ */
+public final class Tokenizer {
+
+    private static final String[] EMPTY_TERMS = new String[0];
+
+    private final int nGramLength;
+
+    /**
+     * @param nGramLength the n-gram length or {@code 0} to split text into words.
+     */
+    public Tokenizer(int nGramLength) {
+        assert nGramLength >= 0;
+        this.nGramLength = nGramLength;
+    }
+
+    /**
+     * @return the n-gram length or {@code 0} if text is split into words.
+     */
+    public int getNGramLength() {
+        return nGramLength;
+    }
+
+    /**
+     * @return {@code true} if text is split into n-grams, {@code false} if
+     * into words.
+     */
+    public boolean isNGram() {
+        return nGramLength > 0;
+    }
+
+    /**
+     * Returns the distinct terms of the given text, in the order of their
+     * first occurrence.
+     *
+     * @param text the text to tokenize.
+     * @return the terms, empty if the text has none.
+     */
+    public String[] tokenize(String text) {
+        if (!isNGram()) {
+            return words(text);
+        }
+
+        String folded = fold(text);
+        if (folded.isEmpty()) {
+            return EMPTY_TERMS;
+        }
+        if (folded.length() <= nGramLength) {
+            return new String[]{folded};
+        }
+
+        Set<String> terms = new LinkedHashSet<>();
+        for (int i = 0; i + nGramLength <= folded.length(); ++i) {
+            terms.add(folded.substring(i, i + nGramLength));
+        }
+        return terms.toArray(EMPTY_TERMS);
+    }
+
+    /**
+     * Returns the distinct case-folded words of the given text, in the order
+     * of their first occurrence.
+     *
+     * @param text the text to split.
+     * @return the words, empty if the text has none.
+     */
+    public static String[] words(String text) {
+        String folded = fold(text);
+
+        Set<String> words = null;
+        int length = folded.length();
+        int position = 0;
+        while (position < length) {
+            int start = skip(folded, position, false);
+            int end = skip(folded, start, true);
+            if (start == end) {
+                break;
+            }
+            if (words == null) {
+                words = new LinkedHashSet<>();
+            }
+            words.add(folded.substring(start, end));
+            position = end;
+        }
+        return words == null ? EMPTY_TERMS : words.toArray(EMPTY_TERMS);
+    }
+
+    /**
+     * Case-folds the given text code point by code point, so that the folded
+     * form of a substring is always a substring of the folded text. Characters
+     * matched by a case-insensitive regular expression fold to the same form.
+     *
+     * @param text the text to fold.
+     * @return the folded text.
+     */
+    public static String fold(String text) {
+        StringBuilder builder = null;
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = text.codePointAt(i);
+            int folded = Character.toLowerCase(Character.toUpperCase(codePoint));
+            if (builder == null && folded != codePoint) {
+                builder = new StringBuilder(length);
+                builder.append(text, 0, i);
+            }
+            if (builder != null) {
+                builder.appendCodePoint(folded);
+            }
+            i += Character.charCount(codePoint);
+        }
+        return builder == null ? text : builder.toString();
+    }
+
+    /**
+     * @return {@code true} if the given code point belongs to words.
+     */
+    public static boolean isWordCharacter(int codePoint) {
+        return Character.isLetterOrDigit(codePoint);
+    }
+
+    /**
+     * Skips the characters of the given text starting at the given position
+     * while they belong or don't belong to words.
+     *
+     * @param text     the text to scan.
+     * @param position the position to start at.
+     * @param word     {@code true} to skip the word characters, {@code false}
+     *                 to skip the others.
+     * @return the position of the first character not skipped or the length
+     * of the text.
+     */
+    static int skip(String text, int position, boolean word) {
+        int length = text.length();
+        while (position < length) {
+            int codePoint = text.codePointAt(position);
+            if (isWordCharacter(codePoint) != word) {
+                break;
+            }
+            position += Character.charCount(codePoint);
+        }
+        return position;
+    }
+}
@@ -60,4 +60,14 @@ public abstract class AbstractVisitor implements Visitor {
         return predicate;
     }
 
+    @Override
+    public Predicate visit(LikePredicate predicate, IndexRegistry indexes) {
+        return predicate;
+    }
+
+    @Override
+    public Predicate visit(TextSearchPredicate predicate, IndexRegistry indexes) {
+        return predicate;
+    }
+
 }
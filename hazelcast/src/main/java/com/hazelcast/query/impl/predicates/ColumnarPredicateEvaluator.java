@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.ColumnarStore;
+import com.hazelcast.query.impl.ColumnarStore.Column;
+import com.hazelcast.query.impl.ColumnarStore.ColumnKind;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.query.impl.ColumnarStore.wordCount;
+
+/**
+ * Evaluates predicates on the columns of a {@link ColumnarStore}, in tight
+ * loops over the column arrays, instead of on the entries one by one.
+ * <p>
+ * {@link EqualPredicate}, {@link GreaterLessPredicate}, {@link BetweenPredicate}
+ * and {@link InPredicate} on columnar attributes are evaluated on the columns,
+ * as are the {@link AndPredicate}s and {@link OrPredicate}s composed of them.
+ * The conjuncts of an {@link AndPredicate} which can not be evaluated on the
+ * columns are returned as a residual predicate, to be applied to the entries
+ * selected by the other conjuncts.
+ * <p>
+ * Values are compared as {@link AbstractPredicate#apply} compares them: if
+ * the predicate values converted to the type of the column values are of the
+ * same class as the values, they are compared as primitives, which gives the
+ * same result as comparing the boxed values. Otherwise, as for columns with
+ * values of several classes, every value is passed to
+ * {@link AbstractPredicate#applyForSingleAttributeValue(Comparable)}.
+ */
+public final class ColumnarPredicateEvaluator {
+
+    private ColumnarPredicateEvaluator() {
+    }
+
+    /**
+     * Selects the rows of the given store matching the given predicate.
+     *
+     * @param predicate the predicate to evaluate
+     * @param store     the columnar store of the queried record store
+     * @return the selected rows, or {@code null} if the predicate can not
+     * be evaluated on the columns of the store
+     */
+    public static Selection select(Predicate predicate, ColumnarStore store) {
+        int rowLimit = store.getRowLimit();
+        Selection selection = selectInternal(predicate, store, rowLimit);
+        if (selection == null) {
+            return null;
+        }
+        long[] rows = selection.rows;
+        long[] liveRows = store.getLiveRows();
+        int words = Math.min(rows.length, liveRows.length);
+        for (int i = 0; i < words; i++) {
+            rows[i] &= liveRows[i];
+        }
+        Arrays.fill(rows, words, rows.length, 0L);
+        return selection;
+    }
+
+    private static Selection selectInternal(Predicate predicate, ColumnarStore store, int rowLimit) {
+        Class<?> clazz = predicate.getClass();
+        if (clazz == AndPredicate.class) {
+            return selectAnd(((AndPredicate) predicate).predicates, store, rowLimit);
+        } else if (clazz == OrPredicate.class) {
+            return selectOr(((OrPredicate) predicate).predicates, store, rowLimit);
+        } else if (clazz == EqualPredicate.class || clazz == GreaterLessPredicate.class
+                || clazz == BetweenPredicate.class || clazz == InPredicate.class) {
+            AbstractPredicate leaf = (AbstractPredicate) predicate;
+            Column column = store.getColumn(leaf.attributeName);
+            if (column == null || column.getKind() == ColumnKind.UNSUPPORTED) {
+                return null;
+            }
+            return new Selection(selectLeaf(leaf, column, rowLimit), null);
+        }
+        return null;
+    }
+
+    private static Selection selectAnd(Predicate[] predicates, ColumnarStore store, int rowLimit) {
+        long[] rows = null;
+        List<Predicate> residuals = new ArrayList<>();
+        for (Predicate predicate : predicates) {
+            Selection selection = selectInternal(predicate, store, rowLimit);
+            if (selection == null) {
+                residuals.add(predicate);
+                continue;
+            }
+            if (selection.residual != null) {
+                residuals.add(selection.residual);
+            }
+            if (rows == null) {
+                rows = selection.rows;
+            } else {
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] &= selection.rows[i];
+                }
+            }
+        }
+        if (rows == null) {
+            return null;
+        }
+        Predicate residual;
+        if (residuals.isEmpty()) {
+            residual = null;
+        } else if (residuals.size() == 1) {
+            residual = residuals.get(0);
+        } else {
+            residual = new AndPredicate(residuals.toArray(new Predicate[0]));
+        }
+        return new Selection(rows, residual);
+    }
+
+    private static Selection selectOr(Predicate[] predicates, ColumnarStore store, int rowLimit) {
+        long[] rows = new long[wordCount(rowLimit)];
+        for (Predicate predicate : predicates) {
+            Selection selection = selectInternal(predicate, store, rowLimit);
+            if (selection == null || selection.residual != null) {
+                return null;
+            }
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] |= selection.rows[i];
+            }
+        }
+        return new Selection(rows, null);
+    }
+
+    private static long[] selectLeaf(AbstractPredicate predicate, Column column, int rowLimit) {
+        long[] rows = new long[wordCount(rowLimit)];
+        boolean selected = switch (column.getKind()) {
+            case LONG -> selectLongs(predicate, column, rowLimit, rows);
+            case DOUBLE -> selectDoubles(predicate, column, rowLimit, rows);
+            default -> false;
+        };
+        if (!selected) {
+            selectValues(predicate, column, rowLimit, rows);
+        }
+
+        // the primitive arrays hold zeros for null values
+        boolean nullMatches = predicate.applyForSingleAttributeValue(null);
+        long[] nulls = column.getNulls();
+        int words = Math.min(rows.length, nulls.length);
+        for (int i = 0; i < words; i++) {
+            rows[i] = nullMatches ? rows[i] | nulls[i] : rows[i] & ~nulls[i];
+        }
+        return rows;
+    }
+
+    /**
+     * Applies the predicate to every non-null value of the column.
+     */
+    private static void selectValues(AbstractPredicate predicate, Column column, int rowLimit, long[] rows) {
+        Object[] objects = column.getObjects();
+        if (column.getKind() == ColumnKind.OBJECT && objects != null) {
+            int limit = Math.min(rowLimit, objects.length);
+            for (int row = 0; row < limit; row++) {
+                Object value = objects[row];
+                if (value != null && predicate.applyForSingleAttributeValue((Comparable) value)) {
+                    rows[row >>> 6] |= 1L << row;
+                }
+            }
+        } else {
+            for (int row = 0; row < rowLimit; row++) {
+                Comparable value = column.get(row);
+                if (value != null && predicate.applyForSingleAttributeValue(value)) {
+                    rows[row >>> 6] |= 1L << row;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    private static boolean selectLongs(AbstractPredicate predicate, Column column, int rowLimit, long[] rows) {
+        long[] values = column.getLongs();
+        Class<?> valueClass = column.getValueClass();
+        Comparable sample = column.getSample();
+        if (values == null || valueClass == null || sample == null) {
+            return false;
+        }
+        int limit = Math.min(rowLimit, values.length);
+        if (predicate instanceof EqualPredicate equalPredicate) {
+            Comparable value = convert(predicate, sample, equalPredicate.value, valueClass);
+            if (value == null) {
+                return false;
+            }
+            long v = ((Number) value).longValue();
+            for (int row = 0; row < limit; row++) {
+                if (values[row] == v) {
+                    rows[row >>> 6] |= 1L << row;
+                }
+            }
+            return true;
+        } else if (predicate instanceof GreaterLessPredicate greaterLessPredicate) {
+            Comparable value = convert(predicate, sample, greaterLessPredicate.value, valueClass);
+            if (value == null) {
+                return false;
+            }
+            long v = ((Number) value).longValue();
+            if (greaterLessPredicate.less) {
+                if (greaterLessPredicate.equal || v != Long.MIN_VALUE) {
+                    selectLongRange(values, limit, Long.MIN_VALUE, greaterLessPredicate.equal ? v : v - 1, rows);
+                }
+            } else if (greaterLessPredicate.equal || v != Long.MAX_VALUE) {
+                selectLongRange(values, limit, greaterLessPredicate.equal ? v : v + 1, Long.MAX_VALUE, rows);
+            }
+            return true;
+        } else if (predicate instanceof BetweenPredicate betweenPredicate) {
+            Comparable from = convert(predicate, sample, betweenPredicate.from, valueClass);
+            Comparable to = convert(predicate, sample, betweenPredicate.to, valueClass);
+            if (from == null || to == null) {
+                return false;
+            }
+            selectLongRange(values, limit, ((Number) from).longValue(), ((Number) to).longValue(), rows);
+            return true;
+        } else if (predicate instanceof InPredicate inPredicate) {
+            long[] set = new long[inPredicate.values.length];
+            int size = 0;
+            for (Comparable given : inPredicate.values) {
+                Comparable converted = predicate.convert(sample, given);
+                if (PredicateUtils.isNull(converted)) {
+                    // matches null values only
+                    continue;
+                }
+                if (converted.getClass() != valueClass) {
+                    return false;
+                }
+                set[size++] = ((Number) converted).longValue();
+            }
+            set = Arrays.copyOf(set, size);
+            Arrays.sort(set);
+            for (int row = 0; row < limit; row++) {
+                if (Arrays.binarySearch(set, values[row]) >= 0) {
+                    rows[row >>> 6] |= 1L << row;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static void selectLongRange(long[] values, int limit, long from, long to, long[] rows) {
+        for (int row = 0; row < limit; row++) {
+            long value = values[row];
+            if (value >= from && value <= to) {
+                rows[row >>> 6] |= 1L << row;
+            }
+        }
+    }
+
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
+    private static boolean selectDoubles(AbstractPredicate predicate, Column column, int rowLimit, long[] rows) {
+        double[] values = column.getDoubles();
+        Class<?> valueClass = column.getValueClass();
+        Comparable sample = column.getSample();
+        if (values == null || valueClass == null || sample == null) {
+            return false;
+        }
+        int limit = Math.min(rowLimit, values.length);
+        if (predicate instanceof EqualPredicate equalPredicate) {
+            Comparable value = convert(predicate, sample, equalPredicate.value, valueClass);
+            if (value == null) {
+                return false;
+            }
+            double v = ((Number) value).doubleValue();
+            for (int row = 0; row < limit; row++) {
+                if (Double.compare(values[row], v) == 0) {
+                    rows[row >>> 6] |= 1L << row;
+                }
+            }
+            return true;
+        } else if (predicate instanceof GreaterLessPredicate greaterLessPredicate) {
+            Comparable value = convert(predicate, sample, greaterLessPredicate.value, valueClass);
+            if (value == null) {
+                return false;
+            }
+            double v = ((Number) value).doubleValue();
+            boolean less = greaterLessPredicate.less;
+            boolean equal = greaterLessPredicate.equal;
+            for (int row = 0; row < limit; row++) {
+                int result = Double.compare(values[row], v);
+                if (result == 0 ? equal : (result < 0) == less) {
+                    rows[row >>> 6] |= 1L << row;
+                }
+            }
+            return true;
+        } else if (predicate instanceof BetweenPredicate betweenPredicate) {
+            Comparable from = convert(predicate, sample, betweenPredicate.from, valueClass);
+            Comparable to = convert(predicate, sample, betweenPredicate.to, valueClass);
+            if (from == null || to == null) {
+                return false;
+            }
+            double f = ((Number) from).doubleValue();
+            double t = ((Number) to).doubleValue();
+            for (int row = 0; row < limit; row++) {
+                double v = values[row];
+                if (Double.compare(v, f) >= 0 && Double.compare(v, t) <= 0) {
+                    rows[row >>> 6] |= 1L << row;
+                }
+            }
+            return true;
+        } else if (predicate instanceof InPredicate inPredicate) {
+            double[] set = new double[inPredicate.values.length];
+            int size = 0;
+            for (Comparable given : inPredicate.values) {
+                Comparable converted = predicate.convert(sample, given);
+                if (PredicateUtils.isNull(converted)) {
+                    continue;
+                }
+                if (converted.getClass() != valueClass) {
+                    return false;
+                }
+                set[size++] = ((Number) converted).doubleValue();
+            }
+            set = Arrays.copyOf(set, size);
+            // sorted and searched in the order of Double#compare
+            Arrays.sort(set);
+            for (int row = 0; row < limit; row++) {
+                if (Arrays.binarySearch(set, values[row]) >= 0) {
+                    rows[row >>> 6] |= 1L << row;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Converts the given predicate value as the predicate converts it for
+     * the values of the column.
+     *
+     * @return the converted value, or {@code null} if it is {@code null}
+     * or not of the class of the column values
+     */
+    private static Comparable convert(AbstractPredicate predicate, Comparable sample, Comparable value,
+                                      Class<?> valueClass) {
+        Comparable converted = predicate.convert(sample, value);
+        return converted != null && converted.getClass() == valueClass ? converted : null;
+    }
+
+    /**
+     * The rows selected by a predicate and the part of the
+     * predicate which could not be evaluated on the columns.
+     */
+    public static final class Selection {
+
+        private final long[] rows;
+        private final Predicate residual;
+
+        Selection(long[] rows, Predicate residual) {
+            this.rows = rows;
+            this.residual = residual;
+        }
+
+        /**
+         * @return the bitmap of the selected rows, bit {@code row % 64}
+         * of word {@code row / 64} is set if the row is selected
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP")
+        public long[] getRows() {
+            return rows;
+        }
+
+        /**
+         * @return the predicate to apply to the entries of the selected
+         * rows, or {@code null} if they all match
+         */
+        public Predicate getResidual() {
+            return residual;
+        }
+    }
+}
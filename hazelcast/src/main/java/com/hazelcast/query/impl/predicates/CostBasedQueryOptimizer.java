@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.monitor.impl.PerIndexStats;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cost based optimizer. It applies the rewrites of the {@link RuleBasedQueryOptimizer}
+ * and then decides which indexes to filter with, by the number of entries the
+ * predicates are estimated to match, see {@link IndexStatistics}:
+ * <ul>
+ * <li>the indexed operands of an {@link AndPredicate} are ordered by their
+ * estimated result size, so the smallest result drives the query and the other
+ * operands are checked in the order of their selectivity;
+ * <li>an operand matching many more entries than the most selective one is
+ * evaluated on the entries matched by the latter instead of being filtered
+ * with its index;
+ * <li>if even the most selective operand matches so many entries that scanning
+ * the map is cheaper, no index is used.
+ * </ul>
+ * Indexes are skipped by wrapping their predicates into {@link SkipIndexPredicate}.
+ * The decisions are counted by the {@link PerIndexStats} of the indexes.
+ * <p>
+ * Only the top-level predicate is planned: all the operands of an {@link OrPredicate}
+ * have to be filtered with indexes for the OR to use its indexes at all. Predicates
+ * which can't be estimated, e.g. the ones filtered with composite indexes, are left
+ * as the rules produced them.
+ */
+public final class CostBasedQueryOptimizer implements QueryOptimizer {
+
+    /**
+     * The cost of fetching an entry from an index, relative to the cost of
+     * visiting an entry while scanning the map.
+     */
+    static final double INDEX_ENTRY_COST = 1.5;
+
+    /**
+     * The cost of evaluating a predicate on an entry, relative to the cost of
+     * checking whether the entry is contained in the result of an index.
+     */
+    static final double EVALUATION_COST = 4.0;
+
+    private final QueryOptimizer ruleBasedOptimizer = new RuleBasedQueryOptimizer();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Predicate<K, V> optimize(Predicate<K, V> predicate, IndexRegistry indexes) {
+        Predicate optimized = ruleBasedOptimizer.optimize(predicate, indexes);
+        if (optimized instanceof AndPredicate andPredicate) {
+            return planAnd(andPredicate, indexes);
+        }
+
+        Estimate estimate = estimate(optimized, indexes);
+        if (estimate == null) {
+            return optimized;
+        }
+        if (estimate.isScanCheaper()) {
+            estimate.stats().incrementOptimizerSkippedCount();
+            return new SkipIndexPredicate(optimized);
+        }
+        estimate.stats().incrementOptimizerChosenCount();
+        return optimized;
+    }
+
+    private static Predicate planAnd(AndPredicate andPredicate, IndexRegistry indexes) {
+        Predicate[] predicates = andPredicate.predicates;
+        List<Estimate> estimates = new ArrayList<>(predicates.length);
+        List<Predicate> others = new ArrayList<>(predicates.length);
+        for (Predicate predicate : predicates) {
+            Estimate estimate = estimate(predicate, indexes);
+            if (estimate == null) {
+                others.add(predicate);
+            } else {
+                estimates.add(estimate);
+            }
+        }
+        if (estimates.isEmpty()) {
+            return andPredicate;
+        }
+        estimates.sort(Comparator.comparingDouble(Estimate::rows));
+
+        Estimate best = estimates.get(0);
+        boolean scan = best.isScanCheaper();
+        // filtering with an index costs fetching its entries and checking the
+        // candidate entries against them, evaluating the predicate costs more
+        // per entry, but only the candidate entries are evaluated
+        double maxRows = (best.rows() * (EVALUATION_COST - 1)) / INDEX_ENTRY_COST;
+
+        Predicate[] planned = new Predicate[predicates.length];
+        List<Predicate> skipped = new ArrayList<>(estimates.size());
+        int count = 0;
+        for (Estimate estimate : estimates) {
+            if (!scan && (estimate == best || estimate.rows() <= maxRows)) {
+                estimate.stats().incrementOptimizerChosenCount();
+                planned[count++] = estimate.predicate();
+            } else {
+                estimate.stats().incrementOptimizerSkippedCount();
+                skipped.add(new SkipIndexPredicate(estimate.predicate()));
+            }
+        }
+        for (Predicate predicate : skipped) {
+            planned[count++] = predicate;
+        }
+        for (Predicate predicate : others) {
+            planned[count++] = predicate;
+        }
+
+        for (int i = 0; i < predicates.length; ++i) {
+            if (planned[i] != predicates[i]) {
+                return new AndPredicate(planned);
+            }
+        }
+        return andPredicate;
+    }
+
+    /**
+     * @return the estimate of the number of entries matched by the given
+     * predicate when filtered with its index, or {@code null} if it can't be
+     * estimated.
+     */
+    private static Estimate estimate(Predicate predicate, IndexRegistry indexes) {
+        String attribute;
+        IndexMatchHint matchHint;
+        if (predicate.getClass() == EqualPredicate.class || predicate.getClass() == InPredicate.class) {
+            attribute = ((AbstractIndexAwarePredicate) predicate).attributeName;
+            matchHint = IndexMatchHint.PREFER_UNORDERED;
+        } else if (predicate.getClass() == GreaterLessPredicate.class || predicate.getClass() == BetweenPredicate.class
+                || predicate.getClass() == BoundedRangePredicate.class) {
+            attribute = ((RangePredicate) predicate).getAttribute();
+            matchHint = IndexMatchHint.PREFER_ORDERED;
+        } else {
+            return null;
+        }
+
+        InternalIndex index = indexes.peekIndex(attribute, matchHint);
+        IndexStatistics statistics = index == null ? null : index.getStatistics();
+        if (statistics == null) {
+            return null;
+        }
+        long entries = statistics.getEntryCount();
+        TypeConverter converter = index.getConverter();
+        if (entries == 0 || converter == null) {
+            return new Estimate(predicate, index, 0, entries);
+        }
+
+        double selectivity;
+        try {
+            selectivity = estimateSelectivity(predicate, statistics, converter);
+        } catch (RuntimeException e) {
+            // the query is going to report the values which can't be converted
+            return null;
+        }
+        return new Estimate(predicate, index, selectivity * entries, entries);
+    }
+
+    private static double estimateSelectivity(Predicate predicate, IndexStatistics statistics, TypeConverter converter) {
+        if (predicate instanceof InPredicate inPredicate) {
+            double selectivity = 0.0;
+            for (Comparable value : inPredicate.values) {
+                selectivity += statistics.estimateEqualSelectivity(converter.convert(value));
+            }
+            return Math.min(selectivity, 1.0);
+        } else if (predicate instanceof EqualPredicate equalPredicate) {
+            return statistics.estimateEqualSelectivity(converter.convert(equalPredicate.value));
+        } else {
+            RangePredicate rangePredicate = (RangePredicate) predicate;
+            Comparable from = rangePredicate.getFrom();
+            Comparable to = rangePredicate.getTo();
+            return statistics.estimateRangeSelectivity(from == null ? null : converter.convert(from),
+                    rangePredicate.isFromInclusive(), to == null ? null : converter.convert(to),
+                    rangePredicate.isToInclusive());
+        }
+    }
+
+    private record Estimate(Predicate predicate, InternalIndex index, double rows, long entries) {
+
+        PerIndexStats stats() {
+            return index.getPerIndexStats();
+        }
+
+        /**
+         * @return {@code true} if visiting all the entries is cheaper than
+         * fetching the estimated ones from the index.
+         */
+        boolean isScanCheaper() {
+            return rows * INDEX_ENTRY_COST > entries;
+        }
+    }
+}
@@ -213,39 +213,39 @@ public class EvaluateVisitor extends AbstractVisitor {
 
     @Override
     public Predicate visit(EqualPredicate predicate, IndexRegistry indexes) {
-        Index index = indexes.matchIndex(predicate.attributeName, predicate.getClass(), IndexMatchHint.PREFER_UNORDERED,
-                SKIP_PARTITIONS_COUNT_CHECK);
-        if (index == null) {
-            return predicate;
-        }
-
-        TypeConverter converter = index.getConverter();
-        if (converter == null) {
-            return predicate;
-        }
-
-        return new EvaluatePredicate(predicate, index.getName());
+        return evaluate(predicate, predicate.attributeName, indexes);
     }
 
     @Override
     public Predicate visit(NotEqualPredicate predicate, IndexRegistry indexes) {
-        Index index = indexes.matchIndex(predicate.attributeName, predicate.getClass(), IndexMatchHint.PREFER_UNORDERED,
-                SKIP_PARTITIONS_COUNT_CHECK);
-        if (index == null) {
-            return predicate;
-        }
+        return evaluate(predicate, predicate.attributeName, indexes);
+    }
 
-        TypeConverter converter = index.getConverter();
-        if (converter == null) {
-            return predicate;
-        }
+    @Override
+    public Predicate visit(InPredicate predicate, IndexRegistry indexes) {
+        return evaluate(predicate, predicate.attributeName, indexes);
+    }
 
-        return new EvaluatePredicate(predicate, index.getName());
+    @Override
+    public Predicate visit(LikePredicate predicate, IndexRegistry indexes) {
+        if (predicate.getClass() == LikePredicate.class && predicate.getExpression() != null
+                && predicate.expressionCanBeUsedAsIndexPrefix()) {
+            Index index = indexes.peekIndex(predicate.attributeName, IndexMatchHint.PREFER_ORDERED);
+            if (index != null && index.isOrdered()) {
+                // a prefix is looked up in the sorted index directly
+                return predicate;
+            }
+        }
+        return evaluate(predicate, predicate.attributeName, indexes);
     }
 
     @Override
-    public Predicate visit(InPredicate predicate, IndexRegistry indexes) {
-        Index index = indexes.matchIndex(predicate.attributeName, predicate.getClass(), IndexMatchHint.PREFER_UNORDERED,
+    public Predicate visit(TextSearchPredicate predicate, IndexRegistry indexes) {
+        return evaluate(predicate, predicate.attributeName, indexes);
+    }
+
+    private static Predicate evaluate(Predicate predicate, String attribute, IndexRegistry indexes) {
+        Index index = indexes.matchIndex(attribute, predicate.getClass(), IndexMatchHint.PREFER_UNORDERED,
                 SKIP_PARTITIONS_COUNT_CHECK);
         if (index == null) {
             return predicate;
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filters the target predicate with a filtered index, matched by its name.
+ * <p>
+ * Produced by {@link FilteredIndexVisitor} only if the query implies the
+ * filter of the index, so the entries not contained in the index can't
+ * match the query anyway. Never serialized, since it's produced by the
+ * optimizer on the member executing the query.
+ */
+@SuppressWarnings("rawtypes")
+public class FilteredIndexPredicate implements IndexAwarePredicate {
+
+    private final IndexAwarePredicate target;
+    private final String indexName;
+
+    public FilteredIndexPredicate(IndexAwarePredicate target, String indexName) {
+        this.target = target;
+        this.indexName = indexName;
+    }
+
+    public IndexAwarePredicate getTarget() {
+        return target;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        return target.apply(mapEntry);
+    }
+
+    @Override
+    public boolean isIndexed(QueryContext queryContext) {
+        return queryContext.matchIndex(indexName, IndexMatchHint.EXACT_NAME) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<QueryableEntry> filter(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, IndexMatchHint.EXACT_NAME);
+        if (index == null) {
+            return null;
+        }
+        return target.filter(new PinnedIndexQueryContext(index, queryContext.getOwnedPartitionCount()));
+    }
+
+    @Override
+    public String toString() {
+        return "FilteredIndex(" + target + ", " + indexName + ')';
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        throw new UnsupportedOperationException("can't be serialized");
+    }
+
+    /**
+     * Matches the given index for any attribute, so the target predicate
+     * is filtered with it instead of an index on the attribute.
+     */
+    private static final class PinnedIndexQueryContext extends QueryContext {
+
+        private final Index index;
+
+        PinnedIndexQueryContext(Index index, int ownedPartitionCount) {
+            super(null, ownedPartitionCount);
+            this.index = index;
+        }
+
+        @Override
+        public Index matchIndex(String pattern, IndexMatchHint matchHint) {
+            return index;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.InternalIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites a conjunction to use a filtered index, see {@link
+ * com.hazelcast.config.IndexConfig#setFilter(String)}.
+ * <p>
+ * A filtered index may be used only if every conjunct of its filter is
+ * implied by a conjunct of the query: the same predicate, an equality on
+ * the same attribute and value or a range contained in the range of the
+ * filter. The conjuncts on the indexed attribute are then wrapped into
+ * {@link FilteredIndexPredicate}, the conjuncts implying the filter are
+ * still evaluated, but they are not filtered with other indexes.
+ */
+public class FilteredIndexVisitor extends AbstractVisitor {
+
+    @Override
+    public Predicate visit(AndPredicate andPredicate, IndexRegistry indexes) {
+        InternalIndex[] filteredIndexes = indexes.getFilteredIndexes();
+        if (filteredIndexes.length == 0) {
+            return andPredicate;
+        }
+
+        for (InternalIndex index : filteredIndexes) {
+            Predicate[] rewritten = rewrite(andPredicate.predicates, index, indexes);
+            if (rewritten != null) {
+                return new AndPredicate(rewritten);
+            }
+        }
+        return andPredicate;
+    }
+
+    private static Predicate[] rewrite(Predicate[] predicates, InternalIndex index, IndexRegistry indexes) {
+        Predicate filter = index.getFilter();
+        if (filter == null) {
+            return null;
+        }
+
+        boolean[] implying = new boolean[predicates.length];
+        List<Predicate> filterConjuncts = new ArrayList<>();
+        collectConjuncts(filter, filterConjuncts);
+        for (Predicate filterConjunct : filterConjuncts) {
+            int implied = -1;
+            for (int i = 0; i < predicates.length && implied == -1; ++i) {
+                if (implies(predicates[i], filterConjunct, indexes)) {
+                    implied = i;
+                }
+            }
+            if (implied == -1) {
+                return null;
+            }
+            implying[implied] = true;
+        }
+
+        String attribute = index.getComponents()[0];
+        Predicate[] rewritten = new Predicate[predicates.length];
+        boolean matched = false;
+        for (int i = 0; i < predicates.length; ++i) {
+            Predicate predicate = predicates[i];
+            if (isFilterable(predicate, attribute, index.isOrdered())) {
+                rewritten[i] = new FilteredIndexPredicate((IndexAwarePredicate) predicate, index.getName());
+                matched = true;
+            } else if (implying[i]) {
+                rewritten[i] = new SkipIndexPredicate(predicate);
+            } else {
+                rewritten[i] = predicate;
+            }
+        }
+        return matched ? rewritten : null;
+    }
+
+    private static void collectConjuncts(Predicate predicate, List<Predicate> conjuncts) {
+        if (predicate instanceof AndPredicate andPredicate) {
+            for (Predicate conjunct : andPredicate.predicates) {
+                collectConjuncts(conjunct, conjuncts);
+            }
+        } else {
+            conjuncts.add(predicate);
+        }
+    }
+
+    private static boolean isFilterable(Predicate predicate, String attribute, boolean ordered) {
+        Class<? extends Predicate> predicateClass = predicate.getClass();
+        if (predicateClass == EqualPredicate.class || predicateClass == InPredicate.class) {
+            return attribute.equals(((AbstractIndexAwarePredicate) predicate).attributeName);
+        } else if (predicateClass == GreaterLessPredicate.class || predicateClass == BetweenPredicate.class
+                || predicateClass == BoundedRangePredicate.class) {
+            return ordered && attribute.equals(((RangePredicate) predicate).getAttribute());
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if every entry matching the given predicate
+     * is known to match the given filter conjunct, {@code false} if it
+     * may not match it
+     */
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
+    private static boolean implies(Predicate predicate, Predicate filter, IndexRegistry indexes) {
+        if (predicate.equals(filter)) {
+            return true;
+        }
+        if (!(predicate instanceof RangePredicate range) || !(filter instanceof RangePredicate filterRange)
+                || !range.getAttribute().equals(filterRange.getAttribute())) {
+            return false;
+        }
+
+        TypeConverter converter = indexes.getConverter(range.getAttribute());
+        try {
+            if (predicate instanceof EqualPredicate equal && filter instanceof EqualPredicate filterEqual) {
+                if (converter == null) {
+                    // the filter is parsed from its SQL text, so it holds the values as strings
+                    return equal.value != null && filterEqual.value != null
+                            && equal.value.toString().equals(filterEqual.value.toString());
+                }
+                return Comparables.equal(converter.convert(equal.value), converter.convert(filterEqual.value));
+            }
+            if (converter == null || isNullEquality(predicate) || isNullEquality(filter)) {
+                return false;
+            }
+            return lowerBoundImplied(range, filterRange, converter) && upperBoundImplied(range, filterRange, converter);
+        } catch (RuntimeException e) {
+            // the query is going to report the values which can't be converted
+            return false;
+        }
+    }
+
+    private static boolean isNullEquality(Predicate predicate) {
+        return predicate instanceof EqualPredicate equal && equal.value == null;
+    }
+
+    private static boolean lowerBoundImplied(RangePredicate range, RangePredicate filter, TypeConverter converter) {
+        if (filter.getFrom() == null) {
+            return true;
+        }
+        if (range.getFrom() == null) {
+            return false;
+        }
+        int order = Comparables.compare(converter.convert(range.getFrom()), converter.convert(filter.getFrom()));
+        return order > 0 || order == 0 && (filter.isFromInclusive() || !range.isFromInclusive());
+    }
+
+    private static boolean upperBoundImplied(RangePredicate range, RangePredicate filter, TypeConverter converter) {
+        if (filter.getTo() == null) {
+            return true;
+        }
+        if (range.getTo() == null) {
+            return false;
+        }
+        int order = Comparables.compare(converter.convert(range.getTo()), converter.convert(filter.getTo()));
+        return order < 0 || order == 0 && (filter.isToInclusive() || !range.isToInclusive());
+    }
+}
@@ -19,7 +19,9 @@ package com.hazelcast.query.impl.predicates;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.internal.serialization.BinaryInterface;
+import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -33,7 +35,7 @@ import java.util.regex.Pattern;
  * Like Predicate
  */
 @BinaryInterface
-public class LikePredicate extends AbstractPredicate implements IndexAwarePredicate {
+public class LikePredicate extends AbstractPredicate implements IndexAwarePredicate, VisitablePredicate {
 
     @Serial
     private static final long serialVersionUID = 1L;
@@ -49,6 +51,18 @@ public class LikePredicate extends AbstractPredicate implements IndexAwarePredic
         this.expression = expression;
     }
 
+    /**
+     * @return the pattern of this predicate.
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public Predicate accept(Visitor visitor, IndexRegistry indexes) {
+        return visitor.visit(this, indexes);
+    }
+
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         Index index = queryContext.matchIndex(attributeName, QueryContext.IndexMatchHint.PREFER_ORDERED);
@@ -62,7 +76,7 @@ public class LikePredicate extends AbstractPredicate implements IndexAwarePredic
         return index != null && index.isOrdered() && expressionCanBeUsedAsIndexPrefix();
     }
 
-    private boolean expressionCanBeUsedAsIndexPrefix() {
+    boolean expressionCanBeUsedAsIndexPrefix() {
         boolean escape = false;
         for (int i = 0; i < expression.length(); i++) {
             char c = expression.charAt(i);
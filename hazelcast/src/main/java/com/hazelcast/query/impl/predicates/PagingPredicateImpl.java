@@ -20,8 +20,8 @@ import com.hazelcast.internal.namespace.NamespaceUtil;
 import com.hazelcast.internal.namespace.impl.NodeEngineThreadLocalContext;
 import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.internal.util.PagingTopK;
 import com.hazelcast.internal.util.Preconditions;
-import com.hazelcast.internal.util.SortingUtil;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -206,17 +206,11 @@ public class PagingPredicateImpl<K, V>
         if (set == null || set.isEmpty()) {
             return set;
         }
-        List<QueryableEntry<K, V>> resultList = new ArrayList<>();
-        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
+        PagingTopK topK = new PagingTopK(this, getNearestAnchorEntry());
         for (QueryableEntry<K, V> queryableEntry : set) {
-            if (SortingUtil.compareAnchor(this, queryableEntry, nearestAnchorEntry)) {
-                resultList.add(queryableEntry);
-            }
+            topK.offer(queryableEntry);
         }
-
-        List<QueryableEntry<K, V>> sortedSubList =
-                (List) SortingUtil.getSortedSubList((List) resultList, this, nearestAnchorEntry);
-        return new LinkedHashSet<>(sortedSubList);
+        return new LinkedHashSet<>((List) topK.toSortedList());
     }
 
 
@@ -28,6 +28,7 @@ public final class RuleBasedQueryOptimizer implements QueryOptimizer {
     private final Visitor rangeVisitor = new RangeVisitor();
     private final Visitor orToInVisitor = new OrToInVisitor();
     private final Visitor compositeIndexVisitor = new CompositeIndexVisitor();
+    private final Visitor filteredIndexVisitor = new FilteredIndexVisitor();
     private final Visitor evaluateVisitor = new EvaluateVisitor();
 
     @Override
@@ -46,6 +47,9 @@ public final class RuleBasedQueryOptimizer implements QueryOptimizer {
         if (optimized instanceof VisitablePredicate) {
             optimized = ((VisitablePredicate) optimized).accept(compositeIndexVisitor, indexes);
         }
+        if (optimized instanceof VisitablePredicate) {
+            optimized = ((VisitablePredicate) optimized).accept(filteredIndexVisitor, indexes);
+        }
         if (optimized instanceof VisitablePredicate) {
             optimized = ((VisitablePredicate) optimized).accept(evaluateVisitor, indexes);
         }
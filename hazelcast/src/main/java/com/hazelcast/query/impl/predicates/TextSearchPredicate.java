@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.fulltext.Tokenizer;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Text search predicate: matches the string values containing all the words
+ * of the searched text, ignoring the case. Words are the runs of letters and
+ * digits, so the punctuation and the order of the words don't matter.
+ * <p>
+ * Evaluated by full-text indexes if the attribute has one.
+ */
+public class TextSearchPredicate extends AbstractPredicate implements VisitablePredicate {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String text;
+    private transient volatile String[] words;
+
+    public TextSearchPredicate() {
+    }
+
+    public TextSearchPredicate(String attributeName, String text) {
+        super(attributeName);
+        this.text = text;
+    }
+
+    /**
+     * @return the searched text.
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public Predicate accept(Visitor visitor, IndexRegistry indexes) {
+        return visitor.visit(this, indexes);
+    }
+
+    @Override
+    protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
+        if (!(attributeValue instanceof String string)) {
+            return false;
+        }
+
+        String[] words = this.words;
+        if (words == null) {
+            words = Tokenizer.words(text);
+            this.words = words;
+        }
+        if (words.length == 0) {
+            return false;
+        }
+
+        Set<String> valueWords = new HashSet<>(Arrays.asList(Tokenizer.words(string)));
+        for (String word : words) {
+            if (!valueWords.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        super.writeData(out);
+        out.writeString(text);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+        text = in.readString();
+    }
+
+    @Override
+    public String toString() {
+        return attributeName + " TEXT_SEARCH '" + text + "'";
+    }
+
+    @Override
+    public int getClassId() {
+        return PredicateDataSerializerHook.TEXT_SEARCH_PREDICATE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        if (!(o instanceof TextSearchPredicate that)) {
+            return false;
+        }
+
+        if (!that.canEqual(this)) {
+            return false;
+        }
+
+        return text != null ? text.equals(that.text) : that.text == null;
+    }
+
+    @Override
+    public boolean canEqual(Object other) {
+        return (other instanceof TextSearchPredicate);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (text != null ? text.hashCode() : 0);
+        return result;
+    }
+}
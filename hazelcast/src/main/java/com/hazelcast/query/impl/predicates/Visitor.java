@@ -42,4 +42,8 @@ public interface Visitor {
 
     Predicate visit(BetweenPredicate predicate, IndexRegistry indexes);
 
+    Predicate visit(LikePredicate predicate, IndexRegistry indexes);
+
+    Predicate visit(TextSearchPredicate predicate, IndexRegistry indexes);
+
 }
@@ -33,6 +33,7 @@ import com.hazelcast.spi.impl.operationservice.Notifier;
 import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
 import com.hazelcast.internal.serialization.SerializationService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
 
@@ -41,6 +42,7 @@ import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.config.InMemoryFormat.values;
 import static com.hazelcast.internal.namespace.NamespaceUtil.callWithNamespace;
 import static com.hazelcast.internal.namespace.NamespaceUtil.runWithNamespace;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -86,6 +88,8 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
      * </ul>
      */
     private Ringbuffer<E> ringbuffer;
+    private volatile long addedItemCount;
+    private volatile long addedItemBytes;
 
     /**
      * For purposes of {@link IdentifiedDataSerializable} instance creation.
@@ -240,6 +244,27 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         return ringbuffer.size();
     }
 
+    /**
+     * Returns the estimated heap cost of the items in this ringbuffer, as
+     * the number of items multiplied by the average size of the items added
+     * so far. The cost is only known for the {@code BINARY} in-memory format.
+     *
+     * @return the heap cost in bytes
+     */
+    public long getHeapCost() {
+        long count = addedItemCount;
+        return count == 0 || inMemoryFormat != BINARY ? 0 : size() * (addedItemBytes / count);
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread updates the counters, other threads only read them")
+    private void recordAdded(E rbItem) {
+        if (rbItem instanceof Data data) {
+            addedItemCount++;
+            addedItemBytes += REFERENCE_COST_IN_BYTES + data.getHeapCost();
+        }
+    }
+
     // not used in the codebase, here just for API completion
     public boolean isEmpty() {
         return ringbuffer.isEmpty();
@@ -367,6 +392,7 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
      */
     public void set(long sequenceId, T item) {
         final E rbItem = convertToRingbufferFormat(item);
+        recordAdded(rbItem);
 
         // first we write the dataItem in the ring.
         ringbuffer.set(sequenceId, rbItem);
@@ -541,6 +567,7 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
 
     private long addInternal(T item) {
         final E rbItem = convertToRingbufferFormat(item);
+        recordAdded(rbItem);
 
         // first we write the dataItem in the ring.
         final long tailSequence = ringbuffer.add(rbItem);
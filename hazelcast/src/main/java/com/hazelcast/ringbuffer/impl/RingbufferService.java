@@ -19,6 +19,7 @@ package com.hazelcast.ringbuffer.impl;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.DistributedObject;
+import com.hazelcast.internal.memory.Measurable;
 import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.partition.PartitionMigrationEvent;
@@ -35,6 +36,7 @@ import com.hazelcast.internal.services.SplitBrainHandlerService;
 import com.hazelcast.internal.services.SplitBrainProtectionAwareService;
 import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.internal.util.ContextMutexFactory;
+import com.hazelcast.internal.util.MutableLong;
 import com.hazelcast.partition.strategy.StringPartitioningStrategy;
 import com.hazelcast.ringbuffer.impl.operations.MergeOperation;
 import com.hazelcast.ringbuffer.impl.operations.ReplicationOperation;
@@ -57,6 +59,7 @@ import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongConsumer;
 
 import static com.hazelcast.internal.config.ConfigValidator.checkRingbufferConfig;
 import static com.hazelcast.internal.partition.MigrationEndpoint.DESTINATION;
@@ -69,7 +72,7 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
  * The SPI Service that deals with the {@link com.hazelcast.ringbuffer.Ringbuffer}.
  */
 public class RingbufferService implements ManagedService, RemoteService, ChunkedMigrationAwareService,
-        SplitBrainProtectionAwareService, SplitBrainHandlerService {
+        SplitBrainProtectionAwareService, SplitBrainHandlerService, Measurable {
 
     /**
      * Prefix of ringbuffers that are created for topics. Using a prefix prevents
@@ -155,6 +158,22 @@ public class RingbufferService implements ManagedService, RemoteService, Chunked
         partitionContainers.remove(namespace);
     }
 
+    @Override
+    public long heapBytesUsed() {
+        MutableLong heapCost = new MutableLong();
+        forEachContainerHeapBytesUsed(heapCost::addAndGet);
+        return heapCost.value;
+    }
+
+    @Override
+    public void forEachContainerHeapBytesUsed(LongConsumer consumer) {
+        for (Map<ObjectNamespace, RingbufferContainer> partitionContainers : containers.values()) {
+            for (RingbufferContainer container : partitionContainers.values()) {
+                consumer.accept(container.getHeapCost());
+            }
+        }
+    }
+
     @Override
     public void reset() {
         containers.clear();
@@ -61,7 +61,8 @@ public class AddAllOperation extends AbstractRingBufferOperation
         final RingbufferContainer ringbuffer = getRingBufferContainer();
 
         if (overflowPolicy == FAIL) {
-            if (ringbuffer.remainingCapacity() < items.length) {
+            if (ringbuffer.remainingCapacity() < items.length
+                    || getNodeEngine().getMemoryAccountingService().isQuotaExceeded()) {
                 lastSequence = -1;
                 return;
             }
@@ -60,7 +60,8 @@ public class AddOperation extends AbstractRingBufferOperation implements Notifie
 
         //todo: move into ringbuffer.
         if (overflowPolicy == FAIL) {
-            if (ringbuffer.remainingCapacity() < 1) {
+            if (ringbuffer.remainingCapacity() < 1
+                    || getNodeEngine().getMemoryAccountingService().isQuotaExceeded()) {
                 resultSequence = -1;
                 return;
             }
@@ -26,6 +26,7 @@ import com.hazelcast.instance.impl.Node;
 import com.hazelcast.instance.impl.NodeExtension;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.management.ManagementCenterService;
+import com.hazelcast.internal.memory.MemoryAccountingService;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.namespace.UserCodeNamespaceService;
 import com.hazelcast.internal.partition.IPartitionService;
@@ -306,6 +307,16 @@ public interface NodeEngine {
      */
     SplitBrainMergePolicyProvider getSplitBrainMergePolicyProvider();
 
+    /**
+     * Returns the {@link MemoryAccountingService} which accounts the heap
+     * memory held by the data structures of this member against the
+     * member-wide quota.
+     *
+     * @return the {@link MemoryAccountingService}
+     * @since 6.0
+     */
+    MemoryAccountingService getMemoryAccountingService();
+
     /**
      * Returns a list of services matching provides service class/interface.
      * <p>
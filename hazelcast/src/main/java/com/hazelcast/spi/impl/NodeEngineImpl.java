@@ -31,6 +31,7 @@ import com.hazelcast.internal.diagnostics.Diagnostics;
 import com.hazelcast.internal.dynamicconfig.ClusterWideConfigurationService;
 import com.hazelcast.internal.dynamicconfig.ConfigurationService;
 import com.hazelcast.internal.management.ManagementCenterService;
+import com.hazelcast.internal.memory.MemoryAccountingService;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.impl.MetricsConfigHelper;
 import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
@@ -145,6 +146,7 @@ public class NodeEngineImpl implements NodeEngine {
     private final TenantControlServiceImpl tenantControlService;
     private final InternalDataConnectionService dataConnectionService;
     private final TpcServerBootstrap tpcServerBootstrap;
+    private final MemoryAccountingService memoryAccountingService;
 
     @SuppressWarnings("checkstyle:executablestatementcount")
     public NodeEngineImpl(Node node) {
@@ -160,6 +162,7 @@ public class NodeEngineImpl implements NodeEngine {
             this.proxyService = new ProxyServiceImpl(this);
             this.serviceManager = new ServiceManagerImpl(this);
             this.executionService = new ExecutionServiceImpl(this);
+            this.memoryAccountingService = new MemoryAccountingService(this);
             this.tenantControlService = new TenantControlServiceImpl(this);
             this.tpcServerBootstrap = node.getNodeExtension().createTpcServerBootstrap();
             this.operationService = new OperationServiceImpl(this);
@@ -301,6 +304,7 @@ public class NodeEngineImpl implements NodeEngine {
         FileMetricSet.register(metricsRegistry);
 
         metricsRegistry.registerStaticMetrics(node.getNodeExtension().getMemoryStats(), MEMORY_PREFIX);
+        metricsRegistry.registerStaticMetrics(memoryAccountingService, MEMORY_PREFIX);
         metricsRegistry.provideMetrics(operationService, proxyService, eventService, operationParker);
 
         serviceManager.start();
@@ -309,6 +313,7 @@ public class NodeEngineImpl implements NodeEngine {
         splitBrainProtectionService.start();
         sqlService.start();
         tpcServerBootstrap.start();
+        memoryAccountingService.start();
         diagnostics.start();
         node.getNodeExtension().registerPlugins(diagnostics);
     }
@@ -511,6 +516,11 @@ public class NodeEngineImpl implements NodeEngine {
         return splitBrainMergePolicyProvider;
     }
 
+    @Override
+    public MemoryAccountingService getMemoryAccountingService() {
+        return memoryAccountingService;
+    }
+
     @Override
     public <S> Collection<S> getServices(Class<S> serviceClass) {
         return serviceManager.getServices(serviceClass);
@@ -630,6 +640,9 @@ public class NodeEngineImpl implements NodeEngine {
         if (wanReplicationService != null) {
             wanReplicationService.shutdown();
         }
+        if (memoryAccountingService != null) {
+            memoryAccountingService.shutdown();
+        }
         if (executionService != null) {
             executionService.shutdown();
         }
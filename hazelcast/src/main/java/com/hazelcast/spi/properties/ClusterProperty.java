@@ -1009,6 +1009,38 @@ public final class ClusterProperty {
     public static final HazelcastProperty QUERY_PREDICATE_PARALLEL_EVALUATION
             = new HazelcastProperty("hazelcast.query.predicate.parallel.evaluation", false);
 
+    /**
+     * Runs the parallel query evaluations, see {@link #QUERY_PREDICATE_PARALLEL_EVALUATION},
+     * on a dedicated work-stealing pool instead of the query executor.
+     * <p>
+     * The partitions are not assigned to the threads upfront: every thread
+     * scanning a query claims the next partition once it is done with the
+     * previous one, and the partitions larger than
+     * {@link #QUERY_PARTITION_SCAN_SEGMENT_SIZE} are split into segments which
+     * idle threads may take over, so skewed partitions do not delay the query.
+     * The number of threads scanning a query is reduced while the partition
+     * threads are busy running operations.
+     * <p>
+     * Ignored unless {@link #QUERY_PREDICATE_PARALLEL_EVALUATION} is enabled.
+     * The default is {@code false}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty QUERY_PARTITION_SCAN_WORK_STEALING
+            = new HazelcastProperty("hazelcast.query.partition.scan.work.stealing", false);
+
+    /**
+     * The number of entries in a segment of a partition scanned by the
+     * work-stealing query executor, see {@link #QUERY_PARTITION_SCAN_WORK_STEALING}.
+     * The partitions with more entries are split into segments.
+     * <p>
+     * The default is {@code 10000}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty QUERY_PARTITION_SCAN_SEGMENT_SIZE
+            = new HazelcastProperty("hazelcast.query.partition.scan.segment.size", 10000);
+
     /**
      * Run aggregation accumulation for multiple entries in parallel.
      * <p>
@@ -1098,6 +1130,9 @@ public final class ClusterProperty {
      * Valid Values:
      * <ul>
      * <li>RULES - for optimizations based on static rules</li>
+     * <li>COST - for optimizations based on static rules followed by
+     * choosing the indexes to filter with by their estimated cost, based
+     * on the statistics of the indexed values</li>
      * <li>NONE - optimization are disabled</li>
      * </ul>
      * <p>
@@ -1170,6 +1205,20 @@ public final class ClusterProperty {
     public static final HazelcastProperty INDEX_COPY_BEHAVIOR
             = new HazelcastProperty("hazelcast.index.copy.behavior", IndexCopyBehavior.COPY_ON_READ.toString());
 
+    /**
+     * Enables the B+tree store for on-heap {@code SORTED} indexes. Instead
+     * of a skip list of per-value maps, the index entries are held in the
+     * compact leaf pages of a copy-on-write B+tree, which needs several times
+     * less memory per indexed entry and makes range scans sequential. Index
+     * scans read immutable snapshots of the tree without locking, so the
+     * {@link #INDEX_COPY_BEHAVIOR} has no effect on such indexes. Updates copy
+     * the nodes on the path to the updated leaf, which makes them slower.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty QUERY_SORTED_INDEX_BPLUS_TREE_ENABLED
+            = new HazelcastProperty("hazelcast.query.sorted.index.bplus.tree.enabled", false);
+
     /**
      * The number of threads that the client engine has available for processing
      * requests that are related to the query engine.
@@ -1281,6 +1330,23 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_EVICTION_BATCH_SIZE
             = new HazelcastProperty("hazelcast.map.eviction.batch.size", 1);
 
+    /**
+     * Enables the compact record storage for maps with {@code BINARY} and
+     * {@code OBJECT} in-memory formats. When enabled, the keys, values and
+     * metadata of the records of a partition are kept in parallel arrays
+     * instead of one entry, key and record object per map entry, which
+     * reduces the per-entry heap overhead and the work of the garbage
+     * collector. Deserialized values are not cached by compact records,
+     * so {@code CacheDeserializedValues} has no effect on such maps.
+     * Since the compact storage must only be accessed by the partition
+     * threads, queries which cannot be answered by an index scan the
+     * partitions on the partition threads, as for {@code NATIVE} maps.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty MAP_COMPACT_STORAGE_ENABLED
+            = new HazelcastProperty("hazelcast.map.compact.storage.enabled", false);
+
     /**
      * Defines Near Cache invalidation event batch sending is enabled or not.
      */
@@ -1875,6 +1941,34 @@ public final class ClusterProperty {
     public static final HazelcastProperty PROCESSOR_CUSTOM_LIB_DIR
             = new HazelcastProperty("hazelcast.jet.custom.lib.dir", "custom-lib");
 
+    /**
+     * When {@code true}, the batch sort, the batch aggregation by key and
+     * the SQL hash join write their state to local disk when they reach the
+     * {@linkplain com.hazelcast.jet.config.JetConfig#setMaxProcessorAccumulatedRecords
+     * accumulation limit}, instead of failing the job. The spilled state is
+     * read back when the input is complete. See {@link #JET_SPILL_DIR}.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @since 6.0
+     */
+    @Beta
+    public static final HazelcastProperty JET_SPILL_ENABLED
+            = new HazelcastProperty("hazelcast.jet.spill.enabled", false);
+
+    /**
+     * The directory the processors write the spilled state to, see {@link
+     * #JET_SPILL_ENABLED}. The files are deleted when the job completes.
+     * <p>
+     * The default is the directory set by the {@code java.io.tmpdir} system
+     * property.
+     *
+     * @since 6.0
+     */
+    @Beta
+    public static final HazelcastProperty JET_SPILL_DIR
+            = new HazelcastProperty("hazelcast.jet.spill.dir");
+
     /**
      * Controls whether cluster emojis can be used in log messages. This is just a hint for components calling the logging.
      *
@@ -1911,6 +2005,33 @@ public final class ClusterProperty {
     public static final HazelcastProperty SQL_TSTORE_ENABLED = new HazelcastProperty(
             "hazelcast.sql.tstore.enabled", false);
 
+    /**
+     * When {@code true}, the filters and projections of SQL queries are
+     * compiled to JVM bytecode on every member before the execution, so they
+     * don't have to be interpreted for every row. The expressions which can't
+     * be compiled are still interpreted. The compiled classes are shared by
+     * the queries which only differ in their literals.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty SQL_EXPRESSION_COMPILATION_ENABLED = new HazelcastProperty(
+            "hazelcast.sql.expression.compilation.enabled", true);
+
+    /**
+     * When {@code true}, the SQL optimizer uses the statistics of the
+     * fields of the IMap mappings: the number of distinct values, the
+     * fraction of nulls and the histogram of the numeric values. The
+     * statistics are estimated in the background from a sample of the
+     * entries owned by the member planning the query, and refreshed when
+     * the size of the map changes. Until they are collected, the optimizer
+     * estimates the selectivity of the filters heuristically.
+     *
+     * @since 6.0
+     */
+    @Beta
+    public static final HazelcastProperty SQL_STATISTICS_ENABLED = new HazelcastProperty(
+            "hazelcast.sql.statistics.enabled", false);
+
 
     /**
      * When {@code true}, enables monitoring of the runtime environment to detect the intent of shutdown
@@ -2005,6 +2126,34 @@ public final class ClusterProperty {
     public static final HazelcastProperty EXPENSIVE_IMAP_INVOCATION_REPORTING_THRESHOLD
             = new HazelcastProperty("hazelcast.expensive.imap.invocation.reporting.threshold", 100);
 
+    /**
+     * The member-wide quota of the heap memory held by the entries of
+     * {@link IMap}s, {@link com.hazelcast.cache.ICache}s, queues and
+     * ringbuffers, as a percentage of the maximum heap size. When the memory
+     * accounted to these data structures exceeds the quota, entries of the
+     * maps and caches with eviction configured are evicted on every update
+     * and offers to queues and to ringbuffers with the
+     * {@link com.hazelcast.ringbuffer.OverflowPolicy#FAIL FAIL} overflow policy
+     * are rejected, until enough memory is released.
+     * <p>
+     * The memory of {@code NATIVE} data structures is not accounted. The
+     * default value is {@code 0}, which disables the quota.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty MEMORY_QUOTA_HEAP_PERCENTAGE
+            = new HazelcastProperty("hazelcast.memory.quota.heap.percentage", 0);
+
+    /**
+     * The period of the accounting of the memory held by the data structures
+     * against {@link #MEMORY_QUOTA_HEAP_PERCENTAGE}. The quota may be exceeded
+     * by the memory allocated within a period.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty MEMORY_QUOTA_CHECK_PERIOD_MILLIS
+            = new HazelcastProperty("hazelcast.memory.quota.check.period.millis", 1000, MILLISECONDS);
+
     private ClusterProperty() {
     }
 }
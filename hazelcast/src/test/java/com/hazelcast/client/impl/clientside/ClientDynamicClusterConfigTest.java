@@ -17,12 +17,15 @@
 package com.hazelcast.client.impl.clientside;
 
 import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.EvictionStrategy;
+import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.internal.dynamicconfig.DynamicConfigTest;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.After;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
@@ -52,4 +55,18 @@ public class ClientDynamicClusterConfigTest extends DynamicConfigTest {
     public void testDiagnosticsConfig() {
         // DiagnosticsConfig in dynamic config is only supported on members.
     }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMapConfig_withValueCompression() {
+        // value compression is not carried by the client protocol
+        driver.getConfig().addMapConfig(new MapConfig(randomMapName()).setValueCompressionEnabled(true));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMapConfig_withEvictionStrategy() {
+        // the eviction strategy is not carried by the client protocol
+        MapConfig mapConfig = new MapConfig(randomMapName());
+        mapConfig.getEvictionConfig().setEvictionStrategy(EvictionStrategy.POOL_BASED);
+        driver.getConfig().addMapConfig(mapConfig);
+    }
 }
@@ -340,6 +340,9 @@ public abstract class AbstractConfigBuilderTest extends HazelcastTestSupport {
     @Test
     public abstract void testMapCustomEvictionPolicy();
 
+    @Test
+    public abstract void testMapEvictionStrategy();
+
     @Test
     public abstract void testIndexesConfig();
 
@@ -1070,7 +1070,7 @@ public class ConfigCompatibilityChecker {
                     && nullSafeEqual(c1.getSize(), c2.getSize())
                     && nullSafeEqual(c1.getMaxSizePolicy(), c2.getMaxSizePolicy())
                     && nullSafeEqual(c1.getEvictionPolicy(), c2.getEvictionPolicy())
-                    && nullSafeEqual(c1.getEvictionStrategyType(), c2.getEvictionStrategyType())
+                    && nullSafeEqual(c1.getEvictionStrategy(), c2.getEvictionStrategy())
                     && nullSafeEqual(c1.getComparatorClassName(), c2.getComparatorClassName());
         }
 
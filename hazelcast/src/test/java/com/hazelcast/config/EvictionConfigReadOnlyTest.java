@@ -58,6 +58,11 @@ public class EvictionConfigReadOnlyTest {
         getReadOnlyConfig().setComparator(null);
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void setEvictionStrategyOnReadOnlyEvictionConfigShouldFail() {
+        getReadOnlyConfig().setEvictionStrategy(EvictionStrategy.POOL_BASED);
+    }
+
     @Test
     public void copy_constructor_copies_right_value_of_field_sizeConfigured() {
         EvictionConfig evictionConfig = new EvictionConfig();
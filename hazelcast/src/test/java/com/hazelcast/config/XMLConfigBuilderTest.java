@@ -2708,6 +2708,21 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(comparatorClassName, mapConfig.getEvictionConfig().getComparatorClassName());
     }
 
+    @Override
+    @Test
+    public void testMapEvictionStrategy() {
+        String xml = HAZELCAST_START_TAG
+                + "   <map name=\"mappy\">\n"
+                + "       <eviction eviction-policy=\"LRU\" eviction-strategy=\"POOL_BASED\" />"
+                + "   </map>"
+                + HAZELCAST_END_TAG;
+
+        Config config = buildConfig(xml);
+        EvictionConfig evictionConfig = config.getMapConfig("mappy").getEvictionConfig();
+
+        assertEquals(EvictionStrategy.POOL_BASED, evictionConfig.getEvictionStrategy());
+    }
+
     @Override
     @Test
     public void testIndexesConfig() {
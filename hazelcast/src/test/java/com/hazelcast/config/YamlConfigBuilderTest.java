@@ -2805,6 +2805,23 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(comparatorClassName, mapConfig.getEvictionConfig().getComparatorClassName());
     }
 
+    @Override
+    @Test
+    public void testMapEvictionStrategy() {
+        String yaml = ""
+                + "hazelcast:\n"
+                + "  map:\n"
+                + "    mappy:\n"
+                + "      eviction:\n"
+                + "         eviction-policy: LRU\n"
+                + "         eviction-strategy: POOL_BASED\n";
+
+        Config config = buildConfig(yaml);
+        EvictionConfig evictionConfig = config.getMapConfig("mappy").getEvictionConfig();
+
+        assertEquals(EvictionStrategy.POOL_BASED, evictionConfig.getEvictionStrategy());
+    }
+
     @Override
     @Test
     public void testIndexesConfig() {
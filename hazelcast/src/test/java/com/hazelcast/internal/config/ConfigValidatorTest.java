@@ -85,13 +85,31 @@ public class ConfigValidatorTest extends HazelcastTestSupport {
     }
 
     /**
-     * Not supported in open source version, so test is expected to throw exception.
+     * Native memory is not enabled, so test is expected to throw exception.
      */
     @Test(expected = InvalidConfigurationException.class)
     public void checkMapConfig_NATIVE() {
         checkMapConfig(new Config(), getMapConfig(NATIVE), splitBrainMergePolicyProvider);
     }
 
+    @Test
+    public void checkMapConfig_NATIVE_whenNativeMemoryEnabled() {
+        Config config = new Config();
+        config.getNativeMemoryConfig().setEnabled(true);
+
+        checkMapConfig(config, getMapConfig(NATIVE), splitBrainMergePolicyProvider);
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void checkMapConfig_NATIVE_withHeapMaxSizePolicy() {
+        Config config = new Config();
+        config.getNativeMemoryConfig().setEnabled(true);
+        MapConfig mapConfig = getMapConfig(NATIVE);
+        mapConfig.getEvictionConfig().setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE);
+
+        checkMapConfig(config, mapConfig, splitBrainMergePolicyProvider);
+    }
+
     /**
      * Not supported in open source version, so test is expected to throw exception.
      */
@@ -40,6 +40,7 @@ import com.hazelcast.config.EntryListenerConfig;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.EvictionStrategy;
 import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.config.FlakeIdGeneratorConfig;
 import com.hazelcast.config.InMemoryFormat;
@@ -197,6 +198,22 @@ public abstract class AbstractDynamicConfigGeneratorTest extends HazelcastTestSu
         assertEquals(expectedConfig, actualConfig);
     }
 
+    @Test
+    public void testMapEvictionStrategy() {
+        MapConfig expectedConfig = newMapConfig()
+                .setName("testMapEvictionStrategy");
+        expectedConfig.getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LFU)
+                .setEvictionStrategy(EvictionStrategy.POOL_BASED);
+        Config config = new Config()
+                .addMapConfig(expectedConfig);
+
+        Config decConfig = getNewConfigViaGenerator(config);
+        MapConfig actualConfig = decConfig.getMapConfig("testMapEvictionStrategy");
+        assertEquals(EvictionStrategy.POOL_BASED, actualConfig.getEvictionConfig().getEvictionStrategy());
+        assertEquals(expectedConfig, actualConfig);
+    }
+
     @Test
     public void testMapWithoutMerkleTreeConfig() {
         MapConfig expectedConfig = newMapConfig()
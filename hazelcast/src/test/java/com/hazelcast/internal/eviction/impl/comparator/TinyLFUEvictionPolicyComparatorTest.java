@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.spi.eviction.EvictableEntryView;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TinyLFUEvictionPolicyComparatorTest {
+
+    private final TinyLFUEvictionPolicyComparator comparator = new TinyLFUEvictionPolicyComparator();
+
+    @Test
+    public void lessFrequentlyAccessedEntrySelected() {
+        recordAccesses("frequent", 5);
+        recordAccesses("rare", 1);
+
+        TestEntryView frequent = new TestEntryView("frequent", 0, 0);
+        TestEntryView rare = new TestEntryView("rare", 0, 10);
+
+        assertTrue(comparator.compare(rare, frequent) < 0);
+        assertTrue(comparator.compare(frequent, rare) > 0);
+    }
+
+    @Test
+    public void leastRecentlyUsedEntrySelected_whenFrequenciesAreSame() {
+        recordAccesses("old", 2);
+        recordAccesses("new", 2);
+
+        TestEntryView old = new TestEntryView("old", 1, 5);
+        TestEntryView recent = new TestEntryView("new", 1, 10);
+
+        assertTrue(comparator.compare(old, recent) < 0);
+    }
+
+    @Test
+    public void admit() {
+        recordAccesses("frequent", 5);
+        recordAccesses("rare", 1);
+        recordAccesses("victim", 2);
+
+        assertTrue(comparator.admit("frequent", "victim"));
+        assertFalse(comparator.admit("rare", "victim"));
+        // the frequencies are remembered after eviction
+        assertFalse(comparator.admit("victim", "frequent"));
+    }
+
+    private void recordAccesses(Object key, int count) {
+        for (int i = 0; i < count; i++) {
+            comparator.recordAccess(key);
+        }
+    }
+
+    private static class TestEntryView implements EvictableEntryView<Object, Object> {
+
+        private final Object key;
+        private final long creationTime;
+        private final long lastAccessTime;
+
+        TestEntryView(Object key, long creationTime, long lastAccessTime) {
+            this.key = key;
+            this.creationTime = creationTime;
+            this.lastAccessTime = lastAccessTime;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+        @Override
+        public long getHits() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
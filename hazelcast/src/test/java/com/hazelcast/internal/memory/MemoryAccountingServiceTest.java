@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.memory;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.impl.queue.QueueService;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MEMORY_QUOTA_CHECK_PERIOD_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.MEMORY_QUOTA_HEAP_PERCENTAGE;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MemoryAccountingServiceTest extends HazelcastTestSupport {
+
+    private static final int ITEM_SIZE = 1 << 20;
+
+    @Test
+    public void testQuotaDisabledByDefault() {
+        HazelcastInstance instance = createHazelcastInstance();
+        MemoryAccountingService service = getNodeEngineImpl(instance).getMemoryAccountingService();
+
+        instance.getQueue("queue").offer(new byte[ITEM_SIZE]);
+        service.run();
+
+        assertEquals(0, service.getQuotaBytes());
+        assertFalse(service.isQuotaExceeded());
+    }
+
+    @Test
+    public void testQueueOffersRejected_whenQuotaExceeded() {
+        HazelcastInstance instance = createHazelcastInstance(quotaConfig());
+        MemoryAccountingService service = getNodeEngineImpl(instance).getMemoryAccountingService();
+        IQueue<byte[]> queue = instance.getQueue("queue");
+
+        long itemCount = service.getQuotaBytes() / ITEM_SIZE + 1;
+        for (int i = 0; i < itemCount; i++) {
+            assertTrue(queue.offer(new byte[ITEM_SIZE]));
+        }
+        service.run();
+
+        assertTrue(service.getUsedBytes() > service.getQuotaBytes());
+        assertTrue(service.isQuotaExceeded());
+        assertFalse(queue.offer(new byte[ITEM_SIZE]));
+
+        queue.clear();
+        service.run();
+
+        assertEquals(0, service.getUsedBytes());
+        assertFalse(service.isQuotaExceeded());
+        assertTrue(queue.offer(new byte[ITEM_SIZE]));
+    }
+
+    @Test
+    public void testOnlyContainersAboveTheirShareExceedQuota() {
+        HazelcastInstance instance = createHazelcastInstance(quotaConfig());
+        NodeEngineImpl nodeEngine = getNodeEngineImpl(instance);
+        MemoryAccountingService service = nodeEngine.getMemoryAccountingService();
+        QueueService queueService = nodeEngine.getService(QueueService.SERVICE_NAME);
+        IQueue<byte[]> largeQueue = instance.getQueue("large");
+        IQueue<byte[]> smallQueue = instance.getQueue("small");
+
+        long itemCount = service.getQuotaBytes() / ITEM_SIZE + 1;
+        for (int i = 0; i < itemCount; i++) {
+            largeQueue.offer(new byte[ITEM_SIZE]);
+        }
+        smallQueue.offer(new byte[ITEM_SIZE]);
+        service.run();
+
+        long largeHeapCost = queueService.getExistingContainerOrNull("large").getHeapCost();
+        long smallHeapCost = queueService.getExistingContainerOrNull("small").getHeapCost();
+        assertTrue(service.isQuotaExceeded());
+        assertTrue(service.isContainerQuotaExceeded(largeHeapCost));
+        assertFalse(service.isContainerQuotaExceeded(smallHeapCost));
+    }
+
+    @Test
+    public void testSmallMapNotEvicted_whenQuotaExceededByOthers() {
+        Config config = quotaConfig();
+        MapConfig mapConfig = config.getMapConfig("small");
+        mapConfig.getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                .setSize(Integer.MAX_VALUE);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        MemoryAccountingService service = getNodeEngineImpl(instance).getMemoryAccountingService();
+        IQueue<byte[]> queue = instance.getQueue("queue");
+        IMap<Integer, Integer> map = instance.getMap("small");
+
+        long itemCount = service.getQuotaBytes() / ITEM_SIZE + 1;
+        for (int i = 0; i < itemCount; i++) {
+            queue.offer(new byte[ITEM_SIZE]);
+        }
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        service.run();
+        assertTrue(service.isQuotaExceeded());
+
+        for (int i = 100; i < 200; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(200, map.size());
+    }
+
+    private Config quotaConfig() {
+        return smallInstanceConfig()
+                .setProperty(MEMORY_QUOTA_HEAP_PERCENTAGE.getName(), "1")
+                // checks are triggered by the test
+                .setProperty(MEMORY_QUOTA_CHECK_PERIOD_MILLIS.getName(), String.valueOf(Integer.MAX_VALUE));
+    }
+}
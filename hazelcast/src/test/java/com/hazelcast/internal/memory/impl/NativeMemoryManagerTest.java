@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeMemoryManagerTest extends AbstractUnsafeDependentMemoryAccessorTest {
+
+    private static final int MIN_BLOCK_SIZE = 16;
+    private static final int PAGE_SIZE = 1 << 12;
+    private static final long CAPACITY = 1 << 16;
+
+    @Test
+    public void testDispose_freesLiveBlocks_standard() {
+        NativeMemoryManager manager = new NativeMemoryManager(CAPACITY, MemoryAllocatorType.STANDARD,
+                MIN_BLOCK_SIZE, PAGE_SIZE);
+        MemoryAllocator allocator = manager.getAllocator();
+        allocator.allocate(64);
+        long address = allocator.allocate(128);
+        allocator.reallocate(address, 128, 256);
+
+        manager.dispose();
+
+        assertEquals(0, manager.getCommittedNative());
+    }
+
+    @Test
+    public void testDispose_freesLiveBlocks_pooled() {
+        NativeMemoryManager manager = new NativeMemoryManager(CAPACITY, MemoryAllocatorType.POOLED,
+                MIN_BLOCK_SIZE, PAGE_SIZE);
+        MemoryAllocator allocator = manager.getAllocator();
+        allocator.allocate(64);
+        // bypasses the pool
+        allocator.allocate(2 * PAGE_SIZE);
+
+        manager.dispose();
+
+        assertEquals(0, manager.getCommittedNative());
+    }
+
+    @Test
+    public void testFree_afterDispose_isIgnored() {
+        NativeMemoryManager manager = new NativeMemoryManager(CAPACITY, MemoryAllocatorType.STANDARD,
+                MIN_BLOCK_SIZE, PAGE_SIZE);
+        MemoryAllocator allocator = manager.getAllocator();
+        long address = allocator.allocate(64);
+        manager.dispose();
+
+        allocator.free(address, 64);
+
+        assertEquals(0, manager.getCommittedNative());
+    }
+
+    @Test
+    public void testFree_afterDispose_isIgnored_pooled() {
+        NativeMemoryManager manager = new NativeMemoryManager(CAPACITY, MemoryAllocatorType.POOLED,
+                MIN_BLOCK_SIZE, PAGE_SIZE);
+        MemoryAllocator allocator = manager.getAllocator();
+        long address = allocator.allocate(64);
+        long largeAddress = allocator.allocate(2 * PAGE_SIZE);
+        manager.dispose();
+
+        // would link the block into the free list of a disposed page
+        allocator.free(address, 64);
+        allocator.free(largeAddress, 2 * PAGE_SIZE);
+
+        assertEquals(0, manager.getCommittedNative());
+        assertEquals(0, manager.getUsedNative());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAllocate_afterDispose_fails_standard() {
+        NativeMemoryManager manager = new NativeMemoryManager(CAPACITY, MemoryAllocatorType.STANDARD,
+                MIN_BLOCK_SIZE, PAGE_SIZE);
+        manager.dispose();
+
+        manager.getAllocator().allocate(64);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAllocate_afterDispose_fails_pooled() {
+        NativeMemoryManager manager = new NativeMemoryManager(CAPACITY, MemoryAllocatorType.POOLED,
+                MIN_BLOCK_SIZE, PAGE_SIZE);
+        manager.dispose();
+
+        manager.getAllocator().allocate(64);
+    }
+}
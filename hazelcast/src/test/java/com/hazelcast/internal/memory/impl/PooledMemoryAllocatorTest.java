@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PooledMemoryAllocatorTest extends AbstractUnsafeDependentMemoryAccessorTest {
+
+    private static final int MIN_BLOCK_SIZE = 16;
+    private static final int PAGE_SIZE = 1 << 12;
+    private static final long CAPACITY = 1 << 16;
+
+    private UnsafeMemoryAllocator systemAllocator;
+    private PooledMemoryAllocator allocator;
+
+    @Before
+    public void setUp() {
+        systemAllocator = new UnsafeMemoryAllocator(CAPACITY);
+        allocator = new PooledMemoryAllocator(systemAllocator, MIN_BLOCK_SIZE, PAGE_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+        allocator.dispose();
+    }
+
+    @Test
+    public void testAllocate_roundsUpToSizeClass() {
+        allocator.allocate(20);
+
+        assertEquals(32, allocator.blockSizeOf(20));
+        assertEquals(32, allocator.getUsedMemory());
+        assertEquals(PAGE_SIZE, allocator.getCommittedMemory());
+    }
+
+    @Test
+    public void testAllocate_returnsZeroedBlock() {
+        long address = allocator.allocate(64);
+        MEM.putLong(address, 42);
+        MEM.putLong(address + 56, 42);
+        allocator.free(address, 64);
+
+        long reused = allocator.allocate(64);
+
+        assertEquals(address, reused);
+        assertEquals(0, MEM.getLong(reused));
+        assertEquals(0, MEM.getLong(reused + 56));
+    }
+
+    @Test
+    public void testFree_blockIsReused() {
+        long address = allocator.allocate(MIN_BLOCK_SIZE);
+        allocator.free(address, MIN_BLOCK_SIZE);
+
+        assertEquals(0, allocator.getUsedMemory());
+        assertEquals(address, allocator.allocate(MIN_BLOCK_SIZE));
+        assertEquals(PAGE_SIZE, allocator.getCommittedMemory());
+    }
+
+    @Test
+    public void testAllocate_distinctBlocks() {
+        long first = allocator.allocate(MIN_BLOCK_SIZE);
+        long second = allocator.allocate(MIN_BLOCK_SIZE);
+
+        assertNotEquals(first, second);
+        assertEquals(2 * MIN_BLOCK_SIZE, allocator.getUsedMemory());
+    }
+
+    @Test
+    public void testAllocate_largerThanPage() {
+        long address = allocator.allocate(PAGE_SIZE + 1);
+
+        assertEquals(PAGE_SIZE + 1, allocator.getUsedMemory());
+        assertEquals(PAGE_SIZE + 1, systemAllocator.getUsedMemory());
+
+        allocator.free(address, PAGE_SIZE + 1);
+
+        assertEquals(0, allocator.getUsedMemory());
+        assertEquals(0, systemAllocator.getUsedMemory());
+    }
+
+    @Test
+    public void testReallocate_withinSizeClass() {
+        long address = allocator.allocate(17);
+        MEM.putLong(address, 42);
+
+        assertEquals(address, allocator.reallocate(address, 17, 30));
+        assertEquals(42, MEM.getLong(address));
+    }
+
+    @Test
+    public void testReallocate_toLargerSizeClass() {
+        long address = allocator.allocate(16);
+        MEM.putLong(address, 42);
+
+        long newAddress = allocator.reallocate(address, 16, 100);
+
+        assertEquals(42, MEM.getLong(newAddress));
+        assertEquals(128, allocator.getUsedMemory());
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void testAllocate_whenCapacityExceeded() {
+        for (int i = 0; i <= CAPACITY / PAGE_SIZE; i++) {
+            allocator.allocate(PAGE_SIZE);
+        }
+    }
+
+    @Test
+    public void testDispose_returnsPages() {
+        allocator.allocate(MIN_BLOCK_SIZE);
+        allocator.allocate(PAGE_SIZE);
+
+        allocator.dispose();
+
+        assertEquals(0, allocator.getUsedMemory());
+        assertEquals(0, allocator.getCommittedMemory());
+        assertEquals(0, systemAllocator.getUsedMemory());
+    }
+
+    @Test
+    public void testCompaction_releasesEvacuatedPages() {
+        int blockSize = 64;
+        long[] blocks = new long[4 * PAGE_SIZE / blockSize];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = allocator.allocate(blockSize);
+        }
+        // leave every page mostly free
+        for (int i = 0; i < blocks.length; i++) {
+            if (i % 8 != 0) {
+                allocator.free(blocks[i], blockSize);
+            }
+        }
+        assertEquals(4 * PAGE_SIZE - blocks.length / 8 * blockSize, allocator.getFreePooledMemory());
+
+        assertEquals(3, allocator.startCompaction(0.5));
+        assertTrue(allocator.isCompacting());
+
+        for (int i = 0; i < blocks.length; i += 8) {
+            if (allocator.isEvacuating(blocks[i])) {
+                long newAddress = allocator.allocate(blockSize);
+                assertFalse(allocator.isEvacuating(newAddress));
+                allocator.free(blocks[i], blockSize);
+            }
+        }
+
+        assertFalse(allocator.isCompacting());
+        assertEquals(PAGE_SIZE, allocator.getCommittedMemory());
+        assertEquals(3 * PAGE_SIZE, allocator.getReclaimedMemory());
+        assertEquals(blocks.length / 8 * blockSize, allocator.getUsedMemory());
+    }
+
+    @Test
+    public void testCompaction_whenPagesAreFull() {
+        long address = allocator.allocate(PAGE_SIZE);
+
+        assertEquals(0, allocator.startCompaction(0.5));
+        assertFalse(allocator.isCompacting());
+        assertFalse(allocator.isEvacuating(address));
+    }
+
+    @Test
+    public void testStartCompaction_releasesFreePages() {
+        long[] blocks = new long[PAGE_SIZE / MIN_BLOCK_SIZE * 2];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = allocator.allocate(MIN_BLOCK_SIZE);
+        }
+        for (int i = 1; i < blocks.length; i++) {
+            allocator.free(blocks[i], MIN_BLOCK_SIZE);
+        }
+
+        allocator.startCompaction(0.5);
+        allocator.finishCompaction();
+
+        assertEquals(PAGE_SIZE, allocator.getCommittedMemory());
+        assertEquals(PAGE_SIZE, allocator.getReclaimedMemory());
+        for (int i = 1; i < blocks.length / 2; i++) {
+            allocator.allocate(MIN_BLOCK_SIZE);
+        }
+        assertEquals(PAGE_SIZE, allocator.getCommittedMemory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenMinBlockSizeNotPowerOfTwo() {
+        new PooledMemoryAllocator(systemAllocator, 24, PAGE_SIZE);
+    }
+}
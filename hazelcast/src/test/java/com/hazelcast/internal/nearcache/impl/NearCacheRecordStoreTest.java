@@ -36,6 +36,7 @@ import org.junit.runners.Parameterized.UseParametersRunnerFactory;
 import java.util.Collection;
 
 import static java.util.Arrays.asList;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParametrizedRunner.class)
@@ -139,6 +140,41 @@ public class NearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
         doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, EvictionPolicy.RANDOM);
     }
 
+    @Test
+    public void evictionTriggeredAndHandledSuccessfullyWithEntryCountMaxSizePolicyAndTinyLFUEvictionPolicy() {
+        doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, EvictionPolicy.TINY_LFU);
+    }
+
+    @Test
+    public void tinyLFUAdmitsOnlyMoreFrequentlyAccessedKeys() {
+        int maxSize = 10;
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(maxSize)
+                .setEvictionPolicy(EvictionPolicy.TINY_LFU);
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, inMemoryFormat)
+                .setEvictionConfig(evictionConfig);
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(nearCacheConfig, inMemoryFormat);
+
+        for (int i = 0; i < maxSize; i++) {
+            nearCacheRecordStore.put(i, null, "Record-" + i, null);
+            for (int j = 0; j < 3; j++) {
+                nearCacheRecordStore.get(i);
+            }
+        }
+        // cached keys are always admitted
+        assertTrue(nearCacheRecordStore.admit(0));
+
+        // one-hit wonder
+        nearCacheRecordStore.get(100);
+        assertFalse(nearCacheRecordStore.admit(100));
+
+        for (int j = 0; j < 10; j++) {
+            nearCacheRecordStore.get(200);
+        }
+        assertTrue(nearCacheRecordStore.admit(200));
+    }
+
     @Test
     public void evictionTriggeredAndHandledSuccessfullyWithEntryCountMaxSizePolicyAndDefaultEvictionPolicy() {
         doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, null);
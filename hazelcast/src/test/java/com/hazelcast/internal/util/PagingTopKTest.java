@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PagingTopKTest {
+
+    private InternalSerializationService serializationService;
+    private Extractors extractors;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        extractors = Extractors.newBuilder(serializationService).build();
+    }
+
+    @Test
+    public void testKeepsEntriesUpToRequestedPage() {
+        PagingPredicateImpl<Integer, Integer> predicate = pagingPredicate(10, 2);
+        PagingTopK topK = new PagingTopK(predicate, predicate.getNearestAnchorEntry());
+
+        offerShuffled(topK, 1000);
+
+        assertEquals(30, topK.getLimit());
+        assertEquals(30, topK.size());
+        assertValues(0, 30, topK.toSortedList());
+    }
+
+    @Test
+    public void testKeepsEntriesAfterNearestAnchor() {
+        PagingPredicateImpl<Integer, Integer> predicate = pagingPredicate(10, 3);
+        predicate.setAnchor(0, entry(9));
+        predicate.setAnchor(1, entry(19));
+        PagingTopK topK = new PagingTopK(predicate, predicate.getNearestAnchorEntry());
+
+        offerShuffled(topK, 1000);
+
+        assertEquals(20, topK.getLimit());
+        assertValues(20, 40, topK.toSortedList());
+    }
+
+    @Test
+    public void testKeepsAllEntriesWhenFewerThanLimit() {
+        PagingPredicateImpl<Integer, Integer> predicate = pagingPredicate(100, 0);
+        PagingTopK topK = new PagingTopK(predicate, predicate.getNearestAnchorEntry());
+
+        offerShuffled(topK, 42);
+
+        assertEquals(42, topK.size());
+        assertValues(0, 42, topK.toSortedList());
+    }
+
+    @Test
+    public void testAccepts() {
+        PagingPredicateImpl<Integer, Integer> predicate = pagingPredicate(2, 0);
+        PagingTopK topK = new PagingTopK(predicate, predicate.getNearestAnchorEntry());
+
+        assertTrue(topK.offer(entry(5)));
+        assertTrue(topK.offer(entry(3)));
+        assertFalse(topK.accepts(entry(7)));
+        assertFalse(topK.offer(entry(7)));
+        assertTrue(topK.accepts(entry(4)));
+        assertTrue(topK.offer(entry(1)));
+
+        assertValues(1, 2, topK.toSortedList().subList(0, 1));
+        assertEquals(3, (int) topK.toSortedList().get(1).getValue());
+    }
+
+    @Test
+    public void testRejectsEntriesBeforeAnchor() {
+        PagingPredicateImpl<Integer, Integer> predicate = pagingPredicate(5, 1);
+        predicate.setAnchor(0, entry(4));
+        PagingTopK topK = new PagingTopK(predicate, predicate.getNearestAnchorEntry());
+
+        assertFalse(topK.accepts(entry(4)));
+        assertFalse(topK.accepts(entry(0)));
+        assertTrue(topK.accepts(entry(5)));
+    }
+
+    private void offerShuffled(PagingTopK topK, int count) {
+        List<Integer> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(42));
+        for (int value : values) {
+            topK.offer(entry(value));
+        }
+    }
+
+    private QueryableEntry<Integer, Integer> entry(int value) {
+        return new CachedQueryEntry<>(serializationService, serializationService.toData(value), value, extractors);
+    }
+
+    private static PagingPredicateImpl<Integer, Integer> pagingPredicate(int pageSize, int page) {
+        Comparator<Map.Entry<Integer, Integer>> comparator = Map.Entry.comparingByValue();
+        PagingPredicateImpl<Integer, Integer> predicate = new PagingPredicateImpl<>(comparator, pageSize);
+        predicate.setIterationType(IterationType.ENTRY);
+        predicate.setPage(page);
+        return predicate;
+    }
+
+    private static void assertValues(int from, int to, List<QueryableEntry> entries) {
+        assertEquals(to - from, entries.size());
+        for (int i = from; i < to; i++) {
+            assertEquals(i, (int) (Integer) entries.get(i - from).getValue());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.function.Functions.wholeItem;
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertAnyOrder;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertOrdered;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpillingTest extends SimpleTestInClusterSupport {
+
+    private static final int MAX_PROCESSOR_ACCUMULATED_RECORDS = 5;
+    private static final int ITEM_COUNT = 100;
+
+    @ClassRule
+    public static TemporaryFolder spillDir = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUp() {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.JET_SPILL_ENABLED.getName(), "true");
+        config.setProperty(ClusterProperty.JET_SPILL_DIR.getName(), spillDir.getRoot().getAbsolutePath());
+        config.getJetConfig()
+                .setCooperativeThreadCount(1)
+                .setMaxProcessorAccumulatedRecords(MAX_PROCESSOR_ACCUMULATED_RECORDS);
+
+        initialize(1, config);
+    }
+
+    @Test
+    public void when_sortExceedsLimit_then_spills() {
+        List<Integer> items = list();
+        Collections.shuffle(items);
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(items))
+                .sort()
+                .writeTo(assertOrdered(list()));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertThat(spillDir.getRoot().list()).isEmpty();
+    }
+
+    @Test
+    public void when_groupingExceedsLimit_then_spills() {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(list()))
+                .groupingKey(wholeItem())
+                .aggregate(counting())
+                .writeTo(assertAnyOrder(cardinalities()));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertThat(spillDir.getRoot().list()).isEmpty();
+    }
+
+    private static List<Integer> list() {
+        return IntStream.range(0, ITEM_COUNT).boxed().collect(toList());
+    }
+
+    private static Collection<Entry<Integer, Long>> cardinalities() {
+        return IntStream.range(0, ITEM_COUNT).mapToObj(i -> entry(i, 1L)).collect(toList());
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.lessThan;
+import static com.hazelcast.query.Predicates.notEqual;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public abstract class AbstractMapQueryIteratorTest extends HazelcastTestSupport {
+
+    protected TestHazelcastFactory factory;
+    protected HazelcastInstance instanceProxy;
+
+    @After
+    public void teardown() {
+        factory.terminateAll();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_predicate_throws_exception() {
+        IMap<Integer, Integer> map = instanceProxy.getMap(randomMapName());
+        map.iterator(10, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_non_positive_fetchSize_throws_exception() {
+        IMap<Integer, Integer> map = instanceProxy.getMap(randomMapName());
+        map.iterator(0, Predicates.alwaysTrue());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void test_next_throws_exception_on_empty_map() {
+        IMap<Integer, Integer> map = instanceProxy.getMap(randomMapName());
+        map.iterator(10, Predicates.alwaysTrue()).next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_remove_throws_exception() {
+        IMap<Integer, Integer> map = fillMap(10);
+        Iterator<Entry<Integer, Integer>> iterator = map.iterator(10, Predicates.alwaysTrue());
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test
+    public void test_scan() {
+        IMap<Integer, Integer> map = fillMap(1000);
+
+        assertMatchesEntrySet(map, greaterEqual("this", 600));
+        assertMatchesEntrySet(map, notEqual("this", 5));
+        assertMatchesEntrySet(map, Predicates.alwaysFalse());
+    }
+
+    @Test
+    public void test_sortedIndex() {
+        IMap<Integer, Integer> map = fillMap(1000);
+        map.addIndex(IndexType.SORTED, "this");
+
+        assertMatchesEntrySet(map, between("this", 100, 250));
+        assertMatchesEntrySet(map, lessThan("this", 42));
+        assertMatchesEntrySet(map, equal("this", 7));
+        assertMatchesEntrySet(map, in("this", 1, 3, 3, 900, 5000));
+        assertMatchesEntrySet(map, and(greaterEqual("this", 300), notEqual("__key", 350)));
+    }
+
+    @Test
+    public void test_hashIndex() {
+        IMap<Integer, Integer> map = fillMap(1000);
+        map.addIndex(IndexType.HASH, "this");
+
+        assertMatchesEntrySet(map, equal("this", 7));
+        assertMatchesEntrySet(map, in("this", 1, 3, 3, 900, 5000));
+        assertMatchesEntrySet(map, between("this", 100, 250));
+    }
+
+    @Test
+    public void test_index_reflects_updates() {
+        IMap<Integer, Integer> map = fillMap(100);
+        map.addIndex(IndexType.SORTED, "this");
+        map.put(5, 1000);
+        map.remove(6);
+
+        Map<Integer, Integer> result = collect(map.iterator(7, greaterEqual("this", 5)));
+
+        assertEquals(Integer.valueOf(1000), result.get(5));
+        assertFalse(result.containsKey(6));
+        assertEquals(map.entrySet(greaterEqual("this", 5)).size(), result.size());
+    }
+
+    @Test
+    public void test_partitionPredicate() {
+        IMap<Integer, Integer> map = fillMap(1000);
+
+        assertMatchesEntrySet(map, Predicates.partitionPredicate(42, Predicates.alwaysTrue()));
+        assertMatchesEntrySet(map, Predicates.multiPartitionPredicate(Set.of(1, 2, 3), lessThan("this", 500)));
+    }
+
+    @Test
+    public void test_pagingPredicate() {
+        IMap<Integer, Integer> map = fillMap(100);
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(lessThan("this", 50), 7);
+
+        Iterator<Entry<Integer, Integer>> iterator = map.iterator(1, predicate);
+        int expected = 0;
+        while (iterator.hasNext()) {
+            Entry<Integer, Integer> entry = iterator.next();
+            assertEquals(Integer.valueOf(expected++), entry.getKey());
+        }
+
+        assertEquals(50, expected);
+        assertEquals(7, predicate.getPage());
+    }
+
+    @Test
+    public void test_stream() {
+        IMap<Integer, Integer> map = fillMap(1000);
+
+        int sum = map.stream(10, lessThan("this", 100)).mapToInt(Entry::getValue).sum();
+
+        assertEquals(99 * 100 / 2, sum);
+    }
+
+    protected IMap<Integer, Integer> fillMap(int count) {
+        IMap<Integer, Integer> map = instanceProxy.getMap(randomMapName());
+        for (int i = 0; i < count; i++) {
+            map.put(i, i);
+        }
+        return map;
+    }
+
+    protected static void assertMatchesEntrySet(IMap<Integer, Integer> map, Predicate<Integer, Integer> predicate) {
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (Entry<Integer, Integer> entry : map.entrySet(predicate)) {
+            expected.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(expected, collect(map.iterator(3, predicate)));
+    }
+
+    protected static Map<Integer, Integer> collect(Iterator<Entry<Integer, Integer>> iterator) {
+        Map<Integer, Integer> result = new HashMap<>();
+        while (iterator.hasNext()) {
+            Entry<Integer, Integer> entry = iterator.next();
+            assertNull("Duplicate entry " + entry, result.put(entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+}
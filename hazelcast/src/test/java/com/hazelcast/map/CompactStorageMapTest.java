@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.StorageCompactionTask;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.record.CompactRecord;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactStorageMapTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "compact";
+    private static final String EVICTED_MAP_NAME = "evicted";
+    private static final String STATS_MAP_NAME = "stats";
+    private static final int ENTRY_COUNT = 1000;
+
+    @Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    private HazelcastInstance instance;
+    private IMap<Integer, String> map;
+
+    @Parameters(name = "inMemoryFormat:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {InMemoryFormat.BINARY},
+                {InMemoryFormat.OBJECT},
+        });
+    }
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        config.setProperty(ClusterProperty.MAP_COMPACT_STORAGE_ENABLED.getName(), "true");
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(inMemoryFormat);
+        config.getMapConfig(STATS_MAP_NAME).setInMemoryFormat(inMemoryFormat).setPerEntryStatsEnabled(true);
+        config.getMapConfig(EVICTED_MAP_NAME).setInMemoryFormat(inMemoryFormat)
+                .getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(1);
+
+        instance = createHazelcastInstance(config);
+        map = instance.getMap(MAP_NAME);
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, map.get(i));
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            assertEquals("value-" + i, map.remove(i));
+        }
+
+        assertEquals(ENTRY_COUNT / 2, map.size());
+        assertNull(map.get(0));
+        assertTrue(map.containsKey(1));
+        assertFalse(map.containsKey(2));
+    }
+
+    @Test
+    public void testRemovedSlotsAreReused() {
+        int firstRoundMaxRecordId = -1;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                map.put(i, "value-" + round + "-" + i);
+            }
+            int maxRecordId = maxRecordId();
+            if (round == 0) {
+                firstRoundMaxRecordId = maxRecordId;
+            } else {
+                assertTrue("the slots of the removed records were not reused, max id: " + maxRecordId
+                        + ", max id of the first round: " + firstRoundMaxRecordId, maxRecordId <= firstRoundMaxRecordId);
+            }
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                assertEquals("value-" + round + "-" + i, map.remove(i));
+            }
+        }
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testCompaction_whileQuerying() throws Exception {
+        int entryCount = 200 * instance.getPartitionService().getPartitions().size();
+        Map<Integer, String> entries = new HashMap<>();
+        for (int i = 0; i < entryCount; i++) {
+            entries.put(i, "value-" + i);
+        }
+        map.putAll(entries);
+        map.removeAll(entry -> entry.getKey() % 8 != 0);
+
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread querier = new Thread(() -> {
+            try {
+                while (!stopped.get()) {
+                    Set<Map.Entry<Integer, String>> result = map.entrySet(Predicates.alwaysTrue());
+                    assertEquals(entryCount / 8, result.size());
+                    for (Map.Entry<Integer, String> entry : result) {
+                        assertEquals("value-" + entry.getKey(), entry.getValue());
+                    }
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        querier.start();
+
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        StorageCompactionTask task = mapService.getMapServiceContext().getStorageCompactionTask();
+        try {
+            assertTrueEventually(() -> {
+                task.run();
+                assertTrue(map.getLocalMapStats().getCompactedEntryCount() > 0);
+            });
+        } finally {
+            stopped.set(true);
+            querier.join();
+        }
+
+        assertNull(failure.get());
+        for (int i = 0; i < entryCount; i += 8) {
+            assertEquals("value-" + i, map.get(i));
+        }
+    }
+
+    private int maxRecordId() {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        InternalSerializationService ss = getSerializationService(instance);
+        int maxRecordId = -1;
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Data key = ss.toData(i);
+            int partitionId = getNodeEngineImpl(instance).getPartitionService().getPartitionId(key);
+            RecordStore<?> recordStore = mapServiceContext.getRecordStore(partitionId, MAP_NAME);
+            maxRecordId = Math.max(maxRecordId, ((CompactRecord<?>) recordStore.getRecord(key)).id());
+        }
+        return maxRecordId;
+    }
+
+    @Test
+    public void testUpdate() {
+        map.put(1, "a");
+        map.set(1, "b");
+
+        assertEquals("b", map.get(1));
+        assertEquals("b", map.replace(1, "c"));
+        assertEquals("c", map.get(1));
+        assertEquals(2, map.getEntryView(1).getVersion());
+    }
+
+    @Test
+    public void testIterationAndQuery() {
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            expected.put(i, "value-" + i);
+        }
+        map.putAll(expected);
+
+        assertEquals(expected.keySet(), map.keySet());
+
+        Set<Integer> iterated = new HashSet<>();
+        for (Map.Entry<Integer, String> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            iterated.add(entry.getKey());
+        }
+        assertEquals(expected.keySet(), iterated);
+
+        assertEquals(1, map.values(Predicates.equal("this", "value-42")).size());
+    }
+
+    @Test
+    public void testQuery_scansOnPartitionThreads() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        assertEquals(ENTRY_COUNT, map.values(new PartitionThreadCheckingPredicate()).size());
+        assertEquals(Set.of(), PartitionThreadCheckingPredicate.FOREIGN_THREADS);
+    }
+
+    /**
+     * Lays out the initial table of 256 slots of partition 0 by the home
+     * slots of the keys, so the insertions after the first fetched batch
+     * purge the tombstones. The iterated key is preceded by a tombstone it
+     * was displaced by, so it moves to a lower slot if the entries are
+     * moved by the purge.
+     */
+    @Test
+    public void testPartitionIteration_notDisturbedByTombstonePurge() {
+        int groupCount = 50;
+        Map<Integer, Deque<Integer>> keysByHomeSlot = keysOfPartitionZeroByHomeSlot(256, 2);
+
+        Set<Integer> stableKeys = new HashSet<>();
+        for (int group = 0; group < groupCount; group++) {
+            // removing the first two keys leaves tombstones no probe sequence passes through
+            int removed1 = keysByHomeSlot.get(4 * group).poll();
+            int removed2 = keysByHomeSlot.get(4 * group + 1).poll();
+            int stable = keysByHomeSlot.get(4 * group + 2).poll();
+            map.put(removed1, "a");
+            map.put(removed2, "b");
+            map.put(stable, "c");
+            map.remove(removed1);
+            map.remove(removed2);
+            stableKeys.add(stable);
+        }
+        int displacing = keysByHomeSlot.get(240).poll();
+        int displaced = keysByHomeSlot.get(240).poll();
+        map.put(displacing, "a");
+        map.put(displaced, "b");
+        map.remove(displacing);
+        stableKeys.add(displaced);
+
+        Iterator<Map.Entry<Integer, String>> iterator = ((MapProxyImpl<Integer, String>) map).iterator(1, 0, false);
+        List<Integer> iterated = new ArrayList<>();
+        iterated.add(iterator.next().getKey());
+        assertEquals(displaced, (int) iterated.get(0));
+        map.put(keysByHomeSlot.get(220).poll(), "d");
+        map.put(keysByHomeSlot.get(221).poll(), "e");
+        iterator.forEachRemaining(entry -> iterated.add(entry.getKey()));
+
+        assertEquals("keys iterated more than once: " + iterated, new HashSet<>(iterated).size(), iterated.size());
+        assertTrue("stable keys not iterated: " + iterated, iterated.containsAll(stableKeys));
+    }
+
+    private Map<Integer, Deque<Integer>> keysOfPartitionZeroByHomeSlot(int capacity, int keysPerSlot) {
+        InternalSerializationService ss = getSerializationService(instance);
+        Map<Integer, Deque<Integer>> keysByHomeSlot = new HashMap<>();
+        int completeSlots = 0;
+        for (int i = 0; completeSlots < capacity; i++) {
+            Data key = ss.toData(i);
+            if (getNodeEngineImpl(instance).getPartitionService().getPartitionId(key) != 0) {
+                continue;
+            }
+            Deque<Integer> keys = keysByHomeSlot.computeIfAbsent(key.hashCode() & (capacity - 1), k -> new ArrayDeque<>());
+            if (keys.size() < keysPerSlot && keys.add(i) && keys.size() == keysPerSlot) {
+                completeSlots++;
+            }
+        }
+        return keysByHomeSlot;
+    }
+
+    @Test
+    public void testPerEntryStats() {
+        IMap<Integer, String> statsMap = instance.getMap(STATS_MAP_NAME);
+        statsMap.put(1, "a");
+        statsMap.get(1);
+        statsMap.get(1);
+
+        EntryView<Integer, String> entryView = statsMap.getEntryView(1);
+
+        assertEquals(2, entryView.getHits());
+        assertTrue(entryView.getCreationTime() > 0);
+        assertTrue(entryView.getLastAccessTime() > 0);
+    }
+
+    @Test
+    public void testEviction() {
+        IMap<Integer, Integer> evictedMap = instance.getMap(EVICTED_MAP_NAME);
+        int partitionCount = instance.getPartitionService().getPartitions().size();
+        for (int i = 0; i < 10 * partitionCount; i++) {
+            evictedMap.put(i, i);
+        }
+
+        assertTrue(evictedMap.size() <= partitionCount);
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        map.put(1, "a");
+        assertEquals("a", map.get(1));
+        List<String> values = List.copyOf(map.values());
+        assertEquals(List.of("a"), values);
+    }
+
+    private static class PartitionThreadCheckingPredicate implements Predicate<Integer, String> {
+
+        static final Set<String> FOREIGN_THREADS = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public boolean apply(Map.Entry<Integer, String> mapEntry) {
+            if (!(Thread.currentThread() instanceof PartitionOperationThread)) {
+                FOREIGN_THREADS.add(Thread.currentThread().getName());
+            }
+            return true;
+        }
+    }
+}
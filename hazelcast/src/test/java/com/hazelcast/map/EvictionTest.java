@@ -669,6 +669,42 @@ public class EvictionTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testEvictionTinyLFU_frequentlyAccessedEntriesSurviveScan() {
+        int size = 10000;
+        String mapName = randomMapName("testEvictionTinyLFU");
+
+        MapConfig mapConfig = newMapConfig(mapName);
+
+        EvictionConfig evictionConfig = mapConfig.getEvictionConfig();
+        evictionConfig
+                .setEvictionPolicy(EvictionPolicy.TINY_LFU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                .setSize(size);
+
+        Config config = getConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "1")
+                .addMapConfig(mapConfig);
+
+        HazelcastInstance node = createHazelcastInstance(config);
+        IMap<Object, Object> map = node.getMap(mapName);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+            for (int j = 0; j < 3; j++) {
+                map.get(i);
+            }
+        }
+        // keys accessed only once must not flush the frequently accessed ones
+        for (int i = 100; i < 3 * size; i++) {
+            map.put(i, i);
+        }
+
+        assertTrue(map.size() <= size);
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(map.get(i));
+        }
+    }
+
     @Test(timeout = 5 * 60 * 1000)
     public void testMapRecordEviction() {
         String mapName = randomMapName();
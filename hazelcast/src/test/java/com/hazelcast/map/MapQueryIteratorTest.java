@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.map.impl.iterator.MapIndexQueryIterator;
+import com.hazelcast.map.impl.iterator.MapQueryIterator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static com.hazelcast.query.Predicates.notEqual;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapQueryIteratorTest extends AbstractMapQueryIteratorTest {
+
+    @Before
+    public void init() {
+        factory = new TestHazelcastFactory();
+        instanceProxy = factory.newHazelcastInstance(smallInstanceConfig());
+        factory.newHazelcastInstance(smallInstanceConfig());
+    }
+
+    @Test
+    public void test_index_used_when_predicate_narrowed_down_by_index() {
+        IMap<Integer, Integer> map = fillMap(100);
+        map.addIndex(IndexType.SORTED, "this");
+
+        assertInstanceOf(MapIndexQueryIterator.class, map.iterator(10, greaterEqual("this", 50)));
+        assertInstanceOf(MapIndexQueryIterator.class, map.iterator(10, and(notEqual("this", 3), equal("this", 5))));
+        assertInstanceOf(MapQueryIterator.class, map.iterator(10, notEqual("this", 3)));
+        assertInstanceOf(MapQueryIterator.class, map.iterator(10, greaterEqual("__key", 50)));
+    }
+
+    @Test
+    public void test_hashIndex_not_used_for_ranges() {
+        IMap<Integer, Integer> map = fillMap(100);
+        map.addIndex(IndexType.HASH, "this");
+
+        assertInstanceOf(MapIndexQueryIterator.class, map.iterator(10, equal("this", 50)));
+        assertInstanceOf(MapQueryIterator.class, map.iterator(10, greaterEqual("this", 50)));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.memory.impl.NativeMemoryManager;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.StorageCompactionTask;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeMapTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "native";
+    private static final String EVICTED_MAP_NAME = "evicted";
+    private static final int ENTRY_COUNT = 1000;
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance instance;
+    private IMap<Integer, String> map;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        config.getNativeMemoryConfig()
+                .setEnabled(true)
+                .setAllocatorType(NativeMemoryConfig.MemoryAllocatorType.POOLED)
+                .setCapacity(new Capacity(32, MemoryUnit.MEGABYTES));
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(InMemoryFormat.NATIVE);
+        config.getMapConfig(EVICTED_MAP_NAME).setInMemoryFormat(InMemoryFormat.NATIVE)
+                .getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(1);
+
+        factory = createHazelcastInstanceFactory();
+        instance = factory.newHazelcastInstance(config);
+        map = instance.getMap(MAP_NAME);
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, map.get(i));
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            assertEquals("value-" + i, map.remove(i));
+        }
+
+        assertEquals(ENTRY_COUNT / 2, map.size());
+        assertNull(map.get(0));
+        assertTrue(map.containsKey(1));
+        assertFalse(map.containsKey(2));
+    }
+
+    @Test
+    public void testUpdate() {
+        map.put(1, "a");
+        map.put(1, "a longer value which needs a bigger block");
+        map.set(1, "b");
+
+        assertEquals("b", map.get(1));
+        assertEquals("b", map.replace(1, "c"));
+        assertEquals("c", map.get(1));
+    }
+
+    @Test
+    public void testIterationAndQuery() {
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            expected.put(i, "value-" + i);
+        }
+        map.putAll(expected);
+
+        assertEquals(expected.keySet(), map.keySet());
+
+        Set<Integer> iterated = new HashSet<>();
+        for (Map.Entry<Integer, String> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            iterated.add(entry.getKey());
+        }
+        assertEquals(expected.keySet(), iterated);
+
+        assertEquals(1, map.values(Predicates.equal("this", "value-42")).size());
+    }
+
+    @Test
+    public void testClear_freesNativeMemory() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+        NativeMemoryManager memoryManager = getNativeMemoryManager();
+        assertTrue(memoryManager.getUsedNative() > 0);
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(0, memoryManager.getUsedNative());
+    }
+
+    @Test
+    public void testDestroy_freesNativeMemory() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        map.destroy();
+
+        NativeMemoryManager memoryManager = getNativeMemoryManager();
+        assertTrueEventually(() -> assertEquals(0, memoryManager.getUsedNative()));
+    }
+
+    @Test
+    public void testEviction() {
+        IMap<Integer, Integer> evictedMap = instance.getMap(EVICTED_MAP_NAME);
+        int partitionCount = instance.getPartitionService().getPartitions().size();
+        for (int i = 0; i < 10 * partitionCount; i++) {
+            evictedMap.put(i, i);
+        }
+
+        assertTrue(evictedMap.size() <= partitionCount);
+    }
+
+    @Test
+    public void testCompaction_reclaimsNativeMemory() {
+        Config config = getConfig();
+        config.getNativeMemoryConfig()
+                .setEnabled(true)
+                .setAllocatorType(NativeMemoryConfig.MemoryAllocatorType.POOLED)
+                .setCapacity(new Capacity(32, MemoryUnit.MEGABYTES))
+                .setPageSize(1 << 12);
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(InMemoryFormat.NATIVE);
+        // a separate cluster, so all the entries are stored in the compacted instance
+        config.setClusterName(randomName());
+        HazelcastInstance compactedInstance = factory.newHazelcastInstance(config);
+        IMap<Integer, String> compactedMap = compactedInstance.getMap(MAP_NAME);
+        String padding = "x".repeat(200);
+        for (int i = 0; i < 10 * ENTRY_COUNT; i++) {
+            compactedMap.put(i, padding + i);
+        }
+        for (int i = 0; i < 10 * ENTRY_COUNT; i++) {
+            if (i % 8 != 0) {
+                compactedMap.remove(i);
+            }
+        }
+        MapServiceContext mapServiceContext = getMapServiceContext(compactedInstance);
+        NativeMemoryManager memoryManager = mapServiceContext.getNativeMemoryManager();
+        long committedBefore = memoryManager.getCommittedNative();
+
+        StorageCompactionTask task = mapServiceContext.getStorageCompactionTask();
+        // the evacuated pages are released by the cycle after the one which relocated the entries
+        assertTrueEventually(() -> {
+            task.run();
+            assertTrue(compactedMap.getLocalMapStats().getCompactedEntryCount() > 0);
+            assertTrue(memoryManager.getReclaimedNative() > 0);
+        });
+
+        assertTrue(memoryManager.getCommittedNative() < committedBefore);
+        assertTrue(compactedMap.getLocalMapStats().getCompactionReclaimedBytes() > 0);
+        assertEquals(10 * ENTRY_COUNT / 8, compactedMap.size());
+        for (int i = 0; i < 10 * ENTRY_COUNT; i += 8) {
+            assertEquals(padding + i, compactedMap.get(i));
+        }
+    }
+
+    private NativeMemoryManager getNativeMemoryManager() {
+        return getMapServiceContext(instance).getNativeMemoryManager();
+    }
+
+    private static MapServiceContext getMapServiceContext(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.EvictionStrategy;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.eviction.PoolBasedEvictor;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Collection;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PoolBasedEvictionTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "pooled";
+    private static final String RANDOM_MAP_NAME = "random";
+    private static final int PER_PARTITION_SIZE = 10;
+
+    @Parameter
+    public EvictionPolicy evictionPolicy;
+
+    private HazelcastInstance instance;
+
+    @Parameters(name = "evictionPolicy:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {EvictionPolicy.LRU},
+                {EvictionPolicy.LFU},
+        });
+    }
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        config.getMapConfig(MAP_NAME).getEvictionConfig()
+                .setEvictionPolicy(evictionPolicy)
+                .setEvictionStrategy(EvictionStrategy.POOL_BASED)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(PER_PARTITION_SIZE);
+        config.getMapConfig(RANDOM_MAP_NAME).getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.RANDOM)
+                .setEvictionStrategy(EvictionStrategy.POOL_BASED)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(PER_PARTITION_SIZE);
+
+        instance = createHazelcastInstance(config);
+    }
+
+    @Test
+    public void testEviction_keepsSizeBounded() {
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+        int partitionCount = instance.getPartitionService().getPartitions().size();
+        for (int i = 0; i < 20 * PER_PARTITION_SIZE * partitionCount; i++) {
+            map.put(i, i);
+        }
+
+        assertTrue(map.size() <= PER_PARTITION_SIZE * partitionCount);
+    }
+
+    @Test
+    public void testPoolBasedEvictorUsed() {
+        instance.getMap(MAP_NAME);
+        instance.getMap(RANDOM_MAP_NAME);
+
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        assertTrue(mapService.getMapServiceContext().getMapContainer(MAP_NAME).getEvictor()
+                instanceof PoolBasedEvictor);
+        // RANDOM eviction policy falls back to sampling based eviction
+        assertFalse(mapService.getMapServiceContext().getMapContainer(RANDOM_MAP_NAME).getEvictor()
+                instanceof PoolBasedEvictor);
+    }
+}
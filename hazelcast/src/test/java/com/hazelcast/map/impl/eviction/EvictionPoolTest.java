@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.SampledEntry;
+import com.hazelcast.map.impl.recordstore.Storage;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class EvictionPoolTest {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Map<Data, Record> records = new LinkedHashMap<>();
+    private final Set<Data> existingKeys = new HashSet<>();
+    private final Set<Data> copiedKeys = new HashSet<>();
+
+    private RecordStore recordStore;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Storage<Data, Record> storage = mock(Storage.class);
+        when(storage.sample(anyInt(), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<SampledEntry<Data, Record>> consumer = invocation.getArgument(2);
+            records.forEach((key, record) -> consumer.accept(new SampledEntry<>() {
+                @Override
+                public Record getRecord() {
+                    return record;
+                }
+
+                @Override
+                public boolean keyEquals(Data other) {
+                    return key.equals(other);
+                }
+
+                @Override
+                public Data copyKey() {
+                    copiedKeys.add(key);
+                    return key;
+                }
+            }));
+            return invocation.<Integer>getArgument(0) + records.size();
+        });
+        when(storage.containsKey(any())).thenAnswer(invocation -> existingKeys.contains(invocation.getArgument(0)));
+
+        ExpirySystem expirySystem = mock(ExpirySystem.class);
+        when(expirySystem.isEmpty()).thenReturn(true);
+
+        recordStore = mock(RecordStore.class);
+        when(recordStore.getStorage()).thenReturn(storage);
+        when(recordStore.getExpirySystem()).thenReturn(expirySystem);
+        when(recordStore.isExpired(any(), anyLong(), anyBoolean())).thenReturn(false);
+    }
+
+    @Test
+    public void testLRU_leastRecentlyAccessedKeySelected() {
+        for (int i = 0; i < 10; i++) {
+            addRecord(i, 100 - i, 0);
+        }
+
+        EvictionPool pool = new EvictionPool(false, 0);
+
+        assertEquals(key(9), pool.selectEvictableKey(recordStore, null, 0, false));
+    }
+
+    @Test
+    public void testLFU_leastFrequentlyUsedKeySelected() {
+        for (int i = 0; i < 10; i++) {
+            addRecord(i, 0, i == 5 ? 1 : 10 + i);
+        }
+
+        EvictionPool pool = new EvictionPool(true, 0);
+
+        assertEquals(key(5), pool.selectEvictableKey(recordStore, null, 0, false));
+    }
+
+    @Test
+    public void testCandidatesKeptAcrossSamplings() {
+        EvictionPool pool = new EvictionPool(false, 0);
+        pool.offer(key(1), 0);
+        existingKeys.add(key(1));
+
+        // key 1 is not sampled again, but it is a better candidate than the sampled keys
+        addRecord(2, 5, 0);
+        addRecord(3, 3, 0);
+
+        assertEquals(key(1), pool.selectEvictableKey(recordStore, null, 0, false));
+        assertEquals(key(3), pool.selectEvictableKey(recordStore, null, 0, false));
+    }
+
+    @Test
+    public void testRemovedCandidateSkipped() {
+        EvictionPool pool = new EvictionPool(false, 0);
+        pool.offer(key(1), 0);
+        addRecord(2, 5, 0);
+
+        assertEquals(key(2), pool.selectEvictableKey(recordStore, null, 0, false));
+    }
+
+    @Test
+    public void testExcludedKeySelectedOnlyWhenNoOtherCandidate() {
+        addRecord(1, 0, 0);
+        addRecord(2, 5, 0);
+        EvictionPool pool = new EvictionPool(false, 0);
+
+        assertEquals(key(2), pool.selectEvictableKey(recordStore, key(1), 0, false));
+
+        records.remove(key(2));
+        existingKeys.remove(key(2));
+        assertEquals(key(1), pool.selectEvictableKey(recordStore, key(1), 0, false));
+    }
+
+    @Test
+    public void testSampling_copiesOnlyKeysEnteringPool() {
+        EvictionPool pool = new EvictionPool(false, 0);
+        for (int i = 0; i < EvictionPool.POOL_SIZE; i++) {
+            pool.offer(key(i), 10 + i);
+            existingKeys.add(key(i));
+        }
+        // only key 100 is a better candidate than the pooled keys
+        for (int i = 0; i < 10; i++) {
+            addRecord(100 + i, i == 0 ? 1 : 100 + i, 0);
+        }
+
+        assertEquals(key(100), pool.selectEvictableKey(recordStore, null, 0, false));
+        assertEquals(Set.of(key(100)), copiedKeys);
+    }
+
+    @Test
+    public void testEmptyRecordStore() {
+        EvictionPool pool = new EvictionPool(false, 0);
+
+        assertNull(pool.selectEvictableKey(recordStore, null, 0, false));
+    }
+
+    @Test
+    public void testOffer_keepsBestCandidates() {
+        EvictionPool pool = new EvictionPool(false, 0);
+        for (int i = 0; i < 2 * EvictionPool.POOL_SIZE; i++) {
+            pool.offer(key(i), 2 * EvictionPool.POOL_SIZE - i);
+        }
+        // updating the score of a pooled key does not add it again
+        pool.offer(key(2 * EvictionPool.POOL_SIZE - 1), 0);
+
+        assertEquals(EvictionPool.POOL_SIZE, pool.size());
+        for (int i = 2 * EvictionPool.POOL_SIZE - 1; i >= EvictionPool.POOL_SIZE; i--) {
+            existingKeys.add(key(i));
+        }
+        for (int i = 2 * EvictionPool.POOL_SIZE - 1; i >= EvictionPool.POOL_SIZE; i--) {
+            Data selected = pool.selectEvictableKey(recordStore, null, 0, false);
+            assertEquals(key(i), selected);
+            existingKeys.remove(selected);
+        }
+        assertEquals(0, pool.size());
+    }
+
+    private void addRecord(int key, long lastAccessTime, int hits) {
+        Record record = mock(Record.class);
+        when(record.getLastAccessTime()).thenReturn(lastAccessTime);
+        when(record.getCreationTime()).thenReturn(0L);
+        when(record.getHits()).thenReturn(hits);
+        records.put(key(key), record);
+        existingKeys.add(key(key));
+    }
+
+    private Data key(int key) {
+        return ss.toData(key);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.ColumnarStore;
+import com.hazelcast.query.impl.predicates.ColumnarPredicateEvaluator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnarScanTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private IMap<Integer, Employee> columnarMap;
+    private IMap<Integer, Employee> plainMap;
+
+    @Before
+    public void setUp() {
+        Config config = smallInstanceConfig();
+        config.getMapConfig("columnar*")
+                .setInMemoryFormat(InMemoryFormat.BINARY)
+                .setColumnarAttributes(List.of("age", "salary", "name", "active"));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        columnarMap = instance.getMap("columnar" + randomName());
+        plainMap = instance.getMap(randomName());
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Employee employee = new Employee(i % 70, i * 10.5d, i % 5 == 0 ? null : "name" + i % 13, i % 2 == 0);
+            columnarMap.put(i, employee);
+            plainMap.put(i, employee);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 7) {
+            columnarMap.remove(i);
+            plainMap.remove(i);
+        }
+        for (int i = 1; i < ENTRY_COUNT; i += 11) {
+            Employee employee = new Employee(i % 30, -i, "updated", false);
+            columnarMap.put(i, employee);
+            plainMap.put(i, employee);
+        }
+    }
+
+    @Test
+    public void testEqual() {
+        assertSameResult(Predicates.equal("age", 20));
+        assertSameResult(Predicates.equal("age", "20"));
+        assertSameResult(Predicates.equal("salary", 105.0d));
+        assertSameResult(Predicates.equal("name", "name3"));
+        assertSameResult(Predicates.equal("name", null));
+        assertSameResult(Predicates.equal("active", true));
+    }
+
+    @Test
+    public void testGreaterLess() {
+        assertSameResult(Predicates.greaterThan("age", 40));
+        assertSameResult(Predicates.greaterEqual("age", 40));
+        assertSameResult(Predicates.lessThan("salary", 500));
+        assertSameResult(Predicates.lessEqual("salary", 0.0d));
+        assertSameResult(Predicates.greaterThan("name", "name5"));
+    }
+
+    @Test
+    public void testBetweenAndIn() {
+        assertSameResult(Predicates.between("age", 10, 20));
+        assertSameResult(Predicates.between("salary", 100, 1000.5d));
+        assertSameResult(Predicates.in("age", 1, 2, 3, 50L));
+        assertSameResult(Predicates.in("salary", 0.0d, 21.0d, -12));
+        assertSameResult(Predicates.in("name", "name1", "updated", null));
+    }
+
+    @Test
+    public void testAndOr() {
+        assertSameResult(Predicates.and(Predicates.greaterThan("age", 10), Predicates.equal("active", true)));
+        assertSameResult(Predicates.or(Predicates.lessThan("age", 5), Predicates.equal("name", "updated")));
+        assertSameResult(Predicates.and(Predicates.between("age", 5, 50), Predicates.like("name", "name1%")));
+        assertSameResult(Predicates.or(Predicates.lessThan("age", 5), Predicates.like("name", "name1%")));
+        assertSameResult(Predicates.not(Predicates.equal("age", 3)));
+    }
+
+    @Test
+    public void testAggregations() {
+        Predicate<Integer, Employee> predicate = Predicates.greaterEqual("age", 18);
+        assertEquals(plainMap.aggregate(Aggregators.integerSum("age"), predicate),
+                columnarMap.aggregate(Aggregators.integerSum("age"), predicate));
+        assertEquals(plainMap.aggregate(Aggregators.doubleAvg("salary"), predicate),
+                columnarMap.aggregate(Aggregators.doubleAvg("salary"), predicate));
+        assertEquals(plainMap.aggregate(Aggregators.count("name")),
+                columnarMap.aggregate(Aggregators.count("name")));
+        assertEquals(plainMap.aggregate(Aggregators.distinct("name")),
+                columnarMap.aggregate(Aggregators.distinct("name")));
+    }
+
+    @Test
+    public void testClear() {
+        columnarMap.clear();
+        assertEquals(0, columnarMap.keySet(Predicates.greaterEqual("age", 0)).size());
+
+        columnarMap.put(1, new Employee(1, 1, "one", true));
+        assertEquals(1, columnarMap.keySet(Predicates.equal("age", 1)).size());
+    }
+
+    @Test
+    public void testEvaluator_returnsNull_whenPredicateNotSupported() {
+        assertNull(ColumnarPredicateEvaluator.select(Predicates.like("name", "%"),
+                new ColumnarStore(List.of("name"))));
+    }
+
+    private void assertSameResult(Predicate<Integer, Employee> predicate) {
+        assertEquals(predicate.toString(), plainMap.keySet(predicate), columnarMap.keySet(predicate));
+        assertEquals(predicate.toString(), plainMap.values(predicate).size(), columnarMap.values(predicate).size());
+    }
+
+    public static class Employee implements Serializable {
+
+        private final int age;
+        private final double salary;
+        private final String name;
+        private final boolean active;
+
+        Employee(int age, double salary, String name, boolean active) {
+            this.age = age;
+            this.salary = salary;
+            this.name = name;
+            this.active = active;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public double getSalary() {
+            return salary;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.internal.util.RootCauseMatcher.rootCause;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PARTITION_SCAN_SEGMENT_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PARTITION_SCAN_WORK_STEALING;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WorkStealingPartitionScanExecutorTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance instance;
+    private QueryEngineImpl queryEngine;
+
+    @Before
+    public void setUp() {
+        Config config = smallInstanceConfig()
+                .setProperty(PARTITION_COUNT.getName(), "3")
+                .setProperty(QUERY_PREDICATE_PARALLEL_EVALUATION.getName(), "true")
+                .setProperty(QUERY_PARTITION_SCAN_WORK_STEALING.getName(), "true")
+                .setProperty(QUERY_PARTITION_SCAN_SEGMENT_SIZE.getName(), "50");
+        config.getMapConfig("object").setInMemoryFormat(InMemoryFormat.OBJECT);
+        config.getMapConfig("expirable").setTimeToLiveSeconds(3600);
+        instance = createHazelcastInstance(config);
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        queryEngine = (QueryEngineImpl) mapService.getMapServiceContext().getQueryEngine("binary");
+    }
+
+    @Test
+    public void testSegmentedPartitions() {
+        assertQuery(populate("binary"));
+    }
+
+    @Test
+    public void testObjectFormat() {
+        assertQuery(populate("object"));
+    }
+
+    @Test
+    public void testExpirableEntries() {
+        assertQuery(populate("expirable"));
+    }
+
+    @Test
+    public void testPagingPredicate() {
+        IMap<Integer, Integer> map = populate("binary");
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(Predicates.greaterEqual("this", 100), 10);
+        predicate.setPage(3);
+
+        List<Integer> expected = IntStream.range(130, 140).boxed().collect(Collectors.toList());
+        assertEquals(expected, List.copyOf(map.keySet(predicate)));
+    }
+
+    @Test
+    public void testPartitionScanRecorded() {
+        IMap<Integer, Integer> map = populate("binary");
+        long scanCount = queryEngine.getPartitionScanCount();
+
+        map.values(Predicates.greaterEqual("this", 0));
+
+        assertTrue(queryEngine.getPartitionScanCount() > scanCount);
+        assertTrue(queryEngine.getTotalPartitionScanCpuTime() >= 0);
+    }
+
+    @Test
+    public void testPredicateFailure() {
+        IMap<Integer, Integer> map = populate("binary");
+        Predicate<Integer, Integer> predicate = new ErrorThrowingPredicate<>();
+
+        assertThatThrownBy(() -> map.values(predicate))
+                .isInstanceOf(HazelcastException.class)
+                .cause().has(rootCause(NoClassDefFoundError.class));
+    }
+
+    @Test
+    public void testExecutorInUse() {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        QueryRunner queryRunner = mapService.getMapServiceContext().getMapQueryRunner("binary");
+
+        assertTrue(queryRunner.partitionScanExecutor instanceof WorkStealingPartitionScanExecutor);
+    }
+
+    private IMap<Integer, Integer> populate(String mapName) {
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        return map;
+    }
+
+    private static void assertQuery(IMap<Integer, Integer> map) {
+        Collection<Integer> values = map.values(Predicates.lessThan("this", 700));
+        Set<Integer> keys = map.keySet(Predicates.between("this", 100, 199));
+
+        assertEquals(700, values.size());
+        assertEquals(IntStream.range(0, 700).boxed().collect(Collectors.toSet()), new HashSet<>(values));
+        assertEquals(IntStream.range(100, 200).boxed().collect(Collectors.toSet()), keys);
+        Set<Map.Entry<Integer, Integer>> entries = map.entrySet(Predicates.equal("this", 42));
+        assertEquals(1, entries.size());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.record.CompactRecordArena.Layout;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createCompactMapSizeEstimator;
+import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createMapSizeEstimator;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactRecordArenaTest {
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testKeyAndValue() {
+        CompactRecordArena arena = new CompactRecordArena(Layout.SIMPLE, true);
+        Data key = ss.toData("key");
+        Data value = ss.toData("value");
+
+        int id = arena.allocate(key, value);
+
+        assertEquals(key, arena.getKey(id));
+        assertEquals(value, arena.getValue(id));
+        assertTrue(arena.keyEquals(id, ss.toData("key")));
+        assertFalse(arena.keyEquals(id, ss.toData("other")));
+    }
+
+    @Test
+    public void testObjectValue() {
+        CompactRecordArena arena = new CompactRecordArena(Layout.SIMPLE, false);
+        Object value = new Object();
+
+        int id = arena.allocate(ss.toData(1), value);
+
+        assertEquals(value, arena.getValue(id));
+    }
+
+    @Test
+    public void testReleasedIdIsReused() {
+        CompactRecordArena arena = new CompactRecordArena(Layout.SIMPLE, true);
+        int id = arena.allocate(ss.toData(1), ss.toData(1));
+        arena.allocate(ss.toData(2), ss.toData(2));
+
+        arena.release(id);
+
+        assertEquals(id, arena.allocate(ss.toData(3), ss.toData(3)));
+    }
+
+    @Test
+    public void testGrowth_keepsRecords() {
+        CompactRecordArena arena = new CompactRecordArena(Layout.FULL, true);
+        for (int i = 0; i < 1000; i++) {
+            CompactRecord<Object> record = new CompactRecord<>(arena, arena.allocate(ss.toData(i), ss.toData(i)));
+            record.setVersion(i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            CompactRecord<Object> record = new CompactRecord<>(arena, i);
+            assertEquals(ss.toData(i), record.getKey());
+            assertEquals(i, record.getVersion());
+        }
+    }
+
+    @Test
+    public void testCompaction_movesRecordsToLowestIds() {
+        CompactRecordArena arena = new CompactRecordArena(Layout.FULL, true);
+        for (int i = 0; i < 1000; i++) {
+            CompactRecord<Object> record = new CompactRecord<>(arena, arena.allocate(ss.toData(i), ss.toData(i)));
+            record.setVersion(i);
+        }
+        for (int i = 0; i < 900; i++) {
+            arena.release(i);
+        }
+        assertTrue(arena.isFragmented());
+
+        arena.startCompaction();
+        for (int i = 900; i < 1000; i++) {
+            int id = arena.relocate(i);
+            CompactRecord<Object> record = new CompactRecord<>(arena, id);
+            assertTrue(id < 100);
+            assertEquals(ss.toData(i), record.getKey());
+            assertEquals(ss.toData(i), record.getValue());
+            assertEquals(i, record.getVersion());
+        }
+
+        assertTrue(arena.finishCompaction() > 0);
+        assertFalse(arena.isFragmented());
+        // ids above the records in use are not handed out any more
+        assertTrue(arena.allocate(ss.toData(-1), ss.toData(-1)) >= 100);
+    }
+
+    @Test
+    public void testLayout_absentFieldsAreUnset() {
+        CompactRecordArena arena = new CompactRecordArena(Layout.LRU, true);
+        CompactRecord<Object> record = new CompactRecord<>(arena, arena.allocate(ss.toData(1), ss.toData(1)));
+
+        record.setHits(5);
+        record.setCreationTime(System.currentTimeMillis());
+        record.setRawLastAccessTime(42);
+
+        assertEquals(UNSET, record.getHits());
+        assertEquals(UNSET, record.getRawCreationTime());
+        assertEquals(42, record.getRawLastAccessTime());
+        assertEquals(RecordReaderWriter.SIMPLE_DATA_RECORD_WITH_LRU_EVICTION_READER_WRITER,
+                record.getMatchingRecordReaderWriter());
+    }
+
+    @Test
+    public void testLayout_fullRecordIsInitializedAsDataRecordWithStats() {
+        CompactRecordArena arena = new CompactRecordArena(Layout.FULL, true);
+        CompactRecord<Object> record = new CompactRecord<>(arena, arena.allocate(ss.toData(1), ss.toData(1)));
+        DataRecordWithStats heapRecord = new DataRecordWithStats(ss.toData(1));
+
+        assertEquals(heapRecord.getRawLastAccessTime(), record.getRawLastAccessTime());
+        assertEquals(heapRecord.getRawLastUpdateTime(), record.getRawLastUpdateTime());
+        assertEquals(heapRecord.getRawCreationTime(), record.getRawCreationTime());
+        assertEquals(heapRecord.getRawLastStoredTime(), record.getRawLastStoredTime());
+        assertEquals(heapRecord.getLastStoredTime(), record.getLastStoredTime());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEntryCost_isAtLeastFortyPercentLowerThanHeapRecord() {
+        Data key = ss.toData(1);
+        Data value = ss.toData(1);
+        CompactRecordArena arena = new CompactRecordArena(Layout.SIMPLE, true);
+        CompactRecord<Object> compactRecord = new CompactRecord<>(arena, arena.allocate(key, value));
+        EntryCostEstimator<Data, Record> heapEstimator = createMapSizeEstimator(BINARY);
+        EntryCostEstimator<Data, Record> compactEstimator = createCompactMapSizeEstimator(BINARY);
+
+        long heapCost = heapEstimator.calculateEntryCost(key, new SimpleRecord<>(value));
+        long compactCost = compactEstimator.calculateEntryCost(key, compactRecord);
+
+        assertTrue("heap: " + heapCost + ", compact: " + compactCost, compactCost <= 0.6 * heapCost);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PartitionRecordMapTest {
+
+    private static final int ENTRY_COUNT = 10_000;
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    private PartitionRecordMap<Record> map;
+
+    @Before
+    public void setUp() {
+        map = new PartitionRecordMap<>(ss, mock(ExpirySystem.class));
+    }
+
+    @Test
+    public void testPutGetRemove_acrossResizes() {
+        Record[] records = new Record[ENTRY_COUNT];
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            records[i] = mock(Record.class);
+            assertNull(map.put(key(i), records[i]));
+        }
+
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertSame(records[i], map.get(key(i)));
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            assertSame(records[i], map.remove(key(i)));
+        }
+
+        assertEquals(ENTRY_COUNT / 2, map.size());
+        assertFalse(map.containsKey(key(0)));
+        assertTrue(map.containsKey(key(1)));
+        assertNull(map.remove(key(0)));
+    }
+
+    @Test
+    public void testPut_replacesRecord() {
+        Record first = mock(Record.class);
+        Record second = mock(Record.class);
+
+        map.put(key(1), first);
+
+        assertSame(first, map.put(key(1), second));
+        assertSame(second, map.get(key(1)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testPrimitiveKeys_mixedWithOtherKeys() {
+        List<Data> keys = List.of(ss.toData(1), ss.toData(1L), ss.toData(UUID.randomUUID()),
+                ss.toData("1"), ss.toData((short) 1), ss.toData(new long[]{1L}));
+        for (Data key : keys) {
+            map.put(key, mock(Record.class));
+        }
+
+        assertEquals(keys.size(), map.size());
+        Set<Data> iterated = new HashSet<>();
+        for (Iterator<Map.Entry<Data, Record>> it = map.entryIterator(); it.hasNext(); ) {
+            iterated.add(it.next().getKey());
+        }
+        assertEquals(new HashSet<>(keys), iterated);
+        for (Data key : keys) {
+            assertSame(map.get(key), map.remove(key));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testPrimitiveKey_restoredWithPartitionHash() {
+        byte[] bytes = ss.toData(42L).toByteArray().clone();
+        Bits.writeIntB(bytes, HeapData.PARTITION_HASH_OFFSET, 1234);
+        Data key = new HeapData(bytes);
+        Record record = mock(Record.class);
+
+        map.put(key, record);
+
+        // keys are equal regardless of the partition hash
+        assertSame(record, map.get(ss.toData(42L)));
+        Data restored = map.entryIterator().next().getKey();
+        assertArrayEquals(bytes, restored.toByteArray());
+        assertEquals(1234, restored.getPartitionHash());
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(key(i), mock(Record.class));
+        }
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(key(1)));
+        assertFalse(map.entryIterator().hasNext());
+    }
+
+    @Test
+    public void testIterator_returnsEveryEntryOnce_whenMutatedDuringIteration() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(key(i), mock(Record.class));
+        }
+
+        Set<Data> seen = new HashSet<>();
+        int added = ENTRY_COUNT;
+        Iterator<Map.Entry<Data, Record>> iterator = map.entryIterator();
+        while (iterator.hasNext()) {
+            assertTrue(seen.add(iterator.next().getKey()));
+            // keep the table resizing while iterating
+            map.put(key(added++), mock(Record.class));
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertTrue(seen.contains(key(i)));
+        }
+    }
+
+    @Test
+    public void testFetchKeys_returnsEveryKeyOnce_whenResizedBetweenFetches() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(key(i), mock(Record.class));
+        }
+
+        Set<Data> seen = new HashSet<>();
+        int added = ENTRY_COUNT;
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        while (pointers[pointers.length - 1].getIndex() >= 0) {
+            List<Data> keys = new ArrayList<>();
+            pointers = map.fetchKeys(pointers, 100, keys);
+            for (Data key : keys) {
+                assertTrue(seen.add(key));
+            }
+            for (int i = 0; i < 100; i++) {
+                map.put(key(added++), mock(Record.class));
+            }
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertTrue(seen.contains(key(i)));
+        }
+    }
+
+    @Test
+    public void testGetRandomSamples_returnsDistinctEntries() {
+        for (int i = 0; i < 100; i++) {
+            map.put(key(i), mock(Record.class));
+        }
+
+        Set<Data> samples = new HashSet<>();
+        for (LazyEvictableEntryView<Record> sample : map.<LazyEvictableEntryView<Record>>getRandomSamples(15)) {
+            assertTrue(samples.add(sample.getDataKey()));
+        }
+
+        assertEquals(15, samples.size());
+    }
+
+    @Test
+    public void testGetRandomSamples_whenSampleCountIsGreaterThanSize() {
+        map.put(key(1), mock(Record.class));
+
+        Iterator<LazyEvictableEntryView<Record>> samples = map.<LazyEvictableEntryView<Record>>getRandomSamples(100)
+                .iterator();
+
+        assertTrue(samples.hasNext());
+        assertEquals(key(1), samples.next().getDataKey());
+        assertFalse(samples.hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetRandomSamples_whenSampleCountIsNegative() {
+        map.getRandomSamples(-1);
+    }
+
+    @Test
+    public void testConcurrentReader_seesEveryStableKey_duringResizes() throws Exception {
+        Record stable = mock(Record.class);
+        for (int i = 0; i < 100; i++) {
+            map.put(key(-i - 1), stable);
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!stop.get()) {
+                    for (int i = 0; i < 100; i++) {
+                        assertSame(stable, map.get(key(-i - 1)));
+                    }
+                }
+            } catch (Throwable t) {
+                error.set(t);
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 10 * ENTRY_COUNT; i++) {
+            map.put(key(i), mock(Record.class));
+        }
+        stop.set(true);
+        reader.join();
+
+        assertNull(error.get());
+    }
+
+    private Data key(int i) {
+        return ss.toData(i);
+    }
+}
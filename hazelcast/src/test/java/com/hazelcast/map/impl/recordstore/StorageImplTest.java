@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.SimpleRecord;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class StorageImplTest {
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final StorageImpl<Record> storage = new StorageImpl<>(BINARY, mock(ExpirySystem.class), ss, true);
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+    }
+
+    @Test
+    public void testValuesSampledForTraining_areCompressedIncrementally() {
+        int id = 0;
+        while (storage.getCompressedValueBytes() == 0) {
+            put(id++);
+        }
+        int sampled = id;
+
+        // the values sampled to train the dictionary are compressed over the next puts
+        assertTrue(countUncompressed() > 0);
+        for (int i = 0; i < sampled; i++) {
+            put(id++);
+        }
+        assertEquals(0, countUncompressed());
+    }
+
+    private void put(int id) {
+        storage.put(ss.toData(id), new SimpleRecord<>(ss.toData(json(id))));
+    }
+
+    private int countUncompressed() {
+        int count = 0;
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            if (!(iterator.next().getValue().getValue() instanceof CompressedData)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String json(int id) {
+        return "{\"id\":" + id + ",\"customerName\":\"customer-" + (id % 100) + "\",\"status\":\"ACTIVE\","
+                + "\"address\":{\"street\":\"Main Street\",\"city\":\"Springfield\",\"country\":\"US\"},"
+                + "\"tags\":[\"priority\",\"newsletter\"]}";
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ValueCompressorTest {
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final ValueCompressor compressor = new ValueCompressor();
+
+    @After
+    public void tearDown() {
+        compressor.dispose();
+    }
+
+    @Test
+    public void testValuesAreNotCompressed_untilDictionaryIsTrained() {
+        Data value = ss.toData(json(0));
+
+        assertSame(value, compressor.compress(value));
+        assertFalse(compressor.isTrained());
+    }
+
+    @Test
+    public void testSmallValuesAreNotCompressed() {
+        train();
+        Data value = ss.toData("small");
+
+        assertSame(value, compressor.compress(value));
+    }
+
+    @Test
+    public void testCompressedValue_roundTrip() {
+        train();
+        String json = json(100_000);
+        Data value = ss.toData(json);
+
+        Data compressed = compressor.compress(value);
+
+        assertTrue(compressed instanceof CompressedData);
+        assertTrue(((CompressedData) compressed).compressedSize() < value.totalSize() / 2);
+        assertEquals(value, compressed);
+        assertEquals(value.hashCode(), compressed.hashCode());
+        assertEquals(value.getPartitionHash(), compressed.getPartitionHash());
+        assertEquals(value.totalSize(), compressed.totalSize());
+        assertEquals(json, ss.toObject(compressed));
+    }
+
+    @Test
+    public void testIncompressibleValueIsNotCompressed() {
+        train();
+        byte[] random = new byte[256];
+        new Random(42).nextBytes(random);
+        Data value = ss.toData(random);
+
+        assertSame(value, compressor.compress(value));
+    }
+
+    @Test
+    public void testTrainDictionary_picksRepeatedContent() {
+        StringBuilder sampled = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sampled.append(json(i));
+        }
+
+        byte[] dictionary = ValueCompressor.trainDictionary(sampled.toString().getBytes(), 1024);
+
+        assertTrue(dictionary.length > 0 && dictionary.length <= 1024);
+        assertTrue(new String(dictionary).contains("\"customerName\""));
+    }
+
+    private void train() {
+        for (int i = 0; !compressor.isTrained(); i++) {
+            compressor.compress(ss.toData(json(i)));
+        }
+    }
+
+    private static String json(int id) {
+        return "{\"id\":" + id + ",\"customerName\":\"customer-" + (id % 100) + "\",\"status\":\"ACTIVE\","
+                + "\"address\":{\"street\":\"Main Street\",\"city\":\"Springfield\",\"country\":\"US\"},"
+                + "\"tags\":[\"priority\",\"newsletter\"]}";
+    }
+}
@@ -21,6 +21,7 @@ import com.hazelcast.internal.eviction.ClearExpiredRecordsTask;
 import com.hazelcast.internal.eviction.ExpirationManager;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.Clock;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
@@ -39,9 +40,15 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -180,6 +187,84 @@ public class ExpirySystemTest {
         verify(expirationManager, never()).scheduleExpirationTask();
     }
 
+    @Test
+    public void testTimerWheelEvictsOnlyExpiredKeys() {
+        ExpirySystemImpl expirySystem = newTimerWheelExpirySystem();
+        Data expiring = setupKeyAndMockStorage(1);
+        Data notExpiring = setupKeyAndMockStorage(2);
+        long now = Clock.currentTimeMillis();
+
+        expirySystem.add(expiring, 1000, Long.MAX_VALUE, now + 1000, now, now);
+        expirySystem.add(notExpiring, HOURS.toMillis(1), Long.MAX_VALUE, now + HOURS.toMillis(1), now, now);
+        expirySystem.evictExpiredEntries(10, now + 5000, false);
+
+        verify(recordStore).evictExpiredEntryAndPublishExpiryEvent(expiring, ExpiryReason.TTL, false);
+        verify(recordStore, never()).evictExpiredEntryAndPublishExpiryEvent(eq(notExpiring), any(), anyBoolean());
+        assertEquals(ExpiryMetadata.NULL, expirySystem.getExpiryMetadata(expiring));
+        assertNotEquals(ExpiryMetadata.NULL, expirySystem.getExpiryMetadata(notExpiring));
+    }
+
+    @Test
+    public void testTimerWheelDoesNotEvictRemovedKeys() {
+        ExpirySystemImpl expirySystem = newTimerWheelExpirySystem();
+        Data key = setupKeyAndMockStorage(1);
+        long now = Clock.currentTimeMillis();
+
+        expirySystem.add(key, 1000, Long.MAX_VALUE, now + 1000, now, now);
+        expirySystem.removeKeyFromExpirySystem(key);
+        expirySystem.evictExpiredEntries(10, now + 5000, false);
+
+        verify(recordStore, never()).evictExpiredEntryAndPublishExpiryEvent(any(), any(), anyBoolean());
+        assertTrue(expirySystem.isEmpty());
+    }
+
+    @Test
+    public void testTimerWheelReschedulesUpdatedKeys() {
+        ExpirySystemImpl expirySystem = newTimerWheelExpirySystem();
+        Data key = setupKeyAndMockStorage(1);
+        long now = Clock.currentTimeMillis();
+
+        expirySystem.add(key, 1000, Long.MAX_VALUE, now + 1000, now, now);
+        expirySystem.add(key, 10000, Long.MAX_VALUE, now + 10000, now, now);
+        expirySystem.evictExpiredEntries(10, now + 5000, false);
+        verify(recordStore, never()).evictExpiredEntryAndPublishExpiryEvent(any(), any(), anyBoolean());
+
+        expirySystem.evictExpiredEntries(10, now + 15000, false);
+        verify(recordStore).evictExpiredEntryAndPublishExpiryEvent(key, ExpiryReason.TTL, false);
+    }
+
+    @Test
+    public void testTimerWheelEvictsKeysAddedAfterClear() {
+        ExpirySystemImpl expirySystem = newTimerWheelExpirySystem();
+        Data key = setupKeyAndMockStorage(1);
+        long now = Clock.currentTimeMillis();
+
+        // the timer wheel is created by the first expirable key and released by clear
+        expirySystem.evictExpiredEntries(10, now, false);
+        expirySystem.add(key, 1000, Long.MAX_VALUE, now + 1000, now, now);
+        expirySystem.clear();
+        expirySystem.evictExpiredEntries(10, now + 5000, false);
+        verify(recordStore, never()).evictExpiredEntryAndPublishExpiryEvent(any(), any(), anyBoolean());
+
+        expirySystem.add(key, 1000, Long.MAX_VALUE, now + 6000, now + 5000, now + 5000);
+        expirySystem.evictExpiredEntries(10, now + 10000, false);
+        verify(recordStore).evictExpiredEntryAndPublishExpiryEvent(key, ExpiryReason.TTL, false);
+    }
+
+    private ExpirySystemImpl newTimerWheelExpirySystem() {
+        when(hazelcastProperties.getBoolean(any())).thenReturn(true);
+        when(hazelcastProperties.getNanos(any())).thenReturn(SECONDS.toNanos(10));
+        return new ExpirySystemImpl(recordStore, mapContainer, mapServiceContext);
+    }
+
+    private Data setupKeyAndMockStorage(int id) {
+        byte[] bytes = new byte[10];
+        bytes[bytes.length - 1] = (byte) id;
+        Data key = new HeapData(bytes);
+        when(storage.toBackingDataKeyFormat(key)).thenReturn(key);
+        return key;
+    }
+
     private Data setupKeyAndMockStorage() {
         Data key = new HeapData(new byte[10]);
         when(storage.toBackingDataKeyFormat(key)).thenReturn(key);
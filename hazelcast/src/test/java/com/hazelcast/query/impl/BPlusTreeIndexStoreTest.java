@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BPlusTreeIndexStoreTest {
+
+    private static final int KEY_COUNT = 5000;
+    private static final int VALUE_COUNT = 200;
+
+    private final Random random = new Random(42);
+    private final BPlusTreeIndexStore store = new BPlusTreeIndexStore(IndexCopyBehavior.COPY_ON_READ);
+    private final OrderedIndexStore expected = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+
+    @Test
+    public void testInsertReplaceRemove() {
+        DummyEntry entry = new DummyEntry(1);
+        assertNull(store.insertInternal(10, entry));
+        DummyEntry replacement = new DummyEntry(1);
+        assertEquals(entry, store.insertInternal(10, replacement));
+        assertEquals(1, store.size());
+
+        assertNull(store.removeInternal(11, entry.getKeyData()));
+        assertEquals(replacement, store.removeInternal(10, entry.getKeyData()));
+        assertEquals(0, store.size());
+        assertEquals(0, store.getRecords(10).size());
+    }
+
+    @Test
+    public void testSameResultsAsOrderedIndexStore() {
+        populate();
+
+        assertSameBatches(store.getSqlRecordIteratorBatch(false), expected.getSqlRecordIteratorBatch(false));
+        assertSameBatches(store.getSqlRecordIteratorBatch(true), expected.getSqlRecordIteratorBatch(true));
+        for (int i = 0; i < 100; i++) {
+            int from = random.nextInt(VALUE_COUNT + 2) - 1;
+            int to = from + random.nextInt(20);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            boolean descending = random.nextBoolean();
+
+            assertSameBatches(store.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending),
+                    expected.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending));
+            assertSameBatches(store.getSqlRecordIteratorBatch(from, descending),
+                    expected.getSqlRecordIteratorBatch(from, descending));
+            for (Comparison comparison : Comparison.values()) {
+                assertSameBatches(store.getSqlRecordIteratorBatch(comparison, from, descending),
+                        expected.getSqlRecordIteratorBatch(comparison, from, descending));
+                assertEquals(keys(expected.getRecords(comparison, from)), keys(store.getRecords(comparison, from)));
+            }
+            assertEquals(keys(expected.getRecords(from, fromInclusive, to, toInclusive)),
+                    keys(store.getRecords(from, fromInclusive, to, toInclusive)));
+            assertEquals(keys(expected.getRecords(from)), keys(store.getRecords(from)));
+            Set<Comparable> values = Set.of(from, to + 1, NULL);
+            assertEquals(keys(expected.getRecords(values)), keys(store.getRecords(values)));
+        }
+    }
+
+    @Test
+    public void testSameResultsAsOrderedIndexStore_withLastEntryKey() {
+        populate();
+
+        for (int i = 0; i < 100; i++) {
+            int from = random.nextInt(VALUE_COUNT);
+            int to = from + random.nextInt(5);
+            boolean toInclusive = random.nextBoolean();
+            Data lastEntryKey = new DummyEntry(random.nextInt(KEY_COUNT)).getKeyData();
+
+            assertSameBatches(store.getSqlRecordIteratorBatch(from, true, to, toInclusive, false, lastEntryKey),
+                    expected.getSqlRecordIteratorBatch(from, true, to, toInclusive, false, lastEntryKey));
+            assertSameBatches(store.getSqlRecordIteratorBatch(from, false, to, true, true, lastEntryKey),
+                    expected.getSqlRecordIteratorBatch(from, false, to, true, true, lastEntryKey));
+            assertSameBatches(store.getSqlRecordIteratorBatch(from, true, lastEntryKey),
+                    expected.getSqlRecordIteratorBatch(from, true, lastEntryKey));
+        }
+    }
+
+    @Test
+    public void testIteratorIsNotAffectedByUpdates() {
+        populate();
+        Iterator<QueryableEntry> iterator = store.getSqlRecordIterator(false);
+        List<Data> keysBeforeClear = keyList(expected.getSqlRecordIterator(false));
+
+        store.clear();
+        store.insertInternal(0, new DummyEntry(KEY_COUNT));
+
+        assertEquals(keysBeforeClear, keyList(iterator));
+    }
+
+    @Test
+    public void testClear() {
+        populate();
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, keyList(store.getSqlRecordIterator(false)).size());
+    }
+
+    private void populate() {
+        for (int i = 0; i < KEY_COUNT * 4; i++) {
+            int key = random.nextInt(KEY_COUNT);
+            Comparable value = random.nextInt(20) == 0 ? NULL : random.nextInt(VALUE_COUNT);
+            if (random.nextInt(3) == 0) {
+                Data keyData = new DummyEntry(key).getKeyData();
+                assertEquals(expected.removeInternal(value, keyData), store.removeInternal(value, keyData));
+            } else {
+                DummyEntry entry = new DummyEntry(key);
+                expected.insertInternal(value, entry);
+                store.insertInternal(value, entry);
+            }
+        }
+    }
+
+    private static void assertSameBatches(Iterator<IndexKeyEntries> actual, Iterator<IndexKeyEntries> expected) {
+        while (expected.hasNext()) {
+            IndexKeyEntries expectedBatch = expected.next();
+            IndexKeyEntries actualBatch = actual.next();
+            assertEquals(0, OrderedIndexStore.SPECIAL_AWARE_COMPARATOR.compare(
+                    expectedBatch.getIndexKey(), actualBatch.getIndexKey()));
+            assertEquals(keyList(expectedBatch.getEntries()), keyList(actualBatch.getEntries()));
+        }
+        assertFalse(actual.hasNext());
+    }
+
+    private static List<Data> keyList(Iterator<QueryableEntry> entries) {
+        List<Data> keys = new ArrayList<>();
+        entries.forEachRemaining(entry -> keys.add(entry.getKeyData()));
+        return keys;
+    }
+
+    private static Set<Data> keys(Set<QueryableEntry> entries) {
+        Set<Data> keys = new HashSet<>();
+        for (QueryableEntry entry : entries) {
+            keys.add(entry.getKeyData());
+        }
+        return keys;
+    }
+
+    private static class DummyEntry extends QueryEntry {
+
+        private final Integer key;
+        private final Data keyData;
+
+        DummyEntry(int key) {
+            this.key = key;
+            this.keyData = new HeapData(ByteBuffer.allocate(8).putInt(key).array());
+        }
+
+        @Override
+        public Data getKeyData() {
+            return keyData;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return null;
+        }
+    }
+}
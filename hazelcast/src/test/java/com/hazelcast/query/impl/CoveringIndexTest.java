@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MetadataPolicy;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CoveringIndexTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    private IMap<Integer, Person> map;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig();
+        config.getMapConfig("map")
+                .setInMemoryFormat(InMemoryFormat.BINARY)
+                .setCacheDeserializedValues(CacheDeserializedValues.NEVER)
+                .setMetadataPolicy(MetadataPolicy.OFF)
+                .addIndexConfig(new IndexConfig(IndexType.SORTED, "age").addIncludedAttribute("name"));
+        map = createHazelcastInstance(config).getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, new Person(i, "name" + i, "city" + i));
+        }
+        Person.deserializationCount.set(0);
+    }
+
+    @Test
+    public void testProjectionWithoutPredicate_doesNotDeserializeValues() {
+        Collection<String> names = map.project(Projections.singleAttribute("name"));
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            expected.add("name" + i);
+        }
+        assertEquals(expected, new HashSet<>(names));
+        assertEquals(0, Person.deserializationCount.get());
+    }
+
+    @Test
+    public void testProjectionWithIndexedPredicate_doesNotDeserializeValues() {
+        Collection<Object[]> rows = map.project(Projections.multiAttribute("age", "name"),
+                Predicates.greaterEqual("age", ENTRY_COUNT - 10));
+
+        assertEquals(10, rows.size());
+        for (Object[] row : rows) {
+            assertTrue((Integer) row[0] >= ENTRY_COUNT - 10);
+            assertEquals("name" + row[0], row[1]);
+        }
+        assertEquals(0, Person.deserializationCount.get());
+    }
+
+    @Test
+    public void testProjectionWithCoveredPredicate_doesNotDeserializeValues() {
+        Collection<Integer> ages = map.project(Projections.singleAttribute("age"), Predicates.equal("name", "name42"));
+
+        assertEquals(1, ages.size());
+        assertEquals(42, (int) ages.iterator().next());
+        assertEquals(0, Person.deserializationCount.get());
+    }
+
+    @Test
+    public void testProjectionOfNotCoveredAttribute() {
+        Collection<String> cities = map.project(Projections.singleAttribute("city"),
+                Predicates.lessThan("age", 10));
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 10; ++i) {
+            expected.add("city" + i);
+        }
+        assertEquals(expected, new HashSet<>(cities));
+    }
+
+    @Test
+    public void testProjectionReflectsUpdates() {
+        map.put(7, new Person(7, "renamed", "city7"));
+        map.remove(8);
+        Person.deserializationCount.set(0);
+
+        Collection<Object[]> rows = map.project(Projections.multiAttribute("age", "name"),
+                Predicates.between("age", 7, 8));
+
+        assertEquals(1, rows.size());
+        Object[] row = rows.iterator().next();
+        assertEquals(7, row[0]);
+        assertEquals("renamed", row[1]);
+        assertEquals(0, Person.deserializationCount.get());
+    }
+
+    @Test
+    public void testIncludedAttributes_rejectedForBitmapIndex() {
+        IndexConfig indexConfig = new IndexConfig(IndexType.BITMAP, "city").addIncludedAttribute("name");
+
+        assertThatThrownBy(() -> map.addIndex(indexConfig))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Included attributes");
+    }
+
+    @Test
+    public void testIncludedAttributes_normalized() {
+        IndexConfig indexConfig = new IndexConfig(IndexType.HASH, "city")
+                .addIncludedAttribute("this.name")
+                .addIncludedAttribute("name")
+                .addIncludedAttribute("city");
+
+        IndexConfig normalized = IndexUtils.validateAndNormalize("map", indexConfig);
+
+        assertEquals(1, normalized.getIncludedAttributes().size());
+        assertEquals("name", normalized.getIncludedAttributes().get(0));
+    }
+
+    static class Person implements DataSerializable {
+
+        static final AtomicInteger deserializationCount = new AtomicInteger();
+
+        int age;
+        String name;
+        String city;
+
+        @SuppressWarnings("unused")
+        Person() {
+        }
+
+        Person(int age, String name, String city) {
+            this.age = age;
+            this.name = name;
+            this.city = city;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(age);
+            out.writeString(name);
+            out.writeString(city);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            age = in.readInt();
+            name = in.readString();
+            city = in.readString();
+
+            deserializationCount.incrementAndGet();
+        }
+    }
+}
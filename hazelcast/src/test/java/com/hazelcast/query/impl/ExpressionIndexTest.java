@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.SampleTestObjects.Employee;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.config.MapConfig.DEFAULT_IN_MEMORY_FORMAT;
+import static com.hazelcast.instance.impl.TestUtil.toData;
+import static com.hazelcast.internal.util.IterableUtil.size;
+import static com.hazelcast.query.impl.IndexRegistry.SKIP_PARTITIONS_COUNT_CHECK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpressionIndexTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(serializationService).build();
+
+    @Test
+    public void testFunctionsAreApplied() {
+        QueryEntry entry = new QueryEntry(serializationService, toData(1), new Employee("Joe", 30, true, 100), extractors);
+
+        assertThat(entry.getAttributeValue("lower(name)")).isEqualTo("joe");
+        assertThat(entry.getAttributeValue("UPPER( name )")).isEqualTo("JOE");
+        assertThat(entry.getAttributeValue("upper(lower(this.name))")).isEqualTo("JOE");
+        assertThatThrownBy(() -> entry.getAttributeValue("lower(age)")).isInstanceOf(QueryException.class);
+    }
+
+    @Test
+    public void testFunctionsAreAppliedToJsonPaths() {
+        QueryEntry entry = new QueryEntry(serializationService, toData(1),
+                new HazelcastJsonValue("{\"address\": {\"city\": \"Berlin\"}}"), extractors);
+
+        assertThat(entry.getAttributeValue("lower(address.city)")).isEqualTo("berlin");
+        assertThat(entry.getAttributeValue("lower(address.street)")).isNull();
+    }
+
+    @Test
+    public void testExpressionIndex() {
+        IndexRegistry indexes = IndexRegistry.newBuilder(null, "test", serializationService, IndexCopyBehavior.NEVER,
+                DEFAULT_IN_MEMORY_FORMAT).global(true).build();
+        InternalIndex index = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.HASH, "lower(name)"));
+        String[] names = {"Joe", "JOE", "Jane", "jim"};
+        for (int i = 0; i < names.length; i++) {
+            Employee employee = new Employee(names[i], 30, true, 100);
+            indexes.putEntry(new QueryEntry(serializationService, toData(i), employee, extractors), null,
+                    Index.OperationSource.USER);
+        }
+
+        assertThat(index.getRecords("joe")).hasSize(2);
+        assertThat(size(indexes.query(Predicates.equal("lower(name)", "joe"), SKIP_PARTITIONS_COUNT_CHECK))).isEqualTo(2);
+        assertThat(size(indexes.query(Predicates.in("lower(name)", "jane", "jim"), SKIP_PARTITIONS_COUNT_CHECK)))
+                .isEqualTo(2);
+    }
+}
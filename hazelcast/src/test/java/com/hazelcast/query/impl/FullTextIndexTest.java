@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleTestObjects.Employee;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.EvaluatePredicate;
+import com.hazelcast.query.impl.predicates.RuleBasedQueryOptimizer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.hazelcast.config.MapConfig.DEFAULT_IN_MEMORY_FORMAT;
+import static com.hazelcast.instance.impl.TestUtil.toData;
+import static com.hazelcast.query.impl.IndexRegistry.SKIP_PARTITIONS_COUNT_CHECK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FullTextIndexTest {
+
+    private static final String[] CITIES = {
+            "New York", "Newcastle upon Tyne", "York", "Los Angeles", "Las Vegas", "SAN FRANCISCO", "San Jose", null,
+    };
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(serializationService).build();
+    private final RuleBasedQueryOptimizer optimizer = new RuleBasedQueryOptimizer();
+
+    private final Map<Integer, String> cities = new TreeMap<>();
+
+    private IndexRegistry indexes;
+
+    @Before
+    public void setUp() {
+        indexes = IndexRegistry.newBuilder(null, "test", serializationService, IndexCopyBehavior.NEVER,
+                DEFAULT_IN_MEMORY_FORMAT).global(true).build();
+        for (int i = 0; i < CITIES.length; i++) {
+            cities.put(i, CITIES[i]);
+        }
+    }
+
+    @Test
+    public void testWordIndex() {
+        populate(new IndexConfig(IndexType.FULL_TEXT, "city"));
+
+        assertMatchesScan(Predicates.like("city", "%York%"), 2);
+        assertMatchesScan(Predicates.like("city", "%ew%"), 2);
+        assertMatchesScan(Predicates.like("city", "San %"), 1);
+        assertMatchesScan(Predicates.ilike("city", "%san f%"), 1);
+        assertMatchesScan(Predicates.like("city", "%"), CITIES.length - 1);
+        assertMatchesScan(Predicates.textSearch("city", "york new"), 1);
+        assertMatchesScan(Predicates.textSearch("city", "upon"), 1);
+        assertMatchesScan(Predicates.textSearch("city", "san"), 2);
+        assertMatchesScan(Predicates.textSearch("city", "francisco jose"), 0);
+    }
+
+    @Test
+    public void testNGramIndex() {
+        IndexConfig config = new IndexConfig(IndexType.FULL_TEXT, "city");
+        config.getFullTextIndexOptions().setNGramLength(3);
+        populate(config);
+
+        assertMatchesScan(Predicates.like("city", "%York%"), 2);
+        assertMatchesScan(Predicates.like("city", "%ew%"), 2);
+        assertMatchesScan(Predicates.ilike("city", "%SAN%"), 2);
+        assertMatchesScan(Predicates.like("city", "%_as%"), 2);
+        assertMatchesScan(Predicates.textSearch("city", "york"), 2);
+    }
+
+    @Test
+    public void testIndexFollowsUpdates() {
+        populate(new IndexConfig(IndexType.FULL_TEXT, "city"));
+
+        indexes.putEntry(entry(0, "Old York"), employee(0, CITIES[0]), Index.OperationSource.USER);
+        cities.put(0, "Old York");
+        indexes.removeEntry(toData(2), employee(2, cities.remove(2)), Index.OperationSource.USER);
+
+        assertMatchesScan(Predicates.textSearch("city", "new york"), 0);
+        assertMatchesScan(Predicates.textSearch("city", "york"), 1);
+    }
+
+    @Test
+    public void testIndexIsMatchedByLikeAndTextSearchOnly() {
+        populate(new IndexConfig(IndexType.FULL_TEXT, "city"));
+
+        assertThat(optimizer.optimize(Predicates.like("city", "%York"), indexes)).isInstanceOf(EvaluatePredicate.class);
+        assertThat(optimizer.optimize(Predicates.textSearch("city", "York"), indexes))
+                .isInstanceOf(EvaluatePredicate.class);
+        assertThat(indexes.matchIndex("city", QueryContext.IndexMatchHint.NONE, SKIP_PARTITIONS_COUNT_CHECK)).isNull();
+        assertThat(indexes.query(Predicates.equal("city", "York"), SKIP_PARTITIONS_COUNT_CHECK)).isNull();
+    }
+
+    @Test
+    public void testLiterals() {
+        assertThat(FullTextIndexStore.literals("%new%york_")).containsExactly("new", "york");
+        assertThat(FullTextIndexStore.literals("100\\%%")).containsExactly("100%");
+        assertThat(FullTextIndexStore.literals("%_%")).isEmpty();
+    }
+
+    @Test
+    public void testCompositeIndexIsRejected() {
+        IndexConfig config = new IndexConfig(IndexType.FULL_TEXT, "city", "name");
+
+        assertThatThrownBy(() -> IndexUtils.validateAndNormalize("test", config))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void populate(IndexConfig config) {
+        indexes.addOrGetIndex(IndexUtils.validateAndNormalize("test", config));
+        cities.forEach((key, city) -> indexes.putEntry(entry(key, city), null, Index.OperationSource.USER));
+    }
+
+    private void assertMatchesScan(Predicate predicate, int expectedSize) {
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+        Set<QueryableEntry> result = new HashSet<>();
+        indexes.query(optimized, SKIP_PARTITIONS_COUNT_CHECK).forEach(result::add);
+
+        Set<QueryableEntry> expected = new HashSet<>();
+        cities.forEach((key, city) -> {
+            QueryEntry entry = entry(key, city);
+            if (predicate.apply(entry)) {
+                expected.add(entry);
+            }
+        });
+        assertThat(result).hasSize(expectedSize).isEqualTo(expected);
+    }
+
+    private QueryEntry entry(int key, String city) {
+        return new QueryEntry(serializationService, toData(key), employee(key, city), extractors);
+    }
+
+    private static Employee employee(int key, String city) {
+        return new Employee(key + "Name", city, key, true, 100 + key);
+    }
+}
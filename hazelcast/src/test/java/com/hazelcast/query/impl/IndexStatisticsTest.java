@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexStatisticsTest {
+
+    private static final double DELTA = 1e-9;
+
+    private final IndexStatistics statistics = new IndexStatistics();
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.getDistinctCount());
+        assertEquals(0.0, statistics.estimateEqualSelectivity(1), DELTA);
+        assertEquals(0.0, statistics.estimateRangeSelectivity(null, true, 10, true), DELTA);
+    }
+
+    @Test
+    public void testExactWhenEverythingIsSampled() {
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInserted(i);
+        }
+
+        assertEquals(100, statistics.getEntryCount());
+        assertEquals(100, statistics.getDistinctCount());
+        assertEquals(0.01, statistics.estimateEqualSelectivity(5), DELTA);
+        assertEquals(0.1, statistics.estimateRangeSelectivity(10, true, 20, false), DELTA);
+        assertEquals(0.1, statistics.estimateRangeSelectivity(10, false, 20, true), DELTA);
+        assertEquals(0.2, statistics.estimateRangeSelectivity(null, false, 20, false), DELTA);
+        assertEquals(0.3, statistics.estimateRangeSelectivity(70, true, null, false), DELTA);
+        // mixed numeric types are compared by value
+        assertEquals(0.2, statistics.estimateRangeSelectivity(null, false, 20L, false), DELTA);
+    }
+
+    @Test
+    public void testRangeBetweenSampledValues() {
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInserted(i * 10);
+        }
+
+        assertEquals(0.005, statistics.estimateRangeSelectivity(11, true, 19, true), DELTA);
+    }
+
+    @Test
+    public void testCommonValuesAndNulls() {
+        for (int i = 0; i < 50; ++i) {
+            statistics.onInserted(NULL);
+            statistics.onInserted(i % 5 == 0 ? 1 : 1000 + i);
+        }
+
+        assertEquals(100, statistics.getEntryCount());
+        assertEquals(0.5, statistics.estimateEqualSelectivity(NULL), DELTA);
+        assertEquals(0.1, statistics.estimateEqualSelectivity(1), DELTA);
+        assertEquals(0.01, statistics.estimateEqualSelectivity(1001), DELTA);
+        assertEquals(0.5, statistics.estimateRangeSelectivity(null, false, null, false), DELTA);
+        assertEquals(42, statistics.getDistinctCount());
+    }
+
+    @Test
+    public void testUniqueValuesBeyondSample() {
+        for (int i = 0; i < 10_000; ++i) {
+            statistics.onInserted("value-" + i);
+        }
+
+        assertEquals(10_000, statistics.getEntryCount());
+        assertEquals(10_000, statistics.getDistinctCount());
+        assertEquals(0.0001, statistics.estimateEqualSelectivity("value-1"), DELTA);
+    }
+
+    @Test
+    public void testRepeatedValuesBeyondSample() {
+        for (int i = 0; i < 10_000; ++i) {
+            statistics.onInserted(i % 10);
+        }
+
+        assertEquals(10, statistics.getDistinctCount());
+        assertEquals(0.1, statistics.estimateEqualSelectivity(3), 0.08);
+        assertEquals(0.5, statistics.estimateRangeSelectivity(5, true, null, false), 0.15);
+    }
+
+    @Test
+    public void testNonComparableValues() {
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInserted(i % 2 == 0 ? i : "value-" + i);
+        }
+
+        assertEquals(IndexStatistics.DEFAULT_RANGE_SELECTIVITY, statistics.estimateRangeSelectivity(1, true, 10, true), DELTA);
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInserted(i < 10 ? NULL : i);
+        }
+        for (int i = 0; i < 10; ++i) {
+            statistics.onRemoved(NULL);
+        }
+
+        assertEquals(90, statistics.getEntryCount());
+        assertEquals(0.0, statistics.estimateEqualSelectivity(NULL), DELTA);
+
+        statistics.clear();
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.getDistinctCount());
+        assertEquals(0.0, statistics.estimateEqualSelectivity(50), DELTA);
+
+        statistics.onInserted(7);
+        assertEquals(1.0, statistics.estimateEqualSelectivity(7), DELTA);
+        assertTrue(statistics.estimateRangeSelectivity(8, true, null, false) < 1.0);
+    }
+}
@@ -139,6 +139,40 @@ public class BitmapAlgorithmsTest {
         verifyOr();
     }
 
+    @Test
+    public void testAndNot() {
+        long seed = System.nanoTime();
+        System.out.println(getClass().getSimpleName() + ".testAndNot seed: " + seed);
+
+        generate(0, 75000, 1);
+        generate(100, 40000, 2);
+        verifyAndNotAndThenClear();
+
+        generate(100, 40000, 2);
+        generate(0, 75000, 1);
+        verifyAndNotAndThenClear();
+
+        generate(0, 100, 1);
+        generate(100, 100, 1);
+        verifyAndNotAndThenClear();
+
+        generate(200, 30000, 3);
+        generate(2000000, 30000, 3);
+        verifyAndNotAndThenClear();
+
+        generate(0, 200000, 1);
+        generateRandom(seed, 40000, 100000);
+        verifyAndNotAndThenClear();
+
+        generateRandom(seed, 10000, 50000);
+        generateRandom(seed + 1, 40000, 100000);
+        verifyAndNotAndThenClear();
+
+        generateRandom(seed, 500000, -1);
+        generateRandom(seed, 1000, -1);
+        verifyAndNotAndThenClear();
+    }
+
     @Test
     public void testNot() {
         long seed = System.nanoTime();
@@ -227,6 +261,14 @@ public class BitmapAlgorithmsTest {
         verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Integer.MAX_VALUE);
         verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Long.MAX_VALUE / 2);
         verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Long.MAX_VALUE);
+
+        SparseBitSet actualResult = BitmapAlgorithms.and(actualBitSets());
+        verify(actualResult.iterator(), expectedResult);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Long.MAX_VALUE / 2);
+        verifyUnmodified();
     }
 
     private void verifyOr() {
@@ -250,6 +292,39 @@ public class BitmapAlgorithmsTest {
         verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Integer.MAX_VALUE);
         verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE / 2);
         verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE);
+
+        SparseBitSet actualResult = BitmapAlgorithms.or(actualBitSets());
+        verify(actualResult.iterator(), expectedResult);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Long.MAX_VALUE / 2);
+        verifyUnmodified();
+    }
+
+    private void verifyAndNotAndThenClear() {
+        assert actual.size() == 2;
+        assert expected.size() == 2;
+
+        TreeSet<Long> expectedResult = new TreeSet<>(expected.get(0));
+        expectedResult.removeAll(expected.get(1));
+
+        SparseBitSet actualResult = BitmapAlgorithms.andNot(actual.get(0), actual.get(1));
+        verify(actualResult.iterator(), expectedResult);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Long.MAX_VALUE / 2);
+        verifyUnmodified();
+
+        actual.clear();
+        expected.clear();
+    }
+
+    private void verifyUnmodified() {
+        for (int i = 0; i < actual.size(); ++i) {
+            verify(actual.get(i).iterator(), expected.get(i));
+        }
     }
 
     private void verifyNotAndThenClear() {
@@ -283,6 +358,10 @@ public class BitmapAlgorithmsTest {
         expectedUniverse.clear();
     }
 
+    private SparseBitSet[] actualBitSets() {
+        return actual.toArray(new SparseBitSet[0]);
+    }
+
     private AscendingLongIterator[] actualIterators() {
         AscendingLongIterator[] actualIterators = new AscendingLongIterator[actual.size()];
         for (int i = 0; i < actual.size(); ++i) {
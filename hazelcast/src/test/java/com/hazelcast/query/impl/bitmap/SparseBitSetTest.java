@@ -29,6 +29,7 @@ import java.util.TreeSet;
 
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_16_MAX_SIZE;
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_32_MAX_SIZE;
+import static com.hazelcast.query.impl.bitmap.SparseBitSet.RUN_STORAGE_16_MAX_RUNS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -395,6 +396,88 @@ public class SparseBitSetTest {
         }
     }
 
+    @Test
+    public void testRunStorage16() {
+        // consecutive members upgrade ArrayStorage16 to RunStorage16
+        for (long i = 1000; i < 1000 + ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+            set(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // extend, merge and split runs
+        set(999);
+        set(1000 + ARRAY_STORAGE_16_MAX_SIZE + 11);
+        set(1000 + ARRAY_STORAGE_16_MAX_SIZE + 10);
+        clear(2000);
+        clear(2001);
+        clear(1000 + ARRAY_STORAGE_16_MAX_SIZE + 11);
+        clear(999);
+        verify();
+        set(2000);
+        set(2001);
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // too many runs downgrade the storage
+        for (long i = 1000; i < 1000 + ARRAY_STORAGE_16_MAX_SIZE; i += 2) {
+            clear(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // and fill the gaps back
+        for (long i = 1000; i < 1000 + ARRAY_STORAGE_16_MAX_SIZE; i += 2) {
+            set(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // clear everything
+        for (long i = 0; i < 2000 + ARRAY_STORAGE_16_MAX_SIZE; ++i) {
+            clear(i);
+        }
+        verify();
+    }
+
+    @Test
+    public void testRunStorage16Upgrade() {
+        // fill the entire 16-bit postfix space with runs of alternating length
+        for (long i = 0; i < 64 * 1024; ++i) {
+            if (i % (2 * RUN_STORAGE_16_MAX_RUNS) < RUN_STORAGE_16_MAX_RUNS) {
+                set(i);
+            }
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // split the runs until the storage switches to the bit set flavor
+        for (long i = 0; i < 64 * 1024; i += 5) {
+            clear(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        for (long i = 0; i < 64 * 1024; ++i) {
+            set(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+    }
+
+    @Test
+    public void testIteratorAdvanceAtLeastToMissingShortPrefix() {
+        for (long i = 0; i < ARRAY_STORAGE_32_MAX_SIZE + 1; ++i) {
+            set(i);
+        }
+        set(3 * 64 * 1024 + 5);
+        verify();
+
+        AscendingLongIterator iterator = actual.iterator();
+        assertEquals(3 * 64 * 1024 + 5, iterator.advanceAtLeastTo(2 * 64 * 1024 + 100));
+        verifyAdvanceAtLeastTo();
+    }
+
     private void verify() {
         AscendingLongIterator iterator = actual.iterator();
         verify(iterator, expected);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.fulltext;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class InvertedIndexTest {
+
+    @Test
+    public void testWordMatching() {
+        InvertedIndex<String> index = newIndex(0);
+
+        assertArrayEquals(new int[]{0, 1}, index.matchWords("york"));
+        assertArrayEquals(new int[]{0}, index.matchWords("YORK, new"));
+        assertArrayEquals(new int[0], index.matchWords("ork"));
+        assertArrayEquals(new int[0], index.matchWords(" "));
+    }
+
+    @Test
+    public void testWordFragmentMatching() {
+        InvertedIndex<String> index = newIndex(0);
+
+        // "ork" is the tail of a word, "new" is the head of a word
+        assertArrayEquals(new int[]{0}, index.matchSubstring("ork ne"));
+        assertArrayEquals(new int[]{0, 2}, index.matchSubstring("e"));
+        assertArrayEquals(new int[]{2}, index.matchSubstring("upon Tyn"));
+        assertArrayEquals(new int[0], index.matchSubstring("castle York"));
+        assertNull(index.matchSubstring(" "));
+    }
+
+    @Test
+    public void testNGramMatching() {
+        InvertedIndex<String> index = newIndex(3);
+
+        assertArrayEquals(new int[]{0, 1}, index.matchSubstring("YORK"));
+        assertArrayEquals(new int[]{0, 2}, index.matchSubstring("ew"));
+        assertArrayEquals(new int[]{0, 1}, index.matchWords("york"));
+        assertArrayEquals(new int[0], index.matchSubstring("yorkshire"));
+        assertNull(index.matchSubstring(""));
+    }
+
+    @Test
+    public void testPutReplacesAndRemoveReleases() {
+        InvertedIndex<String> index = newIndex(0);
+
+        index.put("k0", "Old York", Collections.singletonList("Old York"));
+        assertArrayEquals(new int[0], index.matchWords("new"));
+        assertArrayEquals(new int[]{0}, index.matchWords("old"));
+        assertEquals("Old York", index.getDocument(0));
+
+        assertTrue(index.remove("k1"));
+        assertFalse(index.remove("k1"));
+        assertArrayEquals(new int[]{0, 2}, index.all());
+        assertArrayEquals(new int[]{0}, index.matchWords("york"));
+
+        index.put("k3", "Yorktown", Collections.singletonList("Yorktown"));
+        // the id of the removed document is reused
+        assertArrayEquals(new int[]{0, 1, 2}, index.all());
+        assertArrayEquals(new int[]{0, 1}, index.matchSubstring("York"));
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(0, index.termCount());
+    }
+
+    @Test
+    public void testIntersect() {
+        assertArrayEquals(new int[]{2, 5}, InvertedIndex.intersect(new int[]{1, 2, 5, 7}, new int[]{0, 2, 3, 5}));
+        assertArrayEquals(new int[]{3}, InvertedIndex.intersect(null, new int[]{3}));
+        assertArrayEquals(new int[0], InvertedIndex.intersect(new int[]{1}, new int[0]));
+    }
+
+    private static InvertedIndex<String> newIndex(int nGramLength) {
+        InvertedIndex<String> index = new InvertedIndex<>(new Tokenizer(nGramLength));
+        for (String text : Arrays.asList("New York", "York", "Newcastle upon Tyne")) {
+            index.put("k" + index.size(), text, Collections.singletonList(text));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.fulltext;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TokenizerTest {
+
+    @Test
+    public void testWords() {
+        assertArrayEquals(new String[]{"hello", "world", "42"}, Tokenizer.words("  Hello, WORLD! hello 42"));
+        assertArrayEquals(new String[0], Tokenizer.words(" ,;- "));
+        assertArrayEquals(new String[]{"stra\u00dfe", "\u00fcber"}, Tokenizer.words("Stra\u00dfe-\u00dcber"));
+    }
+
+    @Test
+    public void testNGrams() {
+        Tokenizer tokenizer = new Tokenizer(3);
+
+        assertArrayEquals(new String[]{"ban", "ana", "nan"}, tokenizer.tokenize("Banana"));
+        assertArrayEquals(new String[]{"ab"}, tokenizer.tokenize("AB"));
+        assertArrayEquals(new String[0], tokenizer.tokenize(""));
+    }
+
+    @Test
+    public void testFoldKeepsSubstrings() {
+        String text = "\u039f\u0394\u039f\u03a3";
+        String folded = Tokenizer.fold(text);
+
+        assertEquals(text.length(), folded.length());
+        assertEquals(Tokenizer.fold(text.substring(1, 3)), folded.substring(1, 3));
+    }
+}
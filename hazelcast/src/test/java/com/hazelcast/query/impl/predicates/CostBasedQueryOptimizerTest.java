@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleTestObjects.Employee;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexCopyBehavior;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Properties;
+
+import static com.hazelcast.config.MapConfig.DEFAULT_IN_MEMORY_FORMAT;
+import static com.hazelcast.instance.impl.TestUtil.toData;
+import static com.hazelcast.internal.util.IterableUtil.size;
+import static com.hazelcast.query.impl.IndexRegistry.SKIP_PARTITIONS_COUNT_CHECK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CostBasedQueryOptimizerTest {
+
+    // all the values are sampled, so the estimates are exact
+    private static final int ENTRY_COUNT = 200;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final CostBasedQueryOptimizer optimizer = new CostBasedQueryOptimizer();
+
+    private IndexRegistry indexes;
+    private InternalIndex nameIndex;
+    private InternalIndex ageIndex;
+    private InternalIndex activeIndex;
+
+    @Before
+    public void setUp() {
+        // the index stores maintain the statistics only for the cost-based optimizer
+        Properties properties = new Properties();
+        properties.setProperty(ClusterProperty.QUERY_OPTIMIZER_TYPE.getName(), QueryOptimizerFactory.Type.COST.name());
+        Node node = mock(Node.class);
+        when(node.getProperties()).thenReturn(new HazelcastProperties(properties));
+
+        indexes = IndexRegistry.newBuilder(node, "test", serializationService, IndexCopyBehavior.NEVER,
+                DEFAULT_IN_MEMORY_FORMAT).global(true).statsEnabled(true).build();
+        nameIndex = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.HASH, "name"));
+        ageIndex = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "age"));
+        activeIndex = indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.HASH, "active"));
+        Extractors extractors = Extractors.newBuilder(serializationService).build();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Employee employee = new Employee(i + "Name", i % 50, i % 2 == 0, 100 + i);
+            indexes.putEntry(new QueryEntry(serializationService, toData(i), employee, extractors), null,
+                    Index.OperationSource.USER);
+        }
+    }
+
+    @Test
+    public void testSelectiveIndexDrivesTheQuery() {
+        Predicate predicate = Predicates.and(Predicates.greaterEqual("age", 0), Predicates.equal("active", true),
+                Predicates.equal("name", "8Name"));
+
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+
+        Predicate[] predicates = ((AndPredicate) optimized).getPredicates();
+        assertThat(predicates).hasSize(3);
+        assertThat(predicates[0]).isInstanceOf(EqualPredicate.class);
+        assertThat(((EqualPredicate) predicates[0]).attributeName).isEqualTo("name");
+        assertThat(predicates[1]).isInstanceOf(SkipIndexPredicate.class);
+        assertThat(predicates[2]).isInstanceOf(SkipIndexPredicate.class);
+        assertThat(size(indexes.query(optimized, SKIP_PARTITIONS_COUNT_CHECK))).isEqualTo(1);
+
+        assertThat(nameIndex.getPerIndexStats().getOptimizerChosenCount()).isEqualTo(1);
+        assertThat(ageIndex.getPerIndexStats().getOptimizerSkippedCount()).isEqualTo(1);
+        assertThat(activeIndex.getPerIndexStats().getOptimizerSkippedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testOperandsAreOrderedBySelectivity() {
+        Predicate predicate = Predicates.and(Predicates.equal("active", true), Predicates.between("age", 10, 12));
+
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+
+        Predicate[] predicates = ((AndPredicate) optimized).getPredicates();
+        assertThat(predicates[0]).isInstanceOf(BetweenPredicate.class);
+        assertThat(predicates[1]).isInstanceOf(SkipIndexPredicate.class);
+        assertThat(((SkipIndexPredicate) predicates[1]).getTarget()).isInstanceOf(EqualPredicate.class);
+        // ages 10 and 12 are held by active entries only
+        assertThat(size(indexes.query(optimized, SKIP_PARTITIONS_COUNT_CHECK))).isEqualTo(8);
+    }
+
+    @Test
+    public void testComparableOperandsKeepTheirIndexes() {
+        Comparable[] names = new Comparable[10];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = i + "Name";
+        }
+        Predicate predicate = Predicates.and(Predicates.lessThan("age", 2), Predicates.in("name", names));
+
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+
+        assertThat(optimized).isSameAs(predicate);
+        assertThat(size(indexes.query(optimized, SKIP_PARTITIONS_COUNT_CHECK))).isEqualTo(2);
+        assertThat(ageIndex.getPerIndexStats().getOptimizerChosenCount()).isEqualTo(1);
+        assertThat(nameIndex.getPerIndexStats().getOptimizerChosenCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnselectiveIndexFallsBackToScan() {
+        Predicate predicate = Predicates.greaterEqual("age", 0);
+
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+
+        assertThat(optimized).isInstanceOf(SkipIndexPredicate.class);
+        assertThat(ageIndex.getPerIndexStats().getOptimizerSkippedCount()).isEqualTo(1);
+        assertThat(ageIndex.getPerIndexStats().getOptimizerChosenCount()).isZero();
+    }
+
+    @Test
+    public void testSelectiveIndexIsUsed() {
+        Predicate predicate = Predicates.in("name", "1Name", "2Name", "3Name");
+
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+
+        assertThat(optimized).isSameAs(predicate);
+        assertThat(nameIndex.getPerIndexStats().getOptimizerChosenCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnindexedPredicateIsLeftAsIs() {
+        Predicate predicate = Predicates.equal("salary", 150.0);
+
+        assertThat(optimizer.optimize(predicate, indexes)).isSameAs(predicate);
+    }
+
+    @Test
+    public void testStatisticsAreNotMaintainedForOtherOptimizers() {
+        IndexRegistry otherIndexes = IndexRegistry.newBuilder(null, "test", serializationService, IndexCopyBehavior.NEVER,
+                DEFAULT_IN_MEMORY_FORMAT).global(true).build();
+        InternalIndex index = otherIndexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "age"));
+
+        assertThat(index.getStatistics()).isNull();
+        assertThat(ageIndex.getStatistics().getEntryCount()).isEqualTo(ENTRY_COUNT);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleTestObjects.Employee;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexCopyBehavior;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.config.MapConfig.DEFAULT_IN_MEMORY_FORMAT;
+import static com.hazelcast.instance.impl.TestUtil.toData;
+import static com.hazelcast.internal.util.IterableUtil.size;
+import static com.hazelcast.query.impl.IndexRegistry.SKIP_PARTITIONS_COUNT_CHECK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FilteredIndexTest {
+
+    private static final int ENTRY_COUNT = 200;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(serializationService).build();
+    private final RuleBasedQueryOptimizer optimizer = new RuleBasedQueryOptimizer();
+
+    private IndexRegistry indexes;
+    private InternalIndex activeAgeIndex;
+
+    @Before
+    public void setUp() {
+        indexes = IndexRegistry.newBuilder(null, "test", serializationService, IndexCopyBehavior.NEVER,
+                DEFAULT_IN_MEMORY_FORMAT).global(true).build();
+        IndexConfig config = IndexUtils.createIndexConfig(IndexType.SORTED, "age").setFilter("active = true");
+        activeAgeIndex = indexes.addOrGetIndex(IndexUtils.validateAndNormalize("test", config));
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            indexes.putEntry(entry(i, new Employee(i + "Name", i % 50, i % 2 == 0, 100 + i)), null,
+                    Index.OperationSource.USER);
+        }
+    }
+
+    @Test
+    public void testOnlyMatchingEntriesAreIndexed() {
+        assertThat(activeAgeIndex.getRecords(10)).hasSize(4);
+        assertThat(activeAgeIndex.getRecords(11)).isEmpty();
+        assertThat(indexes.getFilteredIndexes()).containsExactly(activeAgeIndex);
+        assertThat(indexes.peekIndex("age", QueryContext.IndexMatchHint.NONE)).isNull();
+    }
+
+    @Test
+    public void testEntriesLeaveAndEnterTheIndexOnUpdate() {
+        Employee old = new Employee("10Name", 10, true, 110);
+        indexes.putEntry(entry(10, new Employee("10Name", 10, false, 110)), old, Index.OperationSource.USER);
+        assertThat(activeAgeIndex.getRecords(10)).hasSize(3);
+
+        old = new Employee("11Name", 11, false, 111);
+        indexes.putEntry(entry(11, new Employee("11Name", 11, true, 111)), old, Index.OperationSource.USER);
+        assertThat(activeAgeIndex.getRecords(11)).hasSize(1);
+
+        indexes.removeEntry(toData(13), new Employee("13Name", 13, false, 113), Index.OperationSource.USER);
+        indexes.removeEntry(toData(12), new Employee("12Name", 12, true, 112), Index.OperationSource.USER);
+        assertThat(activeAgeIndex.getRecords(12)).hasSize(3);
+    }
+
+    @Test
+    public void testQueryImplyingTheFilterUsesTheIndex() {
+        Predicate predicate = Predicates.and(Predicates.equal("active", true), Predicates.greaterThan("age", 40));
+
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+
+        Predicate[] predicates = ((AndPredicate) optimized).getPredicates();
+        assertThat(predicates[0]).isInstanceOf(SkipIndexPredicate.class);
+        assertThat(predicates[1]).isInstanceOf(FilteredIndexPredicate.class);
+        // ages 42, 44, 46 and 48, every age is held by 4 entries
+        assertThat(size(indexes.query(optimized, SKIP_PARTITIONS_COUNT_CHECK))).isEqualTo(16);
+    }
+
+    @Test
+    public void testRangeImplyingTheFilterUsesTheIndex() {
+        IndexConfig config = IndexUtils.createIndexConfig(IndexType.SORTED, "salary").setFilter("age >= 40");
+        indexes.addOrGetIndex(IndexUtils.validateAndNormalize("test", config));
+        indexes.addOrGetIndex(IndexUtils.createTestIndexConfig(IndexType.HASH, "age"));
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            indexes.putEntry(entry(i, new Employee(i + "Name", i % 50, i % 2 == 0, 100 + i)), null,
+                    Index.OperationSource.USER);
+        }
+        Predicate predicate = Predicates.and(Predicates.greaterThan("age", 45), Predicates.lessThan("salary", 200));
+
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+
+        Predicate[] predicates = ((AndPredicate) optimized).getPredicates();
+        assertThat(predicates[0]).isInstanceOf(SkipIndexPredicate.class);
+        assertThat(predicates[1]).isInstanceOf(FilteredIndexPredicate.class);
+        // entries 46 to 49 and 96 to 99
+        assertThat(size(indexes.query(optimized, SKIP_PARTITIONS_COUNT_CHECK))).isEqualTo(8);
+    }
+
+    @Test
+    public void testQueryNotImplyingTheFilterDoesNotUseTheIndex() {
+        Predicate predicate = Predicates.and(Predicates.equal("active", false), Predicates.greaterThan("age", 40));
+
+        Predicate optimized = optimizer.optimize(predicate, indexes);
+
+        for (Predicate conjunct : ((AndPredicate) optimized).getPredicates()) {
+            assertThat(conjunct).isNotInstanceOf(FilteredIndexPredicate.class);
+        }
+    }
+
+    @Test
+    public void testFilteredIndexNameDiffersFromUnfilteredOne() {
+        IndexConfig filtered = IndexUtils.validateAndNormalize("map",
+                new IndexConfig(IndexType.SORTED, "age").setFilter(" active = true "));
+        IndexConfig unfiltered = IndexUtils.validateAndNormalize("map", new IndexConfig(IndexType.SORTED, "age"));
+
+        assertThat(filtered.getFilter()).isEqualTo("active = true");
+        assertThat(filtered.getName()).startsWith("map_sorted_age_filtered_");
+        assertThat(unfiltered.getName()).isEqualTo("map_sorted_age");
+    }
+
+    @Test
+    public void testInvalidFiltersAreRejected() {
+        assertThatThrownBy(() -> IndexUtils.validateAndNormalize("map",
+                new IndexConfig(IndexType.BITMAP, "age").setFilter("active = true")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IndexUtils.validateAndNormalize("map",
+                new IndexConfig(IndexType.SORTED, "age", "name").setFilter("active = true")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IndexUtils.validateAndNormalize("map",
+                new IndexConfig(IndexType.SORTED, "age").setFilter("name = 'unterminated")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private QueryEntry entry(int key, Employee employee) {
+        return new QueryEntry(serializationService, toData(key), employee, extractors);
+    }
+}